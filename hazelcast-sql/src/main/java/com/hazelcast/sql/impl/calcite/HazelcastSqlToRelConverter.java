@@ -141,7 +141,14 @@ public final class HazelcastSqlToRelConverter extends SqlToRelConverter {
             return null;
         }
 
-        RelDataType type = validator.getValidatedNodeType(literal);
+        RelDataType type = validator.getValidatedNodeTypeIfKnown(literal);
+
+        if (type == null) {
+            // the literal is not a part of a validated expression (e.g. FETCH/OFFSET),
+            // trust Calcite on generation
+            return null;
+        }
+
         SqlTypeName literalTypeName = literal.getTypeName();
 
         // Extract the literal value.
@@ -0,0 +1,555 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.sql.impl.calcite.compile;
+
+import com.hazelcast.sql.impl.compile.CompiledFilterProject;
+import com.hazelcast.sql.impl.expression.BiExpression;
+import com.hazelcast.sql.impl.expression.ColumnExpression;
+import com.hazelcast.sql.impl.expression.ConstantExpression;
+import com.hazelcast.sql.impl.expression.Expression;
+import com.hazelcast.sql.impl.expression.math.MinusFunction;
+import com.hazelcast.sql.impl.expression.math.MultiplyFunction;
+import com.hazelcast.sql.impl.expression.math.PlusFunction;
+import com.hazelcast.sql.impl.expression.predicate.AndPredicate;
+import com.hazelcast.sql.impl.expression.predicate.ComparisonMode;
+import com.hazelcast.sql.impl.expression.predicate.ComparisonPredicate;
+import com.hazelcast.sql.impl.expression.predicate.IsNotNullPredicate;
+import com.hazelcast.sql.impl.expression.predicate.IsNullPredicate;
+import com.hazelcast.sql.impl.expression.predicate.NotPredicate;
+import com.hazelcast.sql.impl.expression.predicate.OrPredicate;
+import com.hazelcast.sql.impl.type.QueryDataType;
+import com.hazelcast.sql.impl.type.QueryDataTypeFamily;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Generates the source code of a {@link CompiledFilterProject} implementation for the given filter and projections.
+ * <p>
+ * Values of BOOLEAN, INT, BIGINT and DOUBLE types are kept in primitive local variables with a separate null flag, so that
+ * intermediate results are neither boxed nor dispatched through virtual calls. Evaluation order and short-circuiting
+ * follow the interpreted expressions. Expressions without a code template are evaluated with the interpreter from the
+ * generated code.
+ */
+@SuppressWarnings("rawtypes")
+final class FilterProjectCodeGenerator {
+
+    static final String PACKAGE_NAME = "com.hazelcast.sql.impl.calcite.compile";
+
+    private static final String INDENT = "    ";
+    private static final int BODY_INDENT = 2;
+
+    private final String className;
+
+    private final StringBuilder fields = new StringBuilder();
+    private final StringBuilder constructor = new StringBuilder();
+    private final StringBuilder body = new StringBuilder();
+
+    private final List<Object> constants = new ArrayList<>();
+    private final List<Expression> delegates = new ArrayList<>();
+
+    private int indent = BODY_INDENT;
+    private int varCounter;
+
+    FilterProjectCodeGenerator(String className) {
+        this.className = className;
+    }
+
+    /**
+     * Generate the source code.
+     *
+     * @param filter Filter or {@code null}.
+     * @param projects Projections.
+     * @return Source code of the class.
+     */
+    String generate(Expression<Boolean> filter, List<Expression> projects) {
+        if (filter != null) {
+            Value value = generate(filter);
+
+            if (value.kind == Kind.BOOLEAN) {
+                line("if (" + value.isNull + " || !" + value.value + ") {");
+            } else {
+                line("if (!Boolean.TRUE.equals(" + value.value + ")) {");
+            }
+
+            line(INDENT + "return false;");
+            line("}");
+        }
+
+        for (int i = 0; i < projects.size(); i++) {
+            generateProject(i, projects.get(i));
+        }
+
+        line("return true;");
+
+        return "package " + PACKAGE_NAME + ";\n"
+            + "\n"
+            + "import com.hazelcast.sql.SqlErrorCode;\n"
+            + "import com.hazelcast.sql.impl.QueryException;\n"
+            + "import com.hazelcast.sql.impl.compile.CompiledFilterProject;\n"
+            + "import com.hazelcast.sql.impl.expression.Expression;\n"
+            + "import com.hazelcast.sql.impl.expression.ExpressionEvalContext;\n"
+            + "import com.hazelcast.sql.impl.row.Row;\n"
+            + "import com.hazelcast.sql.impl.row.vector.BooleanColumnVector;\n"
+            + "import com.hazelcast.sql.impl.row.vector.ColumnVector;\n"
+            + "import com.hazelcast.sql.impl.row.vector.DoubleColumnVector;\n"
+            + "import com.hazelcast.sql.impl.row.vector.IntColumnVector;\n"
+            + "import com.hazelcast.sql.impl.row.vector.LongColumnVector;\n"
+            + "\n"
+            + "public final class " + className + " implements CompiledFilterProject {\n"
+            + INDENT + "private final Expression[] delegates;\n"
+            + fields
+            + "\n"
+            + INDENT + "public " + className + "(Object[] constants, Expression[] delegates) {\n"
+            + INDENT + INDENT + "this.delegates = delegates;\n"
+            + constructor
+            + INDENT + "}\n"
+            + "\n"
+            + INDENT + "public boolean apply(Row row, ExpressionEvalContext context, ColumnVector[] columns, int position) {\n"
+            + body
+            + INDENT + "}\n"
+            + "}\n";
+    }
+
+    String getClassName() {
+        return className;
+    }
+
+    Object[] getConstants() {
+        return constants.toArray();
+    }
+
+    Expression[] getDelegates() {
+        return delegates.toArray(new Expression[0]);
+    }
+
+    private void generateProject(int index, Expression<?> project) {
+        Value value = generate(project);
+
+        String column = "columns[" + index + "]";
+
+        if (value.kind == Kind.OBJECT) {
+            line(column + ".setObject(position, " + value.value + ");");
+
+            return;
+        }
+
+        line("if (" + value.isNull + ") {");
+        line(INDENT + column + ".setNull(position);");
+        line("} else {");
+        line(INDENT + "((" + value.kind.vectorClassName + ") " + column + ")." + value.kind.vectorSetterName
+            + "(position, " + value.value + ");");
+        line("}");
+    }
+
+    private Value generate(Expression<?> expression) {
+        if (expression instanceof ColumnExpression) {
+            return generateColumn((ColumnExpression<?>) expression);
+        } else if (expression instanceof ConstantExpression) {
+            return generateConstant((ConstantExpression<?>) expression);
+        } else if (expression.getType().getTypeFamily() == QueryDataTypeFamily.BOOLEAN) {
+            return generatePredicate(expression);
+        } else {
+            return generateArithmetic(expression);
+        }
+    }
+
+    private Value generatePredicate(Expression<?> expression) {
+        if (expression instanceof AndPredicate) {
+            return generateAndOr(((AndPredicate) expression).getOperands(), true);
+        } else if (expression instanceof OrPredicate) {
+            return generateAndOr(((OrPredicate) expression).getOperands(), false);
+        } else if (expression instanceof NotPredicate) {
+            return generateNot(((NotPredicate) expression).getOperand());
+        } else if (expression instanceof IsNullPredicate) {
+            return generateIsNull(((IsNullPredicate) expression).getOperand(), true);
+        } else if (expression instanceof IsNotNullPredicate) {
+            return generateIsNull(((IsNotNullPredicate) expression).getOperand(), false);
+        } else if (expression instanceof ComparisonPredicate) {
+            return generateComparison((ComparisonPredicate) expression);
+        } else {
+            return generateDelegate(expression);
+        }
+    }
+
+    private Value generateArithmetic(Expression<?> expression) {
+        Kind kind = Kind.of(expression.getType());
+
+        if (kind != Kind.INT && kind != Kind.LONG && kind != Kind.DOUBLE) {
+            return generateDelegate(expression);
+        }
+
+        if (expression instanceof PlusFunction) {
+            return generateArithmetic((PlusFunction<?>) expression, "+", "addExact");
+        } else if (expression instanceof MinusFunction) {
+            return generateArithmetic((MinusFunction<?>) expression, "-", "subtractExact");
+        } else if (expression instanceof MultiplyFunction) {
+            return generateArithmetic((MultiplyFunction<?>) expression, "*", "multiplyExact");
+        } else {
+            return generateDelegate(expression);
+        }
+    }
+
+    private Value generateColumn(ColumnExpression<?> expression) {
+        String object = newVar("o");
+
+        line("Object " + object + " = row.get(" + expression.getIndex() + ");");
+
+        return fromObject(object, Kind.of(expression.getType()));
+    }
+
+    private Value generateConstant(ConstantExpression<?> expression) {
+        Kind kind = Kind.of(expression.getType());
+        Object value = expression.getValue();
+
+        if (value == null) {
+            return new Value(kind, "true", kind.defaultValue);
+        }
+
+        int index = constants.size();
+        constants.add(value);
+
+        String field = "c" + index;
+
+        fields.append(INDENT).append("private final ").append(kind.typeName).append(' ').append(field).append(";\n");
+        constructor.append(INDENT).append(INDENT).append(field).append(" = ")
+            .append(kind.unbox("constants[" + index + "]")).append(";\n");
+
+        return new Value(kind, "false", field);
+    }
+
+    private Value generateDelegate(Expression<?> expression) {
+        int index = delegates.size();
+        delegates.add(expression);
+
+        String object = newVar("o");
+
+        line("Object " + object + " = delegates[" + index + "].eval(row, context);");
+
+        return fromObject(object, Kind.of(expression.getType()));
+    }
+
+    /**
+     * Generate AND or OR. Operands are evaluated in order until the decisive value is found, which is {@code FALSE} for AND
+     * and {@code TRUE} for OR. Otherwise the result is {@code NULL} if any of the operands is {@code NULL}.
+     */
+    private Value generateAndOr(Expression<?>[] operands, boolean and) {
+        Value res = declare(Kind.BOOLEAN, false, Boolean.toString(and));
+
+        for (Expression<?> operand : operands) {
+            Value value = generateBoolean(operand);
+
+            line("if (!" + value.isNull + " && " + (and ? "!" : "") + value.value + ") {");
+            line(INDENT + res.isNull + " = false;");
+            line(INDENT + res.value + " = " + !and + ";");
+            line("} else {");
+
+            indent++;
+
+            line("if (" + value.isNull + ") {");
+            line(INDENT + res.isNull + " = true;");
+            line("}");
+        }
+
+        for (int i = 0; i < operands.length; i++) {
+            indent--;
+
+            line("}");
+        }
+
+        return res;
+    }
+
+    private Value generateNot(Expression<?> operand) {
+        Value value = generateBoolean(operand);
+
+        return declare(Kind.BOOLEAN, value.isNull, "!" + value.value);
+    }
+
+    private Value generateIsNull(Expression<?> operand, boolean isNull) {
+        Value value = generate(operand);
+
+        return declare(Kind.BOOLEAN, "false", (isNull ? "" : "!") + value.isNull);
+    }
+
+    private Value generateComparison(ComparisonPredicate expression) {
+        Value res = declare(Kind.BOOLEAN, true, "false");
+
+        Value left = generate(expression.getOperand1());
+
+        line("if (!" + left.isNull + ") {");
+        indent++;
+
+        Value right = generate(expression.getOperand2());
+
+        line("if (!" + right.isNull + ") {");
+        line(INDENT + res.isNull + " = false;");
+        line(INDENT + res.value + " = " + compare(left, right, expression) + ";");
+        line("}");
+
+        indent--;
+        line("}");
+
+        return res;
+    }
+
+    private static String compare(Value left, Value right, ComparisonPredicate expression) {
+        String operator = operator(expression.getMode());
+
+        if (left.kind == right.kind && (left.kind == Kind.INT || left.kind == Kind.LONG)) {
+            return left.value + " " + operator + " " + right.value;
+        }
+
+        String order;
+
+        if (left.kind == right.kind && left.kind == Kind.DOUBLE) {
+            // Double.compare is consistent with Double.compareTo used by the interpreter.
+            order = "Double.compare(" + left.value + ", " + right.value + ")";
+        } else if (left.kind == right.kind && left.kind == Kind.BOOLEAN) {
+            order = "Boolean.compare(" + left.value + ", " + right.value + ")";
+        } else {
+            order = "((Comparable) " + left.kind.box(left.value) + ").compareTo(" + right.kind.box(right.value) + ")";
+        }
+
+        return order + " " + operator + " 0";
+    }
+
+    private static String operator(ComparisonMode mode) {
+        switch (mode) {
+            case EQUALS:
+                return "==";
+
+            case NOT_EQUALS:
+                return "!=";
+
+            case GREATER_THAN:
+                return ">";
+
+            case GREATER_THAN_OR_EQUAL:
+                return ">=";
+
+            case LESS_THAN:
+                return "<";
+
+            case LESS_THAN_OR_EQUAL:
+                return "<=";
+
+            default:
+                throw new IllegalStateException("Unexpected comparison mode: " + mode);
+        }
+    }
+
+    /**
+     * Generate an arithmetic operation. As in the interpreter, operands are converted to the result type, INT overflow is
+     * ignored and BIGINT overflow produces an error.
+     */
+    private Value generateArithmetic(BiExpression<?> expression, String operator, String exactMethod) {
+        Kind kind = Kind.of(expression.getType());
+
+        Value res = declare(kind, true, kind.defaultValue);
+
+        Value left = generate(expression.getOperand1());
+
+        line("if (!" + left.isNull + ") {");
+        indent++;
+
+        Value right = generate(expression.getOperand2());
+
+        line("if (!" + right.isNull + ") {");
+        indent++;
+
+        line(res.isNull + " = false;");
+
+        String leftValue = convertNumeric(left, kind);
+        String rightValue = convertNumeric(right, kind);
+
+        if (kind == Kind.LONG) {
+            String error = newVar("e");
+
+            line("try {");
+            line(INDENT + res.value + " = Math." + exactMethod + "(" + leftValue + ", " + rightValue + ");");
+            line("} catch (ArithmeticException " + error + ") {");
+            line(INDENT + "throw QueryException.error(SqlErrorCode.DATA_EXCEPTION, \"BIGINT overflow in '" + operator
+                + "' operator (consider adding explicit CAST to DECIMAL)\");");
+            line("}");
+        } else {
+            line(res.value + " = " + leftValue + " " + operator + " " + rightValue + ";");
+        }
+
+        indent--;
+        line("}");
+
+        indent--;
+        line("}");
+
+        return res;
+    }
+
+    private static String convertNumeric(Value value, Kind kind) {
+        switch (value.kind) {
+            case INT:
+            case LONG:
+            case DOUBLE:
+                return "((" + kind.typeName + ") " + value.value + ")";
+
+            case OBJECT:
+                return kind.unbox(value.value);
+
+            default:
+                throw new UnsupportedOperationException("Not a numeric value: " + value.kind);
+        }
+    }
+
+    private Value generateBoolean(Expression<?> operand) {
+        Value value = generate(operand);
+
+        if (value.kind != Kind.BOOLEAN) {
+            throw new UnsupportedOperationException("Not a boolean expression: " + operand);
+        }
+
+        return value;
+    }
+
+    private Value fromObject(String object, Kind kind) {
+        if (kind == Kind.OBJECT) {
+            return new Value(kind, "(" + object + " == null)", object);
+        }
+
+        return declare(kind, object + " == null", object + " == null ? " + kind.defaultValue + " : " + kind.unbox(object));
+    }
+
+    private Value declare(Kind kind, boolean isNull, String value) {
+        return declare(kind, Boolean.toString(isNull), value);
+    }
+
+    private Value declare(Kind kind, String isNull, String value) {
+        Value res = new Value(kind, newVar("n"), newVar("v"));
+
+        line("boolean " + res.isNull + " = " + isNull + ";");
+        line(kind.typeName + " " + res.value + " = " + value + ";");
+
+        return res;
+    }
+
+    private String newVar(String prefix) {
+        return prefix + varCounter++;
+    }
+
+    private void line(String line) {
+        for (int i = 0; i < indent; i++) {
+            body.append(INDENT);
+        }
+
+        body.append(line).append('\n');
+    }
+
+    /**
+     * Representation of a value in the generated code.
+     */
+    private enum Kind {
+        BOOLEAN("boolean", "false", "Boolean", "booleanValue", "BooleanColumnVector", "setBoolean"),
+        INT("int", "0", "Number", "intValue", "IntColumnVector", "setInt"),
+        LONG("long", "0L", "Number", "longValue", "LongColumnVector", "setLong"),
+        DOUBLE("double", "0.0d", "Number", "doubleValue", "DoubleColumnVector", "setDouble"),
+        OBJECT("Object", "null", null, null, null, null);
+
+        private final String typeName;
+        private final String defaultValue;
+        private final String boxedClassName;
+        private final String unboxMethodName;
+        private final String vectorClassName;
+        private final String vectorSetterName;
+
+        Kind(
+            String typeName,
+            String defaultValue,
+            String boxedClassName,
+            String unboxMethodName,
+            String vectorClassName,
+            String vectorSetterName
+        ) {
+            this.typeName = typeName;
+            this.defaultValue = defaultValue;
+            this.boxedClassName = boxedClassName;
+            this.unboxMethodName = unboxMethodName;
+            this.vectorClassName = vectorClassName;
+            this.vectorSetterName = vectorSetterName;
+        }
+
+        private static Kind of(QueryDataType type) {
+            switch (type.getTypeFamily()) {
+                case BOOLEAN:
+                    return BOOLEAN;
+
+                case INT:
+                    return INT;
+
+                case BIGINT:
+                    return LONG;
+
+                case DOUBLE:
+                    return DOUBLE;
+
+                default:
+                    return OBJECT;
+            }
+        }
+
+        private String unbox(String object) {
+            if (this == OBJECT) {
+                return object;
+            }
+
+            return "((" + boxedClassName + ") " + object + ")." + unboxMethodName + "()";
+        }
+
+        private String box(String value) {
+            switch (this) {
+                case BOOLEAN:
+                    return "Boolean.valueOf(" + value + ")";
+
+                case INT:
+                    return "Integer.valueOf(" + value + ")";
+
+                case LONG:
+                    return "Long.valueOf(" + value + ")";
+
+                case DOUBLE:
+                    return "Double.valueOf(" + value + ")";
+
+                default:
+                    return value;
+            }
+        }
+    }
+
+    /**
+     * Value in the generated code: the null flag and the value, which are either local variables or literals.
+     */
+    private static final class Value {
+
+        private final Kind kind;
+        private final String isNull;
+        private final String value;
+
+        private Value(Kind kind, String isNull, String value) {
+            this.kind = kind;
+            this.isNull = isNull;
+            this.value = value;
+        }
+    }
+}
@@ -0,0 +1,56 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.sql.impl.calcite.compile;
+
+import com.hazelcast.sql.impl.compile.CompiledFilterProject;
+import com.hazelcast.sql.impl.compile.FilterProjectCompiler;
+import com.hazelcast.sql.impl.expression.Expression;
+import org.codehaus.janino.SimpleCompiler;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Compiles filters and projections into Java classes with Janino, which is shipped with Apache Calcite.
+ */
+@SuppressWarnings("rawtypes")
+public class JaninoFilterProjectCompiler implements FilterProjectCompiler {
+
+    private static final String CLASS_NAME_PREFIX = "GeneratedFilterProject";
+
+    private final AtomicLong classCounter = new AtomicLong();
+
+    @Override
+    public CompiledFilterProject compile(Expression<Boolean> filter, List<Expression> projects) throws Exception {
+        FilterProjectCodeGenerator generator = new FilterProjectCodeGenerator(
+            CLASS_NAME_PREFIX + classCounter.incrementAndGet()
+        );
+
+        String source = generator.generate(filter, projects);
+
+        SimpleCompiler compiler = new SimpleCompiler();
+        compiler.setParentClassLoader(CompiledFilterProject.class.getClassLoader());
+        compiler.cook(source);
+
+        Class<?> clazz = compiler.getClassLoader().loadClass(
+            FilterProjectCodeGenerator.PACKAGE_NAME + '.' + generator.getClassName()
+        );
+
+        return (CompiledFilterProject) clazz.getConstructor(Object[].class, Expression[].class)
+            .newInstance(generator.getConstants(), generator.getDelegates());
+    }
+}
@@ -30,12 +30,21 @@ public final class CostUtils {
     /** CPU multiplier applied to normal scan. */
     public static final double TABLE_SCAN_CPU_MULTIPLIER = 1.0d;
 
+    /** CPU multiplier applied to an entry returned from a HASH index. Accounts for index lookup and record re-read. */
+    public static final double INDEX_SCAN_HASH_CPU_MULTIPLIER = 1.1d;
+
+    /** CPU multiplier applied to an entry returned from a SORTED index. Tree traversal is slightly more expensive. */
+    public static final double INDEX_SCAN_SORTED_CPU_MULTIPLIER = 1.2d;
+
     /** Multiplier for the CPU part of the cost. Assumes 1ns per item. */
     public static final double CPU_COST_MULTIPLIER = 1.0d;
 
     /** Multiplier for the network part of the cost. Assumes ~10µs per 1Kb that results in ~10ns per byte. */
     public static final double NETWORK_COST_MULTIPLIER = CPU_COST_MULTIPLIER * 10;
 
+    /** CPU multiplier applied to a row of the hash join build side. Accounts for the hash table maintenance. */
+    public static final double HASH_JOIN_BUILD_CPU_MULTIPLIER = 2.0d;
+
     /** Replacement value if filter selectivity cannot be determined.  */
     private static final double UNKNOWN_SELECTIVITY = 0.25d;
 
@@ -73,6 +82,45 @@ public final class CostUtils {
         return rowCount * expressionCount;
     }
 
+    /**
+     * Get CPU cost of the hash aggregation: every input row is hashed by the group key and fed to every accumulator.
+     *
+     * @param rowCount Input row count.
+     * @param groupKeyCount Number of group key columns.
+     * @param aggCallCount Number of aggregate calls.
+     * @return CPU cost.
+     */
+    public static double getAggregateCpu(double rowCount, int groupKeyCount, int aggCallCount) {
+        return rowCount * (groupKeyCount + aggCallCount + 1);
+    }
+
+    /**
+     * Get CPU cost of the sort: every input row is compared against {@code log(N)} rows, where {@code N} is the number of
+     * retained rows. The number of retained rows is less than the number of input rows when the top-N heap is used.
+     *
+     * @param inputRowCount Input row count.
+     * @param outputRowCount Output row count.
+     * @param sortKeyCount Number of sort key columns.
+     * @return CPU cost.
+     */
+    public static double getSortCpu(double inputRowCount, double outputRowCount, int sortKeyCount) {
+        double comparisons = Math.log(Math.max(outputRowCount, 2)) / Math.log(2);
+
+        return inputRowCount * comparisons * Math.max(sortKeyCount, 1);
+    }
+
+    /**
+     * Get CPU cost of the hash join: every row of the build (right) side is put into the hash table, then every row of the
+     * probe (left) side is looked up in it.
+     *
+     * @param leftRowCount Row count of the probe side.
+     * @param rightRowCount Row count of the build side.
+     * @return CPU cost.
+     */
+    public static double getHashJoinCpu(double leftRowCount, double rightRowCount) {
+        return leftRowCount + rightRowCount * HASH_JOIN_BUILD_CPU_MULTIPLIER;
+    }
+
     public static int getEstimatedRowWidth(RelNode rel) {
         int res = 0;
 
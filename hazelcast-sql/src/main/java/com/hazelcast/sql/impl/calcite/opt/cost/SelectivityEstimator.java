@@ -0,0 +1,218 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.sql.impl.calcite.opt.cost;
+
+import com.hazelcast.sql.impl.schema.ColumnStatistics;
+import com.hazelcast.sql.impl.schema.TableStatistics;
+import org.apache.calcite.plan.RelOptUtil;
+import org.apache.calcite.rel.metadata.RelMdUtil;
+import org.apache.calcite.rex.RexCall;
+import org.apache.calcite.rex.RexDynamicParam;
+import org.apache.calcite.rex.RexInputRef;
+import org.apache.calcite.rex.RexLiteral;
+import org.apache.calcite.rex.RexNode;
+import org.apache.calcite.sql.SqlKind;
+
+import java.util.List;
+
+/**
+ * Estimates selectivity of a filter over a table using column statistics.
+ * <p>
+ * The filter must reference the original columns of the table. Equality predicates are estimated from the number of
+ * distinct values, range predicates over numeric literals from the histogram, and {@code IS [NOT] NULL} predicates from the
+ * fraction of {@code NULL} values. If the statistics of the referenced column are not available, or the predicate is of
+ * some other type, the default Calcite guess is used.
+ */
+public final class SelectivityEstimator {
+    private SelectivityEstimator() {
+        // No-op.
+    }
+
+    /**
+     * Estimate the selectivity of the filter.
+     *
+     * @param condition Filter condition.
+     * @param statistics Table statistics.
+     * @return Selectivity in the range {@code [0..1]}.
+     */
+    public static double estimate(RexNode condition, TableStatistics statistics) {
+        for (int index : RelOptUtil.InputFinder.bits(condition)) {
+            if (statistics.getColumnStatistics(index) != null) {
+                return clamp(estimate0(condition, statistics));
+            }
+        }
+
+        return RelMdUtil.guessSelectivity(condition);
+    }
+
+    private static double estimate0(RexNode condition, TableStatistics statistics) {
+        switch (condition.getKind()) {
+            case AND:
+                return estimateAnd(((RexCall) condition).getOperands(), statistics);
+
+            case OR:
+                return estimateOr(((RexCall) condition).getOperands(), statistics);
+
+            case NOT:
+                return 1.0d - estimate0(((RexCall) condition).getOperands().get(0), statistics);
+
+            default:
+                Double res = estimatePredicate(condition, statistics);
+
+                return res != null ? res : RelMdUtil.guessSelectivity(condition);
+        }
+    }
+
+    private static double estimateAnd(List<RexNode> operands, TableStatistics statistics) {
+        double res = 1.0d;
+
+        for (RexNode operand : operands) {
+            res *= estimate0(operand, statistics);
+        }
+
+        return res;
+    }
+
+    private static double estimateOr(List<RexNode> operands, TableStatistics statistics) {
+        double res = 1.0d;
+
+        for (RexNode operand : operands) {
+            res *= 1.0d - estimate0(operand, statistics);
+        }
+
+        return 1.0d - res;
+    }
+
+    private static Double estimatePredicate(RexNode condition, TableStatistics statistics) {
+        if (!(condition instanceof RexCall)) {
+            return null;
+        }
+
+        List<RexNode> operands = ((RexCall) condition).getOperands();
+
+        if (operands.isEmpty()) {
+            return null;
+        }
+
+        SqlKind kind = condition.getKind();
+
+        ColumnStatistics column = getColumnStatistics(operands.get(0), statistics);
+
+        if (operands.size() == 1) {
+            return column != null ? estimateUnary(kind, column) : null;
+        }
+
+        if (operands.size() != 2) {
+            return null;
+        }
+
+        RexNode other = operands.get(1);
+
+        if (column == null) {
+            // Try the reversed form, e.g. "10 > a".
+            column = getColumnStatistics(other, statistics);
+            other = operands.get(0);
+            kind = kind.reverse();
+        }
+
+        if (column == null || !isValue(other)) {
+            return null;
+        }
+
+        return estimateBinary(kind, column, other);
+    }
+
+    private static Double estimateUnary(SqlKind kind, ColumnStatistics column) {
+        switch (kind) {
+            case IS_NULL:
+                return column.getNullFraction();
+
+            case IS_NOT_NULL:
+                return 1.0d - column.getNullFraction();
+
+            default:
+                return null;
+        }
+    }
+
+    private static Double estimateBinary(SqlKind kind, ColumnStatistics column, RexNode value) {
+        switch (kind) {
+            case EQUALS:
+                return column.getEqualsSelectivity();
+
+            case NOT_EQUALS:
+                return 1.0d - column.getNullFraction() - column.getEqualsSelectivity();
+
+            case LESS_THAN:
+            case LESS_THAN_OR_EQUAL:
+                Double upper = getNumericValue(value);
+
+                if (upper == null) {
+                    return null;
+                }
+
+                return column.getRangeSelectivity(null, false, upper, kind == SqlKind.LESS_THAN_OR_EQUAL);
+
+            case GREATER_THAN:
+            case GREATER_THAN_OR_EQUAL:
+                Double lower = getNumericValue(value);
+
+                if (lower == null) {
+                    return null;
+                }
+
+                return column.getRangeSelectivity(lower, kind == SqlKind.GREATER_THAN_OR_EQUAL, null, false);
+
+            default:
+                return null;
+        }
+    }
+
+    private static boolean isValue(RexNode node) {
+        RexNode node0 = node.getKind() == SqlKind.CAST ? ((RexCall) node).getOperands().get(0) : node;
+
+        return node0 instanceof RexLiteral || node0 instanceof RexDynamicParam;
+    }
+
+    private static double clamp(double selectivity) {
+        return Math.min(Math.max(selectivity, 0.0d), 1.0d);
+    }
+
+    private static ColumnStatistics getColumnStatistics(RexNode node, TableStatistics statistics) {
+        RexNode node0 = node.getKind() == SqlKind.CAST ? ((RexCall) node).getOperands().get(0) : node;
+
+        if (node0 instanceof RexInputRef) {
+            return statistics.getColumnStatistics(((RexInputRef) node0).getIndex());
+        }
+
+        return null;
+    }
+
+    private static Double getNumericValue(RexNode node) {
+        RexNode node0 = node.getKind() == SqlKind.CAST ? ((RexCall) node).getOperands().get(0) : node;
+
+        if (node0 instanceof RexLiteral) {
+            Object value = ((RexLiteral) node0).getValue();
+
+            if (value instanceof Number) {
+                return ((Number) value).doubleValue();
+            }
+        }
+
+        return null;
+    }
+}
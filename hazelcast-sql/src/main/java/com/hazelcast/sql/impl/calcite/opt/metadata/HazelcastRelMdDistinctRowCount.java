@@ -0,0 +1,94 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.sql.impl.calcite.opt.metadata;
+
+import com.hazelcast.sql.impl.calcite.opt.AbstractMapScanRel;
+import com.hazelcast.sql.impl.calcite.opt.physical.exchange.AbstractExchangePhysicalRel;
+import com.hazelcast.sql.impl.calcite.schema.HazelcastTable;
+import com.hazelcast.sql.impl.schema.ColumnStatistics;
+import org.apache.calcite.rel.metadata.ReflectiveRelMetadataProvider;
+import org.apache.calcite.rel.metadata.RelMdDistinctRowCount;
+import org.apache.calcite.rel.metadata.RelMdUtil;
+import org.apache.calcite.rel.metadata.RelMetadataProvider;
+import org.apache.calcite.rel.metadata.RelMetadataQuery;
+import org.apache.calcite.rex.RexNode;
+import org.apache.calcite.util.BuiltInMethod;
+import org.apache.calcite.util.ImmutableBitSet;
+
+import java.util.List;
+
+/**
+ * Metadata which provides estimates of the number of distinct values of a group of columns, based on column statistics
+ * of the scanned tables.
+ */
+public final class HazelcastRelMdDistinctRowCount extends RelMdDistinctRowCount {
+    /** Do not change the name (see {@code RelMetadataQueryBase} JavaDoc). */
+    public static final RelMetadataProvider SOURCE = ReflectiveRelMetadataProvider.reflectiveSource(
+        BuiltInMethod.DISTINCT_ROW_COUNT.method,
+        new HazelcastRelMdDistinctRowCount()
+    );
+
+    private HazelcastRelMdDistinctRowCount() {
+        // No-op.
+    }
+
+    /**
+     * The number of distinct values of a group of columns is a product of the numbers of distinct values of the columns,
+     * assuming that they are independent. {@code NULL} is counted as a separate value. The result is then reduced to the
+     * expected number of distinct values in the rows returned from the scan.
+     */
+    public Double getDistinctRowCount(AbstractMapScanRel rel, RelMetadataQuery mq, ImmutableBitSet groupKey, RexNode predicate) {
+        if (groupKey.isEmpty()) {
+            return 1.0d;
+        }
+
+        HazelcastTable table = rel.getTableUnwrapped();
+        List<Integer> projects = table.getProjects();
+
+        double domainSize = 1.0d;
+
+        for (int index : groupKey) {
+            ColumnStatistics column = table.getColumnStatistics(projects.get(index));
+
+            if (column == null) {
+                return super.getDistinctRowCount(rel, mq, groupKey, predicate);
+            }
+
+            domainSize *= column.getNullFraction() > 0.0d ? column.getDistinctCount() + 1 : column.getDistinctCount();
+        }
+
+        double rowCount = mq.getRowCount(rel);
+
+        if (predicate != null) {
+            rowCount *= RelMdUtil.guessSelectivity(predicate);
+        }
+
+        return RelMdUtil.numDistinctVals(domainSize, rowCount);
+    }
+
+    /**
+     * Exchanges do not change the number of distinct values.
+     */
+    public Double getDistinctRowCount(
+        AbstractExchangePhysicalRel rel,
+        RelMetadataQuery mq,
+        ImmutableBitSet groupKey,
+        RexNode predicate
+    ) {
+        return mq.getDistinctRowCount(rel.getInput(), groupKey, predicate);
+    }
+}
@@ -16,9 +16,16 @@
 
 package com.hazelcast.sql.impl.calcite.opt.metadata;
 
+import com.hazelcast.sql.impl.calcite.opt.physical.AggregatePhysicalRel;
+import com.hazelcast.sql.impl.calcite.opt.physical.FetchPhysicalRel;
+import com.hazelcast.sql.impl.calcite.opt.physical.SortPhysicalRel;
+import org.apache.calcite.rel.core.Join;
+import org.apache.calcite.rel.core.JoinInfo;
+import org.apache.calcite.rel.core.JoinRelType;
 import org.apache.calcite.rel.metadata.ReflectiveRelMetadataProvider;
 import org.apache.calcite.rel.metadata.RelMdRowCount;
 import org.apache.calcite.rel.metadata.RelMetadataProvider;
+import org.apache.calcite.rel.metadata.RelMetadataQuery;
 import org.apache.calcite.util.BuiltInMethod;
 
 /**
@@ -33,6 +40,49 @@ public final class HazelcastRelMdRowCount extends RelMdRowCount {
         // No-op.
     }
 
-    // Empty at the moment, will be extended in the future.
-    // Now it serves as an example of how to wire up a metadata handler into Calcite.
+    /**
+     * Physical aggregate is not a subclass of {@code Aggregate}, so the default handler would treat it as an arbitrary
+     * single-input relation and return the input row count. The same applies to the physical sort and fetch below.
+     */
+    public Double getRowCount(AggregatePhysicalRel rel, RelMetadataQuery mq) {
+        return rel.estimateRowCount(mq);
+    }
+
+    public Double getRowCount(SortPhysicalRel rel, RelMetadataQuery mq) {
+        return rel.estimateRowCount(mq);
+    }
+
+    public Double getRowCount(FetchPhysicalRel rel, RelMetadataQuery mq) {
+        return rel.estimateRowCount(mq);
+    }
+
+    /**
+     * For an inner equi-join every row of the side with fewer distinct key values is assumed to match rows of the other
+     * side, so the number of matches is {@code left * right / max(leftDistinct, rightDistinct)}. Falls back to the default
+     * estimate if the numbers of distinct key values are not known.
+     */
+    @Override
+    public Double getRowCount(Join rel, RelMetadataQuery mq) {
+        if (rel.getJoinType() != JoinRelType.INNER) {
+            return super.getRowCount(rel, mq);
+        }
+
+        JoinInfo joinInfo = rel.analyzeCondition();
+
+        if (!joinInfo.isEqui() || joinInfo.leftKeys.isEmpty()) {
+            return super.getRowCount(rel, mq);
+        }
+
+        Double leftDistinct = mq.getDistinctRowCount(rel.getLeft(), joinInfo.leftSet(), null);
+        Double rightDistinct = mq.getDistinctRowCount(rel.getRight(), joinInfo.rightSet(), null);
+
+        if (leftDistinct == null || rightDistinct == null) {
+            return super.getRowCount(rel, mq);
+        }
+
+        double leftRows = mq.getRowCount(rel.getLeft());
+        double rightRows = mq.getRowCount(rel.getRight());
+
+        return leftRows * rightRows / Math.max(Math.max(leftDistinct, rightDistinct), 1.0d);
+    }
 }
@@ -0,0 +1,137 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.sql.impl.calcite.opt.physical;
+
+import com.hazelcast.sql.impl.calcite.opt.cost.CostUtils;
+import com.hazelcast.sql.impl.calcite.opt.physical.visitor.PhysicalRelVisitor;
+import com.hazelcast.sql.impl.exec.agg.AggregatePhase;
+import org.apache.calcite.plan.RelOptCluster;
+import org.apache.calcite.plan.RelOptCost;
+import org.apache.calcite.plan.RelOptPlanner;
+import org.apache.calcite.plan.RelTraitSet;
+import org.apache.calcite.rel.RelNode;
+import org.apache.calcite.rel.RelWriter;
+import org.apache.calcite.rel.SingleRel;
+import org.apache.calcite.rel.core.AggregateCall;
+import org.apache.calcite.rel.metadata.RelMetadataQuery;
+import org.apache.calcite.rel.type.RelDataType;
+import org.apache.calcite.util.ImmutableBitSet;
+
+import java.util.List;
+
+/**
+ * Physical hash aggregate.
+ * <p>
+ * Group set and aggregate calls always refer to the input of the original logical aggregate. In the
+ * {@link AggregatePhase#FINAL} phase the actual input consists of the group key columns followed by the intermediate
+ * states of aggregate calls, as produced by the {@link AggregatePhase#PARTIAL} phase.
+ * <p>
+ * Traits:
+ * <ul>
+ *     <li><b>Collation</b>: none, since groups are produced in the order of the hash table</li>
+ *     <li><b>Distribution</b>: inherited from the input</li>
+ * </ul>
+ */
+public class AggregatePhysicalRel extends SingleRel implements PhysicalRel {
+    /** Assumed fraction of distinct values of a single group column, see {@code Aggregate.estimateRowCount}. */
+    private static final double GROUP_COLUMN_DISTINCT_FRACTION = 0.5d;
+
+    private final ImmutableBitSet groupSet;
+    private final List<AggregateCall> aggCalls;
+    private final AggregatePhase phase;
+
+    public AggregatePhysicalRel(
+        RelOptCluster cluster,
+        RelTraitSet traits,
+        RelNode input,
+        RelDataType rowType,
+        ImmutableBitSet groupSet,
+        List<AggregateCall> aggCalls,
+        AggregatePhase phase
+    ) {
+        super(cluster, traits, input);
+
+        this.rowType = rowType;
+        this.groupSet = groupSet;
+        this.aggCalls = aggCalls;
+        this.phase = phase;
+    }
+
+    public ImmutableBitSet getGroupSet() {
+        return groupSet;
+    }
+
+    public List<AggregateCall> getAggCalls() {
+        return aggCalls;
+    }
+
+    public AggregatePhase getPhase() {
+        return phase;
+    }
+
+    @Override
+    public RelNode copy(RelTraitSet traitSet, List<RelNode> inputs) {
+        return new AggregatePhysicalRel(getCluster(), traitSet, sole(inputs), rowType, groupSet, aggCalls, phase);
+    }
+
+    @Override
+    public void visit(PhysicalRelVisitor visitor) {
+        ((PhysicalRel) input).visit(visitor);
+
+        visitor.onAggregate(this);
+    }
+
+    @Override
+    public final RelWriter explainTerms(RelWriter pw) {
+        return super.explainTerms(pw)
+            .item("group", groupSet)
+            .itemIf("aggs", aggCalls, !aggCalls.isEmpty())
+            .item("phase", phase);
+    }
+
+    @Override
+    public double estimateRowCount(RelMetadataQuery mq) {
+        double inputRows = mq.getRowCount(getInput());
+
+        if (phase == AggregatePhase.FINAL) {
+            // Input is already aggregated.
+            return inputRows;
+        }
+
+        if (groupSet.isEmpty()) {
+            return 1;
+        }
+
+        Double distinctRows = mq.getDistinctRowCount(getInput(), groupSet, null);
+
+        if (distinctRows != null) {
+            return Math.min(distinctRows, inputRows);
+        }
+
+        return inputRows * (1.0d - Math.pow(GROUP_COLUMN_DISTINCT_FRACTION, groupSet.cardinality()));
+    }
+
+    @Override
+    public RelOptCost computeSelfCost(RelOptPlanner planner, RelMetadataQuery mq) {
+        double inputRows = mq.getRowCount(getInput());
+
+        double rows = estimateRowCount(mq);
+        double cpu = CostUtils.getAggregateCpu(inputRows, groupSet.cardinality(), aggCalls.size());
+
+        return planner.getCostFactory().makeCost(rows, cpu, 0);
+    }
+}
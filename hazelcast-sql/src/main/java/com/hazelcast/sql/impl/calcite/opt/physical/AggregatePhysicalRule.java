@@ -0,0 +1,177 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.sql.impl.calcite.opt.physical;
+
+import com.hazelcast.sql.impl.calcite.opt.HazelcastConventions;
+import com.hazelcast.sql.impl.calcite.opt.OptUtils;
+import com.hazelcast.sql.impl.calcite.opt.distribution.DistributionTrait;
+import com.hazelcast.sql.impl.calcite.opt.distribution.DistributionTraitDef;
+import com.hazelcast.sql.impl.calcite.opt.logical.AggregateLogicalRel;
+import com.hazelcast.sql.impl.calcite.opt.physical.exchange.RootExchangePhysicalRel;
+import com.hazelcast.sql.impl.calcite.opt.physical.exchange.UnicastExchangePhysicalRel;
+import com.hazelcast.sql.impl.exec.agg.AggregatePhase;
+import org.apache.calcite.plan.RelOptCluster;
+import org.apache.calcite.plan.RelOptRule;
+import org.apache.calcite.plan.RelOptRuleCall;
+import org.apache.calcite.plan.RelTraitSet;
+import org.apache.calcite.rel.RelNode;
+import org.apache.calcite.rel.core.AggregateCall;
+import org.apache.calcite.rel.type.RelDataType;
+import org.apache.calcite.rel.type.RelDataTypeFactory;
+import org.apache.calcite.rel.type.RelDataTypeField;
+import org.apache.calcite.sql.type.SqlTypeName;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.hazelcast.sql.impl.calcite.opt.distribution.DistributionType.ROOT;
+
+/**
+ * Converts logical aggregate into physical aggregate.
+ * <p>
+ * If the whole input is available on a single member, a single {@link AggregatePhase#COMPLETE} aggregate is created.
+ * Otherwise the aggregation is split into two phases: every member aggregates its local part of the input first, then
+ * intermediate states are shuffled between members by the hash of the group key and merged into the final results.
+ * Aggregates without the group key merge intermediate states on the root member.
+ */
+public final class AggregatePhysicalRule extends RelOptRule {
+    public static final RelOptRule INSTANCE = new AggregatePhysicalRule();
+
+    private AggregatePhysicalRule() {
+        super(
+            OptUtils.parentChild(AggregateLogicalRel.class, RelNode.class, HazelcastConventions.LOGICAL),
+            AggregatePhysicalRule.class.getSimpleName()
+        );
+    }
+
+    @Override
+    public void onMatch(RelOptRuleCall call) {
+        AggregateLogicalRel logicalAgg = call.rel(0);
+        RelNode input = logicalAgg.getInput();
+
+        RelNode convertedInput = OptUtils.toPhysicalInput(input);
+
+        for (RelNode physicalInput : OptUtils.getPhysicalRelsFromSubset(convertedInput)) {
+            call.transformTo(createAggregate(call, logicalAgg, physicalInput));
+        }
+    }
+
+    private static RelNode createAggregate(RelOptRuleCall call, AggregateLogicalRel logicalAgg, RelNode physicalInput) {
+        RelOptCluster cluster = logicalAgg.getCluster();
+        DistributionTrait distribution = OptUtils.getDistribution(physicalInput);
+
+        if (distribution.getType() == ROOT || logicalAgg.getMemberCount() == 1) {
+            return createAggregate(logicalAgg, physicalInput, logicalAgg.getRowType(), AggregatePhase.COMPLETE);
+        }
+
+        RelNode partialAgg = createAggregate(logicalAgg, physicalInput, createPartialRowType(logicalAgg),
+            AggregatePhase.PARTIAL);
+
+        DistributionTraitDef distributionDef = OptUtils.getDistributionDef(logicalAgg);
+        RelTraitSet emptyTraitSet = call.getPlanner().emptyTraitSet();
+
+        RelNode exchange;
+
+        if (logicalAgg.getGroupSet().isEmpty()) {
+            exchange = new RootExchangePhysicalRel(
+                cluster,
+                OptUtils.toPhysicalConvention(emptyTraitSet, distributionDef.getTraitRoot()),
+                partialAgg
+            );
+        } else {
+            List<Integer> hashFields = new ArrayList<>(logicalAgg.getGroupCount());
+
+            for (int i = 0; i < logicalAgg.getGroupCount(); i++) {
+                hashFields.add(i);
+            }
+
+            exchange = new UnicastExchangePhysicalRel(
+                cluster,
+                OptUtils.toPhysicalConvention(emptyTraitSet, distributionDef.getTraitPartitionedUnknown()),
+                partialAgg,
+                hashFields
+            );
+        }
+
+        return createAggregate(logicalAgg, exchange, logicalAgg.getRowType(), AggregatePhase.FINAL);
+    }
+
+    private static AggregatePhysicalRel createAggregate(
+        AggregateLogicalRel logicalAgg,
+        RelNode input,
+        RelDataType rowType,
+        AggregatePhase phase
+    ) {
+        return new AggregatePhysicalRel(
+            logicalAgg.getCluster(),
+            input.getTraitSet(),
+            input,
+            rowType,
+            logicalAgg.getGroupSet(),
+            logicalAgg.getAggCallList(),
+            phase
+        );
+    }
+
+    /**
+     * Create the row type of the partial aggregate: group key columns followed by intermediate states of aggregate calls.
+     *
+     * @param logicalAgg Logical aggregate.
+     * @return Row type.
+     */
+    private static RelDataType createPartialRowType(AggregateLogicalRel logicalAgg) {
+        RelDataTypeFactory typeFactory = logicalAgg.getCluster().getTypeFactory();
+        List<RelDataTypeField> fields = logicalAgg.getRowType().getFieldList();
+
+        RelDataTypeFactory.Builder builder = typeFactory.builder();
+
+        for (int i = 0; i < logicalAgg.getGroupCount(); i++) {
+            builder.add(fields.get(i));
+        }
+
+        List<AggregateCall> aggCalls = logicalAgg.getAggCallList();
+
+        for (int i = 0; i < aggCalls.size(); i++) {
+            AggregateCall aggCall = aggCalls.get(i);
+            String name = fields.get(logicalAgg.getGroupCount() + i).getName();
+
+            RelDataType bigintType = typeFactory.createSqlType(SqlTypeName.BIGINT);
+
+            switch (aggCall.getAggregation().getKind()) {
+                case COUNT:
+                    builder.add(name, bigintType);
+
+                    break;
+
+                case AVG:
+                    RelDataType operandType = logicalAgg.getInput().getRowType().getFieldList()
+                        .get(aggCall.getArgList().get(0)).getType();
+                    RelDataType sumType = typeFactory.getTypeSystem().deriveSumType(typeFactory, operandType);
+
+                    builder.add(name + "$sum", typeFactory.createTypeWithNullability(sumType, true));
+                    builder.add(name + "$count", bigintType);
+
+                    break;
+
+                default:
+                    builder.add(name, typeFactory.createTypeWithNullability(aggCall.getType(), true));
+            }
+        }
+
+        return builder.build();
+    }
+}
@@ -0,0 +1,126 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.sql.impl.calcite.opt.physical;
+
+import com.hazelcast.sql.impl.calcite.opt.physical.visitor.PhysicalRelVisitor;
+import org.apache.calcite.plan.RelOptCluster;
+import org.apache.calcite.plan.RelOptCost;
+import org.apache.calcite.plan.RelOptPlanner;
+import org.apache.calcite.plan.RelTraitSet;
+import org.apache.calcite.rel.RelNode;
+import org.apache.calcite.rel.RelWriter;
+import org.apache.calcite.rel.SingleRel;
+import org.apache.calcite.rel.metadata.RelMetadataQuery;
+import org.apache.calcite.rex.RexLiteral;
+import org.apache.calcite.rex.RexNode;
+
+import java.util.List;
+
+/**
+ * Physical node which applies {@code LIMIT} and {@code OFFSET} to the input.
+ * <p>
+ * Traits:
+ * <ul>
+ *     <li><b>Collation</b>: inherited from the input</li>
+ *     <li><b>Distribution</b>: inherited from the input</li>
+ * </ul>
+ */
+public class FetchPhysicalRel extends SingleRel implements PhysicalRel {
+    /** Assumed number of rows when the fetch is not a literal, e.g. a parameter. */
+    private static final double UNKNOWN_FETCH = 100d;
+
+    private final RexNode fetch;
+    private final RexNode offset;
+
+    public FetchPhysicalRel(RelOptCluster cluster, RelTraitSet traits, RelNode input, RexNode fetch, RexNode offset) {
+        super(cluster, traits, input);
+
+        this.fetch = fetch;
+        this.offset = offset;
+    }
+
+    public RexNode getFetch() {
+        return fetch;
+    }
+
+    public RexNode getOffset() {
+        return offset;
+    }
+
+    @Override
+    public RelNode copy(RelTraitSet traitSet, List<RelNode> inputs) {
+        return new FetchPhysicalRel(getCluster(), traitSet, sole(inputs), fetch, offset);
+    }
+
+    @Override
+    public void visit(PhysicalRelVisitor visitor) {
+        ((PhysicalRel) input).visit(visitor);
+
+        visitor.onFetch(this);
+    }
+
+    @Override
+    public final RelWriter explainTerms(RelWriter pw) {
+        return super.explainTerms(pw)
+            .itemIf("fetch", fetch, fetch != null)
+            .itemIf("offset", offset, offset != null);
+    }
+
+    @Override
+    public double estimateRowCount(RelMetadataQuery mq) {
+        double inputRows = mq.getRowCount(getInput());
+
+        double rows = Math.max(inputRows - getValue(offset, 0), 0);
+
+        if (fetch != null) {
+            rows = Math.min(rows, getValue(fetch, UNKNOWN_FETCH));
+        }
+
+        return rows;
+    }
+
+    @Override
+    public RelOptCost computeSelfCost(RelOptPlanner planner, RelMetadataQuery mq) {
+        double rows = estimateRowCount(mq);
+
+        return planner.getCostFactory().makeCost(rows, rows, 0);
+    }
+
+    /**
+     * Get the maximum number of rows which satisfy the given {@code LIMIT} and {@code OFFSET}.
+     *
+     * @param inputRows Number of input rows.
+     * @param fetch Fetch.
+     * @param offset Offset.
+     * @return Estimated number of rows.
+     */
+    public static double getLimitRowCount(double inputRows, RexNode fetch, RexNode offset) {
+        if (fetch == null) {
+            return inputRows;
+        }
+
+        return Math.min(inputRows, getValue(fetch, UNKNOWN_FETCH) + getValue(offset, 0));
+    }
+
+    private static double getValue(RexNode node, double defaultValue) {
+        if (node instanceof RexLiteral) {
+            return RexLiteral.intValue(node);
+        }
+
+        return node == null ? 0 : defaultValue;
+    }
+}
@@ -0,0 +1,159 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.sql.impl.calcite.opt.physical;
+
+import com.hazelcast.sql.impl.calcite.opt.cost.CostUtils;
+import com.hazelcast.sql.impl.calcite.opt.physical.visitor.PhysicalRelVisitor;
+import org.apache.calcite.plan.RelOptCluster;
+import org.apache.calcite.plan.RelOptCost;
+import org.apache.calcite.plan.RelOptPlanner;
+import org.apache.calcite.plan.RelTraitSet;
+import org.apache.calcite.rel.RelNode;
+import org.apache.calcite.rel.RelWriter;
+import org.apache.calcite.rel.core.Join;
+import org.apache.calcite.rel.core.JoinInfo;
+import org.apache.calcite.rel.core.JoinRelType;
+import org.apache.calcite.rel.metadata.RelMetadataQuery;
+import org.apache.calcite.rel.type.RelDataTypeField;
+import org.apache.calcite.rex.RexNode;
+import org.apache.calcite.util.ImmutableIntList;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Physical hash join. The right input is the build side: it is consumed completely and put into a hash table. The left
+ * input is the probe side: its rows are streamed and looked up in the hash table.
+ * <p>
+ * The equi-join part of the condition is used as the hash key, the remaining part is evaluated on the joined row. When the
+ * condition has no equi-join part, every left row is matched against every right row.
+ * <p>
+ * Traits:
+ * <ul>
+ *     <li><b>Collation</b>: not preserved</li>
+ *     <li><b>Distribution</b>: defined by the rule, depends on the distribution of inputs</li>
+ * </ul>
+ */
+public class HashJoinPhysicalRel extends Join implements PhysicalRel {
+
+    private final List<Integer> leftKeys;
+    private final List<Integer> rightKeys;
+    private final RexNode nonEquiCondition;
+
+    public HashJoinPhysicalRel(
+        RelOptCluster cluster,
+        RelTraitSet traitSet,
+        RelNode left,
+        RelNode right,
+        RexNode condition,
+        JoinRelType joinType
+    ) {
+        super(cluster, traitSet, Collections.emptyList(), left, right, condition, Collections.emptySet(), joinType);
+
+        if (isHashable(this, joinInfo)) {
+            leftKeys = joinInfo.leftKeys;
+            rightKeys = joinInfo.rightKeys;
+            nonEquiCondition = joinInfo.isEqui() ? null : joinInfo.getRemaining(cluster.getRexBuilder());
+        } else {
+            leftKeys = ImmutableIntList.of();
+            rightKeys = ImmutableIntList.of();
+            nonEquiCondition = condition.isAlwaysTrue() ? null : condition;
+        }
+    }
+
+    /**
+     * Check whether the equi-join keys of the join could be used for hashing. Hash codes of values of different types are
+     * not comparable (e.g. {@code INT} and {@code BIGINT}), so the join keys must be of the same type.
+     *
+     * @param join Join.
+     * @param joinInfo Analyzed join condition.
+     * @return {@code true} if the join has at least one equi-join key, and all keys could be used for hashing.
+     */
+    public static boolean isHashable(Join join, JoinInfo joinInfo) {
+        if (joinInfo.leftKeys.isEmpty()) {
+            return false;
+        }
+
+        List<RelDataTypeField> leftFields = join.getLeft().getRowType().getFieldList();
+        List<RelDataTypeField> rightFields = join.getRight().getRowType().getFieldList();
+
+        for (int i = 0; i < joinInfo.leftKeys.size(); i++) {
+            RelDataTypeField leftField = leftFields.get(joinInfo.leftKeys.get(i));
+            RelDataTypeField rightField = rightFields.get(joinInfo.rightKeys.get(i));
+
+            if (leftField.getType().getSqlTypeName() != rightField.getType().getSqlTypeName()) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    public List<Integer> getLeftKeys() {
+        return leftKeys;
+    }
+
+    public List<Integer> getRightKeys() {
+        return rightKeys;
+    }
+
+    /**
+     * @return Part of the condition which is evaluated on the joined row, or {@code null} if every pair of rows with equal
+     * keys matches.
+     */
+    public RexNode getNonEquiCondition() {
+        return nonEquiCondition;
+    }
+
+    @Override
+    public final Join copy(
+        RelTraitSet traitSet,
+        RexNode conditionExpr,
+        RelNode left,
+        RelNode right,
+        JoinRelType joinType,
+        boolean semiJoinDone
+    ) {
+        return new HashJoinPhysicalRel(getCluster(), traitSet, left, right, conditionExpr, joinType);
+    }
+
+    @Override
+    public void visit(PhysicalRelVisitor visitor) {
+        ((PhysicalRel) left).visit(visitor);
+        ((PhysicalRel) right).visit(visitor);
+
+        visitor.onHashJoin(this);
+    }
+
+    @Override
+    public final RelWriter explainTerms(RelWriter pw) {
+        return super.explainTerms(pw)
+            .item("leftKeys", leftKeys)
+            .item("rightKeys", rightKeys);
+    }
+
+    @Override
+    public RelOptCost computeSelfCost(RelOptPlanner planner, RelMetadataQuery mq) {
+        double leftRows = mq.getRowCount(getLeft());
+        double rightRows = mq.getRowCount(getRight());
+
+        double rows = mq.getRowCount(this);
+        double cpu = CostUtils.getHashJoinCpu(leftRows, rightRows);
+
+        return planner.getCostFactory().makeCost(rows, cpu, 0);
+    }
+}
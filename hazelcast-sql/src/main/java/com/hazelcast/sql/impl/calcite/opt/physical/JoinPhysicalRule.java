@@ -0,0 +1,265 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.sql.impl.calcite.opt.physical;
+
+import com.hazelcast.sql.impl.calcite.opt.HazelcastConventions;
+import com.hazelcast.sql.impl.calcite.opt.OptUtils;
+import com.hazelcast.sql.impl.calcite.opt.distribution.DistributionTrait;
+import com.hazelcast.sql.impl.calcite.opt.distribution.DistributionTraitDef;
+import com.hazelcast.sql.impl.calcite.opt.logical.FilterLogicalRel;
+import com.hazelcast.sql.impl.calcite.opt.logical.JoinLogicalRel;
+import com.hazelcast.sql.impl.calcite.opt.logical.LogicalRel;
+import com.hazelcast.sql.impl.calcite.opt.logical.MapScanLogicalRel;
+import com.hazelcast.sql.impl.calcite.opt.logical.ProjectLogicalRel;
+import com.hazelcast.sql.impl.calcite.opt.physical.exchange.RootExchangePhysicalRel;
+import com.hazelcast.sql.impl.calcite.opt.physical.exchange.UnicastExchangePhysicalRel;
+import com.hazelcast.sql.impl.calcite.schema.HazelcastTable;
+import com.hazelcast.sql.impl.schema.map.AbstractMapTable;
+import com.hazelcast.sql.impl.schema.map.PartitionedMapTable;
+import com.hazelcast.sql.impl.type.QueryDataType;
+import org.apache.calcite.plan.RelOptRule;
+import org.apache.calcite.plan.RelOptRuleCall;
+import org.apache.calcite.plan.RelTraitSet;
+import org.apache.calcite.plan.volcano.RelSubset;
+import org.apache.calcite.rel.RelNode;
+import org.apache.calcite.rel.core.JoinInfo;
+import org.apache.calcite.rel.core.JoinRelType;
+import org.apache.calcite.rex.RexInputRef;
+import org.apache.calcite.rex.RexNode;
+
+import java.util.Collections;
+import java.util.List;
+
+import static com.hazelcast.sql.impl.calcite.opt.distribution.DistributionType.PARTITIONED;
+import static com.hazelcast.sql.impl.calcite.opt.distribution.DistributionType.ROOT;
+
+/**
+ * Converts logical join into physical hash join.
+ * <p>
+ * The join is executed locally if both inputs are located on the same member, or if both inputs are partitioned maps
+ * which are joined on their partitioning columns, since matching rows are always located in the same partition. Otherwise
+ * both inputs are shuffled between members by the hash of the join keys. Joins without equi-join keys are executed on the
+ * root member.
+ */
+public final class JoinPhysicalRule extends RelOptRule {
+    public static final RelOptRule INSTANCE = new JoinPhysicalRule();
+
+    private JoinPhysicalRule() {
+        super(
+            operand(
+                JoinLogicalRel.class,
+                HazelcastConventions.LOGICAL,
+                some(operand(RelNode.class, any()), operand(RelNode.class, any()))
+            ),
+            JoinPhysicalRule.class.getSimpleName()
+        );
+    }
+
+    @Override
+    public boolean matches(RelOptRuleCall call) {
+        JoinRelType joinType = ((JoinLogicalRel) call.rel(0)).getJoinType();
+
+        return joinType == JoinRelType.INNER || joinType == JoinRelType.LEFT;
+    }
+
+    @Override
+    public void onMatch(RelOptRuleCall call) {
+        JoinLogicalRel logicalJoin = call.rel(0);
+
+        JoinInfo joinInfo = logicalJoin.analyzeCondition();
+
+        List<Integer> leftKeys;
+        List<Integer> rightKeys;
+
+        if (HashJoinPhysicalRel.isHashable(logicalJoin, joinInfo)) {
+            leftKeys = joinInfo.leftKeys;
+            rightKeys = joinInfo.rightKeys;
+        } else {
+            leftKeys = Collections.emptyList();
+            rightKeys = Collections.emptyList();
+        }
+
+        boolean colocated = isColocated(logicalJoin, leftKeys, rightKeys);
+
+        RelNode convertedLeft = OptUtils.toPhysicalInput(logicalJoin.getLeft());
+        RelNode convertedRight = OptUtils.toPhysicalInput(logicalJoin.getRight());
+
+        for (RelNode physicalLeft : OptUtils.getPhysicalRelsFromSubset(convertedLeft)) {
+            for (RelNode physicalRight : OptUtils.getPhysicalRelsFromSubset(convertedRight)) {
+                RelNode rel = createJoin(call, logicalJoin, physicalLeft, physicalRight, leftKeys, rightKeys, colocated);
+
+                call.transformTo(rel);
+            }
+        }
+    }
+
+    @SuppressWarnings("checkstyle:ParameterNumber")
+    private static RelNode createJoin(
+        RelOptRuleCall call,
+        JoinLogicalRel logicalJoin,
+        RelNode physicalLeft,
+        RelNode physicalRight,
+        List<Integer> leftKeys,
+        List<Integer> rightKeys,
+        boolean colocated
+    ) {
+        DistributionTraitDef distributionDef = OptUtils.getDistributionDef(logicalJoin);
+        RelTraitSet emptyTraitSet = call.getPlanner().emptyTraitSet();
+
+        DistributionTrait leftDistribution = OptUtils.getDistribution(physicalLeft);
+        DistributionTrait rightDistribution = OptUtils.getDistribution(physicalRight);
+
+        if (logicalJoin.getMemberCount() == 1
+            || (leftDistribution.getType() == ROOT && rightDistribution.getType() == ROOT)) {
+            return createJoin(logicalJoin, physicalLeft.getTraitSet(), physicalLeft, physicalRight);
+        }
+
+        boolean partitioned = leftDistribution.getType() == PARTITIONED && rightDistribution.getType() == PARTITIONED;
+
+        if (partitioned && colocated) {
+            // Matching rows are located in the same partition, no exchange is needed.
+            return createJoin(logicalJoin, physicalLeft.getTraitSet(), physicalLeft, physicalRight);
+        }
+
+        if (partitioned && !leftKeys.isEmpty()) {
+            RelTraitSet partitionedTraitSet =
+                OptUtils.toPhysicalConvention(emptyTraitSet, distributionDef.getTraitPartitionedUnknown());
+
+            RelNode left = new UnicastExchangePhysicalRel(
+                logicalJoin.getCluster(),
+                partitionedTraitSet,
+                physicalLeft,
+                leftKeys
+            );
+
+            RelNode right = new UnicastExchangePhysicalRel(
+                logicalJoin.getCluster(),
+                partitionedTraitSet,
+                physicalRight,
+                rightKeys
+            );
+
+            return createJoin(logicalJoin, partitionedTraitSet, left, right);
+        }
+
+        RelTraitSet rootTraitSet = OptUtils.toPhysicalConvention(emptyTraitSet, distributionDef.getTraitRoot());
+
+        RelNode left = toRoot(logicalJoin, rootTraitSet, physicalLeft);
+        RelNode right = toRoot(logicalJoin, rootTraitSet, physicalRight);
+
+        return createJoin(logicalJoin, rootTraitSet, left, right);
+    }
+
+    private static RelNode toRoot(JoinLogicalRel logicalJoin, RelTraitSet rootTraitSet, RelNode input) {
+        if (OptUtils.getDistribution(input).getType() == ROOT) {
+            return input;
+        }
+
+        return new RootExchangePhysicalRel(logicalJoin.getCluster(), rootTraitSet, input);
+    }
+
+    private static HashJoinPhysicalRel createJoin(
+        JoinLogicalRel logicalJoin,
+        RelTraitSet traitSet,
+        RelNode left,
+        RelNode right
+    ) {
+        return new HashJoinPhysicalRel(
+            logicalJoin.getCluster(),
+            traitSet,
+            left,
+            right,
+            logicalJoin.getCondition(),
+            logicalJoin.getJoinType()
+        );
+    }
+
+    /**
+     * Check whether the join inputs are co-located, i.e. for every pair of joined rows both rows are located in the same
+     * partition. This is the case when at least one pair of join keys refers to the distribution fields of partitioned maps
+     * of the same type.
+     *
+     * @param logicalJoin Join.
+     * @param leftKeys Left join keys.
+     * @param rightKeys Right join keys.
+     * @return {@code true} if the inputs are co-located.
+     */
+    private static boolean isColocated(JoinLogicalRel logicalJoin, List<Integer> leftKeys, List<Integer> rightKeys) {
+        for (int i = 0; i < leftKeys.size(); i++) {
+            QueryDataType leftType = getDistributionFieldType(logicalJoin.getLeft(), leftKeys.get(i));
+
+            if (leftType == null) {
+                continue;
+            }
+
+            QueryDataType rightType = getDistributionFieldType(logicalJoin.getRight(), rightKeys.get(i));
+
+            if (leftType.equals(rightType)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Get the type of the column if it refers to the distribution field of a partitioned map. Only projections and filters
+     * are traversed, since they do not change the location of the row.
+     *
+     * @param rel Logical rel.
+     * @param index Column index.
+     * @return Type of the distribution field or {@code null} if the column doesn't refer to it.
+     */
+    private static QueryDataType getDistributionFieldType(RelNode rel, int index) {
+        if (rel instanceof RelSubset) {
+            rel = getLogicalRel((RelSubset) rel);
+        }
+
+        if (rel instanceof ProjectLogicalRel) {
+            RexNode project = ((ProjectLogicalRel) rel).getProjects().get(index);
+
+            if (project instanceof RexInputRef) {
+                return getDistributionFieldType(((ProjectLogicalRel) rel).getInput(), ((RexInputRef) project).getIndex());
+            }
+        } else if (rel instanceof FilterLogicalRel) {
+            return getDistributionFieldType(((FilterLogicalRel) rel).getInput(), index);
+        } else if (rel instanceof MapScanLogicalRel) {
+            HazelcastTable table = ((MapScanLogicalRel) rel).getTableUnwrapped();
+            AbstractMapTable map = table.getTarget();
+
+            if (map instanceof PartitionedMapTable) {
+                int fieldIndex = table.getProjects().get(index);
+
+                if (fieldIndex == ((PartitionedMapTable) map).getDistributionFieldOrdinal()) {
+                    return map.getField(fieldIndex).getType();
+                }
+            }
+        }
+
+        return null;
+    }
+
+    private static RelNode getLogicalRel(RelSubset subset) {
+        for (RelNode rel : subset.getRelList()) {
+            if (rel instanceof LogicalRel) {
+                return rel;
+            }
+        }
+
+        return null;
+    }
+}
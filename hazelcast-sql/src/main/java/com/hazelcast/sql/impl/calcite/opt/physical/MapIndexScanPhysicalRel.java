@@ -0,0 +1,123 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.sql.impl.calcite.opt.physical;
+
+import com.hazelcast.config.IndexType;
+import com.hazelcast.sql.impl.calcite.opt.cost.CostUtils;
+import com.hazelcast.sql.impl.calcite.opt.physical.visitor.PhysicalRelVisitor;
+import com.hazelcast.sql.impl.calcite.schema.HazelcastTable;
+import com.hazelcast.sql.impl.exec.scan.index.IndexFilter;
+import com.hazelcast.sql.impl.schema.map.MapTableIndex;
+import org.apache.calcite.plan.RelOptCluster;
+import org.apache.calcite.plan.RelOptCost;
+import org.apache.calcite.plan.RelOptPlanner;
+import org.apache.calcite.plan.RelOptTable;
+import org.apache.calcite.plan.RelTraitSet;
+import org.apache.calcite.rel.RelNode;
+import org.apache.calcite.rel.RelWriter;
+import org.apache.calcite.rel.metadata.RelMetadataQuery;
+import org.apache.calcite.rex.RexNode;
+
+import java.util.List;
+
+/**
+ * Physical scan over partitioned map which uses an index to get the entries.
+ * <p>
+ * The index is used only to narrow down the set of candidate entries. The original filter of the scan is always re-applied
+ * to the entries returned from the index.
+ * <p>
+ * Traits:
+ * <ul>
+ *     <li><b>Collation</b>: empty, as entries are not guaranteed to be returned in the index order</li>
+ *     <li><b>Distribution</b>: PARTITIONED</li>
+ * </ul>
+ */
+public class MapIndexScanPhysicalRel extends AbstractMapScanPhysicalRel {
+    /** Index to be used. */
+    private final MapTableIndex index;
+
+    /** Filter to be passed to the index. */
+    private final IndexFilter indexFilter;
+
+    /** Part of the original filter which is handled by the index. Used for explain and cost estimation. */
+    private final RexNode indexExp;
+
+    public MapIndexScanPhysicalRel(
+        RelOptCluster cluster,
+        RelTraitSet traitSet,
+        RelOptTable table,
+        MapTableIndex index,
+        IndexFilter indexFilter,
+        RexNode indexExp
+    ) {
+        super(cluster, traitSet, table);
+
+        this.index = index;
+        this.indexFilter = indexFilter;
+        this.indexExp = indexExp;
+    }
+
+    public MapTableIndex getIndex() {
+        return index;
+    }
+
+    public IndexFilter getIndexFilter() {
+        return indexFilter;
+    }
+
+    public RexNode getIndexExp() {
+        return indexExp;
+    }
+
+    @Override
+    public final RelNode copy(RelTraitSet traitSet, List<RelNode> inputs) {
+        return new MapIndexScanPhysicalRel(getCluster(), traitSet, getTable(), index, indexFilter, indexExp);
+    }
+
+    @Override
+    public void visit(PhysicalRelVisitor visitor) {
+        visitor.onMapIndexScan(this);
+    }
+
+    @Override
+    public RelWriter explainTerms(RelWriter pw) {
+        return super.explainTerms(pw)
+            .item("index", index.getName())
+            .item("indexExp", indexExp);
+    }
+
+    @Override
+    public RelOptCost computeSelfCost(RelOptPlanner planner, RelMetadataQuery mq) {
+        HazelcastTable table0 = getTableUnwrapped();
+
+        // Only the entries returned from the index are scanned.
+        double scanRowCount = table0.getTotalRowCount() * table0.estimateSelectivity(indexExp);
+
+        double scanCostMultiplier = index.getType() == IndexType.HASH
+            ? CostUtils.INDEX_SCAN_HASH_CPU_MULTIPLIER
+            : CostUtils.INDEX_SCAN_SORTED_CPU_MULTIPLIER;
+
+        return computeSelfCost(
+            planner,
+            scanRowCount,
+            scanCostMultiplier,
+            table0.getFilter() != null,
+            table.getRowCount(),
+            table0.getProjects().size()
+        );
+    }
+}
@@ -20,11 +20,15 @@ import com.hazelcast.sql.impl.calcite.opt.HazelcastConventions;
 import com.hazelcast.sql.impl.calcite.opt.OptUtils;
 import com.hazelcast.sql.impl.calcite.opt.distribution.DistributionTrait;
 import com.hazelcast.sql.impl.calcite.opt.logical.MapScanLogicalRel;
+import com.hazelcast.sql.impl.calcite.opt.physical.index.IndexResolver;
 import org.apache.calcite.plan.RelOptRule;
 import org.apache.calcite.plan.RelOptRuleCall;
+import org.apache.calcite.plan.RelTraitSet;
+import org.apache.calcite.rel.RelNode;
 
 /**
- * Convert logical map scan to physical map scan.
+ * Convert logical map scan to physical map scan. If the map has indexes which could be used to evaluate the filter,
+ * index scans are produced as well.
  */
 public final class MapScanPhysicalRule extends RelOptRule {
     public static final RelOptRule INSTANCE = new MapScanPhysicalRule();
@@ -42,10 +46,16 @@ public final class MapScanPhysicalRule extends RelOptRule {
 
         DistributionTrait distribution = OptUtils.getDistributionDef(scan).getTraitPartitionedUnknown();
 
+        RelTraitSet traitSet = OptUtils.toPhysicalConvention(scan.getTraitSet(), distribution);
+
         call.transformTo(new MapScanPhysicalRel(
             scan.getCluster(),
-            OptUtils.toPhysicalConvention(scan.getTraitSet(), distribution),
+            traitSet,
             scan.getTable()
         ));
+
+        for (RelNode indexScan : IndexResolver.createIndexScans(scan, traitSet)) {
+            call.transformTo(indexScan);
+        }
     }
 }
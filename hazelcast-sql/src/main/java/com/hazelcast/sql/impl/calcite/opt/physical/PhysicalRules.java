@@ -35,6 +35,9 @@ public final class PhysicalRules {
             FilterPhysicalRule.INSTANCE,
             ProjectPhysicalRule.INSTANCE,
             MapScanPhysicalRule.INSTANCE,
+            AggregatePhysicalRule.INSTANCE,
+            SortPhysicalRule.INSTANCE,
+            JoinPhysicalRule.INSTANCE,
 
             new AbstractConverter.ExpandConversionRule(RelFactories.LOGICAL_BUILDER)
         );
@@ -0,0 +1,114 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.sql.impl.calcite.opt.physical;
+
+import com.hazelcast.sql.impl.calcite.opt.cost.CostUtils;
+import com.hazelcast.sql.impl.calcite.opt.physical.visitor.PhysicalRelVisitor;
+import org.apache.calcite.plan.RelOptCluster;
+import org.apache.calcite.plan.RelOptCost;
+import org.apache.calcite.plan.RelOptPlanner;
+import org.apache.calcite.plan.RelTraitSet;
+import org.apache.calcite.rel.RelCollation;
+import org.apache.calcite.rel.RelNode;
+import org.apache.calcite.rel.RelWriter;
+import org.apache.calcite.rel.SingleRel;
+import org.apache.calcite.rel.metadata.RelMetadataQuery;
+import org.apache.calcite.rex.RexNode;
+
+import java.util.List;
+
+/**
+ * Physical sort.
+ * <p>
+ * If the fetch is defined, only top {@code fetch + offset} rows are produced. The offset is not skipped, because the
+ * sort may be a local stage of a distributed sort, so the final result is not known yet. The {@link FetchPhysicalRel}
+ * on top of it is responsible for the exact {@code LIMIT} and {@code OFFSET} semantics.
+ * <p>
+ * Traits:
+ * <ul>
+ *     <li><b>Collation</b>: defined by the sort</li>
+ *     <li><b>Distribution</b>: inherited from the input</li>
+ * </ul>
+ */
+public class SortPhysicalRel extends SingleRel implements PhysicalRel {
+
+    private final RelCollation collation;
+    private final RexNode fetch;
+    private final RexNode offset;
+
+    public SortPhysicalRel(
+        RelOptCluster cluster,
+        RelTraitSet traits,
+        RelNode input,
+        RelCollation collation,
+        RexNode fetch,
+        RexNode offset
+    ) {
+        super(cluster, traits, input);
+
+        this.collation = collation;
+        this.fetch = fetch;
+        this.offset = offset;
+    }
+
+    public RelCollation getCollation() {
+        return collation;
+    }
+
+    public RexNode getFetch() {
+        return fetch;
+    }
+
+    public RexNode getOffset() {
+        return offset;
+    }
+
+    @Override
+    public RelNode copy(RelTraitSet traitSet, List<RelNode> inputs) {
+        return new SortPhysicalRel(getCluster(), traitSet, sole(inputs), collation, fetch, offset);
+    }
+
+    @Override
+    public void visit(PhysicalRelVisitor visitor) {
+        ((PhysicalRel) input).visit(visitor);
+
+        visitor.onSort(this);
+    }
+
+    @Override
+    public final RelWriter explainTerms(RelWriter pw) {
+        return super.explainTerms(pw)
+            .item("collation", collation)
+            .itemIf("fetch", fetch, fetch != null)
+            .itemIf("offset", offset, offset != null);
+    }
+
+    @Override
+    public double estimateRowCount(RelMetadataQuery mq) {
+        return FetchPhysicalRel.getLimitRowCount(mq.getRowCount(getInput()), fetch, offset);
+    }
+
+    @Override
+    public RelOptCost computeSelfCost(RelOptPlanner planner, RelMetadataQuery mq) {
+        double inputRows = mq.getRowCount(getInput());
+
+        double rows = estimateRowCount(mq);
+        double cpu = CostUtils.getSortCpu(inputRows, rows, collation.getFieldCollations().size());
+
+        return planner.getCostFactory().makeCost(rows, cpu, 0);
+    }
+}
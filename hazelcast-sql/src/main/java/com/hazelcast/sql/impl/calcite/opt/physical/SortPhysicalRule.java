@@ -0,0 +1,110 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.sql.impl.calcite.opt.physical;
+
+import com.hazelcast.sql.impl.calcite.opt.HazelcastConventions;
+import com.hazelcast.sql.impl.calcite.opt.OptUtils;
+import com.hazelcast.sql.impl.calcite.opt.distribution.DistributionTraitDef;
+import com.hazelcast.sql.impl.calcite.opt.logical.SortLogicalRel;
+import com.hazelcast.sql.impl.calcite.opt.physical.exchange.RootExchangePhysicalRel;
+import com.hazelcast.sql.impl.calcite.opt.physical.exchange.SortMergeExchangePhysicalRel;
+import org.apache.calcite.plan.RelOptCluster;
+import org.apache.calcite.plan.RelOptRule;
+import org.apache.calcite.plan.RelOptRuleCall;
+import org.apache.calcite.plan.RelTraitSet;
+import org.apache.calcite.rel.RelCollation;
+import org.apache.calcite.rel.RelNode;
+
+import static com.hazelcast.sql.impl.calcite.opt.distribution.DistributionType.ROOT;
+
+/**
+ * Converts logical sort into physical sort.
+ * <p>
+ * If the whole input is available on a single member, the input is sorted locally. Otherwise every member sorts its
+ * local part of the input, and the root member merges the pre-sorted streams. When the {@code LIMIT} is defined, members
+ * retain and send only the top {@code LIMIT + OFFSET} rows. The exact {@code LIMIT} and {@code OFFSET} are applied on the
+ * root member by the {@link FetchPhysicalRel}.
+ */
+public final class SortPhysicalRule extends RelOptRule {
+    public static final RelOptRule INSTANCE = new SortPhysicalRule();
+
+    private SortPhysicalRule() {
+        super(
+            OptUtils.parentChild(SortLogicalRel.class, RelNode.class, HazelcastConventions.LOGICAL),
+            SortPhysicalRule.class.getSimpleName()
+        );
+    }
+
+    @Override
+    public void onMatch(RelOptRuleCall call) {
+        SortLogicalRel logicalSort = call.rel(0);
+        RelNode input = logicalSort.getInput();
+
+        RelNode convertedInput = OptUtils.toPhysicalInput(input);
+
+        for (RelNode physicalInput : OptUtils.getPhysicalRelsFromSubset(convertedInput)) {
+            call.transformTo(createSort(call, logicalSort, physicalInput));
+        }
+    }
+
+    private static RelNode createSort(RelOptRuleCall call, SortLogicalRel logicalSort, RelNode physicalInput) {
+        RelOptCluster cluster = logicalSort.getCluster();
+        RelCollation collation = logicalSort.getCollation();
+
+        boolean hasCollation = !collation.getFieldCollations().isEmpty();
+
+        RelNode rel = physicalInput;
+
+        if (OptUtils.getDistribution(physicalInput).getType() == ROOT || logicalSort.getMemberCount() == 1) {
+            if (hasCollation) {
+                rel = createSort(logicalSort, rel);
+            }
+        } else {
+            // Local stage. Only a limit makes sense if there is no collation.
+            if (hasCollation || logicalSort.fetch != null) {
+                rel = createSort(logicalSort, rel);
+            }
+
+            DistributionTraitDef distributionDef = OptUtils.getDistributionDef(logicalSort);
+            RelTraitSet rootTraitSet =
+                OptUtils.toPhysicalConvention(call.getPlanner().emptyTraitSet(), distributionDef.getTraitRoot());
+
+            if (hasCollation) {
+                rel = new SortMergeExchangePhysicalRel(cluster, rootTraitSet, rel, collation);
+            } else {
+                rel = new RootExchangePhysicalRel(cluster, rootTraitSet, rel);
+            }
+        }
+
+        if (logicalSort.fetch != null || logicalSort.offset != null) {
+            rel = new FetchPhysicalRel(cluster, rel.getTraitSet(), rel, logicalSort.fetch, logicalSort.offset);
+        }
+
+        return rel;
+    }
+
+    private static SortPhysicalRel createSort(SortLogicalRel logicalSort, RelNode input) {
+        return new SortPhysicalRel(
+            logicalSort.getCluster(),
+            input.getTraitSet(),
+            input,
+            logicalSort.getCollation(),
+            logicalSort.fetch,
+            logicalSort.offset
+        );
+    }
+}
@@ -0,0 +1,498 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.sql.impl.calcite.opt.physical.index;
+
+import com.hazelcast.config.IndexType;
+import com.hazelcast.sql.impl.calcite.SqlToQueryType;
+import com.hazelcast.sql.impl.calcite.opt.logical.MapScanLogicalRel;
+import com.hazelcast.sql.impl.calcite.opt.physical.MapIndexScanPhysicalRel;
+import com.hazelcast.sql.impl.calcite.opt.physical.visitor.RexToExpression;
+import com.hazelcast.sql.impl.calcite.schema.HazelcastTable;
+import com.hazelcast.sql.impl.exec.scan.index.IndexEqualsFilter;
+import com.hazelcast.sql.impl.exec.scan.index.IndexFilter;
+import com.hazelcast.sql.impl.exec.scan.index.IndexFilterValue;
+import com.hazelcast.sql.impl.exec.scan.index.IndexInFilter;
+import com.hazelcast.sql.impl.exec.scan.index.IndexRangeFilter;
+import com.hazelcast.sql.impl.expression.Expression;
+import com.hazelcast.sql.impl.expression.ParameterExpression;
+import com.hazelcast.sql.impl.schema.map.MapTableIndex;
+import com.hazelcast.sql.impl.schema.map.PartitionedMapTable;
+import com.hazelcast.sql.impl.type.QueryDataTypeFamily;
+import org.apache.calcite.plan.RelOptUtil;
+import org.apache.calcite.plan.RelTraitSet;
+import org.apache.calcite.rel.RelNode;
+import org.apache.calcite.rex.RexBuilder;
+import org.apache.calcite.rex.RexCall;
+import org.apache.calcite.rex.RexDynamicParam;
+import org.apache.calcite.rex.RexInputRef;
+import org.apache.calcite.rex.RexLiteral;
+import org.apache.calcite.rex.RexNode;
+import org.apache.calcite.rex.RexUtil;
+import org.apache.calcite.sql.SqlKind;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Helper class which creates index scans for the given map scan.
+ * <p>
+ * The filter of the scan is split into conjunctions. Every conjunction of the form {@code column [=|>|>=|<|<=] value}, where
+ * {@code value} is either a literal or a dynamic parameter, becomes a candidate for index lookup. A disjunction of equality
+ * conditions on the same column becomes a candidate for {@code IN} lookup. Then every index of the map is matched against the
+ * candidates:
+ * <ul>
+ *     <li>{@link IndexType#HASH} index requires equality conditions on all its components, or an {@code IN} condition
+ *     for a single-component index</li>
+ *     <li>{@link IndexType#SORTED} index requires an equality or range condition on a prefix of its components</li>
+ *     <li>{@link IndexType#BITMAP} index is not used, because it cannot return entries for a lookup value</li>
+ * </ul>
+ * The original filter is always re-applied to the entries returned from the index, so the index lookup may safely return
+ * more entries than required.
+ */
+public final class IndexResolver {
+    private IndexResolver() {
+        // No-op.
+    }
+
+    /**
+     * Create index scans for the given logical map scan.
+     *
+     * @param scan Logical scan.
+     * @param traitSet Trait set of the resulting physical scans.
+     * @return Index scans or an empty list if no index could be used.
+     */
+    public static List<RelNode> createIndexScans(MapScanLogicalRel scan, RelTraitSet traitSet) {
+        HazelcastTable table = scan.getTableUnwrapped();
+
+        RexNode filter = table.getFilter();
+
+        if (filter == null || !(table.getTarget() instanceof PartitionedMapTable)) {
+            return Collections.emptyList();
+        }
+
+        List<MapTableIndex> indexes = ((PartitionedMapTable) table.getTarget()).getIndexes();
+
+        if (indexes.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        Map<Integer, IndexCandidate> candidates = prepareCandidates(filter);
+
+        if (candidates.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        RexBuilder rexBuilder = scan.getCluster().getRexBuilder();
+
+        List<RelNode> res = new ArrayList<>(indexes.size());
+
+        for (MapTableIndex index : indexes) {
+            IndexLookup lookup = createLookup(index, candidates);
+
+            if (lookup == null) {
+                continue;
+            }
+
+            res.add(new MapIndexScanPhysicalRel(
+                scan.getCluster(),
+                traitSet,
+                scan.getTable(),
+                index,
+                lookup.filter,
+                RexUtil.composeConjunction(rexBuilder, lookup.expressions)
+            ));
+        }
+
+        return res;
+    }
+
+    /**
+     * Collect candidates for index lookups from the filter.
+     *
+     * @param filter Filter.
+     * @return Candidates indexed by the ordinal of the table field.
+     */
+    private static Map<Integer, IndexCandidate> prepareCandidates(RexNode filter) {
+        Map<Integer, IndexCandidate> res = new HashMap<>();
+
+        for (RexNode conjunction : RelOptUtil.conjunctions(filter)) {
+            if (conjunction.getKind() == SqlKind.OR) {
+                prepareInCandidate((RexCall) conjunction, res);
+            } else {
+                prepareComparisonCandidate(conjunction, res);
+            }
+        }
+
+        return res;
+    }
+
+    private static void prepareComparisonCandidate(RexNode exp, Map<Integer, IndexCandidate> res) {
+        ComparisonOperands operands = getComparisonOperands(exp);
+
+        if (operands == null) {
+            return;
+        }
+
+        IndexCandidate candidate = res.computeIfAbsent(operands.column.getIndex(), (k) -> new IndexCandidate());
+
+        switch (operands.kind) {
+            case EQUALS:
+                if (candidate.equalsValue == null) {
+                    candidate.equalsValue = operands.value;
+                    candidate.equalsExp = exp;
+                }
+
+                break;
+
+            case GREATER_THAN:
+            case GREATER_THAN_OR_EQUAL:
+                if (candidate.fromValue == null) {
+                    candidate.fromValue = operands.value;
+                    candidate.fromInclusive = operands.kind == SqlKind.GREATER_THAN_OR_EQUAL;
+                    candidate.fromExp = exp;
+                }
+
+                break;
+
+            default:
+                assert operands.kind == SqlKind.LESS_THAN || operands.kind == SqlKind.LESS_THAN_OR_EQUAL;
+
+                if (candidate.toValue == null) {
+                    candidate.toValue = operands.value;
+                    candidate.toInclusive = operands.kind == SqlKind.LESS_THAN_OR_EQUAL;
+                    candidate.toExp = exp;
+                }
+        }
+    }
+
+    private static void prepareInCandidate(RexCall exp, Map<Integer, IndexCandidate> res) {
+        Integer columnIndex = null;
+        List<Expression> values = new ArrayList<>(exp.getOperands().size());
+
+        for (RexNode disjunction : exp.getOperands()) {
+            ComparisonOperands operands = getComparisonOperands(disjunction);
+
+            if (operands == null || operands.kind != SqlKind.EQUALS) {
+                return;
+            }
+
+            if (columnIndex == null) {
+                columnIndex = operands.column.getIndex();
+            } else if (columnIndex != operands.column.getIndex()) {
+                return;
+            }
+
+            values.add(operands.value);
+        }
+
+        IndexCandidate candidate = res.computeIfAbsent(columnIndex, (k) -> new IndexCandidate());
+
+        if (candidate.inValues == null) {
+            candidate.inValues = values;
+            candidate.inExp = exp;
+        }
+    }
+
+    /**
+     * Parse the expression of the form {@code column [=|>|>=|<|<=] value} or {@code value [=|>|>=|<|<=] column}.
+     *
+     * @param exp Expression.
+     * @return Operands with the normalized comparison kind or {@code null} if the expression cannot be used for index lookup.
+     */
+    private static ComparisonOperands getComparisonOperands(RexNode exp) {
+        SqlKind kind = exp.getKind();
+
+        switch (kind) {
+            case EQUALS:
+            case GREATER_THAN:
+            case GREATER_THAN_OR_EQUAL:
+            case LESS_THAN:
+            case LESS_THAN_OR_EQUAL:
+                break;
+
+            default:
+                return null;
+        }
+
+        RexNode operand1 = ((RexCall) exp).getOperands().get(0);
+        RexNode operand2 = ((RexCall) exp).getOperands().get(1);
+
+        if (operand1 instanceof RexInputRef) {
+            return createComparisonOperands(kind, (RexInputRef) operand1, operand2);
+        } else if (operand2 instanceof RexInputRef) {
+            return createComparisonOperands(kind.reverse(), (RexInputRef) operand2, operand1);
+        } else {
+            return null;
+        }
+    }
+
+    private static ComparisonOperands createComparisonOperands(SqlKind kind, RexInputRef column, RexNode valueExp) {
+        if (!isCompatibleType(column, valueExp)) {
+            return null;
+        }
+
+        Expression<?> value = convertValue(valueExp);
+
+        if (value == null) {
+            return null;
+        }
+
+        return new ComparisonOperands(kind, column, value);
+    }
+
+    /**
+     * Check whether the value could be passed to the index of the column as is. Index converts the lookup value to the type of
+     * the attribute, so the value must not lose precision during the conversion.
+     */
+    private static boolean isCompatibleType(RexInputRef column, RexNode valueExp) {
+        QueryDataTypeFamily columnFamily = SqlToQueryType.map(column.getType().getSqlTypeName()).getTypeFamily();
+        QueryDataTypeFamily valueFamily = SqlToQueryType.map(valueExp.getType().getSqlTypeName()).getTypeFamily();
+
+        if (columnFamily == valueFamily) {
+            return columnFamily != QueryDataTypeFamily.OBJECT && columnFamily != QueryDataTypeFamily.NULL;
+        }
+
+        return isIntegerFamily(columnFamily) && isIntegerFamily(valueFamily) && valueFamily.ordinal() < columnFamily.ordinal();
+    }
+
+    private static boolean isIntegerFamily(QueryDataTypeFamily family) {
+        switch (family) {
+            case TINYINT:
+            case SMALLINT:
+            case INT:
+            case BIGINT:
+                return true;
+
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * Convert the lookup value to an expression. Only literals, dynamic parameters and casts of them are supported, because
+     * the value is evaluated without a row.
+     *
+     * @param exp Value.
+     * @return Expression or {@code null} if the value is not supported.
+     */
+    private static Expression<?> convertValue(RexNode exp) {
+        if (exp instanceof RexLiteral) {
+            RexLiteral literal = (RexLiteral) exp;
+
+            if (literal.isNull()) {
+                return null;
+            }
+
+            return RexToExpression.convertLiteral(literal);
+        } else if (exp instanceof RexDynamicParam) {
+            RexDynamicParam param = (RexDynamicParam) exp;
+
+            return ParameterExpression.create(param.getIndex(), SqlToQueryType.map(param.getType().getSqlTypeName()));
+        } else if (exp.getKind() == SqlKind.CAST) {
+            RexCall call = (RexCall) exp;
+
+            Expression<?> operand = convertValue(call.getOperands().get(0));
+
+            if (operand == null) {
+                return null;
+            }
+
+            return RexToExpression.convertCall(call, new Expression[] { operand });
+        }
+
+        return null;
+    }
+
+    /**
+     * Create lookup for the given index.
+     *
+     * @param index Index.
+     * @param candidates Candidates.
+     * @return Lookup or {@code null} if the index cannot be used.
+     */
+    private static IndexLookup createLookup(MapTableIndex index, Map<Integer, IndexCandidate> candidates) {
+        if (index.getType() == IndexType.HASH) {
+            return createHashLookup(index, candidates);
+        } else if (index.getType() == IndexType.SORTED) {
+            return createSortedLookup(index, candidates);
+        } else {
+            return null;
+        }
+    }
+
+    private static IndexLookup createHashLookup(MapTableIndex index, Map<Integer, IndexCandidate> candidates) {
+        IndexLookup lookup = createEqualsLookup(index, candidates);
+
+        if (lookup != null) {
+            return lookup;
+        }
+
+        if (index.getComponentsCount() == 1) {
+            return createInLookup(candidates.get(index.getFieldOrdinals().get(0)));
+        }
+
+        return null;
+    }
+
+    private static IndexLookup createSortedLookup(MapTableIndex index, Map<Integer, IndexCandidate> candidates) {
+        int componentsCount = index.getComponentsCount();
+
+        // Collect the longest prefix of components with equality conditions.
+        List<Expression> prefixValues = new ArrayList<>(componentsCount);
+        List<RexNode> prefixExps = new ArrayList<>(componentsCount);
+
+        for (int ordinal : index.getFieldOrdinals()) {
+            IndexCandidate candidate = candidates.get(ordinal);
+
+            if (candidate == null || candidate.equalsValue == null) {
+                break;
+            }
+
+            prefixValues.add(candidate.equalsValue);
+            prefixExps.add(candidate.equalsExp);
+        }
+
+        if (prefixValues.size() == componentsCount) {
+            return new IndexLookup(new IndexEqualsFilter(new IndexFilterValue(prefixValues)), prefixExps);
+        }
+
+        IndexCandidate nextCandidate = candidates.get(index.getFieldOrdinals().get(prefixValues.size()));
+        IndexFilterValue prefix = prefixValues.isEmpty() ? null : new IndexFilterValue(prefixValues);
+
+        if (nextCandidate != null && nextCandidate.hasRange()) {
+            return createRangeLookup(prefix, prefixExps, nextCandidate);
+        }
+
+        if (prefix != null) {
+            return new IndexLookup(new IndexRangeFilter(prefix, null, false, null, false), prefixExps);
+        }
+
+        if (componentsCount == 1) {
+            return createInLookup(nextCandidate);
+        }
+
+        return null;
+    }
+
+    private static IndexLookup createRangeLookup(IndexFilterValue prefix, List<RexNode> prefixExps, IndexCandidate candidate) {
+        List<RexNode> exps = new ArrayList<>(prefixExps);
+
+        if (candidate.fromExp != null) {
+            exps.add(candidate.fromExp);
+        }
+
+        if (candidate.toExp != null) {
+            exps.add(candidate.toExp);
+        }
+
+        IndexRangeFilter filter = new IndexRangeFilter(
+            prefix,
+            candidate.fromValue,
+            candidate.fromInclusive,
+            candidate.toValue,
+            candidate.toInclusive
+        );
+
+        return new IndexLookup(filter, exps);
+    }
+
+    private static IndexLookup createEqualsLookup(MapTableIndex index, Map<Integer, IndexCandidate> candidates) {
+        List<Expression> values = new ArrayList<>(index.getComponentsCount());
+        List<RexNode> exps = new ArrayList<>(index.getComponentsCount());
+
+        for (int ordinal : index.getFieldOrdinals()) {
+            IndexCandidate candidate = candidates.get(ordinal);
+
+            if (candidate == null || candidate.equalsValue == null) {
+                return null;
+            }
+
+            values.add(candidate.equalsValue);
+            exps.add(candidate.equalsExp);
+        }
+
+        return new IndexLookup(new IndexEqualsFilter(new IndexFilterValue(values)), exps);
+    }
+
+    private static IndexLookup createInLookup(IndexCandidate candidate) {
+        if (candidate == null || candidate.inValues == null) {
+            return null;
+        }
+
+        List<IndexFilterValue> values = new ArrayList<>(candidate.inValues.size());
+
+        for (Expression value : candidate.inValues) {
+            values.add(new IndexFilterValue(Collections.singletonList(value)));
+        }
+
+        return new IndexLookup(new IndexInFilter(values), Collections.singletonList(candidate.inExp));
+    }
+
+    /**
+     * Conditions on a single column which could be used for index lookup.
+     */
+    private static final class IndexCandidate {
+        private Expression equalsValue;
+        private RexNode equalsExp;
+
+        private List<Expression> inValues;
+        private RexNode inExp;
+
+        private Expression fromValue;
+        private boolean fromInclusive;
+        private RexNode fromExp;
+
+        private Expression toValue;
+        private boolean toInclusive;
+        private RexNode toExp;
+
+        private boolean hasRange() {
+            return fromValue != null || toValue != null;
+        }
+    }
+
+    /**
+     * Normalized operands of a comparison.
+     */
+    private static final class ComparisonOperands {
+        private final SqlKind kind;
+        private final RexInputRef column;
+        private final Expression<?> value;
+
+        private ComparisonOperands(SqlKind kind, RexInputRef column, Expression<?> value) {
+            this.kind = kind;
+            this.column = column;
+            this.value = value;
+        }
+    }
+
+    /**
+     * Index filter along with the part of the original condition it handles.
+     */
+    private static final class IndexLookup {
+        private final IndexFilter filter;
+        private final List<RexNode> expressions;
+
+        private IndexLookup(IndexFilter filter, List<RexNode> expressions) {
+            this.filter = filter;
+            this.expressions = expressions;
+        }
+    }
+}
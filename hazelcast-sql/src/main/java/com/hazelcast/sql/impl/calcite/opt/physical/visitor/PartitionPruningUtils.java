@@ -0,0 +1,156 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.sql.impl.calcite.opt.physical.visitor;
+
+import com.hazelcast.sql.impl.type.QueryDataType;
+import org.apache.calcite.plan.RelOptUtil;
+import org.apache.calcite.rex.RexCall;
+import org.apache.calcite.rex.RexDynamicParam;
+import org.apache.calcite.rex.RexInputRef;
+import org.apache.calcite.rex.RexLiteral;
+import org.apache.calcite.rex.RexNode;
+import org.apache.calcite.sql.SqlKind;
+import org.apache.calcite.sql.type.SqlTypeName;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Utility methods for partition pruning.
+ * <p>
+ * Partitions can be pruned when the scan filter contains a conjunct that restricts the partitioning field of the map to
+ * a fixed set of values: {@code key = value} or {@code key = value1 OR key = value2 ...}, where the value is a literal or
+ * a parameter. Pruning is performed only for string and integer fields, which have the same equality semantics in SQL and
+ * in the serialized form. Otherwise, two keys which are equal in SQL could be located in different partitions.
+ */
+public final class PartitionPruningUtils {
+    /** Key types which are guaranteed to produce the same partition for equal SQL values. */
+    private static final List<QueryDataType> PRUNABLE_TYPES = Arrays.asList(
+        QueryDataType.VARCHAR,
+        QueryDataType.TINYINT,
+        QueryDataType.SMALLINT,
+        QueryDataType.INT,
+        QueryDataType.BIGINT
+    );
+
+    private PartitionPruningUtils() {
+        // No-op.
+    }
+
+    /**
+     * Get the values of the partitioning field which are allowed by the filter.
+     *
+     * @param filter Scan filter which references the original fields of the table.
+     * @param fieldOrdinal Ordinal of the partitioning field.
+     * @param fieldType Type of the partitioning field.
+     * @return Value expressions or {@code null} if partitions cannot be pruned.
+     */
+    public static List<RexNode> getPartitioningFieldValues(RexNode filter, int fieldOrdinal, QueryDataType fieldType) {
+        if (filter == null || !PRUNABLE_TYPES.contains(fieldType)) {
+            return null;
+        }
+
+        for (RexNode conjunction : RelOptUtil.conjunctions(filter)) {
+            List<RexNode> values = getValues(conjunction, fieldOrdinal, fieldType);
+
+            if (values != null) {
+                return values;
+            }
+        }
+
+        return null;
+    }
+
+    private static List<RexNode> getValues(RexNode node, int fieldOrdinal, QueryDataType fieldType) {
+        if (node.getKind() == SqlKind.EQUALS) {
+            RexNode value = getEqualsValue((RexCall) node, fieldOrdinal, fieldType);
+
+            return value != null ? Collections.singletonList(value) : null;
+        }
+
+        if (node.getKind() == SqlKind.OR) {
+            List<RexNode> disjunctions = RelOptUtil.disjunctions(node);
+            List<RexNode> res = new ArrayList<>(disjunctions.size());
+
+            for (RexNode disjunction : disjunctions) {
+                if (disjunction.getKind() != SqlKind.EQUALS) {
+                    return null;
+                }
+
+                RexNode value = getEqualsValue((RexCall) disjunction, fieldOrdinal, fieldType);
+
+                if (value == null) {
+                    return null;
+                }
+
+                res.add(value);
+            }
+
+            return res;
+        }
+
+        return null;
+    }
+
+    private static RexNode getEqualsValue(RexCall call, int fieldOrdinal, QueryDataType fieldType) {
+        RexNode operand1 = call.getOperands().get(0);
+        RexNode operand2 = call.getOperands().get(1);
+
+        if (isField(operand1, fieldOrdinal, fieldType) && isValue(operand2, fieldType)) {
+            return operand2;
+        } else if (isField(operand2, fieldOrdinal, fieldType) && isValue(operand1, fieldType)) {
+            return operand1;
+        }
+
+        return null;
+    }
+
+    private static boolean isField(RexNode node, int fieldOrdinal, QueryDataType fieldType) {
+        if (node.getKind() == SqlKind.CAST) {
+            // Integer fields may be widened to the type of the value. The conversion of an integer to a wider integer type
+            // preserves equality, so it is safe to unwrap it. Other conversions may map different values to the same one.
+            if (!isInteger(fieldType) || !SqlTypeName.INT_TYPES.contains(node.getType().getSqlTypeName())) {
+                return false;
+            }
+
+            node = ((RexCall) node).getOperands().get(0);
+        }
+
+        return node instanceof RexInputRef && ((RexInputRef) node).getIndex() == fieldOrdinal;
+    }
+
+    private static boolean isValue(RexNode node, QueryDataType fieldType) {
+        if (!(node instanceof RexLiteral) && !(node instanceof RexDynamicParam)) {
+            return false;
+        }
+
+        SqlTypeName typeName = node.getType().getSqlTypeName();
+
+        if (isInteger(fieldType)) {
+            // The value is converted to the field type during execution. If the conversion fails, pruning is skipped.
+            return SqlTypeName.INT_TYPES.contains(typeName);
+        }
+
+        return SqlTypeName.CHAR_TYPES.contains(typeName);
+    }
+
+    private static boolean isInteger(QueryDataType fieldType) {
+        return fieldType != QueryDataType.VARCHAR;
+    }
+}
@@ -20,33 +20,57 @@ import com.hazelcast.internal.util.collection.PartitionIdSet;
 import com.hazelcast.sql.SqlColumnMetadata;
 import com.hazelcast.sql.SqlRowMetadata;
 import com.hazelcast.sql.impl.QueryParameterMetadata;
+import com.hazelcast.sql.impl.QueryException;
 import com.hazelcast.sql.impl.QueryUtils;
+import com.hazelcast.sql.impl.calcite.SqlToQueryType;
+import com.hazelcast.sql.impl.calcite.opt.physical.AggregatePhysicalRel;
+import com.hazelcast.sql.impl.calcite.opt.physical.FetchPhysicalRel;
 import com.hazelcast.sql.impl.calcite.opt.physical.FilterPhysicalRel;
+import com.hazelcast.sql.impl.calcite.opt.physical.HashJoinPhysicalRel;
+import com.hazelcast.sql.impl.calcite.opt.physical.MapIndexScanPhysicalRel;
 import com.hazelcast.sql.impl.calcite.opt.physical.MapScanPhysicalRel;
 import com.hazelcast.sql.impl.calcite.opt.physical.PhysicalRel;
 import com.hazelcast.sql.impl.calcite.opt.physical.ProjectPhysicalRel;
 import com.hazelcast.sql.impl.calcite.opt.physical.RootPhysicalRel;
+import com.hazelcast.sql.impl.calcite.opt.physical.SortPhysicalRel;
 import com.hazelcast.sql.impl.calcite.opt.physical.exchange.AbstractExchangePhysicalRel;
 import com.hazelcast.sql.impl.calcite.opt.physical.exchange.RootExchangePhysicalRel;
+import com.hazelcast.sql.impl.calcite.opt.physical.exchange.SortMergeExchangePhysicalRel;
+import com.hazelcast.sql.impl.calcite.opt.physical.exchange.UnicastExchangePhysicalRel;
 import com.hazelcast.sql.impl.calcite.schema.HazelcastTable;
+import com.hazelcast.sql.impl.exec.agg.AggregateCallDescriptor;
+import com.hazelcast.sql.impl.exec.agg.AggregateFunctionType;
+import com.hazelcast.sql.impl.exec.agg.AggregatePhase;
 import com.hazelcast.sql.impl.expression.Expression;
 import com.hazelcast.sql.impl.extract.QueryPath;
 import com.hazelcast.sql.impl.plan.Plan;
 import com.hazelcast.sql.impl.plan.PlanFragmentMapping;
+import com.hazelcast.sql.impl.plan.PlanPartitionPruning;
 import com.hazelcast.sql.impl.plan.cache.PlanCacheKey;
 import com.hazelcast.sql.impl.plan.cache.PlanObjectKey;
+import com.hazelcast.sql.impl.plan.node.AggregatePlanNode;
+import com.hazelcast.sql.impl.plan.node.FetchPlanNode;
 import com.hazelcast.sql.impl.plan.node.FilterPlanNode;
+import com.hazelcast.sql.impl.plan.node.HashJoinPlanNode;
+import com.hazelcast.sql.impl.plan.node.MapIndexScanPlanNode;
 import com.hazelcast.sql.impl.plan.node.MapScanPlanNode;
 import com.hazelcast.sql.impl.plan.node.PlanNode;
 import com.hazelcast.sql.impl.plan.node.PlanNodeFieldTypeProvider;
 import com.hazelcast.sql.impl.plan.node.PlanNodeSchema;
 import com.hazelcast.sql.impl.plan.node.ProjectPlanNode;
 import com.hazelcast.sql.impl.plan.node.RootPlanNode;
+import com.hazelcast.sql.impl.plan.node.SortPlanNode;
 import com.hazelcast.sql.impl.plan.node.io.ReceivePlanNode;
+import com.hazelcast.sql.impl.plan.node.io.ReceiveSortMergePlanNode;
 import com.hazelcast.sql.impl.plan.node.io.RootSendPlanNode;
+import com.hazelcast.sql.impl.plan.node.io.UnicastSendPlanNode;
 import com.hazelcast.sql.impl.schema.map.AbstractMapTable;
 import com.hazelcast.sql.impl.schema.map.MapTableField;
+import com.hazelcast.sql.impl.schema.map.PartitionedMapTable;
 import com.hazelcast.sql.impl.type.QueryDataType;
+import org.apache.calcite.rel.RelFieldCollation;
+import org.apache.calcite.rel.core.AggregateCall;
+import org.apache.calcite.rel.core.JoinRelType;
 import org.apache.calcite.rex.RexNode;
 
 import java.util.ArrayDeque;
@@ -70,7 +94,7 @@ import java.util.UUID;
  * created, and then exchange is converted into a pair of appropriate send/receive operators. Send operator is added to the
  * previous fragment, receive operator is a starting point for the new fragment.
  */
-@SuppressWarnings("rawtypes")
+@SuppressWarnings({"rawtypes", "checkstyle:ClassDataAbstractionCoupling", "checkstyle:ClassFanOutComplexity"})
 public class PlanCreateVisitor implements PhysicalRelVisitor {
     /** ID of query coordinator. */
     private final UUID localMemberId;
@@ -122,6 +146,15 @@ public class PlanCreateVisitor implements PhysicalRelVisitor {
     /** Collected IDs of objects used in the plan. */
     private final Set<PlanObjectKey> objectIds = new HashSet<>();
 
+    /** Number of scans in the plan. */
+    private int scanCount;
+
+    /** Whether the plan redistributes rows between members, so that all data members must participate in it. */
+    private boolean redistributed;
+
+    /** Partition pruning derived from the filter of the last visited scan. */
+    private PlanPartitionPruning scanPartitionPruning;
+
     public PlanCreateVisitor(
         UUID localMemberId,
         Map<UUID, PartitionIdSet> partMap,
@@ -180,7 +213,8 @@ public class PlanCreateVisitor implements PhysicalRelVisitor {
             rowMetadata,
             parameterMetadata,
             planKey,
-            objectIds
+            objectIds,
+            scanCount == 1 && !redistributed ? scanPartitionPruning : null
         );
     }
 
@@ -235,6 +269,35 @@ public class PlanCreateVisitor implements PhysicalRelVisitor {
         pushUpstream(scanNode);
 
         objectIds.add(table.getObjectKey());
+
+        onScan(table, schemaBefore, hazelcastTable.getFilter());
+    }
+
+    @Override
+    public void onMapIndexScan(MapIndexScanPhysicalRel rel) {
+        HazelcastTable hazelcastTable = rel.getTableUnwrapped();
+        AbstractMapTable table = rel.getMap();
+
+        PlanNodeSchema schemaBefore = getScanSchemaBeforeProject(table);
+
+        MapIndexScanPlanNode scanNode = new MapIndexScanPlanNode(
+            pollId(rel),
+            table.getName(),
+            table.getKeyDescriptor(),
+            table.getValueDescriptor(),
+            getScanFieldPaths(table),
+            schemaBefore.getTypes(),
+            hazelcastTable.getProjects(),
+            rel.getIndex().getName(),
+            rel.getIndexFilter(),
+            convertFilter(schemaBefore, hazelcastTable.getFilter())
+        );
+
+        pushUpstream(scanNode);
+
+        objectIds.add(table.getObjectKey());
+
+        onScan(table, schemaBefore, hazelcastTable.getFilter());
     }
 
     @Override
@@ -265,6 +328,69 @@ public class PlanCreateVisitor implements PhysicalRelVisitor {
         pushUpstream(receiveNode);
     }
 
+    @Override
+    public void onUnicastExchange(UnicastExchangePhysicalRel rel) {
+        // Get upstream node.
+        PlanNode upstreamNode = pollSingleUpstream();
+
+        // Create sender and push it as a fragment.
+        int edge = nextEdge();
+
+        int id = pollId(rel);
+
+        redistributed = true;
+
+        UnicastSendPlanNode sendNode = new UnicastSendPlanNode(
+            id,
+            upstreamNode,
+            edge,
+            toIntArray(rel.getHashFields())
+        );
+
+        addFragment(sendNode, dataMemberMapping());
+
+        // Create receiver.
+        ReceivePlanNode receiveNode = new ReceivePlanNode(
+            id,
+            edge,
+            sendNode.getSchema().getTypes()
+        );
+
+        pushUpstream(receiveNode);
+    }
+
+    @Override
+    public void onSortMergeExchange(SortMergeExchangePhysicalRel rel) {
+        // Get upstream node.
+        PlanNode upstreamNode = pollSingleUpstream();
+
+        // Create sender and push it as a fragment.
+        int edge = nextEdge();
+
+        int id = pollId(rel);
+
+        RootSendPlanNode sendNode = new RootSendPlanNode(
+            id,
+            upstreamNode,
+            edge
+        );
+
+        addFragment(sendNode, dataMemberMapping());
+
+        // Create receiver.
+        List<RelFieldCollation> fieldCollations = rel.getCollation().getFieldCollations();
+
+        ReceiveSortMergePlanNode receiveNode = new ReceiveSortMergePlanNode(
+            id,
+            edge,
+            sendNode.getSchema().getTypes(),
+            getSortColumns(fieldCollations),
+            getSortAscs(fieldCollations)
+        );
+
+        pushUpstream(receiveNode);
+    }
+
     @Override
     public void onProject(ProjectPhysicalRel rel) {
         PlanNode upstreamNode = pollSingleUpstream();
@@ -302,6 +428,175 @@ public class PlanCreateVisitor implements PhysicalRelVisitor {
         pushUpstream(filterNode);
     }
 
+    @Override
+    public void onAggregate(AggregatePhysicalRel rel) {
+        PlanNode upstreamNode = pollSingleUpstream();
+        PlanNodeSchema upstreamSchema = upstreamNode.getSchema();
+
+        AggregatePhase phase = rel.getPhase();
+        int groupCount = rel.getGroupSet().cardinality();
+
+        int[] groupKey;
+        List<AggregateCallDescriptor> calls = new ArrayList<>(rel.getAggCalls().size());
+
+        if (phase.isInputRaw()) {
+            groupKey = rel.getGroupSet().toArray();
+
+            for (AggregateCall aggCall : rel.getAggCalls()) {
+                int operand = aggCall.getArgList().isEmpty() ? -1 : aggCall.getArgList().get(0);
+
+                calls.add(convertAggregateCall(upstreamSchema, aggCall, operand));
+            }
+        } else {
+            // Input of the final phase is the group key followed by intermediate states.
+            groupKey = new int[groupCount];
+
+            for (int i = 0; i < groupCount; i++) {
+                groupKey[i] = i;
+            }
+
+            int operand = groupCount;
+
+            for (AggregateCall aggCall : rel.getAggCalls()) {
+                AggregateCallDescriptor call = convertAggregateCall(upstreamSchema, aggCall, operand);
+
+                calls.add(call);
+
+                operand += call.getStateTypes().size();
+            }
+        }
+
+        AggregatePlanNode aggregateNode = new AggregatePlanNode(
+            pollId(rel),
+            upstreamNode,
+            groupKey,
+            calls,
+            phase
+        );
+
+        pushUpstream(aggregateNode);
+    }
+
+    @Override
+    public void onSort(SortPhysicalRel rel) {
+        PlanNode upstreamNode = pollSingleUpstream();
+
+        List<RelFieldCollation> fieldCollations = rel.getCollation().getFieldCollations();
+
+        SortPlanNode sortNode = new SortPlanNode(
+            pollId(rel),
+            upstreamNode,
+            getSortColumns(fieldCollations),
+            getSortAscs(fieldCollations),
+            convertExpression(upstreamNode.getSchema(), rel.getFetch()),
+            convertExpression(upstreamNode.getSchema(), rel.getOffset())
+        );
+
+        pushUpstream(sortNode);
+    }
+
+    @Override
+    public void onFetch(FetchPhysicalRel rel) {
+        PlanNode upstreamNode = pollSingleUpstream();
+
+        FetchPlanNode fetchNode = new FetchPlanNode(
+            pollId(rel),
+            upstreamNode,
+            convertExpression(upstreamNode.getSchema(), rel.getFetch()),
+            convertExpression(upstreamNode.getSchema(), rel.getOffset())
+        );
+
+        pushUpstream(fetchNode);
+    }
+
+    @Override
+    public void onHashJoin(HashJoinPhysicalRel rel) {
+        // The right input is visited last, so it is on top of the stack.
+        PlanNode rightNode = pollSingleUpstream();
+        PlanNode leftNode = pollSingleUpstream();
+
+        PlanNodeSchema schema = PlanNodeSchema.combine(leftNode.getSchema(), rightNode.getSchema());
+
+        // Both inputs are scanned, and the join condition doesn't necessarily restrict the partitions of the other input.
+        redistributed = true;
+
+        HashJoinPlanNode joinNode = new HashJoinPlanNode(
+            pollId(rel),
+            leftNode,
+            rightNode,
+            toIntArray(rel.getLeftKeys()),
+            toIntArray(rel.getRightKeys()),
+            convertFilter(schema, rel.getNonEquiCondition()),
+            rel.getJoinType() == JoinRelType.LEFT
+        );
+
+        pushUpstream(joinNode);
+    }
+
+    private static int[] getSortColumns(List<RelFieldCollation> fieldCollations) {
+        int[] res = new int[fieldCollations.size()];
+
+        for (int i = 0; i < res.length; i++) {
+            res[i] = fieldCollations.get(i).getFieldIndex();
+        }
+
+        return res;
+    }
+
+    private static boolean[] getSortAscs(List<RelFieldCollation> fieldCollations) {
+        boolean[] res = new boolean[fieldCollations.size()];
+
+        for (int i = 0; i < res.length; i++) {
+            res[i] = !fieldCollations.get(i).getDirection().isDescending();
+        }
+
+        return res;
+    }
+
+    private static AggregateCallDescriptor convertAggregateCall(PlanNodeSchema schema, AggregateCall aggCall, int operand) {
+        AggregateFunctionType type;
+
+        switch (aggCall.getAggregation().getKind()) {
+            case COUNT:
+                type = AggregateFunctionType.COUNT;
+                break;
+
+            case SUM:
+                type = AggregateFunctionType.SUM;
+                break;
+
+            case AVG:
+                type = AggregateFunctionType.AVG;
+                break;
+
+            case MIN:
+                type = AggregateFunctionType.MIN;
+                break;
+
+            case MAX:
+                type = AggregateFunctionType.MAX;
+                break;
+
+            default:
+                throw QueryException.error("Unsupported aggregate function: " + aggCall.getAggregation().getName());
+        }
+
+        QueryDataType operandType = operand < 0 ? null : schema.getType(operand);
+        QueryDataType resultType = SqlToQueryType.map(aggCall.getType().getSqlTypeName());
+
+        return new AggregateCallDescriptor(type, operand, operandType, resultType);
+    }
+
+    private static int[] toIntArray(List<Integer> values) {
+        int[] res = new int[values.size()];
+
+        for (int i = 0; i < values.size(); i++) {
+            res[i] = values.get(i);
+        }
+
+        return res;
+    }
+
     /**
      * Push node to upstream stack.
      *
@@ -371,6 +666,40 @@ public class PlanCreateVisitor implements PhysicalRelVisitor {
         return expression.accept(converter);
     }
 
+    /**
+     * Derive the partition pruning from the scan filter.
+     */
+    private void onScan(AbstractMapTable table, PlanNodeSchema schemaBefore, RexNode filter) {
+        scanCount++;
+        scanPartitionPruning = null;
+
+        if (!(table instanceof PartitionedMapTable)) {
+            return;
+        }
+
+        int fieldOrdinal = ((PartitionedMapTable) table).getDistributionFieldOrdinal();
+
+        if (fieldOrdinal == PartitionedMapTable.DISTRIBUTION_FIELD_ORDINAL_NONE) {
+            return;
+        }
+
+        QueryDataType fieldType = table.getField(fieldOrdinal).getType();
+
+        List<RexNode> values = PartitionPruningUtils.getPartitioningFieldValues(filter, fieldOrdinal, fieldType);
+
+        if (values == null) {
+            return;
+        }
+
+        List<Expression<?>> valueExpressions = new ArrayList<>(values.size());
+
+        for (RexNode value : values) {
+            valueExpressions.add(convertExpression(schemaBefore, value));
+        }
+
+        scanPartitionPruning = new PlanPartitionPruning(fieldType, valueExpressions);
+    }
+
     private static PlanNodeSchema getScanSchemaBeforeProject(AbstractMapTable table) {
         List<QueryDataType> types = new ArrayList<>(table.getFieldCount());
 
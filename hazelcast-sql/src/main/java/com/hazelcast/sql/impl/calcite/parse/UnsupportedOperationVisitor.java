@@ -19,17 +19,19 @@ package com.hazelcast.sql.impl.calcite.parse;
 import com.hazelcast.sql.impl.calcite.validate.types.HazelcastTypeSystem;
 import org.apache.calcite.runtime.CalciteContextException;
 import org.apache.calcite.runtime.Resources;
+import org.apache.calcite.sql.JoinType;
 import org.apache.calcite.sql.SqlBasicTypeNameSpec;
 import org.apache.calcite.sql.SqlCall;
 import org.apache.calcite.sql.SqlDataTypeSpec;
 import org.apache.calcite.sql.SqlDynamicParam;
 import org.apache.calcite.sql.SqlIdentifier;
 import org.apache.calcite.sql.SqlIntervalQualifier;
+import org.apache.calcite.sql.SqlJoin;
 import org.apache.calcite.sql.SqlKind;
 import org.apache.calcite.sql.SqlLiteral;
 import org.apache.calcite.sql.SqlNode;
 import org.apache.calcite.sql.SqlNodeList;
-import org.apache.calcite.sql.SqlSelect;
+import org.apache.calcite.sql.SqlSelectKeyword;
 import org.apache.calcite.sql.SqlUserDefinedTypeNameSpec;
 import org.apache.calcite.sql.SqlUtil;
 import org.apache.calcite.sql.type.SqlTypeName;
@@ -53,6 +55,9 @@ public final class UnsupportedOperationVisitor implements SqlVisitor<Void> {
     /** A set of {@link SqlKind} values that are supported without any additional validation. */
     private static final Set<SqlKind> SUPPORTED_KINDS;
 
+    /** A set of supported aggregate functions. DISTINCT aggregates are not supported. */
+    private static final Set<SqlKind> AGGREGATE_KINDS;
+
     static {
         // We define all supported features explicitly instead of getting them from predefined sets of SqlKind class.
         // This is needed to ensure that we do not miss any unsupported features when something is added to a new version
@@ -91,6 +96,18 @@ public final class UnsupportedOperationVisitor implements SqlVisitor<Void> {
         // Miscellaneous
         SUPPORTED_KINDS.add(SqlKind.AS);
         SUPPORTED_KINDS.add(SqlKind.CAST);
+
+        // Sorting
+        SUPPORTED_KINDS.add(SqlKind.DESCENDING);
+
+        // Aggregates
+        AGGREGATE_KINDS = new HashSet<>();
+
+        AGGREGATE_KINDS.add(SqlKind.COUNT);
+        AGGREGATE_KINDS.add(SqlKind.SUM);
+        AGGREGATE_KINDS.add(SqlKind.AVG);
+        AGGREGATE_KINDS.add(SqlKind.MIN);
+        AGGREGATE_KINDS.add(SqlKind.MAX);
     }
 
     private UnsupportedOperationVisitor() {
@@ -101,7 +118,11 @@ public final class UnsupportedOperationVisitor implements SqlVisitor<Void> {
     public Void visit(SqlCall call) {
         processCall(call);
 
-        call.getOperator().acceptCall(this, call);
+        if (call.getKind() == SqlKind.JOIN) {
+            visitJoinOperands((SqlJoin) call);
+        } else {
+            call.getOperator().acceptCall(this, call);
+        }
 
         return null;
     }
@@ -205,9 +226,18 @@ public final class UnsupportedOperationVisitor implements SqlVisitor<Void> {
             return;
         }
 
+        if (AGGREGATE_KINDS.contains(kind)) {
+            processAggregate(call);
+
+            return;
+        }
+
         switch (kind) {
             case SELECT:
-                processSelect((SqlSelect) call);
+                return;
+
+            case JOIN:
+                processJoin((SqlJoin) call);
 
                 return;
 
@@ -216,21 +246,36 @@ public final class UnsupportedOperationVisitor implements SqlVisitor<Void> {
         }
     }
 
-    private void processSelect(SqlSelect select) {
-        if (select.hasOrderBy()) {
-            throw unsupported(select.getOrderList(), SqlKind.ORDER_BY);
-        }
+    private void processAggregate(SqlCall call) {
+        SqlLiteral quantifier = call.getFunctionQuantifier();
 
-        if (select.getGroup() != null && select.getGroup().size() > 0) {
-            throw unsupported(select.getGroup(), "GROUP BY");
+        if (quantifier != null && quantifier.getValue() == SqlSelectKeyword.DISTINCT) {
+            throw unsupported(quantifier, "DISTINCT aggregate");
         }
+    }
 
-        if (select.getFetch() != null) {
-            throw unsupported(select.getFetch(), "LIMIT");
+    private void processJoin(SqlJoin join) {
+        JoinType joinType = join.getJoinType();
+
+        if (joinType == JoinType.RIGHT || joinType == JoinType.FULL) {
+            throw unsupported(join, joinType.name() + " JOIN");
         }
+    }
+
+    /**
+     * Visit inputs and the condition of the join. Other operands are symbols describing the join type, which are checked
+     * in {@link #processJoin(SqlJoin)}.
+     *
+     * @param join Join.
+     */
+    private void visitJoinOperands(SqlJoin join) {
+        join.getLeft().accept(this);
+        join.getRight().accept(this);
+
+        SqlNode condition = join.getCondition();
 
-        if (select.getOffset() != null) {
-            throw unsupported(select.getOffset(), "OFFSET");
+        if (condition != null) {
+            condition.accept(this);
         }
     }
 
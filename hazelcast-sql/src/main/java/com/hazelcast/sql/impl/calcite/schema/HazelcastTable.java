@@ -18,8 +18,10 @@ package com.hazelcast.sql.impl.calcite.schema;
 
 import com.hazelcast.sql.impl.calcite.SqlToQueryType;
 import com.hazelcast.sql.impl.calcite.opt.cost.CostUtils;
+import com.hazelcast.sql.impl.calcite.opt.cost.SelectivityEstimator;
 import com.hazelcast.sql.impl.calcite.opt.logical.FilterIntoScanLogicalRule;
 import com.hazelcast.sql.impl.calcite.opt.logical.ProjectIntoScanLogicalRule;
+import com.hazelcast.sql.impl.schema.ColumnStatistics;
 import com.hazelcast.sql.impl.schema.Table;
 import com.hazelcast.sql.impl.schema.TableField;
 import com.hazelcast.sql.impl.type.QueryDataType;
@@ -27,7 +29,6 @@ import com.hazelcast.sql.impl.type.QueryDataTypeFamily;
 import org.apache.calcite.rel.RelCollation;
 import org.apache.calcite.rel.RelDistribution;
 import org.apache.calcite.rel.RelReferentialConstraint;
-import org.apache.calcite.rel.metadata.RelMdUtil;
 import org.apache.calcite.rel.type.RelDataType;
 import org.apache.calcite.rel.type.RelDataTypeFactory;
 import org.apache.calcite.rel.type.RelDataTypeField;
@@ -184,7 +185,7 @@ public class HazelcastTable extends AbstractTable {
         if (filter == null) {
             return statistic;
         } else {
-            Double selectivity = RelMdUtil.guessSelectivity(filter);
+            double selectivity = estimateSelectivity(filter);
 
             double rowCount = CostUtils.adjustFilteredRowCount(statistic.getRowCount(), selectivity);
 
@@ -196,6 +197,24 @@ public class HazelcastTable extends AbstractTable {
         return statistic.getRowCount();
     }
 
+    /**
+     * Estimates the selectivity of the condition over the table using the column statistics, if available.
+     *
+     * @param condition Condition which references the original fields of the table.
+     * @return Selectivity.
+     */
+    public double estimateSelectivity(RexNode condition) {
+        return SelectivityEstimator.estimate(condition, target.getStatistics());
+    }
+
+    /**
+     * @param index Index of the original field.
+     * @return Statistics of the field or {@code null} if not available.
+     */
+    public ColumnStatistics getColumnStatistics(int index) {
+        return target.getStatistics().getColumnStatistics(index);
+    }
+
     public boolean isHidden(String fieldName) {
         assert hiddenFieldNames != null;
 
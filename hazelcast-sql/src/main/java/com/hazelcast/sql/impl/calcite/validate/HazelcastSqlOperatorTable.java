@@ -16,12 +16,14 @@
 
 package com.hazelcast.sql.impl.calcite.validate;
 
+import com.hazelcast.sql.impl.calcite.validate.operators.HazelcastSqlAggFunction;
 import com.hazelcast.sql.impl.calcite.validate.operators.HazelcastSqlBinaryOperator;
 import com.hazelcast.sql.impl.calcite.validate.operators.HazelcastSqlCastFunction;
 import com.hazelcast.sql.impl.calcite.validate.operators.HazelcastSqlMonotonicBinaryOperator;
 import com.hazelcast.sql.impl.calcite.validate.types.HazelcastInferTypes;
 import com.hazelcast.sql.impl.calcite.validate.types.HazelcastOperandTypes;
 import com.hazelcast.sql.impl.calcite.validate.types.HazelcastReturnTypes;
+import org.apache.calcite.sql.SqlAggFunction;
 import org.apache.calcite.sql.SqlBinaryOperator;
 import org.apache.calcite.sql.SqlFunction;
 import org.apache.calcite.sql.SqlKind;
@@ -263,6 +265,42 @@ public final class HazelcastSqlOperatorTable extends ReflectiveSqlOperatorTable
 
     //#endregion
 
+    //#region Aggregate functions.
+
+    public static final SqlAggFunction SUM = new HazelcastSqlAggFunction(
+        "SUM",
+        SqlKind.SUM,
+        ReturnTypes.AGG_SUM,
+        null,
+        notAny(OperandTypes.NUMERIC)
+    );
+
+    public static final SqlAggFunction AVG = new HazelcastSqlAggFunction(
+        "AVG",
+        SqlKind.AVG,
+        ReturnTypes.AVG_AGG_FUNCTION,
+        null,
+        notAny(OperandTypes.NUMERIC)
+    );
+
+    public static final SqlAggFunction MIN = new HazelcastSqlAggFunction(
+        "MIN",
+        SqlKind.MIN,
+        ReturnTypes.ARG0_NULLABLE_IF_EMPTY,
+        null,
+        notAny(OperandTypes.COMPARABLE_ORDERED)
+    );
+
+    public static final SqlAggFunction MAX = new HazelcastSqlAggFunction(
+        "MAX",
+        SqlKind.MAX,
+        ReturnTypes.ARG0_NULLABLE_IF_EMPTY,
+        null,
+        notAny(OperandTypes.COMPARABLE_ORDERED)
+    );
+
+    //#endregion
+
     //@formatter:on
 
     private static final HazelcastSqlOperatorTable INSTANCE = new HazelcastSqlOperatorTable();
@@ -0,0 +1,40 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.sql.impl.calcite.validate.operators;
+
+import com.hazelcast.sql.impl.calcite.validate.HazelcastSqlOperatorTable;
+import org.apache.calcite.sql.SqlAggFunction;
+import org.apache.calcite.sql.SqlFunctionCategory;
+import org.apache.calcite.sql.SqlKind;
+import org.apache.calcite.sql.type.SqlOperandTypeChecker;
+import org.apache.calcite.sql.type.SqlOperandTypeInference;
+import org.apache.calcite.sql.type.SqlReturnTypeInference;
+import org.apache.calcite.util.Optionality;
+
+/**
+ * Single-argument aggregate function with customized type inference and
+ * validation from our custom {@link HazelcastSqlOperatorTable}.
+ */
+public class HazelcastSqlAggFunction extends SqlAggFunction {
+
+    public HazelcastSqlAggFunction(String name, SqlKind kind, SqlReturnTypeInference returnTypeInference,
+                                   SqlOperandTypeInference operandTypeInference, SqlOperandTypeChecker operandTypeChecker) {
+        super(name, null, kind, returnTypeInference, operandTypeInference, operandTypeChecker,
+                SqlFunctionCategory.NUMERIC, false, false, Optionality.FORBIDDEN);
+    }
+
+}
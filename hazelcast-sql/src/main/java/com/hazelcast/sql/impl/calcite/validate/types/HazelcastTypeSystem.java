@@ -25,6 +25,7 @@ import com.hazelcast.sql.impl.type.QueryDataType;
 import com.hazelcast.sql.impl.type.converter.Converter;
 import com.hazelcast.sql.impl.type.converter.Converters;
 import org.apache.calcite.rel.type.RelDataType;
+import org.apache.calcite.rel.type.RelDataTypeFactory;
 import org.apache.calcite.rel.type.RelDataTypeSystem;
 import org.apache.calcite.rel.type.RelDataTypeSystemImpl;
 import org.apache.calcite.sql.SqlIdentifier;
@@ -330,6 +331,36 @@ public final class HazelcastTypeSystem extends RelDataTypeSystemImpl {
         return MAX_DECIMAL_SCALE;
     }
 
+    /**
+     * Integer sums are widened to BIGINT, approximate sums to DOUBLE, other
+     * sums retain the argument type.
+     */
+    @Override
+    public RelDataType deriveSumType(RelDataTypeFactory typeFactory, RelDataType argumentType) {
+        RelDataType type;
+
+        if (isInteger(argumentType)) {
+            type = typeFactory.createSqlType(BIGINT);
+        } else if (APPROX_TYPES.contains(typeName(argumentType))) {
+            type = typeFactory.createSqlType(DOUBLE);
+        } else {
+            return argumentType;
+        }
+
+        return typeFactory.createTypeWithNullability(type, argumentType.isNullable());
+    }
+
+    /**
+     * Average of exact numeric values is DECIMAL, average of approximate
+     * values is DOUBLE.
+     */
+    @Override
+    public RelDataType deriveAvgAggType(RelDataTypeFactory typeFactory, RelDataType argumentType) {
+        RelDataType type = typeFactory.createSqlType(APPROX_TYPES.contains(typeName(argumentType)) ? DOUBLE : DECIMAL);
+
+        return typeFactory.createTypeWithNullability(type, argumentType.isNullable());
+    }
+
     private static int precedenceOf(RelDataType type) {
         SqlTypeName typeName = type.getSqlTypeName();
 
@@ -0,0 +1,154 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.sql;
+
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.map.IMap;
+import com.hazelcast.sql.impl.SqlTestSupport;
+import com.hazelcast.test.HazelcastSerialClassRunner;
+import com.hazelcast.test.TestHazelcastInstanceFactory;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+/**
+ * Tests for aggregate queries.
+ */
+@RunWith(HazelcastSerialClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class SqlAggregateTest extends SqlTestSupport {
+    private static final String MAP_NAME = "map";
+    private static final int DATA_SET_SIZE = 1000;
+    private static final int GROUP_COUNT = 10;
+
+    private TestHazelcastInstanceFactory factory;
+    private HazelcastInstance member;
+
+    @Before
+    public void before() {
+        factory = createHazelcastInstanceFactory(2);
+
+        member = factory.newHazelcastInstance();
+        factory.newHazelcastInstance();
+
+        IMap<Integer, Value> map = member.getMap(MAP_NAME);
+
+        Map<Integer, Value> data = new HashMap<>();
+
+        for (int i = 0; i < DATA_SET_SIZE; i++) {
+            data.put(i, new Value(i % GROUP_COUNT, i, i));
+        }
+
+        map.putAll(data);
+    }
+
+    @After
+    public void after() {
+        if (factory != null) {
+            factory.shutdownAll();
+        }
+    }
+
+    @Test
+    public void testGroupBy() {
+        List<SqlRow> rows = execute(
+            member,
+            "SELECT f0, COUNT(*), SUM(f1), AVG(f1), MIN(f1), MAX(f1), SUM(f2) FROM map GROUP BY f0"
+        );
+
+        assertEquals(GROUP_COUNT, rows.size());
+
+        for (SqlRow row : rows) {
+            int group = row.getObject(0);
+
+            long count = DATA_SET_SIZE / GROUP_COUNT;
+            long sum = 0;
+
+            for (int i = group; i < DATA_SET_SIZE; i += GROUP_COUNT) {
+                sum += i;
+            }
+
+            assertEquals(count, (long) row.getObject(1));
+            assertEquals(sum, (long) row.getObject(2));
+            assertEquals(0, BigDecimal.valueOf(sum).divide(BigDecimal.valueOf(count)).compareTo(row.getObject(3)));
+            assertEquals(group, (int) row.getObject(4));
+            assertEquals(DATA_SET_SIZE - GROUP_COUNT + group, (int) row.getObject(5));
+            assertEquals((double) sum, row.<Double>getObject(6), 0.0d);
+        }
+    }
+
+    @Test
+    public void testGlobal() {
+        List<SqlRow> rows = execute(member, "SELECT COUNT(*), SUM(f1), MIN(f2), MAX(f2) FROM map");
+
+        assertEquals(1, rows.size());
+
+        SqlRow row = rows.get(0);
+
+        assertEquals(DATA_SET_SIZE, (long) row.getObject(0));
+        assertEquals((long) DATA_SET_SIZE * (DATA_SET_SIZE - 1) / 2, (long) row.getObject(1));
+        assertEquals(0.0d, row.<Double>getObject(2), 0.0d);
+        assertEquals(DATA_SET_SIZE - 1, row.<Double>getObject(3), 0.0d);
+    }
+
+    @Test
+    public void testGlobalEmpty() {
+        List<SqlRow> rows = execute(member, "SELECT COUNT(*), SUM(f1) FROM map WHERE f1 < 0");
+
+        assertEquals(1, rows.size());
+        assertEquals(0L, (long) rows.get(0).getObject(0));
+        assertNull(rows.get(0).getObject(1));
+    }
+
+    @Test
+    public void testHaving() {
+        List<SqlRow> rows = execute(member, "SELECT f0 FROM map GROUP BY f0 HAVING MIN(f1) >= 5");
+
+        assertEquals(GROUP_COUNT - 5, rows.size());
+
+        for (SqlRow row : rows) {
+            assertEquals(true, (int) row.getObject(0) >= 5);
+        }
+    }
+
+    public static class Value implements Serializable {
+        private static final long serialVersionUID = 0L;
+
+        public int f0;
+        public int f1;
+        public double f2;
+
+        public Value(int f0, int f1, double f2) {
+            this.f0 = f0;
+            this.f1 = f1;
+            this.f2 = f2;
+        }
+    }
+}
@@ -0,0 +1,174 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.sql;
+
+import com.hazelcast.client.config.ClientConfig;
+import com.hazelcast.client.properties.ClientProperty;
+import com.hazelcast.client.test.TestHazelcastFactory;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.map.IMap;
+import com.hazelcast.sql.impl.SqlTestSupport;
+import com.hazelcast.test.HazelcastSerialClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for prefetching of result pages by the client.
+ */
+@RunWith(HazelcastSerialClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class SqlClientPrefetchTest extends SqlTestSupport {
+    private static final String MAP_NAME = "map";
+    private static final int DATA_SET_SIZE = 10_000;
+    private static final int CURSOR_BUFFER_SIZE = 100;
+
+    private final TestHazelcastFactory factory = new TestHazelcastFactory(2);
+    private HazelcastInstance member;
+
+    @Before
+    public void before() {
+        member = factory.newHazelcastInstance();
+        factory.newHazelcastInstance();
+
+        IMap<Integer, Integer> map = member.getMap(MAP_NAME);
+
+        Map<Integer, Integer> data = new HashMap<>();
+
+        for (int i = 0; i < DATA_SET_SIZE; i++) {
+            data.put(i, i);
+        }
+
+        map.putAll(data);
+    }
+
+    @After
+    public void after() {
+        factory.shutdownAll();
+    }
+
+    @Test
+    public void testPrefetch() {
+        checkOrderedResult(newClient(2, 16 * 1024 * 1024));
+    }
+
+    @Test
+    public void testPrefetchDisabled() {
+        checkOrderedResult(newClient(0, 16 * 1024 * 1024));
+    }
+
+    @Test
+    public void testPrefetchLimitedByBytes() {
+        checkOrderedResult(newClient(16, 1));
+    }
+
+    @Test
+    public void testCloseWithPrefetchedPages() {
+        HazelcastInstance client = newClient(4, 16 * 1024 * 1024);
+
+        try (SqlResult result = query(client)) {
+            Iterator<SqlRow> iterator = result.iterator();
+
+            for (int i = 0; i < CURSOR_BUFFER_SIZE + 1; i++) {
+                assertTrue(iterator.hasNext());
+                assertEquals(i, (int) iterator.next().<Integer>getObject(0));
+            }
+        }
+
+        // The member-side cursor is released.
+        assertTrueEventually(() -> assertEquals(0, sqlInternalService(member).getClientStateRegistry().getCursorCount()));
+    }
+
+    @Test
+    public void testCloseWhileIterating() throws Exception {
+        SqlResult result = query(newClient(0, 16 * 1024 * 1024));
+        CountDownLatch firstPageConsumed = new CountDownLatch(1);
+
+        Future<?> future = spawn(() -> {
+            Iterator<SqlRow> iterator = result.iterator();
+
+            try {
+                for (int i = 0; iterator.hasNext(); i++) {
+                    iterator.next();
+
+                    if (i == CURSOR_BUFFER_SIZE - 1) {
+                        // The next call to hasNext() waits for the on-demand fetch.
+                        firstPageConsumed.countDown();
+                    }
+                }
+            } catch (SqlException e) {
+                assertEquals(SqlErrorCode.CANCELLED_BY_USER, e.getCode());
+            }
+        });
+
+        assertOpenEventually(firstPageConsumed);
+        result.close();
+
+        // The iterating thread is woken up rather than left waiting for a page that will never arrive.
+        future.get(ASSERT_TRUE_EVENTUALLY_TIMEOUT, SECONDS);
+
+        assertTrueEventually(() -> assertEquals(0, sqlInternalService(member).getClientStateRegistry().getCursorCount()));
+    }
+
+    private void checkOrderedResult(HazelcastInstance client) {
+        int expected = 0;
+
+        try (SqlResult result = query(client)) {
+            Iterator<SqlRow> iterator = result.iterator();
+
+            while (iterator.hasNext()) {
+                assertEquals(expected++, (int) iterator.next().<Integer>getObject(0));
+            }
+
+            assertFalse(iterator.hasNext());
+        }
+
+        assertEquals(DATA_SET_SIZE, expected);
+        assertEquals(0, sqlInternalService(member).getClientStateRegistry().getCursorCount());
+    }
+
+    private SqlResult query(HazelcastInstance client) {
+        SqlQuery query = new SqlQuery("SELECT this FROM " + MAP_NAME + " ORDER BY this").setCursorBufferSize(CURSOR_BUFFER_SIZE);
+
+        return client.getSql().query(query);
+    }
+
+    private HazelcastInstance newClient(int prefetchPageCount, long prefetchMaxBytes) {
+        ClientConfig config = new ClientConfig();
+
+        config.setProperty(ClientProperty.SQL_PREFETCH_PAGE_COUNT.getName(), Integer.toString(prefetchPageCount));
+        config.setProperty(ClientProperty.SQL_PREFETCH_MAX_BYTES.getName(), Long.toString(prefetchMaxBytes));
+
+        return factory.newHazelcastClient(config);
+    }
+}
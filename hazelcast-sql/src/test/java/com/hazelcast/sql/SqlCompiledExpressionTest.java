@@ -0,0 +1,145 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.sql;
+
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.map.IMap;
+import com.hazelcast.sql.impl.SqlTestSupport;
+import com.hazelcast.sql.impl.exec.Exec;
+import com.hazelcast.sql.impl.exec.ProjectExec;
+import com.hazelcast.sql.impl.exec.scan.MapScanExec;
+import com.hazelcast.test.HazelcastSerialClassRunner;
+import com.hazelcast.test.TestHazelcastInstanceFactory;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.io.Serializable;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for queries with compiled filters and projections.
+ */
+@RunWith(HazelcastSerialClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class SqlCompiledExpressionTest extends SqlTestSupport {
+    private static final String MAP_NAME = "map";
+    private static final int DATA_SET_SIZE = 1000;
+
+    private TestHazelcastInstanceFactory factory;
+    private HazelcastInstance member;
+
+    private final Queue<Exec> execs = new ConcurrentLinkedQueue<>();
+
+    @Before
+    public void before() {
+        factory = createHazelcastInstanceFactory(2);
+
+        member = factory.newHazelcastInstance();
+        HazelcastInstance member2 = factory.newHazelcastInstance();
+
+        setExecHook(member, this::onExec);
+        setExecHook(member2, this::onExec);
+
+        IMap<Integer, Value> map = member.getMap(MAP_NAME);
+
+        Map<Integer, Value> data = new HashMap<>();
+
+        for (int i = 0; i < DATA_SET_SIZE; i++) {
+            data.put(i, new Value(i, i % 10 == 0 ? null : (long) i));
+        }
+
+        map.putAll(data);
+    }
+
+    @After
+    public void after() {
+        if (factory != null) {
+            factory.shutdownAll();
+        }
+    }
+
+    @Test
+    public void testFilterProject() {
+        List<SqlRow> rows = execute(member, "SELECT f0 + 1, f1 * 2 FROM map WHERE f0 >= 500 AND f1 IS NOT NULL");
+
+        Set<Integer> values = new HashSet<>();
+
+        for (SqlRow row : rows) {
+            int value = row.<Number>getObject(0).intValue();
+            long doubled = row.<Number>getObject(1).longValue();
+
+            assertFalse((value - 1) % 10 == 0);
+            assertEquals((value - 1) * 2L, doubled);
+
+            values.add(value - 1);
+        }
+
+        assertEquals(450, values.size());
+
+        boolean scanFound = false;
+        boolean projectFound = false;
+
+        for (Exec exec : execs) {
+            if (exec instanceof MapScanExec) {
+                assertNotNull(((MapScanExec) exec).getCompiledFilterProject());
+
+                scanFound = true;
+            } else if (exec instanceof ProjectExec) {
+                assertNotNull(((ProjectExec) exec).getCompiledProjects());
+
+                projectFound = true;
+            }
+        }
+
+        assertTrue(scanFound);
+        assertTrue(projectFound);
+    }
+
+    private Exec onExec(Exec exec) {
+        execs.add(exec);
+
+        return exec;
+    }
+
+    public static class Value implements Serializable {
+        private static final long serialVersionUID = 0L;
+
+        public int f0;
+        public Long f1;
+
+        public Value(int f0, Long f1) {
+            this.f0 = f0;
+            this.f1 = f1;
+        }
+    }
+}
@@ -17,6 +17,7 @@
 package com.hazelcast.sql;
 
 import com.hazelcast.client.config.ClientConfig;
+import com.hazelcast.client.properties.ClientProperty;
 import com.hazelcast.map.IMap;
 import com.hazelcast.nio.ObjectDataInput;
 import com.hazelcast.nio.ObjectDataOutput;
@@ -325,6 +326,9 @@ public class SqlErrorClientTest extends SqlErrorAbstractTest {
 
         config.getNetworkConfig().setSmartRouting(smartRouting);
 
+        // Disable prefetching, so that pages are fetched only when the tests iterate over them.
+        config.setProperty(ClientProperty.SQL_PREFETCH_PAGE_COUNT.getName(), "0");
+
         return config;
     }
 
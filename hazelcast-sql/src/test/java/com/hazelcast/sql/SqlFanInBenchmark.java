@@ -0,0 +1,116 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.sql;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.core.Hazelcast;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.map.IMap;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Fan-in query from many members to the initiator, with simple and adaptive flow control.
+ * <p>
+ * With the simple flow control every sender is throttled by the fixed window, while the adaptive flow control grows the
+ * windows of the senders when the initiator consumes faster than the senders are allowed to send.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Thread)
+@Fork(value = 1, warmups = 1)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+public class SqlFanInBenchmark {
+
+    private static final String FLOW_CONTROL_PROPERTY_NAME = "hazelcast.sql.flowControl";
+    private static final String MAP_NAME = "map";
+    private static final int ENTRY_COUNT = 500_000;
+
+    @Param({"simple", "adaptive"})
+    public String flowControl;
+
+    @Param({"4"})
+    public int memberCount;
+
+    private HazelcastInstance member;
+
+    @Setup
+    public void setup() {
+        System.setProperty(FLOW_CONTROL_PROPERTY_NAME, flowControl);
+
+        Config config = new Config();
+
+        for (int i = 0; i < memberCount; i++) {
+            HazelcastInstance instance = Hazelcast.newHazelcastInstance(config);
+
+            if (member == null) {
+                member = instance;
+            }
+        }
+
+        IMap<Integer, Long> map = member.getMap(MAP_NAME);
+
+        Map<Integer, Long> batch = new HashMap<>();
+
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            batch.put(i, (long) i);
+
+            if (batch.size() == 10_000) {
+                map.putAll(batch);
+
+                batch.clear();
+            }
+        }
+
+        map.putAll(batch);
+    }
+
+    @TearDown
+    public void tearDown() {
+        Hazelcast.shutdownAll();
+
+        System.clearProperty(FLOW_CONTROL_PROPERTY_NAME);
+    }
+
+    @Benchmark
+    public long fanIn() {
+        long sum = 0;
+
+        try (SqlResult result = member.getSql().query("SELECT this FROM " + MAP_NAME)) {
+            for (SqlRow row : result) {
+                sum += row.<Long>getObject(0);
+            }
+        }
+
+        return sum;
+    }
+}
@@ -0,0 +1,218 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.sql;
+
+import com.hazelcast.config.IndexType;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.map.IMap;
+import com.hazelcast.map.impl.MapContainer;
+import com.hazelcast.map.impl.MapService;
+import com.hazelcast.query.impl.InternalIndex;
+import com.hazelcast.sql.impl.SqlTestSupport;
+import com.hazelcast.sql.impl.exec.scan.MapIndexScanExec;
+import com.hazelcast.sql.impl.exec.scan.MapScanExec;
+import com.hazelcast.test.HazelcastSerialClassRunner;
+import com.hazelcast.test.TestHazelcastInstanceFactory;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.io.Serializable;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntPredicate;
+
+import static com.hazelcast.test.Accessors.getNodeEngineImpl;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for queries which use map indexes.
+ */
+@RunWith(HazelcastSerialClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class SqlIndexTest extends SqlTestSupport {
+    private static final String MAP_NAME = "map";
+    private static final int DATA_SET_SIZE = 1000;
+
+    private final AtomicInteger indexScanCount = new AtomicInteger();
+    private final AtomicInteger mapScanCount = new AtomicInteger();
+
+    private TestHazelcastInstanceFactory factory;
+    private HazelcastInstance member;
+    private HazelcastInstance member2;
+
+    @Before
+    public void before() {
+        factory = createHazelcastInstanceFactory(2);
+
+        member = factory.newHazelcastInstance();
+        member2 = factory.newHazelcastInstance();
+
+        IMap<Integer, Value> map = member.getMap(MAP_NAME);
+
+        map.addIndex(IndexType.SORTED, "f1");
+        map.addIndex(IndexType.HASH, "f2");
+        map.addIndex(IndexType.SORTED, "f2", "f3");
+
+        Map<Integer, Value> data = new HashMap<>();
+
+        for (int i = 0; i < DATA_SET_SIZE; i++) {
+            data.put(i, new Value(i, i % 10, i % 7));
+        }
+
+        map.putAll(data);
+
+        for (HazelcastInstance instance : new HazelcastInstance[] { member, member2 }) {
+            setExecHook(instance, exec -> {
+                if (exec instanceof MapIndexScanExec) {
+                    indexScanCount.incrementAndGet();
+                } else if (exec instanceof MapScanExec) {
+                    mapScanCount.incrementAndGet();
+                }
+
+                return exec;
+            });
+        }
+    }
+
+    @After
+    public void after() {
+        if (factory != null) {
+            factory.shutdownAll();
+        }
+    }
+
+    @Test
+    public void testSortedEquals() {
+        checkIndexQuery("SELECT __key FROM map WHERE f1 = 42", (i) -> i == 42);
+    }
+
+    @Test
+    public void testSortedRange() {
+        checkIndexQuery("SELECT __key FROM map WHERE f1 > 990", (i) -> i > 990);
+        checkIndexQuery("SELECT __key FROM map WHERE f1 <= 5", (i) -> i <= 5);
+        checkIndexQuery("SELECT __key FROM map WHERE f1 >= 10 AND f1 < 20", (i) -> i >= 10 && i < 20);
+    }
+
+    @Test
+    public void testSortedIn() {
+        checkIndexQuery("SELECT __key FROM map WHERE f1 = 1 OR f1 = 5 OR f1 = 2000", (i) -> i == 1 || i == 5);
+    }
+
+    @Test
+    public void testHashEquals() {
+        checkIndexQuery("SELECT __key FROM map WHERE f2 = 3", (i) -> i % 10 == 3);
+    }
+
+    @Test
+    public void testCompositeRange() {
+        checkIndexQuery("SELECT __key FROM map WHERE f2 = 3 AND f3 > 4", (i) -> i % 10 == 3 && i % 7 > 4);
+        checkIndexQuery("SELECT __key FROM map WHERE f2 = 3 AND f3 = 4", (i) -> i % 10 == 3 && i % 7 == 4);
+    }
+
+    @Test
+    public void testRemainderFilter() {
+        checkIndexQuery("SELECT __key FROM map WHERE f1 < 100 AND f3 = 1", (i) -> i < 100 && i % 7 == 1);
+    }
+
+    @Test
+    public void testNoIndex() {
+        checkQuery("SELECT __key FROM map WHERE f3 = 1", (i) -> i % 7 == 1);
+
+        assertEquals(0, indexScanCount.get());
+        assertTrue(mapScanCount.get() > 0);
+    }
+
+    @Test
+    public void testIndexNotBuiltOnInitiator() {
+        markPartitionAsUnindexed(member);
+
+        checkQuery("SELECT __key FROM map WHERE f1 = 42", (i) -> i == 42);
+
+        assertEquals(0, indexScanCount.get());
+        assertTrue(mapScanCount.get() > 0);
+    }
+
+    @Test
+    public void testIndexNotBuiltOnParticipant() {
+        markPartitionAsUnindexed(member2);
+
+        checkIndexQuery("SELECT __key FROM map WHERE f1 < 100", (i) -> i < 100);
+        checkIndexQuery("SELECT __key FROM map WHERE f2 = 3", (i) -> i % 10 == 3);
+    }
+
+    /**
+     * Simulates an index being built on the given member, e.g. after a migration.
+     */
+    private static void markPartitionAsUnindexed(HazelcastInstance instance) {
+        MapService mapService = getNodeEngineImpl(instance).getService(MapService.SERVICE_NAME);
+        MapContainer mapContainer = mapService.getMapServiceContext().getMapContainer(MAP_NAME);
+        int partitionId = mapService.getMapServiceContext().getOwnedPartitions().iterator().next();
+
+        for (InternalIndex index : mapContainer.getIndexes().getIndexes()) {
+            index.markPartitionAsUnindexed(partitionId);
+        }
+    }
+
+    private void checkIndexQuery(String sql, IntPredicate expectedKeys) {
+        indexScanCount.set(0);
+
+        checkQuery(sql, expectedKeys);
+
+        assertTrue(indexScanCount.get() > 0);
+    }
+
+    private void checkQuery(String sql, IntPredicate expectedKeys) {
+        Set<Integer> expected = new HashSet<>();
+
+        for (int i = 0; i < DATA_SET_SIZE; i++) {
+            if (expectedKeys.test(i)) {
+                expected.add(i);
+            }
+        }
+
+        Set<Integer> actual = new HashSet<>();
+
+        for (SqlRow row : execute(member, sql)) {
+            actual.add(row.getObject(0));
+        }
+
+        assertEquals(expected, actual);
+    }
+
+    public static class Value implements Serializable {
+        private static final long serialVersionUID = 0L;
+
+        public int f1;
+        public int f2;
+        public int f3;
+
+        public Value(int f1, int f2, int f3) {
+            this.f1 = f1;
+            this.f2 = f2;
+            this.f3 = f3;
+        }
+    }
+}
@@ -0,0 +1,207 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.sql;
+
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.map.IMap;
+import com.hazelcast.sql.impl.SqlTestSupport;
+import com.hazelcast.test.HazelcastSerialClassRunner;
+import com.hazelcast.test.TestHazelcastInstanceFactory;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.io.Serializable;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for JOIN queries.
+ */
+@RunWith(HazelcastSerialClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class SqlJoinTest extends SqlTestSupport {
+    private static final String ORDERS = "orders";
+    private static final String CUSTOMERS = "customers";
+
+    private static final int ORDER_COUNT = 1000;
+    private static final int CUSTOMER_COUNT = 100;
+
+    /** Orders reference more customers than exist to check unmatched rows. */
+    private static final int ORDER_CUSTOMER_COUNT = 120;
+
+    private TestHazelcastInstanceFactory factory;
+    private HazelcastInstance member;
+
+    @Before
+    public void before() {
+        factory = createHazelcastInstanceFactory(2);
+
+        member = factory.newHazelcastInstance();
+        factory.newHazelcastInstance();
+
+        IMap<Integer, Order> orders = member.getMap(ORDERS);
+        IMap<Integer, Customer> customers = member.getMap(CUSTOMERS);
+
+        Map<Integer, Order> orderData = new HashMap<>();
+
+        for (int i = 0; i < ORDER_COUNT; i++) {
+            orderData.put(i, new Order(i % ORDER_CUSTOMER_COUNT, i));
+        }
+
+        orders.putAll(orderData);
+
+        Map<Integer, Customer> customerData = new HashMap<>();
+
+        for (int i = 0; i < CUSTOMER_COUNT; i++) {
+            customerData.put(i, new Customer("c" + i));
+        }
+
+        customers.putAll(customerData);
+    }
+
+    @After
+    public void after() {
+        if (factory != null) {
+            factory.shutdownAll();
+        }
+    }
+
+    @Test
+    public void testJoinOnKey() {
+        List<SqlRow> rows = execute(member, "SELECT o.__key, c.name FROM orders o JOIN customers c ON o.__key = c.__key");
+
+        assertEquals(CUSTOMER_COUNT, rows.size());
+
+        Set<Integer> keys = new HashSet<>();
+
+        for (SqlRow row : rows) {
+            int key = row.getObject(0);
+
+            assertEquals("c" + key, row.getObject(1));
+
+            keys.add(key);
+        }
+
+        assertEquals(CUSTOMER_COUNT, keys.size());
+    }
+
+    @Test
+    public void testJoinOnValue() {
+        List<SqlRow> rows = execute(
+            member,
+            "SELECT o.__key, o.customerId, c.name FROM orders o JOIN customers c ON o.customerId = c.__key"
+        );
+
+        int expectedCount = 0;
+
+        for (int i = 0; i < ORDER_COUNT; i++) {
+            if (i % ORDER_CUSTOMER_COUNT < CUSTOMER_COUNT) {
+                expectedCount++;
+            }
+        }
+
+        assertEquals(expectedCount, rows.size());
+
+        for (SqlRow row : rows) {
+            int key = row.getObject(0);
+            int customerId = row.getObject(1);
+
+            assertEquals(key % ORDER_CUSTOMER_COUNT, customerId);
+            assertEquals("c" + customerId, row.getObject(2));
+        }
+    }
+
+    @Test
+    public void testLeftJoin() {
+        List<SqlRow> rows = execute(
+            member,
+            "SELECT o.__key, o.customerId, c.name FROM orders o LEFT JOIN customers c ON o.customerId = c.__key"
+        );
+
+        assertEquals(ORDER_COUNT, rows.size());
+
+        for (SqlRow row : rows) {
+            int customerId = row.getObject(1);
+
+            if (customerId < CUSTOMER_COUNT) {
+                assertEquals("c" + customerId, row.getObject(2));
+            } else {
+                assertNull(row.getObject(2));
+            }
+        }
+    }
+
+    @Test
+    public void testJoinWithNonEquiCondition() {
+        List<SqlRow> rows = execute(
+            member,
+            "SELECT o.__key FROM orders o JOIN customers c ON o.customerId = c.__key AND o.amount < 10"
+        );
+
+        assertEquals(10, rows.size());
+
+        Set<Integer> keys = new HashSet<>();
+
+        for (SqlRow row : rows) {
+            keys.add(row.getObject(0));
+        }
+
+        assertEquals(10, keys.size());
+        assertTrue(keys.stream().allMatch((key) -> key < 10));
+    }
+
+    @Test
+    public void testCrossJoin() {
+        List<SqlRow> rows = execute(member, "SELECT o.__key, c.__key FROM orders o, customers c WHERE o.amount < 3");
+
+        assertEquals(3 * CUSTOMER_COUNT, rows.size());
+    }
+
+    public static class Order implements Serializable {
+        private static final long serialVersionUID = 0L;
+
+        public int customerId;
+        public long amount;
+
+        public Order(int customerId, long amount) {
+            this.customerId = customerId;
+            this.amount = amount;
+        }
+    }
+
+    public static class Customer implements Serializable {
+        private static final long serialVersionUID = 0L;
+
+        public String name;
+
+        public Customer(String name) {
+            this.name = name;
+        }
+    }
+}
@@ -0,0 +1,274 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.sql;
+
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.map.IMap;
+import com.hazelcast.sql.impl.SqlTestSupport;
+import com.hazelcast.sql.impl.exec.Exec;
+import com.hazelcast.sql.impl.exec.scan.MapScanExec;
+import com.hazelcast.sql.impl.state.QueryState;
+import com.hazelcast.test.HazelcastSerialClassRunner;
+import com.hazelcast.test.TestHazelcastInstanceFactory;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.singleton;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for partition pruning of queries with key equality filters.
+ */
+@RunWith(HazelcastSerialClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class SqlPartitionPruningTest extends SqlTestSupport {
+    private static final String MAP_NAME = "map";
+    private static final int MEMBER_COUNT = 3;
+    private static final int DATA_SET_SIZE = 100;
+
+    private TestHazelcastInstanceFactory factory;
+    private final List<HazelcastInstance> members = new ArrayList<>();
+    private final List<Queue<MapScanExec>> scans = new ArrayList<>();
+
+    @Before
+    public void before() {
+        factory = createHazelcastInstanceFactory(MEMBER_COUNT);
+
+        for (int i = 0; i < MEMBER_COUNT; i++) {
+            HazelcastInstance member = factory.newHazelcastInstance();
+            Queue<MapScanExec> memberScans = new ConcurrentLinkedQueue<>();
+
+            setExecHook(member, exec -> onExec(memberScans, exec));
+
+            members.add(member);
+            scans.add(memberScans);
+        }
+
+        // Partition owners must be stable, otherwise scanned partitions may differ from the expected ones.
+        waitAllForSafeState(members);
+
+        IMap<Integer, Value> map = members.get(0).getMap(MAP_NAME);
+
+        Map<Integer, Value> data = new HashMap<>();
+
+        for (int i = 0; i < DATA_SET_SIZE; i++) {
+            data.put(i, new Value(i));
+        }
+
+        map.putAll(data);
+    }
+
+    @After
+    public void after() {
+        if (factory != null) {
+            factory.shutdownAll();
+        }
+    }
+
+    @Test
+    public void testKeyParameter() {
+        for (int key = 0; key < DATA_SET_SIZE; key += 7) {
+            List<SqlRow> rows = execute(new SqlQuery("SELECT f0 FROM map WHERE __key = ?").addParameter(key));
+
+            assertEquals(1, rows.size());
+            assertEquals(key, (int) rows.get(0).<Integer>getObject(0));
+
+            checkScannedPartitions(key);
+        }
+    }
+
+    @Test
+    public void testKeyDisjunction() {
+        List<SqlRow> rows = execute(new SqlQuery("SELECT f0 FROM map WHERE __key = 1 OR __key = 2"));
+
+        Set<Integer> values = new HashSet<>();
+
+        for (SqlRow row : rows) {
+            values.add(row.getObject(0));
+        }
+
+        assertEquals(new HashSet<>(asList(1, 2)), values);
+
+        checkScannedPartitions(1, 2);
+    }
+
+    @Test
+    public void testKeyConjunction() {
+        List<SqlRow> rows = execute(new SqlQuery("SELECT f0 FROM map WHERE __key = ? AND f0 = ?").addParameter(5).addParameter(6));
+
+        assertEquals(0, rows.size());
+
+        checkScannedPartitions(5);
+    }
+
+    @Test
+    public void testNullParameter() {
+        List<SqlRow> rows = execute(new SqlQuery("SELECT f0 FROM map WHERE __key = ?").addParameter(null));
+
+        assertEquals(0, rows.size());
+
+        checkScannedPartitions();
+    }
+
+    @Test
+    public void testParameterOutOfKeyRange() {
+        List<SqlRow> rows = execute(new SqlQuery("SELECT f0 FROM map WHERE __key = ?").addParameter(Long.MAX_VALUE));
+
+        assertEquals(0, rows.size());
+    }
+
+    @Test
+    public void testNoPruning() {
+        List<SqlRow> rows = execute(new SqlQuery("SELECT f0 FROM map WHERE __key > 10 OR __key = 1"));
+
+        assertEquals(DATA_SET_SIZE - 10, rows.size());
+
+        for (Queue<MapScanExec> memberScans : scans) {
+            assertEquals(1, memberScans.size());
+        }
+    }
+
+    @Test
+    public void testNonParticipantMemberLeave() {
+        // Select the keys owned by the initiator, so that it is the only participant.
+        List<Integer> keys = new ArrayList<>();
+        StringBuilder sql = new StringBuilder("SELECT f0 FROM map WHERE __key = ?");
+
+        for (int key = 0; key < DATA_SET_SIZE; key++) {
+            if (members.get(0).getPartitionService().getPartition(key).getOwner().localMember()) {
+                if (!keys.isEmpty()) {
+                    sql.append(" OR __key = ?");
+                }
+
+                keys.add(key);
+            }
+        }
+
+        SqlQuery query = new SqlQuery(sql.toString()).setParameters(new ArrayList<>(keys)).setCursorBufferSize(1);
+
+        try (SqlResult res = members.get(0).getSql().query(query)) {
+            Iterator<SqlRow> iterator = res.iterator();
+
+            // The query is still running, because the cursor buffer holds only one row.
+            assertTrue(iterator.hasNext());
+            assertTrue(scans.get(1).isEmpty());
+            assertTrue(scans.get(2).isEmpty());
+
+            QueryState state = sqlInternalService(members.get(0)).getStateRegistry().getStates().iterator().next();
+            UUID initiatorId = members.get(0).getCluster().getLocalMember().getUuid();
+
+            assertEquals(singleton(initiatorId), new HashSet<>(state.getInitiatorState().getParticipants()));
+
+            // The leave of a non-participant member doesn't cancel the query.
+            members.get(2).getLifecycleService().terminate();
+
+            assertClusterSizeEventually(2, members.get(0));
+            assertFalse(state.tryCancelOnMemberLeave(singleton(initiatorId)));
+
+            Set<Integer> values = new HashSet<>();
+
+            while (iterator.hasNext()) {
+                values.add(iterator.next().getObject(0));
+            }
+
+            assertEquals(new HashSet<>(keys), values);
+        }
+    }
+
+    private List<SqlRow> execute(SqlQuery query) {
+        for (Queue<MapScanExec> memberScans : scans) {
+            memberScans.clear();
+        }
+
+        List<SqlRow> rows = new ArrayList<>();
+
+        try (SqlResult res = members.get(0).getSql().query(query)) {
+            for (SqlRow row : res) {
+                rows.add(row);
+            }
+        }
+
+        return rows;
+    }
+
+    /**
+     * Ensure that only the owners of the given keys scanned the map, and only the partitions of these keys were scanned.
+     */
+    private void checkScannedPartitions(int... keys) {
+        Set<Integer> expectedPartitions = new HashSet<>();
+
+        for (int key : keys) {
+            expectedPartitions.add(members.get(0).getPartitionService().getPartition(key).getPartitionId());
+        }
+
+        Set<Integer> scannedPartitions = new HashSet<>();
+
+        for (int i = 0; i < MEMBER_COUNT; i++) {
+            HazelcastInstance member = members.get(i);
+
+            for (MapScanExec scan : scans.get(i)) {
+                assertTrue(scan.getPartitions().size() > 0);
+
+                for (int partition : scan.getPartitions()) {
+                    assertTrue(nodeEngine(member).getPartitionService().isPartitionOwner(partition));
+
+                    scannedPartitions.add(partition);
+                }
+            }
+        }
+
+        assertEquals(expectedPartitions, scannedPartitions);
+    }
+
+    private static Exec onExec(Queue<MapScanExec> memberScans, Exec exec) {
+        if (exec instanceof MapScanExec) {
+            memberScans.add((MapScanExec) exec);
+        }
+
+        return exec;
+    }
+
+    public static class Value implements Serializable {
+        private static final long serialVersionUID = 0L;
+
+        public int f0;
+
+        public Value(int f0) {
+            this.f0 = f0;
+        }
+    }
+}
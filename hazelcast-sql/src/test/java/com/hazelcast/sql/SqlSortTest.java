@@ -0,0 +1,163 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.sql;
+
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.map.IMap;
+import com.hazelcast.sql.impl.SqlTestSupport;
+import com.hazelcast.test.HazelcastSerialClassRunner;
+import com.hazelcast.test.TestHazelcastInstanceFactory;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.io.Serializable;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+/**
+ * Tests for ORDER BY, LIMIT and OFFSET queries.
+ */
+@RunWith(HazelcastSerialClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class SqlSortTest extends SqlTestSupport {
+    private static final String MAP_NAME = "map";
+    private static final int DATA_SET_SIZE = 1000;
+    private static final int GROUP_COUNT = 10;
+    private static final int NULL_COUNT = 5;
+
+    private TestHazelcastInstanceFactory factory;
+    private HazelcastInstance member;
+
+    @Before
+    public void before() {
+        factory = createHazelcastInstanceFactory(2);
+
+        member = factory.newHazelcastInstance();
+        factory.newHazelcastInstance();
+
+        IMap<Integer, Value> map = member.getMap(MAP_NAME);
+
+        Map<Integer, Value> data = new HashMap<>();
+
+        for (int i = 0; i < DATA_SET_SIZE; i++) {
+            data.put(i, new Value(i % GROUP_COUNT, i < NULL_COUNT ? null : (long) i));
+        }
+
+        map.putAll(data);
+    }
+
+    @After
+    public void after() {
+        if (factory != null) {
+            factory.shutdownAll();
+        }
+    }
+
+    @Test
+    public void testOrderBy() {
+        List<SqlRow> rows = execute(member, "SELECT f0, ts FROM map ORDER BY f0, ts DESC");
+
+        assertEquals(DATA_SET_SIZE, rows.size());
+
+        for (int i = 0; i < rows.size(); i++) {
+            SqlRow row = rows.get(i);
+
+            int group = i / (DATA_SET_SIZE / GROUP_COUNT);
+            int offsetInGroup = i % (DATA_SET_SIZE / GROUP_COUNT);
+
+            assertEquals(group, (int) row.getObject(0));
+
+            if (group < NULL_COUNT) {
+                // Nulls are greater than any other value, so they go first in descending order.
+                if (offsetInGroup == 0) {
+                    assertNull(row.getObject(1));
+
+                    continue;
+                }
+
+                offsetInGroup--;
+            }
+
+            assertEquals(DATA_SET_SIZE - GROUP_COUNT + group - offsetInGroup * GROUP_COUNT, (long) row.getObject(1));
+        }
+    }
+
+    @Test
+    public void testTopN() {
+        List<SqlRow> rows = execute(member, "SELECT ts FROM map WHERE ts IS NOT NULL ORDER BY ts DESC LIMIT 100");
+
+        assertEquals(100, rows.size());
+
+        for (int i = 0; i < rows.size(); i++) {
+            assertEquals(DATA_SET_SIZE - 1 - i, (long) rows.get(i).getObject(0));
+        }
+    }
+
+    @Test
+    public void testTopNWithOffset() {
+        List<SqlRow> rows = execute(member, "SELECT ts FROM map ORDER BY ts LIMIT 10 OFFSET 20");
+
+        assertEquals(10, rows.size());
+
+        for (int i = 0; i < rows.size(); i++) {
+            assertEquals(NULL_COUNT + 20 + i, (long) rows.get(i).getObject(0));
+        }
+    }
+
+    @Test
+    public void testOffsetOnly() {
+        List<SqlRow> rows = execute(member, "SELECT ts FROM map ORDER BY ts OFFSET 990");
+
+        assertEquals(DATA_SET_SIZE - 990, rows.size());
+
+        for (int i = 0; i < NULL_COUNT; i++) {
+            assertEquals(990 + NULL_COUNT + i, (long) rows.get(i).getObject(0));
+        }
+
+        for (int i = NULL_COUNT; i < rows.size(); i++) {
+            assertNull(rows.get(i).getObject(0));
+        }
+    }
+
+    @Test
+    public void testLimitWithoutOrder() {
+        List<SqlRow> rows = execute(member, "SELECT f0 FROM map LIMIT 15");
+
+        assertEquals(15, rows.size());
+    }
+
+    public static class Value implements Serializable {
+        private static final long serialVersionUID = 0L;
+
+        public int f0;
+        public Long ts;
+
+        public Value(int f0, Long ts) {
+            this.f0 = f0;
+            this.ts = ts;
+        }
+    }
+}
@@ -0,0 +1,198 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.sql.impl.calcite.compile;
+
+import com.hazelcast.sql.SqlErrorCode;
+import com.hazelcast.sql.impl.QueryException;
+import com.hazelcast.sql.impl.SqlTestSupport;
+import com.hazelcast.sql.impl.compile.CompiledFilterProject;
+import com.hazelcast.sql.impl.expression.ColumnExpression;
+import com.hazelcast.sql.impl.expression.ConstantExpression;
+import com.hazelcast.sql.impl.expression.Expression;
+import com.hazelcast.sql.impl.expression.ExpressionEvalContext;
+import com.hazelcast.sql.impl.expression.SimpleExpressionEvalContext;
+import com.hazelcast.sql.impl.expression.math.DivideFunction;
+import com.hazelcast.sql.impl.expression.math.MultiplyFunction;
+import com.hazelcast.sql.impl.expression.math.PlusFunction;
+import com.hazelcast.sql.impl.expression.predicate.AndPredicate;
+import com.hazelcast.sql.impl.expression.predicate.ComparisonMode;
+import com.hazelcast.sql.impl.expression.predicate.ComparisonPredicate;
+import com.hazelcast.sql.impl.expression.predicate.IsNotNullPredicate;
+import com.hazelcast.sql.impl.expression.predicate.NotPredicate;
+import com.hazelcast.sql.impl.expression.predicate.OrPredicate;
+import com.hazelcast.sql.impl.expression.predicate.TernaryLogic;
+import com.hazelcast.sql.impl.row.HeapRow;
+import com.hazelcast.sql.impl.row.Row;
+import com.hazelcast.sql.impl.row.vector.ColumnVector;
+import com.hazelcast.sql.impl.row.vector.ColumnVectors;
+import com.hazelcast.sql.impl.type.QueryDataType;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+@SuppressWarnings("rawtypes")
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class JaninoFilterProjectCompilerTest extends SqlTestSupport {
+
+    private static final ColumnExpression<?> INT_COLUMN = ColumnExpression.create(0, QueryDataType.INT);
+    private static final ColumnExpression<?> BIGINT_COLUMN = ColumnExpression.create(1, QueryDataType.BIGINT);
+    private static final ColumnExpression<?> DOUBLE_COLUMN = ColumnExpression.create(2, QueryDataType.DOUBLE);
+    private static final ColumnExpression<?> VARCHAR_COLUMN = ColumnExpression.create(3, QueryDataType.VARCHAR);
+
+    private final ExpressionEvalContext context = SimpleExpressionEvalContext.create();
+
+    @Test
+    public void testFilterProject() throws Exception {
+        // int > 2 AND (varchar IS NOT NULL OR NOT(double < 1.5))
+        Expression<Boolean> filter = AndPredicate.create(
+            ComparisonPredicate.create(INT_COLUMN, ConstantExpression.create(2, QueryDataType.INT), ComparisonMode.GREATER_THAN),
+            OrPredicate.create(
+                IsNotNullPredicate.create(VARCHAR_COLUMN),
+                NotPredicate.create(
+                    ComparisonPredicate.create(
+                        DOUBLE_COLUMN,
+                        ConstantExpression.create(1.5d, QueryDataType.DOUBLE),
+                        ComparisonMode.LESS_THAN
+                    )
+                )
+            )
+        );
+
+        List<Expression> projects = Arrays.asList(
+            PlusFunction.create(INT_COLUMN, INT_COLUMN, QueryDataType.INT),
+            MultiplyFunction.create(BIGINT_COLUMN, ConstantExpression.create(3L, QueryDataType.BIGINT), QueryDataType.BIGINT),
+            PlusFunction.create(DOUBLE_COLUMN, ConstantExpression.create(null, QueryDataType.DOUBLE), QueryDataType.DOUBLE),
+            VARCHAR_COLUMN,
+            // Not compiled, evaluated with the interpreter.
+            DivideFunction.create(DOUBLE_COLUMN, ConstantExpression.create(2.0d, QueryDataType.DOUBLE), QueryDataType.DOUBLE),
+            ComparisonPredicate.create(VARCHAR_COLUMN, ConstantExpression.create("b", QueryDataType.VARCHAR),
+                ComparisonMode.GREATER_THAN_OR_EQUAL)
+        );
+
+        CompiledFilterProject compiled = new JaninoFilterProjectCompiler().compile(filter, projects);
+
+        for (Row row : rows()) {
+            check(compiled, filter, projects, row);
+        }
+    }
+
+    @Test
+    public void testNoFilter() throws Exception {
+        List<Expression> projects = Collections.singletonList(INT_COLUMN);
+
+        CompiledFilterProject compiled = new JaninoFilterProjectCompiler().compile(null, projects);
+
+        for (Row row : rows()) {
+            check(compiled, null, projects, row);
+        }
+    }
+
+    @Test
+    public void testBigintOverflow() throws Exception {
+        List<Expression> projects = Collections.singletonList(
+            PlusFunction.create(BIGINT_COLUMN, BIGINT_COLUMN, QueryDataType.BIGINT)
+        );
+
+        CompiledFilterProject compiled = new JaninoFilterProjectCompiler().compile(null, projects);
+
+        try {
+            compiled.apply(new HeapRow(new Object[] { 1, Long.MAX_VALUE, 1.0d, "a" }), context, columns(projects, 1), 0);
+
+            fail("Must fail");
+        } catch (QueryException e) {
+            assertEquals(SqlErrorCode.DATA_EXCEPTION, e.getCode());
+            assertTrue(e.getMessage().contains("BIGINT overflow in '+' operator"));
+        }
+    }
+
+    @Test
+    public void testFilterRejectsNull() throws Exception {
+        Expression<Boolean> filter = ComparisonPredicate.create(
+            BIGINT_COLUMN,
+            ConstantExpression.create(0L, QueryDataType.BIGINT),
+            ComparisonMode.NOT_EQUALS
+        );
+
+        CompiledFilterProject compiled = new JaninoFilterProjectCompiler().compile(filter, Collections.emptyList());
+
+        assertFalse(compiled.apply(new HeapRow(new Object[] { 1, null, 1.0d, "a" }), context, new ColumnVector[0], 0));
+        assertTrue(compiled.apply(new HeapRow(new Object[] { 1, 1L, 1.0d, "a" }), context, new ColumnVector[0], 0));
+    }
+
+    private void check(CompiledFilterProject compiled, Expression<Boolean> filter, List<Expression> projects, Row row) {
+        ColumnVector[] columns = columns(projects, 1);
+
+        boolean expectedPassed = filter == null || !TernaryLogic.isNotTrue(filter.eval(row, context));
+
+        boolean passed = compiled.apply(row, context, columns, 0);
+
+        assertEquals(expectedPassed, passed);
+
+        if (!passed) {
+            return;
+        }
+
+        for (int i = 0; i < projects.size(); i++) {
+            assertEquals(projects.get(i).eval(row, context), columns[i].getObject(0));
+        }
+    }
+
+    private static ColumnVector[] columns(List<Expression> projects, int size) {
+        ColumnVector[] columns = new ColumnVector[projects.size()];
+
+        for (int i = 0; i < columns.length; i++) {
+            columns[i] = ColumnVectors.create(projects.get(i).getType(), size);
+        }
+
+        return columns;
+    }
+
+    private static List<Row> rows() {
+        List<Row> rows = new ArrayList<>();
+
+        Integer[] ints = { null, 1, 3, Integer.MAX_VALUE };
+        Long[] longs = { null, 5L };
+        Double[] doubles = { null, 1.0d, 2.0d };
+        String[] strings = { null, "a", "c" };
+
+        for (Integer intValue : ints) {
+            for (Long longValue : longs) {
+                for (Double doubleValue : doubles) {
+                    for (String stringValue : strings) {
+                        rows.add(new HeapRow(new Object[] { intValue, longValue, doubleValue, stringValue }));
+                    }
+                }
+            }
+        }
+
+        return rows;
+    }
+}
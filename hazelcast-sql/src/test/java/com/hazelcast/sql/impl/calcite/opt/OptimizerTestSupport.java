@@ -33,6 +33,7 @@ import com.hazelcast.sql.impl.calcite.schema.HazelcastTable;
 import com.hazelcast.sql.impl.calcite.schema.MapTableStatistic;
 import com.hazelcast.sql.impl.schema.ConstantTableStatistics;
 import com.hazelcast.sql.impl.schema.TableField;
+import com.hazelcast.sql.impl.schema.map.MapTableIndex;
 import com.hazelcast.sql.impl.schema.map.PartitionedMapTable;
 import com.hazelcast.sql.impl.type.QueryDataType;
 import org.apache.calcite.plan.RelOptCost;
@@ -50,6 +51,7 @@ import java.io.PrintWriter;
 import java.io.StringReader;
 import java.io.StringWriter;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -140,13 +142,34 @@ public abstract class OptimizerTestSupport extends SqlTestSupport {
         String name,
         List<TableField> fields,
         long rowCount
+    ) {
+        return partitionedTable(name, fields, Collections.emptyList(), rowCount);
+    }
+
+    protected static HazelcastTable partitionedTable(
+        String name,
+        List<TableField> fields,
+        List<MapTableIndex> indexes,
+        long rowCount
+    ) {
+        return partitionedTable(name, fields, indexes, PartitionedMapTable.DISTRIBUTION_FIELD_ORDINAL_NONE, rowCount);
+    }
+
+    protected static HazelcastTable partitionedTable(
+        String name,
+        List<TableField> fields,
+        List<MapTableIndex> indexes,
+        int distributionFieldOrdinal,
+        long rowCount
     ) {
         PartitionedMapTable table = new PartitionedMapTable(
             name,
             fields,
             new ConstantTableStatistics(rowCount),
             null,
-            null
+            null,
+            indexes,
+            distributionFieldOrdinal
         );
 
         return new HazelcastTable(table, new MapTableStatistic(rowCount));
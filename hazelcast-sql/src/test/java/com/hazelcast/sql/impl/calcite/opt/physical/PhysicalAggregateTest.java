@@ -0,0 +1,92 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.sql.impl.calcite.opt.physical;
+
+import com.hazelcast.sql.impl.calcite.opt.OptimizerTestSupport;
+import com.hazelcast.sql.impl.calcite.opt.physical.exchange.RootExchangePhysicalRel;
+import com.hazelcast.sql.impl.calcite.opt.physical.exchange.UnicastExchangePhysicalRel;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+/**
+ * Tests for aggregate planning.
+ */
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class PhysicalAggregateTest extends OptimizerTestSupport {
+    @Test
+    public void testGroupByTwoPhase() {
+        assertPlan(
+            optimizePhysical("SELECT f0, COUNT(*), SUM(f1), AVG(f1) FROM p GROUP BY f0", 2),
+            plan(
+                planRow(0, RootPhysicalRel.class, ""),
+                planRow(1, RootExchangePhysicalRel.class, ""),
+                planRow(2, AggregatePhysicalRel.class, "group=[{0}], aggs=[[COUNT(), SUM($1), AVG($1)]], phase=[FINAL]"),
+                planRow(3, UnicastExchangePhysicalRel.class, "hashFields=[[0]]"),
+                planRow(4, AggregatePhysicalRel.class, "group=[{0}], aggs=[[COUNT(), SUM($1), AVG($1)]], phase=[PARTIAL]"),
+                planRow(5, MapScanPhysicalRel.class, "table=[[hazelcast, p[projects=[0, 1]]]]")
+            )
+        );
+    }
+
+    @Test
+    public void testGlobalTwoPhase() {
+        assertPlan(
+            optimizePhysical("SELECT SUM(f1) FROM p", 2),
+            plan(
+                planRow(0, RootPhysicalRel.class, ""),
+                planRow(1, AggregatePhysicalRel.class, "group=[{}], aggs=[[SUM($0)]], phase=[FINAL]"),
+                planRow(2, RootExchangePhysicalRel.class, ""),
+                planRow(3, AggregatePhysicalRel.class, "group=[{}], aggs=[[SUM($0)]], phase=[PARTIAL]"),
+                planRow(4, MapScanPhysicalRel.class, "table=[[hazelcast, p[projects=[1]]]]")
+            )
+        );
+    }
+
+    @Test
+    public void testSingleMember() {
+        assertPlan(
+            optimizePhysical("SELECT f0, MIN(f1), MAX(f1) FROM p GROUP BY f0", 1),
+            plan(
+                planRow(0, RootPhysicalRel.class, ""),
+                planRow(1, AggregatePhysicalRel.class, "group=[{0}], aggs=[[MIN($1), MAX($1)]], phase=[COMPLETE]"),
+                planRow(2, MapScanPhysicalRel.class, "table=[[hazelcast, p[projects=[0, 1]]]]")
+            )
+        );
+    }
+
+    @Test
+    public void testHaving() {
+        assertPlan(
+            optimizePhysical("SELECT f0 FROM p GROUP BY f0 HAVING SUM(f1) > 5", 2),
+            plan(
+                planRow(0, RootPhysicalRel.class, ""),
+                planRow(1, RootExchangePhysicalRel.class, ""),
+                planRow(2, ProjectPhysicalRel.class, "f0=[$0]"),
+                planRow(3, FilterPhysicalRel.class, "condition=[>($1, 5)]"),
+                planRow(4, AggregatePhysicalRel.class, "group=[{0}], aggs=[[SUM($1)]], phase=[FINAL]"),
+                planRow(5, UnicastExchangePhysicalRel.class, "hashFields=[[0]]"),
+                planRow(6, AggregatePhysicalRel.class, "group=[{0}], aggs=[[SUM($1)]], phase=[PARTIAL]"),
+                planRow(7, MapScanPhysicalRel.class, "table=[[hazelcast, p[projects=[0, 1]]]]")
+            )
+        );
+    }
+}
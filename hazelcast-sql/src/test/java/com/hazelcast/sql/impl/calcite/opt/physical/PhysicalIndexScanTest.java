@@ -0,0 +1,160 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.sql.impl.calcite.opt.physical;
+
+import com.hazelcast.config.IndexType;
+import com.hazelcast.sql.impl.calcite.opt.OptimizerTestSupport;
+import com.hazelcast.sql.impl.calcite.schema.HazelcastSchema;
+import com.hazelcast.sql.impl.schema.map.MapTableIndex;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.apache.calcite.schema.Table;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.hazelcast.sql.impl.type.QueryDataType.BIGINT;
+import static com.hazelcast.sql.impl.type.QueryDataType.INT;
+import static com.hazelcast.sql.impl.type.QueryDataType.VARCHAR;
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Tests for index scan planning.
+ */
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class PhysicalIndexScanTest extends OptimizerTestSupport {
+    @Override
+    protected HazelcastSchema createDefaultSchema() {
+        List<MapTableIndex> indexes = Arrays.asList(
+            new MapTableIndex("sorted_f1", IndexType.SORTED, Collections.singletonList(1)),
+            new MapTableIndex("hash_f2", IndexType.HASH, Collections.singletonList(2)),
+            new MapTableIndex("sorted_f3_f4", IndexType.SORTED, Arrays.asList(3, 4)),
+            new MapTableIndex("bitmap_f0", IndexType.BITMAP, Collections.singletonList(0)),
+            new MapTableIndex("sorted_f5", IndexType.SORTED, Collections.singletonList(5)),
+            new MapTableIndex("sorted_f6", IndexType.SORTED, Collections.singletonList(6))
+        );
+
+        Map<String, Table> tableMap = new HashMap<>();
+
+        tableMap.put("p", partitionedTable(
+            "p",
+            fields("f0", INT, "f1", INT, "f2", INT, "f3", INT, "f4", INT, "f5", VARCHAR, "f6", BIGINT),
+            indexes,
+            100
+        ));
+
+        return new HazelcastSchema(tableMap);
+    }
+
+    @Test
+    public void testSortedEquals() {
+        checkIndexScan("SELECT f0 FROM p WHERE f1 = 1", "sorted_f1", "=(1, $1)");
+        checkIndexScan("SELECT f0 FROM p WHERE 1 = f1", "sorted_f1", "=(1, $1)");
+    }
+
+    @Test
+    public void testSortedRange() {
+        checkIndexScan("SELECT f0 FROM p WHERE f1 > 1", "sorted_f1", "<(1, $1)");
+        checkIndexScan("SELECT f0 FROM p WHERE f1 >= 1 AND f1 < 10", "sorted_f1", "AND(<($1, 10), <=(1, $1))");
+        checkIndexScan("SELECT f0 FROM p WHERE 1 < f1", "sorted_f1", "<(1, $1)");
+    }
+
+    @Test
+    public void testSortedIn() {
+        checkIndexScan("SELECT f0 FROM p WHERE f1 = 1 OR f1 = 2", "sorted_f1", "OR(=(1, $1), =(2, $1))");
+    }
+
+    @Test
+    public void testSortedParameter() {
+        checkIndexScan("SELECT f0 FROM p WHERE f6 > ?", "sorted_f6", ">($6, ?0)");
+    }
+
+    @Test
+    public void testHashEquals() {
+        checkIndexScan("SELECT f0 FROM p WHERE f2 = 1", "hash_f2", "=(1, $2)");
+    }
+
+    @Test
+    public void testHashRangeNotUsed() {
+        checkNoIndexScan("SELECT f0 FROM p WHERE f2 > 1");
+    }
+
+    @Test
+    public void testCompositePrefix() {
+        checkIndexScan("SELECT f0 FROM p WHERE f3 = 1", "sorted_f3_f4", "=(1, $3)");
+        checkIndexScan("SELECT f0 FROM p WHERE f3 = 1 AND f4 > 2", "sorted_f3_f4", "AND(<(2, $4), =(1, $3))");
+        checkIndexScan("SELECT f0 FROM p WHERE f3 = 1 AND f4 = 2", "sorted_f3_f4", "AND(=(1, $3), =(2, $4))");
+    }
+
+    @Test
+    public void testCompositeNonPrefixNotUsed() {
+        checkNoIndexScan("SELECT f0 FROM p WHERE f4 = 1");
+    }
+
+    @Test
+    public void testBitmapNotUsed() {
+        checkNoIndexScan("SELECT f1 FROM p WHERE f0 = 1");
+    }
+
+    @Test
+    public void testUnsupportedConditionNotUsed() {
+        checkNoIndexScan("SELECT f0 FROM p WHERE f1 + f2 > 1");
+        checkNoIndexScan("SELECT f0 FROM p WHERE f1 > f2");
+        checkNoIndexScan("SELECT f0 FROM p WHERE f1 = 1 OR f2 = 2");
+    }
+
+    @Test
+    public void testIncompatibleTypeNotUsed() {
+        checkNoIndexScan("SELECT f0 FROM p WHERE f5 = 1");
+
+        // Parameter is BIGINT, so the column is widened and cannot be used for a lookup.
+        checkNoIndexScan("SELECT f0 FROM p WHERE f1 > ?");
+    }
+
+    private void checkIndexScan(String sql, String indexName, String indexExp) {
+        MapIndexScanPhysicalRel scan = findScan(sql, MapIndexScanPhysicalRel.class);
+
+        assertEquals(indexName, scan.getIndex().getName());
+        assertEquals(indexExp, scan.getIndexExp().toString());
+    }
+
+    private void checkNoIndexScan(String sql) {
+        findScan(sql, MapScanPhysicalRel.class);
+    }
+
+    private <T extends AbstractMapScanPhysicalRel> T findScan(String sql, Class<T> expectedClass) {
+        PhysicalRel rel = (PhysicalRel) optimizePhysical(sql);
+
+        while (!(rel instanceof AbstractMapScanPhysicalRel)) {
+            assertEquals(1, rel.getInputs().size());
+
+            rel = (PhysicalRel) rel.getInput(0);
+        }
+
+        assertEquals(expectedClass, rel.getClass());
+
+        return expectedClass.cast(rel);
+    }
+}
@@ -0,0 +1,149 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.sql.impl.calcite.opt.physical;
+
+import com.hazelcast.sql.impl.calcite.opt.OptimizerTestSupport;
+import com.hazelcast.sql.impl.calcite.opt.physical.exchange.RootExchangePhysicalRel;
+import com.hazelcast.sql.impl.calcite.opt.physical.exchange.UnicastExchangePhysicalRel;
+import com.hazelcast.sql.impl.calcite.schema.HazelcastSchema;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.apache.calcite.schema.Table;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import static com.hazelcast.sql.impl.type.QueryDataType.INT;
+
+/**
+ * Tests for join planning.
+ */
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class PhysicalJoinTest extends OptimizerTestSupport {
+    @Override
+    protected HazelcastSchema createDefaultSchema() {
+        Map<String, Table> tableMap = new HashMap<>();
+
+        // Tables "a" and "b" are distributed by "f0".
+        tableMap.put("a", partitionedTable("a", fields("f0", INT, "f1", INT), Collections.emptyList(), 0, 100));
+        tableMap.put("b", partitionedTable("b", fields("f0", INT, "f1", INT), Collections.emptyList(), 0, 100));
+
+        return new HazelcastSchema(tableMap);
+    }
+
+    @Test
+    public void testColocated() {
+        assertPlan(
+            optimizePhysical("SELECT a.f1, b.f1 FROM a JOIN b ON a.f0 = b.f0", 2),
+            plan(
+                planRow(0, RootPhysicalRel.class, ""),
+                planRow(1, RootExchangePhysicalRel.class, ""),
+                planRow(2, ProjectPhysicalRel.class, "f1=[$1], f10=[$3]"),
+                planRow(3, HashJoinPhysicalRel.class, "condition=[=($0, $2)], joinType=[inner], leftKeys=[[0]], rightKeys=[[0]]"),
+                planRow(4, MapScanPhysicalRel.class, "table=[[hazelcast, a[projects=[0, 1]]]]"),
+                planRow(4, MapScanPhysicalRel.class, "table=[[hazelcast, b[projects=[0, 1]]]]")
+            )
+        );
+    }
+
+    @Test
+    public void testColocatedThroughProjectAndFilter() {
+        assertPlan(
+            optimizePhysical(
+                "SELECT x.k, b.f1 FROM (SELECT f1 AS v, f0 AS k FROM a WHERE f1 > 1) x JOIN b ON x.k = b.f0",
+                2
+            ),
+            plan(
+                planRow(0, RootPhysicalRel.class, ""),
+                planRow(1, RootExchangePhysicalRel.class, ""),
+                planRow(2, ProjectPhysicalRel.class, "k=[$0], f1=[$2]"),
+                planRow(3, HashJoinPhysicalRel.class, "condition=[=($0, $1)], joinType=[inner], leftKeys=[[0]], rightKeys=[[0]]"),
+                planRow(4, MapScanPhysicalRel.class, "table=[[hazelcast, a[projects=[0], filter=>($1, 1)]]]"),
+                planRow(4, MapScanPhysicalRel.class, "table=[[hazelcast, b[projects=[0, 1]]]]")
+            )
+        );
+    }
+
+    @Test
+    public void testLeftJoinColocated() {
+        assertPlan(
+            optimizePhysical("SELECT a.f1, b.f1 FROM a LEFT JOIN b ON a.f0 = b.f0 AND a.f1 > b.f1", 2),
+            plan(
+                planRow(0, RootPhysicalRel.class, ""),
+                planRow(1, RootExchangePhysicalRel.class, ""),
+                planRow(2, ProjectPhysicalRel.class, "f1=[$1], f10=[$3]"),
+                planRow(3, HashJoinPhysicalRel.class,
+                    "condition=[AND(=($0, $2), >($1, $3))], joinType=[left], leftKeys=[[0]], rightKeys=[[0]]"),
+                planRow(4, MapScanPhysicalRel.class, "table=[[hazelcast, a[projects=[0, 1]]]]"),
+                planRow(4, MapScanPhysicalRel.class, "table=[[hazelcast, b[projects=[0, 1]]]]")
+            )
+        );
+    }
+
+    @Test
+    public void testNotColocated() {
+        assertPlan(
+            optimizePhysical("SELECT a.f0, b.f0 FROM a JOIN b ON a.f1 = b.f1", 2),
+            plan(
+                planRow(0, RootPhysicalRel.class, ""),
+                planRow(1, RootExchangePhysicalRel.class, ""),
+                planRow(2, ProjectPhysicalRel.class, "f0=[$0], f00=[$2]"),
+                planRow(3, HashJoinPhysicalRel.class, "condition=[=($1, $3)], joinType=[inner], leftKeys=[[1]], rightKeys=[[1]]"),
+                planRow(4, UnicastExchangePhysicalRel.class, "hashFields=[[1]]"),
+                planRow(5, MapScanPhysicalRel.class, "table=[[hazelcast, a[projects=[0, 1]]]]"),
+                planRow(4, UnicastExchangePhysicalRel.class, "hashFields=[[1]]"),
+                planRow(5, MapScanPhysicalRel.class, "table=[[hazelcast, b[projects=[0, 1]]]]")
+            )
+        );
+    }
+
+    @Test
+    public void testNoEquiJoinKeys() {
+        assertPlan(
+            optimizePhysical("SELECT a.f0, b.f0 FROM a JOIN b ON a.f1 < b.f1", 2),
+            plan(
+                planRow(0, RootPhysicalRel.class, ""),
+                planRow(1, ProjectPhysicalRel.class, "f0=[$0], f00=[$2]"),
+                planRow(2, HashJoinPhysicalRel.class, "condition=[<($1, $3)], joinType=[inner], leftKeys=[[]], rightKeys=[[]]"),
+                planRow(3, RootExchangePhysicalRel.class, ""),
+                planRow(4, MapScanPhysicalRel.class, "table=[[hazelcast, a[projects=[0, 1]]]]"),
+                planRow(3, RootExchangePhysicalRel.class, ""),
+                planRow(4, MapScanPhysicalRel.class, "table=[[hazelcast, b[projects=[0, 1]]]]")
+            )
+        );
+    }
+
+    @Test
+    public void testSingleMember() {
+        assertPlan(
+            optimizePhysical("SELECT a.f0, b.f0 FROM a JOIN b ON a.f1 = b.f1", 1),
+            plan(
+                planRow(0, RootPhysicalRel.class, ""),
+                planRow(1, ProjectPhysicalRel.class, "f0=[$0], f00=[$2]"),
+                planRow(2, HashJoinPhysicalRel.class, "condition=[=($1, $3)], joinType=[inner], leftKeys=[[1]], rightKeys=[[1]]"),
+                planRow(3, MapScanPhysicalRel.class, "table=[[hazelcast, a[projects=[0, 1]]]]"),
+                planRow(3, MapScanPhysicalRel.class, "table=[[hazelcast, b[projects=[0, 1]]]]")
+            )
+        );
+    }
+}
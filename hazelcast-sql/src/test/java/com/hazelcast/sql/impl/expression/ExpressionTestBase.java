@@ -1038,7 +1038,15 @@ public abstract class ExpressionTestBase extends SqlTestSupport {
             fields.add(new TableField(entry.getKey(), entry.getValue(), false));
         }
 
-        PartitionedMapTable table = new PartitionedMapTable("t", fields, new ConstantTableStatistics(100), null, null);
+        PartitionedMapTable table = new PartitionedMapTable(
+            "t",
+            fields,
+            new ConstantTableStatistics(100),
+            null,
+            null,
+            Collections.emptyList(),
+            PartitionedMapTable.DISTRIBUTION_FIELD_ORDINAL_NONE
+        );
 
         HazelcastTable hazelcastTable = new HazelcastTable(table, new MapTableStatistic(100));
         return OptimizerContext.create(new HazelcastSchema(singletonMap("t", hazelcastTable)),
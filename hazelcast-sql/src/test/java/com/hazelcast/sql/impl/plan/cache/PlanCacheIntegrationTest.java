@@ -34,6 +34,9 @@ import org.junit.Test;
 import org.junit.experimental.categories.Category;
 import org.junit.runner.RunWith;
 
+import java.util.HashMap;
+import java.util.Map;
+
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotSame;
 import static org.junit.Assert.assertNull;
@@ -109,6 +112,34 @@ public class PlanCacheIntegrationTest extends PlanCacheTestSupport {
         });
     }
 
+    @Test
+    public void testPlanInvalidatedOnStatisticsDrift() {
+        HazelcastInstance member = factory.newHazelcastInstance();
+        IMap<Integer, Integer> map = member.getMap("map");
+        map.put(1, 1);
+
+        PlanCache planCache = getPlanCache(member);
+
+        Plan plan = getPlan(member, "SELECT * FROM map");
+        assertEquals(1, planCache.size());
+        assertSame(plan, planCache.get(plan.getPlanKey()));
+
+        Map<Integer, Integer> entries = new HashMap<>();
+
+        for (int i = 0; i < 10_000; i++) {
+            entries.put(i, i);
+        }
+
+        map.putAll(entries);
+
+        assertTrueEventually(() -> {
+            Plan plan2 = getPlan(member, "SELECT * FROM map");
+            assertEquals(1, planCache.size());
+            assertSame(plan2, planCache.get(plan2.getPlanKey()));
+            assertNotSame(plan, plan2);
+        });
+    }
+
     @Test
     public void testPlanInvalidatedOnPartitionMigration() {
         HazelcastInstance member = factory.newHazelcastInstance();
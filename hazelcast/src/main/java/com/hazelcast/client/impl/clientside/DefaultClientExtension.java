@@ -59,6 +59,8 @@ import com.hazelcast.spi.properties.HazelcastProperties;
 
 import java.util.Map;
 
+import static com.hazelcast.client.properties.ClientProperty.NETWORK_COMPRESSION_ENABLED;
+import static com.hazelcast.client.properties.ClientProperty.NETWORK_COMPRESSION_THRESHOLD;
 import static com.hazelcast.config.InstanceTrackingConfig.InstanceTrackingProperties.LICENSED;
 import static com.hazelcast.config.InstanceTrackingConfig.InstanceTrackingProperties.MODE;
 import static com.hazelcast.config.InstanceTrackingConfig.InstanceTrackingProperties.PID;
@@ -186,7 +188,8 @@ public class DefaultClientExtension implements ClientExtension {
 
         HazelcastProperties properties = client.getProperties();
         boolean directBuffer = properties.getBoolean(SOCKET_CLIENT_BUFFER_DIRECT);
-        return new ClientPlainChannelInitializer(socketOptions, directBuffer);
+        return new ClientPlainChannelInitializer(socketOptions, directBuffer,
+                properties.getBoolean(NETWORK_COMPRESSION_ENABLED), properties.getInteger(NETWORK_COMPRESSION_THRESHOLD));
     }
 
     @Override
@@ -22,6 +22,8 @@ import com.hazelcast.client.impl.protocol.util.ClientMessageDecoder;
 import com.hazelcast.client.impl.protocol.util.ClientMessageEncoder;
 import com.hazelcast.internal.networking.Channel;
 import com.hazelcast.internal.networking.ChannelInitializer;
+import com.hazelcast.internal.nio.compression.CompressionDecoder;
+import com.hazelcast.internal.nio.compression.CompressionEncoder;
 
 import java.util.function.Consumer;
 
@@ -34,6 +36,8 @@ import static com.hazelcast.internal.networking.ChannelOption.SO_REUSEADDR;
 import static com.hazelcast.internal.networking.ChannelOption.SO_SNDBUF;
 import static com.hazelcast.internal.networking.ChannelOption.SO_TIMEOUT;
 import static com.hazelcast.internal.networking.ChannelOption.TCP_NODELAY;
+import static com.hazelcast.internal.nio.Protocols.CLIENT_BINARY;
+import static com.hazelcast.internal.nio.Protocols.CLIENT_BINARY_COMPRESSED;
 
 
 /**
@@ -46,10 +50,19 @@ import static com.hazelcast.internal.networking.ChannelOption.TCP_NODELAY;
 public class ClientPlainChannelInitializer implements ChannelInitializer {
     private final boolean directBuffer;
     private final SocketOptions socketOptions;
+    private final boolean compressionEnabled;
+    private final int compressionThreshold;
 
     public ClientPlainChannelInitializer(SocketOptions socketOptions, boolean directBuffer) {
+        this(socketOptions, directBuffer, false, 0);
+    }
+
+    public ClientPlainChannelInitializer(SocketOptions socketOptions, boolean directBuffer,
+                                         boolean compressionEnabled, int compressionThreshold) {
         this.socketOptions = socketOptions;
         this.directBuffer = directBuffer;
+        this.compressionEnabled = compressionEnabled;
+        this.compressionThreshold = compressionThreshold;
     }
 
     @Override
@@ -72,11 +85,18 @@ public class ClientPlainChannelInitializer implements ChannelInitializer {
                 connection.handleClientMessage(message);
             }
         }, null);
+        if (compressionEnabled) {
+            channel.inboundPipeline().addLast(new CompressionDecoder());
+        }
         channel.inboundPipeline().addLast(decoder);
 
         channel.outboundPipeline().addLast(new ClientMessageEncoder());
+        if (compressionEnabled) {
+            channel.outboundPipeline().addLast(new CompressionEncoder(compressionThreshold));
+        }
         // before a client sends any data, it first needs to send the protocol.
         // so the protocol encoder is actually the last handler in the outbound pipeline.
-        channel.outboundPipeline().addLast(new ClientProtocolEncoder());
+        String protocol = compressionEnabled ? CLIENT_BINARY_COMPRESSED : CLIENT_BINARY;
+        channel.outboundPipeline().addLast(new ClientProtocolEncoder(protocol));
     }
 }
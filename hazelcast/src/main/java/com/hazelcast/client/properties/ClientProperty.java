@@ -157,6 +157,27 @@ public final class ClientProperty {
     public static final HazelcastProperty IO_WRITE_THROUGH_ENABLED
             = new HazelcastProperty("hazelcast.client.io.write.through", true);
 
+    /**
+     * Enables compression of the connections to the members, in both
+     * directions. Trades CPU for bandwidth, so it only pays off on networks
+     * where bandwidth is the bottleneck.
+     * <p>
+     * Members that don't support compression reject the connection. Client
+     * endpoints of members configured with advanced networking don't support
+     * compression either.
+     */
+    public static final HazelcastProperty NETWORK_COMPRESSION_ENABLED
+            = new HazelcastProperty("hazelcast.client.network.compression.enabled", false);
+
+    /**
+     * The minimum number of bytes pending to be written to a compressed
+     * connection before they are compressed. Smaller writes are sent
+     * uncompressed since compressing them costs more CPU than it saves
+     * bandwidth.
+     */
+    public static final HazelcastProperty NETWORK_COMPRESSION_THRESHOLD
+            = new HazelcastProperty("hazelcast.client.network.compression.threshold", 1024);
+
     /**
      * Property needed for concurrency detection so that write through and dynamic response handling
      * can be done correctly. This property sets the window the concurrency detection will signalling
@@ -290,6 +311,26 @@ public final class ClientProperty {
     public static final HazelcastProperty METRICS_COLLECTION_FREQUENCY
             = new HazelcastProperty("hazelcast.client.metrics.collection.frequency");
 
+    /**
+     * The maximum number of SQL result pages fetched by the client ahead of the page that is currently being iterated.
+     * The next page is requested as soon as the previous one is received, so that iteration over large results is not
+     * bounded by the round trip of every page.
+     * <p>
+     * Set to 0 to fetch every page only when the previous one is consumed. The default is 2.
+     */
+    public static final HazelcastProperty SQL_PREFETCH_PAGE_COUNT
+            = new HazelcastProperty("hazelcast.client.sql.prefetch.page.count", 2);
+
+    /**
+     * The maximum size in bytes of SQL result pages fetched by the client ahead of the page that is currently being
+     * iterated. Once the limit is reached, the client stops fetching until the application consumes the fetched pages,
+     * so that the member stops producing the results of the query.
+     * <p>
+     * The default is 16 MB.
+     */
+    public static final HazelcastProperty SQL_PREFETCH_MAX_BYTES
+            = new HazelcastProperty("hazelcast.client.sql.prefetch.max.bytes", 16 * 1024 * 1024);
+
 
     private ClientProperty() {
     }
@@ -27,7 +27,13 @@ public enum IndexType {
     HASH(1),
 
     /** Bitmap index. Can be used with equality predicates. */
-    BITMAP(2);
+    BITMAP(2),
+
+    /**
+     * N-gram index of string values. Can be used with {@code LIKE} and
+     * {@code ILIKE} predicates, including the ones having leading wildcards.
+     */
+    NGRAM(3);
 
     private final int id;
 
@@ -88,7 +88,7 @@ final class NodeEngineRaftIntegration implements RaftIntegration {
     private final RaftInvocationManager invocationManager;
     private final TaskScheduler taskScheduler;
     private final int partitionId;
-    private final int threadId;
+    private final OperationExecutorImpl operationExecutor;
     private final boolean linearizableReadOptimizationEnabled;
 
     NodeEngineRaftIntegration(NodeEngineImpl nodeEngine, CPGroupId groupId, RaftEndpoint localCPMember, int partitionId) {
@@ -99,8 +99,7 @@ final class NodeEngineRaftIntegration implements RaftIntegration {
         this.operationService = nodeEngine.getOperationService();
         this.invocationManager = ((RaftService) nodeEngine.getService(RaftService.SERVICE_NAME)).getInvocationManager();
         this.partitionId = partitionId;
-        OperationExecutorImpl operationExecutor = (OperationExecutorImpl) operationService.getOperationExecutor();
-        this.threadId = operationExecutor.toPartitionThreadIndex(partitionId);
+        this.operationExecutor = (OperationExecutorImpl) operationService.getOperationExecutor();
         this.taskScheduler = nodeEngine.getExecutionService().getGlobalTaskScheduler();
         this.linearizableReadOptimizationEnabled = nodeEngine.getProperties()
                                                              .getBoolean(RAFT_LINEARIZABLE_READ_OPTIMIZATION_ENABLED);
@@ -109,8 +108,8 @@ final class NodeEngineRaftIntegration implements RaftIntegration {
     @Override
     public void execute(Runnable task) {
         Thread currentThread = Thread.currentThread();
-        if (currentThread instanceof PartitionOperationThread
-                && ((PartitionOperationThread) currentThread).getThreadId() == threadId) {
+        if (currentThread instanceof PartitionOperationThread && ((PartitionOperationThread) currentThread).getThreadId()
+                == operationExecutor.toPartitionThreadIndex(partitionId)) {
             task.run();
         } else {
             operationService.execute(new PartitionSpecificRunnableAdaptor(task, partitionId));
@@ -345,6 +345,7 @@ public final class MetricDescriptorConstants {
     // ===[OPERATION]===================================================
     public static final String OPERATION_PREFIX = "operation";
     public static final String OPERATION_PREFIX_ADHOC = "operation.adhoc";
+    public static final String OPERATION_PREFIX_BALANCER = "operation.balancer";
     public static final String OPERATION_PREFIX_GENERIC = "operation.generic";
     public static final String OPERATION_PREFIX_INVOCATIONS = "operation.invocations";
     public static final String OPERATION_PREFIX_PARKER = "operation.parker";
@@ -354,6 +355,8 @@ public final class MetricDescriptorConstants {
     public static final String OPERATION_DISCRIMINATOR_PARTITIONID = "partitionId";
     public static final String OPERATION_DISCRIMINATOR_GENERICID = "genericId";
     public static final String OPERATION_METRIC_EXECUTOR_RUNNING_COUNT = "runningCount";
+    public static final String OPERATION_METRIC_BALANCER_IMBALANCE_DETECTED_COUNT = "imbalanceDetectedCount";
+    public static final String OPERATION_METRIC_BALANCER_HANDOFF_COMPLETED_COUNT = "handoffCompletedCount";
     public static final String OPERATION_METRIC_EXECUTOR_RUNNING_PARTITION_COUNT = "runningPartitionCount";
     public static final String OPERATION_METRIC_EXECUTOR_RUNNING_GENERIC_COUNT = "runningGenericCount";
     public static final String OPERATION_METRIC_EXECUTOR_QUEUE_SIZE = "queueSize";
@@ -504,6 +507,17 @@ public final class MetricDescriptorConstants {
     public static final String SET_METRIC_CREATION_TIME = "creationTime";
     // ===[/SET]======================================================
 
+    // ===[SQL]=========================================================
+    public static final String SQL_PREFIX_FLOW_CONTROL = "sql.flowControl";
+    public static final String SQL_DISCRIMINATOR_QUERY_ID = "queryId";
+    public static final String SQL_TAG_EDGE_ID = "edgeId";
+    public static final String SQL_METRIC_FLOW_CONTROL_QUEUED_BYTES = "queuedBytes";
+    public static final String SQL_METRIC_FLOW_CONTROL_MAX_QUEUED_BYTES = "maxQueuedBytes";
+    public static final String SQL_METRIC_FLOW_CONTROL_STALLS = "stalls";
+    public static final String SQL_METRIC_FLOW_CONTROL_CREDIT_GRANTS = "creditGrants";
+    public static final String SQL_METRIC_FLOW_CONTROL_GRANTED_BYTES = "grantedBytes";
+    // ===[/SQL]========================================================
+
     // ===[TCP]=========================================================
     public static final String TCP_PREFIX = "tcp";
     public static final String TCP_PREFIX_ACCEPTOR = "tcp.acceptor";
@@ -55,6 +55,8 @@ public class GlobalPerIndexStats implements PerIndexStats {
             "queryCount");
     private static final AtomicLongFieldUpdater<GlobalPerIndexStats> HIT_COUNT = newUpdater(GlobalPerIndexStats.class,
             "hitCount");
+    private static final AtomicLongFieldUpdater<GlobalPerIndexStats> SKIP_COUNT = newUpdater(GlobalPerIndexStats.class,
+            "skipCount");
     private static final AtomicLongFieldUpdater<GlobalPerIndexStats> TOTAL_HIT_LATENCY = newUpdater(GlobalPerIndexStats.class,
             "totalHitLatency");
     private static final AtomicLongFieldUpdater<GlobalPerIndexStats> TOTAL_NORMALIZED_HIT_CARDINALITY = newUpdater(
@@ -81,6 +83,7 @@ public class GlobalPerIndexStats implements PerIndexStats {
     private volatile long entryCount;
     private volatile long queryCount;
     private volatile long hitCount;
+    private volatile long skipCount;
     private volatile long totalHitLatency;
     private volatile long totalNormalizedHitCardinality;
     private volatile long insertCount;
@@ -246,6 +249,17 @@ public class GlobalPerIndexStats implements PerIndexStats {
         TOTAL_NORMALIZED_HIT_CARDINALITY.addAndGet(this, normalizedHitCardinality);
     }
 
+    @Override
+    public long getSkipCount() {
+        return skipCount;
+    }
+
+    @Override
+    public void onIndexSkipped() {
+        // The optimizer may run concurrently on multiple query threads.
+        SKIP_COUNT.incrementAndGet(this);
+    }
+
     @Override
     public void resetPerQueryStats() {
         // Do nothing, per-query stats are tracked in GlobalQueryContextWithStats
@@ -39,6 +39,8 @@ public class PartitionPerIndexStats implements PerIndexStats {
             "queryCount");
     private static final AtomicLongFieldUpdater<PartitionPerIndexStats> HIT_COUNT = newUpdater(PartitionPerIndexStats.class,
             "hitCount");
+    private static final AtomicLongFieldUpdater<PartitionPerIndexStats> SKIP_COUNT = newUpdater(PartitionPerIndexStats.class,
+            "skipCount");
     private static final AtomicLongFieldUpdater<PartitionPerIndexStats> TOTAL_HIT_LATENCY = newUpdater(
             PartitionPerIndexStats.class, "totalHitLatency");
     private static final AtomicLongFieldUpdater<PartitionPerIndexStats> TOTAL_NORMALIZED_HIT_CARDINALITY = newUpdater(
@@ -68,6 +70,7 @@ public class PartitionPerIndexStats implements PerIndexStats {
     private volatile long entryCount;
     private volatile long queryCount;
     private volatile long hitCount;
+    private volatile long skipCount;
     private volatile long totalHitLatency;
     private volatile long totalNormalizedHitCardinality = Double.doubleToRawLongBits(0.0);
     private volatile long insertCount;
@@ -239,6 +242,18 @@ public class PartitionPerIndexStats implements PerIndexStats {
         TOTAL_NORMALIZED_HIT_CARDINALITY.lazySet(this, newEncodedTotalNormalizedHitCardinality);
     }
 
+    @Override
+    public long getSkipCount() {
+        return skipCount;
+    }
+
+    @Override
+    public void onIndexSkipped() {
+        // Unlike the mutation stats, the optimizer may run outside of the
+        // partition thread, so a plain lazySet is not safe here.
+        SKIP_COUNT.incrementAndGet(this);
+    }
+
     @Override
     public void resetPerQueryStats() {
         hasQueries = false;
@@ -127,6 +127,16 @@ public interface PerIndexStats {
             // do nothing
         }
 
+        @Override
+        public long getSkipCount() {
+            return 0;
+        }
+
+        @Override
+        public void onIndexSkipped() {
+            // do nothing
+        }
+
         @Override
         public void resetPerQueryStats() {
             // do nothing
@@ -303,6 +313,19 @@ public interface PerIndexStats {
      */
     void onIndexHit(long timestamp, long hitCardinality);
 
+    /**
+     * Returns the number of times the query optimizer decided not to use the
+     * index because a partition scan or a more selective index was expected
+     * to be cheaper.
+     */
+    long getSkipCount();
+
+    /**
+     * Invoked by the query optimizer when it decides not to use the index for
+     * a predicate the index is able to serve.
+     */
+    void onIndexSkipped();
+
     /**
      * Resets the per-query stats, if any, currently tracked by this internal
      * index stats instance.
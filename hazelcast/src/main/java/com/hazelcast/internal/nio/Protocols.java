@@ -31,11 +31,23 @@ public final class Protocols {
      */
     public static final String CLUSTER = "HZC";
 
+    /**
+     * Protocol that is used among nodes when the sender compresses the
+     * bytes that follow the protocol
+     */
+    public static final String CLUSTER_COMPRESSED = "HZZ";
+
     /**
      * New Client Protocol that is used for clients (Java, c++, c# client)
      */
     public static final String CLIENT_BINARY = "CP2";
 
+    /**
+     * Client Protocol where the bytes that follow the protocol are
+     * compressed in both directions
+     */
+    public static final String CLIENT_BINARY_COMPRESSED = "CPZ";
+
     /**
      * Protocol that is used by REST
      */
@@ -54,10 +66,18 @@ public final class Protocols {
             return "Cluster Protocol";
         }
 
+        if (CLUSTER_COMPRESSED.equals(protocol)) {
+            return "Compressed Cluster Protocol";
+        }
+
         if (CLIENT_BINARY.equals(protocol)) {
             return "Client Open Binary Protocol";
         }
 
+        if (CLIENT_BINARY_COMPRESSED.equals(protocol)) {
+            return "Compressed Client Open Binary Protocol";
+        }
+
         if (REST.equals(protocol)) {
             return "REST Protocol";
         }
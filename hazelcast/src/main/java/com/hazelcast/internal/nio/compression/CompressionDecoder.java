@@ -0,0 +1,169 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.nio.compression;
+
+import com.hazelcast.internal.networking.HandlerStatus;
+import com.hazelcast.internal.networking.InboundHandler;
+import com.hazelcast.internal.util.counters.SwCounter;
+
+import java.nio.ByteBuffer;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+import static com.hazelcast.internal.networking.ChannelOption.SO_RCVBUF;
+import static com.hazelcast.internal.networking.HandlerStatus.CLEAN;
+import static com.hazelcast.internal.networking.HandlerStatus.DIRTY;
+import static com.hazelcast.internal.nio.IOUtil.compactOrClear;
+import static com.hazelcast.internal.nio.compression.CompressionFrames.HEADER_LENGTH;
+import static com.hazelcast.internal.nio.compression.CompressionFrames.MAX_FRAME_DATA_LENGTH;
+import static com.hazelcast.internal.nio.compression.CompressionFrames.MAX_FRAME_LENGTH;
+import static com.hazelcast.internal.nio.compression.CompressionFrames.OFFSET_DATA_LENGTH;
+import static com.hazelcast.internal.nio.compression.CompressionFrames.OFFSET_LENGTH;
+import static com.hazelcast.internal.nio.compression.CompressionFrames.OFFSET_TYPE;
+import static com.hazelcast.internal.nio.compression.CompressionFrames.TYPE_DEFLATED;
+import static com.hazelcast.internal.nio.compression.CompressionFrames.TYPE_RAW;
+import static com.hazelcast.internal.nio.compression.CompressionFrames.transfer;
+import static com.hazelcast.internal.util.counters.SwCounter.newSwCounter;
+
+/**
+ * An {@link InboundHandler} that reads the frames written by the
+ * {@link CompressionEncoder} and passes the decompressed bytes on to the next
+ * handler in the pipeline.
+ * <p>
+ * The handler registers itself in the {@link com.hazelcast.internal.networking.Channel#attributeMap()}
+ * so that the number of bytes it has processed can be picked up for the network stats.
+ * <p>
+ * The {@link Inflater} is ended when the channel closes; after that the handler
+ * fails on any compressed frame.
+ */
+public class CompressionDecoder extends InboundHandler<ByteBuffer, ByteBuffer> {
+
+    private final Inflater inflater = new Inflater();
+    private final byte[] input = new byte[MAX_FRAME_DATA_LENGTH];
+    // the decompressed frame that is being written to the dst buffer; in reading mode
+    private final ByteBuffer frame = ByteBuffer.allocate(MAX_FRAME_DATA_LENGTH);
+    private final SwCounter uncompressedBytes = newSwCounter();
+    private final SwCounter compressedBytes = newSwCounter();
+
+    public CompressionDecoder() {
+        frame.flip();
+    }
+
+    @Override
+    public void handlerAdded() {
+        // the src buffer needs to be able to hold a complete frame
+        initSrcBuffer(Math.max(channel.options().getOption(SO_RCVBUF), MAX_FRAME_LENGTH));
+        channel.attributeMap().put(CompressionDecoder.class, this);
+        // the native memory of the inflater is released when the channel closes, instead of on finalization
+        channel.addCloseListener(closedChannel -> inflater.end());
+        if (channel.isClosed()) {
+            inflater.end();
+        }
+    }
+
+    @Override
+    public HandlerStatus onRead() throws Exception {
+        src.flip();
+        try {
+            for (; ; ) {
+                if (frame.hasRemaining()) {
+                    transfer(frame, dst);
+                    if (frame.hasRemaining()) {
+                        // the dst buffer is full
+                        return DIRTY;
+                    }
+                }
+
+                if (!readFrame()) {
+                    return CLEAN;
+                }
+            }
+        } finally {
+            compactOrClear(src);
+        }
+    }
+
+    /**
+     * Reads the next frame from the src buffer into the frame buffer.
+     *
+     * @return true if a frame was read, false if the frame hasn't been
+     * fully received yet.
+     */
+    private boolean readFrame() throws DataFormatException {
+        if (src.remaining() < HEADER_LENGTH) {
+            return false;
+        }
+
+        int position = src.position();
+        byte type = src.get(position + OFFSET_TYPE);
+        int length = src.getInt(position + OFFSET_LENGTH);
+        int dataLength = src.getInt(position + OFFSET_DATA_LENGTH);
+        if (length < 0 || length > MAX_FRAME_DATA_LENGTH || dataLength < 0 || dataLength > MAX_FRAME_DATA_LENGTH) {
+            throw new IllegalStateException("Malformed compression frame, length: " + length + ", data length: " + dataLength);
+        }
+
+        if (src.remaining() < HEADER_LENGTH + length) {
+            return false;
+        }
+
+        src.position(position + HEADER_LENGTH);
+        frame.clear();
+        if (type == TYPE_RAW && length == dataLength) {
+            int limit = src.limit();
+            src.limit(src.position() + length);
+            frame.put(src);
+            src.limit(limit);
+        } else if (type == TYPE_DEFLATED) {
+            inflate(length, dataLength);
+        } else {
+            throw new IllegalStateException("Malformed compression frame, type: " + type + ", length: " + length
+                    + ", data length: " + dataLength);
+        }
+        frame.flip();
+
+        compressedBytes.inc(HEADER_LENGTH + length);
+        uncompressedBytes.inc(dataLength);
+        return true;
+    }
+
+    private void inflate(int length, int dataLength) throws DataFormatException {
+        src.get(input, 0, length);
+        inflater.reset();
+        inflater.setInput(input, 0, length);
+        int inflatedLength = inflater.inflate(frame.array(), 0, dataLength);
+        if (inflatedLength != dataLength || !inflater.finished()) {
+            throw new IllegalStateException("Malformed compression frame, expected " + dataLength
+                    + " bytes but inflated " + inflatedLength);
+        }
+        frame.position(inflatedLength);
+    }
+
+    /**
+     * Returns the number of bytes passed on to the next handler.
+     */
+    public long uncompressedBytes() {
+        return uncompressedBytes.get();
+    }
+
+    /**
+     * Returns the number of bytes read from the src buffer, frame headers
+     * included.
+     */
+    public long compressedBytes() {
+        return compressedBytes.get();
+    }
+}
@@ -0,0 +1,152 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.nio.compression;
+
+import com.hazelcast.internal.networking.HandlerStatus;
+import com.hazelcast.internal.networking.OutboundHandler;
+import com.hazelcast.internal.util.counters.SwCounter;
+
+import java.nio.ByteBuffer;
+import java.util.zip.Deflater;
+
+import static com.hazelcast.internal.networking.HandlerStatus.CLEAN;
+import static com.hazelcast.internal.networking.HandlerStatus.DIRTY;
+import static com.hazelcast.internal.nio.IOUtil.compactOrClear;
+import static com.hazelcast.internal.nio.compression.CompressionFrames.MAX_FRAME_DATA_LENGTH;
+import static com.hazelcast.internal.nio.compression.CompressionFrames.MAX_FRAME_LENGTH;
+import static com.hazelcast.internal.nio.compression.CompressionFrames.TYPE_DEFLATED;
+import static com.hazelcast.internal.nio.compression.CompressionFrames.TYPE_RAW;
+import static com.hazelcast.internal.nio.compression.CompressionFrames.transfer;
+import static com.hazelcast.internal.util.counters.SwCounter.newSwCounter;
+
+/**
+ * An {@link OutboundHandler} that compresses the bytes written by the previous
+ * handler in the pipeline and writes them as frames that can be read by the
+ * {@link CompressionDecoder}.
+ * <p>
+ * Whatever is pending in the src buffer on a write is turned into a frame; so
+ * when many packets are queued up, they are compressed together. Chunks smaller
+ * than the threshold, or chunks that don't shrink when compressed, are sent
+ * uncompressed since compressing them costs more CPU than it saves bandwidth.
+ * <p>
+ * The handler registers itself in the {@link com.hazelcast.internal.networking.Channel#attributeMap()}
+ * so that the number of bytes it has processed can be picked up for the network stats.
+ * <p>
+ * The {@link Deflater} is ended when the channel closes; after that the handler
+ * fails on any write.
+ */
+public class CompressionEncoder extends OutboundHandler<ByteBuffer, ByteBuffer> {
+
+    private final int threshold;
+    private final Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+    private final byte[] input = new byte[MAX_FRAME_DATA_LENGTH];
+    private final byte[] output = new byte[MAX_FRAME_DATA_LENGTH];
+    // the frame that is being written to the dst buffer; in reading mode
+    private final ByteBuffer frame = ByteBuffer.allocate(MAX_FRAME_LENGTH);
+    private final SwCounter uncompressedBytes = newSwCounter();
+    private final SwCounter compressedBytes = newSwCounter();
+
+    /**
+     * @param threshold the minimum number of bytes pending before they are
+     *                  compressed.
+     */
+    public CompressionEncoder(int threshold) {
+        this.threshold = threshold;
+        frame.flip();
+    }
+
+    @Override
+    public void handlerAdded() {
+        initDstBuffer();
+        channel.attributeMap().put(CompressionEncoder.class, this);
+        // the native memory of the deflater is released when the channel closes, instead of on finalization
+        channel.addCloseListener(closedChannel -> deflater.end());
+        if (channel.isClosed()) {
+            deflater.end();
+        }
+    }
+
+    @Override
+    public HandlerStatus onWrite() {
+        compactOrClear(dst);
+        try {
+            for (; ; ) {
+                if (frame.hasRemaining()) {
+                    transfer(frame, dst);
+                    if (frame.hasRemaining()) {
+                        // the dst buffer is full
+                        return DIRTY;
+                    }
+                }
+
+                if (!src.hasRemaining()) {
+                    return CLEAN;
+                }
+
+                writeFrame();
+            }
+        } finally {
+            dst.flip();
+        }
+    }
+
+    private void writeFrame() {
+        int length = Math.min(src.remaining(), MAX_FRAME_DATA_LENGTH);
+        src.get(input, 0, length);
+
+        int compressedLength = length < threshold ? -1 : deflate(length);
+        frame.clear();
+        if (compressedLength < 0) {
+            frame.put(TYPE_RAW).putInt(length).putInt(length).put(input, 0, length);
+        } else {
+            frame.put(TYPE_DEFLATED).putInt(compressedLength).putInt(length).put(output, 0, compressedLength);
+        }
+        frame.flip();
+
+        uncompressedBytes.inc(length);
+        compressedBytes.inc(frame.remaining());
+    }
+
+    /**
+     * Compresses the first length bytes of the input into the output.
+     *
+     * @return the number of compressed bytes, or -1 if the data doesn't
+     * compress into fewer bytes.
+     */
+    private int deflate(int length) {
+        deflater.reset();
+        deflater.setInput(input, 0, length);
+        deflater.finish();
+        int compressedLength = deflater.deflate(output, 0, length);
+        return deflater.finished() && compressedLength < length ? compressedLength : -1;
+    }
+
+    /**
+     * Returns the number of bytes received from the previous handler.
+     */
+    public long uncompressedBytes() {
+        return uncompressedBytes.get();
+    }
+
+    /**
+     * Returns the number of bytes written to the dst buffer, frame headers
+     * included.
+     */
+    public long compressedBytes() {
+        return compressedBytes.get();
+    }
+}
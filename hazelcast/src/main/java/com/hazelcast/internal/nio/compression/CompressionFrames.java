@@ -0,0 +1,71 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.nio.compression;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Layout of the frames written by the {@link CompressionEncoder} and read by
+ * the {@link CompressionDecoder}.
+ * <p>
+ * Every frame starts with a header made of the frame type, the length of the
+ * payload and the length of the payload once decompressed, followed by the
+ * payload itself.
+ */
+final class CompressionFrames {
+
+    /**
+     * The maximum number of uncompressed bytes in a single frame.
+     */
+    static final int MAX_FRAME_DATA_LENGTH = 64 * 1024;
+
+    static final int OFFSET_TYPE = 0;
+    static final int OFFSET_LENGTH = OFFSET_TYPE + Byte.BYTES;
+    static final int OFFSET_DATA_LENGTH = OFFSET_LENGTH + Integer.BYTES;
+    static final int HEADER_LENGTH = OFFSET_DATA_LENGTH + Integer.BYTES;
+
+    /**
+     * The maximum number of bytes of a frame, header included.
+     */
+    static final int MAX_FRAME_LENGTH = HEADER_LENGTH + MAX_FRAME_DATA_LENGTH;
+
+    /**
+     * The payload is sent as is.
+     */
+    static final byte TYPE_RAW = 0;
+
+    /**
+     * The payload is compressed using the deflate algorithm.
+     */
+    static final byte TYPE_DEFLATED = 1;
+
+    private CompressionFrames() {
+    }
+
+    /**
+     * Copies as many bytes from the src buffer into the dst buffer as fit.
+     *
+     * @param src the buffer to copy from; in reading mode.
+     * @param dst the buffer to copy to; in writing mode.
+     */
+    static void transfer(ByteBuffer src, ByteBuffer dst) {
+        int limit = src.limit();
+        src.limit(src.position() + Math.min(src.remaining(), dst.remaining()));
+        dst.put(src);
+        src.limit(limit);
+    }
+}
@@ -23,6 +23,7 @@ import com.hazelcast.internal.nio.Disposable;
 import com.hazelcast.internal.serialization.impl.portable.PortableContext;
 import com.hazelcast.nio.ObjectDataInput;
 import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.FieldOffsetSchema;
 import com.hazelcast.nio.serialization.PortableReader;
 import com.hazelcast.partition.PartitioningStrategy;
 
@@ -112,4 +113,15 @@ public interface InternalSerializationService extends SerializationService, Disp
 
     byte getVersion();
 
+    /**
+     * Returns the schema of the leading primitive fields of the given
+     * IdentifiedDataSerializable type.
+     *
+     * @param factoryId the factory ID of the type.
+     * @param classId   the class ID of the type.
+     * @return the schema or {@code null} if the type has no schema.
+     * @see com.hazelcast.nio.serialization.DataSerializableFactory#getFieldOffsetSchema
+     */
+    FieldOffsetSchema getFieldOffsetSchema(int factoryId, int classId);
+
 }
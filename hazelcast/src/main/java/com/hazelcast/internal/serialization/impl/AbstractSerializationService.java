@@ -33,6 +33,7 @@ import com.hazelcast.logging.Logger;
 import com.hazelcast.nio.ObjectDataInput;
 import com.hazelcast.nio.ObjectDataOutput;
 import com.hazelcast.nio.serialization.DataSerializable;
+import com.hazelcast.nio.serialization.FieldOffsetSchema;
 import com.hazelcast.nio.serialization.HazelcastSerializationException;
 import com.hazelcast.nio.serialization.Portable;
 import com.hazelcast.nio.serialization.Serializer;
@@ -360,6 +361,11 @@ public abstract class AbstractSerializationService implements InternalSerializat
         return version;
     }
 
+    @Override
+    public FieldOffsetSchema getFieldOffsetSchema(int factoryId, int classId) {
+        return ((DataSerializableSerializer) dataSerializerAdapter.getImpl()).getFieldOffsetSchema(factoryId, classId);
+    }
+
     public void dispose() {
         active = false;
         for (SerializerAdapter serializer : typeMap.values()) {
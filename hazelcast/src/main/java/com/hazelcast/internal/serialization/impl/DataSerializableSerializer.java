@@ -24,6 +24,7 @@ import com.hazelcast.nio.ObjectDataInput;
 import com.hazelcast.nio.ObjectDataOutput;
 import com.hazelcast.nio.serialization.DataSerializable;
 import com.hazelcast.nio.serialization.DataSerializableFactory;
+import com.hazelcast.nio.serialization.FieldOffsetSchema;
 import com.hazelcast.nio.serialization.HazelcastSerializationException;
 import com.hazelcast.nio.serialization.IdentifiedDataSerializable;
 import com.hazelcast.nio.serialization.StreamSerializer;
@@ -49,7 +50,8 @@ import static com.hazelcast.internal.serialization.impl.SerializationConstants.C
  * </ol>
  */
 @SuppressWarnings("checkstyle:npathcomplexity")
-final class DataSerializableSerializer implements StreamSerializer<DataSerializable>, TypedStreamDeserializer<DataSerializable> {
+public final class DataSerializableSerializer
+        implements StreamSerializer<DataSerializable>, TypedStreamDeserializer<DataSerializable> {
 
     public static final byte IDS_FLAG = 1 << 0;
     public static final byte EE_FLAG = 1 << 1;
@@ -96,6 +98,16 @@ final class DataSerializableSerializer implements StreamSerializer<DataSerializa
         }
     }
 
+    /**
+     * @return the field offset schema of the given IdentifiedDataSerializable
+     * type or {@code null} if the type has no schema.
+     * @see DataSerializableFactory#getFieldOffsetSchema
+     */
+    public FieldOffsetSchema getFieldOffsetSchema(int factoryId, int classId) {
+        DataSerializableFactory factory = factories.get(factoryId);
+        return factory == null ? null : factory.getFieldOffsetSchema(classId);
+    }
+
     @Override
     public int getTypeId() {
         return CONSTANT_TYPE_DATA_SERIALIZABLE;
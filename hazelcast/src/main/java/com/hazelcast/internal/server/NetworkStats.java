@@ -41,4 +41,26 @@ public interface NetworkStats {
      */
     long getBytesSent();
 
+    /**
+     * Returns number of bytes received over all connections (active and closed) managed by
+     * the EndpointManager, counting the bytes received over compressed connections as they
+     * were before compression. Equal to {@link #getBytesReceived()} when no connection is
+     * compressed. Guaranteed to be monotonically increasing counter, but may not show the
+     * latest total.
+     *
+     * @return number of received bytes before compression
+     */
+    long getBytesReceivedUncompressed();
+
+    /**
+     * Returns number of bytes sent over all connections (active and closed) managed by
+     * the EndpointManager, counting the bytes sent over compressed connections as they
+     * were before compression. Equal to {@link #getBytesSent()} when no connection is
+     * compressed. Guaranteed to be monotonically increasing counter, but may not show the
+     * latest total.
+     *
+     * @return number of sent bytes before compression
+     */
+    long getBytesSentUncompressed();
+
 }
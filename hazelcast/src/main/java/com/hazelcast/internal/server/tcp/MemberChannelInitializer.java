@@ -24,6 +24,10 @@ import com.hazelcast.internal.networking.InboundHandler;
 import com.hazelcast.internal.networking.OutboundHandler;
 import com.hazelcast.internal.server.ServerContext;
 import com.hazelcast.internal.server.ServerConnection;
+import com.hazelcast.spi.properties.HazelcastProperties;
+
+import static com.hazelcast.spi.properties.ClusterProperty.NETWORK_COMPRESSION_ENABLED;
+import static com.hazelcast.spi.properties.ClusterProperty.NETWORK_COMPRESSION_THRESHOLD;
 
 public class MemberChannelInitializer
         extends AbstractChannelInitializer {
@@ -38,7 +42,9 @@ public class MemberChannelInitializer
         OutboundHandler[] outboundHandlers = serverContext.createOutboundHandlers(EndpointQualifier.MEMBER, connection);
         InboundHandler[] inboundHandlers = serverContext.createInboundHandlers(EndpointQualifier.MEMBER, connection);
 
-        MemberProtocolEncoder protocolEncoder = new MemberProtocolEncoder(outboundHandlers);
+        HazelcastProperties props = serverContext.properties();
+        MemberProtocolEncoder protocolEncoder = new MemberProtocolEncoder(outboundHandlers,
+                props.getBoolean(NETWORK_COMPRESSION_ENABLED), props.getInteger(NETWORK_COMPRESSION_THRESHOLD));
         SingleProtocolDecoder protocolDecoder = new SingleProtocolDecoder(ProtocolType.MEMBER, inboundHandlers, protocolEncoder);
 
         channel.outboundPipeline().addLast(protocolEncoder);
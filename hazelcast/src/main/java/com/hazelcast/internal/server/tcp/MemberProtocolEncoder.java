@@ -19,6 +19,7 @@ package com.hazelcast.internal.server.tcp;
 import com.hazelcast.internal.networking.HandlerStatus;
 import com.hazelcast.internal.networking.OutboundHandler;
 import com.hazelcast.internal.nio.ConnectionType;
+import com.hazelcast.internal.nio.compression.CompressionEncoder;
 import com.hazelcast.internal.server.ServerConnection;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 
@@ -28,17 +29,25 @@ import static com.hazelcast.internal.networking.HandlerStatus.CLEAN;
 import static com.hazelcast.internal.networking.HandlerStatus.DIRTY;
 import static com.hazelcast.internal.nio.IOUtil.compactOrClear;
 import static com.hazelcast.internal.nio.Protocols.CLUSTER;
+import static com.hazelcast.internal.nio.Protocols.CLUSTER_COMPRESSED;
 import static com.hazelcast.internal.nio.Protocols.PROTOCOL_LENGTH;
 import static com.hazelcast.internal.util.StringUtil.stringToBytes;
+import static com.hazelcast.internal.util.collection.ArrayUtils.append;
 
 public class MemberProtocolEncoder extends OutboundHandler<Void, ByteBuffer> {
 
     private final OutboundHandler[] outboundHandlers;
+    private final boolean compressionEnabled;
+    private final int compressionThreshold;
     /**
      * mustWriteProtocol is true when the channel is in client mode (-> write member protocol bytes immediately)
      * or when the protocol bytes have already been received (on the server side of the connection)
      */
     private volatile boolean mustWriteProtocol;
+    /**
+     * compress is true when the outbound traffic is compressed; this is decided before mustWriteProtocol is set
+     */
+    private volatile boolean compress;
 
     private boolean clusterProtocolBuffered;
 
@@ -49,9 +58,22 @@ public class MemberProtocolEncoder extends OutboundHandler<Void, ByteBuffer> {
      * @param next the {@link OutboundHandler} to replace this one in the outbound pipeline
      *             upon match of protocol bytes
      */
-    @SuppressFBWarnings("EI_EXPOSE_REP2")
     public MemberProtocolEncoder(OutboundHandler[] next) {
+        this(next, false, 0);
+    }
+
+    /**
+     * @param next                 the {@link OutboundHandler} to replace this one in the outbound pipeline
+     *                             upon match of protocol bytes
+     * @param compressionEnabled   if the outbound traffic should be compressed when the other side
+     *                             supports it
+     * @param compressionThreshold the minimum number of bytes pending before they are compressed
+     */
+    @SuppressFBWarnings("EI_EXPOSE_REP2")
+    public MemberProtocolEncoder(OutboundHandler[] next, boolean compressionEnabled, int compressionThreshold) {
         this.outboundHandlers = next;
+        this.compressionEnabled = compressionEnabled;
+        this.compressionThreshold = compressionThreshold;
     }
 
     @Override
@@ -60,6 +82,7 @@ public class MemberProtocolEncoder extends OutboundHandler<Void, ByteBuffer> {
 
         if (channel.isClientMode()) {
             // from the clientSide of a connection, we always send the cluster protocol to a fellow member.
+            compress = compressionEnabled;
             mustWriteProtocol = true;
         }
     }
@@ -76,7 +99,7 @@ public class MemberProtocolEncoder extends OutboundHandler<Void, ByteBuffer> {
 
             if (!clusterProtocolBuffered) {
                 clusterProtocolBuffered = true;
-                dst.put(stringToBytes(CLUSTER));
+                dst.put(stringToBytes(compress ? CLUSTER_COMPRESSED : CLUSTER));
                 // Return false because ProtocolEncoder is not ready yet; but first we need to flush protocol
                 return DIRTY;
             }
@@ -89,7 +112,12 @@ public class MemberProtocolEncoder extends OutboundHandler<Void, ByteBuffer> {
             // replace!
             ServerConnection connection = (TcpServerConnection) channel.attributeMap().get(ServerConnection.class);
             connection.setConnectionType(ConnectionType.MEMBER);
-            channel.outboundPipeline().replace(this, outboundHandlers);
+            if (compress) {
+                channel.outboundPipeline().replace(this,
+                        append(outboundHandlers, new OutboundHandler[]{new CompressionEncoder(compressionThreshold)}));
+            } else {
+                channel.outboundPipeline().replace(this, outboundHandlers);
+            }
 
             return CLEAN;
         } finally {
@@ -98,7 +126,19 @@ public class MemberProtocolEncoder extends OutboundHandler<Void, ByteBuffer> {
     }
 
     public void signalProtocolLoaded() {
+        signalProtocolLoaded(CLUSTER);
+    }
+
+    /**
+     * Signals that the protocol bytes have been received. The outbound traffic
+     * is only compressed if the other side compresses as well, since that is
+     * the proof it can handle compressed traffic.
+     *
+     * @param protocol the received protocol
+     */
+    public void signalProtocolLoaded(String protocol) {
         assert !channel.isClientMode() : "Signal protocol should only be made on channel in serverMode";
+        compress = compressionEnabled && CLUSTER_COMPRESSED.equals(protocol);
         mustWriteProtocol = true;
         channel.outboundPipeline().wakeup();
     }
@@ -21,6 +21,7 @@ import com.hazelcast.internal.networking.HandlerStatus;
 import com.hazelcast.internal.networking.InboundHandler;
 import com.hazelcast.internal.networking.OutboundHandler;
 import com.hazelcast.internal.nio.ConnectionType;
+import com.hazelcast.internal.nio.compression.CompressionDecoder;
 import com.hazelcast.internal.server.ServerConnection;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 
@@ -28,8 +29,10 @@ import java.nio.ByteBuffer;
 
 import static com.hazelcast.internal.networking.HandlerStatus.CLEAN;
 import static com.hazelcast.internal.nio.IOUtil.compactOrClear;
+import static com.hazelcast.internal.nio.Protocols.CLUSTER_COMPRESSED;
 import static com.hazelcast.internal.nio.Protocols.PROTOCOL_LENGTH;
 import static com.hazelcast.internal.util.StringUtil.bytesToString;
+import static com.hazelcast.internal.util.collection.ArrayUtils.append;
 
 public class SingleProtocolDecoder
         extends InboundHandler<ByteBuffer, Void> {
@@ -38,6 +41,7 @@ public class SingleProtocolDecoder
     protected final ProtocolType supportedProtocol;
 
     private final MemberProtocolEncoder encoder;
+    private String protocol;
 
     public SingleProtocolDecoder(ProtocolType supportedProtocol, InboundHandler next) {
         this(supportedProtocol, new InboundHandler[]{next}, null);
@@ -75,13 +79,14 @@ public class SingleProtocolDecoder
                 return CLEAN;
             }
 
-            verifyProtocol(loadProtocol());
+            protocol = loadProtocol();
+            verifyProtocol(protocol);
             // initialize the connection
             initConnection();
             setupNextDecoder();
 
             if (shouldSignalProtocolLoaded()) {
-                encoder.signalProtocolLoaded();
+                encoder.signalProtocolLoaded(protocol);
             }
 
             return CLEAN;
@@ -92,11 +97,23 @@ public class SingleProtocolDecoder
 
     protected void setupNextDecoder() {
         // replace this handler with the next one
-        channel.inboundPipeline().replace(this, inboundHandlers);
+        if (isCompressed()) {
+            channel.inboundPipeline().replace(this, append(new InboundHandler[]{new CompressionDecoder()}, inboundHandlers));
+        } else {
+            channel.inboundPipeline().replace(this, inboundHandlers);
+        }
+    }
+
+    /**
+     * Checks if the other side compresses the bytes that follow the protocol.
+     */
+    private boolean isCompressed() {
+        return supportedProtocol == ProtocolType.MEMBER && CLUSTER_COMPRESSED.equals(protocol);
     }
 
     protected void verifyProtocol(String incomingProtocol) {
-        if (!incomingProtocol.equals(supportedProtocol.getDescriptor())) {
+        if (!incomingProtocol.equals(supportedProtocol.getDescriptor())
+                && !(supportedProtocol == ProtocolType.MEMBER && CLUSTER_COMPRESSED.equals(incomingProtocol))) {
             throw new IllegalStateException("Unsupported protocol exchange detected, "
                     + "expected protocol: " + supportedProtocol.name());
         }
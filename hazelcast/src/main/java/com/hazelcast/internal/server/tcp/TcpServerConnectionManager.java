@@ -31,6 +31,8 @@ import com.hazelcast.internal.nio.ConnectionLifecycleListener;
 import com.hazelcast.internal.nio.ConnectionListener;
 import com.hazelcast.internal.nio.IOUtil;
 import com.hazelcast.internal.nio.Packet;
+import com.hazelcast.internal.nio.compression.CompressionDecoder;
+import com.hazelcast.internal.nio.compression.CompressionEncoder;
 import com.hazelcast.internal.server.NetworkStats;
 import com.hazelcast.internal.server.ServerConnection;
 import com.hazelcast.internal.server.ServerConnectionManager;
@@ -540,6 +542,10 @@ public class TcpServerConnectionManager
         private final MwCounter bytesReceivedOnClosed = newMwCounter();
         private final AtomicLong bytesSentLastCalc = new AtomicLong();
         private final MwCounter bytesSentOnClosed = newMwCounter();
+        private final AtomicLong bytesReceivedUncompressedLastCalc = new AtomicLong();
+        private final MwCounter bytesReceivedUncompressedOnClosed = newMwCounter();
+        private final AtomicLong bytesSentUncompressedLastCalc = new AtomicLong();
+        private final MwCounter bytesSentUncompressedOnClosed = newMwCounter();
 
         @Override
         public long getBytesReceived() {
@@ -551,21 +557,51 @@ public class TcpServerConnectionManager
             return bytesSentLastCalc.get();
         }
 
+        @Override
+        public long getBytesReceivedUncompressed() {
+            return bytesReceivedUncompressedLastCalc.get();
+        }
+
+        @Override
+        public long getBytesSentUncompressed() {
+            return bytesSentUncompressedLastCalc.get();
+        }
+
         void refresh() {
             MutableLong totalReceived = MutableLong.valueOf(bytesReceivedOnClosed.get());
             MutableLong totalSent = MutableLong.valueOf(bytesSentOnClosed.get());
+            MutableLong totalReceivedUncompressed = MutableLong.valueOf(bytesReceivedUncompressedOnClosed.get());
+            MutableLong totalSentUncompressed = MutableLong.valueOf(bytesSentUncompressedOnClosed.get());
             connections.forEach(conn -> {
                 totalReceived.value += conn.getChannel().bytesRead();
                 totalSent.value += conn.getChannel().bytesWritten();
+                totalReceivedUncompressed.value += bytesReadUncompressed(conn.getChannel());
+                totalSentUncompressed.value += bytesWrittenUncompressed(conn.getChannel());
             });
             // counters must be monotonically increasing
             bytesReceivedLastCalc.updateAndGet((v) -> Math.max(v, totalReceived.value));
             bytesSentLastCalc.updateAndGet((v) -> Math.max(v, totalSent.value));
+            bytesReceivedUncompressedLastCalc.updateAndGet((v) -> Math.max(v, totalReceivedUncompressed.value));
+            bytesSentUncompressedLastCalc.updateAndGet((v) -> Math.max(v, totalSentUncompressed.value));
         }
 
         void onConnectionClose(TcpServerConnection connection) {
             bytesReceivedOnClosed.inc(connection.getChannel().bytesRead());
             bytesSentOnClosed.inc(connection.getChannel().bytesWritten());
+            bytesReceivedUncompressedOnClosed.inc(bytesReadUncompressed(connection.getChannel()));
+            bytesSentUncompressedOnClosed.inc(bytesWrittenUncompressed(connection.getChannel()));
+        }
+
+        private long bytesReadUncompressed(Channel channel) {
+            CompressionDecoder decoder = (CompressionDecoder) channel.attributeMap().get(CompressionDecoder.class);
+            long bytesRead = channel.bytesRead();
+            return decoder == null ? bytesRead : bytesRead - decoder.compressedBytes() + decoder.uncompressedBytes();
+        }
+
+        private long bytesWrittenUncompressed(Channel channel) {
+            CompressionEncoder encoder = (CompressionEncoder) channel.attributeMap().get(CompressionEncoder.class);
+            long bytesWritten = channel.bytesWritten();
+            return encoder == null ? bytesWritten : bytesWritten - encoder.compressedBytes() + encoder.uncompressedBytes();
         }
     }
 }
@@ -31,6 +31,7 @@ import com.hazelcast.internal.nio.ascii.MemcacheTextDecoder;
 import com.hazelcast.internal.nio.ascii.RestApiTextDecoder;
 import com.hazelcast.internal.nio.ascii.TextDecoder;
 import com.hazelcast.internal.nio.ascii.TextEncoder;
+import com.hazelcast.internal.nio.compression.CompressionDecoder;
 import com.hazelcast.internal.server.ServerContext;
 import com.hazelcast.internal.server.ServerConnection;
 import com.hazelcast.spi.properties.HazelcastProperties;
@@ -44,11 +45,14 @@ import static com.hazelcast.internal.networking.HandlerStatus.CLEAN;
 import static com.hazelcast.internal.nio.IOUtil.compactOrClear;
 import static com.hazelcast.internal.nio.IOUtil.newByteBuffer;
 import static com.hazelcast.internal.nio.Protocols.CLIENT_BINARY;
+import static com.hazelcast.internal.nio.Protocols.CLIENT_BINARY_COMPRESSED;
 import static com.hazelcast.internal.nio.Protocols.CLUSTER;
+import static com.hazelcast.internal.nio.Protocols.CLUSTER_COMPRESSED;
 import static com.hazelcast.internal.nio.Protocols.PROTOCOL_LENGTH;
 import static com.hazelcast.internal.server.ServerContext.KILO_BYTE;
 import static com.hazelcast.internal.util.StringUtil.bytesToString;
 import static com.hazelcast.internal.util.StringUtil.stringToBytes;
+import static com.hazelcast.internal.util.collection.ArrayUtils.append;
 import static com.hazelcast.spi.properties.ClusterProperty.SOCKET_CLIENT_RECEIVE_BUFFER_SIZE;
 import static com.hazelcast.spi.properties.ClusterProperty.SOCKET_RECEIVE_BUFFER_SIZE;
 
@@ -96,10 +100,10 @@ public class UnifiedProtocolDecoder
                 .level(Level.DEBUG)
                 .addParameter("protocol", protocol)
                 .log();
-            if (CLUSTER.equals(protocol)) {
-                initChannelForCluster();
-            } else if (CLIENT_BINARY.equals(protocol)) {
-                initChannelForClient();
+            if (CLUSTER.equals(protocol) || CLUSTER_COMPRESSED.equals(protocol)) {
+                initChannelForCluster(CLUSTER_COMPRESSED.equals(protocol));
+            } else if (CLIENT_BINARY.equals(protocol) || CLIENT_BINARY_COMPRESSED.equals(protocol)) {
+                initChannelForClient(CLIENT_BINARY_COMPRESSED.equals(protocol));
             } else if (RestApiTextDecoder.TEXT_PARSERS.isCommandPrefix(protocol)) {
                 RestApiConfig restApiConfig = serverContext.getRestApiConfig();
                 if (!restApiConfig.isEnabledAndNotEmpty()) {
@@ -137,23 +141,32 @@ public class UnifiedProtocolDecoder
         return bytesToString(protocolBytes);
     }
 
-    private void initChannelForCluster() {
+    private void initChannelForCluster(boolean compressed) {
         channel.options()
                 .setOption(SO_SNDBUF, props.getInteger(SOCKET_RECEIVE_BUFFER_SIZE) * KILO_BYTE);
 
         ServerConnection connection = (TcpServerConnection) channel.attributeMap().get(ServerConnection.class);
         connection.setConnectionType(ConnectionType.MEMBER);
-        channel.inboundPipeline().replace(this, serverContext.createInboundHandlers(EndpointQualifier.MEMBER, connection));
+        InboundHandler[] handlers = serverContext.createInboundHandlers(EndpointQualifier.MEMBER, connection);
+        if (compressed) {
+            handlers = append(new InboundHandler[]{new CompressionDecoder()}, handlers);
+        }
+        channel.inboundPipeline().replace(this, handlers);
     }
 
-    private void initChannelForClient() {
+    private void initChannelForClient(boolean compressed) {
         channel.options()
                 .setOption(SO_RCVBUF, clientRcvBuf())
                 // clients dont support direct buffers
                 .setOption(DIRECT_BUF, false);
 
         ServerConnection connection = (TcpServerConnection) channel.attributeMap().get(ServerConnection.class);
-        channel.inboundPipeline().replace(this, new ClientMessageDecoder(connection, serverContext.getClientEngine(), props));
+        ClientMessageDecoder decoder = new ClientMessageDecoder(connection, serverContext.getClientEngine(), props);
+        if (compressed) {
+            channel.inboundPipeline().replace(this, new CompressionDecoder(), decoder);
+        } else {
+            channel.inboundPipeline().replace(this, decoder);
+        }
     }
 
     private void initChannelForText(String protocol, boolean restApi) {
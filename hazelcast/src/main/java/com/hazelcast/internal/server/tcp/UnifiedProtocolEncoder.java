@@ -21,6 +21,7 @@ import com.hazelcast.instance.EndpointQualifier;
 import com.hazelcast.internal.networking.HandlerStatus;
 import com.hazelcast.internal.networking.OutboundHandler;
 import com.hazelcast.internal.nio.ascii.TextEncoder;
+import com.hazelcast.internal.nio.compression.CompressionEncoder;
 import com.hazelcast.internal.server.ServerContext;
 import com.hazelcast.internal.server.ServerConnection;
 import com.hazelcast.spi.properties.HazelcastProperties;
@@ -32,11 +33,16 @@ import static com.hazelcast.internal.networking.HandlerStatus.CLEAN;
 import static com.hazelcast.internal.networking.HandlerStatus.DIRTY;
 import static com.hazelcast.internal.nio.IOUtil.compactOrClear;
 import static com.hazelcast.internal.nio.Protocols.CLIENT_BINARY;
+import static com.hazelcast.internal.nio.Protocols.CLIENT_BINARY_COMPRESSED;
 import static com.hazelcast.internal.nio.Protocols.CLUSTER;
+import static com.hazelcast.internal.nio.Protocols.CLUSTER_COMPRESSED;
 import static com.hazelcast.internal.nio.Protocols.PROTOCOL_LENGTH;
 import static com.hazelcast.internal.nio.ascii.TextEncoder.TEXT_ENCODER;
 import static com.hazelcast.internal.server.ServerContext.KILO_BYTE;
 import static com.hazelcast.internal.util.StringUtil.stringToBytes;
+import static com.hazelcast.internal.util.collection.ArrayUtils.append;
+import static com.hazelcast.spi.properties.ClusterProperty.NETWORK_COMPRESSION_ENABLED;
+import static com.hazelcast.spi.properties.ClusterProperty.NETWORK_COMPRESSION_THRESHOLD;
 import static com.hazelcast.spi.properties.ClusterProperty.SOCKET_CLIENT_SEND_BUFFER_SIZE;
 import static com.hazelcast.spi.properties.ClusterProperty.SOCKET_SEND_BUFFER_SIZE;
 
@@ -54,12 +60,14 @@ public class UnifiedProtocolEncoder
 
     private final ServerContext serverContext;
     private final HazelcastProperties props;
+    private final boolean compressionEnabled;
     private volatile String inboundProtocol;
     private boolean clusterProtocolBuffered;
 
     public UnifiedProtocolEncoder(ServerContext serverContext) {
         this.serverContext = serverContext;
         this.props = serverContext.properties();
+        this.compressionEnabled = props.getBoolean(NETWORK_COMPRESSION_ENABLED);
     }
 
     @Override
@@ -68,7 +76,7 @@ public class UnifiedProtocolEncoder
 
         if (channel.isClientMode()) {
             // from the clientSide of a connection, we always send the cluster protocol to a fellow member.
-            inboundProtocol = CLUSTER;
+            inboundProtocol = compressionEnabled ? CLUSTER_COMPRESSED : CLUSTER;
         }
     }
 
@@ -94,12 +102,12 @@ public class UnifiedProtocolEncoder
                 return CLEAN;
             }
 
-            if (CLUSTER.equals(inboundProtocol)) {
+            if (CLUSTER.equals(inboundProtocol) || CLUSTER_COMPRESSED.equals(inboundProtocol)) {
                 // in case of a member, the cluster protocol needs to be send first before initializing the channel.
 
                 if (!clusterProtocolBuffered) {
                     clusterProtocolBuffered = true;
-                    dst.put(stringToBytes(CLUSTER));
+                    dst.put(stringToBytes(compressOutbound() ? CLUSTER_COMPRESSED : CLUSTER));
                     // Return false because ProtocolEncoder is not ready yet; but first we need to flush protocol
                     return DIRTY;
                 }
@@ -110,9 +118,9 @@ public class UnifiedProtocolEncoder
                 }
 
                 initChannelForCluster();
-            } else if (CLIENT_BINARY.equals(inboundProtocol)) {
+            } else if (CLIENT_BINARY.equals(inboundProtocol) || CLIENT_BINARY_COMPRESSED.equals(inboundProtocol)) {
                 // in case of a client, the member will not send the member protocol
-                initChannelForClient();
+                initChannelForClient(CLIENT_BINARY_COMPRESSED.equals(inboundProtocol));
             } else {
                 // in case of a text-client, the member will not send the member protocol
                 initChannelForText();
@@ -136,20 +144,44 @@ public class UnifiedProtocolEncoder
         return dst.position() == 0;
     }
 
+    /**
+     * Checks if the outbound cluster traffic is compressed. A member that
+     * initiates the connection compresses if it has compression enabled; a
+     * member that accepts the connection only compresses if the initiator
+     * compresses as well, since that is the proof the initiator can handle
+     * compressed traffic.
+     *
+     * @return true if the outbound cluster traffic is compressed.
+     */
+    private boolean compressOutbound() {
+        return compressionEnabled && CLUSTER_COMPRESSED.equals(inboundProtocol);
+    }
+
     private void initChannelForCluster() {
         channel.options()
                 .setOption(SO_SNDBUF, props.getInteger(SOCKET_SEND_BUFFER_SIZE) * KILO_BYTE);
 
         ServerConnection connection = (TcpServerConnection) channel.attributeMap().get(ServerConnection.class);
         OutboundHandler[] handlers = serverContext.createOutboundHandlers(EndpointQualifier.MEMBER, connection);
+        if (compressOutbound()) {
+            handlers = append(handlers, new OutboundHandler[]{newCompressionEncoder()});
+        }
         channel.outboundPipeline().replace(this, handlers);
     }
 
-    private void initChannelForClient() {
+    private void initChannelForClient(boolean compressed) {
         channel.options()
                 .setOption(SO_SNDBUF, clientSndBuf());
 
-        channel.outboundPipeline().replace(this, new ClientMessageEncoder());
+        if (compressed) {
+            channel.outboundPipeline().replace(this, new ClientMessageEncoder(), newCompressionEncoder());
+        } else {
+            channel.outboundPipeline().replace(this, new ClientMessageEncoder());
+        }
+    }
+
+    private CompressionEncoder newCompressionEncoder() {
+        return new CompressionEncoder(props.getInteger(NETWORK_COMPRESSION_THRESHOLD));
     }
 
     private void initChannelForText() {
@@ -124,7 +124,7 @@ public final class SortingUtil {
         return (entry1, entry2) -> SortingUtil.compare(comparator, iterationType, entry1, entry2);
     }
 
-    private static Comparator<QueryableEntry> newComparator(final PagingPredicateImpl pagingPredicate) {
+    public static Comparator<QueryableEntry> newComparator(final PagingPredicateImpl pagingPredicate) {
         return (entry1, entry2) ->
                 SortingUtil.compare(pagingPredicate.getComparator(), pagingPredicate.getIterationType(), entry1, entry2);
     }
@@ -137,15 +137,29 @@ public final class SortingUtil {
         PagingPredicateImpl pagingPredicateImpl = (PagingPredicateImpl) pagingPredicate;
         Comparator<QueryableEntry> comparator = newComparator(pagingPredicateImpl);
         Collections.sort(list, comparator);
+        int totalSize = getPageLimit(pagingPredicate, nearestAnchorEntry);
+        if (list.size() > totalSize) {
+            list = list.subList(0, totalSize);
+        }
+        return list;
+    }
+
+    /**
+     * Returns the maximum number of entries following the nearest anchor a
+     * member has to provide to let the caller assemble the requested page:
+     * the entries of the pages between the nearest anchor and the requested
+     * page, inclusive.
+     *
+     * @param pagingPredicate    the paging predicate of the query.
+     * @param nearestAnchorEntry the nearest anchor entry of the predicate.
+     * @return the number of entries, capped by {@link Integer#MAX_VALUE}.
+     */
+    public static int getPageLimit(PagingPredicate pagingPredicate, Map.Entry<Integer, Map.Entry> nearestAnchorEntry) {
         int nearestPage = nearestAnchorEntry.getKey();
         int pageSize = pagingPredicate.getPageSize();
         int page = pagingPredicate.getPage();
         long totalSize = pageSize * ((long) page - nearestPage);
-        if (list.size() > totalSize) {
-            // it's safe to cast totalSize back to int here since it's limited by the list size
-            list = list.subList(0, (int) totalSize);
-        }
-        return list;
+        return (int) Math.min(totalSize, Integer.MAX_VALUE);
     }
 
     @SuppressWarnings("unchecked")
@@ -0,0 +1,116 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.util.collection;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Selects the {@code k} smallest elements, according to the given comparator,
+ * out of the elements added to it.
+ * <p>
+ * The selector keeps at most {@code k} elements in a bounded max-heap, so
+ * selecting out of {@code n} elements takes {@code O(n log k)} time and
+ * {@code O(k)} memory instead of {@code O(n log n)} time and {@code O(n)}
+ * memory required by sorting all of them.
+ * <p>
+ * Not thread-safe.
+ *
+ * @param <E> the type of the elements.
+ */
+public final class TopKSelector<E> {
+
+    private static final int MAX_INITIAL_CAPACITY = 1024;
+
+    private final Comparator<? super E> comparator;
+    private final int k;
+    private final PriorityQueue<E> heap;
+
+    /**
+     * Constructs a new selector.
+     *
+     * @param comparator the comparator defining the order of the elements.
+     * @param k          the number of the smallest elements to select.
+     */
+    public TopKSelector(Comparator<? super E> comparator, int k) {
+        if (k <= 0) {
+            throw new IllegalArgumentException("k should be positive: " + k);
+        }
+        this.comparator = comparator;
+        this.k = k;
+        this.heap = new PriorityQueue<>(Math.min(k, MAX_INITIAL_CAPACITY), Collections.reverseOrder(comparator));
+    }
+
+    /**
+     * Offers the given element to this selector.
+     *
+     * @param element the element to offer.
+     * @return {@code true} if the element is retained by this selector,
+     * {@code false} if it's larger than all the retained elements and this
+     * selector is full.
+     */
+    public boolean add(E element) {
+        if (heap.size() < k) {
+            heap.add(element);
+            return true;
+        }
+
+        if (comparator.compare(element, heap.peek()) >= 0) {
+            return false;
+        }
+        heap.poll();
+        heap.add(element);
+        return true;
+    }
+
+    /**
+     * @return {@code true} if this selector retains {@code k} elements and
+     * any further element is retained only at the expense of evicting the
+     * largest retained element, {@code false} otherwise.
+     */
+    public boolean isFull() {
+        return heap.size() == k;
+    }
+
+    /**
+     * @return the largest retained element or {@code null} if this selector
+     * is empty.
+     */
+    public E peekLargest() {
+        return heap.peek();
+    }
+
+    /**
+     * @return the number of the retained elements.
+     */
+    public int size() {
+        return heap.size();
+    }
+
+    /**
+     * @return the retained elements sorted in the ascending order.
+     */
+    public List<E> toSortedList() {
+        List<E> list = new ArrayList<>(heap);
+        list.sort(comparator);
+        return list;
+    }
+
+}
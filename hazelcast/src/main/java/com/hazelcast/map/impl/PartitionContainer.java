@@ -51,6 +51,7 @@ public class PartitionContainer {
     private final ContextMutexFactory contextMutexFactory = new ContextMutexFactory();
     private final ConcurrentMap<String, RecordStore> maps;
     private final ConcurrentMap<String, Indexes> indexes = new ConcurrentHashMap<>();
+    private final PartitionIndexBuilds indexBuilds = new PartitionIndexBuilds();
     private final ConstructorFunction<String, RecordStore> recordStoreConstructor
             = name -> {
         RecordStore recordStore = createRecordStore(name);
@@ -119,6 +120,10 @@ public class PartitionContainer {
         return indexes;
     }
 
+    public PartitionIndexBuilds getIndexBuilds() {
+        return indexBuilds;
+    }
+
     public Collection<RecordStore> getAllRecordStores() {
         return maps.isEmpty() ? Collections.emptyList() : maps.values();
     }
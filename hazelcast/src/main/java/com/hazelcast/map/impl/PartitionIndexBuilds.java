@@ -0,0 +1,86 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl;
+
+import com.hazelcast.query.impl.InternalIndex;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Tracks the online index builds in progress on a partition, each mapped to
+ * the callbacks awaiting its completion.
+ * <p>
+ * Accessed only by the partition thread.
+ *
+ * @see com.hazelcast.map.impl.operation.AddIndexOperation
+ */
+public final class PartitionIndexBuilds {
+
+    private final Map<InternalIndex, List<Consumer<Object>>> builds = new HashMap<>();
+
+    /**
+     * Registers a build of the given index started on the partition.
+     *
+     * @param index    the index being built.
+     * @param callback the callback to notify once the build completes.
+     */
+    public void startBuild(InternalIndex index, Consumer<Object> callback) {
+        List<Consumer<Object>> callbacks = new ArrayList<>(1);
+        callbacks.add(callback);
+        List<Consumer<Object>> existing = builds.put(index, callbacks);
+        assert existing == null;
+    }
+
+    /**
+     * Registers the given callback to be notified once the build of the given
+     * index in progress completes.
+     *
+     * @param index    the index to await the build of.
+     * @param callback the callback to notify once the build completes.
+     * @return {@code true} if the index is being built and the callback is
+     * registered, {@code false} otherwise.
+     */
+    public boolean awaitBuild(InternalIndex index, Consumer<Object> callback) {
+        List<Consumer<Object>> callbacks = builds.get(index);
+        if (callbacks == null) {
+            return false;
+        }
+        callbacks.add(callback);
+        return true;
+    }
+
+    /**
+     * Completes the build of the given index and notifies the callbacks
+     * awaiting it.
+     *
+     * @param index  the index which build is completed.
+     * @param result the result of the build: {@link Boolean#TRUE} if the
+     *               build succeeded or the {@link Throwable} it failed with.
+     */
+    public void completeBuild(InternalIndex index, Object result) {
+        List<Consumer<Object>> callbacks = builds.remove(index);
+        assert callbacks != null;
+        for (Consumer<Object> callback : callbacks) {
+            callback.accept(result);
+        }
+    }
+
+}
@@ -17,10 +17,15 @@
 package com.hazelcast.map.impl.operation;
 
 import com.hazelcast.config.IndexConfig;
+import com.hazelcast.internal.iteration.IterationPointer;
+import com.hazelcast.internal.serialization.Data;
 import com.hazelcast.internal.serialization.SerializationService;
 import com.hazelcast.map.impl.MapDataSerializerHook;
 import com.hazelcast.map.impl.MapService;
+import com.hazelcast.map.impl.PartitionIndexBuilds;
+import com.hazelcast.map.impl.record.Record;
 import com.hazelcast.map.impl.record.Records;
+import com.hazelcast.map.impl.recordstore.RecordStore;
 import com.hazelcast.map.impl.recordstore.RecordStoreAdapter;
 import com.hazelcast.nio.ObjectDataInput;
 import com.hazelcast.nio.ObjectDataOutput;
@@ -29,13 +34,46 @@ import com.hazelcast.query.impl.IndexUtils;
 import com.hazelcast.query.impl.Indexes;
 import com.hazelcast.query.impl.InternalIndex;
 import com.hazelcast.query.impl.QueryableEntry;
+import com.hazelcast.spi.exception.PartitionMigratingException;
+import com.hazelcast.spi.impl.PartitionSpecificRunnable;
 import com.hazelcast.spi.impl.operationservice.BackupAwareOperation;
 import com.hazelcast.spi.impl.operationservice.MutatingOperation;
 import com.hazelcast.spi.impl.operationservice.Operation;
 import com.hazelcast.spi.impl.operationservice.PartitionAwareOperation;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
 
+import static com.hazelcast.spi.properties.ClusterProperty.INDEX_BUILD_CHUNK_SIZE;
+
+/**
+ * Adds an index to a partition of a map and populates it with the partition
+ * records.
+ * <p>
+ * Partitions having no more than {@link
+ * com.hazelcast.spi.properties.ClusterProperty#INDEX_BUILD_CHUNK_SIZE} records
+ * are indexed right away. Larger partitions are indexed online in chunks of
+ * records, each chunk is indexed by a separate task executed on the partition
+ * thread, so other partition operations are interleaved with the build. The
+ * index is registered before the first chunk, so the concurrent mutations are
+ * indexed by the {@link com.hazelcast.map.impl.recordstore.IndexingMutationObserver
+ * IndexingMutationObserver} as usual. The partition is marked as indexed, and
+ * the operation responds, only after the last chunk is indexed, so queries
+ * don't use the index on the partition until then.
+ * <p>
+ * Online builds in progress are tracked per partition and index. An operation
+ * adding an index which is already being built on the partition doesn't start
+ * another build, it responds when the build in progress completes.
+ * <p>
+ * The response of an online build is sent by a later task, so it can't carry
+ * the number of the backup acknowledgements to await, and the backups are
+ * reported as asynchronous instead. The backups only record the index
+ * definition, which is also a part of the partition replication state, so a
+ * backup lost in the meantime is restored by the replica synchronization.
+ */
 public class AddIndexOperation extends MapOperation
         implements PartitionAwareOperation, MutatingOperation, BackupAwareOperation {
     /**
@@ -43,6 +81,12 @@ public class AddIndexOperation extends MapOperation
      */
     private IndexConfig config;
 
+    /**
+     * Whether the index is being built in chunks and the response is sent
+     * after the last one.
+     */
+    private transient boolean online;
+
     public AddIndexOperation() {
         // No-op.
     }
@@ -60,12 +104,13 @@ public class AddIndexOperation extends MapOperation
 
     @Override
     public int getSyncBackupCount() {
-        return mapContainer.getTotalBackupCount();
+        // the backups are sent after the run, the online flag is already known
+        return online ? 0 : mapContainer.getTotalBackupCount();
     }
 
     @Override
     public int getAsyncBackupCount() {
-        return 0;
+        return online ? mapContainer.getTotalBackupCount() : 0;
     }
 
     @Override
@@ -89,6 +134,24 @@ public class AddIndexOperation extends MapOperation
             return;
         }
 
+        PartitionIndexBuilds indexBuilds = mapServiceContext.getPartitionContainer(partitionId).getIndexBuilds();
+        Consumer<Object> completion = this::completeOnlineBuild;
+        if (indexBuilds.awaitBuild(index, completion)) {
+            // the index is being built online, respond once the build completes
+            online = true;
+            getNodeEngine().getOperationService().onStartAsyncOperation(this);
+            return;
+        }
+
+        int chunkSize = getNodeEngine().getProperties().getInteger(INDEX_BUILD_CHUNK_SIZE);
+        if (recordStore.size() > chunkSize) {
+            online = true;
+            getNodeEngine().getOperationService().onStartAsyncOperation(this);
+            indexBuilds.startBuild(index, completion);
+            new IndexBuildTask(index, recordStore, chunkSize, indexBuilds).run();
+            return;
+        }
+
         SerializationService serializationService = getNodeEngine().getSerializationService();
 
         recordStore.forEach((dataKey, record) -> {
@@ -102,11 +165,33 @@ public class AddIndexOperation extends MapOperation
         index.markPartitionAsIndexed(partitionId);
     }
 
+    @Override
+    public boolean returnsResponse() {
+        // the online build sends the response after indexing the last chunk
+        return !online;
+    }
+
     @Override
     public Object getResponse() {
         return Boolean.TRUE;
     }
 
+    @Override
+    public void onExecutionFailure(Throwable e) {
+        if (online) {
+            // This is required since if the returnsResponse() method returns
+            // false there won't be any response sent to the invoking party.
+            completeOnlineBuild(e);
+        } else {
+            super.onExecutionFailure(e);
+        }
+    }
+
+    private void completeOnlineBuild(Object response) {
+        getNodeEngine().getOperationService().onCompletionAsyncOperation(this);
+        sendResponse(response);
+    }
+
     @Override
     protected void writeInternal(ObjectDataOutput out) throws IOException {
         super.writeInternal(out);
@@ -124,4 +209,84 @@ public class AddIndexOperation extends MapOperation
         return MapDataSerializerHook.ADD_INDEX;
     }
 
+    /**
+     * Indexes a single chunk of the partition records and reschedules itself
+     * on the partition thread until all the records are indexed.
+     */
+    private final class IndexBuildTask implements PartitionSpecificRunnable {
+
+        private final InternalIndex index;
+        private final RecordStore<Record> recordStore;
+        private final RecordStoreAdapter recordStoreAdapter;
+        private final SerializationService serializationService;
+        private final int chunkSize;
+        private final List<Map.Entry<Data, Record>> records;
+        private final PartitionIndexBuilds indexBuilds;
+
+        private IterationPointer[] pointers = {new IterationPointer(Integer.MAX_VALUE, -1)};
+
+        IndexBuildTask(InternalIndex index, RecordStore<Record> recordStore, int chunkSize,
+                       PartitionIndexBuilds indexBuilds) {
+            this.index = index;
+            this.recordStore = recordStore;
+            this.recordStoreAdapter = new RecordStoreAdapter(recordStore);
+            this.serializationService = getNodeEngine().getSerializationService();
+            this.chunkSize = chunkSize;
+            this.records = new ArrayList<>(chunkSize);
+            this.indexBuilds = indexBuilds;
+        }
+
+        @Override
+        public int getPartitionId() {
+            return AddIndexOperation.this.getPartitionId();
+        }
+
+        @SuppressWarnings("checkstyle:illegalcatch")
+        @Override
+        public void run() {
+            int partitionId = getPartitionId();
+            if (!isRecordStoreActive(partitionId)) {
+                // The partition has been migrated or the map destroyed in the
+                // middle of the build, let the invoker retry the operation.
+                complete(new PartitionMigratingException(getNodeEngine().getThisAddress(), partitionId,
+                        AddIndexOperation.class.getName(), getServiceName()));
+                return;
+            }
+
+            try {
+                pointers = recordStore.fetchRecords(pointers, chunkSize, records);
+                for (Map.Entry<Data, Record> entry : records) {
+                    Record record = entry.getValue();
+                    Object value = Records.getValueOrCachedValue(record, serializationService);
+                    QueryableEntry queryEntry = mapContainer.newQueryEntry(entry.getKey(), value);
+                    queryEntry.setRecord(record);
+                    queryEntry.setStoreAdapter(recordStoreAdapter);
+                    index.putEntry(queryEntry, null, Index.OperationSource.USER);
+                }
+                records.clear();
+
+                if (pointers[pointers.length - 1].getIndex() >= 0) {
+                    getNodeEngine().getOperationService().execute(this);
+                } else {
+                    // the records mutated during the build are already indexed
+                    // by the mutation observer, nothing left to catch up with
+                    index.markPartitionAsIndexed(partitionId);
+                    complete(Boolean.TRUE);
+                }
+            } catch (Throwable t) {
+                complete(t);
+            }
+        }
+
+        private void complete(Object response) {
+            indexBuilds.completeBuild(index, response);
+        }
+
+        private boolean isRecordStoreActive(int partitionId) {
+            return getNodeEngine().getPartitionService().isPartitionOwner(partitionId)
+                    && mapServiceContext.getExistingRecordStore(partitionId, name) == recordStore;
+        }
+
+    }
+
 }
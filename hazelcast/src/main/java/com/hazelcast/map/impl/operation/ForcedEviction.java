@@ -18,7 +18,8 @@ package com.hazelcast.map.impl.operation;
 
 import com.hazelcast.map.impl.recordstore.RecordStore;
 import com.hazelcast.spi.impl.NodeEngine;
-import com.hazelcast.spi.impl.operationservice.OperationService;
+import com.hazelcast.spi.impl.operationexecutor.OperationExecutor;
+import com.hazelcast.spi.impl.operationservice.impl.OperationServiceImpl;
 
 import java.util.concurrent.ConcurrentMap;
 
@@ -77,14 +78,20 @@ interface ForcedEviction {
                 && recordStore.getEvictionPolicy() != NONE && recordStore.size() > 0;
     }
 
-    default int mod(MapOperation mapOperation, int threadCount) {
-        return mapOperation.getPartitionId() % threadCount;
+    default OperationExecutor operationExecutor(MapOperation mapOperation) {
+        NodeEngine nodeEngine = mapOperation.getNodeEngine();
+        return ((OperationServiceImpl) nodeEngine.getOperationService()).getOperationExecutor();
     }
 
-    default int threadCount(MapOperation mapOperation) {
-        NodeEngine nodeEngine = mapOperation.getNodeEngine();
-        OperationService operationService = nodeEngine.getOperationService();
-        return operationService.getPartitionThreadCount();
+    /**
+     * @return {@code true} if the given partitions are run by the same
+     * partition thread, so the operations of one of them may access the
+     * record stores of the other, otherwise return {@code false}. The
+     * partitions handed off by the partition operation balancer aren't run
+     * by their {@code partitionId % threadCount} threads.
+     */
+    static boolean isRunBySameThread(OperationExecutor executor, int partitionId, int otherPartitionId) {
+        return executor.getPartitionThreadId(partitionId) == executor.getPartitionThreadId(otherPartitionId);
     }
 
     default int numberOfPartitions(MapOperation mapOperation) {
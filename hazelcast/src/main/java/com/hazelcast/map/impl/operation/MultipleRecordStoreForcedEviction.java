@@ -21,6 +21,7 @@ import com.hazelcast.map.impl.MapContainer;
 import com.hazelcast.map.impl.eviction.Evictor;
 import com.hazelcast.map.impl.recordstore.RecordStore;
 import com.hazelcast.memory.NativeOutOfMemoryError;
+import com.hazelcast.spi.impl.operationexecutor.OperationExecutor;
 
 import java.util.Collection;
 
@@ -42,15 +43,14 @@ class MultipleRecordStoreForcedEviction implements ForcedEviction {
         assert evictionPercentage > 0 && evictionPercentage <= 1;
 
         int partitionCount = numberOfPartitions(mapOperation);
-        int threadCount = threadCount(mapOperation);
-        int mod = mod(mapOperation, threadCount);
+        OperationExecutor executor = operationExecutor(mapOperation);
         ILogger logger = mapOperation.logger();
 
         int evictionRetryTimes = retryCount(evictionPercentage);
         for (int i = 0; i < evictionRetryTimes; i++) {
             try {
                 for (int partitionId = 0; partitionId < partitionCount; partitionId++) {
-                    if ((partitionId % threadCount) != mod) {
+                    if (!ForcedEviction.isRunBySameThread(executor, partitionId, mapOperation.getPartitionId())) {
                         continue;
                     }
 
@@ -23,6 +23,8 @@ import com.hazelcast.internal.iteration.IterationPointer;
 import com.hazelcast.internal.partition.IPartitionService;
 import com.hazelcast.internal.serialization.Data;
 import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.internal.util.SortingUtil;
+import com.hazelcast.internal.util.collection.TopKSelector;
 import com.hazelcast.logging.ILogger;
 import com.hazelcast.map.impl.LazyMapEntry;
 import com.hazelcast.map.impl.MapContainer;
@@ -50,6 +52,7 @@ import java.util.Map.Entry;
 import java.util.function.BiConsumer;
 
 import static com.hazelcast.internal.util.SortingUtil.compareAnchor;
+import static com.hazelcast.internal.util.SortingUtil.getPageLimit;
 import static com.hazelcast.internal.util.ToHeapDataConverter.toHeapData;
 import static com.hazelcast.map.impl.record.Records.getValueOrCachedValue;
 
@@ -76,51 +79,54 @@ public class PartitionScanRunner {
         this.clusterService = nodeEngine.getClusterService();
     }
 
-    @SuppressWarnings("unchecked")
     public void run(String mapName, Predicate predicate, int partitionId, Result result) {
-        PagingPredicateImpl pagingPredicate = predicate instanceof PagingPredicateImpl
-                ? (PagingPredicateImpl) predicate : null;
-
-        PartitionContainer partitionContainer = mapServiceContext.getPartitionContainer(partitionId);
-        MapContainer mapContainer = mapServiceContext.getMapContainer(mapName);
-        RecordStore<Record> recordStore = partitionContainer.getRecordStore(mapName);
-        boolean nativeMemory = recordStore.getInMemoryFormat() == InMemoryFormat.NATIVE;
-        boolean useCachedValues = isUseCachedDeserializedValuesEnabled(mapContainer, partitionId);
-        Extractors extractors = mapServiceContext.getExtractors(mapName);
-        StoreAdapter storeAdapter = new RecordStoreAdapter(recordStore);
-        Map.Entry<Integer, Map.Entry> nearestAnchorEntry =
-                pagingPredicate == null ? null : pagingPredicate.getNearestAnchorEntry();
-
-        recordStore.forEachAfterLoad(new BiConsumer<Data, Record>() {
-            LazyMapEntry queryEntry = new LazyMapEntry();
-
-            @Override
-            public void accept(Data key, Record record) {
-                Object value = useCachedValues ? getValueOrCachedValue(record, ss) : record.getValue();
-                // TODO how can a value be null?
-                if (value == null) {
-                    return;
-                }
-
-                queryEntry.init(ss, key, value, extractors);
-                queryEntry.setRecord(record);
-                queryEntry.setStoreAdapter(storeAdapter);
-                queryEntry.setMetadata(PartitionScanRunner.this.getMetadataFromRecord(recordStore, key, record));
-
-                if (predicate.apply(queryEntry)
-                        && compareAnchor(pagingPredicate, queryEntry, nearestAnchorEntry)) {
+        EntryCollector collector = new EntryCollector(mapName, predicate, partitionId, result);
+        collector.recordStore.forEachAfterLoad(collector, false);
+        collector.complete();
+    }
 
-                    // always copy key&value to heap if map is backed by native memory
-                    value = nativeMemory ? toHeapData((Data) value) : value;
-                    result.add(queryEntry.init(ss, toHeapData(key), value, extractors));
+    /**
+     * Fetches a chunk of the records of the given partition starting at the
+     * given {@code pointers}. The records are fetched as-is, without copying
+     * or serializing them, so the chunk can be cheaply fetched and evaluated
+     * later with {@link #run(String, Predicate, int, List, Result)}, possibly
+     * by another thread.
+     *
+     * @param mapName     the map name
+     * @param partitionId the partition which is queried
+     * @param pointers    the pointers defining the state of iteration
+     * @param chunkSize   the soft limit for the number of records to fetch
+     * @param records     the list to add the fetched records to
+     * @return the pointers from which the next chunk can be fetched
+     */
+    public IterationPointer[] fetchChunk(String mapName, int partitionId, IterationPointer[] pointers, int chunkSize,
+                                         List<Map.Entry<Data, Record>> records) {
+        RecordStore<Record> recordStore = mapServiceContext.getPartitionContainer(partitionId).getRecordStore(mapName);
+        return recordStore.fetchRecords(pointers, chunkSize, records);
+    }
 
-                    // We can't reuse the existing entry after it was added to the
-                    // result. Allocate the new one.
-                    queryEntry = new LazyMapEntry();
-                }
-            }
-        }, false);
-        result.orderAndLimit(pagingPredicate, nearestAnchorEntry);
+    /**
+     * Executes the predicate on a chunk of the partition records fetched by
+     * {@link #fetchChunk} and adds the matching entries to the given result.
+     * <p>
+     * Paging predicates are not supported since they need to see all the
+     * partition entries to order and limit them.
+     *
+     * @param mapName     the map name
+     * @param predicate   the predicate which the entries must match
+     * @param partitionId the partition the records belong to
+     * @param records     the records to evaluate the predicate on
+     * @param result      the result to add the matching entries to
+     * @return the number of the entries added to the result
+     */
+    public int run(String mapName, Predicate predicate, int partitionId, List<Map.Entry<Data, Record>> records,
+                   Result result) {
+        assert !(predicate instanceof PagingPredicateImpl);
+        EntryCollector collector = new EntryCollector(mapName, predicate, partitionId, result);
+        for (Map.Entry<Data, Record> record : records) {
+            collector.accept(record.getKey(), record.getValue());
+        }
+        return collector.collected;
     }
 
     // overridden in ee
@@ -188,4 +194,101 @@ public class PartitionScanRunner {
                 return mapContainer.getIndexes(partitionId).haveAtLeastOneIndex();
         }
     }
+
+    /**
+     * Evaluates the predicate on the partition records and collects the
+     * matching entries into the result.
+     */
+    private final class EntryCollector implements BiConsumer<Data, Record> {
+
+        final RecordStore<Record> recordStore;
+
+        private final Predicate predicate;
+        private final PagingPredicateImpl pagingPredicate;
+        private final Map.Entry<Integer, Map.Entry> nearestAnchorEntry;
+        private final TopKSelector<QueryableEntry> topK;
+        private final Result result;
+        private final boolean nativeMemory;
+        private final boolean useCachedValues;
+        private final Extractors extractors;
+        private final StoreAdapter storeAdapter;
+
+        private LazyMapEntry queryEntry = new LazyMapEntry();
+        private int collected;
+
+        EntryCollector(String mapName, Predicate predicate, int partitionId, Result result) {
+            this.predicate = predicate;
+            this.pagingPredicate = predicate instanceof PagingPredicateImpl ? (PagingPredicateImpl) predicate : null;
+            this.result = result;
+
+            PartitionContainer partitionContainer = mapServiceContext.getPartitionContainer(partitionId);
+            MapContainer mapContainer = mapServiceContext.getMapContainer(mapName);
+            this.recordStore = partitionContainer.getRecordStore(mapName);
+            this.nativeMemory = recordStore.getInMemoryFormat() == InMemoryFormat.NATIVE;
+            this.useCachedValues = isUseCachedDeserializedValuesEnabled(mapContainer, partitionId);
+            this.extractors = mapServiceContext.getExtractors(mapName);
+            this.storeAdapter = new RecordStoreAdapter(recordStore);
+            this.nearestAnchorEntry = pagingPredicate == null ? null : pagingPredicate.getNearestAnchorEntry();
+            // Paging queries need only the entries of the pages up to the requested
+            // one, so the matches are selected into a bounded heap instead of being
+            // collected and sorted in full.
+            this.topK = pagingPredicate == null ? null
+                    : new TopKSelector<>(SortingUtil.newComparator(pagingPredicate),
+                    getPageLimit(pagingPredicate, nearestAnchorEntry));
+        }
+
+        @Override
+        public void accept(Data key, Record record) {
+            Object value = useCachedValues ? getValueOrCachedValue(record, ss) : record.getValue();
+            // TODO how can a value be null?
+            if (value == null) {
+                return;
+            }
+
+            queryEntry.init(ss, key, value, extractors);
+            queryEntry.setRecord(record);
+            queryEntry.setStoreAdapter(storeAdapter);
+            queryEntry.setMetadata(getMetadataFromRecord(recordStore, key, record));
+
+            if (predicate.apply(queryEntry)
+                    && compareAnchor(pagingPredicate, queryEntry, nearestAnchorEntry)) {
+
+                // always copy key&value to heap if map is backed by native memory
+                value = nativeMemory ? toHeapData((Data) value) : value;
+                queryEntry.init(ss, toHeapData(key), value, extractors);
+                if (collect(queryEntry)) {
+                    // We can't reuse the existing entry after it was added to the
+                    // result. Allocate the new one.
+                    queryEntry = new LazyMapEntry();
+                }
+            }
+        }
+
+        /**
+         * Adds the given entry to the top-K selector if there is one or to the
+         * result otherwise.
+         *
+         * @return {@code true} if the entry was retained, {@code false} if it
+         * was rejected by the selector and may be reused.
+         */
+        private boolean collect(QueryableEntry entry) {
+            if (topK == null) {
+                result.add(entry);
+                ++collected;
+                return true;
+            }
+            return topK.add(entry);
+        }
+
+        @SuppressWarnings("unchecked")
+        void complete() {
+            if (topK != null) {
+                for (QueryableEntry entry : topK.toSortedList()) {
+                    result.add(entry);
+                }
+            }
+            result.orderAndLimit(pagingPredicate, nearestAnchorEntry);
+        }
+
+    }
 }
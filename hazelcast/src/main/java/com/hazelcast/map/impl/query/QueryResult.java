@@ -114,6 +114,14 @@ public class QueryResult implements Result<QueryResult>, Iterable<QueryResultRow
         return iterationType;
     }
 
+    /**
+     * @return the upper limit on the number of items that can be added to
+     * this result.
+     */
+    long getResultLimit() {
+        return resultLimit;
+    }
+
     @Override
     public Iterator<QueryResultRow> iterator() {
         return rows.iterator();
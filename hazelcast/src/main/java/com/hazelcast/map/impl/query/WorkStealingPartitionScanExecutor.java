@@ -0,0 +1,249 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.query;
+
+import com.hazelcast.internal.iteration.IterationPointer;
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.util.collection.PartitionIdSet;
+import com.hazelcast.internal.util.executor.ManagedExecutorService;
+import com.hazelcast.map.QueryResultSizeExceededException;
+import com.hazelcast.map.impl.record.Record;
+import com.hazelcast.query.Predicate;
+import com.hazelcast.query.impl.QueryableEntriesSegment;
+import com.hazelcast.query.impl.predicates.PagingPredicateImpl;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static com.hazelcast.internal.util.ExceptionUtil.rethrow;
+import static com.hazelcast.internal.util.FutureUtil.RETHROW_EVERYTHING;
+import static com.hazelcast.internal.util.FutureUtil.returnWithDeadline;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+/**
+ * Implementation of the {@link PartitionScanExecutor} which executes the
+ * partition scan in parallel, balancing the load between the scanning
+ * threads.
+ * <p>
+ * The partitions are split into the chunks of records defined by the
+ * {@link IterationPointer iteration pointers}. Every scanning thread takes
+ * the next chunk from the queue shared by the threads of the query, fetches
+ * its records and publishes the rest of the partition back to the queue
+ * before evaluating the predicate on the fetched records. That way the idle
+ * threads steal the remaining chunks of the large partitions instead of
+ * waiting for the thread which happened to pick them up.
+ * <p>
+ * The query uses up to the configured number of threads, the calling thread
+ * included, so the scan makes progress even if the query executor is busy.
+ * The scan is cancelled as soon as the result size limit is exceeded or any
+ * of the threads fails.
+ */
+public class WorkStealingPartitionScanExecutor implements PartitionScanExecutor {
+
+    private final PartitionScanRunner partitionScanRunner;
+    private final ManagedExecutorService executor;
+    private final int partitionCount;
+    private final int maxThreads;
+    private final int chunkSize;
+    private final int timeoutInMillis;
+
+    public WorkStealingPartitionScanExecutor(PartitionScanRunner partitionScanRunner, ManagedExecutorService executor,
+                                             int partitionCount, int maxThreads, int chunkSize, int timeoutInMillis) {
+        if (maxThreads < 1) {
+            throw new IllegalArgumentException("maxThreads must be positive: " + maxThreads);
+        }
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("chunkSize must be positive: " + chunkSize);
+        }
+        this.partitionScanRunner = partitionScanRunner;
+        this.executor = executor;
+        this.partitionCount = partitionCount;
+        this.maxThreads = maxThreads;
+        this.chunkSize = chunkSize;
+        this.timeoutInMillis = timeoutInMillis;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public void execute(String mapName, Predicate predicate, Collection<Integer> partitions, Result result) {
+        if (partitions.isEmpty()) {
+            return;
+        }
+
+        Scan scan = new Scan(mapName, predicate, partitions, result);
+        int helperCount = Math.min(maxThreads, partitions.size()) - 1;
+        List<Helper> helpers = new ArrayList<>(helperCount);
+        for (int i = 0; i < helperCount; ++i) {
+            Helper helper = new Helper(scan);
+            helper.future = executor.submit(helper);
+            helpers.add(helper);
+        }
+        Result callerResult = scan.work();
+
+        // The queue is drained at this point, the helpers which have not
+        // started yet have nothing to do and are not waited for.
+        List<Future<Result>> startedHelpers = new ArrayList<>(helperCount);
+        for (Helper helper : helpers) {
+            if (!helper.started.compareAndSet(false, true)) {
+                startedHelpers.add(helper.future);
+            }
+        }
+        Collection<Result> helperResults = returnWithDeadline(startedHelpers, timeoutInMillis, MILLISECONDS,
+                RETHROW_EVERYTHING);
+
+        Throwable failure = scan.failure.get();
+        if (failure != null) {
+            throw rethrow(failure);
+        }
+
+        result.combine(callerResult);
+        for (Result helperResult : helperResults) {
+            result.combine(helperResult);
+        }
+        if (scan.pagingPredicate != null) {
+            result.orderAndLimit(scan.pagingPredicate, scan.pagingPredicate.getNearestAnchorEntry());
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * Parallel execution for a partition chunk query is not supported.
+     */
+    @Override
+    public QueryableEntriesSegment execute(
+            String mapName, Predicate predicate, int partitionId,
+            IterationPointer[] pointers, int fetchSize) {
+        return partitionScanRunner.run(mapName, predicate, partitionId, pointers, fetchSize);
+    }
+
+    /**
+     * The state of a single query scan shared by its threads.
+     */
+    private final class Scan {
+
+        final PagingPredicateImpl pagingPredicate;
+        final AtomicReference<Throwable> failure = new AtomicReference<>();
+
+        private final String mapName;
+        private final Predicate predicate;
+        private final Result result;
+        private final Deque<Chunk> chunks = new ConcurrentLinkedDeque<>();
+        private final AtomicLong resultSize = new AtomicLong();
+        private final long resultLimit;
+
+        Scan(String mapName, Predicate predicate, Collection<Integer> partitions, Result result) {
+            this.mapName = mapName;
+            this.predicate = predicate;
+            this.pagingPredicate = predicate instanceof PagingPredicateImpl ? (PagingPredicateImpl) predicate : null;
+            this.result = result;
+            this.resultLimit = result instanceof QueryResult ? ((QueryResult) result).getResultLimit() : Long.MAX_VALUE;
+            for (Integer partitionId : partitions) {
+                // Paging queries order and limit the entries of every
+                // partition as a whole, so their partitions are not split.
+                chunks.add(new Chunk(partitionId, pagingPredicate == null ? new IterationPointer[]{
+                        new IterationPointer(Integer.MAX_VALUE, -1)} : null));
+            }
+        }
+
+        @SuppressWarnings("checkstyle:illegalcatch")
+        Result work() {
+            Result workerResult = result.createSubResult();
+            PartitionIdSet scannedPartitions = new PartitionIdSet(partitionCount);
+            try {
+                Chunk chunk;
+                while (failure.get() == null && (chunk = chunks.pollFirst()) != null) {
+                    if (chunk.pointers == null) {
+                        partitionScanRunner.run(mapName, predicate, chunk.partitionId, workerResult);
+                    } else {
+                        scan(chunk, workerResult);
+                    }
+                    scannedPartitions.add(chunk.partitionId);
+                }
+            } catch (Throwable t) {
+                failure.compareAndSet(null, t);
+            }
+            workerResult.setPartitionIds(scannedPartitions);
+            return workerResult;
+        }
+
+        private void scan(Chunk chunk, Result workerResult) {
+            List<Map.Entry<Data, Record>> records = new ArrayList<>(chunkSize);
+            IterationPointer[] pointers = partitionScanRunner.fetchChunk(mapName, chunk.partitionId, chunk.pointers,
+                    chunkSize, records);
+            if (pointers[pointers.length - 1].getIndex() >= 0) {
+                // Publish the rest of the partition to let the idle threads
+                // steal it while this thread is evaluating the fetched chunk.
+                chunks.addFirst(new Chunk(chunk.partitionId, pointers));
+            }
+
+            int added = partitionScanRunner.run(mapName, predicate, chunk.partitionId, records, workerResult);
+            if (resultSize.addAndGet(added) > resultLimit) {
+                throw new QueryResultSizeExceededException();
+            }
+        }
+
+    }
+
+    /**
+     * Scans the partitions on behalf of the calling thread using a thread of
+     * the query executor, unless the calling thread has drained the queue
+     * before the helper started.
+     */
+    private static final class Helper implements Callable<Result> {
+
+        final AtomicBoolean started = new AtomicBoolean();
+        Future<Result> future;
+
+        private final Scan scan;
+
+        Helper(Scan scan) {
+            this.scan = scan;
+        }
+
+        @Override
+        public Result call() {
+            return started.compareAndSet(false, true) ? scan.work() : null;
+        }
+
+    }
+
+    /**
+     * The records of the partition starting at the given iteration pointers
+     * or the whole partition if the pointers are {@code null}.
+     */
+    private static final class Chunk {
+
+        final int partitionId;
+        final IterationPointer[] pointers;
+
+        Chunk(int partitionId, IterationPointer[] pointers) {
+            this.partitionId = partitionId;
+            this.pointers = pointers;
+        }
+
+    }
+
+}
@@ -257,6 +257,16 @@ public class DefaultRecordStore extends AbstractEvictableRecordStore {
         return storage.fetchEntries(pointers, size);
     }
 
+    @Override
+    public IterationPointer[] fetchRecords(IterationPointer[] pointers, int size, List<Map.Entry<Data, Record>> records) {
+        checkIfLoaded();
+        int fetchedFrom = records.size();
+        IterationPointer[] newPointers = storage.fetchRecords(pointers, size, records);
+        long now = Clock.currentTimeMillis();
+        records.subList(fetchedFrom, records.size()).removeIf(entry -> isExpired(entry.getValue(), now, false));
+        return newPointers;
+    }
+
     /**
      * Size may not give precise size at a specific moment
      * due to the expiration logic. But eventually, it should be correct.
@@ -342,6 +342,21 @@ public interface RecordStore<R extends Record> {
      */
     MapEntriesWithCursor fetchEntries(IterationPointer[] pointers, int size);
 
+    /**
+     * Fetch minimally {@code size} records from the {@code pointers} position
+     * into the given {@code records} list. The records are neither copied nor
+     * serialized, expired records are skipped.
+     * <p>
+     * NOTE: The implementation is free to return more than {@code size} items,
+     * see {@link #fetchEntries} for the details.
+     *
+     * @param pointers the pointers defining the state of iteration
+     * @param size     the minimal count of returned items
+     * @param records  the list to add the fetched records to
+     * @return the new iteration state
+     */
+    IterationPointer[] fetchRecords(IterationPointer[] pointers, int size, List<Map.Entry<Data, R>> records);
+
     int size();
 
     boolean txnLock(Data key, UUID caller, long threadId, long referenceId, long ttl, boolean blockReads);
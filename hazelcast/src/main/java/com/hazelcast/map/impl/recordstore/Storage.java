@@ -26,6 +26,7 @@ import com.hazelcast.map.impl.record.Record;
 
 import javax.annotation.Nonnull;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -130,6 +131,21 @@ public interface Storage<K, R> {
      */
     MapEntriesWithCursor fetchEntries(IterationPointer[] pointers, int size);
 
+    /**
+     * Fetch minimally {@code size} records from the {@code pointers} position
+     * into the given {@code records} list. Unlike {@link #fetchEntries}, the
+     * records are neither copied nor serialized.
+     * <p>
+     * NOTE: The implementation is free to return more than {@code size} items,
+     * see {@link #fetchEntries} for the details.
+     *
+     * @param pointers the pointers defining the state of iteration
+     * @param size     the minimal count of returned items
+     * @param records  the list to add the fetched records to
+     * @return the new iteration state
+     */
+    IterationPointer[] fetchRecords(IterationPointer[] pointers, int size, List<Map.Entry<K, R>> records);
+
     Record extractRecordFromLazy(EntryView entryView);
 
     Data extractDataKeyFromLazy(EntryView entryView);
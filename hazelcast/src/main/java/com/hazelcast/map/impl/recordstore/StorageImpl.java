@@ -164,6 +164,11 @@ public class StorageImpl<R extends Record> implements Storage<Data, R> {
         return new MapEntriesWithCursor(entriesData, newPointers);
     }
 
+    @Override
+    public IterationPointer[] fetchRecords(IterationPointer[] pointers, int size, List<Map.Entry<Data, R>> records) {
+        return this.records.fetchEntries(pointers, size, records);
+    }
+
     @Override
     public Record extractRecordFromLazy(EntryView entryView) {
         return ((LazyEvictableEntryView) entryView).getRecord();
@@ -31,4 +31,18 @@ public interface DataSerializableFactory {
      * @return IdentifiedDataSerializable instance or {@code null} if type ID is not known by this factory
      */
     IdentifiedDataSerializable create(int typeId);
+
+    /**
+     * Returns the schema of the primitive fields written first by the
+     * IdentifiedDataSerializable of the given type ID, allowing queries to
+     * read these fields without deserializing the objects.
+     *
+     * @param typeId IdentifiedDataSerializable type ID
+     * @return the schema or {@code null} if the type has no schema
+     * @see FieldOffsetSchema
+     * @since 4.1
+     */
+    default FieldOffsetSchema getFieldOffsetSchema(int typeId) {
+        return null;
+    }
 }
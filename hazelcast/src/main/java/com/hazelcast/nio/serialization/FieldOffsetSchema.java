@@ -0,0 +1,140 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.nio.serialization;
+
+import com.hazelcast.spi.annotation.Beta;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static com.hazelcast.internal.util.Preconditions.checkHasText;
+import static com.hazelcast.internal.util.Preconditions.checkNotNull;
+
+/**
+ * Describes the primitive fields an {@link IdentifiedDataSerializable}
+ * writes first in its {@link DataSerializable#writeData writeData} method.
+ * <p>
+ * The fields must be added in the order they are written. Their offsets
+ * within the serialized form are fixed, so queries can read these fields
+ * right from the serialized values without deserializing them. The schema
+ * is provided by the {@link DataSerializableFactory#getFieldOffsetSchema
+ * factory} of the class.
+ * <p>
+ * For instance, the schema of a class writing
+ * <pre>
+ *     out.writeLong(id);
+ *     out.writeInt(age);
+ *     out.writeUTF(name);
+ * </pre>
+ * is
+ * <pre>
+ *     FieldOffsetSchema.builder().addField("id", FieldType.LONG).addField("age", FieldType.INT).build();
+ * </pre>
+ * The {@code name} attribute is not covered by the schema since it has no
+ * fixed size. The values are deserialized to query such attributes.
+ *
+ * @since 4.1
+ */
+@Beta
+public final class FieldOffsetSchema {
+
+    private final Map<String, FieldType> types;
+    private final Map<String, Integer> offsets;
+
+    private FieldOffsetSchema(Map<String, FieldType> types, Map<String, Integer> offsets) {
+        this.types = types;
+        this.offsets = offsets;
+    }
+
+    /**
+     * @return a new builder of the schema.
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * @param name the name of the field.
+     * @return the type of the given field or {@code null} if the field is not
+     * covered by this schema.
+     */
+    public FieldType getType(String name) {
+        return types.get(name);
+    }
+
+    /**
+     * @param name the name of the field.
+     * @return the offset of the given field relative to the first byte written
+     * by {@link DataSerializable#writeData writeData} or {@code -1} if the
+     * field is not covered by this schema.
+     */
+    public int getOffset(String name) {
+        Integer offset = offsets.get(name);
+        return offset == null ? -1 : offset;
+    }
+
+    @Override
+    public String toString() {
+        return "FieldOffsetSchema{types=" + types + ", offsets=" + offsets + '}';
+    }
+
+    /**
+     * Builds the schema adding the fields in the order they are written.
+     */
+    public static final class Builder {
+
+        private final Map<String, FieldType> types = new HashMap<>();
+        private final Map<String, Integer> offsets = new HashMap<>();
+        private int offset;
+
+        private Builder() {
+        }
+
+        /**
+         * Adds the field written next.
+         *
+         * @param name the name of the attribute the field is queried by.
+         * @param type the type of the field, only the primitive types are
+         *             supported.
+         * @return this builder.
+         * @throws IllegalArgumentException if the field is already added or its
+         *                                  type is not primitive.
+         */
+        public Builder addField(String name, FieldType type) {
+            checkHasText(name, "name must contain text");
+            checkNotNull(type, "type can't be null");
+            if (type.isArrayType() || !type.hasDefiniteSize()) {
+                throw new IllegalArgumentException("Unsupported field type: " + type);
+            }
+            if (types.putIfAbsent(name, type) != null) {
+                throw new IllegalArgumentException("Duplicate field: " + name);
+            }
+            offsets.put(name, offset);
+            offset += type.getTypeSize();
+            return this;
+        }
+
+        /**
+         * @return the built schema.
+         */
+        public FieldOffsetSchema build() {
+            return new FieldOffsetSchema(new HashMap<>(types), new HashMap<>(offsets));
+        }
+
+    }
+
+}
@@ -60,6 +60,7 @@ public abstract class AbstractIndex implements InternalIndex {
     private final IndexConfig config;
     private final boolean ordered;
     private final PerIndexStats stats;
+    private final IndexStatistics statistics = new IndexStatistics();
 
     /**
      * Reference to the store if it is bound to the same partition as the index (local index), {@code null} otherwise.
@@ -137,12 +138,15 @@ public abstract class AbstractIndex implements InternalIndex {
         }
 
         Object newAttributeValue = extractAttributeValue(entry.getKeyData(), entry.getTargetObject(false));
+        IndexStatistics.Tracker tracker = statistics.track(operationStats);
         if (oldValue == null) {
-            indexStore.insert(newAttributeValue, entry, operationStats);
+            indexStore.insert(newAttributeValue, entry, tracker);
+            tracker.onInserted(newAttributeValue);
             stats.onInsert(timestamp, operationStats, operationSource);
         } else {
             Object oldAttributeValue = extractAttributeValue(entry.getKeyData(), oldValue);
-            indexStore.update(oldAttributeValue, newAttributeValue, entry, operationStats);
+            indexStore.update(oldAttributeValue, newAttributeValue, entry, tracker);
+            tracker.onUpdated(oldAttributeValue, newAttributeValue);
             stats.onUpdate(timestamp, operationStats, operationSource);
         }
     }
@@ -153,7 +157,9 @@ public abstract class AbstractIndex implements InternalIndex {
         IndexOperationStats operationStats = stats.createOperationStats();
 
         Object attributeValue = extractAttributeValue(key, value);
-        indexStore.remove(attributeValue, key, value, operationStats);
+        IndexStatistics.Tracker tracker = statistics.track(operationStats);
+        indexStore.remove(attributeValue, key, value, tracker);
+        tracker.onRemoved(attributeValue);
         stats.onRemove(timestamp, operationStats, operationSource);
     }
 
@@ -238,9 +244,25 @@ public abstract class AbstractIndex implements InternalIndex {
         return result;
     }
 
+    @Override
+    public Set<QueryableEntry> getSortedRecords(Comparable from) {
+        long timestamp = stats.makeTimestamp();
+
+        if (converter == null) {
+            stats.onIndexHit(timestamp, 0);
+            return emptySet();
+        }
+
+        // the result is consumed lazily, so its size is unknown at this point
+        Set<QueryableEntry> result = indexStore.getSortedRecords(from == null ? null : convert(from));
+        stats.onIndexHit(timestamp, 0);
+        return result;
+    }
+
     @Override
     public void clear() {
         indexStore.clear();
+        statistics.clear();
         converter = null;
         stats.onClear();
     }
@@ -260,6 +282,11 @@ public abstract class AbstractIndex implements InternalIndex {
         return stats;
     }
 
+    @Override
+    public IndexStatistics getStatistics() {
+        return statistics;
+    }
+
     private Object extractAttributeValue(Data key, Object value) {
         if (components.length == 1) {
             return QueryableEntry.extractAttributeValue(extractors, ss, components[0], key, value, null);
@@ -142,6 +142,11 @@ public class AndResultSet extends AbstractSet<QueryableEntry> {
         }
     }
 
+    @Override
+    public boolean isEmpty() {
+        return !iterator().hasNext();
+    }
+
     @Override
     public int size() {
         if (cachedSize == SIZE_UNINITIALIZED) {
@@ -303,6 +303,15 @@ public class AttributeIndexRegistry {
             }
         }
 
+        @Override
+        public Set<QueryableEntry> getSortedRecords(Comparable from) {
+            if (from == null) {
+                // skip the composites having null as the first component
+                return delegate.getRecords(GREATER, new CompositeValue(width, NULL, POSITIVE_INFINITY));
+            }
+            return delegate.getRecords(GREATER_OR_EQUAL, new CompositeValue(width, from, NEGATIVE_INFINITY));
+        }
+
         @Override
         public void clear() {
             throw newUnsupportedException();
@@ -343,6 +352,12 @@ public class AttributeIndexRegistry {
             return delegate.getPerIndexStats();
         }
 
+        @Override
+        public IndexStatistics getStatistics() {
+            // the statistics of the delegate describe the composite values
+            return null;
+        }
+
         private RuntimeException newUnsupportedException() {
             return new UnsupportedOperationException("decorated composite indexes support only querying");
         }
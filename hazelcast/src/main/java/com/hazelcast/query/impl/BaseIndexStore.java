@@ -43,6 +43,7 @@ public abstract class BaseIndexStore implements IndexStore {
     private final ReentrantReadWriteLock.WriteLock writeLock;
 
     private final CopyFunctor<Data, QueryableEntry> resultCopyFunctor;
+    private final CopyFunctor<Data, QueryableEntry> snapshotFunctor = new PassThroughFunctor();
 
     /**
      * {@code true} if this index store has at least one candidate entry
@@ -112,6 +113,26 @@ public abstract class BaseIndexStore implements IndexStore {
         return new SingleResultSet(resultCopyFunctor.invoke(records));
     }
 
+    final Map<Data, QueryableEntry> copyForResult(Map<Data, QueryableEntry> records) {
+        return resultCopyFunctor.invoke(records);
+    }
+
+    // The methods below accept records already copied by the store itself,
+    // so they are never copied again regardless of the copy behavior.
+
+    final void addSnapshotToMultiResultSet(MultiResultSet resultSet, Map<Data, QueryableEntry> records) {
+        resultSet.addResultSet(snapshotFunctor.invoke(records));
+    }
+
+    final Set<QueryableEntry> snapshotToSingleResultSet(Map<Data, QueryableEntry> records) {
+        return new SingleResultSet(snapshotFunctor.invoke(records));
+    }
+
+    final Set<QueryableEntry> snapshotsToLazyMultiResultSet(Collection<Map<Data, QueryableEntry>> buckets,
+                                                            boolean detectDuplicates) {
+        return new LazyMultiResultSet(buckets, snapshotFunctor, detectDuplicates);
+    }
+
     @Override
     public void destroy() {
         // nothing to destroy
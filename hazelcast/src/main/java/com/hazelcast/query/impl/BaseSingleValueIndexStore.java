@@ -21,7 +21,10 @@ import com.hazelcast.internal.monitor.impl.IndexOperationStats;
 import com.hazelcast.internal.serialization.Data;
 import com.hazelcast.query.impl.getters.MultiResult;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 /**
  * The base store for indexes that are unable to work with multi-value
@@ -78,6 +81,15 @@ public abstract class BaseSingleValueIndexStore extends BaseIndexStore {
         return multiResultHasToDetectDuplicates ? new DuplicateDetectingMultiResult() : new FastMultiResultSet();
     }
 
+    /**
+     * Creates a lazy result set of the buckets fetched in batches. Duplicates
+     * are always detected: an entry updated between the batches may be met
+     * again in a bucket of a later batch.
+     */
+    final Set<QueryableEntry> createLazyMultiResultSetOfSnapshots(Collection<Map<Data, QueryableEntry>> buckets) {
+        return snapshotsToLazyMultiResultSet(buckets, true);
+    }
+
     @Override
     public final void insert(Object value, QueryableEntry queryableEntry, IndexOperationStats operationStats) {
         takeWriteLock();
@@ -137,15 +137,13 @@ public final class BitmapIndexStore extends BaseIndexStore {
                 if (internalKeys != null) {
                     // long-to-long remapping
 
-                    long internalKey = internalKeyCounter++;
-                    long replaced = internalKeys.put(key, internalKey);
-                    assert replaced == NO_KEY;
-                    key = internalKey;
+                    key = internalKey(key);
                 } else if (key < 0) {
                     throw makeNegativeKeyException(key);
                 }
 
-                bitmap.insert(values, key, entry);
+                QueryableEntry previous = bitmap.insert(values, key, entry);
+                operationStats.onEntryAdded(previous, entry);
             } finally {
                 releaseWriteLock();
             }
@@ -159,10 +157,9 @@ public final class BitmapIndexStore extends BaseIndexStore {
             try {
                 markIndexStoreExpirableIfNecessary(entry);
 
-                long internalKey = internalKeyCounter++;
-                long replaced = internalObjectKeys.put(key, internalKey);
-                assert replaced == NO_KEY;
-                bitmap.insert(values, internalKey, entry);
+                long internalKey = internalKey(key);
+                QueryableEntry previous = bitmap.insert(values, internalKey, entry);
+                operationStats.onEntryAdded(previous, entry);
             } finally {
                 releaseWriteLock();
             }
@@ -191,12 +188,12 @@ public final class BitmapIndexStore extends BaseIndexStore {
                 if (internalKeys != null) {
                     // long-to-long remapping
 
-                    key = internalKeys.get(key);
-                    assert key != NO_KEY;
+                    key = internalKey(key);
                 } else if (key < 0) {
                     throw makeNegativeKeyException(key);
                 }
-                bitmap.update(oldValues, newValues, key, entry);
+                QueryableEntry previous = bitmap.update(oldValues, newValues, key, entry);
+                operationStats.onEntryAdded(previous, entry);
             } finally {
                 releaseWriteLock();
             }
@@ -211,9 +208,9 @@ public final class BitmapIndexStore extends BaseIndexStore {
             try {
                 markIndexStoreExpirableIfNecessary(entry);
 
-                long internalKey = internalObjectKeys.getValue(key);
-                assert internalKey != NO_KEY;
-                bitmap.update(oldValues, newValues, internalKey, entry);
+                long internalKey = internalKey(key);
+                QueryableEntry previous = bitmap.update(oldValues, newValues, internalKey, entry);
+                operationStats.onEntryAdded(previous, entry);
             } finally {
                 releaseWriteLock();
             }
@@ -241,13 +238,13 @@ public final class BitmapIndexStore extends BaseIndexStore {
                     key = internalKeys.remove(key);
                     if (key != NO_KEY) {
                         // XXX: see https://github.com/hazelcast/hazelcast/issues/15439
-                        bitmap.remove(values, key);
+                        operationStats.onEntryRemoved(bitmap.remove(values, key));
                     }
                 } else {
                     if (key < 0) {
                         throw makeNegativeKeyException(key);
                     }
-                    bitmap.remove(values, key);
+                    operationStats.onEntryRemoved(bitmap.remove(values, key));
                 }
             } finally {
                 releaseWriteLock();
@@ -263,7 +260,7 @@ public final class BitmapIndexStore extends BaseIndexStore {
                 long internalKey = internalObjectKeys.removeKey(key);
                 if (internalKey != NO_KEY) {
                     // XXX: see https://github.com/hazelcast/hazelcast/issues/15439
-                    bitmap.remove(values, internalKey);
+                    operationStats.onEntryRemoved(bitmap.remove(values, internalKey));
                 }
             } finally {
                 releaseWriteLock();
@@ -328,6 +325,11 @@ public final class BitmapIndexStore extends BaseIndexStore {
         throw makeUnsupportedOperationException();
     }
 
+    @Override
+    public Set<QueryableEntry> getSortedRecords(Comparable from) {
+        throw makeUnsupportedOperationException();
+    }
+
     @Override
     Comparable canonicalizeScalarForStorage(Comparable value) {
         // Assuming on-heap overhead of 12 bytes for the object header and
@@ -396,6 +398,39 @@ public final class BitmapIndexStore extends BaseIndexStore {
         return extractObjectKey(key);
     }
 
+    /**
+     * Returns the internal key of the given user-provided long key allocating
+     * a new one if the key is not indexed yet.
+     * <p>
+     * Inserting an already indexed key or updating a not yet indexed one is
+     * expected while the index is built online: the mutation observer indexes
+     * the keys the build hasn't reached yet and the build indexes the keys
+     * the observer has already indexed.
+     */
+    private long internalKey(long key) {
+        long internalKey = internalKeys.get(key);
+        if (internalKey == NO_KEY) {
+            internalKey = internalKeyCounter++;
+            internalKeys.put(key, internalKey);
+        }
+        return internalKey;
+    }
+
+    /**
+     * Returns the internal key of the given user-provided object key
+     * allocating a new one if the key is not indexed yet.
+     *
+     * @see #internalKey(long)
+     */
+    private long internalKey(Object key) {
+        long internalKey = internalObjectKeys.getValue(key);
+        if (internalKey == NO_KEY) {
+            internalKey = internalKeyCounter++;
+            internalObjectKeys.put(key, internalKey);
+        }
+        return internalKey;
+    }
+
     private Iterator makeIterator(Object value) {
         return value instanceof MultiResult ? new MultiValueIterator((MultiResult) value) : new SingleValueIterator(value);
     }
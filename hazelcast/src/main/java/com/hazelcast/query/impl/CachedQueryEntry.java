@@ -18,6 +18,7 @@ package com.hazelcast.query.impl;
 
 import com.hazelcast.internal.serialization.Data;
 import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.nio.serialization.FieldOffsetSchema;
 import com.hazelcast.nio.serialization.Portable;
 import com.hazelcast.query.impl.getters.Extractors;
 
@@ -133,6 +134,20 @@ public class CachedQueryEntry<K, V> extends QueryableEntry<K, V> {
         return targetObject;
     }
 
+    @Override
+    protected Object extractTargetAttributeValue(boolean key, String attributeName, Object metadata) {
+        // read the attribute right from the serialized form if possible
+        // instead of deserializing the whole key or value
+        Data targetData = key ? keyData : valueObject == null ? valueData : null;
+        if (targetData != null) {
+            FieldOffsetSchema schema = extractors.getDataSchema(targetData, attributeName);
+            if (schema != null) {
+                return extractors.extractFromData(targetData, attributeName, schema);
+            }
+        }
+        return super.extractTargetAttributeValue(key, attributeName, metadata);
+    }
+
     @Override
     public V setValue(V value) {
         throw new UnsupportedOperationException();
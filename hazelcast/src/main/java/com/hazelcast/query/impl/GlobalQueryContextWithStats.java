@@ -171,6 +171,13 @@ public class GlobalQueryContextWithStats extends QueryContext {
             return result;
         }
 
+        @Override
+        public Set<QueryableEntry> getSortedRecords(Comparable from) {
+            Set<QueryableEntry> result = delegate.getSortedRecords(from);
+            hasQueries = true;
+            return result;
+        }
+
         @Override
         public void clear() {
             delegate.clear();
@@ -211,6 +218,11 @@ public class GlobalQueryContextWithStats extends QueryContext {
             return delegate.getPerIndexStats();
         }
 
+        @Override
+        public IndexStatistics getStatistics() {
+            return delegate.getStatistics();
+        }
+
     }
 
 }
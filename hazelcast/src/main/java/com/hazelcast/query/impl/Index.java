@@ -151,6 +151,20 @@ public interface Index {
      */
     Set<QueryableEntry> getRecords(Comparison comparison, Comparable value);
 
+    /**
+     * Produces a result set containing entries whose attribute values are
+     * greater than or equal to the given value, iterated in the ascending
+     * order of the attribute values. Entries having {@code null} attribute
+     * values are not included.
+     * <p>
+     * Supported only by {@link #isOrdered() ordered} indexes.
+     *
+     * @param from the value to start from or {@code null} to start from the
+     *             lowest indexed value.
+     * @return the produced result set.
+     */
+    Set<QueryableEntry> getSortedRecords(Comparable from);
+
     /**
      * Clears out all entries from this index.
      */
@@ -47,11 +47,16 @@ public class IndexImpl extends AbstractIndex {
     protected IndexStore createIndexStore(IndexConfig config, PerIndexStats stats) {
         switch (config.getType()) {
             case SORTED:
-                return new OrderedIndexStore(copyBehavior);
+                // Single-attribute indexes may hold primitive values only,
+                // composite ones always store composite values.
+                return config.getAttributes().size() == 1
+                        ? new PrimitiveOrderedIndexStore(copyBehavior) : new OrderedIndexStore(copyBehavior);
             case HASH:
                 return new UnorderedIndexStore(copyBehavior);
             case BITMAP:
                 return new BitmapIndexStore(config, ss, extractors);
+            case NGRAM:
+                return new NGramIndexStore();
             default:
                 throw new IllegalArgumentException("unexpected index type: " + config.getType());
         }
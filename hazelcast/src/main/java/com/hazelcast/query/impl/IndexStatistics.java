@@ -0,0 +1,259 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.query.impl;
+
+import com.hazelcast.internal.monitor.impl.IndexOperationStats;
+import com.hazelcast.query.impl.getters.MultiResult;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import static com.hazelcast.internal.util.HashUtil.fastIntMix;
+import static com.hazelcast.query.impl.AbstractIndex.NULL;
+
+/**
+ * Maintains approximate value statistics of an index: the number of indexed
+ * entries and a hashed frequency histogram of the indexed values.
+ * <p>
+ * The statistics are updated incrementally as entries are inserted, updated
+ * and removed according to the changes reported by the index store, and are
+ * used by the query optimizer to estimate selectivities
+ * of the predicates an index may serve. Every indexed value is hashed into
+ * one of a fixed number of buckets, so the frequency of a particular value
+ * is overestimated by the frequencies of the values colliding with it; the
+ * estimations compensate for that by subtracting the expected collision
+ * noise assuming a uniform distribution of the colliding values.
+ * <p>
+ * All the methods are thread-safe, the estimations are not linearizable with
+ * respect to the concurrent updates.
+ */
+public class IndexStatistics {
+
+    /**
+     * The selectivity reported for predicates which selectivity can't be
+     * estimated from the statistics, like range predicates.
+     */
+    public static final double DEFAULT_SELECTIVITY = 1.0 / 3.0;
+
+    static final int BUCKET_COUNT = 1024;
+
+    private static final int BUCKET_MASK = BUCKET_COUNT - 1;
+
+    private final AtomicLong entryCount = new AtomicLong();
+    private final AtomicLong valueCount = new AtomicLong();
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKET_COUNT);
+
+    /**
+     * Returns the number of the entries currently indexed.
+     */
+    public long getEntryCount() {
+        return Math.max(0, entryCount.get());
+    }
+
+    /**
+     * Estimates the fraction of the indexed entries having an attribute value
+     * equal to the given one.
+     *
+     * @param value the value to estimate the selectivity of, already converted
+     *              using the converter of the index.
+     * @return the estimated selectivity in {@code [0.0, 1.0]} range.
+     */
+    public double estimateSelectivity(Comparable value) {
+        long entries = entryCount.get();
+        if (entries <= 0) {
+            return 0.0;
+        }
+
+        long total = valueCount.get();
+        long frequency = buckets.get(bucketOf(canonicalize(value)));
+        double noise = (double) Math.max(0, total - frequency) / (BUCKET_COUNT - 1);
+        double estimate = Math.max(0.0, frequency - noise);
+        return Math.min(1.0, estimate / entries);
+    }
+
+    /**
+     * Estimates the number of the distinct values currently indexed using
+     * the linear counting over the occupied histogram buckets.
+     * <p>
+     * The estimation is only accurate while the number of the distinct values
+     * is not much larger than the number of the histogram buckets.
+     */
+    public long estimateDistinctValues() {
+        int empty = 0;
+        for (int i = 0; i < BUCKET_COUNT; ++i) {
+            if (buckets.get(i) <= 0) {
+                ++empty;
+            }
+        }
+
+        if (empty == BUCKET_COUNT) {
+            return 0;
+        }
+        if (empty == 0) {
+            // saturated, the best we can tell is the number of the values
+            return Math.max(BUCKET_COUNT, valueCount.get());
+        }
+        return Math.round(BUCKET_COUNT * Math.log((double) BUCKET_COUNT / empty));
+    }
+
+    /**
+     * Creates a new tracker of the changes an index store performs during a
+     * single index operation.
+     *
+     * @param operationStats the operation stats to forward the changes to.
+     */
+    Tracker track(IndexOperationStats operationStats) {
+        return new Tracker(operationStats);
+    }
+
+    void onInsert(Object value) {
+        entryCount.incrementAndGet();
+        update(value, 1);
+    }
+
+    void onUpdate(Object oldValue, Object newValue) {
+        update(oldValue, -1);
+        update(newValue, 1);
+    }
+
+    void onRemove(Object value) {
+        entryCount.decrementAndGet();
+        update(value, -1);
+    }
+
+    void clear() {
+        entryCount.set(0);
+        valueCount.set(0);
+        for (int i = 0; i < BUCKET_COUNT; ++i) {
+            buckets.set(i, 0);
+        }
+    }
+
+    private void update(Object value, long delta) {
+        if (value instanceof MultiResult) {
+            List<?> results = ((MultiResult<?>) value).getResults();
+            for (Object result : results) {
+                updateScalar(result, delta);
+            }
+        } else {
+            updateScalar(value, delta);
+        }
+    }
+
+    private void updateScalar(Object value, long delta) {
+        if (value != null && !(value instanceof Comparable)) {
+            // not indexable, the index store rejects or ignores such values
+            return;
+        }
+
+        buckets.addAndGet(bucketOf(canonicalize((Comparable) value)), delta);
+        valueCount.addAndGet(delta);
+    }
+
+    /**
+     * Tracks whether an entry was indexed before and after an index operation
+     * using the changes reported by the index store, so re-insertions of the
+     * already indexed entries and updates and removals of the entries not
+     * indexed don't skew the statistics.
+     */
+    final class Tracker implements IndexOperationStats {
+
+        private final IndexOperationStats delegate;
+
+        private boolean indexedBefore;
+        private boolean indexedAfter;
+
+        private Tracker(IndexOperationStats delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public long getEntryCountDelta() {
+            return delegate.getEntryCountDelta();
+        }
+
+        @Override
+        public long getMemoryCostDelta() {
+            return delegate.getMemoryCostDelta();
+        }
+
+        @Override
+        public void onEntryAdded(Object replacedValue, Object addedValue) {
+            delegate.onEntryAdded(replacedValue, addedValue);
+            indexedAfter = true;
+            if (replacedValue != null) {
+                indexedBefore = true;
+            }
+        }
+
+        @Override
+        public void onEntryRemoved(Object removedValue) {
+            delegate.onEntryRemoved(removedValue);
+            if (removedValue != null) {
+                indexedBefore = true;
+            }
+        }
+
+        void onInserted(Object value) {
+            if (indexedAfter && !indexedBefore) {
+                onInsert(value);
+            }
+        }
+
+        void onUpdated(Object oldValue, Object newValue) {
+            if (indexedBefore && indexedAfter) {
+                onUpdate(oldValue, newValue);
+            } else if (indexedAfter) {
+                onInsert(newValue);
+            } else if (indexedBefore) {
+                onRemove(oldValue);
+            }
+        }
+
+        void onRemoved(Object value) {
+            if (indexedBefore) {
+                onRemove(value);
+            }
+        }
+
+    }
+
+    private static Comparable canonicalize(Comparable value) {
+        if (value == null) {
+            return NULL;
+        }
+        if (value instanceof CompositeValue) {
+            Comparable[] components = ((CompositeValue) value).getComponents();
+            Comparable[] canonical = new Comparable[components.length];
+            for (int i = 0; i < components.length; ++i) {
+                canonical[i] = canonicalize(components[i]);
+            }
+            return new CompositeValue(canonical);
+        }
+        if (value.getClass().isEnum()) {
+            return TypeConverters.ENUM_CONVERTER.convert(value);
+        }
+        return Comparables.canonicalizeForHashLookup(value);
+    }
+
+    private static int bucketOf(Comparable value) {
+        // the hash codes of numbers are poorly mixed, spread them
+        return fastIntMix(value.hashCode()) & BUCKET_MASK;
+    }
+
+}
@@ -26,6 +26,11 @@ import java.util.Set;
 /**
  * Defines a contract for index stores, so different index stores may be used
  * interchangeably with the same {@link Index} implementation.
+ * <p>
+ * The sets returned by the {@code getRecords} methods are not necessarily
+ * materialized: range lookups may return lazy views which stream the matching
+ * entries while being iterated. Such views are weakly consistent and should
+ * be consumed promptly, ideally once.
  */
 public interface IndexStore {
 
@@ -49,6 +54,9 @@ public interface IndexStore {
     /**
      * Inserts the given entry into this index store under the given value
      * acting as an index key.
+     * <p>
+     * The entry may be already indexed under the same value if the index is
+     * being built online, the insertion replaces it in this case.
      *
      * @param value          the value to insert the entry under.
      * @param entry          the entry to insert.
@@ -64,7 +72,8 @@ public interface IndexStore {
      * given old value to the new given value.
      * <p>
      * The update operation is logically equivalent to removing the old mapping
-     * and inserting the new one.
+     * and inserting the new one. The entry may be not indexed yet if the index
+     * is being built online, the update inserts it in this case.
      *
      * @param oldValue       the value to remap the entry from.
      * @param newValue       the new value to remap the entry to.
@@ -170,4 +179,16 @@ public interface IndexStore {
      */
     Set<QueryableEntry> getRecords(Comparable from, boolean fromInclusive, Comparable to, boolean toInclusive);
 
+    /**
+     * Obtains entries that have indexed attribute value greater than or equal
+     * to the given value in the ascending order of the attribute values.
+     *
+     * @param from the value to start from or {@code null} to start from the
+     *             lowest stored value.
+     * @return the obtained entries.
+     * @throws UnsupportedOperationException if the store is not ordered.
+     * @see Index#getSortedRecords(Comparable)
+     */
+    Set<QueryableEntry> getSortedRecords(Comparable from);
+
 }
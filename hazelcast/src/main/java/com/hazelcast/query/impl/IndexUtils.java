@@ -73,8 +73,8 @@ public final class IndexUtils {
                 + " attributes: " + config);
         }
 
-        if (config.getType() == IndexType.BITMAP && originalAttributeNames.size() > 1) {
-            throw new IllegalArgumentException("Composite bitmap indexes are not supported: " + config);
+        if (originalAttributeNames.size() > 1) {
+            validateCompositeSupported(config);
         }
 
         List<String> normalizedAttributeNames = new ArrayList<>(originalAttributeNames.size());
@@ -128,6 +128,16 @@ public final class IndexUtils {
         return normalizedConfig;
     }
 
+    private static void validateCompositeSupported(IndexConfig config) {
+        if (config.getType() == IndexType.BITMAP) {
+            throw new IllegalArgumentException("Composite bitmap indexes are not supported: " + config);
+        }
+
+        if (config.getType() == IndexType.NGRAM) {
+            throw new IllegalArgumentException("Composite n-gram indexes are not supported: " + config);
+        }
+    }
+
     private static IndexConfig buildNormalizedConfig(String mapName, IndexType indexType, String indexName,
                                                      List<String> normalizedAttributeNames) {
         IndexConfig newConfig = new IndexConfig().setType(indexType);
@@ -348,6 +358,8 @@ public final class IndexUtils {
             return IndexType.HASH;
         } else if (typeStr.equals(IndexType.BITMAP.name().toLowerCase())) {
             return IndexType.BITMAP;
+        } else if (typeStr.equals(IndexType.NGRAM.name().toLowerCase())) {
+            return IndexType.NGRAM;
         } else {
             throw new IllegalArgumentException("Unsupported index type: " + typeStr);
         }
@@ -378,6 +390,8 @@ public final class IndexUtils {
             type = IndexType.HASH;
         } else if (typeStr.equals(IndexType.BITMAP.name().toLowerCase())) {
             type = IndexType.BITMAP;
+        } else if (typeStr.equals(IndexType.NGRAM.name().toLowerCase())) {
+            type = IndexType.NGRAM;
         } else {
             throw new IllegalArgumentException("Unsupported index type: " + typeStr);
         }
@@ -423,6 +437,9 @@ public final class IndexUtils {
             case BITMAP:
                 return "bitmap";
 
+            case NGRAM:
+                return "ngram";
+
             default:
                 throw new IllegalArgumentException("Unsupported index type: " + type);
         }
@@ -75,4 +75,10 @@ public interface InternalIndex extends Index {
      */
     PerIndexStats getPerIndexStats();
 
+    /**
+     * Returns the value statistics maintained by this index or {@code null}
+     * if this index doesn't maintain any.
+     */
+    IndexStatistics getStatistics();
+
 }
@@ -0,0 +1,186 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.query.impl;
+
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.query.impl.BaseIndexStore.CopyFunctor;
+
+import java.util.AbstractSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * Multiple result set for Predicates which streams the records of index
+ * buckets instead of materializing them upfront.
+ * <p>
+ * The buckets are visited lazily while iterating, so a consumer that stops
+ * early (e.g. because the result size limit is reached) never touches the
+ * remaining buckets. If the index copies its results on read, only the
+ * buckets being currently iterated are copied.
+ * <p>
+ * Like the views of concurrent collections, the set is weakly consistent: it
+ * reflects the index state at the moment a bucket is visited, not at the
+ * moment the set was created. An entry moved to another bucket while
+ * iterating may be missed; if duplicates are detected, it's never returned
+ * twice.
+ * <p>
+ * The size and the key index used by {@link #contains} are computed on first
+ * use and then reused, so they are a point-in-time snapshot of the index.
+ */
+public class LazyMultiResultSet extends AbstractSet<QueryableEntry> {
+
+    private static final int INDEX_BUCKET_THRESHOLD = 3;
+
+    private final Collection<Map<Data, QueryableEntry>> buckets;
+    private final CopyFunctor<Data, QueryableEntry> copyFunctor;
+    private final boolean detectDuplicates;
+
+    private Set<Data> index;
+    private int size = -1;
+
+    LazyMultiResultSet(Collection<Map<Data, QueryableEntry>> buckets, CopyFunctor<Data, QueryableEntry> copyFunctor,
+                       boolean detectDuplicates) {
+        this.buckets = buckets;
+        this.copyFunctor = copyFunctor;
+        this.detectDuplicates = detectDuplicates;
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        Data keyData = ((QueryableEntry) o).getKeyData();
+        if (index != null) {
+            return index.contains(keyData);
+        }
+
+        int visited = 0;
+        for (Map<Data, QueryableEntry> bucket : buckets) {
+            if (++visited > INDEX_BUCKET_THRESHOLD) {
+                // repeated probes of many buckets are more expensive than a
+                // single key index built on the first such probe
+                index = buildIndex();
+                return index.contains(keyData);
+            }
+            if (bucket.containsKey(keyData)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public Iterator<QueryableEntry> iterator() {
+        return new It();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        if (size != -1) {
+            return size == 0;
+        }
+        for (Map<Data, QueryableEntry> bucket : buckets) {
+            if (!bucket.isEmpty()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public int size() {
+        if (size != -1) {
+            return size;
+        }
+
+        int size = 0;
+        if (detectDuplicates) {
+            for (Iterator<QueryableEntry> it = iterator(); it.hasNext(); it.next()) {
+                ++size;
+            }
+        } else {
+            for (Map<Data, QueryableEntry> bucket : buckets) {
+                size += bucket.size();
+            }
+        }
+        this.size = size;
+        return size;
+    }
+
+    private Set<Data> buildIndex() {
+        Set<Data> keys = new HashSet<>();
+        for (Map<Data, QueryableEntry> bucket : buckets) {
+            keys.addAll(bucket.keySet());
+        }
+        return keys;
+    }
+
+    private class It implements Iterator<QueryableEntry> {
+
+        private final Iterator<Map<Data, QueryableEntry>> bucketIterator = buckets.iterator();
+        private final Set<Data> seenKeys = detectDuplicates ? new HashSet<>() : null;
+
+        private Iterator<QueryableEntry> currentIterator = Collections.emptyIterator();
+        private QueryableEntry currentEntry;
+
+        @Override
+        public boolean hasNext() {
+            if (currentEntry != null) {
+                return true;
+            }
+
+            while (true) {
+                while (currentIterator.hasNext()) {
+                    QueryableEntry entry = currentIterator.next();
+                    if (seenKeys == null || seenKeys.add(entry.getKeyData())) {
+                        currentEntry = entry;
+                        return true;
+                    }
+                }
+
+                if (!bucketIterator.hasNext()) {
+                    return false;
+                }
+                Map<Data, QueryableEntry> bucket = copyFunctor.invoke(bucketIterator.next());
+                if (bucket != null) {
+                    currentIterator = bucket.values().iterator();
+                }
+            }
+        }
+
+        @Override
+        public QueryableEntry next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+
+            QueryableEntry result = currentEntry;
+            currentEntry = null;
+            return result;
+        }
+
+        @Override
+        public void remove() {
+            throw new UnsupportedOperationException();
+        }
+
+    }
+
+}
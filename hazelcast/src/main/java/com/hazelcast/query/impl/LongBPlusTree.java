@@ -0,0 +1,395 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.query.impl;
+
+import static java.lang.System.arraycopy;
+
+/**
+ * B+ tree mapping primitive {@code long} keys to values.
+ * <p>
+ * Keys and values of every node are kept in plain arrays, so unlike a
+ * {@code ConcurrentSkipListMap<Long, V>} the tree allocates neither boxed
+ * keys nor per-mapping nodes. Nodes are split when they overflow and merged
+ * with a sibling when they become sparse and the merged node fits.
+ * <p>
+ * The tree is not thread-safe, the callers are responsible for guarding it.
+ *
+ * @param <V> the type of the values.
+ */
+final class LongBPlusTree<V> {
+
+    /**
+     * The maximum number of keys in a leaf and children in an inner node.
+     */
+    static final int NODE_CAPACITY = 64;
+
+    private static final int MIN_FILL = NODE_CAPACITY / 4;
+
+    private Node root = new Leaf();
+    private int size;
+
+    private Object removedValue;
+    private long splitKey;
+
+    /**
+     * @return the number of mappings in this tree.
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * @return the value mapped to the given key or {@code null} if there is
+     * no such value.
+     */
+    @SuppressWarnings("unchecked")
+    V get(long key) {
+        Node node = root;
+        while (node instanceof Inner) {
+            Inner inner = (Inner) node;
+            node = inner.children[inner.childIndex(key)];
+        }
+        Leaf leaf = (Leaf) node;
+        int index = leaf.indexOf(key);
+        return index >= 0 ? (V) leaf.values[index] : null;
+    }
+
+    /**
+     * Maps the given key to the given non-null value.
+     *
+     * @return the previous value mapped to the key or {@code null} if there
+     * was no such value.
+     */
+    @SuppressWarnings("unchecked")
+    V put(long key, V value) {
+        assert value != null;
+
+        Node split = insert(root, key, value);
+        if (split != null) {
+            Inner newRoot = new Inner();
+            newRoot.children[0] = root;
+            newRoot.children[1] = split;
+            newRoot.keys[0] = splitKey;
+            newRoot.size = 2;
+            root = newRoot;
+        }
+
+        V previous = (V) removedValue;
+        removedValue = null;
+        return previous;
+    }
+
+    /**
+     * Removes the mapping of the given key.
+     *
+     * @return the removed value or {@code null} if there was no mapping.
+     */
+    @SuppressWarnings("unchecked")
+    V remove(long key) {
+        delete(root, key);
+
+        if (root instanceof Inner) {
+            Inner inner = (Inner) root;
+            if (inner.size == 0) {
+                root = new Leaf();
+            } else if (inner.size == 1) {
+                root = inner.children[0];
+            }
+        }
+
+        V removed = (V) removedValue;
+        removedValue = null;
+        return removed;
+    }
+
+    /**
+     * Copies the mappings having keys in the given inclusive range into the
+     * given arrays, in the ascending key order.
+     * <p>
+     * At most {@code keys.length} mappings are copied. To continue the scan
+     * after a full batch, invoke the method again with {@code from} set to
+     * the last copied key plus one.
+     *
+     * @return the number of copied mappings.
+     */
+    int scan(long from, long to, long[] keys, Object[] values) {
+        assert keys.length == values.length;
+        if (from > to) {
+            return 0;
+        }
+        return scan(root, from, to, keys, values, 0);
+    }
+
+    /**
+     * Invokes the given consumer for every mapping in the ascending key order.
+     */
+    void forEach(EntryConsumer<? super V> consumer) {
+        forEach(root, consumer);
+    }
+
+    private Node insert(Node node, long key, Object value) {
+        if (node instanceof Leaf) {
+            Leaf leaf = (Leaf) node;
+            int index = leaf.indexOf(key);
+            if (index >= 0) {
+                removedValue = leaf.values[index];
+                leaf.values[index] = value;
+                return null;
+            }
+
+            leaf.insert(-index - 1, key, value);
+            ++size;
+            return leaf.size > NODE_CAPACITY ? splitLeaf(leaf) : null;
+        }
+
+        Inner inner = (Inner) node;
+        int index = inner.childIndex(key);
+        Node split = insert(inner.children[index], key, value);
+        if (split == null) {
+            return null;
+        }
+
+        inner.insert(index, splitKey, split);
+        return inner.size > NODE_CAPACITY ? splitInner(inner) : null;
+    }
+
+    private Leaf splitLeaf(Leaf leaf) {
+        int mid = leaf.size / 2;
+        Leaf right = new Leaf();
+        right.size = leaf.size - mid;
+        arraycopy(leaf.keys, mid, right.keys, 0, right.size);
+        arraycopy(leaf.values, mid, right.values, 0, right.size);
+        clear(leaf.values, mid, leaf.size);
+        leaf.size = mid;
+
+        splitKey = right.keys[0];
+        return right;
+    }
+
+    private Inner splitInner(Inner inner) {
+        int mid = inner.size / 2;
+        Inner right = new Inner();
+        right.size = inner.size - mid;
+        arraycopy(inner.children, mid, right.children, 0, right.size);
+        arraycopy(inner.keys, mid, right.keys, 0, right.size - 1);
+        clear(inner.children, mid, inner.size);
+        splitKey = inner.keys[mid - 1];
+        inner.size = mid;
+        return right;
+    }
+
+    private void delete(Node node, long key) {
+        if (node instanceof Leaf) {
+            Leaf leaf = (Leaf) node;
+            int index = leaf.indexOf(key);
+            if (index >= 0) {
+                removedValue = leaf.values[index];
+                leaf.delete(index);
+                --size;
+            }
+            return;
+        }
+
+        Inner inner = (Inner) node;
+        int index = inner.childIndex(key);
+        Node child = inner.children[index];
+        delete(child, key);
+        if (child.size == 0) {
+            inner.delete(index);
+        } else if (child.size < MIN_FILL) {
+            if (index + 1 < inner.size) {
+                tryMerge(inner, index);
+            } else if (index > 0) {
+                tryMerge(inner, index - 1);
+            }
+        }
+    }
+
+    private static void tryMerge(Inner parent, int leftIndex) {
+        Node left = parent.children[leftIndex];
+        Node right = parent.children[leftIndex + 1];
+        if (left.size + right.size > NODE_CAPACITY) {
+            return;
+        }
+
+        if (left instanceof Leaf) {
+            Leaf leftLeaf = (Leaf) left;
+            Leaf rightLeaf = (Leaf) right;
+            arraycopy(rightLeaf.keys, 0, leftLeaf.keys, leftLeaf.size, rightLeaf.size);
+            arraycopy(rightLeaf.values, 0, leftLeaf.values, leftLeaf.size, rightLeaf.size);
+        } else {
+            Inner leftInner = (Inner) left;
+            Inner rightInner = (Inner) right;
+            leftInner.keys[leftInner.size - 1] = parent.keys[leftIndex];
+            arraycopy(rightInner.keys, 0, leftInner.keys, leftInner.size, rightInner.size - 1);
+            arraycopy(rightInner.children, 0, leftInner.children, leftInner.size, rightInner.size);
+        }
+        left.size += right.size;
+        parent.delete(leftIndex + 1);
+    }
+
+    private static int scan(Node node, long from, long to, long[] keys, Object[] values, int count) {
+        if (node instanceof Leaf) {
+            Leaf leaf = (Leaf) node;
+            int index = leaf.indexOf(from);
+            if (index < 0) {
+                index = -index - 1;
+            }
+            while (index < leaf.size && count < keys.length && leaf.keys[index] <= to) {
+                keys[count] = leaf.keys[index];
+                values[count] = leaf.values[index];
+                ++count;
+                ++index;
+            }
+            return count;
+        }
+
+        Inner inner = (Inner) node;
+        for (int i = inner.childIndex(from); i < inner.size && count < keys.length; ++i) {
+            if (i > 0 && inner.keys[i - 1] > to) {
+                break;
+            }
+            count = scan(inner.children[i], from, to, keys, values, count);
+        }
+        return count;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <V> void forEach(Node node, EntryConsumer<V> consumer) {
+        if (node instanceof Leaf) {
+            Leaf leaf = (Leaf) node;
+            for (int i = 0; i < leaf.size; ++i) {
+                consumer.accept(leaf.keys[i], (V) leaf.values[i]);
+            }
+            return;
+        }
+
+        Inner inner = (Inner) node;
+        for (int i = 0; i < inner.size; ++i) {
+            forEach(inner.children[i], consumer);
+        }
+    }
+
+    private static void clear(Object[] array, int from, int to) {
+        for (int i = from; i < to; ++i) {
+            array[i] = null;
+        }
+    }
+
+    /**
+     * Consumes the mappings of a tree.
+     *
+     * @param <V> the type of the values.
+     */
+    interface EntryConsumer<V> {
+
+        void accept(long key, V value);
+
+    }
+
+    private abstract static class Node {
+
+        /**
+         * The number of keys in a leaf or children in an inner node.
+         */
+        int size;
+
+    }
+
+    private static final class Leaf extends Node {
+
+        // one extra slot to hold an overflowing mapping until the split
+        final long[] keys = new long[NODE_CAPACITY + 1];
+        final Object[] values = new Object[NODE_CAPACITY + 1];
+
+        int indexOf(long key) {
+            return binarySearch(keys, size, key);
+        }
+
+        void insert(int index, long key, Object value) {
+            arraycopy(keys, index, keys, index + 1, size - index);
+            arraycopy(values, index, values, index + 1, size - index);
+            keys[index] = key;
+            values[index] = value;
+            ++size;
+        }
+
+        void delete(int index) {
+            arraycopy(keys, index + 1, keys, index, size - index - 1);
+            arraycopy(values, index + 1, values, index, size - index - 1);
+            values[--size] = null;
+        }
+
+    }
+
+    /**
+     * An inner node with {@code size} children separated by {@code size - 1}
+     * keys: all the keys of the child at {@code i + 1} are greater than or
+     * equal to the key at {@code i} and all the keys of the child at {@code i}
+     * are less than it.
+     */
+    private static final class Inner extends Node {
+
+        final long[] keys = new long[NODE_CAPACITY];
+        final Node[] children = new Node[NODE_CAPACITY + 1];
+
+        int childIndex(long key) {
+            int index = binarySearch(keys, size - 1, key);
+            return index >= 0 ? index + 1 : -index - 1;
+        }
+
+        /**
+         * Inserts the given child right after the child at the given index.
+         */
+        void insert(int index, long separator, Node child) {
+            arraycopy(keys, index, keys, index + 1, size - 1 - index);
+            arraycopy(children, index + 1, children, index + 2, size - 1 - index);
+            keys[index] = separator;
+            children[index + 1] = child;
+            ++size;
+        }
+
+        void delete(int index) {
+            if (size > 1) {
+                // the first child has no separator, drop the one on its right instead
+                int keyIndex = index == 0 ? 0 : index - 1;
+                arraycopy(keys, keyIndex + 1, keys, keyIndex, size - 2 - keyIndex);
+            }
+            arraycopy(children, index + 1, children, index, size - index - 1);
+            children[--size] = null;
+        }
+
+    }
+
+    private static int binarySearch(long[] keys, int size, long key) {
+        int low = 0;
+        int high = size - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            long midKey = keys[mid];
+            if (midKey < key) {
+                low = mid + 1;
+            } else if (midKey > key) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -(low + 1);
+    }
+
+}
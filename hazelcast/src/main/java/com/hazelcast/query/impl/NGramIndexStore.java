@@ -0,0 +1,367 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.query.impl;
+
+import com.hazelcast.core.TypeConverter;
+import com.hazelcast.internal.json.NonTerminalJsonValue;
+import com.hazelcast.internal.monitor.impl.IndexOperationStats;
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.util.collection.Long2ObjectHashMap;
+import com.hazelcast.query.Predicate;
+import com.hazelcast.query.impl.getters.MultiResult;
+import com.hazelcast.query.impl.predicates.ILikePredicate;
+import com.hazelcast.query.impl.predicates.LikePredicate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The store of n-gram indexes.
+ * <p>
+ * Every string attribute value is split into case-folded n-grams of {@link
+ * #GRAM_LENGTH} characters and the store maintains an inverted index from the
+ * n-grams to the keys of the entries having them. {@code LIKE} and {@code
+ * ILIKE} predicates are evaluated by intersecting the sets of the keys having
+ * all the n-grams of the literal parts of the expression, no matter where the
+ * wildcards are, and then matching the predicate against the entries of the
+ * intersection only. If the expression has no literal parts long enough to
+ * produce an n-gram, all the indexed entries are matched.
+ */
+public final class NGramIndexStore extends BaseIndexStore {
+
+    /**
+     * The length of the n-grams in characters.
+     */
+    public static final int GRAM_LENGTH = 3;
+
+    private static final long[] NO_GRAMS = new long[0];
+
+    private static final Set<Class<? extends Predicate>> EVALUABLE_PREDICATES = new HashSet<>();
+
+    static {
+        EVALUABLE_PREDICATES.add(LikePredicate.class);
+        EVALUABLE_PREDICATES.add(ILikePredicate.class);
+    }
+
+    private final Map<Data, Record> records = new HashMap<>();
+    private final Long2ObjectHashMap<Set<Data>> postings = new Long2ObjectHashMap<>();
+
+    public NGramIndexStore() {
+        super(IndexCopyBehavior.NEVER, true);
+    }
+
+    @Override
+    public Comparable canonicalizeQueryArgumentScalar(Comparable value) {
+        return value;
+    }
+
+    @Override
+    Comparable canonicalizeScalarForStorage(Comparable value) {
+        return value;
+    }
+
+    @Override
+    public void insert(Object value, QueryableEntry entry, IndexOperationStats operationStats) {
+        if (value == NonTerminalJsonValue.INSTANCE) {
+            return;
+        }
+
+        long[] grams = grams(value);
+
+        takeWriteLock();
+        try {
+            markIndexStoreExpirableIfNecessary(entry);
+            put(entry, grams, operationStats);
+        } finally {
+            releaseWriteLock();
+        }
+    }
+
+    @Override
+    public void update(Object oldValue, Object newValue, QueryableEntry entry, IndexOperationStats operationStats) {
+        // the n-grams of the previous value are tracked by the record
+        insert(newValue, entry, operationStats);
+    }
+
+    @Override
+    public void remove(Object value, Data entryKey, Object entryValue, IndexOperationStats operationStats) {
+        if (value == NonTerminalJsonValue.INSTANCE) {
+            return;
+        }
+
+        takeWriteLock();
+        try {
+            Record record = records.remove(entryKey);
+            if (record != null) {
+                removePostings(entryKey, record.grams);
+                operationStats.onEntryRemoved(record.entry);
+            }
+        } finally {
+            releaseWriteLock();
+        }
+    }
+
+    @Override
+    public void clear() {
+        takeWriteLock();
+        try {
+            records.clear();
+            postings.clear();
+        } finally {
+            releaseWriteLock();
+        }
+    }
+
+    @Override
+    public boolean isEvaluateOnly() {
+        return true;
+    }
+
+    @Override
+    public boolean canEvaluate(Class<? extends Predicate> predicateClass) {
+        return EVALUABLE_PREDICATES.contains(predicateClass);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public Set<QueryableEntry> evaluate(Predicate predicate, TypeConverter converter) {
+        LikePredicate likePredicate = (LikePredicate) predicate;
+        long[] grams = expressionGrams(likePredicate.getExpression());
+
+        takeReadLock();
+        try {
+            Map<Data, QueryableEntry> result = new HashMap<>();
+            if (grams.length == 0) {
+                for (Record record : records.values()) {
+                    if (predicate.apply(record.entry)) {
+                        result.put(record.entry.getKeyData(), record.entry);
+                    }
+                }
+            } else {
+                Set<Data>[] sets = postingsOf(grams);
+                if (sets != null) {
+                    for (Data key : sets[0]) {
+                        QueryableEntry entry = records.get(key).entry;
+                        if (containedInAll(key, sets) && predicate.apply(entry)) {
+                            result.put(key, entry);
+                        }
+                    }
+                }
+            }
+            return toSingleResultSet(isExpirable() && !result.isEmpty() ? new ExpirationAwareHashMapDelegate(result) : result);
+        } finally {
+            releaseReadLock();
+        }
+    }
+
+    @Override
+    public Set<QueryableEntry> getRecords(Comparable value) {
+        throw makeUnsupportedOperationException();
+    }
+
+    @Override
+    public Set<QueryableEntry> getRecords(Set<Comparable> values) {
+        throw makeUnsupportedOperationException();
+    }
+
+    @Override
+    public Set<QueryableEntry> getRecords(Comparison comparison, Comparable value) {
+        throw makeUnsupportedOperationException();
+    }
+
+    @Override
+    public Set<QueryableEntry> getRecords(Comparable from, boolean fromInclusive, Comparable to, boolean toInclusive) {
+        throw makeUnsupportedOperationException();
+    }
+
+    @Override
+    public Set<QueryableEntry> getSortedRecords(Comparable from) {
+        throw makeUnsupportedOperationException();
+    }
+
+    private void put(QueryableEntry entry, long[] grams, IndexOperationStats operationStats) {
+        Data key = entry.getKeyData();
+        Record previous = records.put(key, new Record(entry, grams));
+        if (previous != null) {
+            removePostings(key, previous.grams);
+        }
+        for (long gram : grams) {
+            Set<Data> keys = postings.get(gram);
+            if (keys == null) {
+                keys = new HashSet<>();
+                postings.put(gram, keys);
+            }
+            keys.add(key);
+        }
+        operationStats.onEntryAdded(previous == null ? null : previous.entry, entry);
+    }
+
+    private void removePostings(Data key, long[] grams) {
+        for (long gram : grams) {
+            Set<Data> keys = postings.get(gram);
+            if (keys != null && keys.remove(key) && keys.isEmpty()) {
+                postings.remove(gram);
+            }
+        }
+    }
+
+    /**
+     * Returns the posting sets of the given n-grams with the smallest one
+     * first or {@code null} if any of the n-grams is not indexed.
+     */
+    @SuppressWarnings("unchecked")
+    private Set<Data>[] postingsOf(long[] grams) {
+        Set<Data>[] sets = new Set[grams.length];
+        int smallest = 0;
+        for (int i = 0; i < grams.length; ++i) {
+            Set<Data> keys = postings.get(grams[i]);
+            if (keys == null) {
+                return null;
+            }
+            sets[i] = keys;
+            if (keys.size() < sets[smallest].size()) {
+                smallest = i;
+            }
+        }
+        Set<Data> first = sets[smallest];
+        sets[smallest] = sets[0];
+        sets[0] = first;
+        return sets;
+    }
+
+    private static boolean containedInAll(Data key, Set<Data>[] sets) {
+        for (int i = 1; i < sets.length; ++i) {
+            if (!sets[i].contains(key)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Produces the sorted unique n-grams of the given attribute value which
+     * may be a {@link MultiResult}.
+     */
+    private static long[] grams(Object value) {
+        if (value instanceof MultiResult) {
+            List<String> strings = new ArrayList<>();
+            for (Object result : ((MultiResult) value).getResults()) {
+                if (result instanceof String) {
+                    strings.add((String) result);
+                }
+            }
+            return grams(strings);
+        } else if (value instanceof String) {
+            return grams(Arrays.asList((String) value));
+        } else {
+            return NO_GRAMS;
+        }
+    }
+
+    /**
+     * Produces the sorted unique n-grams of the literal parts of the given
+     * {@code LIKE} expression. The wildcards and the escape character split
+     * the literal parts, so every produced n-gram must be present in every
+     * matching value.
+     */
+    static long[] expressionGrams(String expression) {
+        List<String> literals = new ArrayList<>();
+        int start = 0;
+        for (int i = 0; i <= expression.length(); ++i) {
+            if (i == expression.length() || isSpecial(expression.charAt(i))) {
+                if (i - start >= GRAM_LENGTH) {
+                    literals.add(expression.substring(start, i));
+                }
+                start = i + 1;
+            }
+        }
+        return grams(literals);
+    }
+
+    private static boolean isSpecial(char c) {
+        return c == '%' || c == '_' || c == '\\';
+    }
+
+    private static long[] grams(List<String> strings) {
+        int count = 0;
+        for (String string : strings) {
+            count += Math.max(0, string.length() - GRAM_LENGTH + 1);
+        }
+        if (count == 0) {
+            return NO_GRAMS;
+        }
+
+        long[] grams = new long[count];
+        int size = 0;
+        for (String string : strings) {
+            for (int i = 0; i + GRAM_LENGTH <= string.length(); ++i) {
+                grams[size++] = gram(string, i);
+            }
+        }
+
+        Arrays.sort(grams);
+        int unique = 1;
+        for (int i = 1; i < grams.length; ++i) {
+            if (grams[i] != grams[unique - 1]) {
+                grams[unique++] = grams[i];
+            }
+        }
+        return unique == grams.length ? grams : Arrays.copyOf(grams, unique);
+    }
+
+    /**
+     * Packs the case-folded characters of the n-gram starting at the given
+     * offset into a single long.
+     */
+    private static long gram(String string, int offset) {
+        long gram = 0;
+        for (int i = offset; i < offset + GRAM_LENGTH; ++i) {
+            gram = gram << Character.SIZE | fold(string.charAt(i));
+        }
+        return gram;
+    }
+
+    /**
+     * Folds the case of the given character the same way case-insensitive
+     * matching does, so the n-grams serve both LIKE and ILIKE.
+     */
+    private static char fold(char c) {
+        return Character.toLowerCase(Character.toUpperCase(c));
+    }
+
+    private static UnsupportedOperationException makeUnsupportedOperationException() {
+        return new UnsupportedOperationException("n-gram indexes support only direct predicate evaluation");
+    }
+
+    private static final class Record {
+
+        final QueryableEntry entry;
+        final long[] grams;
+
+        Record(QueryableEntry entry, long[] grams) {
+            this.entry = entry;
+            this.grams = grams;
+        }
+
+    }
+
+}
@@ -18,23 +18,24 @@ package com.hazelcast.query.impl;
 
 import java.util.AbstractSet;
 import java.util.Collections;
-import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
+import java.util.NoSuchElementException;
 import java.util.Set;
 
-import static com.hazelcast.internal.util.SetUtil.createHashSet;
-
 /**
  * Or result set for Predicates.
+ * <p>
+ * The union is streamed: the indexed results are iterated one after another
+ * and an entry is skipped if any of the preceding results already contains
+ * it, so no intermediate set holding all the entries is ever allocated.
  */
 public class OrResultSet extends AbstractSet<QueryableEntry> {
 
-    private static final int ENTRY_MULTIPLE = 4;
-    private static final int ENTRY_MIN_SIZE = 8;
+    private static final int SIZE_UNINITIALIZED = -1;
 
     private final List<Set<QueryableEntry>> indexedResults;
-    private Set<QueryableEntry> entries;
+    private int cachedSize = SIZE_UNINITIALIZED;
 
     public OrResultSet(List<Set<QueryableEntry>> indexedResults) {
         this.indexedResults = indexedResults;
@@ -52,44 +53,104 @@ public class OrResultSet extends AbstractSet<QueryableEntry> {
 
     @Override
     public Iterator<QueryableEntry> iterator() {
-        return getEntries().iterator();
+        if (indexedResults.isEmpty()) {
+            return Collections.emptyIterator();
+        }
+        if (indexedResults.size() == 1) {
+            return indexedResults.get(0).iterator();
+        }
+        return new It();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        for (Set<QueryableEntry> indexedResult : indexedResults) {
+            if (!indexedResult.isEmpty()) {
+                return false;
+            }
+        }
+        return true;
     }
 
     @Override
     public int size() {
-        return getEntries().size();
+        if (cachedSize == SIZE_UNINITIALIZED) {
+            int size = 0;
+            for (Iterator<QueryableEntry> it = iterator(); it.hasNext(); it.next()) {
+                ++size;
+            }
+            cachedSize = size;
+        }
+        return cachedSize;
     }
 
     /**
-     * @return returns estimated size without allocating the full result set
+     * @return returns estimated size without iterating the full result set
      */
     public int estimatedSize() {
-        if (entries == null) {
+        if (cachedSize == SIZE_UNINITIALIZED) {
             if (indexedResults.isEmpty()) {
                 return 0;
             } else {
                 return indexedResults.get(0).size();
             }
         }
-        return entries.size();
+        return cachedSize;
     }
 
-    private Set<QueryableEntry> getEntries() {
-        if (entries == null) {
-            if (indexedResults.isEmpty()) {
-                entries = Collections.emptySet();
-            } else {
-                if (indexedResults.size() == 1) {
-                    entries = new HashSet<QueryableEntry>(indexedResults.get(0));
-                } else {
-                    entries = createHashSet(Math.max(ENTRY_MIN_SIZE, indexedResults.size() * ENTRY_MULTIPLE));
-                    for (Set<QueryableEntry> result : indexedResults) {
-                        entries.addAll(result);
+    private class It implements Iterator<QueryableEntry> {
+
+        private int currentIndex;
+        private Iterator<QueryableEntry> currentIterator = indexedResults.get(0).iterator();
+        private QueryableEntry currentEntry;
+
+        @Override
+        public boolean hasNext() {
+            if (currentEntry != null) {
+                return true;
+            }
+
+            while (true) {
+                while (currentIterator.hasNext()) {
+                    QueryableEntry entry = currentIterator.next();
+                    if (!containedInPreceding(entry)) {
+                        currentEntry = entry;
+                        return true;
                     }
                 }
+
+                if (++currentIndex == indexedResults.size()) {
+                    return false;
+                }
+                currentIterator = indexedResults.get(currentIndex).iterator();
+            }
+        }
+
+        private boolean containedInPreceding(QueryableEntry entry) {
+            for (int i = 0; i < currentIndex; ++i) {
+                if (indexedResults.get(i).contains(entry)) {
+                    return true;
+                }
             }
+            return false;
         }
-        return entries;
+
+        @Override
+        public QueryableEntry next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+
+            QueryableEntry result = currentEntry;
+            currentEntry = null;
+            return result;
+        }
+
+        @Override
+        public void remove() {
+            throw new UnsupportedOperationException();
+        }
+
     }
 
 }
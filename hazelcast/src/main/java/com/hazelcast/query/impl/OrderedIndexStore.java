@@ -20,11 +20,16 @@ import com.hazelcast.core.TypeConverter;
 import com.hazelcast.internal.serialization.Data;
 import com.hazelcast.query.Predicate;
 
+import java.util.AbstractCollection;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
+import java.util.NavigableMap;
+import java.util.NoSuchElementException;
 import java.util.Set;
-import java.util.SortedMap;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentSkipListMap;
 
@@ -36,6 +41,12 @@ import static java.util.Collections.emptySet;
  */
 public class OrderedIndexStore extends BaseSingleValueIndexStore {
 
+    /**
+     * The maximum number of buckets the lazy results fetch under a single
+     * acquisition of the read lock.
+     */
+    static final int SCAN_BATCH_SIZE = 256;
+
     private final ConcurrentSkipListMap<Comparable, Map<Data, QueryableEntry>> recordMap =
             new ConcurrentSkipListMap<>(Comparables.COMPARATOR);
 
@@ -148,57 +159,136 @@ public class OrderedIndexStore extends BaseSingleValueIndexStore {
 
     @Override
     public Set<QueryableEntry> getRecords(Comparison comparison, Comparable searchedValue) {
-        takeReadLock();
-        try {
-            MultiResultSet results = createMultiResultSet();
-            SortedMap<Comparable, Map<Data, QueryableEntry>> subMap;
-            switch (comparison) {
-                case LESS:
-                    subMap = recordMap.headMap(searchedValue, false);
-                    break;
-                case LESS_OR_EQUAL:
-                    subMap = recordMap.headMap(searchedValue, true);
-                    break;
-                case GREATER:
-                    subMap = recordMap.tailMap(searchedValue, false);
-                    break;
-                case GREATER_OR_EQUAL:
-                    subMap = recordMap.tailMap(searchedValue, true);
-                    break;
-                default:
-                    throw new IllegalArgumentException("Unrecognized comparison: " + comparison);
+        NavigableMap<Comparable, Map<Data, QueryableEntry>> subMap;
+        switch (comparison) {
+            case LESS:
+                subMap = recordMap.headMap(searchedValue, false);
+                break;
+            case LESS_OR_EQUAL:
+                subMap = recordMap.headMap(searchedValue, true);
+                break;
+            case GREATER:
+                subMap = recordMap.tailMap(searchedValue, false);
+                break;
+            case GREATER_OR_EQUAL:
+                subMap = recordMap.tailMap(searchedValue, true);
+                break;
+            default:
+                throw new IllegalArgumentException("Unrecognized comparison: " + comparison);
+        }
+        return createLazyMultiResultSetOfSnapshots(new Buckets(subMap));
+    }
+
+    @Override
+    public Set<QueryableEntry> getRecords(Comparable from, boolean fromInclusive, Comparable to, boolean toInclusive) {
+        int order = Comparables.compare(from, to);
+        if (order == 0) {
+            if (!fromInclusive || !toInclusive) {
+                return emptySet();
             }
-            for (Map<Data, QueryableEntry> value : subMap.values()) {
-                copyToMultiResultSet(results, value);
+            takeReadLock();
+            try {
+                return toSingleResultSet(recordMap.get(from));
+            } finally {
+                releaseReadLock();
             }
-            return results;
-        } finally {
-            releaseReadLock();
+        } else if (order > 0) {
+            return emptySet();
         }
+        return createLazyMultiResultSetOfSnapshots(new Buckets(recordMap.subMap(from, fromInclusive, to, toInclusive)));
     }
 
     @Override
-    public Set<QueryableEntry> getRecords(Comparable from, boolean fromInclusive, Comparable to, boolean toInclusive) {
-        takeReadLock();
-        try {
-            int order = Comparables.compare(from, to);
-            if (order == 0) {
-                if (!fromInclusive || !toInclusive) {
-                    return emptySet();
+    public Set<QueryableEntry> getSortedRecords(Comparable from) {
+        NavigableMap<Comparable, Map<Data, QueryableEntry>> subMap = from == null ? recordMap : recordMap.tailMap(from, true);
+        return createLazyMultiResultSetOfSnapshots(new Buckets(subMap));
+    }
+
+    /**
+     * @return the records having {@code null} as the indexed attribute value.
+     */
+    Map<Data, QueryableEntry> getRecordsWithNullValue() {
+        return recordsWithNullValue;
+    }
+
+    /**
+     * The buckets of the given sub-map of the record map, in the key order.
+     * The buckets are fetched under the read lock in batches of up to {@link
+     * #SCAN_BATCH_SIZE} and copied according to the copy behavior while the
+     * lock is held, so the result is walked lazily without seeing partially
+     * applied updates.
+     */
+    private final class Buckets extends AbstractCollection<Map<Data, QueryableEntry>> {
+
+        private final NavigableMap<Comparable, Map<Data, QueryableEntry>> subMap;
+
+        Buckets(NavigableMap<Comparable, Map<Data, QueryableEntry>> subMap) {
+            this.subMap = subMap;
+        }
+
+        @Override
+        public Iterator<Map<Data, QueryableEntry>> iterator() {
+            return new It();
+        }
+
+        @Override
+        public int size() {
+            int size = 0;
+            for (Iterator<Map<Data, QueryableEntry>> it = iterator(); it.hasNext(); it.next()) {
+                ++size;
+            }
+            return size;
+        }
+
+        private final class It implements Iterator<Map<Data, QueryableEntry>> {
+
+            private final List<Map<Data, QueryableEntry>> batch = new ArrayList<>();
+
+            private Comparable lastKey;
+            private boolean exhausted;
+            private int batchPosition;
+
+            @Override
+            public boolean hasNext() {
+                if (batchPosition == batch.size() && !exhausted) {
+                    fetch();
                 }
-                return toSingleResultSet(recordMap.get(from));
-            } else if (order > 0) {
-                return emptySet();
+                return batchPosition < batch.size();
             }
-            MultiResultSet results = createMultiResultSet();
-            SortedMap<Comparable, Map<Data, QueryableEntry>> subMap = recordMap.subMap(from, fromInclusive, to, toInclusive);
-            for (Map<Data, QueryableEntry> value : subMap.values()) {
-                copyToMultiResultSet(results, value);
+
+            @Override
+            public Map<Data, QueryableEntry> next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return batch.set(batchPosition++, null);
             }
-            return results;
-        } finally {
-            releaseReadLock();
+
+            private void fetch() {
+                batch.clear();
+                batchPosition = 0;
+
+                takeReadLock();
+                try {
+                    // continue right after the last fetched key, the buckets
+                    // may have been added or removed since then
+                    NavigableMap<Comparable, Map<Data, QueryableEntry>> remaining =
+                            lastKey == null ? subMap : subMap.tailMap(lastKey, false);
+                    for (Map.Entry<Comparable, Map<Data, QueryableEntry>> bucket : remaining.entrySet()) {
+                        batch.add(copyForResult(bucket.getValue()));
+                        lastKey = bucket.getKey();
+                        if (batch.size() == SCAN_BATCH_SIZE) {
+                            return;
+                        }
+                    }
+                    exhausted = true;
+                } finally {
+                    releaseReadLock();
+                }
+            }
+
         }
+
     }
 
     /**
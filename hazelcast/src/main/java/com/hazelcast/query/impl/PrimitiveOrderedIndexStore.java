@@ -0,0 +1,896 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.query.impl;
+
+import com.hazelcast.internal.serialization.Data;
+
+import java.util.AbstractCollection;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+
+import static com.hazelcast.query.impl.AbstractIndex.NULL;
+import static com.hazelcast.query.impl.Numbers.equalDoubles;
+import static com.hazelcast.query.impl.Numbers.isDoubleRepresentable;
+import static com.hazelcast.query.impl.Numbers.isLongRepresentable;
+import static java.util.Collections.emptySet;
+
+/**
+ * Ordered index store specialized for numeric and date attributes.
+ * <p>
+ * While all the indexed values are of the same kind (integral numbers,
+ * floating-point numbers or dates), they are encoded as order-preserving
+ * longs and kept in a {@link LongBPlusTree}. Entries sharing the same value
+ * are kept in compact posting lists: a single entry is stored as is, a few
+ * entries as an array and only larger groups use a map. Comparing to
+ * {@link OrderedIndexStore}, this avoids boxing every value and allocating a
+ * concurrent map per distinct value.
+ * <p>
+ * Query arguments which can't be encoded exactly, e.g. fractional bounds
+ * compared with integral values, are converted into the nearest keys by
+ * a binary search over the key space, so they are still range lookups.
+ * <p>
+ * Once a value of another kind is inserted, the store migrates its contents
+ * to the generic representation of {@link OrderedIndexStore} and keeps
+ * using it until cleared. Records having {@code null} as the value are
+ * always kept in the generic representation.
+ */
+public class PrimitiveOrderedIndexStore extends OrderedIndexStore {
+
+    private static final int POSTING_ARRAY_MAX_SIZE = 8;
+    @SuppressWarnings("checkstyle:magicnumber")
+    private static final long MAX_EXACT_DOUBLE_LONG = 1L << 53;
+
+    /**
+     * The tree holding the records, {@code null} once the store has migrated
+     * to the generic representation. Guarded by the store lock.
+     */
+    private volatile LongBPlusTree<Object> tree = new LongBPlusTree<>();
+
+    /**
+     * The kind of the values stored in the tree, {@code null} while the tree
+     * is empty. Guarded by the store lock.
+     */
+    private volatile Kind kind;
+
+    /**
+     * {@code true} if the records are returned without copying them, see
+     * {@link IndexCopyBehavior#NEVER}. The posting maps are concurrent then,
+     * so they can be read after releasing the lock.
+     */
+    private final boolean shareRecords;
+
+    public PrimitiveOrderedIndexStore(IndexCopyBehavior copyOn) {
+        super(copyOn);
+        shareRecords = copyOn == IndexCopyBehavior.NEVER;
+    }
+
+    @Override
+    Object insertInternal(Comparable value, QueryableEntry record) {
+        LongBPlusTree<Object> tree = this.tree;
+        if (tree == null || value == NULL) {
+            return super.insertInternal(value, record);
+        }
+
+        Kind valueKind = Kind.of(value);
+        if (kind == null) {
+            kind = valueKind;
+        }
+        if (valueKind == null || valueKind != kind) {
+            migrate(tree);
+            return super.insertInternal(value, record);
+        }
+
+        markIndexStoreExpirableIfNecessary(record);
+        long key = kind.encode(value);
+        Object posting = tree.get(key);
+        QueryableEntry previous = find(posting, record.getKeyData());
+        Object newPosting = add(posting, record);
+        if (newPosting != posting) {
+            tree.put(key, newPosting);
+        }
+        return previous;
+    }
+
+    @Override
+    Object removeInternal(Comparable value, Data recordKey) {
+        LongBPlusTree<Object> tree = this.tree;
+        if (tree == null || value == NULL) {
+            return super.removeInternal(value, recordKey);
+        }
+
+        if (kind == null || Kind.of(value) != kind) {
+            return null;
+        }
+
+        long key = kind.encode(value);
+        Object posting = tree.get(key);
+        QueryableEntry previous = find(posting, recordKey);
+        if (previous == null) {
+            return null;
+        }
+
+        Object newPosting = remove(posting, recordKey);
+        if (newPosting == null) {
+            tree.remove(key);
+        } else if (newPosting != posting) {
+            tree.put(key, newPosting);
+        }
+        return previous;
+    }
+
+    @Override
+    public void clear() {
+        takeWriteLock();
+        try {
+            super.clear();
+            tree = new LongBPlusTree<>();
+            kind = null;
+        } finally {
+            releaseWriteLock();
+        }
+    }
+
+    @Override
+    public Set<QueryableEntry> getRecords(Comparable value) {
+        if (value != NULL) {
+            takeReadLock();
+            try {
+                LongBPlusTree<Object> tree = this.tree;
+                if (tree != null) {
+                    if (canEncodeExactly(value)) {
+                        return snapshotToSingleResultSet(snapshotOf(tree.get(kind.encode(value))));
+                    }
+                    if (canSearch(value)) {
+                        return toResultSet(search(tree, value, true, value, true));
+                    }
+                    return filter(tree, candidate -> Comparables.compare(candidate, value) == 0);
+                }
+            } finally {
+                releaseReadLock();
+            }
+        }
+        return super.getRecords(value);
+    }
+
+    @Override
+    public Set<QueryableEntry> getRecords(Set<Comparable> values) {
+        takeReadLock();
+        try {
+            LongBPlusTree<Object> tree = this.tree;
+            if (tree == null) {
+                return super.getRecords(values);
+            }
+
+            MultiResultSet results = createMultiResultSet();
+            for (Comparable value : values) {
+                if (value == NULL) {
+                    copyToMultiResultSet(results, getRecordsWithNullValue());
+                } else if (canEncodeExactly(value)) {
+                    Object posting = tree.get(kind.encode(value));
+                    if (posting != null) {
+                        addSnapshotToMultiResultSet(results, snapshotOf(posting));
+                    }
+                } else if (canSearch(value)) {
+                    Range range = search(tree, value, true, value, true);
+                    if (range != null) {
+                        for (Map<Data, QueryableEntry> records : range) {
+                            addSnapshotToMultiResultSet(results, records);
+                        }
+                    }
+                } else {
+                    addMatching(results, tree, candidate -> Comparables.compare(candidate, value) == 0);
+                }
+            }
+            return results;
+        } finally {
+            releaseReadLock();
+        }
+    }
+
+    @Override
+    public Set<QueryableEntry> getRecords(Comparison comparison, Comparable searchedValue) {
+        takeReadLock();
+        try {
+            LongBPlusTree<Object> tree = this.tree;
+            if (tree == null) {
+                return super.getRecords(comparison, searchedValue);
+            }
+
+            if (!canEncodeExactly(searchedValue)) {
+                if (canSearch(searchedValue)) {
+                    return toResultSet(search(tree, comparison, searchedValue));
+                }
+                return filter(tree, candidate -> matches(comparison, Comparables.compare(candidate, searchedValue)));
+            }
+
+            long key = kind.encode(searchedValue);
+            switch (comparison) {
+                case LESS:
+                    return range(tree, Long.MIN_VALUE, true, key, false);
+                case LESS_OR_EQUAL:
+                    return range(tree, Long.MIN_VALUE, true, key, true);
+                case GREATER:
+                    return range(tree, key, false, Long.MAX_VALUE, true);
+                case GREATER_OR_EQUAL:
+                    return range(tree, key, true, Long.MAX_VALUE, true);
+                default:
+                    throw new IllegalArgumentException("Unrecognized comparison: " + comparison);
+            }
+        } finally {
+            releaseReadLock();
+        }
+    }
+
+    @Override
+    public Set<QueryableEntry> getSortedRecords(Comparable from) {
+        takeReadLock();
+        try {
+            LongBPlusTree<Object> tree = this.tree;
+            if (tree == null) {
+                return super.getSortedRecords(from);
+            }
+
+            if (from == null) {
+                return range(tree, Long.MIN_VALUE, true, Long.MAX_VALUE, true);
+            }
+            if (!canEncodeExactly(from)) {
+                if (canSearch(from)) {
+                    return toResultSet(search(tree, from, true, null, false));
+                }
+                return filter(tree, candidate -> Comparables.compare(candidate, from) >= 0);
+            }
+            return range(tree, kind.encode(from), true, Long.MAX_VALUE, true);
+        } finally {
+            releaseReadLock();
+        }
+    }
+
+    @Override
+    public Set<QueryableEntry> getRecords(Comparable from, boolean fromInclusive, Comparable to, boolean toInclusive) {
+        takeReadLock();
+        try {
+            LongBPlusTree<Object> tree = this.tree;
+            if (tree == null) {
+                return super.getRecords(from, fromInclusive, to, toInclusive);
+            }
+
+            int order = Comparables.compare(from, to);
+            if (order > 0 || order == 0 && (!fromInclusive || !toInclusive)) {
+                return emptySet();
+            }
+
+            if (canEncodeExactly(from) && canEncodeExactly(to)) {
+                return range(tree, kind.encode(from), fromInclusive, kind.encode(to), toInclusive);
+            }
+            if (canSearch(from) && canSearch(to)) {
+                return toResultSet(search(tree, from, fromInclusive, to, toInclusive));
+            }
+            return filter(tree, from, fromInclusive, to, toInclusive);
+        } finally {
+            releaseReadLock();
+        }
+    }
+
+    /**
+     * Moves the contents of the given tree to the generic representation.
+     * Invoked under the write lock.
+     */
+    private void migrate(LongBPlusTree<Object> tree) {
+        Kind kind = this.kind;
+        // the lazy results created before the migration keep reading the
+        // detached tree, so it's never modified after this point
+        this.tree = null;
+        this.kind = null;
+        tree.forEach((key, posting) -> {
+            Comparable value = kind.decode(key);
+            for (QueryableEntry entry : toMap(posting, null).values()) {
+                super.insertInternal(value, entry);
+            }
+        });
+    }
+
+    /**
+     * @return {@code true} if the given query argument can be encoded into
+     * a key of the tree without changing the result of its comparisons with
+     * the stored values, {@code false} otherwise. Invoked under the lock.
+     */
+    private boolean canEncodeExactly(Comparable value) {
+        return kind != null && kind.canEncodeExactly(value);
+    }
+
+    /**
+     * @return {@code true} if the given query argument can be compared with
+     * the stored values, so its bounds can be searched in the key space,
+     * {@code false} otherwise. Invoked under the lock.
+     */
+    private boolean canSearch(Comparable value) {
+        return kind != null && kind.canSearch(value);
+    }
+
+    private Range search(LongBPlusTree<Object> tree, Comparison comparison, Comparable value) {
+        switch (comparison) {
+            case LESS:
+                return search(tree, null, false, value, false);
+            case LESS_OR_EQUAL:
+                return search(tree, null, false, value, true);
+            case GREATER:
+                return search(tree, value, false, null, false);
+            case GREATER_OR_EQUAL:
+                return search(tree, value, true, null, false);
+            default:
+                throw new IllegalArgumentException("Unrecognized comparison: " + comparison);
+        }
+    }
+
+    /**
+     * Finds the keys of the stored values within the given bounds, which
+     * don't have to be encodable exactly. The decoded values grow with the
+     * keys, so the key of every bound is binary searched in the key space.
+     * Invoked under the lock.
+     *
+     * @param from the lower bound or {@code null} if the range is unbounded.
+     * @param to   the upper bound or {@code null} if the range is unbounded.
+     * @return the keys found or {@code null} if there are no such keys.
+     */
+    private Range search(LongBPlusTree<Object> tree, Comparable from, boolean fromInclusive, Comparable to,
+                         boolean toInclusive) {
+        Kind kind = this.kind;
+        long fromKey = kind.minKey();
+        if (from != null) {
+            if (!isAbove(kind, Long.MAX_VALUE, from, fromInclusive)) {
+                return null;
+            }
+            fromKey = firstKeyAbove(kind, from, fromInclusive);
+        }
+
+        long toKey = Long.MAX_VALUE;
+        if (to != null && isAbove(kind, Long.MAX_VALUE, to, !toInclusive)) {
+            // the upper bound is right before the first excluded key
+            toKey = firstKeyAbove(kind, to, !toInclusive);
+            if (toKey == kind.minKey()) {
+                return null;
+            }
+            --toKey;
+        }
+        return fromKey <= toKey ? new Range(tree, fromKey, toKey) : null;
+    }
+
+    /**
+     * @return the smallest key which decoded value is greater than the given
+     * value or, if {@code orEqual} is set, equal to it. Such a key must exist.
+     */
+    private static long firstKeyAbove(Kind kind, Comparable value, boolean orEqual) {
+        long low = kind.minKey();
+        long high = Long.MAX_VALUE;
+        while (low < high) {
+            long middle = low + ((high - low) >>> 1);
+            if (isAbove(kind, middle, value, orEqual)) {
+                high = middle;
+            } else {
+                low = middle + 1;
+            }
+        }
+        return low;
+    }
+
+    private static boolean isAbove(Kind kind, long key, Comparable value, boolean orEqual) {
+        int order = Comparables.compare(kind.decode(key), value);
+        return order > 0 || orEqual && order == 0;
+    }
+
+    private Set<QueryableEntry> toResultSet(Range range) {
+        return range == null ? emptySet() : createLazyMultiResultSetOfSnapshots(range);
+    }
+
+    private Set<QueryableEntry> range(LongBPlusTree<Object> tree, long from, boolean fromInclusive, long to,
+                                      boolean toInclusive) {
+        if (!fromInclusive) {
+            if (from == Long.MAX_VALUE) {
+                return emptySet();
+            }
+            ++from;
+        }
+        if (!toInclusive) {
+            if (to == Long.MIN_VALUE) {
+                return emptySet();
+            }
+            --to;
+        }
+        if (from > to) {
+            return emptySet();
+        }
+        return createLazyMultiResultSetOfSnapshots(new Range(tree, from, to));
+    }
+
+    /**
+     * Evaluates a query argument which can't be searched in the key space,
+     * e.g. a value of an unrelated type, by comparing it with every decoded
+     * stored value. Invoked under the lock.
+     */
+    private Set<QueryableEntry> filter(LongBPlusTree<Object> tree, Predicate<Comparable> predicate) {
+        MultiResultSet results = createMultiResultSet();
+        addMatching(results, tree, predicate);
+        return results;
+    }
+
+    private Set<QueryableEntry> filter(LongBPlusTree<Object> tree, Comparable from, boolean fromInclusive, Comparable to,
+                                       boolean toInclusive) {
+        int fromBound = fromInclusive ? 0 : +1;
+        int toBound = toInclusive ? 0 : -1;
+        return filter(tree, candidate -> Comparables.compare(candidate, from) >= fromBound
+                && Comparables.compare(candidate, to) <= toBound);
+    }
+
+    private void addMatching(MultiResultSet results, LongBPlusTree<Object> tree, Predicate<Comparable> predicate) {
+        Kind kind = this.kind;
+        if (kind == null) {
+            return;
+        }
+        tree.forEach((key, posting) -> {
+            if (predicate.test(kind.decode(key))) {
+                addSnapshotToMultiResultSet(results, snapshotOf(posting));
+            }
+        });
+    }
+
+    private static boolean matches(Comparison comparison, int order) {
+        switch (comparison) {
+            case LESS:
+                return order < 0;
+            case LESS_OR_EQUAL:
+                return order <= 0;
+            case GREATER:
+                return order > 0;
+            case GREATER_OR_EQUAL:
+                return order >= 0;
+            default:
+                throw new IllegalArgumentException("Unrecognized comparison: " + comparison);
+        }
+    }
+
+    private static QueryableEntry find(Object posting, Data key) {
+        if (posting == null) {
+            return null;
+        } else if (posting instanceof QueryableEntry) {
+            QueryableEntry entry = (QueryableEntry) posting;
+            return entry.getKeyData().equals(key) ? entry : null;
+        } else if (posting instanceof QueryableEntry[]) {
+            for (QueryableEntry entry : (QueryableEntry[]) posting) {
+                if (entry.getKeyData().equals(key)) {
+                    return entry;
+                }
+            }
+            return null;
+        } else {
+            return asMap(posting).get(key);
+        }
+    }
+
+    /**
+     * Adds the given entry to the given posting, replacing the entry having
+     * the same key if any. Postings stored as single entries and arrays are
+     * never modified in place, so they may be read after releasing the lock.
+     *
+     * @return the posting containing the entry.
+     */
+    private Object add(Object posting, QueryableEntry entry) {
+        if (posting == null) {
+            return entry;
+        } else if (posting instanceof QueryableEntry) {
+            QueryableEntry existing = (QueryableEntry) posting;
+            return existing.getKeyData().equals(entry.getKeyData()) ? entry : new QueryableEntry[]{existing, entry};
+        } else if (posting instanceof QueryableEntry[]) {
+            QueryableEntry[] entries = (QueryableEntry[]) posting;
+            for (int i = 0; i < entries.length; ++i) {
+                if (entries[i].getKeyData().equals(entry.getKeyData())) {
+                    QueryableEntry[] copy = entries.clone();
+                    copy[i] = entry;
+                    return copy;
+                }
+            }
+            if (entries.length < POSTING_ARRAY_MAX_SIZE) {
+                QueryableEntry[] copy = new QueryableEntry[entries.length + 1];
+                System.arraycopy(entries, 0, copy, 0, entries.length);
+                copy[entries.length] = entry;
+                return copy;
+            }
+            Map<Data, QueryableEntry> map = toMap(entries, shareRecords ? new ConcurrentHashMap<>() : new HashMap<>());
+            map.put(entry.getKeyData(), entry);
+            return map;
+        } else {
+            asMap(posting).put(entry.getKeyData(), entry);
+            return posting;
+        }
+    }
+
+    /**
+     * Removes the entry having the given key from the given posting, the
+     * entry must be present in the posting.
+     *
+     * @return the posting without the entry or {@code null} if it's empty.
+     */
+    private static Object remove(Object posting, Data key) {
+        if (posting instanceof QueryableEntry) {
+            return null;
+        } else if (posting instanceof QueryableEntry[]) {
+            QueryableEntry[] entries = (QueryableEntry[]) posting;
+            if (entries.length == 2) {
+                return entries[0].getKeyData().equals(key) ? entries[1] : entries[0];
+            }
+            QueryableEntry[] copy = new QueryableEntry[entries.length - 1];
+            int index = 0;
+            for (QueryableEntry entry : entries) {
+                if (!entry.getKeyData().equals(key)) {
+                    copy[index++] = entry;
+                }
+            }
+            return copy;
+        } else {
+            Map<Data, QueryableEntry> map = asMap(posting);
+            map.remove(key);
+            if (map.size() <= POSTING_ARRAY_MAX_SIZE / 2) {
+                return map.values().toArray(new QueryableEntry[0]);
+            }
+            return posting;
+        }
+    }
+
+    /**
+     * Copies the entries of the given posting into the given map, creating
+     * a new map if the given one is {@code null}.
+     */
+    private static Map<Data, QueryableEntry> toMap(Object posting, Map<Data, QueryableEntry> map) {
+        if (posting == null) {
+            return map == null ? Collections.emptyMap() : map;
+        }
+        if (map == null) {
+            map = new HashMap<>();
+        }
+        if (posting instanceof QueryableEntry) {
+            QueryableEntry entry = (QueryableEntry) posting;
+            map.put(entry.getKeyData(), entry);
+        } else if (posting instanceof QueryableEntry[]) {
+            for (QueryableEntry entry : (QueryableEntry[]) posting) {
+                map.put(entry.getKeyData(), entry);
+            }
+        } else {
+            map.putAll(asMap(posting));
+        }
+        return map;
+    }
+
+    /**
+     * Returns the entries of the given posting for a query result, avoiding
+     * the hash map allocation for the single-entry postings. The entries are
+     * copied unless the store shares its records with the results, in which
+     * case the posting itself is returned. Invoked under the lock.
+     */
+    private Map<Data, QueryableEntry> snapshotOf(Object posting) {
+        if (posting instanceof QueryableEntry) {
+            QueryableEntry entry = (QueryableEntry) posting;
+            return Collections.singletonMap(entry.getKeyData(), entry);
+        }
+        if (shareRecords && posting != null) {
+            return posting instanceof QueryableEntry[] ? new PostingArrayMap((QueryableEntry[]) posting) : asMap(posting);
+        }
+        return toMap(posting, null);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<Data, QueryableEntry> asMap(Object posting) {
+        return (Map<Data, QueryableEntry>) posting;
+    }
+
+    /**
+     * The kinds of values which can be encoded into order-preserving longs.
+     */
+    private enum Kind {
+
+        /**
+         * Byte, short, integer and long values.
+         */
+        INTEGRAL {
+            @Override
+            long encode(Comparable value) {
+                Number number = (Number) value;
+                return isLongRepresentable(value.getClass()) ? number.longValue() : (long) number.doubleValue();
+            }
+
+            @Override
+            Comparable decode(long key) {
+                return key;
+            }
+
+            @Override
+            boolean canEncodeExactly(Comparable value) {
+                Class clazz = value.getClass();
+                if (isLongRepresentable(clazz)) {
+                    return true;
+                }
+                if (!isDoubleRepresentable(clazz)) {
+                    return false;
+                }
+                // integral doubles of the exact range compare with longs exactly
+                double doubleValue = ((Number) value).doubleValue();
+                return Math.abs(doubleValue) < MAX_EXACT_DOUBLE_LONG && equalDoubles(doubleValue, (long) doubleValue);
+            }
+        },
+
+        /**
+         * Float and double values encoded into longs preserving the {@link
+         * Double#compare} order.
+         */
+        FLOATING_POINT {
+            @Override
+            long encode(Comparable value) {
+                long bits = Double.doubleToLongBits(((Number) value).doubleValue());
+                return bits ^ (bits >> (Long.SIZE - 1) & Long.MAX_VALUE);
+            }
+
+            @Override
+            Comparable decode(long key) {
+                return Double.longBitsToDouble(key ^ (key >> (Long.SIZE - 1) & Long.MAX_VALUE));
+            }
+
+            @Override
+            boolean canEncodeExactly(Comparable value) {
+                Class clazz = value.getClass();
+                if (isDoubleRepresentable(clazz)) {
+                    return true;
+                }
+                // longs of the exact range compare with doubles exactly
+                if (!isLongRepresentable(clazz)) {
+                    return false;
+                }
+                long longValue = ((Number) value).longValue();
+                return longValue >= -MAX_EXACT_DOUBLE_LONG && longValue <= MAX_EXACT_DOUBLE_LONG;
+            }
+
+            @Override
+            long minKey() {
+                // the keys below decode to NaNs having the sign bit set
+                return encode(Double.NEGATIVE_INFINITY);
+            }
+        },
+
+        /**
+         * {@link Date} values, excluding its subclasses which may carry
+         * additional precision or compare differently.
+         */
+        DATE {
+            @Override
+            long encode(Comparable value) {
+                return ((Date) value).getTime();
+            }
+
+            @Override
+            Comparable decode(long key) {
+                return new Date(key);
+            }
+
+            @Override
+            boolean canEncodeExactly(Comparable value) {
+                return value.getClass() == Date.class;
+            }
+
+            @Override
+            boolean canSearch(Comparable value) {
+                return value instanceof Date;
+            }
+        };
+
+        abstract long encode(Comparable value);
+
+        abstract Comparable decode(long key);
+
+        abstract boolean canEncodeExactly(Comparable value);
+
+        /**
+         * @return {@code true} if the given query argument is comparable
+         * with the decoded values, {@code false} otherwise.
+         */
+        boolean canSearch(Comparable value) {
+            Class clazz = value.getClass();
+            return isLongRepresentable(clazz) || isDoubleRepresentable(clazz);
+        }
+
+        /**
+         * @return the smallest key the decoded values grow from.
+         */
+        long minKey() {
+            return Long.MIN_VALUE;
+        }
+
+        static Kind of(Comparable value) {
+            Class clazz = value.getClass();
+            if (isLongRepresentable(clazz)) {
+                return INTEGRAL;
+            } else if (isDoubleRepresentable(clazz)) {
+                return FLOATING_POINT;
+            } else if (clazz == Date.class) {
+                return DATE;
+            }
+            return null;
+        }
+
+    }
+
+    /**
+     * Read-only view of a posting array, the arrays are never modified in
+     * place, so the view can be returned without copying the entries.
+     */
+    private static final class PostingArrayMap extends AbstractMap<Data, QueryableEntry> {
+
+        private final QueryableEntry[] entries;
+
+        PostingArrayMap(QueryableEntry[] entries) {
+            this.entries = entries;
+        }
+
+        @Override
+        public QueryableEntry get(Object key) {
+            return find(entries, (Data) key);
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return get(key) != null;
+        }
+
+        @Override
+        public int size() {
+            return entries.length;
+        }
+
+        @Override
+        public Collection<QueryableEntry> values() {
+            return Collections.unmodifiableList(Arrays.asList(entries));
+        }
+
+        @Override
+        public Set<Entry<Data, QueryableEntry>> entrySet() {
+            return new AbstractSet<Entry<Data, QueryableEntry>>() {
+                @Override
+                public Iterator<Entry<Data, QueryableEntry>> iterator() {
+                    Iterator<QueryableEntry> iterator = values().iterator();
+                    return new Iterator<Entry<Data, QueryableEntry>>() {
+                        @Override
+                        public boolean hasNext() {
+                            return iterator.hasNext();
+                        }
+
+                        @Override
+                        public Entry<Data, QueryableEntry> next() {
+                            QueryableEntry entry = iterator.next();
+                            return new SimpleImmutableEntry<>(entry.getKeyData(), entry);
+                        }
+                    };
+                }
+
+                @Override
+                public int size() {
+                    return entries.length;
+                }
+            };
+        }
+
+    }
+
+    /**
+     * The buckets of the records having keys in the given inclusive range.
+     * Every bucket holds the records of a single key, the buckets are copied
+     * out of the tree under the read lock in batches of up to
+     * {@link #SCAN_BATCH_SIZE} keys.
+     */
+    private final class Range extends AbstractCollection<Map<Data, QueryableEntry>> {
+
+        private final LongBPlusTree<Object> tree;
+        private final long from;
+        private final long to;
+
+        Range(LongBPlusTree<Object> tree, long from, long to) {
+            this.tree = tree;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        public Iterator<Map<Data, QueryableEntry>> iterator() {
+            return new It();
+        }
+
+        @Override
+        public int size() {
+            int size = 0;
+            for (Iterator<Map<Data, QueryableEntry>> it = iterator(); it.hasNext(); it.next()) {
+                ++size;
+            }
+            return size;
+        }
+
+        /**
+         * Fetches the postings in batches under the read lock and yields a
+         * snapshot per key, so the buckets are iterated in the key order.
+         */
+        private final class It implements Iterator<Map<Data, QueryableEntry>> {
+
+            private final long[] keys = new long[SCAN_BATCH_SIZE];
+            private final Object[] postings = new Object[SCAN_BATCH_SIZE];
+            @SuppressWarnings("unchecked")
+            private final Map<Data, QueryableEntry>[] batch = new Map[SCAN_BATCH_SIZE];
+
+            private long nextFrom = from;
+            private boolean exhausted;
+            private int batchSize;
+            private int batchPosition;
+
+            @Override
+            public boolean hasNext() {
+                if (batchPosition == batchSize && !exhausted) {
+                    fetch();
+                }
+                return batchPosition < batchSize;
+            }
+
+            @Override
+            public Map<Data, QueryableEntry> next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                Map<Data, QueryableEntry> bucket = batch[batchPosition];
+                batch[batchPosition++] = null;
+                return bucket;
+            }
+
+            private void fetch() {
+                int count;
+                takeReadLock();
+                try {
+                    count = tree.scan(nextFrom, to, keys, postings);
+                    for (int i = 0; i < count; ++i) {
+                        batch[i] = snapshotOf(postings[i]);
+                        postings[i] = null;
+                    }
+                } finally {
+                    releaseReadLock();
+                }
+
+                batchSize = count;
+                batchPosition = 0;
+                if (count < SCAN_BATCH_SIZE || keys[count - 1] == to) {
+                    exhausted = true;
+                } else {
+                    nextFrom = keys[count - 1] + 1;
+                }
+            }
+
+        }
+
+    }
+
+}
@@ -90,6 +90,17 @@ public abstract class QueryableEntry<K, V> implements Extractable, Map.Entry<K,
 
     protected abstract Object getTargetObject(boolean key);
 
+    /**
+     * Extracts the given attribute from the key or the value of this entry.
+     * The implementations may avoid deserializing the key or value if the
+     * attribute can be extracted right from their serialized form.
+     *
+     * @see Extractors#getDataSchema
+     */
+    protected Object extractTargetAttributeValue(boolean key, String attributeName, Object metadata) {
+        return extractAttributeValueFromTargetObject(extractors, attributeName, getTargetObject(key), metadata);
+    }
+
     /**
      * Returns a converter corresponding to the attribute with the given name.
      * Never {@code null}, but may return {@link TypeConverters#NULL_CONVERTER}
@@ -121,9 +132,8 @@ public abstract class QueryableEntry<K, V> implements Extractable, Map.Entry<K,
         if (result == null) {
             boolean isKey = startsWithKeyConstant(attributeName);
             attributeName = getAttributeName(isKey, attributeName);
-            Object target = getTargetObject(isKey);
             Object metadata = getMetadataOrNull(this. getMetadata(), isKey);
-            result = extractAttributeValueFromTargetObject(extractors, attributeName, target, metadata);
+            result = extractTargetAttributeValue(isKey, attributeName, metadata);
         }
         if (result instanceof HazelcastJsonValue) {
             return Json.parse(result.toString());
@@ -246,6 +246,11 @@ public class UnorderedIndexStore extends BaseSingleValueIndexStore {
         }
     }
 
+    @Override
+    public Set<QueryableEntry> getSortedRecords(Comparable from) {
+        throw new UnsupportedOperationException("unordered indexes don't support sorted iteration");
+    }
+
     /**
      * Adds entry to the given index map without copying it.
      * Needs to be invoked in a thread-safe way.
@@ -0,0 +1,135 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.query.impl.bitmap;
+
+/**
+ * Iterates over the non-empty chunks of a set of non-negative {@code long}
+ * values in ascending order of the chunk keys.
+ * <p>
+ * Each chunk covers 2^16 consecutive values sharing the same high 48 bits,
+ * the chunk key. The values of the current chunk are exposed as a bit set of
+ * {@link #CHUNK_WORDS} long words, so set operations may combine whole words
+ * at a time instead of walking the values one by one.
+ */
+interface AscendingChunkIterator {
+
+    /**
+     * Identifies an iterator end.
+     */
+    long END = -1L;
+
+    /**
+     * The number of low bits of the values addressing them within their
+     * chunks.
+     */
+    int CHUNK_SHIFT = 16;
+
+    /**
+     * The number of long words needed to represent a chunk as a bit set.
+     */
+    int CHUNK_WORDS = (1 << CHUNK_SHIFT) / Long.SIZE;
+
+    /**
+     * Denotes an empty chunk iterator.
+     */
+    AscendingChunkIterator EMPTY = new EmptyChunkIterator();
+
+    /**
+     * Returns a key of the chunk at which this iterator is positioned
+     * currently or {@link #END} if this iterator has reached its end.
+     * <p>
+     * Just after the creation, iterators are positioned at their first chunk.
+     */
+    long getChunk();
+
+    /**
+     * Advances this iterator to the next chunk.
+     *
+     * @return a key of the chunk at which this iterator was positioned before
+     * the advancement or {@link #END} if this iterator already was at its end.
+     */
+    long advance();
+
+    /**
+     * Advances this iterator to the chunk having the given key; or, if there
+     * is no such chunk, to a chunk immediately following it.
+     *
+     * @param chunk the chunk key to advance at least to.
+     * @return a key of the chunk at which this iterator was advanced to or
+     * {@link #END} if this iterator reached its end.
+     */
+    long advanceAtLeastTo(long chunk);
+
+    /**
+     * Sets the bits of the values of the current chunk in the given words.
+     */
+    void orTo(long[] words);
+
+    /**
+     * Clears the bits of the given words which don't correspond to the values
+     * of the current chunk.
+     */
+    void andTo(long[] words);
+
+    /**
+     * Clears the bits of the values of the current chunk in the given words.
+     */
+    void andNotTo(long[] words);
+
+    /**
+     * The iterator of no chunks.
+     *
+     * @see #EMPTY
+     */
+    final class EmptyChunkIterator implements AscendingChunkIterator {
+
+        private EmptyChunkIterator() {
+        }
+
+        @Override
+        public long getChunk() {
+            return END;
+        }
+
+        @Override
+        public long advance() {
+            return END;
+        }
+
+        @Override
+        public long advanceAtLeastTo(long chunk) {
+            return END;
+        }
+
+        @Override
+        public void orTo(long[] words) {
+            throw new IllegalStateException();
+        }
+
+        @Override
+        public void andTo(long[] words) {
+            throw new IllegalStateException();
+        }
+
+        @Override
+        public void andNotTo(long[] words) {
+            throw new IllegalStateException();
+        }
+
+    }
+
+}
@@ -37,6 +37,11 @@ import java.util.Map;
  * Internally, each bitmap manages a set of sparse bit sets, one for each
  * possible attribute value, and a sparse array to map from unique {@code long}
  * entry keys back to entries.
+ * <p>
+ * The predicates combining several bit sets are evaluated on the {@link
+ * AscendingChunkIterator chunks} of the bit sets, so the bits are combined
+ * a word at a time. The keys of all the indexed entries are additionally
+ * tracked in a sparse bit set to serve as a universe for negations.
  *
  * @param <E> the type of entries being indexed.
  */
@@ -47,6 +52,8 @@ public final class Bitmap<E> {
 
     private final SparseArray<E> entries = new SparseArray<>();
 
+    private SparseBitSet keys = new SparseBitSet();
+
     /**
      * Inserts the given values associated with the given entry having the given
      * unique key.
@@ -54,8 +61,10 @@ public final class Bitmap<E> {
      * @param values the values to insert.
      * @param key    the unique key of the entry being inserted.
      * @param entry  the entry to insert.
+     * @return the entry previously associated with the given key or {@code
+     * null} if there was no such entry.
      */
-    public void insert(Iterator values, long key, E entry) {
+    public E insert(Iterator values, long key, E entry) {
         while (values.hasNext()) {
             Object value = values.next();
             assert value != null;
@@ -68,7 +77,10 @@ public final class Bitmap<E> {
             bitSet.add(key);
         }
 
+        E previous = entries.get(key);
         entries.set(key, entry);
+        keys.add(key);
+        return previous;
     }
 
     /**
@@ -79,8 +91,10 @@ public final class Bitmap<E> {
      * @param newValues the new values to replace with.
      * @param key       the unique key of the entry being updated.
      * @param entry     the entry to update.
+     * @return the entry previously associated with the given key or {@code
+     * null} if there was no such entry.
      */
-    public void update(Iterator oldValues, Iterator newValues, long key, E entry) {
+    public E update(Iterator oldValues, Iterator newValues, long key, E entry) {
         while (oldValues.hasNext()) {
             Object value = oldValues.next();
             assert value != null;
@@ -103,7 +117,10 @@ public final class Bitmap<E> {
             bitSet.add(key);
         }
 
+        E previous = entries.get(key);
         entries.set(key, entry);
+        keys.add(key);
+        return previous;
     }
 
     /**
@@ -112,8 +129,10 @@ public final class Bitmap<E> {
      *
      * @param values the values to remove.
      * @param key    the unique key of an entry being removed.
+     * @return the removed entry or {@code null} if there was no entry
+     * associated with the given key.
      */
-    public void remove(Iterator values, long key) {
+    public E remove(Iterator values, long key) {
         while (values.hasNext()) {
             Object value = values.next();
             assert value != null;
@@ -126,7 +145,10 @@ public final class Bitmap<E> {
             }
         }
 
+        E removed = entries.get(key);
         entries.clear(key);
+        keys.remove(key);
+        return removed;
     }
 
     /**
@@ -135,6 +157,7 @@ public final class Bitmap<E> {
     public void clear() {
         bitSets.clear();
         entries.clear();
+        keys = new SparseBitSet();
     }
 
     /**
@@ -151,11 +174,20 @@ public final class Bitmap<E> {
      * @return an iterator containing entries matching the given predicate.
      */
     public Iterator<E> evaluate(Predicate predicate, TypeConverter converter) {
-        return new EntryIterator<>(predicateIterator(predicate, converter), entries.iterator());
+        AscendingLongIterator iterator;
+        if (predicate instanceof EqualPredicate) {
+            // nothing to combine, iterate the bit set directly
+            Comparable value = ((EqualPredicate) predicate).getFrom();
+            SparseBitSet bitSet = bitSets.get(converter.convert(value));
+            iterator = bitSet == null ? AscendingLongIterator.EMPTY : bitSet.iterator();
+        } else {
+            iterator = BitmapAlgorithms.members(predicateIterator(predicate, converter));
+        }
+        return new EntryIterator<>(iterator, entries.iterator());
     }
 
     @SuppressWarnings("checkstyle:npathcomplexity")
-    private AscendingLongIterator predicateIterator(Predicate predicate, TypeConverter converter) {
+    private AscendingChunkIterator predicateIterator(Predicate predicate, TypeConverter converter) {
         if (predicate instanceof AndPredicate) {
             Predicate[] predicates = ((AndPredicate) predicate).getPredicates();
             assert predicates.length > 0;
@@ -178,12 +210,12 @@ public final class Bitmap<E> {
 
         if (predicate instanceof NotPredicate) {
             Predicate subPredicate = ((NotPredicate) predicate).getPredicate();
-            return BitmapAlgorithms.not(predicateIterator(subPredicate, converter), entries);
+            return BitmapAlgorithms.not(predicateIterator(subPredicate, converter), keys.chunkIterator());
         }
 
         if (predicate instanceof NotEqualPredicate) {
             Comparable value = ((NotEqualPredicate) predicate).getValue();
-            return BitmapAlgorithms.not(valueIterator(value, converter), entries);
+            return BitmapAlgorithms.not(valueIterator(value, converter), keys.chunkIterator());
         }
 
         if (predicate instanceof EqualPredicate) {
@@ -199,21 +231,21 @@ public final class Bitmap<E> {
         throw new IllegalArgumentException("unexpected predicate: " + predicate);
     }
 
-    private AscendingLongIterator[] predicateIterators(Predicate[] predicates, TypeConverter converter) {
-        AscendingLongIterator[] iterators = new AscendingLongIterator[predicates.length];
+    private AscendingChunkIterator[] predicateIterators(Predicate[] predicates, TypeConverter converter) {
+        AscendingChunkIterator[] iterators = new AscendingChunkIterator[predicates.length];
         for (int i = 0; i < predicates.length; ++i) {
             iterators[i] = predicateIterator(predicates[i], converter);
         }
         return iterators;
     }
 
-    private AscendingLongIterator valueIterator(Comparable value, TypeConverter converter) {
+    private AscendingChunkIterator valueIterator(Comparable value, TypeConverter converter) {
         SparseBitSet bitSet = bitSets.get(converter.convert(value));
-        return bitSet == null ? AscendingLongIterator.EMPTY : bitSet.iterator();
+        return bitSet == null ? AscendingChunkIterator.EMPTY : bitSet.chunkIterator();
     }
 
-    private AscendingLongIterator[] valueIterators(Comparable[] values, TypeConverter converter) {
-        AscendingLongIterator[] iterators = new AscendingLongIterator[values.length];
+    private AscendingChunkIterator[] valueIterators(Comparable[] values, TypeConverter converter) {
+        AscendingChunkIterator[] iterators = new AscendingChunkIterator[values.length];
         for (int i = 0; i < values.length; ++i) {
             iterators[i] = valueIterator(values[i], converter);
         }
@@ -16,13 +16,20 @@
 
 package com.hazelcast.query.impl.bitmap;
 
-import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
-
 import java.util.Arrays;
 
+import static com.hazelcast.query.impl.bitmap.AscendingChunkIterator.CHUNK_SHIFT;
+import static com.hazelcast.query.impl.bitmap.AscendingChunkIterator.CHUNK_WORDS;
+import static com.hazelcast.query.impl.bitmap.BitmapUtils.isEmpty;
+import static java.lang.Long.numberOfTrailingZeros;
+
 /**
  * Provides algorithms crucial for set operations on ordered iterators provided
  * by sparse bit sets.
+ * <p>
+ * The operations combine {@link AscendingChunkIterator chunk iterators} whole
+ * words of bits at a time, the tight loops over the words are cheap and
+ * friendly to the JIT vectorization.
  */
 final class BitmapAlgorithms {
 
@@ -30,280 +37,252 @@ final class BitmapAlgorithms {
     }
 
     /**
-     * @return an iterator that represents a result of intersection of the given
-     * iterators.
+     * @return a chunk iterator that represents a result of intersection of the
+     * given chunk iterators.
      */
-    public static AscendingLongIterator and(AscendingLongIterator[] iterators) {
-        return new AndIterator(iterators);
+    public static AscendingChunkIterator and(AscendingChunkIterator[] iterators) {
+        return new AndChunkIterator(iterators);
     }
 
     /**
-     * @return an iterator that represents a result of union over the given
-     * iterators.
+     * @return a chunk iterator that represents a result of union over the
+     * given chunk iterators.
      */
-    public static AscendingLongIterator or(AscendingLongIterator[] iterators) {
-        return new OrIterator(iterators);
+    public static AscendingChunkIterator or(AscendingChunkIterator[] iterators) {
+        return new OrChunkIterator(iterators);
     }
 
     /**
-     * @return an iterator that represents a result of negation of the given
-     * iterator over the given universe (a set of known elements).
+     * @return a chunk iterator that represents a result of negation of the
+     * given chunk iterator over the given universe (a set of known elements).
      */
-    public static AscendingLongIterator not(AscendingLongIterator iterator, SparseArray<?> universe) {
-        return new NotIterator(iterator, universe);
+    public static AscendingChunkIterator not(AscendingChunkIterator iterator, AscendingChunkIterator universe) {
+        return new NotChunkIterator(iterator, universe);
     }
 
-    private static final class AndIterator implements AscendingLongIterator {
-
-        // The idea: order iterators by their current index; if the index of the
-        // first iterator (minimum) equal to the last one (maximum), we have a
-        // match; otherwise advance the first iterator at least to the last
-        // iterator index (maximum) and make it the new maximum, make the
-        // iterator previously ordered second to be the new minimum, repeat
-        // checking for a match.
-
-        private final Node[] nodes;
-        private Node first;
-        private Node last;
+    /**
+     * @return an iterator over the members of the chunks provided by the given
+     * chunk iterator.
+     */
+    public static AscendingLongIterator members(AscendingChunkIterator iterator) {
+        return new ChunkMemberIterator(iterator);
+    }
 
-        private long index;
+    /**
+     * Base class for chunk iterators computing their chunks from the chunks
+     * of other iterators.
+     */
+    private abstract static class ComputedChunkIterator implements AscendingChunkIterator {
 
-        AndIterator(AscendingLongIterator[] iterators) {
-            Node[] nodes = new Node[iterators.length];
-            for (int i = 0; i < nodes.length; ++i) {
-                nodes[i] = new Node(iterators[i]);
-            }
-            this.nodes = nodes;
+        // the words of the current chunk
+        protected final long[] words = new long[CHUNK_WORDS];
 
-            orderAndLink();
-            advance();
-        }
+        protected long chunk;
 
         @Override
-        public long getIndex() {
-            return index;
+        public long getChunk() {
+            return chunk;
         }
 
         @Override
         public long advance() {
-            long current = index;
-
-            long min = first.iterator.getIndex();
-            long max = last.iterator.getIndex();
-
-            while (min != max && min != AscendingLongIterator.END && max != AscendingLongIterator.END) {
-                max = first.iterator.advanceAtLeastTo(max);
-
-                // The first iterator is now guaranteed to be at the maximum or
-                // beyond it, make it last and repeat.
-
-                Node second = first.next;
-                first.next = null;
-                last.next = first;
-                last = first;
-                first = second;
-
-                // The new first iterator is now our minimum.
-                min = first.iterator.getIndex();
-            }
-
-            if (max == AscendingLongIterator.END) {
-                index = AscendingLongIterator.END;
-                return current;
-            }
-
-            if (min != AscendingLongIterator.END) {
-                last.iterator.advance();
+            long current = chunk;
+            if (current != END) {
+                chunk = compute(current + 1);
             }
-            index = min;
             return current;
         }
 
         @Override
-        public long advanceAtLeastTo(long member) {
-            if (index >= member) {
-                return index;
+        public long advanceAtLeastTo(long target) {
+            if (chunk != END && chunk < target) {
+                chunk = compute(target);
             }
-
-            last.iterator.advanceAtLeastTo(member);
-            advance();
-
-            return index;
+            return chunk;
         }
 
-        private void orderAndLink() {
-            Arrays.sort(nodes);
-
-            first = nodes[0];
-            last = nodes[nodes.length - 1];
-
-            for (int i = 0; i < nodes.length - 1; ++i) {
-                nodes[i].next = nodes[i + 1];
+        @Override
+        public void orTo(long[] words) {
+            long[] source = this.words;
+            for (int i = 0; i < CHUNK_WORDS; ++i) {
+                words[i] |= source[i];
             }
-            last.next = null;
         }
 
-        @SuppressFBWarnings("EQ_COMPARETO_USE_OBJECT_EQUALS")
-        private static final class Node implements Comparable<Node> {
-
-            final AscendingLongIterator iterator;
-
-            Node next;
-
-            Node(AscendingLongIterator iterator) {
-                this.iterator = iterator;
-            }
-
-            @Override
-            public int compareTo(Node that) {
-                return Long.compare(this.iterator.getIndex(), that.iterator.getIndex());
+        @Override
+        public void andTo(long[] words) {
+            long[] source = this.words;
+            for (int i = 0; i < CHUNK_WORDS; ++i) {
+                words[i] &= source[i];
             }
+        }
 
-            @Override
-            public String toString() {
-                return Long.toString(iterator.getIndex());
+        @Override
+        public void andNotTo(long[] words) {
+            long[] source = this.words;
+            for (int i = 0; i < CHUNK_WORDS; ++i) {
+                words[i] &= ~source[i];
             }
-
         }
 
-    }
+        /**
+         * Computes the words of the first non-empty chunk having the given key
+         * or following it.
+         *
+         * @param target the chunk key to compute at least from.
+         * @return the key of the computed chunk or {@link #END} if there are
+         * no chunks left.
+         */
+        protected abstract long compute(long target);
 
-    private static final class OrIterator implements AscendingLongIterator {
+    }
 
-        // The idea: build a min-heap that will order the iterators according
-        // to their current indexes. Luckily enough, we need only sift-down
-        // operation to accomplish that since heap creation and heap element
-        // removal/update can be expressed solely with sift-downs.
+    private static final class AndChunkIterator extends ComputedChunkIterator {
 
-        private final AscendingLongIterator[] iterators;
+        // The idea: advance all the iterators to the maximum chunk key among
+        // them until they agree on it, then intersect the words of the chunk.
+        // Empty intersections are skipped.
 
-        private int size;
+        private final AscendingChunkIterator[] iterators;
 
-        OrIterator(AscendingLongIterator[] iterators) {
+        AndChunkIterator(AscendingChunkIterator[] iterators) {
+            assert iterators.length > 0;
             this.iterators = iterators;
-            this.size = iterators.length;
-
-            heapify();
-            removeEmptyIterators();
+            this.chunk = compute(0);
         }
 
         @Override
-        public long getIndex() {
-            return size == 0 ? AscendingLongIterator.END : iterators[0].getIndex();
-        }
+        protected long compute(long target) {
+            long max = target;
+            while (true) {
+                boolean aligned = true;
+                for (AscendingChunkIterator iterator : iterators) {
+                    long current = iterator.advanceAtLeastTo(max);
+                    if (current == END) {
+                        return END;
+                    }
+                    if (current != max) {
+                        max = current;
+                        aligned = false;
+                    }
+                }
 
-        @Override
-        public long advance() {
-            if (size == 0) {
-                return AscendingLongIterator.END;
+                if (aligned) {
+                    Arrays.fill(words, 0);
+                    iterators[0].orTo(words);
+                    for (int i = 1; i < iterators.length; ++i) {
+                        iterators[i].andTo(words);
+                    }
+                    if (!isEmpty(words)) {
+                        return max;
+                    }
+                    ++max;
+                }
             }
+        }
 
-            long current = iterators[0].getIndex();
-            update();
+    }
 
-            // skip duplicates if any
-            while (size > 0 && iterators[0].getIndex() == current) {
-                update();
-            }
+    private static final class OrChunkIterator extends ComputedChunkIterator {
 
-            return current;
+        // The idea: unite the words of all the iterators positioned at the
+        // minimum chunk key among them. Chunks provided by the iterators are
+        // never empty, so the union is never empty.
+
+        private final AscendingChunkIterator[] iterators;
+
+        OrChunkIterator(AscendingChunkIterator[] iterators) {
+            this.iterators = iterators;
+            this.chunk = compute(0);
         }
 
         @Override
-        public long advanceAtLeastTo(long member) {
-            if (size == 0) {
-                return AscendingLongIterator.END;
-            }
-
-            long index;
-            while ((index = iterators[0].getIndex()) < member) {
-                update();
-                if (size == 0) {
-                    return AscendingLongIterator.END;
+        protected long compute(long target) {
+            long min = Long.MAX_VALUE;
+            for (AscendingChunkIterator iterator : iterators) {
+                long current = iterator.advanceAtLeastTo(target);
+                if (current != END && current < min) {
+                    min = current;
                 }
             }
-            return index;
-        }
+            if (min == Long.MAX_VALUE) {
+                return END;
+            }
 
-        private void removeEmptyIterators() {
-            while (size > 0 && iterators[0].getIndex() == AscendingLongIterator.END) {
-                --size;
-                if (size != 0) {
-                    siftDown(0, iterators[size]);
+            Arrays.fill(words, 0);
+            for (AscendingChunkIterator iterator : iterators) {
+                if (iterator.getChunk() == min) {
+                    iterator.orTo(words);
                 }
             }
+            return min;
         }
 
-        private void update() {
-            assert size > 0;
-            AscendingLongIterator iterator = iterators[0];
-            long index = iterator.advance();
-            long newIndex = iterator.getIndex();
+    }
 
-            if (newIndex == AscendingLongIterator.END) {
-                --size;
-                if (size != 0) {
-                    siftDown(0, iterators[size]);
-                }
-            } else {
-                // Indexes are always increasing in each individual iterator,
-                // so we may just sift-down according to the index.
+    private static final class NotChunkIterator extends ComputedChunkIterator {
 
-                assert newIndex > index;
-                siftDown(0, iterator);
-            }
-        }
+        // The idea: subtract the words of the iterator from the words of the
+        // universe chunk by chunk. Empty differences are skipped.
 
-        private void heapify() {
-            // A textbook implementation of heapify described in Wikipedia,
-            // java.util.PriorityQueue uses the same.
+        private final AscendingChunkIterator iterator;
+        private final AscendingChunkIterator universe;
 
-            for (int i = (size >>> 1) - 1; i >= 0; i--) {
-                siftDown(i, iterators[i]);
-            }
+        NotChunkIterator(AscendingChunkIterator iterator, AscendingChunkIterator universe) {
+            this.iterator = iterator;
+            this.universe = universe;
+            this.chunk = compute(0);
         }
 
-        private void siftDown(int index, AscendingLongIterator iterator) {
-            // A tail-call-eliminated implementation of sift-down described in
-            // Wikipedia, similar to the one used by java.util.PriorityQueue.
-
-            int firstLeafIndex = size >>> 1;
-            while (index < firstLeafIndex) {
-                int childIndex = (index << 1) + 1;
-                AscendingLongIterator child = iterators[childIndex];
-                int rightChildIndex = childIndex + 1;
-                if (rightChildIndex < size && child.getIndex() > iterators[rightChildIndex].getIndex()) {
-                    childIndex = rightChildIndex;
-                    child = iterators[childIndex];
+        @Override
+        protected long compute(long target) {
+            long current = target;
+            while (true) {
+                current = universe.advanceAtLeastTo(current);
+                if (current == END) {
+                    return END;
+                }
+
+                Arrays.fill(words, 0);
+                universe.orTo(words);
+                if (iterator.advanceAtLeastTo(current) == current) {
+                    iterator.andNotTo(words);
                 }
-                if (iterator.getIndex() <= child.getIndex()) {
-                    break;
+                if (!isEmpty(words)) {
+                    return current;
                 }
-                iterators[index] = child;
-                index = childIndex;
+                ++current;
             }
-            iterators[index] = iterator;
         }
 
     }
 
-    private static final class NotIterator implements AscendingLongIterator {
+    private static final class ChunkMemberIterator implements AscendingLongIterator {
+
+        // The idea: materialize the words of the current chunk and consume
+        // their bits one by one.
+
+        // 2^6 = 64 = number of bits a long can store
+        private static final int BIT_SET_LONG_SHIFT = 6;
 
-        // The idea: find gaps in the base iterator and iterate indexes/members
-        // inside them using the universe iterator which contains all the known
-        // indexes.
+        private final AscendingChunkIterator iterator;
+        private final long[] words = new long[CHUNK_WORDS];
 
-        private final AscendingLongIterator iterator;
-        private final AscendingLongIterator universe;
+        // the first member of the current chunk
+        private long base;
+        // the index of the current word and its remaining bits
+        private int wordIndex;
+        private long word;
 
         private long index;
-        private long gapEnd;
 
-        NotIterator(AscendingLongIterator iterator, SparseArray<?> universe) {
+        ChunkMemberIterator(AscendingChunkIterator iterator) {
             this.iterator = iterator;
-            this.universe = universe.iterator();
-            gapEnd = iterator.advance();
-            advance();
+            if (load()) {
+                seek();
+            } else {
+                index = END;
+            }
         }
 
         @Override
@@ -314,68 +293,84 @@ final class BitmapAlgorithms {
         @Override
         public long advance() {
             long current = index;
-
-            long newIndex = universe.advance();
-            if (newIndex != gapEnd) {
-                // We still not reached the gap end, fast exit.
-
-                index = newIndex;
-                return current;
-            }
-
-            // Try to find a new gap.
-
-            long newGapEnd = gapEnd;
-            while (newIndex == newGapEnd && newIndex != AscendingLongIterator.END) {
-                long newGapStart;
-                do {
-                    // We may overflow here to Long.MIN_VALUE, but we will exit
-                    // the loop anyway. In this case, after exiting the loop,
-                    // newGapEnd will be equal to BitSetIterator.END.
-                    newGapStart = newGapEnd + 1;
-                    newGapEnd = iterator.advance();
-                } while (newGapEnd == newGapStart);
-
-                if (newGapStart == Long.MIN_VALUE) {
-                    // If the overflow happened, nothing left for sure.
-                    assert newGapEnd == AscendingLongIterator.END;
-
-                    // Position the universe to Long.MAX_VALUE and consume it.
-                    universe.advanceAtLeastTo(Long.MAX_VALUE);
-                    universe.advance();
-                    break;
-                } else {
-                    newIndex = universe.advanceAtLeastTo(newGapStart);
-                }
+            if (current != END) {
+                seek();
             }
-
-            index = universe.advance();
-            gapEnd = newGapEnd;
             return current;
         }
 
         @Override
         public long advanceAtLeastTo(long member) {
-            if (index >= member) {
-                // We are already at/beyond the member.
+            if (index == END || index >= member) {
                 return index;
             }
 
-            if (member > gapEnd) {
-                // Find out the new gap end and consume it.
-                gapEnd = iterator.advanceAtLeastTo(member);
-                iterator.advance();
+            long chunk = member >>> CHUNK_SHIFT;
+            if (chunk != base >>> CHUNK_SHIFT) {
+                iterator.advanceAtLeastTo(chunk);
+                if (!load()) {
+                    index = END;
+                    return END;
+                }
+                if (iterator.getChunk() != chunk) {
+                    // the requested chunk is empty, start from the next one
+                    seek();
+                    return index;
+                }
             }
-            // If existing/updated gap end is equal to the member, advance()
-            // will handle that. Gap end is either equal to the member or
-            // greater than it, since the gap end is part of the universe for
-            // sure.
 
-            universe.advanceAtLeastTo(member);
-            advance();
+            // consume all the bits preceding the member by zeroing them out
+            int bit = (int) (member - base);
+            wordIndex = bit >>> BIT_SET_LONG_SHIFT;
+            word = words[wordIndex] & -1L << bit;
+            seek();
             return index;
         }
 
+        /**
+         * Positions this iterator to the next set bit.
+         */
+        private void seek() {
+            while (true) {
+                if (word != 0) {
+                    index = base + (wordIndex << BIT_SET_LONG_SHIFT | numberOfTrailingZeros(word));
+                    // zero out the consumed bit
+                    word &= word - 1;
+                    return;
+                }
+
+                if (++wordIndex < CHUNK_WORDS) {
+                    word = words[wordIndex];
+                } else {
+                    iterator.advance();
+                    if (!load()) {
+                        index = END;
+                        return;
+                    }
+                }
+            }
+        }
+
+        /**
+         * Loads the words of the chunk the underlying iterator is positioned
+         * at.
+         *
+         * @return {@code true} if loaded, {@code false} if the underlying
+         * iterator reached its end.
+         */
+        private boolean load() {
+            long chunk = iterator.getChunk();
+            if (chunk == AscendingChunkIterator.END) {
+                return false;
+            }
+            Arrays.fill(words, 0);
+            iterator.orTo(words);
+            base = chunk << CHUNK_SHIFT;
+            wordIndex = -1;
+            word = 0;
+            return true;
+        }
+
     }
 
 }
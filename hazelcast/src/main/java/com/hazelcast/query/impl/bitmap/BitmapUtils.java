@@ -36,6 +36,9 @@ final class BitmapUtils {
      */
     private static final int CAPACITY_SHIFT = 2;
 
+    // 2^6 = 64 = number of bits a long can store
+    private static final int LONG_SHIFT = 6;
+
     private BitmapUtils() {
     }
 
@@ -160,6 +163,80 @@ final class BitmapUtils {
         return Math.max(SHORT_ARRAY_MIN_CAPACITY, capacity >>> CAPACITY_SHIFT);
     }
 
+    /**
+     * Sets the bits from the given inclusive index to the given exclusive
+     * index in the given words.
+     */
+    public static void setBits(long[] words, int from, int to) {
+        if (from >= to) {
+            return;
+        }
+        int fromWord = from >>> LONG_SHIFT;
+        int toWord = (to - 1) >>> LONG_SHIFT;
+        // shifts are taken modulo 64, so these are the masks of the bits
+        // starting at from and the bits up to to - 1 within their words
+        long fromMask = -1L << from;
+        long toMask = -1L >>> -to;
+        if (fromWord == toWord) {
+            words[fromWord] |= fromMask & toMask;
+            return;
+        }
+        words[fromWord] |= fromMask;
+        for (int i = fromWord + 1; i < toWord; ++i) {
+            words[i] = -1L;
+        }
+        words[toWord] |= toMask;
+    }
+
+    /**
+     * Clears the bits from the given inclusive index to the given exclusive
+     * index in the given words.
+     */
+    public static void clearBits(long[] words, int from, int to) {
+        if (from >= to) {
+            return;
+        }
+        int fromWord = from >>> LONG_SHIFT;
+        int toWord = (to - 1) >>> LONG_SHIFT;
+        long fromMask = -1L << from;
+        long toMask = -1L >>> -to;
+        if (fromWord == toWord) {
+            words[fromWord] &= ~(fromMask & toMask);
+            return;
+        }
+        words[fromWord] &= ~fromMask;
+        for (int i = fromWord + 1; i < toWord; ++i) {
+            words[i] = 0;
+        }
+        words[toWord] &= ~toMask;
+    }
+
+    /**
+     * Counts the runs of consecutive set bits in the given words.
+     */
+    public static int countRuns(long[] words) {
+        int runs = 0;
+        long carry = 0;
+        for (long word : words) {
+            // a bit starts a run if its preceding bit is not set
+            runs += Long.bitCount(word & ~(word << 1 | carry));
+            carry = word >>> (Long.SIZE - 1);
+        }
+        return runs;
+    }
+
+    /**
+     * @return {@code true} if no bits are set in the given words, {@code
+     * false} otherwise.
+     */
+    public static boolean isEmpty(long[] words) {
+        long union = 0;
+        for (long word : words) {
+            union |= word;
+        }
+        return union == 0;
+    }
+
     /**
      * Computes capacity delta for dense directly indexable int arrays.
      */
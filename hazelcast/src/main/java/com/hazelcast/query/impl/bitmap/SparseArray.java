@@ -51,6 +51,18 @@ final class SparseArray<E> {
     private int lastPrefix = -1;
     private SparseIntArray<E> lastStorage;
 
+    /**
+     * @return the value stored inside this sparse array at the given index or
+     * {@code null} if nothing stored at it.
+     */
+    public E get(long index) {
+        assert index >= 0;
+        int prefix = (int) (index >>> Integer.SIZE);
+
+        SparseIntArray<E> storage = prefix == lastPrefix ? lastStorage : storages.get(prefix);
+        return storage == null ? null : storage.get((int) index);
+    }
+
     /**
      * Sets or replaces a value at the given index in this sparse array to the
      * new given value.
@@ -18,6 +18,9 @@ package com.hazelcast.query.impl.bitmap;
 
 import static com.hazelcast.query.impl.bitmap.BitmapUtils.capacityDeltaInt;
 import static com.hazelcast.query.impl.bitmap.BitmapUtils.capacityDeltaShort;
+import static com.hazelcast.query.impl.bitmap.BitmapUtils.clearBits;
+import static com.hazelcast.query.impl.bitmap.BitmapUtils.countRuns;
+import static com.hazelcast.query.impl.bitmap.BitmapUtils.setBits;
 import static com.hazelcast.query.impl.bitmap.BitmapUtils.toUnsignedInt;
 import static com.hazelcast.query.impl.bitmap.BitmapUtils.toUnsignedLong;
 import static com.hazelcast.query.impl.bitmap.BitmapUtils.unsignedBinarySearch;
@@ -48,10 +51,19 @@ import static java.util.Arrays.copyOf;
  * 16-bit postfixes.
  * <li>{@link BitSetStorage16 BitSetStorage16} which manages directly indexable
  * long array of bits.
+ * <li>{@link RunStorage16 RunStorage16} which manages sorted short array of
+ * runs of consecutive 16-bit postfixes.
  * </ul>
  * <p>
  * The implementation (which was inspired by Roaring Bitmap) switches between
  * various storage flavors once certain thresholds on storage size are reached.
+ * Dense storages are converted to run storages if their members form just a
+ * few runs, that's typical for low-cardinality attributes of entries having
+ * adjacent keys.
+ * <p>
+ * Besides the member-by-member iteration, the storages support iteration
+ * over {@link AscendingChunkIterator chunks} allowing set operations to
+ * combine whole words of bits.
  * <p>
  * Empty storages are never stored by the implementation.
  */
@@ -71,12 +83,30 @@ final class SparseBitSet {
      */
     public static final int ARRAY_STORAGE_16_MAX_SIZE = 4096;
 
+    /**
+     * The number of runs at which RunStorage16 is converted back to
+     * ArrayStorage16 or BitSetStorage16. At this number of runs the memory
+     * cost of having sorted run array is equal to the cost of having directly
+     * indexable long array of bits.
+     */
+    public static final int RUN_STORAGE_16_MAX_SIZE = 2048;
+
+    /**
+     * The number of runs at or below which ArrayStorage16 and BitSetStorage16
+     * are converted to RunStorage16. It's lower than the maximum run storage
+     * size to avoid converting the storages back and forth on every change.
+     */
+    public static final int RUN_STORAGE_16_CONVERSION_SIZE = RUN_STORAGE_16_MAX_SIZE / 2;
+
+    private static final int STORAGE_16_CAPACITY = 1 << Short.SIZE;
+
     private static final long INT_PREFIX_MASK = 0xFFFFFFFF00000000L;
     private static final long INT_POSTFIX_MASK = 0x00000000FFFFFFFFL;
     private static final long SHORT_PREFIX_MASK = 0x00000000FFFF0000L;
     private static final long INT_PREFIX_SHORT_POSTFIX_MASK = 0xFFFFFFFF0000FFFFL;
     private static final long INT_PREFIX_SHORT_PREFIX_MASK = 0xFFFFFFFFFFFF0000L;
     private static final long SHORT_POSTFIX_MASK = 0x000000000000FFFFL;
+    private static final long CHUNK_INT_PREFIX_MASK = 0xFFFFFFFFFFFF0000L;
 
     private final SparseIntArray<Storage32> storages = new SparseIntArray<>();
 
@@ -164,6 +194,32 @@ final class SparseBitSet {
         return new IteratorImpl(storages);
     }
 
+    /**
+     * @return an iterator that iterates over the chunks of the indexes of bits
+     * set in this sparse bit set.
+     */
+    public AscendingChunkIterator chunkIterator() {
+        return new ChunkIteratorImpl(storages);
+    }
+
+    /**
+     * Counts the runs of consecutive members in the given sorted members array
+     * with the given member inserted at the given index.
+     */
+    private static int countArrayRuns(short[] members, short member, int index) {
+        int runs = 0;
+        // makes sure the very first member starts a new run
+        int previous = Integer.MIN_VALUE;
+        for (int i = 0; i <= members.length; ++i) {
+            int current = toUnsignedInt(i < index ? members[i] : i == index ? member : members[i - 1]);
+            if (current != previous + 1) {
+                ++runs;
+            }
+            previous = current;
+        }
+        return runs;
+    }
+
     /**
      * Defines internal contract of storages responsible for storing of 32-bit
      * postfixes.
@@ -234,6 +290,28 @@ final class SparseBitSet {
          */
         boolean advanceAtLeastTo(int member, IteratorImpl iterator);
 
+        /**
+         * Positions the given chunk iterator to the chunk of this storage
+         * having the given 16-bit prefix; or, if there is no such chunk, to a
+         * chunk immediately following it.
+         *
+         * @param prefix       the unsigned 16-bit prefix of the chunk.
+         * @param fromPosition the position to start the search from.
+         * @param iterator     the iterator to position.
+         * @return {@code true} if the iterator is positioned, {@code false}
+         * if no such chunk exists in this storage.
+         */
+        boolean iterateChunksAtLeastFrom(int prefix, int fromPosition, ChunkIteratorImpl iterator);
+
+        /**
+         * Advances the given chunk iterator on this storage.
+         *
+         * @param iterator the iterator to advance.
+         * @return {@code true} if the iterator is advanced to the next chunk,
+         * {@code false} if no chunks to iterate are left in this storage.
+         */
+        boolean advanceChunk(ChunkIteratorImpl iterator);
+
     }
 
     /**
@@ -376,6 +454,47 @@ final class SparseBitSet {
             return true;
         }
 
+        @Override
+        public boolean iterateChunksAtLeastFrom(int prefix, int fromPosition, ChunkIteratorImpl iterator) {
+            if (fromPosition == size) {
+                return false;
+            }
+            int position = unsignedBinarySearch(members, fromPosition, size, toUnsignedLong(prefix << Short.SIZE));
+            if (position < 0) {
+                position = -(position + 1);
+                if (position == size) {
+                    return false;
+                }
+            }
+            positionChunk(position, iterator);
+            return true;
+        }
+
+        @Override
+        public boolean advanceChunk(ChunkIteratorImpl iterator) {
+            int position = iterator.position32;
+            if (position == size) {
+                return false;
+            }
+            positionChunk(position, iterator);
+            return true;
+        }
+
+        private void positionChunk(int from, ChunkIteratorImpl iterator) {
+            // the members of a chunk are the ones sharing the same 16-bit prefix
+            int prefix = members[from] >>> Short.SIZE;
+            int to = from + 1;
+            while (to < size && members[to] >>> Short.SIZE == prefix) {
+                ++to;
+            }
+
+            iterator.storage16 = null;
+            iterator.members32 = members;
+            iterator.from32 = from;
+            iterator.position32 = to;
+            iterator.chunk = iterator.chunk & CHUNK_INT_PREFIX_MASK | prefix;
+        }
+
     }
 
     /**
@@ -648,6 +767,39 @@ final class SparseBitSet {
             return iterateAtLeastFrom(member, position, iterator);
         }
 
+        @Override
+        public boolean iterateChunksAtLeastFrom(int prefix, int fromPosition, ChunkIteratorImpl iterator) {
+            if (fromPosition == size) {
+                return false;
+            }
+            int position = unsignedBinarySearch(prefixes, fromPosition, size, prefix);
+            if (position < 0) {
+                position = -(position + 1);
+                if (position == size) {
+                    return false;
+                }
+            }
+            positionChunk(position, iterator);
+            return true;
+        }
+
+        @Override
+        public boolean advanceChunk(ChunkIteratorImpl iterator) {
+            int position = iterator.position32;
+            if (position == size) {
+                return false;
+            }
+            positionChunk(position, iterator);
+            return true;
+        }
+
+        private void positionChunk(int position, ChunkIteratorImpl iterator) {
+            iterator.storage16 = storages[position];
+            iterator.members32 = null;
+            iterator.position32 = position + 1;
+            iterator.chunk = iterator.chunk & CHUNK_INT_PREFIX_MASK | toUnsignedInt(prefixes[position]);
+        }
+
         private void append(int member) {
             short prefix = (short) (member >>> Short.SIZE);
 
@@ -780,6 +932,28 @@ final class SparseBitSet {
          */
         boolean advanceAtLeastTo(short member, IteratorImpl iterator);
 
+        /**
+         * Sets the bits of the members of this storage in the given words.
+         *
+         * @see AscendingChunkIterator#orTo
+         */
+        void orTo(long[] words);
+
+        /**
+         * Clears the bits of the given words which don't correspond to the
+         * members of this storage.
+         *
+         * @see AscendingChunkIterator#andTo
+         */
+        void andTo(long[] words);
+
+        /**
+         * Clears the bits of the members of this storage in the given words.
+         *
+         * @see AscendingChunkIterator#andNotTo
+         */
+        void andNotTo(long[] words);
+
     }
 
     /**
@@ -823,6 +997,16 @@ final class SparseBitSet {
             this.members = members;
         }
 
+        /**
+         * Constructs a new storage by downgrading from the given sorted members
+         * of a {@link RunStorage16}.
+         */
+        ArrayStorage16(short[] members, int size) {
+            assert size < ARRAY_STORAGE_16_MAX_SIZE;
+            this.size = size;
+            this.members = members;
+        }
+
         @Override
         public Storage16 add(short member) {
             int index = unsignedBinarySearch(members, size, toUnsignedInt(member));
@@ -836,6 +1020,10 @@ final class SparseBitSet {
                 // No space left: try to grow members array.
 
                 if (size == ARRAY_STORAGE_16_MAX_SIZE) {
+                    int runs = countArrayRuns(members, member, index);
+                    if (runs <= RUN_STORAGE_16_CONVERSION_SIZE) {
+                        return new RunStorage16(members, member, index, runs);
+                    }
                     return new BitSetStorage16(members, member, index);
                 }
 
@@ -946,6 +1134,34 @@ final class SparseBitSet {
             return true;
         }
 
+        @Override
+        public void orTo(long[] words) {
+            for (int i = 0; i < size; ++i) {
+                int member = toUnsignedInt(members[i]);
+                words[member >>> BitSetStorage16.BIT_SET_LONG_SHIFT] |= 1L << member;
+            }
+        }
+
+        @Override
+        public void andTo(long[] words) {
+            // clear the gaps between the members
+            int gapStart = 0;
+            for (int i = 0; i < size; ++i) {
+                int member = toUnsignedInt(members[i]);
+                clearBits(words, gapStart, member);
+                gapStart = member + 1;
+            }
+            clearBits(words, gapStart, STORAGE_16_CAPACITY);
+        }
+
+        @Override
+        public void andNotTo(long[] words) {
+            for (int i = 0; i < size; ++i) {
+                int member = toUnsignedInt(members[i]);
+                words[member >>> BitSetStorage16.BIT_SET_LONG_SHIFT] &= ~(1L << member);
+            }
+        }
+
         /**
          * Appends the given member to this storage. The given member must be
          * greater than any member already known by this storage.
@@ -973,6 +1189,10 @@ final class SparseBitSet {
         private static final int MIN_SIZE = ARRAY_STORAGE_16_MAX_SIZE - 1;
         private static final int SIZE = 1024;
 
+        // the runs are counted once per this number of added members, must be
+        // a power of two
+        private static final int RUN_CHECK_INTERVAL = 1024;
+
         // masks lower 6 bits
         private static final long POSTFIX_MASK = 0xFFFFFFFFFFFFFFC0L;
 
@@ -994,6 +1214,15 @@ final class SparseBitSet {
             this.size = members.length + 1;
         }
 
+        /**
+         * Constructs a new bit set storage by converting from the given
+         * storage.
+         */
+        BitSetStorage16(Storage16 storage, int size) {
+            storage.orTo(members);
+            this.size = size;
+        }
+
         @Override
         public Storage16 add(short member) {
             int bitIndex = toUnsignedInt(member);
@@ -1005,6 +1234,12 @@ final class SparseBitSet {
 
             if (newBitSet != bitSet) {
                 ++size;
+                if ((size & RUN_CHECK_INTERVAL - 1) == 0) {
+                    int runs = countRuns(members);
+                    if (runs <= RUN_STORAGE_16_CONVERSION_SIZE) {
+                        return new RunStorage16(members, size, runs);
+                    }
+                }
             }
             return this;
         }
@@ -1095,6 +1330,30 @@ final class SparseBitSet {
             return advance(iterator);
         }
 
+        @Override
+        public void orTo(long[] words) {
+            long[] members = this.members;
+            for (int i = 0; i < SIZE; ++i) {
+                words[i] |= members[i];
+            }
+        }
+
+        @Override
+        public void andTo(long[] words) {
+            long[] members = this.members;
+            for (int i = 0; i < SIZE; ++i) {
+                words[i] &= members[i];
+            }
+        }
+
+        @Override
+        public void andNotTo(long[] words) {
+            long[] members = this.members;
+            for (int i = 0; i < SIZE; ++i) {
+                words[i] &= ~members[i];
+            }
+        }
+
         private void append(short member) {
             int bitIndex = toUnsignedInt(member);
             members[bitIndex >>> BIT_SET_LONG_SHIFT] |= 1L << bitIndex;
@@ -1102,6 +1361,330 @@ final class SparseBitSet {
 
     }
 
+    /**
+     * Manages sorted short array of runs of consecutive indexes of set bits.
+     * Each run is stored as a pair of its first and last members.
+     */
+    private static final class RunStorage16 implements Storage16 {
+
+        private static final int MIN_CAPACITY = 2;
+
+        // the number of stored runs
+        private int size;
+        // the runs as [start0, end0, start1, end1, ...], both ends inclusive
+        private short[] runs;
+        // the number of members
+        private int cardinality;
+
+        /**
+         * Constructs a new run storage for the given sorted members array of
+         * {@link ArrayStorage16} and the given member to insert at the given
+         * index.
+         */
+        RunStorage16(short[] members, short member, int index, int runCount) {
+            this.runs = new short[Math.max(MIN_CAPACITY, runCount) << 1];
+            for (int i = 0; i < index; ++i) {
+                append(toUnsignedInt(members[i]));
+            }
+            append(toUnsignedInt(member));
+            for (int i = index; i < members.length; ++i) {
+                append(toUnsignedInt(members[i]));
+            }
+            assert size == runCount;
+            this.cardinality = members.length + 1;
+        }
+
+        /**
+         * Constructs a new run storage by converting from the given {@link
+         * BitSetStorage16} data.
+         */
+        RunStorage16(long[] bits, int cardinality, int runCount) {
+            this.runs = new short[Math.max(MIN_CAPACITY, runCount) << 1];
+            this.cardinality = cardinality;
+
+            // The idea: find the lowest set bit of the current word, it starts
+            // a run; then set all the bits below it and find the lowest unset
+            // bit, possibly in one of the following words, it ends the run.
+
+            int index = 0;
+            long word = bits[0];
+            while (true) {
+                while (word == 0) {
+                    if (++index == bits.length) {
+                        assert size == runCount;
+                        return;
+                    }
+                    word = bits[index];
+                }
+                int start = index << BitSetStorage16.BIT_SET_LONG_SHIFT | numberOfTrailingZeros(word);
+
+                word |= word - 1;
+                while (word == -1L) {
+                    if (++index == bits.length) {
+                        appendRun(start, STORAGE_16_CAPACITY - 1);
+                        assert size == runCount;
+                        return;
+                    }
+                    word = bits[index];
+                }
+                int end = (index << BitSetStorage16.BIT_SET_LONG_SHIFT | numberOfTrailingZeros(~word)) - 1;
+                appendRun(start, end);
+
+                // zero out the consumed run
+                word &= word + 1;
+            }
+        }
+
+        @Override
+        public Storage16 add(short member) {
+            int unsignedMember = toUnsignedInt(member);
+            int run = findRun(unsignedMember);
+            if (run >= 0 && unsignedMember <= end(run)) {
+                // already in a run
+                return this;
+            }
+            ++cardinality;
+
+            boolean extendsPrevious = run >= 0 && end(run) + 1 == unsignedMember;
+            boolean extendsNext = run + 1 < size && start(run + 1) == unsignedMember + 1;
+            if (extendsPrevious && extendsNext) {
+                // the member joins the runs around it
+                runs[(run << 1) + 1] = runs[(run << 1) + 3];
+                removeRun(run + 1);
+            } else if (extendsPrevious) {
+                runs[(run << 1) + 1] = member;
+            } else if (extendsNext) {
+                runs[(run + 1) << 1] = member;
+            } else {
+                insertRun(run + 1, member, member);
+                if (size > RUN_STORAGE_16_MAX_SIZE) {
+                    return convert();
+                }
+            }
+            return this;
+        }
+
+        @Override
+        public Storage16 remove(short member) {
+            int unsignedMember = toUnsignedInt(member);
+            int run = findRun(unsignedMember);
+            if (run < 0 || unsignedMember > end(run)) {
+                // not a member
+                return this;
+            }
+
+            --cardinality;
+            if (cardinality == 0) {
+                // emptied
+                return null;
+            }
+
+            int start = start(run);
+            int end = end(run);
+            if (start == end) {
+                removeRun(run);
+            } else if (unsignedMember == start) {
+                runs[run << 1] = (short) (unsignedMember + 1);
+            } else if (unsignedMember == end) {
+                runs[(run << 1) + 1] = (short) (unsignedMember - 1);
+            } else {
+                // split the run
+                runs[(run << 1) + 1] = (short) (unsignedMember - 1);
+                insertRun(run + 1, (short) (unsignedMember + 1), (short) end);
+                if (size > RUN_STORAGE_16_MAX_SIZE) {
+                    return convert();
+                }
+            }
+            return this;
+        }
+
+        @Override
+        public void iterate(IteratorImpl iterator) {
+            assert size > 0;
+            iterator.position16 = 0;
+            iterator.index = iterator.index & INT_PREFIX_SHORT_PREFIX_MASK | start(0);
+        }
+
+        @Override
+        public boolean advance(IteratorImpl iterator) {
+            long current = iterator.index;
+            int run = iterator.position16;
+            if ((current & SHORT_POSTFIX_MASK) < end(run)) {
+                // still in the run
+                iterator.index = current + 1;
+                return true;
+            }
+
+            ++run;
+            if (run == size) {
+                return false;
+            }
+            iterator.index = current & INT_PREFIX_SHORT_PREFIX_MASK | start(run);
+            iterator.position16 = run;
+            return true;
+        }
+
+        @Override
+        public boolean iterateAtLeastFrom(short member, IteratorImpl iterator) {
+            return iterateAtLeastFrom(toUnsignedInt(member), 0, iterator);
+        }
+
+        @Override
+        public boolean advanceAtLeastTo(short member, IteratorImpl iterator) {
+            assert (iterator.index & SHORT_POSTFIX_MASK) < toUnsignedInt(member);
+            return iterateAtLeastFrom(toUnsignedInt(member), iterator.position16, iterator);
+        }
+
+        @Override
+        public void orTo(long[] words) {
+            for (int run = 0; run < size; ++run) {
+                setBits(words, start(run), end(run) + 1);
+            }
+        }
+
+        @Override
+        public void andTo(long[] words) {
+            // clear the gaps between the runs
+            int gapStart = 0;
+            for (int run = 0; run < size; ++run) {
+                clearBits(words, gapStart, start(run));
+                gapStart = end(run) + 1;
+            }
+            clearBits(words, gapStart, STORAGE_16_CAPACITY);
+        }
+
+        @Override
+        public void andNotTo(long[] words) {
+            for (int run = 0; run < size; ++run) {
+                clearBits(words, start(run), end(run) + 1);
+            }
+        }
+
+        private boolean iterateAtLeastFrom(int unsignedMember, int fromRun, IteratorImpl iterator) {
+            // find the first run ending at or after the member
+            int left = fromRun;
+            int right = size - 1;
+            while (left <= right) {
+                int middle = (left + right) >>> 1;
+                if (end(middle) < unsignedMember) {
+                    left = middle + 1;
+                } else {
+                    right = middle - 1;
+                }
+            }
+            if (left == size) {
+                return false;
+            }
+
+            iterator.index = iterator.index & INT_PREFIX_SHORT_PREFIX_MASK | Math.max(unsignedMember, start(left));
+            iterator.position16 = left;
+            return true;
+        }
+
+        /**
+         * @return the index of the last run starting at or before the given
+         * member or {@code -1} if there is no such run.
+         */
+        private int findRun(int unsignedMember) {
+            int left = 0;
+            int right = size - 1;
+            while (left <= right) {
+                int middle = (left + right) >>> 1;
+                if (start(middle) <= unsignedMember) {
+                    left = middle + 1;
+                } else {
+                    right = middle - 1;
+                }
+            }
+            return right;
+        }
+
+        private int start(int run) {
+            return toUnsignedInt(runs[run << 1]);
+        }
+
+        private int end(int run) {
+            return toUnsignedInt(runs[(run << 1) + 1]);
+        }
+
+        private void append(int member) {
+            if (size != 0 && end(size - 1) + 1 == member) {
+                runs[(size << 1) - 1] = (short) member;
+            } else {
+                appendRun(member, member);
+            }
+        }
+
+        private void appendRun(int start, int end) {
+            assert runs.length > size << 1;
+            runs[size << 1] = (short) start;
+            runs[(size << 1) + 1] = (short) end;
+            ++size;
+        }
+
+        private void insertRun(int run, short start, short end) {
+            int position = run << 1;
+            int length = size << 1;
+            if (length == runs.length) {
+                // No space left: grow the runs array.
+
+                int newCapacity = size + capacityDeltaShort(size);
+                short[] newRuns = new short[newCapacity << 1];
+                arraycopy(runs, 0, newRuns, 0, position);
+                arraycopy(runs, position, newRuns, position + 2, length - position);
+                runs = newRuns;
+            } else {
+                // shift the runs right to free a slot for the new run
+                arraycopy(runs, position, runs, position + 2, length - position);
+            }
+            runs[position] = start;
+            runs[position + 1] = end;
+            ++size;
+        }
+
+        private void removeRun(int run) {
+            --size;
+            int position = run << 1;
+            int length = size << 1;
+
+            int capacity = runs.length >>> 1;
+            int delta = capacityDeltaShort(capacity);
+            int wasted = capacity - size;
+            int newCapacity = capacity - delta;
+            if (wasted >= delta && newCapacity >= MIN_CAPACITY) {
+                // We are wasting too much: shrink the array.
+
+                short[] newRuns = new short[newCapacity << 1];
+                arraycopy(runs, 0, newRuns, 0, position);
+                arraycopy(runs, position + 2, newRuns, position, length - position);
+                runs = newRuns;
+            } else {
+                // shift the runs left to fill the gap
+                arraycopy(runs, position + 2, runs, position, length - position);
+            }
+        }
+
+        /**
+         * Converts this storage to another flavor once it has too many runs.
+         */
+        private Storage16 convert() {
+            if (cardinality >= ARRAY_STORAGE_16_MAX_SIZE) {
+                return new BitSetStorage16(this, cardinality);
+            }
+
+            short[] members = new short[Math.min(ARRAY_STORAGE_16_MAX_SIZE, cardinality + capacityDeltaShort(cardinality))];
+            int index = 0;
+            for (int run = 0; run < size; ++run) {
+                for (int member = start(run), end = end(run); member <= end; ++member) {
+                    members[index++] = (short) member;
+                }
+            }
+            assert index == cardinality;
+            return new ArrayStorage16(members, cardinality);
+        }
+
+    }
+
     /**
      * Iterates over sparse bit sets.
      */
@@ -1248,4 +1831,151 @@ final class SparseBitSet {
 
     }
 
+    /**
+     * Iterates over the chunks of sparse bit sets.
+     */
+    private static final class ChunkIteratorImpl extends SparseIntArray.Iterator<Storage32>
+            implements AscendingChunkIterator {
+
+        // the root storage mapping 32-bit prefixes to 32-bit postfix storages
+        private final SparseIntArray<Storage32> storage64;
+
+        // the position of the next chunk in the current Storage32
+        private int position32;
+
+        // the Storage16 of the current chunk if the current Storage32 is a
+        // PrefixStorage32
+        private Storage16 storage16;
+        // the members and the position of the first member of the current
+        // chunk if the current Storage32 is an ArrayStorage32
+        private int[] members32;
+        private int from32;
+
+        // the current chunk key, constructed cooperatively by all storages
+        private long chunk;
+
+        ChunkIteratorImpl(SparseIntArray<Storage32> storage64) {
+            this.storage64 = storage64;
+            long prefix = storage64.iterate(this);
+            if (prefix != SparseIntArray.Iterator.END) {
+                iterate(prefix);
+            } else {
+                chunk = AscendingChunkIterator.END;
+            }
+        }
+
+        @Override
+        public long getChunk() {
+            return chunk;
+        }
+
+        @Override
+        public long advance() {
+            long current = chunk;
+            if (current == AscendingChunkIterator.END) {
+                return AscendingChunkIterator.END;
+            }
+
+            if (!getValue().advanceChunk(this)) {
+                advanceStorage32((int) (current >>> Short.SIZE));
+            }
+            return current;
+        }
+
+        @Override
+        public long advanceAtLeastTo(long target) {
+            long current = chunk;
+            if (current == AscendingChunkIterator.END || current >= target) {
+                return current;
+            }
+
+            int targetPrefix = (int) (target >>> Short.SIZE);
+            int currentPrefix = (int) (current >>> Short.SIZE);
+            int targetPostfix = (int) (target & SHORT_POSTFIX_MASK);
+
+            if (targetPrefix == currentPrefix) {
+                if (!getValue().iterateChunksAtLeastFrom(targetPostfix, position32, this)) {
+                    advanceStorage32(currentPrefix);
+                }
+                return chunk;
+            }
+
+            long prefix = storage64.advanceAtLeastTo(targetPrefix, currentPrefix, this);
+            if (prefix == SparseIntArray.Iterator.END) {
+                chunk = AscendingChunkIterator.END;
+            } else if (prefix == targetPrefix) {
+                chunk = prefix << Short.SIZE;
+                if (!getValue().iterateChunksAtLeastFrom(targetPostfix, 0, this)) {
+                    advanceStorage32(targetPrefix);
+                }
+            } else {
+                iterate(prefix);
+            }
+            return chunk;
+        }
+
+        @Override
+        public void orTo(long[] words) {
+            if (storage16 != null) {
+                storage16.orTo(words);
+                return;
+            }
+
+            int[] members = members32;
+            for (int i = from32; i < position32; ++i) {
+                int member = members[i] & (int) SHORT_POSTFIX_MASK;
+                words[member >>> BitSetStorage16.BIT_SET_LONG_SHIFT] |= 1L << member;
+            }
+        }
+
+        @Override
+        public void andTo(long[] words) {
+            if (storage16 != null) {
+                storage16.andTo(words);
+                return;
+            }
+
+            // clear the gaps between the members
+            int[] members = members32;
+            int gapStart = 0;
+            for (int i = from32; i < position32; ++i) {
+                int member = members[i] & (int) SHORT_POSTFIX_MASK;
+                clearBits(words, gapStart, member);
+                gapStart = member + 1;
+            }
+            clearBits(words, gapStart, STORAGE_16_CAPACITY);
+        }
+
+        @Override
+        public void andNotTo(long[] words) {
+            if (storage16 != null) {
+                storage16.andNotTo(words);
+                return;
+            }
+
+            int[] members = members32;
+            for (int i = from32; i < position32; ++i) {
+                int member = members[i] & (int) SHORT_POSTFIX_MASK;
+                words[member >>> BitSetStorage16.BIT_SET_LONG_SHIFT] &= ~(1L << member);
+            }
+        }
+
+        private void advanceStorage32(int currentPrefix) {
+            long prefix = storage64.advance(currentPrefix, this);
+            if (prefix != SparseIntArray.Iterator.END) {
+                iterate(prefix);
+            } else {
+                chunk = AscendingChunkIterator.END;
+            }
+        }
+
+        private void iterate(long prefix) {
+            chunk = prefix << Short.SIZE;
+            // storages are guaranteed to be non-empty
+            boolean positioned = getValue().iterateChunksAtLeastFrom(0, 0, this);
+            assert positioned;
+        }
+
+    }
+
 }
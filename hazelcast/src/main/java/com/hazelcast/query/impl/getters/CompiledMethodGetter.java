@@ -0,0 +1,130 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.query.impl.getters;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.function.Function;
+
+/**
+ * Extracts the attribute values by invoking the getter methods through the
+ * accessors generated by {@link LambdaMetafactory}, avoiding the reflective
+ * {@link Method#invoke} calls.
+ * <p>
+ * Only the public methods of the public classes visible to the Hazelcast
+ * class loader can be compiled, the {@link MethodGetter} is used otherwise,
+ * see {@link #compile}.
+ */
+public final class CompiledMethodGetter extends AbstractMultiValueGetter {
+
+    private final Method method;
+    private final Function<Object, Object> accessor;
+
+    public CompiledMethodGetter(Getter parent, Method method, Function<Object, Object> accessor, String modifier, Class type,
+                                Class elementType) {
+        super(parent, modifier, type, elementType);
+        this.method = method;
+        this.accessor = accessor;
+    }
+
+    /**
+     * Generates the accessor invoking the given getter method.
+     *
+     * @param method the getter method to generate the accessor for.
+     * @return the generated accessor or {@code null} if the method can't be
+     * invoked by a generated accessor.
+     */
+    @SuppressWarnings({"unchecked", "checkstyle:illegalcatch"})
+    static Function<Object, Object> compile(Method method) {
+        if (!isCompilable(method)) {
+            return null;
+        }
+
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            MethodHandle handle = lookup.unreflect(method);
+            CallSite callSite = LambdaMetafactory.metafactory(lookup, "apply", MethodType.methodType(Function.class),
+                    MethodType.methodType(Object.class, Object.class), handle, handle.type().wrap());
+            return (Function<Object, Object>) callSite.getTarget().invokeExact();
+        } catch (Throwable t) {
+            // fall back to the reflective getter
+            return null;
+        }
+    }
+
+    @SuppressWarnings("checkstyle:illegalcatch")
+    @Override
+    protected Object extractFrom(Object object) throws InvocationTargetException {
+        try {
+            return accessor.apply(object);
+        } catch (RuntimeException | Error e) {
+            // mimic the exceptions thrown by Method.invoke
+            if (!method.getDeclaringClass().isInstance(object)) {
+                throw new IllegalArgumentException(composeAttributeValueExtractionFailedMessage(method), e);
+            }
+            throw new InvocationTargetException(e);
+        }
+    }
+
+    @Override
+    boolean isCacheable() {
+        return true;
+    }
+
+    @Override
+    public String toString() {
+        return "CompiledMethodGetter [parent=" + parent + ", method=" + method.getName() + ", modifier = " + getModifier()
+                + "]";
+    }
+
+    private static boolean isCompilable(Method method) {
+        int modifiers = method.getModifiers();
+        if (method.getParameterCount() != 0 || method.getReturnType() == void.class
+                || Modifier.isStatic(modifiers) || !Modifier.isPublic(modifiers)) {
+            return false;
+        }
+        Class declaringClass = method.getDeclaringClass();
+        return Modifier.isPublic(declaringClass.getModifiers()) && isVisible(declaringClass)
+                && isVisible(method.getReturnType());
+    }
+
+    /**
+     * The generated accessors refer to the classes of the method signature,
+     * these classes must be resolvable from the Hazelcast class loader.
+     */
+    private static boolean isVisible(Class type) {
+        while (type.isArray()) {
+            type = type.getComponentType();
+        }
+        if (type.isPrimitive()) {
+            return true;
+        }
+
+        try {
+            return Class.forName(type.getName(), false, CompiledMethodGetter.class.getClassLoader()) == type;
+        } catch (ClassNotFoundException | LinkageError e) {
+            return false;
+        }
+    }
+
+}
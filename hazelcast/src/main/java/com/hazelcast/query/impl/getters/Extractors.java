@@ -20,6 +20,7 @@ import com.hazelcast.config.AttributeConfig;
 import com.hazelcast.core.HazelcastJsonValue;
 import com.hazelcast.internal.serialization.InternalSerializationService;
 import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.nio.serialization.FieldOffsetSchema;
 import com.hazelcast.nio.serialization.HazelcastSerializationException;
 import com.hazelcast.nio.serialization.Portable;
 import com.hazelcast.query.QueryException;
@@ -44,6 +45,7 @@ public final class Extractors {
 
     private volatile PortableGetter genericPortableGetter;
     private volatile JsonDataGetter jsonDataGetter;
+    private final IdentifiedDataGetter identifiedDataGetter;
 
     /**
      * Maps the extractorAttributeName WITHOUT the arguments to a
@@ -65,9 +67,17 @@ public final class Extractors {
                 MAX_GETTERS_PER_CLASS_IN_CACHE, EVICTION_PERCENTAGE, false);
         this.argumentsParser = new DefaultArgumentParser();
         this.ss = ss;
+        this.identifiedDataGetter = new IdentifiedDataGetter(ss);
     }
 
     public Object extract(Object target, String attributeName, Object metadata) {
+        if (target instanceof Data) {
+            FieldOffsetSchema schema = getDataSchema((Data) target, attributeName);
+            if (schema != null) {
+                return extractFromData((Data) target, attributeName, schema);
+            }
+        }
+
         Object targetObject = getTargetObject(target);
         if (targetObject != null) {
             Getter getter = getGetter(targetObject, attributeName);
@@ -80,6 +90,42 @@ public final class Extractors {
         return null;
     }
 
+    /**
+     * Returns the schema to extract the given attribute right from the given
+     * data with, without deserializing the data. That's possible for the
+     * IdentifiedDataSerializable values having the attribute covered by the
+     * {@link FieldOffsetSchema} of their type, unless a custom extractor is
+     * registered for the attribute.
+     *
+     * @param data          the data to check.
+     * @param attributeName the name of the attribute to check.
+     * @return the schema to pass to {@link #extractFromData} or {@code null}
+     * if the attribute can't be extracted from the data.
+     */
+    public FieldOffsetSchema getDataSchema(Data data, String attributeName) {
+        if (!extractors.isEmpty() && extractors.containsKey(extractAttributeNameNameWithoutArguments(attributeName))) {
+            return null;
+        }
+        return identifiedDataGetter.getSchema(data, attributeName);
+    }
+
+    /**
+     * Extracts the given attribute right from the given data.
+     *
+     * @param data          the data to extract the attribute from.
+     * @param attributeName the name of the attribute to extract.
+     * @param schema        the schema previously returned by {@link
+     *                      #getDataSchema} for the data and attribute.
+     * @return the extracted attribute value.
+     */
+    public Object extractFromData(Data data, String attributeName, FieldOffsetSchema schema) {
+        try {
+            return identifiedDataGetter.getValue(data, attributeName, schema);
+        } catch (Exception ex) {
+            throw new QueryException(ex);
+        }
+    }
+
     /**
      * Returns the form of this data that is queryable.
      * Returns {@link Data} if {@code target} is
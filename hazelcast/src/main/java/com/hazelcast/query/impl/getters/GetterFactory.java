@@ -22,6 +22,7 @@ import java.lang.reflect.Field;
 import java.lang.reflect.Method;
 import java.util.Collection;
 import java.util.Optional;
+import java.util.function.Function;
 
 import static com.hazelcast.query.impl.getters.AbstractMultiValueGetter.validateModifier;
 import static com.hazelcast.query.impl.getters.NullGetter.NULL_GETTER;
@@ -41,8 +42,11 @@ public final class GetterFactory {
     }
 
     public static Getter newMethodGetter(Object object, Getter parent, Method method, String modifier) throws Exception {
-        return newGetter(object, parent, modifier, method.getReturnType(), o -> method.invoke(o),
-                (t, et) -> new MethodGetter(parent, method, modifier, t, et));
+        return newGetter(object, parent, modifier, method.getReturnType(), o -> method.invoke(o), (t, et) -> {
+            Function<Object, Object> accessor = CompiledMethodGetter.compile(method);
+            return accessor == null ? new MethodGetter(parent, method, modifier, t, et)
+                    : new CompiledMethodGetter(parent, method, accessor, modifier, t, et);
+        });
     }
 
     public static Getter newThisGetter(Getter parent, Object object) {
@@ -0,0 +1,164 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.query.impl.getters;
+
+import com.hazelcast.internal.nio.Bits;
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.nio.serialization.FieldOffsetSchema;
+import com.hazelcast.nio.serialization.FieldType;
+import com.hazelcast.nio.serialization.HazelcastSerializationException;
+
+import java.nio.ByteOrder;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import static com.hazelcast.internal.nio.Bits.INT_SIZE_IN_BYTES;
+import static com.hazelcast.internal.serialization.impl.DataSerializableSerializer.EE_FLAG;
+import static com.hazelcast.internal.serialization.impl.DataSerializableSerializer.IDS_FLAG;
+import static com.hazelcast.internal.serialization.impl.HeapData.DATA_OFFSET;
+import static com.hazelcast.internal.serialization.impl.SerializationConstants.CONSTANT_TYPE_DATA_SERIALIZABLE;
+
+/**
+ * Reads the attributes of {@link com.hazelcast.nio.serialization.IdentifiedDataSerializable
+ * IdentifiedDataSerializable} values right from their serialized form using
+ * the {@link FieldOffsetSchema} provided by their factories, so the values
+ * don't have to be deserialized to be queried.
+ * <p>
+ * The serialized form is laid out as follows:
+ * <pre>
+ *     | header | factory ID | class ID | [EE version bytes] | fields written by writeData |
+ * </pre>
+ */
+final class IdentifiedDataGetter extends Getter {
+
+    private static final int FACTORY_ID_OFFSET = DATA_OFFSET + 1;
+    private static final int CLASS_ID_OFFSET = FACTORY_ID_OFFSET + INT_SIZE_IN_BYTES;
+    private static final int FIELDS_OFFSET = CLASS_ID_OFFSET + INT_SIZE_IN_BYTES;
+    private static final int VERSION_BYTES = 2;
+    private static final int MIN_DATA_SIZE = FIELDS_OFFSET;
+    private static final long INT_MASK = 0xFFFFFFFFL;
+
+    private static final FieldOffsetSchema NO_SCHEMA = FieldOffsetSchema.builder().build();
+
+    private final ConcurrentMap<Long, FieldOffsetSchema> schemas = new ConcurrentHashMap<>();
+    private final InternalSerializationService ss;
+    private final boolean bigEndian;
+
+    IdentifiedDataGetter(InternalSerializationService ss) {
+        super(null);
+        this.ss = ss;
+        this.bigEndian = ss.getByteOrder() == ByteOrder.BIG_ENDIAN;
+    }
+
+    /**
+     * @return the schema to read the given attribute from the given data with
+     * or {@code null} if the attribute can't be read by this getter.
+     */
+    FieldOffsetSchema getSchema(Data data, String attributeName) {
+        FieldOffsetSchema schema = getSchema(data);
+        return schema != null && schema.getOffset(attributeName) >= 0 ? schema : null;
+    }
+
+    @Override
+    Object getValue(Object obj) {
+        throw new IllegalArgumentException("Path agnostic value extraction unsupported");
+    }
+
+    @Override
+    Object getValue(Object obj, String attributePath) {
+        Data data = (Data) obj;
+        FieldOffsetSchema schema = getSchema(data, attributePath);
+        assert schema != null;
+        return getValue(data, attributePath, schema);
+    }
+
+    /**
+     * Reads the given attribute from the given data using the given schema
+     * previously obtained by {@link #getSchema(Data, String)}.
+     */
+    Object getValue(Data data, String attributePath, FieldOffsetSchema schema) {
+        byte[] bytes = data.toByteArray();
+        int position = fieldsOffset(bytes) + schema.getOffset(attributePath);
+        FieldType type = schema.getType(attributePath);
+        if (position + type.getTypeSize() > bytes.length) {
+            throw new HazelcastSerializationException("Field " + attributePath + " of type " + type
+                    + " is out of the serialized bounds, schema: " + schema);
+        }
+        return read(bytes, position, type);
+    }
+
+    @Override
+    Class getReturnType() {
+        throw new IllegalArgumentException("Non applicable for IdentifiedDataGetter");
+    }
+
+    @Override
+    boolean isCacheable() {
+        // generic getter, one instance is used for all the attributes
+        return false;
+    }
+
+    private FieldOffsetSchema getSchema(Data data) {
+        if (data.getType() != CONSTANT_TYPE_DATA_SERIALIZABLE || data.totalSize() < MIN_DATA_SIZE) {
+            return null;
+        }
+        byte[] bytes = data.toByteArray();
+        if ((bytes[DATA_OFFSET] & IDS_FLAG) == 0) {
+            return null;
+        }
+
+        int factoryId = Bits.readInt(bytes, FACTORY_ID_OFFSET, bigEndian);
+        int classId = Bits.readInt(bytes, CLASS_ID_OFFSET, bigEndian);
+        Long typeKey = ((long) factoryId << Integer.SIZE) | (classId & INT_MASK);
+        FieldOffsetSchema schema = schemas.get(typeKey);
+        if (schema == null) {
+            schema = ss.getFieldOffsetSchema(factoryId, classId);
+            schemas.putIfAbsent(typeKey, schema == null ? NO_SCHEMA : schema);
+        }
+        return schema == NO_SCHEMA ? null : schema;
+    }
+
+    private static int fieldsOffset(byte[] bytes) {
+        return (bytes[DATA_OFFSET] & EE_FLAG) != 0 ? FIELDS_OFFSET + VERSION_BYTES : FIELDS_OFFSET;
+    }
+
+    @SuppressWarnings("checkstyle:cyclomaticcomplexity")
+    private Object read(byte[] bytes, int position, FieldType type) {
+        switch (type) {
+            case BYTE:
+                return bytes[position];
+            case BOOLEAN:
+                return bytes[position] != 0;
+            case CHAR:
+                return Bits.readChar(bytes, position, bigEndian);
+            case SHORT:
+                return Bits.readShort(bytes, position, bigEndian);
+            case INT:
+                return Bits.readInt(bytes, position, bigEndian);
+            case LONG:
+                return Bits.readLong(bytes, position, bigEndian);
+            case FLOAT:
+                return Float.intBitsToFloat(Bits.readInt(bytes, position, bigEndian));
+            case DOUBLE:
+                return Double.longBitsToDouble(Bits.readLong(bytes, position, bigEndian));
+            default:
+                throw new IllegalArgumentException("Unsupported field type: " + type);
+        }
+    }
+
+}
@@ -19,11 +19,13 @@ package com.hazelcast.query.impl.predicates;
 import com.hazelcast.internal.serialization.BinaryInterface;
 import com.hazelcast.internal.util.IterationType;
 import com.hazelcast.internal.util.SortingUtil;
+import com.hazelcast.internal.util.collection.TopKSelector;
 import com.hazelcast.nio.ObjectDataInput;
 import com.hazelcast.nio.ObjectDataOutput;
 import com.hazelcast.nio.serialization.IdentifiedDataSerializable;
 import com.hazelcast.query.PagingPredicate;
 import com.hazelcast.query.Predicate;
+import com.hazelcast.query.impl.Index;
 import com.hazelcast.query.impl.Indexes;
 import com.hazelcast.query.impl.QueryContext;
 import com.hazelcast.query.impl.QueryableEntry;
@@ -38,6 +40,8 @@ import java.util.Map;
 import java.util.Set;
 
 import static com.hazelcast.internal.serialization.impl.FactoryIdHelper.PREDICATE_DS_FACTORY_ID;
+import static com.hazelcast.query.QueryConstants.KEY_ATTRIBUTE_NAME;
+import static com.hazelcast.query.QueryConstants.THIS_ATTRIBUTE_NAME;
 
 /**
  * Implementaiton of {@link PagingPredicate}.
@@ -177,46 +181,100 @@ public class PagingPredicateImpl<K, V>
     }
 
     /**
-     * Used if inner predicate is instanceof {@link IndexAwarePredicate} for filtering.
+     * Used if inner predicate is instanceof {@link IndexAwarePredicate} for filtering,
+     * otherwise the entries are selected by walking an ordered index matching the
+     * natural ordering of the results, see {@link #matchSortingIndex}.
+     * <p>
+     * Only the entries of the pages up to the requested one are selected
+     * using a bounded heap, the rest of the matching entries are dropped.
      *
      * @param queryContext
      * @return
      */
+    @SuppressWarnings("unchecked")
     @Override
     public Set<QueryableEntry<K, V>> filter(QueryContext queryContext) {
-        if (!(predicate instanceof IndexAwarePredicate)) {
-            return null;
+        if (!isInnerPredicateIndexed(queryContext)) {
+            Index sortingIndex = matchSortingIndex(queryContext);
+            return sortingIndex == null ? null : filterUsingSortingIndex(sortingIndex);
         }
 
         Set<QueryableEntry<K, V>> set = ((IndexAwarePredicate<K, V>) predicate).filter(queryContext);
         if (set == null || set.isEmpty()) {
             return set;
         }
-        List<QueryableEntry<K, V>> resultList = new ArrayList<QueryableEntry<K, V>>();
         Map.Entry<Integer, Map.Entry> nearestAnchorEntry = getNearestAnchorEntry();
+        TopKSelector<QueryableEntry> topK = newTopKSelector(nearestAnchorEntry);
         for (QueryableEntry<K, V> queryableEntry : set) {
             if (SortingUtil.compareAnchor(this, queryableEntry, nearestAnchorEntry)) {
-                resultList.add(queryableEntry);
+                topK.add(queryableEntry);
             }
         }
-
-        List<QueryableEntry<K, V>> sortedSubList =
-                (List) SortingUtil.getSortedSubList((List) resultList, this, nearestAnchorEntry);
-        return new LinkedHashSet<QueryableEntry<K, V>>(sortedSubList);
+        return new LinkedHashSet(topK.toSortedList());
     }
 
-
     /**
      * Used if inner predicate is instanceof {@link IndexAwarePredicate} for checking if indexed.
+     * Paging predicates ordering the results naturally are also indexed if there is an ordered
+     * index on the ordering attribute.
      *
      * @param queryContext
      * @return
      */
     public boolean isIndexed(QueryContext queryContext) {
-        if (predicate instanceof IndexAwarePredicate) {
-            return ((IndexAwarePredicate) predicate).isIndexed(queryContext);
+        return isInnerPredicateIndexed(queryContext) || matchSortingIndex(queryContext) != null;
+    }
+
+    private boolean isInnerPredicateIndexed(QueryContext queryContext) {
+        return predicate instanceof IndexAwarePredicate && ((IndexAwarePredicate) predicate).isIndexed(queryContext);
+    }
+
+    /**
+     * Matches an ordered index which order is the order of the results:
+     * without a comparator the results are ordered by their keys or, for
+     * value-only iterations, by their values.
+     */
+    private Index matchSortingIndex(QueryContext queryContext) {
+        if (comparator != null || iterationType == null) {
+            return null;
         }
-        return false;
+
+        String attribute = iterationType == IterationType.VALUE
+                ? THIS_ATTRIBUTE_NAME.value() : KEY_ATTRIBUTE_NAME.value();
+        Index index = queryContext.matchIndex(attribute, QueryContext.IndexMatchHint.PREFER_ORDERED);
+        return index != null && index.isOrdered() ? index : null;
+    }
+
+    /**
+     * Walks the sorting index starting from the nearest anchor and stops as
+     * soon as the rest of the index can't contribute to the requested page,
+     * so only the entries preceding the page end are visited.
+     */
+    @SuppressWarnings("unchecked")
+    private Set<QueryableEntry<K, V>> filterUsingSortingIndex(Index sortingIndex) {
+        Map.Entry<Integer, Map.Entry> nearestAnchorEntry = getNearestAnchorEntry();
+        Map.Entry anchor = nearestAnchorEntry.getValue();
+        Comparable from = anchor == null ? null : sortingValueOf(anchor);
+
+        TopKSelector<QueryableEntry> topK = newTopKSelector(nearestAnchorEntry);
+        for (QueryableEntry entry : sortingIndex.getSortedRecords(from)) {
+            if (topK.isFull() && sortingValueOf(entry).compareTo(sortingValueOf(topK.peekLargest())) > 0) {
+                // the index is ordered, the remaining entries can't be selected
+                break;
+            }
+            if (SortingUtil.compareAnchor(this, entry, nearestAnchorEntry) && apply(entry)) {
+                topK.add(entry);
+            }
+        }
+        return new LinkedHashSet(topK.toSortedList());
+    }
+
+    private Comparable sortingValueOf(Map.Entry entry) {
+        return (Comparable) (iterationType == IterationType.VALUE ? entry.getValue() : entry.getKey());
+    }
+
+    private TopKSelector<QueryableEntry> newTopKSelector(Map.Entry<Integer, Map.Entry> nearestAnchorEntry) {
+        return new TopKSelector<>(SortingUtil.newComparator(this), SortingUtil.getPageLimit(this, nearestAnchorEntry));
     }
 
     /**
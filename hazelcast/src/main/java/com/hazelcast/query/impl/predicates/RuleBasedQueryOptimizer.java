@@ -29,6 +29,7 @@ public final class RuleBasedQueryOptimizer implements QueryOptimizer {
     private final Visitor orToInVisitor = new OrToInVisitor();
     private final Visitor compositeIndexVisitor = new CompositeIndexVisitor();
     private final Visitor evaluateVisitor = new EvaluateVisitor();
+    private final Visitor selectivityVisitor = new SelectivityVisitor();
 
     @SuppressWarnings("unchecked")
     public <K, V> Predicate<K, V> optimize(Predicate<K, V> predicate, Indexes indexes) {
@@ -48,6 +49,9 @@ public final class RuleBasedQueryOptimizer implements QueryOptimizer {
         if (optimized instanceof VisitablePredicate) {
             optimized = ((VisitablePredicate) optimized).accept(evaluateVisitor, indexes);
         }
+        if (optimized instanceof VisitablePredicate) {
+            optimized = ((VisitablePredicate) optimized).accept(selectivityVisitor, indexes);
+        }
         return optimized;
     }
 
@@ -0,0 +1,199 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.query.impl.predicates;
+
+import com.hazelcast.core.TypeConverter;
+import com.hazelcast.query.Predicate;
+import com.hazelcast.query.impl.IndexStatistics;
+import com.hazelcast.query.impl.Indexes;
+import com.hazelcast.query.impl.InternalIndex;
+import com.hazelcast.query.impl.QueryContext.IndexMatchHint;
+
+import static com.hazelcast.query.impl.Indexes.SKIP_PARTITIONS_COUNT_CHECK;
+
+/**
+ * Performs cost-based index selection using the value statistics maintained
+ * by the indexes.
+ * <p>
+ * The visitor suppresses the usage of indexes which are not expected to pay
+ * off by wrapping the corresponding predicates into {@link SkipIndexPredicate}:
+ * <ul>
+ * <li>Equality and IN predicates matching a large fraction of the indexed
+ * entries are evaluated using a partition scan: for instance, "status =
+ * 'ACTIVE'" matching 95% of the entries.
+ * <li>In "and" predicates, the most selective indexed predicate drives the
+ * query; other indexed predicates are intersected with it only if their
+ * estimated result sets are not much larger than the driving one, otherwise
+ * they are evaluated on the driving result set directly.
+ * </ul>
+ * The decisions are made only for indexes having enough entries to produce
+ * meaningful estimations, and every suppressed index usage is reported to
+ * {@link com.hazelcast.internal.monitor.impl.PerIndexStats#onIndexSkipped}.
+ * <p>
+ * The visitor is expected to run after all the other visitors, since it hides
+ * the predicates it suppresses from them.
+ */
+public class SelectivityVisitor extends AbstractVisitor {
+
+    /**
+     * The minimum number of entries an index must have before its statistics
+     * are trusted by the visitor.
+     */
+    static final long MIN_ENTRY_COUNT = 1000;
+
+    /**
+     * The selectivity above which a partition scan is preferred over an index
+     * lookup.
+     */
+    static final double SCAN_SELECTIVITY = 0.8;
+
+    /**
+     * The maximum ratio between the estimated result set size of an indexed
+     * "and" sub-predicate and the driving one for which the sub-predicate is
+     * still intersected using its index.
+     */
+    static final double INTERSECTION_RATIO = 4.0;
+
+    private static final double UNKNOWN = -1.0;
+
+    @Override
+    public Predicate visit(EqualPredicate predicate, Indexes indexes) {
+        return skipIfNotSelective(predicate, predicate.attributeName, indexes);
+    }
+
+    @Override
+    public Predicate visit(InPredicate predicate, Indexes indexes) {
+        return skipIfNotSelective(predicate, predicate.attributeName, indexes);
+    }
+
+    @SuppressWarnings({"checkstyle:npathcomplexity", "checkstyle:cyclomaticcomplexity"})
+    @Override
+    public Predicate visit(AndPredicate andPredicate, Indexes indexes) {
+        Predicate[] predicates = andPredicate.predicates;
+
+        InternalIndex[] matchedIndexes = new InternalIndex[predicates.length];
+        double[] selectivities = new double[predicates.length];
+        int driver = -1;
+        int estimated = 0;
+        for (int i = 0; i < predicates.length; ++i) {
+            Predicate subPredicate = predicates[i];
+            String attribute = attributeOf(subPredicate);
+            InternalIndex index = attribute == null ? null : matchIndex(attribute, indexes);
+            double selectivity = index == null ? UNKNOWN : estimateSelectivity(subPredicate, index);
+            selectivities[i] = selectivity;
+            if (selectivity == UNKNOWN) {
+                continue;
+            }
+
+            matchedIndexes[i] = index;
+            ++estimated;
+            if (driver == -1 || selectivity < selectivities[driver]) {
+                driver = i;
+            }
+        }
+
+        if (estimated < 2) {
+            // nothing to choose from
+            return andPredicate;
+        }
+
+        double maxSelectivity = selectivities[driver] * INTERSECTION_RATIO;
+        Predicate[] output = null;
+        for (int i = 0; i < predicates.length; ++i) {
+            if (i == driver || selectivities[i] == UNKNOWN || selectivities[i] <= maxSelectivity) {
+                continue;
+            }
+
+            if (output == null) {
+                output = predicates.clone();
+            }
+            output[i] = new SkipIndexPredicate(predicates[i]);
+            matchedIndexes[i].getPerIndexStats().onIndexSkipped();
+        }
+
+        return output == null ? andPredicate : new AndPredicate(output);
+    }
+
+    private static Predicate skipIfNotSelective(Predicate predicate, String attribute, Indexes indexes) {
+        InternalIndex index = matchIndex(attribute, indexes);
+        if (index == null || estimateSelectivity(predicate, index) <= SCAN_SELECTIVITY) {
+            return predicate;
+        }
+
+        index.getPerIndexStats().onIndexSkipped();
+        return new SkipIndexPredicate(predicate);
+    }
+
+    private static String attributeOf(Predicate predicate) {
+        if (predicate instanceof RangePredicate) {
+            return ((RangePredicate) predicate).getAttribute();
+        }
+        if (predicate instanceof InPredicate) {
+            return ((InPredicate) predicate).attributeName;
+        }
+        return null;
+    }
+
+    private static InternalIndex matchIndex(String attribute, Indexes indexes) {
+        InternalIndex index = indexes.matchIndex(attribute, IndexMatchHint.NONE, SKIP_PARTITIONS_COUNT_CHECK);
+        if (index == null || index.getConverter() == null) {
+            return null;
+        }
+
+        IndexStatistics statistics = index.getStatistics();
+        return statistics == null || statistics.getEntryCount() < MIN_ENTRY_COUNT ? null : index;
+    }
+
+    private static double estimateSelectivity(Predicate predicate, InternalIndex index) {
+        if (predicate instanceof EqualPredicate) {
+            return estimateSelectivity(index, ((EqualPredicate) predicate).value);
+        }
+
+        if (predicate instanceof InPredicate) {
+            double selectivity = 0.0;
+            for (Comparable value : ((InPredicate) predicate).values) {
+                double valueSelectivity = estimateSelectivity(index, value);
+                if (valueSelectivity == UNKNOWN) {
+                    return UNKNOWN;
+                }
+                selectivity += valueSelectivity;
+            }
+            return Math.min(1.0, selectivity);
+        }
+
+        // ranges and the rest can't be estimated from a frequency histogram
+        return IndexStatistics.DEFAULT_SELECTIVITY;
+    }
+
+    private static double estimateSelectivity(InternalIndex index, Comparable value) {
+        TypeConverter converter = index.getConverter();
+        if (converter == null) {
+            // the index was cleared concurrently
+            return UNKNOWN;
+        }
+
+        Comparable converted;
+        try {
+            converted = value == null ? null : converter.convert(value);
+        } catch (RuntimeException e) {
+            // not convertible, let the index report the failure if any
+            return UNKNOWN;
+        }
+        return index.getStatistics().estimateSelectivity(converted);
+    }
+
+}
@@ -28,7 +28,8 @@ import java.util.Map;
  * <p>
  * It isn't exposed as user API; it will only be created when
  * making use of index suppression option in the
- * {@link SqlPredicate}
+ * {@link SqlPredicate} or by the {@link SelectivityVisitor}
+ * when an index isn't expected to pay off.
  * <p>
  * SkipIndexPredicate also isn't send over the wire; so we don't
  * need to worry about backward compatibility in future releases.
@@ -38,6 +38,7 @@ import com.hazelcast.spi.impl.operationservice.impl.operations.PartitionIteratin
 import com.hazelcast.spi.impl.operationservice.impl.responses.BackupAckResponse;
 import com.hazelcast.spi.impl.operationservice.impl.responses.CallTimeoutResponse;
 import com.hazelcast.spi.impl.operationservice.impl.responses.ErrorResponse;
+import com.hazelcast.spi.impl.operationservice.impl.responses.MultiResponse;
 import com.hazelcast.spi.impl.operationservice.impl.responses.NormalResponse;
 import com.hazelcast.spi.impl.proxyservice.impl.DistributedObjectEventPacket;
 import com.hazelcast.spi.impl.proxyservice.impl.operations.DistributedObjectDestroyOperation;
@@ -78,6 +79,7 @@ public final class SpiDataSerializerHook implements DataSerializerHook {
     public static final int USERNAME_PWD_CRED = 23;
     public static final int SIMPLE_TOKEN_CRED = 24;
     public static final int DISTRIBUTED_OBJECT_EVENT_PACKET = 25;
+    public static final int MULTI_RESPONSE = 26;
 
     private static final DataSerializableFactory FACTORY = createFactoryInternal();
 
@@ -143,6 +145,8 @@ public final class SpiDataSerializerHook implements DataSerializerHook {
                         return new SimpleTokenCredentials();
                     case DISTRIBUTED_OBJECT_EVENT_PACKET:
                         return new DistributedObjectEventPacket();
+                    case MULTI_RESPONSE:
+                        return new MultiResponse();
                     default:
                         return null;
                 }
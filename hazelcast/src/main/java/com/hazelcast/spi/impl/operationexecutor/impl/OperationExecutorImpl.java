@@ -38,7 +38,6 @@ import com.hazelcast.spi.impl.operationservice.PartitionTaskFactory;
 import com.hazelcast.spi.impl.operationservice.UrgentSystemOperation;
 import com.hazelcast.spi.impl.operationservice.impl.operations.Backup;
 import com.hazelcast.spi.properties.HazelcastProperties;
-import com.hazelcast.spi.properties.HazelcastProperty;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 
 import java.util.BitSet;
@@ -56,6 +55,7 @@ import static com.hazelcast.internal.metrics.MetricDescriptorConstants.OPERATION
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.OPERATION_METRIC_EXECUTOR_RUNNING_GENERIC_COUNT;
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.OPERATION_METRIC_EXECUTOR_RUNNING_PARTITION_COUNT;
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.OPERATION_PREFIX;
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.OPERATION_PREFIX_BALANCER;
 import static com.hazelcast.internal.metrics.ProbeLevel.MANDATORY;
 import static com.hazelcast.internal.util.ThreadAffinity.newSystemThreadAffinity;
 import static com.hazelcast.internal.util.Preconditions.checkNotNull;
@@ -63,14 +63,17 @@ import static com.hazelcast.internal.util.ThreadUtil.createThreadPoolName;
 import static com.hazelcast.spi.impl.operationservice.impl.InboundResponseHandlerSupplier.getIdleStrategy;
 import static com.hazelcast.spi.properties.ClusterProperty.GENERIC_OPERATION_THREAD_COUNT;
 import static com.hazelcast.spi.properties.ClusterProperty.PARTITION_COUNT;
+import static com.hazelcast.spi.properties.ClusterProperty.PARTITION_OPERATION_BALANCER_INTERVAL_SECONDS;
 import static com.hazelcast.spi.properties.ClusterProperty.PARTITION_OPERATION_THREAD_COUNT;
+import static com.hazelcast.spi.properties.ClusterProperty.PARTITION_OPERATION_THREAD_IDLE_STRATEGY;
 import static com.hazelcast.spi.properties.ClusterProperty.PRIORITY_GENERIC_OPERATION_THREAD_COUNT;
 import static java.util.concurrent.TimeUnit.SECONDS;
 
 /**
  * A {@link com.hazelcast.spi.impl.operationexecutor.OperationExecutor} that schedules:
  * <ol>
- * <li>partition specific operations to a specific partition-operation-thread (using a mod on the partition ID)</li>
+ * <li>partition specific operations to a specific partition-operation-thread (using a mod on the partition ID,
+ * unless the {@link PartitionOperationBalancer} is enabled)</li>
  * <li>non specific operations to generic-operation-threads</li>
  * </ol>
  * The {@link #execute(Object, int, boolean)} accepts an Object instead of a runnable to prevent needing to
@@ -90,8 +93,6 @@ import static java.util.concurrent.TimeUnit.SECONDS;
  */
 @SuppressWarnings("checkstyle:methodcount")
 public final class OperationExecutorImpl implements OperationExecutor, StaticMetricsProvider {
-    private static final HazelcastProperty IDLE_STRATEGY
-            = new HazelcastProperty("hazelcast.operation.partitionthread.idlestrategy", "block");
     private static final int TERMINATION_TIMEOUT_SECONDS = 3;
     private final ThreadAffinity threadAffinity = newSystemThreadAffinity("hazelcast.operation.thread.affinity");
     private final ILogger logger;
@@ -99,6 +100,9 @@ public final class OperationExecutorImpl implements OperationExecutor, StaticMet
     // all operations for specific partitions will be executed on these threads, e.g. map.put(key, value)
     private final PartitionOperationThread[] partitionThreads;
     private final OperationRunner[] partitionOperationRunners;
+    // null if the partition operation balancer is disabled
+    private final PartitionThreadAssignment partitionThreadAssignment;
+    private final PartitionOperationBalancer partitionOperationBalancer;
 
     private final OperationQueue genericQueue
             = new OperationQueueImpl(new LinkedBlockingQueue<Object>(), new LinkedBlockingQueue<Object>());
@@ -124,7 +128,11 @@ public final class OperationExecutorImpl implements OperationExecutor, StaticMet
         this.adHocOperationRunner = runnerFactory.createAdHocRunner();
 
         this.partitionOperationRunners = initPartitionOperationRunners(properties, runnerFactory);
+        this.partitionThreadAssignment = initPartitionThreadAssignment(properties);
         this.partitionThreads = initPartitionThreads(properties, hzName, nodeExtension, configClassLoader);
+        this.partitionOperationBalancer = partitionThreadAssignment == null ? null
+                : new PartitionOperationBalancer(partitionThreadAssignment, partitionOperationRunners,
+                properties.getSeconds(PARTITION_OPERATION_BALANCER_INTERVAL_SECONDS), hzName, logger);
 
         this.priorityThreadCount = properties.getInteger(PRIORITY_GENERIC_OPERATION_THREAD_COUNT);
         this.genericOperationRunners = initGenericOperationRunners(properties, runnerFactory);
@@ -150,25 +158,47 @@ public final class OperationExecutorImpl implements OperationExecutor, StaticMet
         return operationRunners;
     }
 
+    private PartitionThreadAssignment initPartitionThreadAssignment(HazelcastProperties properties) {
+        int balancerIntervalSeconds = properties.getSeconds(PARTITION_OPERATION_BALANCER_INTERVAL_SECONDS);
+        if (balancerIntervalSeconds <= 0) {
+            return null;
+        }
+
+        int threadCount = partitionThreadCount(properties);
+        if (threadCount == 1) {
+            logger.finest("Partition operation balancer is disabled as there is only a single partition thread.");
+            return null;
+        }
+
+        if (logger.isFinestEnabled()) {
+            logger.finest("Partition operation balancer is enabled. Scanning every " + balancerIntervalSeconds
+                    + " seconds for imbalances.");
+        }
+        return new PartitionThreadAssignment(partitionOperationRunners.length, threadCount);
+    }
+
+    private int partitionThreadCount(HazelcastProperties properties) {
+        return threadAffinity.isEnabled()
+                ? threadAffinity.getThreadCount()
+                : properties.getInteger(PARTITION_OPERATION_THREAD_COUNT);
+    }
+
     private PartitionOperationThread[] initPartitionThreads(HazelcastProperties properties, String hzName,
                                                             NodeExtension nodeExtension, ClassLoader configClassLoader) {
 
-        int threadCount = properties.getInteger(PARTITION_OPERATION_THREAD_COUNT);
-        if (threadAffinity.isEnabled()) {
-            threadCount = threadAffinity.getThreadCount();
-        }
+        int threadCount = partitionThreadCount(properties);
 
-        IdleStrategy idleStrategy = getIdleStrategy(properties, IDLE_STRATEGY);
+        IdleStrategy idleStrategy = getIdleStrategy(properties, PARTITION_OPERATION_THREAD_IDLE_STRATEGY);
         PartitionOperationThread[] threads = new PartitionOperationThread[threadCount];
         for (int threadId = 0; threadId < threads.length; threadId++) {
             String threadName = createThreadPoolName(hzName, "partition-operation") + threadId;
-            // the normalQueue will be a blocking queue. We don't want to idle, because there are many operation threads.
+            // the normalQueue blocks by default; we don't want to idle, because there are many operation threads.
             MPSCQueue<Object> normalQueue = new MPSCQueue<Object>(idleStrategy);
 
             OperationQueue operationQueue = new OperationQueueImpl(normalQueue, new ConcurrentLinkedQueue<Object>());
 
             PartitionOperationThread partitionThread = new PartitionOperationThread(threadName, threadId, operationQueue, logger,
-                    nodeExtension, partitionOperationRunners, configClassLoader);
+                    nodeExtension, partitionOperationRunners, configClassLoader, partitionThreadAssignment);
             partitionThread.setThreadAffinity(threadAffinity);
             threads[threadId] = partitionThread;
             normalQueue.setConsumerThread(partitionThread);
@@ -182,6 +212,9 @@ public final class OperationExecutorImpl implements OperationExecutor, StaticMet
             runner.setCurrentThread(thread);
         }
 
+        if (partitionThreadAssignment != null) {
+            partitionThreadAssignment.init(threads);
+        }
         return threads;
     }
 
@@ -219,6 +252,16 @@ public final class OperationExecutorImpl implements OperationExecutor, StaticMet
         return threads;
     }
 
+    // just for testing
+    PartitionThreadAssignment getPartitionThreadAssignment() {
+        return partitionThreadAssignment;
+    }
+
+    // just for testing
+    PartitionOperationBalancer getPartitionOperationBalancer() {
+        return partitionOperationBalancer;
+    }
+
     @Override
     public void provideStaticMetrics(MetricsRegistry registry) {
         registry.registerStaticMetrics(this, OPERATION_PREFIX);
@@ -228,6 +271,9 @@ public final class OperationExecutorImpl implements OperationExecutor, StaticMet
         registry.provideMetrics(adHocOperationRunner);
         registry.provideMetrics((Object[]) genericOperationRunners);
         registry.provideMetrics((Object[]) partitionOperationRunners);
+        if (partitionOperationBalancer != null) {
+            registry.registerStaticMetrics(partitionOperationBalancer, OPERATION_PREFIX_BALANCER);
+        }
     }
 
     @SuppressFBWarnings("EI_EXPOSE_REP")
@@ -346,7 +392,7 @@ public final class OperationExecutorImpl implements OperationExecutor, StaticMet
 
     @Override
     public int getPartitionThreadId(int partitionId) {
-        return getPartitionThreadId(partitionId, partitionThreads.length);
+        return toPartitionThreadIndex(partitionId);
     }
 
     @Override
@@ -361,8 +407,10 @@ public final class OperationExecutorImpl implements OperationExecutor, StaticMet
         checkNotNull(taskFactory, "taskFactory can't be null");
         checkNotNull(partitions, "partitions can't be null");
 
+        int[] partitionThreadIds = partitionThreadAssignment == null ? null : partitionThreadAssignment.routingThreadIds();
         for (PartitionOperationThread partitionThread : partitionThreads) {
-            TaskBatch batch = new TaskBatch(taskFactory, partitions, partitionThread.threadId, partitionThreads.length);
+            TaskBatch batch = new TaskBatch(taskFactory, partitions, partitionThread.threadId, partitionThreads.length,
+                    partitionThreadIds);
             partitionThread.queue.add(batch, false);
         }
     }
@@ -382,6 +430,8 @@ public final class OperationExecutorImpl implements OperationExecutor, StaticMet
     private void execute(Object task, int partitionId, boolean priority) {
         if (partitionId < 0) {
             genericQueue.add(task, priority);
+        } else if (partitionThreadAssignment != null) {
+            partitionThreadAssignment.execute(task, partitionId, priority);
         } else {
             OperationThread partitionThread = partitionThreads[toPartitionThreadIndex(partitionId)];
             partitionThread.queue.add(task, priority);
@@ -507,8 +557,14 @@ public final class OperationExecutorImpl implements OperationExecutor, StaticMet
         return toPartitionThreadIndex(op.getPartitionId()) == partitionThread.threadId;
     }
 
-    // public for testing purposes
+    /**
+     * Returns the index of the partition thread allowed to run the operations
+     * of the given partition right now.
+     */
     public int toPartitionThreadIndex(int partitionId) {
+        if (partitionThreadAssignment != null) {
+            return partitionThreadAssignment.runningThreadId(partitionId);
+        }
         return partitionId % partitionThreads.length;
     }
 
@@ -520,6 +576,9 @@ public final class OperationExecutorImpl implements OperationExecutor, StaticMet
         }
         startAll(partitionThreads);
         startAll(genericThreads);
+        if (partitionOperationBalancer != null) {
+            partitionOperationBalancer.start();
+        }
     }
 
     private static void startAll(OperationThread[] operationThreads) {
@@ -530,6 +589,9 @@ public final class OperationExecutorImpl implements OperationExecutor, StaticMet
 
     @Override
     public void shutdown() {
+        if (partitionOperationBalancer != null) {
+            partitionOperationBalancer.shutdown();
+        }
         shutdownAll(partitionThreads);
         shutdownAll(genericThreads);
         awaitTermination(partitionThreads);
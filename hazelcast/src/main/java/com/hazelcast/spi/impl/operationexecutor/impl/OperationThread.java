@@ -30,6 +30,8 @@ import com.hazelcast.spi.impl.PartitionSpecificRunnable;
 import com.hazelcast.spi.impl.operationexecutor.OperationRunner;
 import com.hazelcast.spi.impl.operationservice.Operation;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.TimeUnit;
 
 import static com.hazelcast.instance.impl.OutOfMemoryErrorDispatcher.inspectOutOfMemoryError;
@@ -81,6 +83,8 @@ public abstract class OperationThread extends HazelcastManagedThread implements
     @Probe(name = OPERATION_METRIC_THREAD_COMPLETED_OPERATION_BATCH_COUNT)
     private final SwCounter completedOperationBatchCount = newSwCounter();
 
+    // the tasks to run once the queue has been drained; only accessed by this thread
+    private final List<Runnable> idleTasks = new ArrayList<>();
     private final boolean priority;
     private final NodeExtension nodeExtension;
     private final ILogger logger;
@@ -108,6 +112,18 @@ public abstract class OperationThread extends HazelcastManagedThread implements
 
     public abstract OperationRunner operationRunner(int partitionId);
 
+    /**
+     * Runs the given task as soon as this thread has no more tasks waiting
+     * in its queue. Can only be called by this thread.
+     *
+     * @param task the task to run
+     */
+    public void executeWhenIdle(Runnable task) {
+        assert Thread.currentThread() == this;
+
+        idleTasks.add(task);
+    }
+
     @Override
     public final void executeRun() {
         nodeExtension.onThreadStart(this);
@@ -121,6 +137,10 @@ public abstract class OperationThread extends HazelcastManagedThread implements
                 }
 
                 process(task);
+
+                if (!idleTasks.isEmpty() && queue.size() == 0) {
+                    runIdleTasks();
+                }
             }
         } catch (Throwable t) {
             inspectOutOfMemoryError(t);
@@ -130,8 +150,24 @@ public abstract class OperationThread extends HazelcastManagedThread implements
         }
     }
 
-    private void process(Object task) {
+    private void runIdleTasks() {
+        for (Runnable task : idleTasks) {
+            try {
+                task.run();
+            } catch (Throwable t) {
+                inspectOutOfMemoryError(t);
+                logger.severe("Failed to run idle task: " + task + " on: " + getName(), t);
+            }
+        }
+        idleTasks.clear();
+    }
+
+    void process(Object task) {
         try {
+            if (!admit(task)) {
+                return;
+            }
+
             if (task.getClass() == Packet.class) {
                 process((Packet) task);
             } else if (task instanceof Operation) {
@@ -186,6 +222,10 @@ public abstract class OperationThread extends HazelcastManagedThread implements
         }
 
         try {
+            if (!admit(task, batch.partitionId())) {
+                return;
+            }
+
             if (task instanceof Operation) {
                 process((Operation) task);
             } else if (task instanceof Runnable) {
@@ -198,6 +238,30 @@ public abstract class OperationThread extends HazelcastManagedThread implements
         }
     }
 
+    /**
+     * Checks if the given task taken from the queue can be run by this thread
+     * right now. If not, the task is handed to another thread or deferred.
+     *
+     * @param task the task
+     * @return {@code true} if the task can be run, {@code false} otherwise
+     */
+    boolean admit(Object task) {
+        return true;
+    }
+
+    /**
+     * Checks if the given task created by a {@link TaskBatch} for the given
+     * partition can be run by this thread right now. If not, the task is
+     * handed to another thread.
+     *
+     * @param task        the task
+     * @param partitionId the ID of the partition the task was created for
+     * @return {@code true} if the task can be run, {@code false} otherwise
+     */
+    boolean admit(Object task, int partitionId) {
+        return true;
+    }
+
     @Override
     public void provideStaticMetrics(MetricsRegistry registry) {
         MetricDescriptor descriptor = registry
@@ -0,0 +1,276 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.spi.impl.operationexecutor.impl;
+
+import com.hazelcast.internal.metrics.Probe;
+import com.hazelcast.internal.util.Clock;
+import com.hazelcast.internal.util.counters.MwCounter;
+import com.hazelcast.internal.util.counters.SwCounter;
+import com.hazelcast.logging.ILogger;
+import com.hazelcast.spi.impl.operationexecutor.OperationRunner;
+import com.hazelcast.spi.properties.ClusterProperty;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.OPERATION_METRIC_BALANCER_HANDOFF_COMPLETED_COUNT;
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.OPERATION_METRIC_BALANCER_IMBALANCE_DETECTED_COUNT;
+import static com.hazelcast.internal.util.EmptyStatement.ignore;
+import static com.hazelcast.internal.util.ThreadUtil.createThreadName;
+import static com.hazelcast.internal.util.counters.MwCounter.newMwCounter;
+import static com.hazelcast.internal.util.counters.SwCounter.newSwCounter;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+/**
+ * It attempts to detect and fix an imbalance of the load of the
+ * {@link PartitionOperationThread}s.
+ * <p>
+ * By default the partitions are statically assigned to the partition threads,
+ * so a few partitions owning popular keys can keep their threads busy while
+ * the other threads are idle. Similar to the
+ * {@link com.hazelcast.internal.networking.nio.iobalancer.IOBalancer IOBalancer},
+ * the balancer measures the number of operations run for each partition in
+ * a given interval and if imbalance is detected, it hands off a partition of
+ * the busiest thread to the least busy thread. See {@link PartitionThreadAssignment}
+ * for how the handoff keeps the order of the operations of the partition.
+ * <p>
+ * Measuring interval can be customized via
+ * {@link ClusterProperty#PARTITION_OPERATION_BALANCER_INTERVAL_SECONDS}.
+ * <p>
+ * A single handoff is in progress at a time. If a handoff doesn't complete in
+ * {@value #HANDOFF_TIMEOUT_INTERVALS} measuring intervals, e.g. because its
+ * task has been dropped by a partition thread shutting down, the balancer
+ * stops waiting for it and keeps balancing the other partitions.
+ */
+final class PartitionOperationBalancer {
+
+    /**
+     * A handoff is attempted if the least busy thread runs less operations
+     * than this ratio of the operations run by the busiest thread.
+     */
+    private static final double MIN_MAX_RATIO_HANDOFF_THRESHOLD = 0.8;
+
+    /**
+     * The higher the coefficient is, the busier partitions are handed off.
+     */
+    private static final double MAXIMUM_LOAD_AFTER_HANDOFF_COEFFICIENT = 0.9;
+
+    /**
+     * The number of measuring intervals after which a handoff in progress is
+     * considered lost.
+     */
+    private static final int HANDOFF_TIMEOUT_INTERVALS = 10;
+
+    private static final int NO_PARTITION = -1;
+
+    private static final String THREAD_NAME = "partition-operation.balancer";
+
+    private final PartitionThreadAssignment assignment;
+    private final OperationRunner[] partitionOperationRunners;
+    private final long balancerIntervalMs;
+    private final long handoffTimeoutMs;
+    private final String threadName;
+    private final ILogger logger;
+    private final long[] lastOperationCounts;
+    // the partition being handed off, cleared by the partition thread completing the handoff
+    private final AtomicInteger handoffPartitionId = new AtomicInteger(NO_PARTITION);
+    // only the balancer thread will access this field.
+    private long handoffDeadlineMs;
+    private BalancerThread balancerThread;
+
+    // only the balancer thread will write to this field.
+    @Probe(name = OPERATION_METRIC_BALANCER_IMBALANCE_DETECTED_COUNT)
+    private final SwCounter imbalanceDetectedCount = newSwCounter();
+
+    // the partition threads completing the handoffs will update this field.
+    @Probe(name = OPERATION_METRIC_BALANCER_HANDOFF_COMPLETED_COUNT)
+    private final MwCounter handoffCompletedCount = newMwCounter();
+
+    PartitionOperationBalancer(PartitionThreadAssignment assignment,
+                               OperationRunner[] partitionOperationRunners,
+                               int balancerIntervalSeconds,
+                               String hzName,
+                               ILogger logger) {
+        this.assignment = assignment;
+        this.partitionOperationRunners = partitionOperationRunners;
+        this.balancerIntervalMs = SECONDS.toMillis(balancerIntervalSeconds);
+        this.handoffTimeoutMs = balancerIntervalMs * HANDOFF_TIMEOUT_INTERVALS;
+        this.threadName = createThreadName(hzName, THREAD_NAME);
+        this.logger = logger;
+        this.lastOperationCounts = new long[partitionOperationRunners.length];
+    }
+
+    void start() {
+        balancerThread = new BalancerThread(threadName);
+        balancerThread.start();
+    }
+
+    void shutdown() {
+        if (balancerThread != null) {
+            balancerThread.shutdown();
+        }
+        // the partition threads shutting down may drop the handoff task
+        handoffPartitionId.set(NO_PARTITION);
+    }
+
+    // just for testing
+    boolean isHandoffInProgress() {
+        return handoffPartitionId.get() != NO_PARTITION;
+    }
+
+    // just for testing
+    long getHandoffCompletedCount() {
+        return handoffCompletedCount.get();
+    }
+
+    void rebalance() {
+        rebalance(Clock.currentTimeMillis());
+    }
+
+    // package-private for testing
+    void rebalance(long nowMs) {
+        long[] partitionLoads = updatePartitionLoads();
+        if (isWaitingForHandoff(nowMs)) {
+            logger.finest("The previous partition handoff is still in progress.");
+            return;
+        }
+
+        long[] threadLoads = new long[assignment.threadCount()];
+        for (int partitionId = 0; partitionId < partitionLoads.length; partitionId++) {
+            threadLoads[assignment.runningThreadId(partitionId)] += partitionLoads[partitionId];
+        }
+
+        int srcThreadId = 0;
+        int dstThreadId = 0;
+        for (int threadId = 1; threadId < threadLoads.length; threadId++) {
+            if (threadLoads[threadId] > threadLoads[srcThreadId]) {
+                srcThreadId = threadId;
+            }
+            if (threadLoads[threadId] < threadLoads[dstThreadId]) {
+                dstThreadId = threadId;
+            }
+        }
+
+        long max = threadLoads[srcThreadId];
+        long min = threadLoads[dstThreadId];
+        if (min >= (long) (MIN_MAX_RATIO_HANDOFF_THRESHOLD * max)) {
+            if (logger.isFinestEnabled()) {
+                logger.finest("No imbalance has been detected. Max. load: " + max + " Min load: " + min + ".");
+            }
+            return;
+        }
+
+        imbalanceDetectedCount.inc();
+        int partitionId = findPartitionToHandoff(partitionLoads, srcThreadId, max - min);
+        if (partitionId == -1) {
+            logger.finest("Partition operation imbalance is detected, but no suitable handoff candidate is found.");
+            return;
+        }
+
+        if (logger.isFinestEnabled()) {
+            logger.finest("Handing off partition " + partitionId + " with load " + partitionLoads[partitionId]
+                    + " from partition thread " + srcThreadId + " to " + dstThreadId);
+        }
+        handoffPartitionId.set(partitionId);
+        handoffDeadlineMs = nowMs + handoffTimeoutMs;
+        assignment.handoff(partitionId, dstThreadId, () -> onHandoffCompleted(partitionId));
+    }
+
+    /**
+     * Returns {@code true} if the previous handoff is still in progress and
+     * hasn't timed out yet.
+     */
+    private boolean isWaitingForHandoff(long nowMs) {
+        int pendingPartitionId = handoffPartitionId.get();
+        if (pendingPartitionId == NO_PARTITION) {
+            return false;
+        }
+        if (nowMs < handoffDeadlineMs) {
+            return true;
+        }
+        logger.warning("The handoff of partition " + pendingPartitionId + " has not completed in "
+                + handoffTimeoutMs + " ms, resuming the balancing of the other partitions.");
+        handoffPartitionId.compareAndSet(pendingPartitionId, NO_PARTITION);
+        return false;
+    }
+
+    private long[] updatePartitionLoads() {
+        long[] partitionLoads = new long[partitionOperationRunners.length];
+        for (int partitionId = 0; partitionId < partitionLoads.length; partitionId++) {
+            long operationCount = partitionOperationRunners[partitionId].executedOperationsCount();
+            partitionLoads[partitionId] = operationCount - lastOperationCounts[partitionId];
+            lastOperationCounts[partitionId] = operationCount;
+        }
+        return partitionLoads;
+    }
+
+    /**
+     * Finds the busiest partition of the source thread which wouldn't
+     * overload the destination thread after a handoff.
+     */
+    private int findPartitionToHandoff(long[] partitionLoads, int srcThreadId, long loadDifference) {
+        long handoffThreshold = (long) (loadDifference * MAXIMUM_LOAD_AFTER_HANDOFF_COEFFICIENT);
+        int candidate = -1;
+        long candidateLoad = 0;
+        for (int partitionId = 0; partitionId < partitionLoads.length; partitionId++) {
+            long load = partitionLoads[partitionId];
+            if (load > candidateLoad && load < handoffThreshold && assignment.runningThreadId(partitionId) == srcThreadId
+                    && !assignment.isHandoffInProgress(partitionId)) {
+                candidateLoad = load;
+                candidate = partitionId;
+            }
+        }
+        return candidate;
+    }
+
+    private void onHandoffCompleted(int partitionId) {
+        handoffCompletedCount.inc();
+        // the balancer may have stopped waiting for the handoff already
+        handoffPartitionId.compareAndSet(partitionId, NO_PARTITION);
+    }
+
+    private final class BalancerThread extends Thread {
+
+        private volatile boolean shutdown;
+
+        BalancerThread(String name) {
+            super(name);
+        }
+
+        void shutdown() {
+            shutdown = true;
+            interrupt();
+        }
+
+        @Override
+        public void run() {
+            try {
+                logger.finest("Starting partition operation balancer thread");
+                while (!shutdown) {
+                    MILLISECONDS.sleep(balancerIntervalMs);
+                    rebalance();
+                }
+            } catch (InterruptedException e) {
+                logger.finest("Partition operation balancer thread stopped");
+                //this thread is about to exit, no reason restoring the interrupt flag
+                ignore(e);
+            } catch (Throwable e) {
+                logger.severe("Partition operation balancer failed", e);
+            }
+        }
+    }
+}
@@ -18,10 +18,18 @@ package com.hazelcast.spi.impl.operationexecutor.impl;
 
 import com.hazelcast.instance.impl.NodeExtension;
 import com.hazelcast.internal.metrics.Probe;
+import com.hazelcast.internal.nio.Packet;
+import com.hazelcast.internal.util.collection.Int2ObjectHashMap;
 import com.hazelcast.logging.ILogger;
+import com.hazelcast.spi.impl.PartitionSpecificRunnable;
 import com.hazelcast.spi.impl.operationexecutor.OperationRunner;
+import com.hazelcast.spi.impl.operationservice.Operation;
+import com.hazelcast.spi.impl.operationservice.UrgentSystemOperation;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 
+import java.util.ArrayDeque;
+import java.util.Queue;
+
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.OPERATION_METRIC_PARTITION_OPERATION_THREAD_NORMAL_PENDING_COUNT;
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.OPERATION_METRIC_PARTITION_OPERATION_THREAD_PRIORITY_PENDING_COUNT;
 
@@ -32,6 +40,10 @@ import static com.hazelcast.internal.metrics.MetricDescriptorConstants.OPERATION
 public final class PartitionOperationThread extends OperationThread {
 
     private final OperationRunner[] partitionOperationRunners;
+    // null if the partitions are statically assigned to the threads
+    private final PartitionThreadAssignment assignment;
+    // the tasks of the partitions being handed off to this thread, only accessed by this thread
+    private final Int2ObjectHashMap<Queue<Object>> deferredTasks = new Int2ObjectHashMap<>();
 
     @SuppressFBWarnings("EI_EXPOSE_REP")
     public PartitionOperationThread(String name,
@@ -41,8 +53,22 @@ public final class PartitionOperationThread extends OperationThread {
                                     NodeExtension nodeExtension,
                                     OperationRunner[] partitionOperationRunners,
                                     ClassLoader configClassLoader) {
+        this(name, threadId, queue, logger, nodeExtension, partitionOperationRunners, configClassLoader, null);
+    }
+
+    @SuppressFBWarnings("EI_EXPOSE_REP")
+    @SuppressWarnings("checkstyle:parameternumber")
+    PartitionOperationThread(String name,
+                             int threadId,
+                             OperationQueue queue,
+                             ILogger logger,
+                             NodeExtension nodeExtension,
+                             OperationRunner[] partitionOperationRunners,
+                             ClassLoader configClassLoader,
+                             PartitionThreadAssignment assignment) {
         super(name, threadId, queue, logger, nodeExtension, false, configClassLoader);
         this.partitionOperationRunners = partitionOperationRunners;
+        this.assignment = assignment;
     }
 
     /**
@@ -54,6 +80,84 @@ public final class PartitionOperationThread extends OperationThread {
         return partitionOperationRunners[partitionId];
     }
 
+    @Override
+    boolean admit(Object task) {
+        if (assignment == null) {
+            return true;
+        }
+
+        int partitionId = partitionIdOf(task);
+        if (partitionId < 0) {
+            return true;
+        }
+
+        int runningThreadId = assignment.runningThreadId(partitionId);
+        if (runningThreadId == threadId) {
+            runDeferred(partitionId);
+            return true;
+        }
+
+        if (isUrgent(task)) {
+            // urgent tasks don't wait for the handoff, they are run by the thread the partition is handed off from
+            assignment.executeOnRunningThread(task, partitionId);
+        } else {
+            Queue<Object> tasks = deferredTasks.get(partitionId);
+            if (tasks == null) {
+                tasks = new ArrayDeque<>();
+                deferredTasks.put(partitionId, tasks);
+            }
+            tasks.add(task);
+        }
+        return false;
+    }
+
+    @Override
+    boolean admit(Object task, int partitionId) {
+        if (assignment == null || assignment.runningThreadId(partitionId) == threadId) {
+            return true;
+        }
+
+        // the partition has been handed off since the batch was created
+        Object partitionTask = task instanceof Operation ? task : new PartitionRunnable((Runnable) task, partitionId);
+        assignment.execute(partitionTask, partitionId, false);
+        return false;
+    }
+
+    /**
+     * Runs the tasks of the given partition deferred while the partition was
+     * handed off to this thread.
+     */
+    void runDeferred(int partitionId) {
+        Queue<Object> tasks = deferredTasks.remove(partitionId);
+        if (tasks == null) {
+            return;
+        }
+
+        for (Object task : tasks) {
+            process(task);
+        }
+    }
+
+    private static int partitionIdOf(Object task) {
+        if (task.getClass() == Packet.class) {
+            return ((Packet) task).getPartitionId();
+        } else if (task instanceof Operation) {
+            return ((Operation) task).getPartitionId();
+        } else if (task instanceof PartitionSpecificRunnable) {
+            return ((PartitionSpecificRunnable) task).getPartitionId();
+        }
+        return -1;
+    }
+
+    private static boolean isUrgent(Object task) {
+        if (task.getClass() == Packet.class) {
+            return ((Packet) task).isUrgent();
+        } else if (task instanceof Operation) {
+            return ((Operation) task).isUrgent();
+        }
+        return task instanceof UrgentSystemOperation;
+    }
+
     @Probe(name = OPERATION_METRIC_PARTITION_OPERATION_THREAD_PRIORITY_PENDING_COUNT)
     int priorityPendingCount() {
         return queue.prioritySize();
@@ -63,4 +167,29 @@ public final class PartitionOperationThread extends OperationThread {
     int normalPendingCount() {
         return queue.normalSize();
     }
+
+    /**
+     * A {@link Runnable} created by a {@link TaskBatch} for a partition that
+     * has been handed off to another thread.
+     */
+    private static final class PartitionRunnable implements PartitionSpecificRunnable {
+
+        private final Runnable task;
+        private final int partitionId;
+
+        PartitionRunnable(Runnable task, int partitionId) {
+            this.task = task;
+            this.partitionId = partitionId;
+        }
+
+        @Override
+        public int getPartitionId() {
+            return partitionId;
+        }
+
+        @Override
+        public void run() {
+            task.run();
+        }
+    }
 }
@@ -0,0 +1,194 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.spi.impl.operationexecutor.impl;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * The assignment of partitions to {@link PartitionOperationThread}s used when
+ * the {@link PartitionOperationBalancer} is enabled.
+ * <p>
+ * Each partition has a routing thread, the thread its tasks are offered to,
+ * and a running thread, the only thread allowed to run its tasks. They are
+ * the same thread except while the partition is handed off to another thread:
+ * <ol>
+ * <li>the routing thread is switched to the destination thread, and once no
+ * thread is offering a task to the source thread anymore, a handoff task is
+ * offered to the source thread behind the tasks of the partition it got;</li>
+ * <li>the destination thread defers the tasks of the partition it takes, the
+ * urgent ones are sent to the source thread instead;</li>
+ * <li>when the source thread runs the handoff task, the destination thread
+ * becomes the running thread and runs the deferred tasks before any other
+ * task of the partition.</li>
+ * </ol>
+ * So the tasks of a partition keep being run in the order they were offered
+ * and never by 2 threads at the same time.
+ */
+final class PartitionThreadAssignment {
+
+    private final AtomicIntegerArray routingThreadIds;
+    private final AtomicIntegerArray runningThreadIds;
+    // the number of threads offering a task of a partition right now
+    private final AtomicIntegerArray offeringThreadCounts;
+    private PartitionOperationThread[] threads;
+
+    PartitionThreadAssignment(int partitionCount, int threadCount) {
+        this.routingThreadIds = new AtomicIntegerArray(partitionCount);
+        this.runningThreadIds = new AtomicIntegerArray(partitionCount);
+        this.offeringThreadCounts = new AtomicIntegerArray(partitionCount);
+        for (int partitionId = 0; partitionId < partitionCount; partitionId++) {
+            int threadId = OperationExecutorImpl.getPartitionThreadId(partitionId, threadCount);
+            routingThreadIds.set(partitionId, threadId);
+            runningThreadIds.set(partitionId, threadId);
+        }
+    }
+
+    /**
+     * Sets the threads the partitions are assigned to. Should be called
+     * before the threads are started.
+     */
+    void init(PartitionOperationThread[] threads) {
+        this.threads = threads;
+    }
+
+    int partitionCount() {
+        return routingThreadIds.length();
+    }
+
+    int threadCount() {
+        return threads.length;
+    }
+
+    /**
+     * Returns the ID of the only thread allowed to run the tasks of the given
+     * partition right now.
+     */
+    int runningThreadId(int partitionId) {
+        return runningThreadIds.get(partitionId);
+    }
+
+    /**
+     * Returns {@code true} if the given partition is being handed off to
+     * another thread.
+     */
+    boolean isHandoffInProgress(int partitionId) {
+        return routingThreadIds.get(partitionId) != runningThreadIds.get(partitionId);
+    }
+
+    /**
+     * Returns a snapshot of the routing thread IDs of all partitions, indexed
+     * by partition ID.
+     */
+    int[] routingThreadIds() {
+        int[] threadIds = new int[routingThreadIds.length()];
+        for (int partitionId = 0; partitionId < threadIds.length; partitionId++) {
+            threadIds[partitionId] = routingThreadIds.get(partitionId);
+        }
+        return threadIds;
+    }
+
+    /**
+     * Offers the task of the given partition to the routing thread of the
+     * partition.
+     */
+    void execute(Object task, int partitionId, boolean priority) {
+        offeringThreadCounts.incrementAndGet(partitionId);
+        try {
+            threads[routingThreadIds.get(partitionId)].queue.add(task, priority);
+        } finally {
+            offeringThreadCounts.decrementAndGet(partitionId);
+        }
+    }
+
+    /**
+     * Sends the urgent task of the given partition to the running thread of
+     * the partition.
+     */
+    void executeOnRunningThread(Object task, int partitionId) {
+        threads[runningThreadIds.get(partitionId)].queue.add(task, true);
+    }
+
+    /**
+     * Starts handing off the given partition to the given thread. Should only
+     * be called when no other handoff of the partition is in progress.
+     *
+     * @param partitionId    the ID of the partition to hand off
+     * @param dstThreadId    the ID of the thread to hand off the partition to
+     * @param onCompletion   run by the destination thread once the handoff is
+     *                       completed
+     */
+    void handoff(int partitionId, int dstThreadId, Runnable onCompletion) {
+        int srcThreadId = routingThreadIds.get(partitionId);
+        assert srcThreadId == runningThreadIds.get(partitionId) : "handoff of partition " + partitionId + " in progress";
+
+        routingThreadIds.set(partitionId, dstThreadId);
+        // threads which read the previous routing thread may still be offering tasks to it
+        while (offeringThreadCounts.get(partitionId) != 0) {
+            Thread.yield();
+        }
+        threads[srcThreadId].queue.add(new HandoffTask(partitionId, dstThreadId, onCompletion), false);
+    }
+
+    /**
+     * Run by the source thread once it has run all the tasks of the partition
+     * offered to it.
+     */
+    private final class HandoffTask implements Runnable {
+
+        private final int partitionId;
+        private final int dstThreadId;
+        private final Runnable onCompletion;
+
+        HandoffTask(int partitionId, int dstThreadId, Runnable onCompletion) {
+            this.partitionId = partitionId;
+            this.dstThreadId = dstThreadId;
+            this.onCompletion = onCompletion;
+        }
+
+        @Override
+        public void run() {
+            PartitionOperationThread dstThread = threads[dstThreadId];
+            dstThread.operationRunner(partitionId).setCurrentThread(dstThread);
+            runningThreadIds.set(partitionId, dstThreadId);
+            dstThread.queue.add(new RunDeferredTask(partitionId, onCompletion), true);
+        }
+    }
+
+    /**
+     * Run by the destination thread to run the tasks it deferred if no other
+     * task of the partition has done it yet.
+     */
+    private final class RunDeferredTask implements Runnable {
+
+        private final int partitionId;
+        private final Runnable onCompletion;
+
+        RunDeferredTask(int partitionId, Runnable onCompletion) {
+            this.partitionId = partitionId;
+            this.onCompletion = onCompletion;
+        }
+
+        @Override
+        public void run() {
+            try {
+                ((PartitionOperationThread) Thread.currentThread()).runDeferred(partitionId);
+            } finally {
+                onCompletion.run();
+            }
+        }
+    }
+}
@@ -31,13 +31,29 @@ public class TaskBatch {
     private final BitSet partitions;
     private final int threadId;
     private final int partitionThreadCount;
+    private final int[] partitionThreadIds;
     private int nextPartitionId;
+    private int lastPartitionId = -1;
 
     public TaskBatch(PartitionTaskFactory taskFactory, BitSet partitions, int threadId, int partitionThreadCount) {
+        this(taskFactory, partitions, threadId, partitionThreadCount, null);
+    }
+
+    /**
+     * Creates a batch for the partitions the given thread IDs assign to the
+     * thread with the given ID.
+     *
+     * @param partitionThreadIds the partition thread IDs indexed by partition
+     *                           ID, or {@code null} to assign the partitions
+     *                           with {@link OperationExecutorImpl#getPartitionThreadId(int, int)}
+     */
+    TaskBatch(PartitionTaskFactory taskFactory, BitSet partitions, int threadId, int partitionThreadCount,
+              int[] partitionThreadIds) {
         this.taskFactory = taskFactory;
         this.partitions = partitions;
         this.threadId = threadId;
         this.partitionThreadCount = partitionThreadCount;
+        this.partitionThreadIds = partitionThreadIds;
     }
 
     public PartitionTaskFactory taskFactory() {
@@ -50,8 +66,16 @@ public class TaskBatch {
      * @return the task to execute, or null if the batch is complete.
      */
     public Object next() {
-        int partitionId = nextPartitionId();
-        return partitionId == -1 ? null : taskFactory.create(partitionId);
+        lastPartitionId = nextPartitionId();
+        return lastPartitionId == -1 ? null : taskFactory.create(lastPartitionId);
+    }
+
+    /**
+     * Returns the ID of the partition the last task returned by {@link #next()}
+     * was created for.
+     */
+    int partitionId() {
+        return lastPartitionId;
     }
 
     private int nextPartitionId() {
@@ -63,7 +87,10 @@ public class TaskBatch {
 
             nextPartitionId = partitionId + 1;
 
-            if (getPartitionThreadId(partitionId, partitionThreadCount) == threadId) {
+            int partitionThreadId = partitionThreadIds == null
+                    ? getPartitionThreadId(partitionId, partitionThreadCount)
+                    : partitionThreadIds[partitionId];
+            if (partitionThreadId == threadId) {
                 // only selected partitions that belong to the right partition thread.
                 return partitionId;
             }
@@ -28,16 +28,21 @@ import com.hazelcast.spi.impl.NodeEngine;
 import com.hazelcast.spi.impl.operationservice.impl.responses.ErrorResponse;
 
 import java.nio.ByteOrder;
+import java.util.Arrays;
 import java.util.function.Consumer;
 
 import static com.hazelcast.internal.util.counters.MwCounter.newMwCounter;
 import static com.hazelcast.internal.util.counters.SwCounter.newSwCounter;
+import static com.hazelcast.internal.nio.Bits.INT_SIZE_IN_BYTES;
 import static com.hazelcast.internal.nio.Packet.FLAG_OP_RESPONSE;
 import static com.hazelcast.internal.nio.Packet.Type.OPERATION;
 import static com.hazelcast.spi.impl.SpiDataSerializerHook.BACKUP_ACK_RESPONSE;
 import static com.hazelcast.spi.impl.SpiDataSerializerHook.CALL_TIMEOUT_RESPONSE;
 import static com.hazelcast.spi.impl.SpiDataSerializerHook.ERROR_RESPONSE;
+import static com.hazelcast.spi.impl.SpiDataSerializerHook.MULTI_RESPONSE;
 import static com.hazelcast.spi.impl.SpiDataSerializerHook.NORMAL_RESPONSE;
+import static com.hazelcast.spi.impl.operationservice.impl.responses.MultiResponse.OFFSET_RESPONSES;
+import static com.hazelcast.spi.impl.operationservice.impl.responses.MultiResponse.OFFSET_RESPONSE_COUNT;
 import static com.hazelcast.spi.impl.operationservice.impl.responses.NormalResponse.OFFSET_BACKUP_ACKS;
 import static com.hazelcast.spi.impl.operationservice.impl.responses.Response.OFFSET_CALL_ID;
 import static com.hazelcast.spi.impl.operationservice.impl.responses.Response.OFFSET_TYPE_ID;
@@ -100,6 +105,9 @@ public final class InboundResponseHandler implements Consumer<Packet> {
                     ErrorResponse errorResponse = serializationService.toObject(packet);
                     notifyErrorResponse(callId, errorResponse.getCause(), sender);
                     break;
+                case MULTI_RESPONSE:
+                    acceptMultiResponse(packet, bytes);
+                    break;
                 default:
                     logger.severe("Unrecognized type: " + typeId + " packet:" + packet);
             }
@@ -108,6 +116,23 @@ public final class InboundResponseHandler implements Consumer<Packet> {
         }
     }
 
+    // splits the coalesced responses and handles each of them as if it was received in its own packet
+    private void acceptMultiResponse(Packet packet, byte[] bytes) {
+        int count = Bits.readInt(bytes, OFFSET_RESPONSE_COUNT, useBigEndian);
+        int offset = OFFSET_RESPONSES;
+        for (int i = 0; i < count; i++) {
+            int length = Bits.readInt(bytes, offset, useBigEndian);
+            offset += INT_SIZE_IN_BYTES;
+            byte[] response = Arrays.copyOfRange(bytes, offset, offset + length);
+            offset += length;
+
+            accept(new Packet(response, -1)
+                    .setPacketType(OPERATION)
+                    .raiseFlags(FLAG_OP_RESPONSE)
+                    .setConn(packet.getConn()));
+        }
+    }
+
     public void notifyBackupComplete(long callId) {
         responsesBackup.inc();
 
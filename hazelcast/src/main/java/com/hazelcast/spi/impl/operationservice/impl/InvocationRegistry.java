@@ -26,11 +26,15 @@ import com.hazelcast.internal.util.RuntimeAvailableProcessors;
 import com.hazelcast.logging.ILogger;
 import com.hazelcast.spi.impl.sequence.CallIdSequence;
 
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
 
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.OPERATION_METRIC_INVOCATION_REGISTRY_INVOCATIONS_LAST_CALL_ID;
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.OPERATION_METRIC_INVOCATION_REGISTRY_INVOCATIONS_PENDING;
@@ -38,6 +42,7 @@ import static com.hazelcast.internal.metrics.MetricDescriptorConstants.OPERATION
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.OPERATION_PREFIX;
 import static com.hazelcast.internal.metrics.ProbeLevel.MANDATORY;
 import static com.hazelcast.internal.metrics.ProbeUnit.PERCENT;
+import static com.hazelcast.internal.util.QuickMath.nextPowerOfTwo;
 import static com.hazelcast.spi.impl.operationservice.OperationAccessor.deactivate;
 import static com.hazelcast.spi.impl.operationservice.OperationAccessor.setCallId;
 
@@ -50,11 +55,16 @@ import static com.hazelcast.spi.impl.operationservice.OperationAccessor.setCallI
  * {@link com.hazelcast.spi.impl.operationservice.impl.responses.Response} comes in, the
  * appropriate invocation can be looked up.
  * <p>
+ * The invocations are stored in a ringbuffer of slots and the call ID is used as the sequence of
+ * this ringbuffer. Since call IDs are handed out in order, and are released fairly quickly, an
+ * invocation nearly always finds its slot empty; so registering, looking up and deregistering an
+ * invocation doesn't box the call ID nor allocate a map entry. The number of slots is derived from
+ * the maximum number of concurrent invocations of the {@link CallIdSequence}. If an invocation runs
+ * into a slot that is still taken by a long running invocation, e.g. a blocking operation, it is
+ * stored in an overflow map instead.
+ * <p>
  * Some ideas:
  * <ul>
- * <li>Use a ringbuffer to store all invocations instead of a CHM. The call ID can be used as sequence ID for this
- * ringbuffer. It can be that you run in slots that have not been released; if that happens, just keep increasing
- * the sequence (although you now get sequence-gaps).</li>
  * <li>Pre-allocate all invocations. Because the ringbuffer has a fixed capacity, pre-allocation should be easy. Also
  * the PartitionInvocation and TargetInvocation can be folded into Invocation.</li>
  * </ul>
@@ -65,12 +75,16 @@ public class InvocationRegistry implements Iterable<Invocation>, StaticMetricsPr
     private static final int CORE_SIZE_FACTOR = 4;
     private static final int CONCURRENCY_LEVEL = 16;
 
-    private static final int INITIAL_CAPACITY = 1000;
+    private static final int INITIAL_CAPACITY = 16;
     private static final float LOAD_FACTOR = 0.75f;
     private static final double HUNDRED_PERCENT = 100d;
+    private static final int MAX_SLOT_COUNT = 16384;
 
-    @Probe(name = OPERATION_METRIC_INVOCATION_REGISTRY_INVOCATIONS_PENDING, level = MANDATORY)
-    private final ConcurrentMap<Long, Invocation> invocations;
+    private final AtomicReferenceArray<Invocation> slots;
+    private final int slotMask;
+    // the invocations that ran into a slot taken by another invocation
+    private final ConcurrentMap<Long, Invocation> overflow;
+    private final LongAdder size = new LongAdder();
     private final ILogger logger;
     private final CallIdSequence callIdSequence;
 
@@ -84,7 +98,11 @@ public class InvocationRegistry implements Iterable<Invocation>, StaticMetricsPr
         boolean reallyMultiCore = coreSize >= CORE_SIZE_CHECK;
         int concurrencyLevel = reallyMultiCore ? coreSize * CORE_SIZE_FACTOR : CONCURRENCY_LEVEL;
 
-        this.invocations = new ConcurrentHashMap<>(INITIAL_CAPACITY, LOAD_FACTOR, concurrencyLevel);
+        this.overflow = new ConcurrentHashMap<>(INITIAL_CAPACITY, LOAD_FACTOR, concurrencyLevel);
+
+        int slotCount = nextPowerOfTwo(Math.min(callIdSequence.getMaxConcurrentInvocations(), MAX_SLOT_COUNT));
+        this.slots = new AtomicReferenceArray<>(slotCount);
+        this.slotMask = slotCount - 1;
     }
 
     @Override
@@ -99,7 +117,12 @@ public class InvocationRegistry implements Iterable<Invocation>, StaticMetricsPr
             return 0;
         }
 
-        return (HUNDRED_PERCENT * invocations.size()) / maxConcurrentInvocations;
+        return (HUNDRED_PERCENT * size()) / maxConcurrentInvocations;
+    }
+
+    @Probe(name = OPERATION_METRIC_INVOCATION_REGISTRY_INVOCATIONS_PENDING, level = MANDATORY)
+    private int invocationsPending() {
+        return size();
     }
 
     @Probe(name = OPERATION_METRIC_INVOCATION_REGISTRY_INVOCATIONS_LAST_CALL_ID)
@@ -128,7 +151,10 @@ public class InvocationRegistry implements Iterable<Invocation>, StaticMetricsPr
             callIdSequence.complete();
             throw e;
         }
-        invocations.put(callId, invocation);
+        if (!slots.compareAndSet(slotIndex(callId), null, invocation)) {
+            overflow.put(callId, invocation);
+        }
+        size.increment();
         if (!alive) {
             invocation.notifyError(new HazelcastInstanceNotActiveException());
             return false;
@@ -147,7 +173,11 @@ public class InvocationRegistry implements Iterable<Invocation>, StaticMetricsPr
         if (!deactivate(invocation.op)) {
             return false;
         }
-        invocations.remove(invocation.op.getCallId());
+        long callId = invocation.op.getCallId();
+        if (!slots.compareAndSet(slotIndex(callId), invocation, null)) {
+            overflow.remove(callId);
+        }
+        size.decrement();
         callIdSequence.complete();
         return true;
     }
@@ -158,21 +188,25 @@ public class InvocationRegistry implements Iterable<Invocation>, StaticMetricsPr
      * @return the number of pending invocations
      */
     public int size() {
-        return invocations.size();
+        return size.intValue();
     }
 
     @Override
     public Iterator<Invocation> iterator() {
-        return invocations.values().iterator();
+        return new InvocationIterator();
     }
 
     /**
-     * Intention to expose the entry set is to mutate it.
+     * Returns a snapshot of the invocations in this registry mapped by their call IDs.
      *
      * @return set of invocations in this registry
      */
     public Set<Map.Entry<Long, Invocation>> entrySet() {
-        return invocations.entrySet();
+        Map<Long, Invocation> snapshot = new HashMap<>();
+        for (Invocation invocation : this) {
+            snapshot.put(invocation.op.getCallId(), invocation);
+        }
+        return snapshot.entrySet();
     }
 
     /**
@@ -182,7 +216,15 @@ public class InvocationRegistry implements Iterable<Invocation>, StaticMetricsPr
      * @return the Invocation for the given call ID, or {@code null} if no invocation was found.
      */
     public Invocation get(long callId) {
-        return invocations.get(callId);
+        Invocation invocation = slots.get(slotIndex(callId));
+        if (invocation != null && invocation.op.getCallId() == callId) {
+            return invocation;
+        }
+        return overflow.isEmpty() ? null : overflow.get(callId);
+    }
+
+    private int slotIndex(long callId) {
+        return (int) callId & slotMask;
     }
 
     public void reset(Throwable cause) {
@@ -206,4 +248,36 @@ public class InvocationRegistry implements Iterable<Invocation>, StaticMetricsPr
             }
         }
     }
+
+    /**
+     * Iterates over the invocations in the slots followed by the ones in the overflow map. Just like
+     * the iterators of the concurrent collections, it doesn't fail on concurrent modifications.
+     */
+    private final class InvocationIterator implements Iterator<Invocation> {
+
+        private final Iterator<Invocation> overflowIterator = overflow.values().iterator();
+        private int slotIndex;
+        private Invocation next;
+
+        @Override
+        public boolean hasNext() {
+            while (next == null && slotIndex < slots.length()) {
+                next = slots.get(slotIndex++);
+            }
+            if (next == null && overflowIterator.hasNext()) {
+                next = overflowIterator.next();
+            }
+            return next != null;
+        }
+
+        @Override
+        public Invocation next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            Invocation invocation = next;
+            next = null;
+            return invocation;
+        }
+    }
 }
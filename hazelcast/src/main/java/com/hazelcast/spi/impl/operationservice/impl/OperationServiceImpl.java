@@ -155,7 +155,9 @@ public final class OperationServiceImpl implements StaticMetricsProvider, LiveOp
                 node.getProperties(), node.getLogger(BackpressureRegulator.class));
 
         this.outboundResponseHandler = new OutboundResponseHandler(thisAddress, serializationService,
-                node.getLogger(OutboundResponseHandler.class));
+                node.getLogger(OutboundResponseHandler.class),
+                node.getProperties().getInteger(ClusterProperty.RESPONSE_COALESCING_MAX_COUNT),
+                () -> node.getClusterService().getClusterVersion());
 
         this.invocationRegistry = new InvocationRegistry(
                 node.getLogger(OperationServiceImpl.class),
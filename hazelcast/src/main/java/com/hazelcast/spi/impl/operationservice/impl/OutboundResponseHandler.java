@@ -21,14 +21,23 @@ import com.hazelcast.logging.ILogger;
 import com.hazelcast.cluster.Address;
 import com.hazelcast.internal.server.ServerConnectionManager;
 import com.hazelcast.internal.nio.Packet;
+import com.hazelcast.internal.cluster.Versions;
 import com.hazelcast.internal.serialization.Data;
 import com.hazelcast.spi.impl.operationservice.Operation;
+import com.hazelcast.spi.impl.operationexecutor.impl.PartitionOperationThread;
 import com.hazelcast.spi.impl.operationservice.OperationResponseHandler;
 import com.hazelcast.spi.impl.SpiDataSerializerHook;
 import com.hazelcast.spi.impl.operationservice.impl.responses.CallTimeoutResponse;
 import com.hazelcast.spi.impl.operationservice.impl.responses.ErrorResponse;
 import com.hazelcast.spi.impl.operationservice.impl.responses.NormalResponse;
 import com.hazelcast.spi.impl.operationservice.impl.responses.Response;
+import com.hazelcast.version.Version;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
 
 import static com.hazelcast.internal.serialization.impl.SerializationConstants.CONSTANT_TYPE_DATA_SERIALIZABLE;
 import static com.hazelcast.internal.serialization.impl.SerializationConstants.CONSTANT_TYPE_NULL;
@@ -40,8 +49,11 @@ import static com.hazelcast.internal.nio.Packet.FLAG_OP_RESPONSE;
 import static com.hazelcast.internal.nio.Packet.FLAG_URGENT;
 import static com.hazelcast.internal.nio.Packet.Type.OPERATION;
 import static com.hazelcast.spi.impl.SpiDataSerializerHook.BACKUP_ACK_RESPONSE;
+import static com.hazelcast.spi.impl.SpiDataSerializerHook.MULTI_RESPONSE;
 import static com.hazelcast.spi.impl.SpiDataSerializerHook.NORMAL_RESPONSE;
 import static com.hazelcast.spi.impl.operationservice.impl.responses.BackupAckResponse.BACKUP_RESPONSE_SIZE_IN_BYTES;
+import static com.hazelcast.spi.impl.operationservice.impl.responses.MultiResponse.OFFSET_RESPONSES;
+import static com.hazelcast.spi.impl.operationservice.impl.responses.MultiResponse.OFFSET_RESPONSE_COUNT;
 import static com.hazelcast.spi.impl.operationservice.impl.responses.NormalResponse.OFFSET_BACKUP_ACKS;
 import static com.hazelcast.spi.impl.operationservice.impl.responses.NormalResponse.OFFSET_DATA_LENGTH;
 import static com.hazelcast.spi.impl.operationservice.impl.responses.NormalResponse.OFFSET_DATA_PAYLOAD;
@@ -60,6 +72,14 @@ import static java.nio.ByteOrder.BIG_ENDIAN;
  * An {@link OperationResponseHandler} that is used for a remotely executed Operation. So when a calling member
  * sends an Operation to the receiving member, the receiving member attaches this OutboundResponseHandler
  * to that operation so that the response is returned to the right machine.
+ * <p>
+ * When response coalescing is enabled, the normal responses sent by a partition
+ * operation thread are held back until the thread has no more operations waiting
+ * or the maximum number of responses has been collected, and the responses for the
+ * same member are then sent as a single {@link
+ * com.hazelcast.spi.impl.operationservice.impl.responses.MultiResponse} packet.
+ * Members older than 4.1 can't read a MultiResponse, so the responses are not
+ * coalesced until the cluster version is at least 4.1.
  */
 public final class OutboundResponseHandler implements OperationResponseHandler {
 
@@ -67,14 +87,27 @@ public final class OutboundResponseHandler implements OperationResponseHandler {
     private final InternalSerializationService serializationService;
     private final boolean useBigEndian;
     private final ILogger logger;
+    private final int maxCoalescedResponses;
+    private final Supplier<Version> clusterVersionSupplier;
+    private final ThreadLocal<ResponseCoalescer> coalescers = new ThreadLocal<>();
 
     OutboundResponseHandler(Address thisAddress,
                             InternalSerializationService serializationService,
                             ILogger logger) {
+        this(thisAddress, serializationService, logger, 1, () -> Versions.CURRENT_CLUSTER_VERSION);
+    }
+
+    OutboundResponseHandler(Address thisAddress,
+                            InternalSerializationService serializationService,
+                            ILogger logger,
+                            int maxCoalescedResponses,
+                            Supplier<Version> clusterVersionSupplier) {
         this.thisAddress = thisAddress;
         this.serializationService = serializationService;
         this.useBigEndian = serializationService.getByteOrder() == BIG_ENDIAN;
         this.logger = logger;
+        this.maxCoalescedResponses = maxCoalescedResponses;
+        this.clusterVersionSupplier = clusterVersionSupplier;
     }
 
     @Override
@@ -122,12 +155,24 @@ public final class OutboundResponseHandler implements OperationResponseHandler {
                                        int backupAcks, boolean urgent, Object value) {
         checkTarget(target);
 
-        Packet packet = toNormalResponsePacket(callId, (byte) backupAcks, urgent, value);
+        byte[] bytes = toNormalResponseBytes(callId, (byte) backupAcks, urgent, value);
 
-        return transmit(target, packet, connectionManager);
+        if (!urgent && maxCoalescedResponses > 1 && clusterVersionSupplier.get().isGreaterOrEqual(Versions.V4_1)) {
+            ResponseCoalescer coalescer = getCoalescer();
+            if (coalescer != null) {
+                coalescer.add(connectionManager, target, bytes);
+                return true;
+            }
+        }
+
+        return transmit(target, newResponsePacket(bytes, urgent), connectionManager);
     }
 
     Packet toNormalResponsePacket(long callId, int backupAcks, boolean urgent, Object value) {
+        return newResponsePacket(toNormalResponseBytes(callId, backupAcks, urgent, value), urgent);
+    }
+
+    private byte[] toNormalResponseBytes(long callId, int backupAcks, boolean urgent, Object value) {
         byte[] bytes;
         boolean isData = value instanceof Data;
         if (isData) {
@@ -161,7 +206,29 @@ public final class OutboundResponseHandler implements OperationResponseHandler {
         bytes[OFFSET_IS_DATA] = (byte) (isData ? 1 : 0);
         //the remaining part of the byte array is already filled, so we are done.
 
-        return newResponsePacket(bytes, urgent);
+        return bytes;
+    }
+
+    Packet toMultiResponsePacket(List<byte[]> responses) {
+        int length = OFFSET_RESPONSES;
+        for (byte[] response : responses) {
+            length += INT_SIZE_IN_BYTES + response.length;
+        }
+
+        byte[] bytes = new byte[length];
+        writeResponsePrologueBytes(bytes, MULTI_RESPONSE, 0, false);
+        writeInt(bytes, OFFSET_RESPONSE_COUNT, responses.size(), useBigEndian);
+
+        // every response is prefixed by its length, the same way ObjectDataOutput.writeByteArray does it
+        int offset = OFFSET_RESPONSES;
+        for (byte[] response : responses) {
+            writeInt(bytes, offset, response.length, useBigEndian);
+            offset += INT_SIZE_IN_BYTES;
+            System.arraycopy(response, 0, bytes, offset, response.length);
+            offset += response.length;
+        }
+
+        return newResponsePacket(bytes, false);
     }
 
     public void sendBackupAck(ServerConnectionManager connectionManager, Address target, long callId, boolean urgent) {
@@ -219,4 +286,95 @@ public final class OutboundResponseHandler implements OperationResponseHandler {
             throw new IllegalArgumentException("Target is this node! -> " + target);
         }
     }
+
+    // only the partition threads coalesce responses since they are the ones
+    // that can tell when they are done with a run of operations
+    private ResponseCoalescer getCoalescer() {
+        Thread thread = Thread.currentThread();
+        if (thread.getClass() != PartitionOperationThread.class) {
+            return null;
+        }
+
+        ResponseCoalescer coalescer = coalescers.get();
+        if (coalescer == null) {
+            coalescer = new ResponseCoalescer((PartitionOperationThread) thread);
+            coalescers.set(coalescer);
+        }
+        return coalescer;
+    }
+
+    /**
+     * Collects the normal responses sent by a single partition operation thread,
+     * grouped by target member. The responses are sent once the thread has no more
+     * operations waiting or the maximum number of responses has been collected.
+     * <p>
+     * A ResponseCoalescer is only accessed by its partition thread.
+     */
+    private final class ResponseCoalescer implements Runnable {
+
+        private final Map<Address, PendingResponses> pendingResponses = new HashMap<>();
+        private final PartitionOperationThread thread;
+        private int pendingCount;
+        private boolean scheduled;
+
+        ResponseCoalescer(PartitionOperationThread thread) {
+            this.thread = thread;
+        }
+
+        void add(ServerConnectionManager connectionManager, Address target, byte[] response) {
+            PendingResponses responses = pendingResponses.get(target);
+            if (responses == null) {
+                responses = new PendingResponses(connectionManager);
+                pendingResponses.put(target, responses);
+            }
+            responses.add(response);
+
+            if (!scheduled) {
+                scheduled = true;
+                thread.executeWhenIdle(this);
+            }
+
+            if (++pendingCount == maxCoalescedResponses) {
+                flush();
+            }
+        }
+
+        @Override
+        public void run() {
+            scheduled = false;
+            flush();
+        }
+
+        private void flush() {
+            for (Map.Entry<Address, PendingResponses> entry : pendingResponses.entrySet()) {
+                entry.getValue().send(entry.getKey());
+            }
+            pendingResponses.clear();
+            pendingCount = 0;
+        }
+    }
+
+    private final class PendingResponses {
+
+        private final List<byte[]> responses = new ArrayList<>();
+        private final ServerConnectionManager connectionManager;
+
+        PendingResponses(ServerConnectionManager connectionManager) {
+            this.connectionManager = connectionManager;
+        }
+
+        void add(byte[] response) {
+            responses.add(response);
+        }
+
+        void send(Address target) {
+            Packet packet = responses.size() == 1
+                    ? newResponsePacket(responses.get(0), false)
+                    : toMultiResponsePacket(responses);
+
+            if (!transmit(target, packet, connectionManager)) {
+                logger.warning("Cannot send " + responses.size() + " coalesced responses to " + target);
+            }
+        }
+    }
 }
@@ -0,0 +1,88 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.spi.impl.operationservice.impl.responses;
+
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+
+import java.io.IOException;
+
+import static com.hazelcast.internal.nio.Bits.INT_SIZE_IN_BYTES;
+import static com.hazelcast.spi.impl.SpiDataSerializerHook.MULTI_RESPONSE;
+
+/**
+ * A MultiResponse bundles the serialized responses of operations that ran
+ * one after the other on the same partition thread and were all sent to the
+ * same member, so that they are transmitted as a single packet.
+ * <p>
+ * The responses are kept in their serialized form: the receiving side splits
+ * them and processes every one of them as if it had arrived in its own packet.
+ * A MultiResponse itself has no call ID.
+ */
+public final class MultiResponse extends Response {
+
+    public static final int OFFSET_RESPONSE_COUNT = RESPONSE_SIZE_IN_BYTES;
+    public static final int OFFSET_RESPONSES = OFFSET_RESPONSE_COUNT + INT_SIZE_IN_BYTES;
+
+    private byte[][] responses;
+
+    public MultiResponse() {
+    }
+
+    public MultiResponse(byte[][] responses) {
+        super(0, false);
+        this.responses = responses;
+    }
+
+    /**
+     * Returns the serialized responses in this MultiResponse.
+     *
+     * @return the serialized responses
+     */
+    public byte[][] getResponses() {
+        return responses;
+    }
+
+    @Override
+    public int getClassId() {
+        return MULTI_RESPONSE;
+    }
+
+    @Override
+    public void writeData(ObjectDataOutput out) throws IOException {
+        super.writeData(out);
+        out.writeInt(responses.length);
+        for (byte[] response : responses) {
+            out.writeByteArray(response);
+        }
+    }
+
+    @Override
+    public void readData(ObjectDataInput in) throws IOException {
+        super.readData(in);
+        int count = in.readInt();
+        responses = new byte[count][];
+        for (int i = 0; i < count; i++) {
+            responses[i] = in.readByteArray();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "MultiResponse{responses=" + responses.length + '}';
+    }
+}
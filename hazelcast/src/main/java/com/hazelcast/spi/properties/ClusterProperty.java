@@ -105,6 +105,47 @@ public final class ClusterProperty {
     public static final HazelcastProperty PRIORITY_GENERIC_OPERATION_THREAD_COUNT
             = new HazelcastProperty("hazelcast.operation.priority.generic.thread.count", 1);
 
+    /**
+     * The idle strategy of the partition operation threads when their
+     * lock-free operation queues are empty.
+     * <p>
+     * Possible values:
+     * <ul>
+     * <li>{@code block}: the thread parks until an operation is offered;
+     * the offering thread has to unpark it.</li>
+     * <li>{@code backoff}: the thread spins, then yields, then parks for
+     * exponentially growing periods of up to 100 microseconds. The offering
+     * threads never have to unpark it.</li>
+     * <li>{@code backoff,<maxSpins>,<maxYields>,<minParkPeriodNs>,<maxParkPeriodNs>}:
+     * the {@code backoff} strategy with custom parameters.</li>
+     * <li>{@code busyspin}: the thread spins constantly. It gives the lowest
+     * wakeup latency, but every partition operation thread keeps a core
+     * busy, so it only suits dedicated machines having enough cores.</li>
+     * </ul>
+     * The default is {@code block}.
+     */
+    public static final HazelcastProperty PARTITION_OPERATION_THREAD_IDLE_STRATEGY
+            = new HazelcastProperty("hazelcast.operation.partitionthread.idlestrategy", "block");
+
+    /**
+     * The interval in seconds between the executions of the partition operation
+     * balancer. The balancer measures the number of operations run for each
+     * partition and hands off partitions from the busiest partition operation
+     * thread to the least busy one, so a few partitions owning popular keys
+     * don't keep a single thread busy while the others are idle. The order of
+     * the operations of a partition is kept during the handoff.
+     * <p>
+     * The shorter intervals will catch the imbalance faster, but they will
+     * cause higher overhead. While the balancer is enabled, every partition
+     * operation offered to the partition threads updates a counter of its
+     * partition.
+     * <p>
+     * The default is 0. A value smaller than 1 disables the balancer and the
+     * partitions are statically assigned to the partition operation threads.
+     */
+    public static final HazelcastProperty PARTITION_OPERATION_BALANCER_INTERVAL_SECONDS
+            = new HazelcastProperty("hazelcast.operation.balancer.interval.seconds", 0, SECONDS);
+
     /**
      * The number of threads that process responses.
      * <p>
@@ -117,6 +158,26 @@ public final class ClusterProperty {
     public static final HazelcastProperty RESPONSE_THREAD_COUNT
             = new HazelcastProperty("hazelcast.operation.response.thread.count", 2);
 
+    /**
+     * The maximum number of responses a partition operation thread combines
+     * into a single packet. The normal responses of the operations run one
+     * after the other on a partition thread for the same member are held back
+     * until the thread has no more operations waiting or this many responses
+     * have been collected, and are then sent in a single packet, which reduces
+     * the number of packets and the network writes under load.
+     * <p>
+     * Urgent responses, error responses and responses sent from any other
+     * thread are never held back.
+     * <p>
+     * Members older than 4.1 can't read the combined packets, so during a
+     * rolling upgrade the responses are sent one by one until the cluster
+     * version is at least 4.1.
+     * <p>
+     * The default is 1, which disables the coalescing of responses.
+     */
+    public static final HazelcastProperty RESPONSE_COALESCING_MAX_COUNT
+            = new HazelcastProperty("hazelcast.operation.response.coalescing.max.count", 1);
+
     /**
      * The number of threads that the client engine has available for processing requests that are not partition specific.
      * Most of the requests, such as {@code map.put} and {@code map.get}, are partition specific and will use a
@@ -447,6 +508,31 @@ public final class ClusterProperty {
     public static final HazelcastProperty SOCKET_NO_DELAY
             = new HazelcastProperty("hazelcast.socket.no.delay", true);
 
+    /**
+     * Enables compression of the member to member connections. A member with
+     * compression enabled compresses everything it sends to the members it
+     * connects to, and compresses what it sends to the members that connect to
+     * it and have compression enabled as well. Trades CPU for bandwidth, so it
+     * only pays off on networks where bandwidth is the bottleneck.
+     * <p>
+     * Members that don't support compression reject connections of members
+     * with compression enabled, so it should only be enabled once all members
+     * of the cluster support it.
+     * <p>
+     * Compression of client connections is controlled by the client.
+     */
+    public static final HazelcastProperty NETWORK_COMPRESSION_ENABLED
+            = new HazelcastProperty("hazelcast.network.compression.enabled", false);
+
+    /**
+     * The minimum number of bytes pending to be written to a compressed
+     * connection before they are compressed. Smaller writes, like the ones
+     * of single small operations, are sent uncompressed since compressing
+     * them costs more CPU than it saves bandwidth.
+     */
+    public static final HazelcastProperty NETWORK_COMPRESSION_THRESHOLD
+            = new HazelcastProperty("hazelcast.network.compression.threshold", 1024);
+
     public static final HazelcastProperty SHUTDOWNHOOK_ENABLED
             = new HazelcastProperty("hazelcast.shutdownhook.enabled", true);
 
@@ -836,6 +922,31 @@ public final class ClusterProperty {
     public static final HazelcastProperty QUERY_PREDICATE_PARALLEL_EVALUATION
             = new HazelcastProperty("hazelcast.query.predicate.parallel.evaluation", false);
 
+    /**
+     * The maximum number of threads a single query may use to evaluate its
+     * predicate when the parallel predicate evaluation is enabled, see
+     * {@link #QUERY_PREDICATE_PARALLEL_EVALUATION}.
+     * <p>
+     * The threads are borrowed from the query executor and the calling thread
+     * is counted as one of them. The default is the number of the available
+     * processors.
+     */
+    public static final HazelcastProperty QUERY_PREDICATE_PARALLEL_EVALUATION_MAX_THREADS
+            = new HazelcastProperty("hazelcast.query.predicate.parallel.evaluation.max.threads",
+            (Function<HazelcastProperties, Integer>) properties -> RuntimeAvailableProcessors.get());
+
+    /**
+     * The number of records the partitions are split into when the predicates
+     * are evaluated in parallel, see {@link #QUERY_PREDICATE_PARALLEL_EVALUATION}.
+     * <p>
+     * Partitions larger than the chunk size are scanned chunk by chunk and
+     * idle threads pick up the remaining chunks of the partitions being
+     * scanned by other threads, so a few large partitions don't leave the
+     * other threads idle. The default is 1000.
+     */
+    public static final HazelcastProperty QUERY_PREDICATE_PARALLEL_EVALUATION_CHUNK_SIZE
+            = new HazelcastProperty("hazelcast.query.predicate.parallel.evaluation.chunk.size", 1000);
+
     /**
      * Run aggregation accumulation for multiple entries in parallel.
      * <p>
@@ -950,6 +1061,15 @@ public final class ClusterProperty {
     public static final HazelcastProperty INDEX_COPY_BEHAVIOR
             = new HazelcastProperty("hazelcast.index.copy.behavior", IndexCopyBehavior.COPY_ON_READ.toString());
 
+    /**
+     * The number of the partition records indexed at once when an index is
+     * added to a map. The partitions having more records are indexed online
+     * in chunks of this size, letting other operations of the partition run
+     * between the chunks.
+     */
+    public static final HazelcastProperty INDEX_BUILD_CHUNK_SIZE
+            = new HazelcastProperty("hazelcast.index.build.chunk.size", 1000);
+
     /**
      * Forces the JCache provider, which can have values client or server, to force the provider type.
      * If not provided, the provider will be client or server, whichever is found on the classpath first respectively.
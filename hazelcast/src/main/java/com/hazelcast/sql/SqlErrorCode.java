@@ -47,6 +47,9 @@ public final class SqlErrorCode {
     /** Partition is not owned by a member. */
     public static final int PARTITION_NOT_OWNED = 1009;
 
+    /** An error caused by an index which is either not available or not fully built. */
+    public static final int INDEX_INVALID = 1010;
+
     /** An error with data conversion or transformation. */
     public static final int DATA_EXCEPTION = 2000;
 
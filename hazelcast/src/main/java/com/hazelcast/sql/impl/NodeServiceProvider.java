@@ -54,6 +54,12 @@ public interface NodeServiceProvider extends ClockProvider, LocalMemberIdProvide
      */
     MapContainer getMap(String name);
 
+    /**
+     * @param key Key.
+     * @return ID of the partition which owns the key.
+     */
+    int getPartitionId(Object key);
+
     /**
      * Get logger for class.
      *
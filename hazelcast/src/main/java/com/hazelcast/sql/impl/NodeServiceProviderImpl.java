@@ -96,6 +96,11 @@ public class NodeServiceProviderImpl implements NodeServiceProvider {
         return mapService.getMapServiceContext().getMapContainers().get(name);
     }
 
+    @Override
+    public int getPartitionId(Object key) {
+        return nodeEngine.getPartitionService().getPartitionId(key);
+    }
+
     @Override
     public ILogger getLogger(Class<?> clazz) {
         return nodeEngine.getLogger(clazz);
@@ -22,6 +22,11 @@ import com.hazelcast.internal.serialization.impl.FactoryIdHelper;
 import com.hazelcast.internal.util.ConstructorFunction;
 import com.hazelcast.nio.serialization.DataSerializableFactory;
 import com.hazelcast.nio.serialization.IdentifiedDataSerializable;
+import com.hazelcast.sql.impl.exec.agg.AggregateCallDescriptor;
+import com.hazelcast.sql.impl.exec.scan.index.IndexEqualsFilter;
+import com.hazelcast.sql.impl.exec.scan.index.IndexFilterValue;
+import com.hazelcast.sql.impl.exec.scan.index.IndexInFilter;
+import com.hazelcast.sql.impl.exec.scan.index.IndexRangeFilter;
 import com.hazelcast.sql.impl.expression.CastExpression;
 import com.hazelcast.sql.impl.expression.ColumnExpression;
 import com.hazelcast.sql.impl.expression.ConstantExpression;
@@ -50,12 +55,19 @@ import com.hazelcast.sql.impl.operation.QueryCheckResponseOperation;
 import com.hazelcast.sql.impl.operation.QueryExecuteOperation;
 import com.hazelcast.sql.impl.operation.QueryExecuteOperationFragment;
 import com.hazelcast.sql.impl.operation.QueryFlowControlExchangeOperation;
+import com.hazelcast.sql.impl.plan.node.AggregatePlanNode;
+import com.hazelcast.sql.impl.plan.node.FetchPlanNode;
 import com.hazelcast.sql.impl.plan.node.FilterPlanNode;
+import com.hazelcast.sql.impl.plan.node.HashJoinPlanNode;
+import com.hazelcast.sql.impl.plan.node.MapIndexScanPlanNode;
 import com.hazelcast.sql.impl.plan.node.MapScanPlanNode;
 import com.hazelcast.sql.impl.plan.node.ProjectPlanNode;
 import com.hazelcast.sql.impl.plan.node.RootPlanNode;
+import com.hazelcast.sql.impl.plan.node.SortPlanNode;
 import com.hazelcast.sql.impl.plan.node.io.ReceivePlanNode;
+import com.hazelcast.sql.impl.plan.node.io.ReceiveSortMergePlanNode;
 import com.hazelcast.sql.impl.plan.node.io.RootSendPlanNode;
+import com.hazelcast.sql.impl.plan.node.io.UnicastSendPlanNode;
 import com.hazelcast.sql.impl.row.EmptyRow;
 import com.hazelcast.sql.impl.row.EmptyRowBatch;
 import com.hazelcast.sql.impl.row.HeapRow;
@@ -123,7 +135,24 @@ public class SqlDataSerializerHook implements DataSerializerHook {
     public static final int EXPRESSION_IS_NOT_FALSE = 39;
     public static final int EXPRESSION_IS_NOT_NULL = 40;
 
-    public static final int LEN = EXPRESSION_IS_NOT_NULL + 1;
+    public static final int NODE_MAP_INDEX_SCAN = 41;
+
+    public static final int INDEX_FILTER_VALUE = 42;
+    public static final int INDEX_FILTER_EQUALS = 43;
+    public static final int INDEX_FILTER_RANGE = 44;
+    public static final int INDEX_FILTER_IN = 45;
+
+    public static final int NODE_AGGREGATE = 46;
+    public static final int NODE_UNICAST_SEND = 47;
+    public static final int AGGREGATE_CALL = 48;
+
+    public static final int NODE_SORT = 49;
+    public static final int NODE_FETCH = 50;
+    public static final int NODE_RECEIVE_SORT_MERGE = 51;
+
+    public static final int NODE_HASH_JOIN = 52;
+
+    public static final int LEN = NODE_HASH_JOIN + 1;
 
     @Override
     public int getFactoryId() {
@@ -185,6 +214,22 @@ public class SqlDataSerializerHook implements DataSerializerHook {
         constructors[EXPRESSION_IS_NOT_FALSE] = arg -> new IsNotFalsePredicate();
         constructors[EXPRESSION_IS_NOT_NULL] = arg -> new IsNotNullPredicate();
 
+        constructors[NODE_MAP_INDEX_SCAN] = arg -> new MapIndexScanPlanNode();
+
+        constructors[INDEX_FILTER_VALUE] = arg -> new IndexFilterValue();
+        constructors[INDEX_FILTER_EQUALS] = arg -> new IndexEqualsFilter();
+        constructors[INDEX_FILTER_RANGE] = arg -> new IndexRangeFilter();
+        constructors[INDEX_FILTER_IN] = arg -> new IndexInFilter();
+
+        constructors[NODE_AGGREGATE] = arg -> new AggregatePlanNode();
+        constructors[NODE_UNICAST_SEND] = arg -> new UnicastSendPlanNode();
+        constructors[AGGREGATE_CALL] = arg -> new AggregateCallDescriptor();
+
+        constructors[NODE_SORT] = arg -> new SortPlanNode();
+        constructors[NODE_FETCH] = arg -> new FetchPlanNode();
+        constructors[NODE_RECEIVE_SORT_MERGE] = arg -> new ReceiveSortMergePlanNode();
+        constructors[NODE_HASH_JOIN] = arg -> new HashJoinPlanNode();
+
         return new ArrayDataSerializableFactory(constructors);
     }
 }
@@ -17,15 +17,16 @@
 package com.hazelcast.sql.impl;
 
 import com.hazelcast.internal.nio.Packet;
+import com.hazelcast.internal.util.collection.PartitionIdSet;
 import com.hazelcast.internal.serialization.InternalSerializationService;
 import com.hazelcast.sql.SqlErrorCode;
 import com.hazelcast.sql.impl.exec.io.flowcontrol.FlowControlFactory;
-import com.hazelcast.sql.impl.exec.io.flowcontrol.simple.SimpleFlowControlFactory;
 import com.hazelcast.sql.impl.exec.root.BlockingRootResultConsumer;
 import com.hazelcast.sql.impl.operation.QueryExecuteOperation;
 import com.hazelcast.sql.impl.operation.QueryExecuteOperationFactory;
 import com.hazelcast.sql.impl.operation.QueryOperationHandlerImpl;
 import com.hazelcast.sql.impl.plan.Plan;
+import com.hazelcast.sql.impl.plan.PlanPartitionPruning;
 import com.hazelcast.sql.impl.plan.cache.CachedPlanInvalidationCallback;
 import com.hazelcast.sql.impl.plan.cache.PlanCacheChecker;
 import com.hazelcast.sql.impl.state.QueryClientStateRegistry;
@@ -38,6 +39,7 @@ import com.hazelcast.sql.impl.type.converter.Converters;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 
 /**
@@ -50,9 +52,6 @@ public class SqlInternalService {
     /** Memory assigned to a single edge mailbox. Will be reworked to dynamic mode when memory manager is implemented. */
     private static final long MEMORY_PER_EDGE_MAILBOX = 512 * 1024;
 
-    /** Default flow control factory. */
-    private static final FlowControlFactory FLOW_CONTROL_FACTORY = SimpleFlowControlFactory.INSTANCE;
-
     /** Node service provider. */
     private final NodeServiceProvider nodeServiceProvider;
 
@@ -75,6 +74,7 @@ public class SqlInternalService {
         int operationThreadCount,
         int fragmentThreadCount,
         int outboxBatchSize,
+        FlowControlFactory flowControlFactory,
         long stateCheckFrequency,
         PlanCacheChecker planCacheChecker
     ) {
@@ -91,7 +91,7 @@ public class SqlInternalService {
             serializationService,
             stateRegistry,
             outboxBatchSize,
-            FLOW_CONTROL_FACTORY,
+            flowControlFactory,
             fragmentThreadCount,
             operationThreadCount
         );
@@ -145,9 +145,13 @@ public class SqlInternalService {
             throw QueryException.memberConnection(localMemberId);
         }
 
+        // Restrict the participants if the filter allows only a fixed set of keys.
+        Map<UUID, PartitionIdSet> partitionMap = getPartitionMap(plan, localMemberId, params);
+
         // Prepare mappings.
         QueryExecuteOperationFactory operationFactory = new QueryExecuteOperationFactory(
             plan,
+            partitionMap,
             params,
             createEdgeInitialMemoryMapForPlan(plan)
         );
@@ -159,6 +163,7 @@ public class SqlInternalService {
             localMemberId,
             timeout,
             plan,
+            partitionMap.keySet(),
             planInvalidationCallback,
             plan.getRowMetadata(),
             consumer,
@@ -174,7 +179,7 @@ public class SqlInternalService {
             operationHandler.submitLocal(localMemberId, localOp);
 
             // Start execution on remote members.
-            for (UUID memberId : plan.getMemberIds()) {
+            for (UUID memberId : partitionMap.keySet()) {
                 if (memberId.equals(localMemberId)) {
                     continue;
                 }
@@ -198,13 +203,32 @@ public class SqlInternalService {
         operationHandler.onPacket(packet);
     }
 
+    private Map<UUID, PartitionIdSet> getPartitionMap(Plan plan, UUID localMemberId, List<Object> params) {
+        PlanPartitionPruning partitionPruning = plan.getPartitionPruning();
+
+        if (partitionPruning == null) {
+            return plan.getPartitionMap();
+        }
+
+        Map<UUID, PartitionIdSet> res = partitionPruning.prune(
+            plan.getPartitionMap(),
+            localMemberId,
+            params::get,
+            nodeServiceProvider
+        );
+
+        return res != null ? res : plan.getPartitionMap();
+    }
+
     private Map<Integer, Long> createEdgeInitialMemoryMapForPlan(Plan plan) {
-        Map<Integer, Integer> inboundEdgeMemberCountMap = plan.getInboundEdgeMemberCountMap();
+        // The memory is assigned per mailbox, so only the edges matter. The member counts of the plan are not used, because
+        // they are not adjusted to the pruned participants.
+        Set<Integer> inboundEdges = plan.getInboundEdgeMap().keySet();
 
-        Map<Integer, Long> res = new HashMap<>(inboundEdgeMemberCountMap.size());
+        Map<Integer, Long> res = new HashMap<>(inboundEdges.size());
 
-        for (Map.Entry<Integer, Integer> entry : inboundEdgeMemberCountMap.entrySet()) {
-            res.put(entry.getKey(), MEMORY_PER_EDGE_MAILBOX);
+        for (Integer edge : inboundEdges) {
+            res.put(edge, MEMORY_PER_EDGE_MAILBOX);
         }
 
         return res;
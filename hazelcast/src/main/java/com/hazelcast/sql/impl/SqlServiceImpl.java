@@ -27,6 +27,12 @@ import com.hazelcast.spi.impl.NodeEngineImpl;
 import com.hazelcast.sql.SqlQuery;
 import com.hazelcast.sql.SqlResult;
 import com.hazelcast.sql.SqlService;
+import com.hazelcast.sql.impl.compile.CompiledFilterProjectCache;
+import com.hazelcast.sql.impl.compile.FilterProjectCompiler;
+import com.hazelcast.sql.impl.exec.io.flowcontrol.FlowControlFactory;
+import com.hazelcast.sql.impl.exec.io.flowcontrol.FlowControlMetricsProvider;
+import com.hazelcast.sql.impl.exec.io.flowcontrol.adaptive.AdaptiveFlowControlFactory;
+import com.hazelcast.sql.impl.exec.io.flowcontrol.simple.SimpleFlowControlFactory;
 import com.hazelcast.sql.impl.optimizer.DisabledSqlOptimizer;
 import com.hazelcast.sql.impl.optimizer.OptimizationTask;
 import com.hazelcast.sql.impl.optimizer.SqlOptimizer;
@@ -64,6 +70,21 @@ public class SqlServiceImpl implements SqlService, Consumer<Packet> {
     private static final String OPTIMIZER_CLASS_PROPERTY_NAME = "hazelcast.sql.optimizerClass";
     private static final String SQL_MODULE_OPTIMIZER_CLASS = "com.hazelcast.sql.impl.calcite.CalciteSqlOptimizer";
 
+    /** Maximum number of compiled filters and projections kept on the member. */
+    private static final int COMPILED_CACHE_SIZE = 1_000;
+
+    /** Class of the expression compiler. Set to an empty string to disable the compilation. */
+    private static final String COMPILER_CLASS_PROPERTY_NAME = "hazelcast.sql.compilerClass";
+    private static final String SQL_MODULE_COMPILER_CLASS = "com.hazelcast.sql.impl.calcite.compile.JaninoFilterProjectCompiler";
+
+    /**
+     * Flow control between senders and receivers of an exchange: "simple" (default) or "adaptive". The adaptive flow control
+     * sizes the credit window of every stream from the consume rate and the round-trip time of credit grants. It is opt-in
+     * until the fan-in benchmark confirms it is not slower than the simple one.
+     */
+    private static final String FLOW_CONTROL_PROPERTY_NAME = "hazelcast.sql.flowControl";
+    private static final String FLOW_CONTROL_ADAPTIVE = "adaptive";
+
     private SqlOptimizer optimizer;
     private final ILogger logger;
     private final NodeEngineImpl nodeEngine;
@@ -77,6 +98,8 @@ public class SqlServiceImpl implements SqlService, Consumer<Packet> {
 
     private final PlanCache planCache = new PlanCache(PLAN_CACHE_SIZE);
 
+    private FlowControlMetricsProvider flowControlMetricsProvider;
+
     public SqlServiceImpl(NodeEngineImpl nodeEngine) {
         this.nodeEngine = nodeEngine;
         logger = nodeEngine.getLogger(getClass());
@@ -121,6 +144,7 @@ public class SqlServiceImpl implements SqlService, Consumer<Packet> {
             operationPoolSize,
             executorPoolSize,
             OUTBOX_BATCH_SIZE,
+            createFlowControlFactory(),
             STATE_CHECK_FREQUENCY,
             planCacheChecker
         );
@@ -129,16 +153,35 @@ public class SqlServiceImpl implements SqlService, Consumer<Packet> {
     public void start() {
         optimizer = createOptimizer(nodeEngine);
 
+        FilterProjectCompiler compiler = createCompiler();
+
+        if (compiler != null) {
+            ILogger compiledCacheLogger = nodeEngine.getLogger(CompiledFilterProjectCache.class);
+
+            internalService.getOperationHandler().setCompiledCache(
+                new CompiledFilterProjectCache(compiler, COMPILED_CACHE_SIZE, compiledCacheLogger)
+            );
+        }
+
         internalService.start();
+
+        flowControlMetricsProvider = new FlowControlMetricsProvider(internalService.getStateRegistry());
+        nodeEngine.getMetricsRegistry().registerDynamicMetricsProvider(flowControlMetricsProvider);
     }
 
     public void reset() {
         planCache.clear();
+        clearCompiledCache();
         internalService.reset();
     }
 
     public void shutdown() {
+        if (flowControlMetricsProvider != null) {
+            nodeEngine.getMetricsRegistry().deregisterDynamicMetricsProvider(flowControlMetricsProvider);
+        }
+
         planCache.clear();
+        clearCompiledCache();
         internalService.shutdown();
     }
 
@@ -292,6 +335,58 @@ public class SqlServiceImpl implements SqlService, Consumer<Packet> {
         }
     }
 
+    /**
+     * Create the flow control factory. Simple flow control is used unless the adaptive one is requested explicitly.
+     *
+     * @return Flow control factory.
+     */
+    private static FlowControlFactory createFlowControlFactory() {
+        if (FLOW_CONTROL_ADAPTIVE.equals(System.getProperty(FLOW_CONTROL_PROPERTY_NAME))) {
+            return AdaptiveFlowControlFactory.INSTANCE;
+        }
+
+        return SimpleFlowControlFactory.INSTANCE;
+    }
+
+    /**
+     * Create the expression compiler if it is available.
+     *
+     * @return Compiler or {@code null} if the compilation is disabled or the compiler is not on the classpath.
+     */
+    private FilterProjectCompiler createCompiler() {
+        String className = System.getProperty(COMPILER_CLASS_PROPERTY_NAME, SQL_MODULE_COMPILER_CLASS);
+
+        if (className.isEmpty()) {
+            return null;
+        }
+
+        Class<?> clazz;
+
+        try {
+            clazz = Class.forName(className);
+        } catch (ClassNotFoundException e) {
+            logger.log(SQL_MODULE_COMPILER_CLASS.equals(className) ? Level.FINE : Level.WARNING,
+                "Expression compiler class \"" + className + "\" not found, expressions will be interpreted");
+
+            return null;
+        }
+
+        try {
+            return (FilterProjectCompiler) clazz.getConstructor().newInstance();
+        } catch (ReflectiveOperationException | ClassCastException e) {
+            throw new HazelcastException("Failed to instantiate the expression compiler class " + className + ": "
+                + e.getMessage(), e);
+        }
+    }
+
+    private void clearCompiledCache() {
+        CompiledFilterProjectCache compiledCache = internalService.getOperationHandler().getCompiledCache();
+
+        if (compiledCache != null) {
+            compiledCache.clear();
+        }
+    }
+
     private static List<TableResolver> createTableResolvers(NodeEngine nodeEngine) {
         List<TableResolver> res = new ArrayList<>();
 
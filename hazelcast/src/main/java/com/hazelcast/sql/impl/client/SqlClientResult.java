@@ -16,6 +16,8 @@
 
 package com.hazelcast.sql.impl.client;
 
+import com.hazelcast.client.impl.protocol.ClientMessage;
+import com.hazelcast.client.impl.spi.impl.ClientInvocationFuture;
 import com.hazelcast.internal.nio.Connection;
 import com.hazelcast.internal.serialization.Data;
 import com.hazelcast.sql.SqlResult;
@@ -28,13 +30,24 @@ import com.hazelcast.sql.impl.row.HeapRow;
 import com.hazelcast.sql.impl.row.Row;
 
 import javax.annotation.Nonnull;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
 import java.util.NoSuchElementException;
 
+import static com.hazelcast.internal.util.ConcurrencyUtil.CALLER_RUNS;
+
 /**
  * Client-side cursor.
+ * <p>
+ * The cursor fetches pages ahead of the page that is currently being iterated, so that the application doesn't wait for the
+ * round trip of every page. The next page is requested as soon as the previous one is received, until either the maximum
+ * number of pages or the maximum size of fetched pages is reached. Pages are requested one at a time, because the fetch
+ * request doesn't identify the page, so concurrent requests could be served out of order.
+ * <p>
+ * When the client stops fetching, the member-side cursor stops pulling rows from the root result consumer, which in turn
+ * suspends the execution of the root fragment. Hence, the memory used by the query is bounded on both sides.
  */
 public class SqlClientResult implements SqlResult {
 
@@ -46,10 +59,31 @@ public class SqlClientResult implements SqlResult {
     private final ClientIterator iterator;
     private final int cursorBufferSize;
     private final long updatedCount;
+    private final int prefetchPageCount;
+    private final long prefetchMaxBytes;
+
+    /** Mutex guarding the prefetch state, which is updated by response threads. */
+    private final Object mux = new Object();
+
+    /** Pages fetched ahead of the current page. */
+    private final ArrayDeque<SqlPage> prefetchedPages = new ArrayDeque<>();
+
+    /** Size of pages fetched ahead of the current page. */
+    private long prefetchedBytes;
+
+    /** Whether there is a fetch request in flight. */
+    private boolean fetching;
 
-    private boolean closed;
+    /** Whether the last page is received, so that the remote cursor is already closed. */
+    private boolean fetchedLast;
+
+    /** Error of the last fetch request. */
+    private Exception fetchError;
+
+    private volatile boolean closed;
     private boolean iteratorAccessed;
 
+    @SuppressWarnings("checkstyle:ParameterNumber")
     public SqlClientResult(
         boolean isUpdateCount,
         SqlClientService service,
@@ -59,7 +93,9 @@ public class SqlClientResult implements SqlResult {
         List<List<Data>> rowPage,
         boolean rowPageLast,
         int cursorBufferSize,
-        long updatedCount
+        long updatedCount,
+        int prefetchPageCount,
+        long prefetchMaxBytes
     ) {
         this.service = service;
         this.connection = connection;
@@ -68,12 +104,20 @@ public class SqlClientResult implements SqlResult {
         this.cursorBufferSize = cursorBufferSize;
         this.isUpdateCount = isUpdateCount;
         this.updatedCount = updatedCount;
+        this.prefetchPageCount = prefetchPageCount;
+        this.prefetchMaxBytes = prefetchMaxBytes;
 
         if (isUpdateCount) {
             iterator = null;
         } else {
             iterator = new ClientIterator();
             iterator.onNextPage(rowPage, rowPageLast);
+
+            synchronized (mux) {
+                fetchedLast = rowPageLast;
+
+                prefetch();
+            }
         }
     }
 
@@ -118,17 +162,26 @@ public class SqlClientResult implements SqlResult {
             return;
         }
 
-        try {
-            if (!closed) {
-                if (iterator.last) {
-                    // The last page accessed, so the remote cursor is already closed. No-op.
-                    return;
-                }
+        boolean remoteClosed;
 
-                service.close(connection, queryId);
+        synchronized (mux) {
+            if (closed) {
+                return;
             }
-        } finally {
+
             closed = true;
+            remoteClosed = fetchedLast;
+
+            prefetchedPages.clear();
+            prefetchedBytes = 0;
+
+            // Wake up the iterating thread, if any.
+            mux.notifyAll();
+        }
+
+        // If the last page is fetched, the remote cursor is already closed. No-op.
+        if (!remoteClosed) {
+            service.close(connection, queryId);
         }
     }
 
@@ -138,10 +191,131 @@ public class SqlClientResult implements SqlResult {
         }
     }
 
-    private void fetchNextPage(ClientIterator iterator) {
-        SqlPage page = service.fetch(connection, queryId, cursorBufferSize);
+    /**
+     * Take the next page, waiting for it if needed.
+     *
+     * @return The next page.
+     */
+    private SqlPage takeNextPage() {
+        synchronized (mux) {
+            while (true) {
+                if (closed) {
+                    // The result is closed concurrently, the remote cursor might be already released.
+                    throw service.rethrow(QueryException.cancelledByUser());
+                }
+
+                SqlPage page = prefetchedPages.pollFirst();
+
+                if (page != null) {
+                    prefetchedBytes -= getPageSize(page);
+
+                    // A slot for another page is released.
+                    prefetch();
+
+                    return page;
+                }
+
+                if (fetchError != null) {
+                    throw service.rethrow(fetchError, connection);
+                }
+
+                if (!fetching) {
+                    // The prefetch is disabled or limited by the memory, fetch on demand.
+                    fetch();
+
+                    continue;
+                }
+
+                try {
+                    mux.wait();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+
+                    throw service.rethrow(QueryException.error("Thread was interrupted while waiting for more results.", e));
+                }
+            }
+        }
+    }
+
+    /**
+     * Request the next page if the prefetch limits allow it. Must be invoked under the mutex.
+     */
+    private void prefetch() {
+        if (fetching || fetchedLast || fetchError != null || closed) {
+            return;
+        }
+
+        if (prefetchedPages.size() >= prefetchPageCount || prefetchedBytes >= prefetchMaxBytes) {
+            return;
+        }
+
+        fetch();
+    }
+
+    /**
+     * Request the next page. Must be invoked under the mutex.
+     */
+    private void fetch() {
+        assert !fetching && !fetchedLast;
+
+        fetching = true;
+
+        try {
+            ClientInvocationFuture future = service.fetchAsync(connection, queryId, cursorBufferSize);
+
+            future.whenCompleteAsync(this::onFetchCompleted, CALLER_RUNS);
+        } catch (Exception e) {
+            fetching = false;
+            fetchError = e;
+        }
+    }
+
+    private void onFetchCompleted(ClientMessage responseMessage, Throwable error) {
+        synchronized (mux) {
+            fetching = false;
 
-        iterator.onNextPage(page.getRows(), page.isLast());
+            if (closed) {
+                // The result is closed, the page is not needed anymore.
+                mux.notifyAll();
+
+                return;
+            }
+
+            if (error != null) {
+                fetchError = error instanceof Exception ? (Exception) error : QueryException.error(error.getMessage(), error);
+            } else {
+                try {
+                    SqlPage page = service.decodeFetchResponse(responseMessage);
+
+                    prefetchedPages.addLast(page);
+                    prefetchedBytes += getPageSize(page);
+
+                    if (page.isLast()) {
+                        fetchedLast = true;
+                    }
+
+                    prefetch();
+                } catch (Exception e) {
+                    fetchError = e;
+                }
+            }
+
+            mux.notifyAll();
+        }
+    }
+
+    private static long getPageSize(SqlPage page) {
+        long size = 0;
+
+        for (List<Data> row : page.getRows()) {
+            for (Data value : row) {
+                if (value != null) {
+                    size += value.totalSize();
+                }
+            }
+        }
+
+        return size;
     }
 
     private List<Row> convertPageRows(List<List<Data>> serializedRows) {
@@ -161,7 +335,7 @@ public class SqlClientResult implements SqlResult {
     }
 
     /**
-     * Implementation of lazy iterator, which fetches results as needed.
+     * Implementation of lazy iterator, which consumes prefetched pages and fetches results as needed.
      */
     private class ClientIterator implements Iterator<SqlRow> {
 
@@ -176,9 +350,11 @@ public class SqlClientResult implements SqlResult {
             }
 
             while (currentPosition == currentRows.size()) {
-                // Reached end of the page. Try fetching the next one if possible.
+                // Reached end of the page. Try taking the next one if possible.
                 if (!last) {
-                    fetchNextPage(this);
+                    SqlPage page = takeNextPage();
+
+                    onNextPage(page.getRows(), page.isLast());
                 } else {
                     // No more pages expected, so return false.
                     return false;
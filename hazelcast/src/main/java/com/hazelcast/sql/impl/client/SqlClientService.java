@@ -23,6 +23,7 @@ import com.hazelcast.client.impl.protocol.codec.SqlExecuteCodec;
 import com.hazelcast.client.impl.protocol.codec.SqlFetchCodec;
 import com.hazelcast.client.impl.spi.impl.ClientInvocation;
 import com.hazelcast.client.impl.spi.impl.ClientInvocationFuture;
+import com.hazelcast.client.properties.ClientProperty;
 import com.hazelcast.internal.nio.Connection;
 import com.hazelcast.internal.serialization.Data;
 import com.hazelcast.internal.serialization.InternalSerializationService;
@@ -61,8 +62,17 @@ public class SqlClientService implements SqlService {
 
     private final HazelcastClientInstanceImpl client;
 
+    /** The maximum number of pages fetched ahead of the current one. */
+    private final int prefetchPageCount;
+
+    /** The maximum size of pages fetched ahead of the current one. */
+    private final long prefetchMaxBytes;
+
     public SqlClientService(HazelcastClientInstanceImpl client) {
         this.client = client;
+
+        prefetchPageCount = Math.max(client.getProperties().getInteger(ClientProperty.SQL_PREFETCH_PAGE_COUNT), 0);
+        prefetchMaxBytes = client.getProperties().getLong(ClientProperty.SQL_PREFETCH_MAX_BYTES);
     }
 
     @Nonnull
@@ -108,7 +118,9 @@ public class SqlClientService implements SqlService {
                 response.rowPage,
                 response.rowPageLast,
                 query.getCursorBufferSize(),
-                response.updatedCount
+                response.updatedCount,
+                prefetchPageCount,
+                prefetchMaxBytes
             );
         } catch (Exception e) {
             throw rethrow(e, connection);
@@ -116,24 +128,31 @@ public class SqlClientService implements SqlService {
     }
 
     /**
-     * Fetch the next page of the given query.
+     * Start fetching the next page of the given query.
      *
      * @param connection Connection.
      * @param queryId Query ID.
+     * @param cursorBufferSize Maximum number of rows in the page.
+     * @return Future which is completed with the response message.
+     */
+    ClientInvocationFuture fetchAsync(Connection connection, QueryId queryId, int cursorBufferSize) {
+        ClientMessage requestMessage = SqlFetchCodec.encodeRequest(queryId, cursorBufferSize);
+
+        return new ClientInvocation(client, requestMessage, null, connection).invoke();
+    }
+
+    /**
+     * Decode the response of the fetch request.
+     *
+     * @param responseMessage Response message.
      * @return Pair: fetched rows + last page flag.
      */
-    public SqlPage fetch(Connection connection, QueryId queryId, int cursorBufferSize) {
-        try {
-            ClientMessage requestMessage = SqlFetchCodec.encodeRequest(queryId, cursorBufferSize);
-            ClientMessage responseMessage = invoke(requestMessage, connection);
-            SqlFetchCodec.ResponseParameters responseParameters = SqlFetchCodec.decodeResponse(responseMessage);
+    SqlPage decodeFetchResponse(ClientMessage responseMessage) {
+        SqlFetchCodec.ResponseParameters responseParameters = SqlFetchCodec.decodeResponse(responseMessage);
 
-            handleResponseError(responseParameters.error);
+        handleResponseError(responseParameters.error);
 
-            return new SqlPage(responseParameters.rowPage, responseParameters.rowPageLast);
-        } catch (Exception e) {
-            throw rethrow(e, connection);
-        }
+        return new SqlPage(responseParameters.rowPage, responseParameters.rowPageLast);
     }
 
     /**
@@ -222,7 +241,7 @@ public class SqlClientService implements SqlService {
         }
     }
 
-    private RuntimeException rethrow(Exception cause, Connection connection) {
+    RuntimeException rethrow(Exception cause, Connection connection) {
         if (!connection.isAlive()) {
             return QueryUtils.toPublicException(
                 QueryException.memberConnection(connection.getRemoteAddress()),
@@ -0,0 +1,39 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.sql.impl.compile;
+
+import com.hazelcast.sql.impl.expression.ExpressionEvalContext;
+import com.hazelcast.sql.impl.row.Row;
+import com.hazelcast.sql.impl.row.vector.ColumnVector;
+
+/**
+ * Filter and projections compiled into a single generated class. Used instead of the interpreted evaluation of the
+ * expression trees when rows are processed one by one.
+ */
+public interface CompiledFilterProject {
+    /**
+     * Evaluate the filter on the row, and if it is {@code TRUE}, evaluate the projections and write their results into
+     * the given columns.
+     *
+     * @param row Row.
+     * @param context Context.
+     * @param columns Columns created for the types of the projections.
+     * @param position Position in the columns to write the results to.
+     * @return {@code true} if the row passed the filter and projections were written, {@code false} otherwise.
+     */
+    boolean apply(Row row, ExpressionEvalContext context, ColumnVector[] columns, int position);
+}
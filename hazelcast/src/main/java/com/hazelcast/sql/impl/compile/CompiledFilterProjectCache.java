@@ -0,0 +1,160 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.sql.impl.compile;
+
+import com.hazelcast.logging.ILogger;
+import com.hazelcast.sql.impl.expression.Expression;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Cache of compiled filters and projections.
+ * <p>
+ * The key is the filter and projections of the plan node, so all executions of the same cached plan on the member reuse
+ * a single generated class. Expressions which failed to compile are cached as well, so that the compilation is not
+ * retried, and the interpreter is used for them.
+ */
+@SuppressWarnings("rawtypes")
+public class CompiledFilterProjectCache {
+
+    private final FilterProjectCompiler compiler;
+    private final int maxSize;
+    private final ILogger logger;
+    private final ConcurrentHashMap<Key, Entry> entries = new ConcurrentHashMap<>();
+
+    public CompiledFilterProjectCache(FilterProjectCompiler compiler, int maxSize, ILogger logger) {
+        assert maxSize > 0;
+
+        this.compiler = compiler;
+        this.maxSize = maxSize;
+        this.logger = logger;
+    }
+
+    /**
+     * Get the compiled filter and projections, compiling them if needed.
+     *
+     * @param filter Filter or {@code null}.
+     * @param projects Projections.
+     * @return Compiled filter and projections or {@code null} if they cannot be compiled.
+     */
+    public CompiledFilterProject get(Expression<Boolean> filter, List<Expression> projects) {
+        Key key = new Key(filter, projects);
+
+        Entry entry = entries.get(key);
+
+        if (entry == null) {
+            entry = entries.computeIfAbsent(key, this::compile);
+
+            shrinkIfNeeded();
+        }
+
+        entry.lastUsed = System.nanoTime();
+
+        return entry.compiled;
+    }
+
+    public void clear() {
+        entries.clear();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    private Entry compile(Key key) {
+        CompiledFilterProject compiled;
+
+        try {
+            compiled = compiler.compile(key.filter, key.projects);
+        } catch (Exception e) {
+            logger.fine("Failed to compile expressions, the interpreter will be used [filter=" + key.filter
+                + ", projects=" + key.projects + ']', e);
+
+            compiled = null;
+        }
+
+        return new Entry(compiled);
+    }
+
+    private void shrinkIfNeeded() {
+        int oversize = entries.size() - maxSize;
+
+        if (oversize <= 0) {
+            return;
+        }
+
+        // Remove least recently used entries.
+        List<Map.Entry<Key, Entry>> sorted = new ArrayList<>(entries.entrySet());
+
+        sorted.sort(Comparator.comparingLong(e -> e.getValue().lastUsed));
+
+        for (Map.Entry<Key, Entry> entry : sorted) {
+            if (entries.remove(entry.getKey(), entry.getValue())) {
+                if (--oversize == 0) {
+                    break;
+                }
+            }
+        }
+    }
+
+    private static final class Key {
+
+        private final Expression<Boolean> filter;
+        private final List<Expression> projects;
+
+        private Key(Expression<Boolean> filter, List<Expression> projects) {
+            this.filter = filter;
+            this.projects = projects;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+
+            Key that = (Key) o;
+
+            return (filter != null ? filter.equals(that.filter) : that.filter == null) && projects.equals(that.projects);
+        }
+
+        @Override
+        public int hashCode() {
+            int result = filter != null ? filter.hashCode() : 0;
+            result = 31 * result + projects.hashCode();
+            return result;
+        }
+    }
+
+    private static final class Entry {
+
+        private final CompiledFilterProject compiled;
+        private volatile long lastUsed;
+
+        private Entry(CompiledFilterProject compiled) {
+            this.compiled = compiled;
+        }
+    }
+}
@@ -0,0 +1,37 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.sql.impl.compile;
+
+import com.hazelcast.sql.impl.expression.Expression;
+
+import java.util.List;
+
+/**
+ * Compiler of filters and projections into generated classes.
+ */
+@SuppressWarnings("rawtypes")
+public interface FilterProjectCompiler {
+    /**
+     * Compile the filter and projections.
+     *
+     * @param filter Filter or {@code null} if all rows should pass.
+     * @param projects Projections, possibly empty.
+     * @return Compiled filter and projections.
+     * @throws Exception If compilation failed.
+     */
+    CompiledFilterProject compile(Expression<Boolean> filter, List<Expression> projects) throws Exception;
+}
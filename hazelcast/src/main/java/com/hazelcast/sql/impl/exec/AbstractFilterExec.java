@@ -16,6 +16,7 @@
 
 package com.hazelcast.sql.impl.exec;
 
+import com.hazelcast.sql.impl.row.ColumnarRowBatch;
 import com.hazelcast.sql.impl.row.ListRowBatch;
 import com.hazelcast.sql.impl.row.Row;
 import com.hazelcast.sql.impl.row.RowBatch;
@@ -29,6 +30,9 @@ import java.util.List;
  * Currently the executor batches rows, and reports progress only when the batch is full or when EOS has been reached.
  * This is done to minimize the operator evaluation overhead.
  * <p>
+ * Columnar batches are filtered as a whole: the condition is evaluated on vectors and the matching positions are
+ * recorded in the selection vector of the batch, so that no rows are copied.
+ * <p>
  * The compiled counterpart does not require batching.
  */
 public abstract class AbstractFilterExec extends AbstractUpstreamAwareExec {
@@ -36,7 +40,7 @@ public abstract class AbstractFilterExec extends AbstractUpstreamAwareExec {
     static final int BATCH_SIZE = 1024;
 
     private List<Row> currentRows;
-    private ListRowBatch currentBatch;
+    private RowBatch currentBatch;
 
     protected AbstractFilterExec(int id, Exec upstream) {
         super(id, upstream);
@@ -57,6 +61,17 @@ public abstract class AbstractFilterExec extends AbstractUpstreamAwareExec {
                 return IterationResult.WAIT;
             }
 
+            // Filter columnar batches as a whole if nothing is accumulated yet.
+            if (count == 0 && state.peekBatch() instanceof ColumnarRowBatch) {
+                IterationResult result = advanceColumnar();
+
+                if (result != null) {
+                    return result;
+                }
+
+                continue;
+            }
+
             // Consume results until the batch is full.
             for (Row upstreamRow : state) {
                 boolean matches = eval(upstreamRow);
@@ -76,6 +91,19 @@ public abstract class AbstractFilterExec extends AbstractUpstreamAwareExec {
         }
     }
 
+    private IterationResult advanceColumnar() {
+        ColumnarRowBatch batch = evalBatch((ColumnarRowBatch) state.consumeBatch());
+
+        if (batch.getRowCount() == 0 && !state.isDone()) {
+            return null;
+        }
+
+        currentRows = null;
+        currentBatch = batch;
+
+        return state.isDone() ? IterationResult.FETCHED_DONE : IterationResult.FETCHED;
+    }
+
     private IterationResult prepareBatch(IterationResult result) {
         currentBatch = new ListRowBatch(currentRows);
         currentRows = null;
@@ -89,4 +117,12 @@ public abstract class AbstractFilterExec extends AbstractUpstreamAwareExec {
     }
 
     protected abstract boolean eval(Row row);
+
+    /**
+     * Filter the columnar batch.
+     *
+     * @param batch Batch.
+     * @return Batch with the selection vector containing matching rows only.
+     */
+    protected abstract ColumnarRowBatch evalBatch(ColumnarRowBatch batch);
 }
@@ -0,0 +1,80 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.sql.impl.exec;
+
+import java.util.Arrays;
+
+/**
+ * Composite key of several columns, used by hash-based operators, such as aggregation and join.
+ */
+public final class CompositeKey {
+
+    private final Object[] values;
+    private final int hash;
+
+    private CompositeKey(Object[] values) {
+        this.values = values;
+
+        hash = Arrays.hashCode(values);
+    }
+
+    public static CompositeKey of(Object... values) {
+        return new CompositeKey(values);
+    }
+
+    public Object get(int index) {
+        return values[index];
+    }
+
+    /**
+     * @return {@code true} if at least one of the key columns is {@code null}.
+     */
+    public boolean hasNulls() {
+        for (Object value : values) {
+            if (value == null) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+
+        CompositeKey that = (CompositeKey) o;
+
+        return hash == that.hash && Arrays.equals(values, that.values);
+    }
+
+    @Override
+    public String toString() {
+        return "CompositeKey" + Arrays.toString(values);
+    }
+}
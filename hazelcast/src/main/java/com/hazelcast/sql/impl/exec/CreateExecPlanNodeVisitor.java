@@ -20,39 +20,62 @@ import com.hazelcast.internal.serialization.InternalSerializationService;
 import com.hazelcast.internal.util.collection.PartitionIdSet;
 import com.hazelcast.map.impl.MapContainer;
 import com.hazelcast.sql.impl.NodeServiceProvider;
+import com.hazelcast.sql.impl.compile.CompiledFilterProject;
+import com.hazelcast.sql.impl.compile.CompiledFilterProjectCache;
+import com.hazelcast.sql.impl.exec.agg.AggregateExec;
+import com.hazelcast.sql.impl.exec.fetch.FetchExec;
 import com.hazelcast.sql.impl.exec.io.InboundHandler;
 import com.hazelcast.sql.impl.exec.io.Inbox;
 import com.hazelcast.sql.impl.exec.io.OutboundHandler;
 import com.hazelcast.sql.impl.exec.io.Outbox;
 import com.hazelcast.sql.impl.exec.io.ReceiveExec;
+import com.hazelcast.sql.impl.exec.io.ReceiveSortMergeExec;
 import com.hazelcast.sql.impl.exec.io.SendExec;
+import com.hazelcast.sql.impl.exec.io.StripedInbox;
+import com.hazelcast.sql.impl.exec.io.UnicastSendExec;
 import com.hazelcast.sql.impl.exec.io.flowcontrol.FlowControl;
 import com.hazelcast.sql.impl.exec.io.flowcontrol.FlowControlFactory;
+import com.hazelcast.sql.impl.exec.join.HashJoinExec;
 import com.hazelcast.sql.impl.exec.root.RootExec;
+import com.hazelcast.sql.impl.exec.scan.MapIndexScanExec;
 import com.hazelcast.sql.impl.exec.scan.MapScanExec;
+import com.hazelcast.sql.impl.exec.sort.SortExec;
+import com.hazelcast.sql.impl.expression.ColumnExpression;
+import com.hazelcast.sql.impl.expression.Expression;
 import com.hazelcast.sql.impl.operation.QueryExecuteOperation;
 import com.hazelcast.sql.impl.operation.QueryExecuteOperationFragment;
 import com.hazelcast.sql.impl.operation.QueryExecuteOperationFragmentMapping;
 import com.hazelcast.sql.impl.operation.QueryOperationHandler;
+import com.hazelcast.sql.impl.plan.node.AbstractMapScanPlanNode;
+import com.hazelcast.sql.impl.plan.node.AggregatePlanNode;
+import com.hazelcast.sql.impl.plan.node.FetchPlanNode;
+import com.hazelcast.sql.impl.plan.node.MapIndexScanPlanNode;
 import com.hazelcast.sql.impl.plan.node.MapScanPlanNode;
 import com.hazelcast.sql.impl.plan.node.FilterPlanNode;
+import com.hazelcast.sql.impl.plan.node.HashJoinPlanNode;
 import com.hazelcast.sql.impl.plan.node.PlanNode;
 import com.hazelcast.sql.impl.plan.node.PlanNodeVisitor;
 import com.hazelcast.sql.impl.plan.node.ProjectPlanNode;
 import com.hazelcast.sql.impl.plan.node.RootPlanNode;
+import com.hazelcast.sql.impl.plan.node.SortPlanNode;
 import com.hazelcast.sql.impl.plan.node.io.EdgeAwarePlanNode;
 import com.hazelcast.sql.impl.plan.node.io.ReceivePlanNode;
+import com.hazelcast.sql.impl.plan.node.io.ReceiveSortMergePlanNode;
 import com.hazelcast.sql.impl.plan.node.io.RootSendPlanNode;
+import com.hazelcast.sql.impl.plan.node.io.UnicastSendPlanNode;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 
 /**
  * Visitor which builds an executor for every observed physical node.
  */
+@SuppressWarnings({"checkstyle:ClassDataAbstractionCoupling", "checkstyle:ClassFanOutComplexity"})
 public class CreateExecPlanNodeVisitor implements PlanNodeVisitor {
     /** Operation handler. */
     private final QueryOperationHandler operationHandler;
@@ -81,6 +104,9 @@ public class CreateExecPlanNodeVisitor implements PlanNodeVisitor {
     /** Hook to alter produced Exec (for testing purposes). */
     private final CreateExecPlanNodeVisitorHook hook;
 
+    /** Cache of compiled filters and projections, {@code null} if compilation is disabled. */
+    private final CompiledFilterProjectCache compiledCache;
+
     /** Stack of elements to be merged. */
     private final ArrayList<Exec> stack = new ArrayList<>(1);
 
@@ -102,7 +128,8 @@ public class CreateExecPlanNodeVisitor implements PlanNodeVisitor {
         FlowControlFactory flowControlFactory,
         PartitionIdSet localParts,
         int outboxBatchSize,
-        CreateExecPlanNodeVisitorHook hook
+        CreateExecPlanNodeVisitorHook hook,
+        CompiledFilterProjectCache compiledCache
     ) {
         this.operationHandler = operationHandler;
         this.nodeServiceProvider = nodeServiceProvider;
@@ -113,6 +140,7 @@ public class CreateExecPlanNodeVisitor implements PlanNodeVisitor {
         this.localParts = localParts;
         this.outboxBatchSize = outboxBatchSize;
         this.hook = hook;
+        this.compiledCache = compiledCache;
     }
 
     @Override
@@ -156,6 +184,35 @@ public class CreateExecPlanNodeVisitor implements PlanNodeVisitor {
         push(res);
     }
 
+    @Override
+    public void onReceiveSortMergeNode(ReceiveSortMergePlanNode node) {
+        // Navigate to sender exec and get sender members.
+        int edgeId = node.getEdgeId();
+
+        int sendFragmentPos = operation.getOutboundEdgeMap().get(edgeId);
+        QueryExecuteOperationFragment sendFragment = operation.getFragments().get(sendFragmentPos);
+
+        Collection<UUID> senderMemberIds = getFragmentMembers(sendFragment);
+
+        // Create and register inbox.
+        StripedInbox inbox = new StripedInbox(
+            operationHandler,
+            operation.getQueryId(),
+            edgeId,
+            node.getSchema().getEstimatedRowSize(),
+            localMemberId,
+            senderMemberIds,
+            createFlowControl(edgeId)
+        );
+
+        inboxes.put(edgeId, inbox);
+
+        // Instantiate executor and put it to stack.
+        ReceiveSortMergeExec res = new ReceiveSortMergeExec(node.getId(), inbox, node.getColumns(), node.getAscs());
+
+        push(res);
+    }
+
     @Override
     public void onRootSendNode(RootSendPlanNode node) {
         Outbox[] outboxes = prepareOutboxes(node);
@@ -165,8 +222,16 @@ public class CreateExecPlanNodeVisitor implements PlanNodeVisitor {
         exec = new SendExec(node.getId(), pop(), outboxes[0]);
     }
 
+    @Override
+    public void onUnicastSendNode(UnicastSendPlanNode node) {
+        Outbox[] outboxes = prepareOutboxes(node);
+
+        exec = new UnicastSendExec(node.getId(), pop(), outboxes, node.getPartitioningColumns());
+    }
+
     /**
-     * Prepare outboxes for the given sender node.
+     * Prepare outboxes for the given sender node. Outboxes are ordered by the receiving member ID, so that all senders
+     * observe the same order.
      *
      * @param node Node.
      * @return Outboxes.
@@ -177,7 +242,8 @@ public class CreateExecPlanNodeVisitor implements PlanNodeVisitor {
 
         int receiveFragmentPos = operation.getInboundEdgeMap().get(edgeId);
         QueryExecuteOperationFragment receiveFragment = operation.getFragments().get(receiveFragmentPos);
-        Collection<UUID> receiveFragmentMemberIds = getFragmentMembers(receiveFragment);
+        List<UUID> receiveFragmentMemberIds = new ArrayList<>(getFragmentMembers(receiveFragment));
+        Collections.sort(receiveFragmentMemberIds);
 
         Outbox[] res = new Outbox[receiveFragmentMemberIds.size()];
 
@@ -211,7 +277,8 @@ public class CreateExecPlanNodeVisitor implements PlanNodeVisitor {
         Exec res = new ProjectExec(
             node.getId(),
             pop(),
-            node.getProjects()
+            node.getProjects(),
+            compile(null, node.getProjects())
         );
 
         push(res);
@@ -222,7 +289,8 @@ public class CreateExecPlanNodeVisitor implements PlanNodeVisitor {
         Exec res = new FilterExec(
             node.getId(),
             pop(),
-            node.getFilter()
+            node.getFilter(),
+            compile(node.getFilter(), Collections.emptyList())
         );
 
         push(res);
@@ -252,7 +320,8 @@ public class CreateExecPlanNodeVisitor implements PlanNodeVisitor {
                     node.getFieldTypes(),
                     node.getProjects(),
                     node.getFilter(),
-                    serializationService
+                    serializationService,
+                    compileScan(node)
                 );
             }
         }
@@ -260,6 +329,99 @@ public class CreateExecPlanNodeVisitor implements PlanNodeVisitor {
         push(res);
     }
 
+    @Override
+    public void onMapIndexScanNode(MapIndexScanPlanNode node) {
+        Exec res;
+
+        if (localParts.isEmpty()) {
+            res = new EmptyExec(node.getId());
+        } else {
+            String mapName = node.getMapName();
+
+            MapContainer map = nodeServiceProvider.getMap(mapName);
+
+            if (map == null) {
+                res = new EmptyExec(node.getId());
+            } else {
+                res = new MapIndexScanExec(
+                    node.getId(),
+                    map,
+                    localParts,
+                    node.getKeyDescriptor(),
+                    node.getValueDescriptor(),
+                    node.getFieldPaths(),
+                    node.getFieldTypes(),
+                    node.getProjects(),
+                    node.getFilter(),
+                    serializationService,
+                    node.getIndexName(),
+                    node.getIndexFilter(),
+                    compileScan(node)
+                );
+            }
+        }
+
+        push(res);
+    }
+
+    @Override
+    public void onAggregateNode(AggregatePlanNode node) {
+        Exec res = new AggregateExec(
+            node.getId(),
+            pop(),
+            node.getGroupKey(),
+            node.getCalls(),
+            node.getPhase()
+        );
+
+        push(res);
+    }
+
+    @Override
+    public void onSortNode(SortPlanNode node) {
+        Exec res = new SortExec(
+            node.getId(),
+            pop(),
+            node.getColumns(),
+            node.getAscs(),
+            node.getFetch(),
+            node.getOffset()
+        );
+
+        push(res);
+    }
+
+    @Override
+    public void onFetchNode(FetchPlanNode node) {
+        Exec res = new FetchExec(
+            node.getId(),
+            pop(),
+            node.getFetch(),
+            node.getOffset()
+        );
+
+        push(res);
+    }
+
+    @Override
+    public void onHashJoinNode(HashJoinPlanNode node) {
+        Exec right = pop();
+        Exec left = pop();
+
+        Exec res = new HashJoinExec(
+            node.getId(),
+            left,
+            right,
+            node.getLeftKeys(),
+            node.getRightKeys(),
+            node.getCondition(),
+            node.isOuter(),
+            node.getRight().getSchema().getTypes().size()
+        );
+
+        push(res);
+    }
+
     @Override
     public void onOtherNode(PlanNode node) {
         if (node instanceof CreateExecPlanNodeVisitorCallback) {
@@ -308,6 +470,27 @@ public class CreateExecPlanNodeVisitor implements PlanNodeVisitor {
         stack.add(exec);
     }
 
+    @SuppressWarnings("rawtypes")
+    private CompiledFilterProject compile(Expression<Boolean> filter, List<Expression> projects) {
+        return compiledCache != null ? compiledCache.get(filter, projects) : null;
+    }
+
+    @SuppressWarnings("rawtypes")
+    private CompiledFilterProject compileScan(AbstractMapScanPlanNode node) {
+        if (compiledCache == null) {
+            return null;
+        }
+
+        // Scan projections are references to the fields of the map entry.
+        List<Expression> projects = new ArrayList<>(node.getProjects().size());
+
+        for (Integer project : node.getProjects()) {
+            projects.add(ColumnExpression.create(project, node.getFieldTypes().get(project)));
+        }
+
+        return compile(node.getFilter(), projects);
+    }
+
     private FlowControl createFlowControl(int edgeId) {
         long initialMemory = operation.getEdgeInitialMemoryMap().get(edgeId);
 
@@ -16,30 +16,55 @@
 
 package com.hazelcast.sql.impl.exec;
 
+import com.hazelcast.sql.impl.compile.CompiledFilterProject;
 import com.hazelcast.sql.impl.expression.Expression;
+import com.hazelcast.sql.impl.row.ColumnarRowBatch;
 import com.hazelcast.sql.impl.row.Row;
+import com.hazelcast.sql.impl.row.vector.ColumnVector;
 
 /**
- * Filter executor.
+ * Filter executor. Rows are filtered with the compiled filter if it is available, columnar batches are always filtered
+ * with the vectorized evaluation.
  */
 public class FilterExec extends AbstractFilterExec {
 
+    private static final ColumnVector[] NO_COLUMNS = new ColumnVector[0];
+
     private final Expression<Boolean> filter;
+    private final CompiledFilterProject compiledFilter;
 
     public FilterExec(int id, Exec upstream, Expression<Boolean> filter) {
+        this(id, upstream, filter, null);
+    }
+
+    public FilterExec(int id, Exec upstream, Expression<Boolean> filter, CompiledFilterProject compiledFilter) {
         super(id, upstream);
 
         this.filter = filter;
+        this.compiledFilter = compiledFilter;
     }
 
     @Override
     protected boolean eval(Row row) {
+        if (compiledFilter != null) {
+            return compiledFilter.apply(row, ctx, NO_COLUMNS, 0);
+        }
+
         Boolean res = filter.eval(row, ctx);
 
         return res != null && res;
     }
 
+    @Override
+    protected ColumnarRowBatch evalBatch(ColumnarRowBatch batch) {
+        return batch.select(filter.evalVector(batch, ctx));
+    }
+
     public Expression<Boolean> getFilter() {
         return filter;
     }
+
+    public CompiledFilterProject getCompiledFilter() {
+        return compiledFilter;
+    }
 }
@@ -16,29 +16,42 @@
 
 package com.hazelcast.sql.impl.exec;
 
+import com.hazelcast.sql.impl.compile.CompiledFilterProject;
 import com.hazelcast.sql.impl.expression.Expression;
+import com.hazelcast.sql.impl.row.ColumnarRowBatch;
 import com.hazelcast.sql.impl.row.EmptyRowBatch;
 import com.hazelcast.sql.impl.row.HeapRow;
 import com.hazelcast.sql.impl.row.ListRowBatch;
 import com.hazelcast.sql.impl.row.Row;
 import com.hazelcast.sql.impl.row.RowBatch;
+import com.hazelcast.sql.impl.row.vector.ColumnVector;
+import com.hazelcast.sql.impl.row.vector.ColumnVectors;
 
 import java.util.ArrayList;
 import java.util.List;
 
 /**
  * Project executor. Get rows from the incoming batch, projects them, and put into the output batch.
+ * <p>
+ * Columnar batches are projected vector by vector, preserving the selection vector of the incoming batch. Other batches
+ * are projected row by row, with the compiled projections if they are available.
  */
 @SuppressWarnings("rawtypes")
 public class ProjectExec extends AbstractUpstreamAwareExec {
 
     private final List<Expression> projects;
+    private final CompiledFilterProject compiledProjects;
     private RowBatch currentBatch;
 
     public ProjectExec(int id, Exec upstream, List<Expression> projects) {
+        this(id, upstream, projects, null);
+    }
+
+    public ProjectExec(int id, Exec upstream, List<Expression> projects, CompiledFilterProject compiledProjects) {
         super(id, upstream);
 
         this.projects = projects;
+        this.compiledProjects = compiledProjects;
     }
 
     @Override
@@ -78,7 +91,19 @@ public class ProjectExec extends AbstractUpstreamAwareExec {
         return projects;
     }
 
+    public CompiledFilterProject getCompiledProjects() {
+        return compiledProjects;
+    }
+
     private RowBatch projectBatch(RowBatch upstreamBatch) {
+        if (upstreamBatch instanceof ColumnarRowBatch) {
+            return projectColumnarBatch((ColumnarRowBatch) upstreamBatch);
+        }
+
+        if (compiledProjects != null) {
+            return projectBatchCompiled(upstreamBatch);
+        }
+
         List<Row> rows = new ArrayList<>(upstreamBatch.getRowCount());
 
         for (int i = 0; i < upstreamBatch.getRowCount(); i++) {
@@ -91,6 +116,34 @@ public class ProjectExec extends AbstractUpstreamAwareExec {
         return new ListRowBatch(rows);
     }
 
+    private RowBatch projectBatchCompiled(RowBatch upstreamBatch) {
+        int rowCount = upstreamBatch.getRowCount();
+
+        ColumnVector[] columns = new ColumnVector[projects.size()];
+
+        for (int i = 0; i < columns.length; i++) {
+            columns[i] = ColumnVectors.create(projects.get(i).getType(), rowCount);
+        }
+
+        for (int i = 0; i < rowCount; i++) {
+            compiledProjects.apply(upstreamBatch.getRow(i), ctx, columns, i);
+        }
+
+        return new ColumnarRowBatch(columns, rowCount);
+    }
+
+    private RowBatch projectColumnarBatch(ColumnarRowBatch upstreamBatch) {
+        ColumnVector[] columns = new ColumnVector[projects.size()];
+
+        for (int i = 0; i < columns.length; i++) {
+            Expression<?> projection = projects.get(i);
+
+            columns[i] = projection.evalVector(upstreamBatch, ctx);
+        }
+
+        return upstreamBatch.withColumns(columns);
+    }
+
     private Row projectRow(Row upstreamRow) {
         HeapRow row = new HeapRow(projects.size());
 
@@ -108,6 +108,15 @@ public class UpstreamState implements Iterable<Row> {
         return batch;
     }
 
+    /**
+     * Get the current batch if none of its rows were consumed yet, without consuming it.
+     *
+     * @return The current batch or {@code null} if it is empty or partially consumed.
+     */
+    public RowBatch peekBatch() {
+        return currentBatchPos == 0 && isNextAvailable() ? currentBatch : null;
+    }
+
     /**
      * @return {@code true} if no more results will appear in future.
      */
@@ -0,0 +1,70 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.sql.impl.exec.agg;
+
+import com.hazelcast.sql.impl.row.HeapRow;
+import com.hazelcast.sql.impl.row.Row;
+
+/**
+ * Accumulator of a single aggregate function for a single group.
+ * <p>
+ * Implementations keep the state in primitive fields where possible to avoid boxing on every input row.
+ */
+public abstract class AggregateAccumulator {
+    /** Index of the first input column consumed by the accumulator, or {@code -1} if there are no input columns. */
+    protected final int operand;
+
+    protected AggregateAccumulator(int operand) {
+        this.operand = operand;
+    }
+
+    /**
+     * Add the raw input row to the state.
+     *
+     * @param row Input row.
+     */
+    public abstract void accumulate(Row row);
+
+    /**
+     * Merge the intermediate state produced by another accumulator of the same type into this state.
+     *
+     * @param row Row with the intermediate state starting at the operand column.
+     */
+    public abstract void merge(Row row);
+
+    /**
+     * @return Number of columns required to store the intermediate state.
+     */
+    public int getStateSize() {
+        return 1;
+    }
+
+    /**
+     * Write the intermediate state to the row.
+     *
+     * @param row Target row.
+     * @param index Index of the first state column.
+     */
+    public void writeState(HeapRow row, int index) {
+        row.set(index, getResult());
+    }
+
+    /**
+     * @return Final result of the aggregation.
+     */
+    public abstract Object getResult();
+}
@@ -0,0 +1,251 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.sql.impl.exec.agg;
+
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.IdentifiedDataSerializable;
+import com.hazelcast.sql.impl.QueryException;
+import com.hazelcast.sql.impl.SqlDataSerializerHook;
+import com.hazelcast.sql.impl.type.QueryDataType;
+import com.hazelcast.sql.impl.type.QueryDataTypeFamily;
+import com.hazelcast.sql.impl.type.converter.Converter;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Description of a single aggregate function call: function type, operand and result type.
+ * <p>
+ * In the {@link AggregatePhase#FINAL} phase the operand points to the first column of the intermediate state, and the
+ * operand type is the type of that column.
+ */
+public class AggregateCallDescriptor implements IdentifiedDataSerializable {
+    /** Function type. */
+    private AggregateFunctionType type;
+
+    /** Index of the operand column, or {@code -1} if the function has no operands (e.g. COUNT(*)). */
+    private int operand;
+
+    /** Type of the operand column, or {@code null} if the function has no operands. */
+    private QueryDataType operandType;
+
+    /** Type of the final result. */
+    private QueryDataType resultType;
+
+    public AggregateCallDescriptor() {
+        // No-op.
+    }
+
+    public AggregateCallDescriptor(
+        AggregateFunctionType type,
+        int operand,
+        QueryDataType operandType,
+        QueryDataType resultType
+    ) {
+        this.type = type;
+        this.operand = operand;
+        this.operandType = operandType;
+        this.resultType = resultType;
+    }
+
+    public AggregateFunctionType getType() {
+        return type;
+    }
+
+    public int getOperand() {
+        return operand;
+    }
+
+    public QueryDataType getOperandType() {
+        return operandType;
+    }
+
+    public QueryDataType getResultType() {
+        return resultType;
+    }
+
+    /**
+     * @return Types of the intermediate state columns produced by the {@link AggregatePhase#PARTIAL} phase.
+     */
+    public List<QueryDataType> getStateTypes() {
+        switch (type) {
+            case COUNT:
+                return Collections.singletonList(QueryDataType.BIGINT);
+
+            case AVG:
+                return Arrays.asList(getSumType(operandType), QueryDataType.BIGINT);
+
+            default:
+                return Collections.singletonList(resultType);
+        }
+    }
+
+    /**
+     * Create a new accumulator for this function call.
+     *
+     * @return Accumulator.
+     */
+    public AggregateAccumulator createAccumulator() {
+        switch (type) {
+            case COUNT:
+                return new CountAccumulator(operand);
+
+            case SUM:
+                return createSumAccumulator();
+
+            case AVG:
+                return createAvgAccumulator();
+
+            default:
+                assert type == AggregateFunctionType.MIN || type == AggregateFunctionType.MAX;
+
+                return createMinMaxAccumulator(type == AggregateFunctionType.MAX);
+        }
+    }
+
+    private AggregateAccumulator createSumAccumulator() {
+        QueryDataTypeFamily family = operandType.getTypeFamily();
+        Converter converter = operandType.getConverter();
+
+        if (isInteger(family)) {
+            return new LongSumAccumulator(operand, converter);
+        } else if (family == QueryDataTypeFamily.DECIMAL) {
+            return new DecimalSumAccumulator(operand, converter);
+        } else if (isApproximate(family)) {
+            return new DoubleSumAccumulator(operand, converter);
+        }
+
+        throw unsupportedOperandType();
+    }
+
+    private AggregateAccumulator createAvgAccumulator() {
+        QueryDataTypeFamily family = operandType.getTypeFamily();
+        Converter converter = operandType.getConverter();
+
+        if (isInteger(family)) {
+            return new LongAvgAccumulator(operand, converter);
+        } else if (family == QueryDataTypeFamily.DECIMAL) {
+            return new DecimalAvgAccumulator(operand, converter);
+        } else if (isApproximate(family)) {
+            return new DoubleAvgAccumulator(operand, converter);
+        }
+
+        throw unsupportedOperandType();
+    }
+
+    private AggregateAccumulator createMinMaxAccumulator(boolean max) {
+        QueryDataTypeFamily family = operandType.getTypeFamily();
+        Converter converter = operandType.getConverter();
+
+        if (isInteger(family)) {
+            return new LongMinMaxAccumulator(operand, converter, max);
+        } else if (isApproximate(family)) {
+            return new DoubleMinMaxAccumulator(operand, converter, max);
+        } else {
+            return new ObjectMinMaxAccumulator(operand, max);
+        }
+    }
+
+    private QueryException unsupportedOperandType() {
+        return QueryException.error("Unsupported operand type of " + type + " function: " + operandType);
+    }
+
+    private static QueryDataType getSumType(QueryDataType operandType) {
+        QueryDataTypeFamily family = operandType.getTypeFamily();
+
+        if (isInteger(family)) {
+            return QueryDataType.BIGINT;
+        } else if (isApproximate(family)) {
+            return QueryDataType.DOUBLE;
+        } else {
+            return QueryDataType.DECIMAL;
+        }
+    }
+
+    private static boolean isInteger(QueryDataTypeFamily family) {
+        switch (family) {
+            case TINYINT:
+            case SMALLINT:
+            case INT:
+            case BIGINT:
+                return true;
+
+            default:
+                return false;
+        }
+    }
+
+    private static boolean isApproximate(QueryDataTypeFamily family) {
+        return family == QueryDataTypeFamily.REAL || family == QueryDataTypeFamily.DOUBLE;
+    }
+
+    @Override
+    public int getFactoryId() {
+        return SqlDataSerializerHook.F_ID;
+    }
+
+    @Override
+    public int getClassId() {
+        return SqlDataSerializerHook.AGGREGATE_CALL;
+    }
+
+    @Override
+    public void writeData(ObjectDataOutput out) throws IOException {
+        out.writeInt(type.getId());
+        out.writeInt(operand);
+        out.writeObject(operandType);
+        out.writeObject(resultType);
+    }
+
+    @Override
+    public void readData(ObjectDataInput in) throws IOException {
+        type = AggregateFunctionType.getById(in.readInt());
+        operand = in.readInt();
+        operandType = in.readObject();
+        resultType = in.readObject();
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(type, operand, operandType, resultType);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+
+        AggregateCallDescriptor that = (AggregateCallDescriptor) o;
+
+        return type == that.type && operand == that.operand && Objects.equals(operandType, that.operandType)
+            && resultType.equals(that.resultType);
+    }
+
+    @Override
+    public String toString() {
+        return type + "(" + (operand < 0 ? "*" : "$" + operand) + ")";
+    }
+}
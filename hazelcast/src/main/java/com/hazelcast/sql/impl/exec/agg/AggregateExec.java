@@ -0,0 +1,226 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.sql.impl.exec.agg;
+
+import com.hazelcast.sql.impl.exec.AbstractUpstreamAwareExec;
+import com.hazelcast.sql.impl.exec.CompositeKey;
+import com.hazelcast.sql.impl.exec.Exec;
+import com.hazelcast.sql.impl.exec.IterationResult;
+import com.hazelcast.sql.impl.row.EmptyRowBatch;
+import com.hazelcast.sql.impl.row.HeapRow;
+import com.hazelcast.sql.impl.row.ListRowBatch;
+import com.hazelcast.sql.impl.row.Row;
+import com.hazelcast.sql.impl.row.RowBatch;
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Hash aggregation. Consumes the whole input, grouping rows by the group key in a hash table, and then produces one row
+ * per group.
+ * <p>
+ * Output row consists of the group key columns followed by either final results or intermediate states of aggregate
+ * functions, depending on the {@link AggregatePhase}.
+ */
+public class AggregateExec extends AbstractUpstreamAwareExec {
+
+    static final int BATCH_SIZE = 1024;
+
+    private final int[] groupKey;
+    private final List<AggregateCallDescriptor> calls;
+    private final AggregatePhase phase;
+    private final int rowWidth;
+
+    /** Accumulated groups. */
+    private final Map<Object, AggregateAccumulator[]> groups = new HashMap<>();
+
+    /** Iterator over the groups, available when the input is consumed. */
+    private Iterator<Map.Entry<Object, AggregateAccumulator[]>> groupIterator;
+
+    private RowBatch currentBatch;
+
+    @SuppressFBWarnings("EI_EXPOSE_REP2")
+    public AggregateExec(int id, Exec upstream, int[] groupKey, List<AggregateCallDescriptor> calls, AggregatePhase phase) {
+        super(id, upstream);
+
+        this.groupKey = groupKey;
+        this.calls = calls;
+        this.phase = phase;
+
+        int rowWidth0 = groupKey.length;
+
+        for (AggregateCallDescriptor call : calls) {
+            rowWidth0 += phase.isOutputFinal() ? 1 : call.getStateTypes().size();
+        }
+
+        rowWidth = rowWidth0;
+    }
+
+    @Override
+    protected IterationResult advance0() {
+        if (groupIterator == null) {
+            while (true) {
+                if (!state.advance()) {
+                    return IterationResult.WAIT;
+                }
+
+                for (Row row : state) {
+                    consumeRow(row);
+                }
+
+                if (state.isDone()) {
+                    break;
+                }
+            }
+
+            groupIterator = prepareGroups().entrySet().iterator();
+        }
+
+        return produceBatch();
+    }
+
+    @Override
+    protected RowBatch currentBatch0() {
+        return currentBatch;
+    }
+
+    @SuppressFBWarnings("EI_EXPOSE_REP")
+    public int[] getGroupKey() {
+        return groupKey;
+    }
+
+    public List<AggregateCallDescriptor> getCalls() {
+        return calls;
+    }
+
+    public AggregatePhase getPhase() {
+        return phase;
+    }
+
+    private void consumeRow(Row row) {
+        Object key = getKey(row);
+
+        AggregateAccumulator[] accumulators = groups.get(key);
+
+        if (accumulators == null) {
+            accumulators = createAccumulators();
+
+            groups.put(key, accumulators);
+        }
+
+        if (phase.isInputRaw()) {
+            for (AggregateAccumulator accumulator : accumulators) {
+                accumulator.accumulate(row);
+            }
+        } else {
+            for (AggregateAccumulator accumulator : accumulators) {
+                accumulator.merge(row);
+            }
+        }
+    }
+
+    private Object getKey(Row row) {
+        if (groupKey.length == 1) {
+            return row.get(groupKey[0]);
+        }
+
+        Object[] values = new Object[groupKey.length];
+
+        for (int i = 0; i < groupKey.length; i++) {
+            values[i] = row.get(groupKey[i]);
+        }
+
+        return CompositeKey.of(values);
+    }
+
+    private AggregateAccumulator[] createAccumulators() {
+        AggregateAccumulator[] res = new AggregateAccumulator[calls.size()];
+
+        for (int i = 0; i < res.length; i++) {
+            res[i] = calls.get(i).createAccumulator();
+        }
+
+        return res;
+    }
+
+    /**
+     * Aggregation without the group key must produce exactly one row even if the input is empty. This is not applicable
+     * to the partial phase, because the final phase will produce the row anyway.
+     *
+     * @return Groups to be returned.
+     */
+    private Map<Object, AggregateAccumulator[]> prepareGroups() {
+        if (groups.isEmpty() && groupKey.length == 0 && phase.isOutputFinal()) {
+            return Collections.singletonMap(CompositeKey.of(), createAccumulators());
+        }
+
+        return groups;
+    }
+
+    private IterationResult produceBatch() {
+        if (!groupIterator.hasNext()) {
+            currentBatch = EmptyRowBatch.INSTANCE;
+
+            return IterationResult.FETCHED_DONE;
+        }
+
+        List<Row> rows = new ArrayList<>(Math.min(groups.size(), BATCH_SIZE));
+
+        while (groupIterator.hasNext() && rows.size() < BATCH_SIZE) {
+            Map.Entry<Object, AggregateAccumulator[]> entry = groupIterator.next();
+
+            rows.add(createRow(entry.getKey(), entry.getValue()));
+        }
+
+        currentBatch = new ListRowBatch(rows);
+
+        return groupIterator.hasNext() ? IterationResult.FETCHED : IterationResult.FETCHED_DONE;
+    }
+
+    private Row createRow(Object key, AggregateAccumulator[] accumulators) {
+        HeapRow row = new HeapRow(rowWidth);
+
+        if (groupKey.length == 1) {
+            row.set(0, key);
+        } else {
+            CompositeKey key0 = (CompositeKey) key;
+
+            for (int i = 0; i < groupKey.length; i++) {
+                row.set(i, key0.get(i));
+            }
+        }
+
+        int index = groupKey.length;
+
+        for (AggregateAccumulator accumulator : accumulators) {
+            if (phase.isOutputFinal()) {
+                row.set(index++, accumulator.getResult());
+            } else {
+                accumulator.writeState(row, index);
+
+                index += accumulator.getStateSize();
+            }
+        }
+
+        return row;
+    }
+}
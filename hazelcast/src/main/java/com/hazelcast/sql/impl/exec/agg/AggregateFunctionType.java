@@ -0,0 +1,49 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.sql.impl.exec.agg;
+
+/**
+ * Supported aggregate functions.
+ */
+public enum AggregateFunctionType {
+    COUNT(0),
+    SUM(1),
+    AVG(2),
+    MIN(3),
+    MAX(4);
+
+    private static final AggregateFunctionType[] VALUES = values();
+
+    private final int id;
+
+    AggregateFunctionType(int id) {
+        this.id = id;
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    public static AggregateFunctionType getById(final int id) {
+        for (AggregateFunctionType type : VALUES) {
+            if (type.id == id) {
+                return type;
+            }
+        }
+        return null;
+    }
+}
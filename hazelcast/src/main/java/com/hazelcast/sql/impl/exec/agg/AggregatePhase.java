@@ -0,0 +1,69 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.sql.impl.exec.agg;
+
+/**
+ * Phase of the aggregation.
+ * <p>
+ * Distributed aggregation is split into two phases: every member first aggregates its local data and produces partial
+ * results, which are then shuffled between members by the group key and merged into the final results.
+ */
+public enum AggregatePhase {
+    /** Aggregate raw input rows and produce final results. Used when the whole input is available in a single place. */
+    COMPLETE(0),
+
+    /** Aggregate raw input rows and produce intermediate states which are to be merged later. */
+    PARTIAL(1),
+
+    /** Merge intermediate states produced by the {@link #PARTIAL} phase and produce final results. */
+    FINAL(2);
+
+    private static final AggregatePhase[] VALUES = values();
+
+    private final int id;
+
+    AggregatePhase(int id) {
+        this.id = id;
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    public static AggregatePhase getById(final int id) {
+        for (AggregatePhase phase : VALUES) {
+            if (phase.id == id) {
+                return phase;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @return {@code true} if the phase consumes raw input rows, {@code false} if it consumes intermediate states.
+     */
+    public boolean isInputRaw() {
+        return this != FINAL;
+    }
+
+    /**
+     * @return {@code true} if the phase produces final results, {@code false} if it produces intermediate states.
+     */
+    public boolean isOutputFinal() {
+        return this != PARTIAL;
+    }
+}
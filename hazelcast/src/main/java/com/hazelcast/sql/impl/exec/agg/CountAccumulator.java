@@ -0,0 +1,50 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.sql.impl.exec.agg;
+
+import com.hazelcast.sql.impl.row.Row;
+
+/**
+ * Accumulator for the COUNT function. Counts all rows if there is no operand, or rows with non-null operand otherwise.
+ */
+public class CountAccumulator extends AggregateAccumulator {
+
+    private long count;
+
+    public CountAccumulator(int operand) {
+        super(operand);
+    }
+
+    @Override
+    public void accumulate(Row row) {
+        if (operand < 0 || row.get(operand) != null) {
+            count++;
+        }
+    }
+
+    @Override
+    public void merge(Row row) {
+        long otherCount = row.get(operand);
+
+        count += otherCount;
+    }
+
+    @Override
+    public Object getResult() {
+        return count;
+    }
+}
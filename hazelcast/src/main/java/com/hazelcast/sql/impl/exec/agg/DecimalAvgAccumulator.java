@@ -0,0 +1,83 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.sql.impl.exec.agg;
+
+import com.hazelcast.sql.impl.row.HeapRow;
+import com.hazelcast.sql.impl.row.Row;
+import com.hazelcast.sql.impl.type.converter.Converter;
+
+import java.math.BigDecimal;
+
+import static com.hazelcast.sql.impl.expression.math.ExpressionMath.DECIMAL_MATH_CONTEXT;
+
+/**
+ * Accumulator for the AVG function over DECIMAL operands. Produces DECIMAL.
+ * <p>
+ * Intermediate state consists of two columns: DECIMAL sum and BIGINT count.
+ */
+public class DecimalAvgAccumulator extends AggregateAccumulator {
+
+    private final Converter converter;
+    private BigDecimal sum = BigDecimal.ZERO;
+    private long count;
+
+    public DecimalAvgAccumulator(int operand, Converter converter) {
+        super(operand);
+
+        this.converter = converter;
+    }
+
+    @Override
+    public void accumulate(Row row) {
+        Object value = row.get(operand);
+
+        if (value != null) {
+            sum = sum.add(converter.asDecimal(value), DECIMAL_MATH_CONTEXT);
+            count++;
+        }
+    }
+
+    @Override
+    public void merge(Row row) {
+        long otherCount = row.get(operand + 1);
+
+        if (otherCount != 0) {
+            sum = sum.add(converter.asDecimal(row.get(operand)), DECIMAL_MATH_CONTEXT);
+            count += otherCount;
+        }
+    }
+
+    @Override
+    public int getStateSize() {
+        return 2;
+    }
+
+    @Override
+    public void writeState(HeapRow row, int index) {
+        row.set(index, sum);
+        row.set(index + 1, count);
+    }
+
+    @Override
+    public Object getResult() {
+        if (count == 0) {
+            return null;
+        }
+
+        return sum.divide(BigDecimal.valueOf(count), DECIMAL_MATH_CONTEXT);
+    }
+}
@@ -0,0 +1,60 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.sql.impl.exec.agg;
+
+import com.hazelcast.sql.impl.row.Row;
+import com.hazelcast.sql.impl.type.converter.Converter;
+
+import java.math.BigDecimal;
+
+import static com.hazelcast.sql.impl.expression.math.ExpressionMath.DECIMAL_MATH_CONTEXT;
+
+/**
+ * Accumulator for the SUM function over DECIMAL operands. Produces DECIMAL.
+ */
+public class DecimalSumAccumulator extends AggregateAccumulator {
+
+    private final Converter converter;
+    private BigDecimal sum;
+
+    public DecimalSumAccumulator(int operand, Converter converter) {
+        super(operand);
+
+        this.converter = converter;
+    }
+
+    @Override
+    public void accumulate(Row row) {
+        Object value = row.get(operand);
+
+        if (value != null) {
+            BigDecimal value0 = converter.asDecimal(value);
+
+            sum = sum == null ? value0 : sum.add(value0, DECIMAL_MATH_CONTEXT);
+        }
+    }
+
+    @Override
+    public void merge(Row row) {
+        accumulate(row);
+    }
+
+    @Override
+    public Object getResult() {
+        return sum;
+    }
+}
@@ -0,0 +1,65 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.sql.impl.exec.agg;
+
+import com.hazelcast.sql.impl.row.Row;
+import com.hazelcast.sql.impl.type.converter.Converter;
+import com.hazelcast.sql.impl.type.converter.DoubleConverter;
+
+/**
+ * Accumulator for the MIN and MAX functions over approximate numeric operands. Produces the operand type.
+ */
+public class DoubleMinMaxAccumulator extends AggregateAccumulator {
+
+    private final Converter converter;
+    private final boolean max;
+    private double value;
+    private boolean hasValue;
+
+    public DoubleMinMaxAccumulator(int operand, Converter converter, boolean max) {
+        super(operand);
+
+        this.converter = converter;
+        this.max = max;
+    }
+
+    @Override
+    public void accumulate(Row row) {
+        Object operandValue = row.get(operand);
+
+        if (operandValue == null) {
+            return;
+        }
+
+        double operandValue0 = converter.asDouble(operandValue);
+
+        if (!hasValue || (max ? operandValue0 > value : operandValue0 < value)) {
+            value = operandValue0;
+            hasValue = true;
+        }
+    }
+
+    @Override
+    public void merge(Row row) {
+        accumulate(row);
+    }
+
+    @Override
+    public Object getResult() {
+        return hasValue ? converter.convertToSelf(DoubleConverter.INSTANCE, value) : null;
+    }
+}
@@ -0,0 +1,56 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.sql.impl.exec.agg;
+
+import com.hazelcast.sql.impl.row.Row;
+import com.hazelcast.sql.impl.type.converter.Converter;
+
+/**
+ * Accumulator for the SUM function over approximate numeric operands. Produces DOUBLE.
+ */
+public class DoubleSumAccumulator extends AggregateAccumulator {
+
+    private final Converter converter;
+    private double sum;
+    private boolean hasValue;
+
+    public DoubleSumAccumulator(int operand, Converter converter) {
+        super(operand);
+
+        this.converter = converter;
+    }
+
+    @Override
+    public void accumulate(Row row) {
+        Object value = row.get(operand);
+
+        if (value != null) {
+            sum += converter.asDouble(value);
+            hasValue = true;
+        }
+    }
+
+    @Override
+    public void merge(Row row) {
+        accumulate(row);
+    }
+
+    @Override
+    public Object getResult() {
+        return hasValue ? sum : null;
+    }
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.sql.impl.exec.agg;
+
+import com.hazelcast.sql.impl.row.HeapRow;
+import com.hazelcast.sql.impl.row.Row;
+import com.hazelcast.sql.impl.type.converter.Converter;
+
+import java.math.BigDecimal;
+
+import static com.hazelcast.sql.impl.expression.math.ExpressionMath.DECIMAL_MATH_CONTEXT;
+
+/**
+ * Accumulator for the AVG function over integer operands. Produces DECIMAL.
+ * <p>
+ * Intermediate state consists of two columns: BIGINT sum and BIGINT count.
+ */
+public class LongAvgAccumulator extends AggregateAccumulator {
+
+    private final Converter converter;
+    private long sum;
+    private long count;
+
+    public LongAvgAccumulator(int operand, Converter converter) {
+        super(operand);
+
+        this.converter = converter;
+    }
+
+    @Override
+    public void accumulate(Row row) {
+        Object value = row.get(operand);
+
+        if (value != null) {
+            sum = LongSumAccumulator.addExact(sum, converter.asBigint(value), "AVG");
+            count++;
+        }
+    }
+
+    @Override
+    public void merge(Row row) {
+        long otherCount = row.get(operand + 1);
+
+        if (otherCount != 0) {
+            sum = LongSumAccumulator.addExact(sum, converter.asBigint(row.get(operand)), "AVG");
+            count += otherCount;
+        }
+    }
+
+    @Override
+    public int getStateSize() {
+        return 2;
+    }
+
+    @Override
+    public void writeState(HeapRow row, int index) {
+        row.set(index, sum);
+        row.set(index + 1, count);
+    }
+
+    @Override
+    public Object getResult() {
+        if (count == 0) {
+            return null;
+        }
+
+        return BigDecimal.valueOf(sum).divide(BigDecimal.valueOf(count), DECIMAL_MATH_CONTEXT);
+    }
+}
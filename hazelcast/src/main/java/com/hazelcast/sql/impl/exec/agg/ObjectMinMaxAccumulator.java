@@ -0,0 +1,66 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.sql.impl.exec.agg;
+
+import com.hazelcast.sql.impl.row.Row;
+
+/**
+ * Accumulator for the MIN and MAX functions over non-numeric comparable operands. Produces the operand type.
+ */
+@SuppressWarnings({"rawtypes", "unchecked"})
+public class ObjectMinMaxAccumulator extends AggregateAccumulator {
+
+    private final boolean max;
+    private Comparable value;
+
+    public ObjectMinMaxAccumulator(int operand, boolean max) {
+        super(operand);
+
+        this.max = max;
+    }
+
+    @Override
+    public void accumulate(Row row) {
+        Comparable operandValue = row.get(operand);
+
+        if (operandValue == null) {
+            return;
+        }
+
+        if (value == null) {
+            value = operandValue;
+
+            return;
+        }
+
+        int cmp = operandValue.compareTo(value);
+
+        if (max ? cmp > 0 : cmp < 0) {
+            value = operandValue;
+        }
+    }
+
+    @Override
+    public void merge(Row row) {
+        accumulate(row);
+    }
+
+    @Override
+    public Object getResult() {
+        return value;
+    }
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.sql.impl.exec.fetch;
+
+import com.hazelcast.sql.SqlErrorCode;
+import com.hazelcast.sql.impl.QueryException;
+import com.hazelcast.sql.impl.expression.Expression;
+import com.hazelcast.sql.impl.expression.ExpressionEvalContext;
+import com.hazelcast.sql.impl.row.EmptyRow;
+
+/**
+ * Utility methods to evaluate {@code LIMIT} and {@code OFFSET} values.
+ */
+public final class Fetch {
+    /** Special value denoting the absence of the limit. */
+    public static final long NO_LIMIT = Long.MAX_VALUE;
+
+    private Fetch() {
+        // No-op.
+    }
+
+    /**
+     * Evaluate the maximum number of rows which must be produced to satisfy the given {@code LIMIT} and {@code OFFSET}.
+     *
+     * @param fetch fetch expression, or {@code null} if absent
+     * @param offset offset expression, or {@code null} if absent
+     * @param context evaluation context
+     * @return the number of rows or {@link #NO_LIMIT} if the fetch is absent
+     */
+    public static long getLimit(Expression<?> fetch, Expression<?> offset, ExpressionEvalContext context) {
+        if (fetch == null) {
+            return NO_LIMIT;
+        }
+
+        long fetchValue = evaluate(fetch, context, "LIMIT");
+        long offsetValue = evaluate(offset, context, "OFFSET");
+
+        long res = fetchValue + offsetValue;
+
+        return res < 0 ? NO_LIMIT : res;
+    }
+
+    /**
+     * Evaluate a {@code LIMIT} or {@code OFFSET} expression.
+     *
+     * @param expression expression, or {@code null} if absent
+     * @param context evaluation context
+     * @param clause clause name used in error messages
+     * @return the value, or {@code 0} if the expression is {@code null}
+     */
+    public static long evaluate(Expression<?> expression, ExpressionEvalContext context, String clause) {
+        if (expression == null) {
+            return 0;
+        }
+
+        Object value = expression.eval(EmptyRow.INSTANCE, context);
+
+        if (value == null) {
+            throw QueryException.error(SqlErrorCode.DATA_EXCEPTION, clause + " value cannot be null");
+        }
+
+        long res = ((Number) value).longValue();
+
+        if (res < 0) {
+            throw QueryException.error(SqlErrorCode.DATA_EXCEPTION, clause + " value cannot be negative: " + res);
+        }
+
+        return res;
+    }
+}
@@ -0,0 +1,129 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.sql.impl.exec.fetch;
+
+import com.hazelcast.sql.impl.exec.AbstractUpstreamAwareExec;
+import com.hazelcast.sql.impl.exec.Exec;
+import com.hazelcast.sql.impl.exec.IterationResult;
+import com.hazelcast.sql.impl.expression.Expression;
+import com.hazelcast.sql.impl.row.EmptyRowBatch;
+import com.hazelcast.sql.impl.row.ListRowBatch;
+import com.hazelcast.sql.impl.row.Row;
+import com.hazelcast.sql.impl.row.RowBatch;
+import com.hazelcast.sql.impl.worker.QueryFragmentContext;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Executor which applies {@code LIMIT} and {@code OFFSET} to the input. Completes as soon as the required number of rows
+ * is produced, without waiting for the rest of the input.
+ */
+@SuppressWarnings("rawtypes")
+public class FetchExec extends AbstractUpstreamAwareExec {
+
+    private final Expression fetch;
+    private final Expression offset;
+
+    /** Number of rows to skip. */
+    private long remainingOffset;
+
+    /** Number of rows to return. */
+    private long remainingFetch;
+
+    private RowBatch currentBatch;
+
+    public FetchExec(int id, Exec upstream, Expression fetch, Expression offset) {
+        super(id, upstream);
+
+        this.fetch = fetch;
+        this.offset = offset;
+    }
+
+    @Override
+    protected void setup1(QueryFragmentContext ctx) {
+        remainingOffset = Fetch.evaluate(offset, ctx, "OFFSET");
+        remainingFetch = fetch != null ? Fetch.evaluate(fetch, ctx, "LIMIT") : Fetch.NO_LIMIT;
+    }
+
+    @Override
+    protected IterationResult advance0() {
+        while (true) {
+            if (remainingFetch == 0) {
+                currentBatch = EmptyRowBatch.INSTANCE;
+
+                return IterationResult.FETCHED_DONE;
+            }
+
+            if (!state.advance()) {
+                return IterationResult.WAIT;
+            }
+
+            RowBatch batch = apply(state.consumeBatch());
+
+            if (state.isDone() || remainingFetch == 0) {
+                currentBatch = batch;
+
+                return IterationResult.FETCHED_DONE;
+            }
+
+            if (batch.getRowCount() > 0) {
+                currentBatch = batch;
+
+                return IterationResult.FETCHED;
+            }
+        }
+    }
+
+    @Override
+    protected RowBatch currentBatch0() {
+        return currentBatch;
+    }
+
+    public Expression getFetch() {
+        return fetch;
+    }
+
+    public Expression getOffset() {
+        return offset;
+    }
+
+    private RowBatch apply(RowBatch batch) {
+        int rowCount = batch.getRowCount();
+
+        int from = (int) Math.min(remainingOffset, rowCount);
+        int to = from + (int) Math.min(remainingFetch, rowCount - from);
+
+        remainingOffset -= from;
+
+        if (from == 0 && to == rowCount) {
+            remainingFetch -= rowCount;
+
+            return batch;
+        }
+
+        List<Row> rows = new ArrayList<>(to - from);
+
+        for (int i = from; i < to; i++) {
+            rows.add(batch.getRow(i));
+        }
+
+        remainingFetch -= to - from;
+
+        return new ListRowBatch(rows);
+    }
+}
@@ -0,0 +1,174 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.sql.impl.exec.io;
+
+import com.hazelcast.sql.impl.exec.AbstractExec;
+import com.hazelcast.sql.impl.exec.IterationResult;
+import com.hazelcast.sql.impl.exec.sort.SortKeyComparator;
+import com.hazelcast.sql.impl.row.ListRowBatch;
+import com.hazelcast.sql.impl.row.Row;
+import com.hazelcast.sql.impl.row.RowBatch;
+import com.hazelcast.sql.impl.worker.QueryFragmentContext;
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Executor which receives pre-sorted streams from several senders and merges them into a single sorted stream.
+ * <p>
+ * A row may be returned only when the current row of every non-exhausted stream is known, so the executor waits for
+ * the next batch of a stream as soon as its current batch is consumed.
+ */
+public class ReceiveSortMergeExec extends AbstractExec {
+
+    static final int BATCH_SIZE = 1024;
+
+    private final StripedInbox inbox;
+    private final int[] columns;
+    private final boolean[] ascs;
+    private final SortKeyComparator comparator;
+
+    /** Current batch of every stripe. */
+    private final RowBatch[] batches;
+
+    /** Position of the next row in the current batch of every stripe. */
+    private final int[] positions;
+
+    /** Whether the last batch of the stripe has been received. */
+    private final boolean[] done;
+
+    private RowBatch currentBatch;
+
+    @SuppressFBWarnings("EI_EXPOSE_REP2")
+    public ReceiveSortMergeExec(int id, StripedInbox inbox, int[] columns, boolean[] ascs) {
+        super(id);
+
+        this.inbox = inbox;
+        this.columns = columns;
+        this.ascs = ascs;
+
+        comparator = new SortKeyComparator(columns, ascs);
+
+        int stripeCount = inbox.getStripeCount();
+
+        batches = new RowBatch[stripeCount];
+        positions = new int[stripeCount];
+        done = new boolean[stripeCount];
+    }
+
+    @Override
+    protected void setup0(QueryFragmentContext ctx) {
+        inbox.setup();
+    }
+
+    @Override
+    protected IterationResult advance0() {
+        List<Row> rows = new ArrayList<>();
+
+        while (rows.size() < BATCH_SIZE) {
+            int minStripe = -1;
+            Row minRow = null;
+
+            for (int i = 0; i < batches.length; i++) {
+                if (!prepareStripe(i)) {
+                    // The next row of the stripe is not known yet, cannot proceed.
+                    return finish(rows, false);
+                }
+
+                if (hasRow(i)) {
+                    Row row = batches[i].getRow(positions[i]);
+
+                    if (minRow == null || comparator.compare(row, minRow) < 0) {
+                        minStripe = i;
+                        minRow = row;
+                    }
+                }
+            }
+
+            if (minRow == null) {
+                // All stripes are exhausted.
+                return finish(rows, true);
+            }
+
+            rows.add(minRow);
+            positions[minStripe]++;
+        }
+
+        return finish(rows, false);
+    }
+
+    @Override
+    protected RowBatch currentBatch0() {
+        return currentBatch;
+    }
+
+    public StripedInbox getInbox() {
+        return inbox;
+    }
+
+    @SuppressFBWarnings("EI_EXPOSE_REP")
+    public int[] getColumns() {
+        return columns;
+    }
+
+    @SuppressFBWarnings("EI_EXPOSE_REP")
+    public boolean[] getAscs() {
+        return ascs;
+    }
+
+    /**
+     * Make sure that the next row of the stripe is available, polling the inbox if needed.
+     *
+     * @return {@code true} if the stripe either has the next row, or is exhausted
+     */
+    private boolean prepareStripe(int stripe) {
+        while (!hasRow(stripe)) {
+            if (done[stripe]) {
+                return true;
+            }
+
+            InboundBatch batch = inbox.poll(stripe);
+
+            if (batch == null) {
+                return false;
+            }
+
+            batches[stripe] = batch.getBatch();
+            positions[stripe] = 0;
+            done[stripe] = batch.isLast();
+        }
+
+        return true;
+    }
+
+    private boolean hasRow(int stripe) {
+        RowBatch batch = batches[stripe];
+
+        return batch != null && positions[stripe] < batch.getRowCount();
+    }
+
+    private IterationResult finish(List<Row> rows, boolean last) {
+        currentBatch = new ListRowBatch(rows);
+
+        if (last) {
+            return IterationResult.FETCHED_DONE;
+        }
+
+        return rows.isEmpty() ? IterationResult.WAIT : IterationResult.FETCHED;
+    }
+}
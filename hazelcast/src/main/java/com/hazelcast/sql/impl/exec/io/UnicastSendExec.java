@@ -0,0 +1,152 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.sql.impl.exec.io;
+
+import com.hazelcast.sql.impl.exec.Exec;
+import com.hazelcast.sql.impl.row.Row;
+import com.hazelcast.sql.impl.row.RowBatch;
+import com.hazelcast.sql.impl.worker.QueryFragmentContext;
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+import static com.hazelcast.internal.util.HashUtil.hashToIndex;
+
+/**
+ * Sender that routes every row to exactly one outbox based on the hash of the partitioning columns.
+ * <p>
+ * Outboxes must be ordered consistently on all members, so that rows with the same partitioning key are routed to the
+ * same receiver regardless of the sending member.
+ */
+public class UnicastSendExec extends AbstractSendExec {
+
+    private static final int HASH_MULTIPLIER = 31;
+
+    private final Outbox[] outboxes;
+    private final int[] partitioningColumns;
+    private final OutboxSendQualifier[] qualifiers;
+
+    /** Target outbox index for every row of the current batch. */
+    private int[] targets;
+
+    /** Pending positions of outboxes, or {@code -1} if the outbox has no pending rows. */
+    private final int[] pendingPositions;
+
+    @SuppressFBWarnings("EI_EXPOSE_REP2")
+    public UnicastSendExec(int id, Exec upstream, Outbox[] outboxes, int[] partitioningColumns) {
+        super(id, upstream);
+
+        this.outboxes = outboxes;
+        this.partitioningColumns = partitioningColumns;
+
+        qualifiers = new OutboxSendQualifier[outboxes.length];
+
+        for (int i = 0; i < outboxes.length; i++) {
+            int outboxIndex = i;
+
+            qualifiers[i] = rowIndex -> targets[rowIndex] == outboxIndex;
+        }
+
+        pendingPositions = new int[outboxes.length];
+    }
+
+    @Override
+    protected void setup1(QueryFragmentContext ctx) {
+        for (Outbox outbox : outboxes) {
+            outbox.setup();
+        }
+    }
+
+    @Override
+    protected int getOutboxCount() {
+        return outboxes.length;
+    }
+
+    @Override
+    protected Outbox getOutbox(int outboxIndex) {
+        return outboxes[outboxIndex];
+    }
+
+    @Override
+    protected void setCurrentBatch(RowBatch batch) {
+        int rowCount = batch.getRowCount();
+
+        if (targets == null || targets.length < rowCount) {
+            targets = new int[rowCount];
+        }
+
+        for (int i = 0; i < rowCount; i++) {
+            targets[i] = hashToIndex(hash(batch.getRow(i)), outboxes.length);
+        }
+
+        Arrays.fill(pendingPositions, -1);
+    }
+
+    @Override
+    protected OutboxSendQualifier getOutboxQualifier(int outboxIndex) {
+        return qualifiers[outboxIndex];
+    }
+
+    @Override
+    protected void addPendingPosition(int outboxIndex, int position) {
+        pendingPositions[outboxIndex] = position;
+    }
+
+    @Override
+    protected boolean pushPendingBatch(RowBatch pendingBatch, boolean pendingLast) {
+        boolean res = true;
+
+        for (int i = 0; i < outboxes.length; i++) {
+            int position = pendingPositions[i];
+
+            if (position < 0) {
+                continue;
+            }
+
+            int newPosition = outboxes[i].onRowBatch(pendingBatch, pendingLast, position, qualifiers[i]);
+
+            if (newPosition == pendingBatch.getRowCount()) {
+                pendingPositions[i] = -1;
+            } else {
+                pendingPositions[i] = newPosition;
+
+                res = false;
+            }
+        }
+
+        return res;
+    }
+
+    private int hash(Row row) {
+        int res = 0;
+
+        for (int column : partitioningColumns) {
+            res = HASH_MULTIPLIER * res + Objects.hashCode(row.get(column));
+        }
+
+        return res;
+    }
+
+    /**
+     * For testing only.
+     */
+    @SuppressFBWarnings("EI_EXPOSE_REP")
+    public Outbox[] getOutboxes() {
+        return outboxes;
+    }
+}
@@ -66,4 +66,9 @@ public interface FlowControl {
      * Callback invoked when execution of a fragment is completed.
      */
     void onFragmentExecutionCompleted();
+
+    /**
+     * @return Metrics of the edge.
+     */
+    FlowControlMetrics getMetrics();
 }
@@ -0,0 +1,103 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.sql.impl.exec.io.flowcontrol;
+
+import com.hazelcast.internal.metrics.Probe;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.SQL_METRIC_FLOW_CONTROL_CREDIT_GRANTS;
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.SQL_METRIC_FLOW_CONTROL_GRANTED_BYTES;
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.SQL_METRIC_FLOW_CONTROL_MAX_QUEUED_BYTES;
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.SQL_METRIC_FLOW_CONTROL_QUEUED_BYTES;
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.SQL_METRIC_FLOW_CONTROL_STALLS;
+import static com.hazelcast.internal.metrics.ProbeUnit.BYTES;
+
+/**
+ * Metrics of the flow control of a single edge.
+ * <p>
+ * Updated by the thread executing the receiving fragment, and may be read concurrently. Published to the metrics registry
+ * by {@link FlowControlMetricsProvider}.
+ */
+public class FlowControlMetrics {
+    /** Bytes received from remote senders, but not consumed yet. */
+    @Probe(name = SQL_METRIC_FLOW_CONTROL_QUEUED_BYTES, unit = BYTES)
+    private final AtomicLong queuedBytes = new AtomicLong();
+
+    /** Maximum observed value of queued bytes. */
+    @Probe(name = SQL_METRIC_FLOW_CONTROL_MAX_QUEUED_BYTES, unit = BYTES)
+    private final AtomicLong maxQueuedBytes = new AtomicLong();
+
+    /** Number of batches sent by senders which were low on credit. */
+    @Probe(name = SQL_METRIC_FLOW_CONTROL_STALLS)
+    private final AtomicLong stalls = new AtomicLong();
+
+    /** Number of credit grants sent to senders. */
+    @Probe(name = SQL_METRIC_FLOW_CONTROL_CREDIT_GRANTS)
+    private final AtomicLong creditGrants = new AtomicLong();
+
+    /** Total amount of credit granted to senders. */
+    @Probe(name = SQL_METRIC_FLOW_CONTROL_GRANTED_BYTES, unit = BYTES)
+    private final AtomicLong grantedBytes = new AtomicLong();
+
+    public void onBatchAdded(long size, boolean stall) {
+        long queued = queuedBytes.addAndGet(size);
+
+        if (queued > maxQueuedBytes.get()) {
+            maxQueuedBytes.lazySet(queued);
+        }
+
+        if (stall) {
+            stalls.incrementAndGet();
+        }
+    }
+
+    public void onBatchRemoved(long size) {
+        queuedBytes.addAndGet(-size);
+    }
+
+    public void onCreditGranted(long size) {
+        creditGrants.incrementAndGet();
+        grantedBytes.addAndGet(size);
+    }
+
+    public long getQueuedBytes() {
+        return queuedBytes.get();
+    }
+
+    public long getMaxQueuedBytes() {
+        return maxQueuedBytes.get();
+    }
+
+    public long getStalls() {
+        return stalls.get();
+    }
+
+    public long getCreditGrants() {
+        return creditGrants.get();
+    }
+
+    public long getGrantedBytes() {
+        return grantedBytes.get();
+    }
+
+    @Override
+    public String toString() {
+        return "FlowControlMetrics {queuedBytes=" + getQueuedBytes() + ", maxQueuedBytes=" + getMaxQueuedBytes()
+            + ", stalls=" + getStalls() + ", creditGrants=" + getCreditGrants() + ", grantedBytes=" + getGrantedBytes() + '}';
+    }
+}
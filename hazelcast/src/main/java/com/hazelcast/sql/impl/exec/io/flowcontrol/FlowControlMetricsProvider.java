@@ -0,0 +1,73 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.sql.impl.exec.io.flowcontrol;
+
+import com.hazelcast.internal.metrics.DynamicMetricsProvider;
+import com.hazelcast.internal.metrics.MetricDescriptor;
+import com.hazelcast.internal.metrics.MetricsCollectionContext;
+import com.hazelcast.sql.impl.exec.io.AbstractInbox;
+import com.hazelcast.sql.impl.exec.io.InboundHandler;
+import com.hazelcast.sql.impl.state.QueryState;
+import com.hazelcast.sql.impl.state.QueryStateRegistry;
+import com.hazelcast.sql.impl.worker.QueryFragmentExecutable;
+
+import java.util.Map;
+
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.SQL_DISCRIMINATOR_QUERY_ID;
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.SQL_PREFIX_FLOW_CONTROL;
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.SQL_TAG_EDGE_ID;
+import static com.hazelcast.internal.metrics.MetricTarget.MANAGEMENT_CENTER;
+
+/**
+ * Publishes {@link FlowControlMetrics} of the inbound edges of the queries running on the local member.
+ * <p>
+ * Metrics of an edge are published for as long as the query is registered in the state registry.
+ */
+public class FlowControlMetricsProvider implements DynamicMetricsProvider {
+
+    private final QueryStateRegistry stateRegistry;
+
+    public FlowControlMetricsProvider(QueryStateRegistry stateRegistry) {
+        this.stateRegistry = stateRegistry;
+    }
+
+    @Override
+    public void provideDynamicMetrics(MetricDescriptor descriptor, MetricsCollectionContext context) {
+        for (QueryState state : stateRegistry.getStates()) {
+            String queryId = state.getQueryId().toString();
+
+            for (QueryFragmentExecutable fragment : state.getDistributedState().getFragments()) {
+                for (Map.Entry<Integer, InboundHandler> inbox : fragment.getInboxes().entrySet()) {
+                    if (!(inbox.getValue() instanceof AbstractInbox)) {
+                        continue;
+                    }
+
+                    FlowControl flowControl = ((AbstractInbox) inbox.getValue()).getFlowControl();
+
+                    MetricDescriptor edgeDescriptor = descriptor
+                        .copy()
+                        .withPrefix(SQL_PREFIX_FLOW_CONTROL)
+                        .withDiscriminator(SQL_DISCRIMINATOR_QUERY_ID, queryId)
+                        .withTag(SQL_TAG_EDGE_ID, inbox.getKey().toString())
+                        .withExcludedTarget(MANAGEMENT_CENTER);
+
+                    context.collect(edgeDescriptor, flowControl.getMetrics());
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,256 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.sql.impl.exec.io.flowcontrol.adaptive;
+
+import com.hazelcast.sql.impl.QueryException;
+import com.hazelcast.sql.impl.QueryId;
+import com.hazelcast.sql.impl.exec.io.flowcontrol.FlowControl;
+import com.hazelcast.sql.impl.exec.io.flowcontrol.FlowControlMetrics;
+import com.hazelcast.sql.impl.operation.QueryFlowControlExchangeOperation;
+import com.hazelcast.sql.impl.operation.QueryOperationHandler;
+
+import java.util.HashMap;
+import java.util.UUID;
+import java.util.function.LongSupplier;
+
+/**
+ * Flow control which adapts the credit of every stream to the observed consume rate and the round-trip time of credit grants.
+ * <p>
+ * Every stream has a window, which is the maximum amount of data the sender may have in flight or in the local queue. The
+ * window starts with the initial memory agreed upon query start. Before the credit is granted, the window is set to the
+ * amount of data the local operator consumes during the round trip of the grant, so that fast consumers are not starved
+ * and slow consumers do not accumulate data. If the sender was waiting for credit while the local queue was empty, the window
+ * is doubled. The window is always kept between {@link #MIN_WINDOW_DIVISOR} times less and {@link #MAX_WINDOW_MULTIPLIER}
+ * times more than the initial memory.
+ * <p>
+ * Similarly to {@link com.hazelcast.sql.impl.exec.io.flowcontrol.simple.SimpleFlowControl}, the credit is granted when the
+ * sender is low on credit, and the local stream has enough free memory.
+ */
+public class AdaptiveFlowControl implements FlowControl {
+    /** Default threshold. */
+    static final double THRESHOLD_PERCENTAGE = 0.25d;
+
+    /** Divisor of the initial memory which defines the minimum window. */
+    static final int MIN_WINDOW_DIVISOR = 8;
+
+    /** Multiplier of the initial memory which defines the maximum window. */
+    static final int MAX_WINDOW_MULTIPLIER = 4;
+
+    /** Multiplier of the bandwidth-delay product which accounts for the variance of the consume rate and the round trip. */
+    static final double BANDWIDTH_DELAY_MULTIPLIER = 2.0d;
+
+    /** Weight of a new sample in the smoothed consume rate and round-trip time. */
+    static final double SMOOTHING_FACTOR = 0.25d;
+
+    /** Minimum duration of the consume rate sample. */
+    static final long RATE_SAMPLE_INTERVAL_NANOS = 1_000_000L;
+
+    /** Initial window. */
+    private final long initialWindow;
+
+    /** Minimum window. */
+    private final long minWindow;
+
+    /** Maximum window. */
+    private final long maxWindow;
+
+    /** Low memory threshold in percents. */
+    private final double thresholdPercentage;
+
+    /** Clock returning the current time in nanoseconds. */
+    private final LongSupplier clock;
+
+    private QueryId queryId;
+    private int edgeId;
+    private UUID localMemberId;
+    private QueryOperationHandler operationHandler;
+
+    /** Remote streams. */
+    private HashMap<UUID, AdaptiveFlowControlStream> streams;
+
+    /** Remote streams that should be notified. */
+    private HashMap<UUID, AdaptiveFlowControlStream> pendingStreams;
+
+    /** Metrics of the edge. */
+    private final FlowControlMetrics metrics = new FlowControlMetrics();
+
+    public AdaptiveFlowControl(long initialWindow, double thresholdPercentage, LongSupplier clock) {
+        this.initialWindow = initialWindow;
+        this.thresholdPercentage = thresholdPercentage;
+        this.clock = clock;
+
+        minWindow = Math.max(initialWindow / MIN_WINDOW_DIVISOR, 1L);
+        maxWindow = initialWindow * MAX_WINDOW_MULTIPLIER;
+    }
+
+    @Override
+    public void setup(QueryId queryId, int edgeId, UUID localMemberId, QueryOperationHandler operationHandler) {
+        this.queryId = queryId;
+        this.edgeId = edgeId;
+        this.localMemberId = localMemberId;
+        this.operationHandler = operationHandler;
+    }
+
+    @Override
+    public void onBatchAdded(UUID memberId, long size, boolean last, long remoteMemory) {
+        if (last) {
+            // If this is the last batch, we do not care about backpressure.
+            metrics.onBatchAdded(size, false);
+
+            if (streams != null) {
+                streams.remove(memberId);
+            }
+
+            if (pendingStreams != null) {
+                pendingStreams.remove(memberId);
+            }
+
+            return;
+        }
+
+        long now = clock.getAsLong();
+
+        if (streams == null) {
+            streams = new HashMap<>();
+        }
+
+        AdaptiveFlowControlStream stream = streams.get(memberId);
+
+        if (stream == null) {
+            stream = new AdaptiveFlowControlStream(memberId, initialWindow, remoteMemory, now);
+
+            streams.put(memberId, stream);
+        }
+
+        boolean stall = isLowMemory(remoteMemory, stream.getWindow());
+
+        stream.onBatchAdded(size, remoteMemory, stall, now);
+
+        metrics.onBatchAdded(size, stall);
+    }
+
+    @Override
+    public void onBatchRemoved(UUID memberId, long size, boolean last) {
+        metrics.onBatchRemoved(size);
+
+        if (last || streams == null) {
+            return;
+        }
+
+        AdaptiveFlowControlStream stream = streams.get(memberId);
+
+        if (stream == null) {
+            // Missing state means that last batch already arrived.
+            return;
+        }
+
+        stream.onBatchRemoved(size, clock.getAsLong());
+
+        long window = stream.getWindow();
+
+        if (isLowMemory(stream.getRemoteMemory(), window) && !isLowMemory(stream.getLocalMemory(), window)) {
+            if (!stream.isShouldSend()) {
+                stream.setShouldSend(true);
+
+                if (pendingStreams == null) {
+                    pendingStreams = new HashMap<>();
+                }
+
+                pendingStreams.put(memberId, stream);
+            }
+        }
+    }
+
+    @Override
+    public void onFragmentExecutionCompleted() {
+        if (pendingStreams == null || pendingStreams.isEmpty()) {
+            return;
+        }
+
+        long now = clock.getAsLong();
+
+        for (AdaptiveFlowControlStream stream : pendingStreams.values()) {
+            stream.setShouldSend(false);
+            stream.adjustWindow(minWindow, maxWindow);
+
+            long grant = stream.getLocalMemory();
+
+            // The window may shrink below the queued data. The grant is re-scheduled when the data is consumed.
+            if (grant > 0L) {
+                sendFlowControl(stream, grant);
+
+                stream.onGrantSent(grant, now);
+            }
+        }
+
+        pendingStreams.clear();
+    }
+
+    @Override
+    public FlowControlMetrics getMetrics() {
+        return metrics;
+    }
+
+    public long getInitialWindow() {
+        return initialWindow;
+    }
+
+    public long getMinWindow() {
+        return minWindow;
+    }
+
+    public long getMaxWindow() {
+        return maxWindow;
+    }
+
+    public double getThresholdPercentage() {
+        return thresholdPercentage;
+    }
+
+    AdaptiveFlowControlStream getStream(UUID memberId) {
+        return streams != null ? streams.get(memberId) : null;
+    }
+
+    /**
+     * Send flow control message for the given stream.
+     *
+     * @param stream Stream.
+     * @param grant Credit available to the sender.
+     */
+    private void sendFlowControl(AdaptiveFlowControlStream stream, long grant) {
+        QueryFlowControlExchangeOperation operation = new QueryFlowControlExchangeOperation(queryId, edgeId, grant);
+
+        boolean success = operationHandler.submit(localMemberId, stream.getMemberId(), operation);
+
+        if (!success) {
+            throw QueryException.memberConnection(stream.getMemberId());
+        }
+
+        metrics.onCreditGranted(grant);
+    }
+
+    /**
+     * Check whether the given amount of memory is below the watermark.
+     *
+     * @param availableMemory Available memory.
+     * @param window Window of the stream.
+     * @return {@code true} if below the watermark.
+     */
+    private boolean isLowMemory(long availableMemory, long window) {
+        return ((double) availableMemory) / window <= thresholdPercentage;
+    }
+}
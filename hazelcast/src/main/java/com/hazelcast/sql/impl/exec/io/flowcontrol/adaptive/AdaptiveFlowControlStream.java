@@ -0,0 +1,188 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.sql.impl.exec.io.flowcontrol.adaptive;
+
+import java.util.UUID;
+
+/**
+ * State of a single stream of the adaptive flow control.
+ * <p>
+ * Besides the memory accounting, the stream tracks the consume rate of the local operator and the round-trip time of credit
+ * grants. Their product is the amount of data that must be in flight to keep the consumer busy while the next grant is
+ * delivered to the sender.
+ */
+public final class AdaptiveFlowControlStream {
+
+    private final UUID memberId;
+
+    /** Maximum amount of data the sender is allowed to have in flight and in the local queue. */
+    private long window;
+
+    /** Amount of data received from the sender, but not consumed yet. */
+    private long queued;
+
+    /** Credit available to the sender, as of the last batch or grant. */
+    private long remoteMemory;
+
+    /** Whether the sender reported low credit since the last grant. */
+    private boolean stalled;
+
+    /** Whether the stream is scheduled for the credit grant. */
+    private boolean shouldSend;
+
+    /** Consume rate in bytes per nanosecond, smoothed. */
+    private double rate;
+
+    /** Round-trip time of the credit grant in nanoseconds, smoothed. */
+    private long rtt;
+
+    /** Start of the current rate sampling interval. */
+    private long rateSampleStart;
+
+    /** Bytes consumed during the current rate sampling interval. */
+    private long rateSampleBytes;
+
+    /** The last credit granted to the sender, or zero if the grant is not acknowledged by the sender yet. */
+    private long pendingGrant;
+
+    /** Time when the last credit grant was sent. */
+    private long pendingGrantTime;
+
+    public AdaptiveFlowControlStream(UUID memberId, long window, long remoteMemory, long now) {
+        this.memberId = memberId;
+        this.window = window;
+        this.remoteMemory = remoteMemory;
+
+        rateSampleStart = now;
+    }
+
+    public UUID getMemberId() {
+        return memberId;
+    }
+
+    public long getWindow() {
+        return window;
+    }
+
+    public long getQueued() {
+        return queued;
+    }
+
+    public long getRemoteMemory() {
+        return remoteMemory;
+    }
+
+    public long getLocalMemory() {
+        return window - queued;
+    }
+
+    public boolean isStalled() {
+        return stalled;
+    }
+
+    public boolean isShouldSend() {
+        return shouldSend;
+    }
+
+    public void setShouldSend(boolean shouldSend) {
+        this.shouldSend = shouldSend;
+    }
+
+    public double getRate() {
+        return rate;
+    }
+
+    public long getRtt() {
+        return rtt;
+    }
+
+    void onBatchAdded(long size, long remoteMemory, boolean stall, long now) {
+        queued += size;
+
+        this.remoteMemory = remoteMemory;
+
+        if (stall) {
+            stalled = true;
+        }
+
+        // The first batch sent after the sender received the grant carries the granted credit minus the batch size.
+        // Batches sent before that carry the remaining credit, which is below the grant.
+        if (pendingGrant > 0 && remoteMemory + size >= pendingGrant) {
+            rtt = smooth(rtt, now - pendingGrantTime);
+
+            pendingGrant = 0;
+        }
+    }
+
+    void onBatchRemoved(long size, long now) {
+        queued -= size;
+
+        rateSampleBytes += size;
+
+        long elapsed = now - rateSampleStart;
+
+        if (elapsed >= AdaptiveFlowControl.RATE_SAMPLE_INTERVAL_NANOS) {
+            double sample = (double) rateSampleBytes / elapsed;
+
+            rate = rate == 0.0d ? sample : rate + (sample - rate) * AdaptiveFlowControl.SMOOTHING_FACTOR;
+
+            rateSampleStart = now;
+            rateSampleBytes = 0;
+        }
+    }
+
+    /**
+     * Adjust the window before the credit is granted.
+     *
+     * @param minWindow Minimum window.
+     * @param maxWindow Maximum window.
+     */
+    void adjustWindow(long minWindow, long maxWindow) {
+        long newWindow = window;
+
+        if (rate > 0.0d && rtt > 0L) {
+            // Keep enough data in flight to cover the consumption during the round trip of the next grant.
+            newWindow = (long) (rate * rtt * AdaptiveFlowControl.BANDWIDTH_DELAY_MULTIPLIER);
+        }
+
+        if (stalled && queued == 0L) {
+            // The consumer drained the queue while the sender was waiting for credit. The measured rate is limited by the
+            // sender in this case, so grow the window exponentially until the sender is no longer throttled.
+            newWindow = Math.max(newWindow, window * 2);
+        }
+
+        window = Math.min(maxWindow, Math.max(minWindow, newWindow));
+    }
+
+    void onGrantSent(long grant, long now) {
+        remoteMemory = grant;
+        stalled = false;
+
+        if (pendingGrant == 0L) {
+            pendingGrant = grant;
+            pendingGrantTime = now;
+        }
+    }
+
+    private static long smooth(long current, long sample) {
+        if (current == 0L) {
+            return sample;
+        }
+
+        return current + (long) ((sample - current) * AdaptiveFlowControl.SMOOTHING_FACTOR);
+    }
+}
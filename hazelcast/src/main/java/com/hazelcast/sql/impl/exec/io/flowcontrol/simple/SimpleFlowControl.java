@@ -19,6 +19,7 @@ package com.hazelcast.sql.impl.exec.io.flowcontrol.simple;
 import com.hazelcast.sql.impl.QueryException;
 import com.hazelcast.sql.impl.QueryId;
 import com.hazelcast.sql.impl.exec.io.flowcontrol.FlowControl;
+import com.hazelcast.sql.impl.exec.io.flowcontrol.FlowControlMetrics;
 import com.hazelcast.sql.impl.operation.QueryFlowControlExchangeOperation;
 import com.hazelcast.sql.impl.operation.QueryOperationHandler;
 
@@ -50,6 +51,9 @@ public class SimpleFlowControl implements FlowControl {
     /** Remote streams that should be notified. */
     private HashMap<UUID, SimpleFlowControlStream> pendingStreams;
 
+    /** Metrics of the edge. */
+    private final FlowControlMetrics metrics = new FlowControlMetrics();
+
     public SimpleFlowControl(long maxMemory, double thresholdPercentage) {
         this.maxMemory = maxMemory;
         this.thresholdPercentage = thresholdPercentage;
@@ -65,6 +69,8 @@ public class SimpleFlowControl implements FlowControl {
 
     @Override
     public void onBatchAdded(UUID memberId, long size, boolean last, long remoteMemory) {
+        metrics.onBatchAdded(size, !last && isLowMemory(remoteMemory));
+
         if (last) {
             // If this is the last batch, we do not care about backpressure.
             if (streams != null) {
@@ -96,6 +102,8 @@ public class SimpleFlowControl implements FlowControl {
 
     @Override
     public void onBatchRemoved(UUID memberId, long size, boolean last) {
+        metrics.onBatchRemoved(size);
+
         // Micro-opt to avoid map lookup for the last batch and map instantiation.
         if (last) {
             return;
@@ -143,6 +151,11 @@ public class SimpleFlowControl implements FlowControl {
         pendingStreams.clear();
     }
 
+    @Override
+    public FlowControlMetrics getMetrics() {
+        return metrics;
+    }
+
     public long getMaxMemory() {
         return maxMemory;
     }
@@ -168,6 +181,8 @@ public class SimpleFlowControl implements FlowControl {
         if (!success) {
             throw QueryException.memberConnection(stream.getMemberId());
         }
+
+        metrics.onCreditGranted(stream.getLocalMemory());
     }
 
     /**
@@ -0,0 +1,293 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.sql.impl.exec.join;
+
+import com.hazelcast.sql.impl.exec.AbstractExec;
+import com.hazelcast.sql.impl.exec.CompositeKey;
+import com.hazelcast.sql.impl.exec.Exec;
+import com.hazelcast.sql.impl.exec.IterationResult;
+import com.hazelcast.sql.impl.exec.UpstreamState;
+import com.hazelcast.sql.impl.expression.Expression;
+import com.hazelcast.sql.impl.row.HeapRow;
+import com.hazelcast.sql.impl.row.JoinRow;
+import com.hazelcast.sql.impl.row.ListRowBatch;
+import com.hazelcast.sql.impl.row.Row;
+import com.hazelcast.sql.impl.row.RowBatch;
+import com.hazelcast.sql.impl.worker.QueryFragmentContext;
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Hash join. The whole right input is consumed first to build a hash table on the right key columns. Then rows of the left
+ * input are streamed through the table.
+ * <p>
+ * Rows with {@code null} in any of the key columns never match. For the outer join, the left rows without a match are
+ * returned with {@code null} values in place of the right columns.
+ * <p>
+ * The hash table stores a single row per key directly, and switches to a list only for duplicate keys, since the most
+ * common case is a join on a unique key.
+ */
+public class HashJoinExec extends AbstractExec {
+
+    static final int BATCH_SIZE = 1024;
+
+    private final Exec left;
+    private final Exec right;
+    private final UpstreamState leftState;
+    private final UpstreamState rightState;
+    private final int[] leftKeys;
+    private final int[] rightKeys;
+    private final Expression<Boolean> condition;
+    private final boolean outer;
+    private final int rightRowColumnCount;
+
+    /** Build side: maps the key to either a single row or a list of rows. */
+    private final Map<Object, Object> table = new HashMap<>();
+    private boolean tableReady;
+
+    /** Row with nulls to be joined with unmatched left rows. */
+    private Row emptyRightRow;
+
+    private RowBatch currentBatch;
+
+    @SuppressFBWarnings("EI_EXPOSE_REP2")
+    public HashJoinExec(
+        int id,
+        Exec left,
+        Exec right,
+        int[] leftKeys,
+        int[] rightKeys,
+        Expression<Boolean> condition,
+        boolean outer,
+        int rightRowColumnCount
+    ) {
+        super(id);
+
+        this.left = left;
+        this.right = right;
+
+        leftState = new UpstreamState(left);
+        rightState = new UpstreamState(right);
+
+        this.leftKeys = leftKeys;
+        this.rightKeys = rightKeys;
+        this.condition = condition;
+        this.outer = outer;
+        this.rightRowColumnCount = rightRowColumnCount;
+    }
+
+    @Override
+    protected void setup0(QueryFragmentContext ctx) {
+        leftState.setup(ctx);
+        rightState.setup(ctx);
+
+        if (outer) {
+            emptyRightRow = new HeapRow(rightRowColumnCount);
+        }
+    }
+
+    @Override
+    protected IterationResult advance0() {
+        if (!tableReady) {
+            if (!build()) {
+                return IterationResult.WAIT;
+            }
+
+            // Nothing can be produced by the inner join with the empty build side.
+            if (table.isEmpty() && !outer) {
+                currentBatch = null;
+
+                return IterationResult.FETCHED_DONE;
+            }
+        }
+
+        return probe();
+    }
+
+    @Override
+    protected RowBatch currentBatch0() {
+        return currentBatch;
+    }
+
+    /**
+     * Consume the right input into the hash table.
+     *
+     * @return {@code true} if the right input is fully consumed, {@code false} if it is necessary to wait for more data.
+     */
+    private boolean build() {
+        while (true) {
+            if (!rightState.advance()) {
+                return false;
+            }
+
+            for (Row row : rightState) {
+                Object key = getKey(row, rightKeys);
+
+                if (key != null) {
+                    add(key, row);
+                }
+            }
+
+            if (rightState.isDone()) {
+                tableReady = true;
+
+                return true;
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void add(Object key, Row row) {
+        Object current = table.putIfAbsent(key, row);
+
+        if (current == null) {
+            return;
+        }
+
+        List<Row> rows;
+
+        if (current instanceof List) {
+            rows = (List<Row>) current;
+        } else {
+            rows = new ArrayList<>(2);
+            rows.add((Row) current);
+
+            table.put(key, rows);
+        }
+
+        rows.add(row);
+    }
+
+    private IterationResult probe() {
+        List<Row> rows = new ArrayList<>(BATCH_SIZE);
+
+        while (true) {
+            if (!leftState.advance()) {
+                return prepareBatch(rows, IterationResult.WAIT);
+            }
+
+            for (Row leftRow : leftState) {
+                join(leftRow, rows);
+
+                if (rows.size() >= BATCH_SIZE) {
+                    return prepareBatch(rows, leftState.isDone() ? IterationResult.FETCHED_DONE : IterationResult.FETCHED);
+                }
+            }
+
+            if (leftState.isDone()) {
+                return prepareBatch(rows, IterationResult.FETCHED_DONE);
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void join(Row leftRow, List<Row> rows) {
+        Object key = getKey(leftRow, leftKeys);
+        Object match = key != null ? table.get(key) : null;
+
+        boolean matched = false;
+
+        if (match instanceof List) {
+            for (Row rightRow : (List<Row>) match) {
+                matched |= join(leftRow, rightRow, rows);
+            }
+        } else if (match != null) {
+            matched = join(leftRow, (Row) match, rows);
+        }
+
+        if (!matched && outer) {
+            rows.add(new JoinRow(leftRow, emptyRightRow));
+        }
+    }
+
+    private boolean join(Row leftRow, Row rightRow, List<Row> rows) {
+        JoinRow row = new JoinRow(leftRow, rightRow);
+
+        if (condition != null) {
+            Boolean res = condition.eval(row, ctx);
+
+            if (res == null || !res) {
+                return false;
+            }
+        }
+
+        rows.add(row);
+
+        return true;
+    }
+
+    private IterationResult prepareBatch(List<Row> rows, IterationResult result) {
+        if (rows.isEmpty() && result == IterationResult.WAIT) {
+            currentBatch = null;
+
+            return result;
+        }
+
+        currentBatch = new ListRowBatch(rows);
+
+        return result == IterationResult.WAIT ? IterationResult.FETCHED : result;
+    }
+
+    /**
+     * @return The key of the row, or {@code null} if at least one of the key columns is {@code null}.
+     */
+    private static Object getKey(Row row, int[] keys) {
+        if (keys.length == 1) {
+            return row.get(keys[0]);
+        }
+
+        Object[] values = new Object[keys.length];
+
+        for (int i = 0; i < keys.length; i++) {
+            values[i] = row.get(keys[i]);
+        }
+
+        CompositeKey key = CompositeKey.of(values);
+
+        return key.hasNulls() ? null : key;
+    }
+
+    public Exec getLeft() {
+        return left;
+    }
+
+    public Exec getRight() {
+        return right;
+    }
+
+    @SuppressFBWarnings("EI_EXPOSE_REP")
+    public int[] getLeftKeys() {
+        return leftKeys;
+    }
+
+    @SuppressFBWarnings("EI_EXPOSE_REP")
+    public int[] getRightKeys() {
+        return rightKeys;
+    }
+
+    public Expression<Boolean> getCondition() {
+        return condition;
+    }
+
+    public boolean isOuter() {
+        return outer;
+    }
+}
@@ -20,25 +20,28 @@ import com.hazelcast.internal.serialization.InternalSerializationService;
 import com.hazelcast.query.impl.getters.Extractors;
 import com.hazelcast.sql.SqlErrorCode;
 import com.hazelcast.sql.impl.QueryException;
+import com.hazelcast.sql.impl.compile.CompiledFilterProject;
 import com.hazelcast.sql.impl.exec.AbstractExec;
 import com.hazelcast.sql.impl.exec.IterationResult;
 import com.hazelcast.sql.impl.expression.Expression;
 import com.hazelcast.sql.impl.expression.predicate.TernaryLogic;
 import com.hazelcast.sql.impl.extract.QueryPath;
 import com.hazelcast.sql.impl.extract.QueryTargetDescriptor;
-import com.hazelcast.sql.impl.row.EmptyRow;
-import com.hazelcast.sql.impl.row.HeapRow;
-import com.hazelcast.sql.impl.row.ListRowBatch;
-import com.hazelcast.sql.impl.row.Row;
+import com.hazelcast.sql.impl.row.ColumnarRowBatch;
 import com.hazelcast.sql.impl.row.RowBatch;
+import com.hazelcast.sql.impl.row.vector.ColumnVector;
+import com.hazelcast.sql.impl.row.vector.ColumnVectors;
 import com.hazelcast.sql.impl.type.QueryDataType;
 import com.hazelcast.sql.impl.worker.QueryFragmentContext;
 
-import java.util.ArrayList;
 import java.util.List;
 
 /**
  * Common operator for map scans.
+ * <p>
+ * Projected values are written directly into column vectors of a {@link ColumnarRowBatch}, so that downstream operators
+ * may process the batch without per-row allocations. If the filter and projections were compiled, the generated class
+ * is used instead of the interpreted evaluation.
  */
 public abstract class AbstractMapScanExec extends AbstractExec {
 
@@ -54,12 +57,14 @@ public abstract class AbstractMapScanExec extends AbstractExec {
     protected final Expression<Boolean> filter;
 
     private final InternalSerializationService serializationService;
+    private final CompiledFilterProject compiledFilterProject;
 
     private int migrationStamp;
     private KeyValueIterator recordIterator;
 
     private MapScanRow row;
-    private List<Row> currentRows;
+    private ColumnVector[] currentColumns;
+    private int currentSize;
 
     protected AbstractMapScanExec(
         int id,
@@ -70,7 +75,8 @@ public abstract class AbstractMapScanExec extends AbstractExec {
         List<QueryDataType> fieldTypes,
         List<Integer> projects,
         Expression<Boolean> filter,
-        InternalSerializationService serializationService
+        InternalSerializationService serializationService,
+        CompiledFilterProject compiledFilterProject
     ) {
         super(id);
 
@@ -82,6 +88,7 @@ public abstract class AbstractMapScanExec extends AbstractExec {
         this.projects = projects;
         this.filter = filter;
         this.serializationService = serializationService;
+        this.compiledFilterProject = compiledFilterProject;
     }
 
     @Override
@@ -107,19 +114,15 @@ public abstract class AbstractMapScanExec extends AbstractExec {
 
     @Override
     protected IterationResult advance0() {
-        currentRows = null;
+        // Columns of the previous batch are reused only if nothing was written to them.
+        if (currentSize != 0) {
+            currentColumns = null;
+            currentSize = 0;
+        }
 
         while (recordIterator.tryAdvance()) {
-            Row row = prepareRow(recordIterator.getKey(), recordIterator.getValue());
-
-            if (row != null) {
-                if (currentRows == null) {
-                    currentRows = new ArrayList<>(BATCH_SIZE);
-                }
-
-                currentRows.add(row);
-
-                if (currentRows.size() == BATCH_SIZE) {
+            if (prepareRow(recordIterator.getKey(), recordIterator.getValue())) {
+                if (++currentSize == BATCH_SIZE) {
                     break;
                 }
             }
@@ -148,7 +151,7 @@ public abstract class AbstractMapScanExec extends AbstractExec {
 
     @Override
     public RowBatch currentBatch0() {
-        return currentRows != null ? new ListRowBatch(currentRows) : null;
+        return currentSize != 0 ? new ColumnarRowBatch(currentColumns, currentSize) : null;
     }
 
     protected abstract int getMigrationStamp();
@@ -162,34 +165,38 @@ public abstract class AbstractMapScanExec extends AbstractExec {
     /**
      * Prepare the row for the given key and value:
      * 1) Check filter
-     * 2) Extract projections
+     * 2) Extract projections into the current column vectors
      *
      * @param rawKey Key (data or object)
      * @param rawValue Value (data or object)
-     * @return Row that is ready for processing by parent operators or {@code null} if the row hasn't passed the filter.
+     * @return {@code true} if the row has been added to the current batch, {@code false} if the row hasn't passed the filter.
      */
-    protected Row prepareRow(Object rawKey, Object rawValue) {
+    protected boolean prepareRow(Object rawKey, Object rawValue) {
         row.setKeyValue(rawKey, rawValue);
 
-        // Filter.
-        if (filter != null && TernaryLogic.isNotTrue(filter.eval(row, ctx))) {
-            return null;
+        if (currentColumns == null) {
+            currentColumns = new ColumnVector[projects.size()];
+
+            for (int j = 0; j < projects.size(); j++) {
+                currentColumns[j] = ColumnVectors.create(fieldTypes.get(projects.get(j)), BATCH_SIZE);
+            }
         }
 
-        // Project.
-        if (projects.size() == 0) {
-            return EmptyRow.INSTANCE;
+        if (compiledFilterProject != null) {
+            return compiledFilterProject.apply(row, ctx, currentColumns, currentSize);
         }
 
-        HeapRow row = new HeapRow(projects.size());
+        // Filter.
+        if (filter != null && TernaryLogic.isNotTrue(filter.eval(row, ctx))) {
+            return false;
+        }
 
+        // Project.
         for (int j = 0; j < projects.size(); j++) {
-            Object projectRes = this.row.get(projects.get(j));
-
-            row.set(j, projectRes);
+            currentColumns[j].setObject(currentSize, row.get(projects.get(j)));
         }
 
-        return row;
+        return true;
     }
 
     /**
@@ -222,4 +229,8 @@ public abstract class AbstractMapScanExec extends AbstractExec {
     public Expression<Boolean> getFilter() {
         return filter;
     }
+
+    public CompiledFilterProject getCompiledFilterProject() {
+        return compiledFilterProject;
+    }
 }
@@ -0,0 +1,141 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.sql.impl.exec.scan;
+
+import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.internal.util.collection.PartitionIdSet;
+import com.hazelcast.map.impl.MapContainer;
+import com.hazelcast.query.impl.Indexes;
+import com.hazelcast.query.impl.InternalIndex;
+import com.hazelcast.query.impl.QueryableEntry;
+import com.hazelcast.query.impl.getters.Extractors;
+import com.hazelcast.sql.SqlErrorCode;
+import com.hazelcast.sql.impl.QueryException;
+import com.hazelcast.sql.impl.compile.CompiledFilterProject;
+import com.hazelcast.sql.impl.exec.scan.index.IndexFilter;
+import com.hazelcast.sql.impl.expression.Expression;
+import com.hazelcast.sql.impl.extract.QueryPath;
+import com.hazelcast.sql.impl.extract.QueryTargetDescriptor;
+import com.hazelcast.sql.impl.type.QueryDataType;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Executor for map index scan.
+ */
+@SuppressWarnings("rawtypes")
+public class MapIndexScanExec extends AbstractMapScanExec {
+
+    private final MapContainer map;
+    private final PartitionIdSet partitions;
+    private final String indexName;
+    private final IndexFilter indexFilter;
+
+    @SuppressWarnings("checkstyle:ParameterNumber")
+    public MapIndexScanExec(
+        int id,
+        MapContainer map,
+        PartitionIdSet partitions,
+        QueryTargetDescriptor keyDescriptor,
+        QueryTargetDescriptor valueDescriptor,
+        List<QueryPath> fieldPaths,
+        List<QueryDataType> fieldTypes,
+        List<Integer> projects,
+        Expression<Boolean> filter,
+        InternalSerializationService serializationService,
+        String indexName,
+        IndexFilter indexFilter,
+        CompiledFilterProject compiledFilterProject
+    ) {
+        super(id, map.getName(), keyDescriptor, valueDescriptor, fieldPaths, fieldTypes, projects, filter, serializationService,
+            compiledFilterProject);
+
+        this.map = map;
+        this.partitions = partitions;
+        this.indexName = indexName;
+        this.indexFilter = indexFilter;
+    }
+
+    @Override
+    protected Extractors createExtractors() {
+        return MapScanExecUtils.createExtractors(map);
+    }
+
+    @Override
+    protected int getMigrationStamp() {
+        return map.getMapServiceContext().getService().getMigrationStamp();
+    }
+
+    @Override
+    protected boolean validateMigrationStamp(int migrationStamp) {
+        return map.getMapServiceContext().getService().validateMigrationStamp(migrationStamp);
+    }
+
+    @Override
+    protected KeyValueIterator createIterator() {
+        InternalIndex index = getIndex();
+
+        int ownedPartitionCount = map.getMapServiceContext().getOwnedPartitions().size();
+
+        if (!index.allPartitionsIndexed(ownedPartitionCount)) {
+            // The index is being built, e.g. after a migration. Fall back to the full scan of the requested partitions, the
+            // filter is applied to every entry anyway.
+            return MapScanExecUtils.createIterator(map, partitions);
+        }
+
+        Set<QueryableEntry> entries = indexFilter.getEntries(index, ctx);
+
+        return new MapIndexScanExecIterator(map, partitions, entries.iterator());
+    }
+
+    @Override
+    protected boolean isDestroyed() {
+        return map.isDestroyed();
+    }
+
+    private InternalIndex getIndex() {
+        Indexes indexes = map.getIndexes();
+
+        InternalIndex index = indexes != null ? indexes.getIndex(indexName) : null;
+
+        if (index == null) {
+            throw QueryException.error(
+                SqlErrorCode.INDEX_INVALID,
+                "Index \"" + indexName + "\" of the IMap \"" + map.getName() + "\" doesn't exist"
+            ).withInvalidate();
+        }
+
+        return index;
+    }
+
+    public MapContainer getMap() {
+        return map;
+    }
+
+    public PartitionIdSet getPartitions() {
+        return partitions;
+    }
+
+    public String getIndexName() {
+        return indexName;
+    }
+
+    public IndexFilter getIndexFilter() {
+        return indexFilter;
+    }
+}
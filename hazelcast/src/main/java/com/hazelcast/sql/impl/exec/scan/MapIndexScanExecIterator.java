@@ -0,0 +1,122 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.sql.impl.exec.scan;
+
+import com.hazelcast.internal.partition.IPartitionService;
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.util.Clock;
+import com.hazelcast.internal.util.collection.PartitionIdSet;
+import com.hazelcast.map.impl.MapContainer;
+import com.hazelcast.map.impl.record.Record;
+import com.hazelcast.map.impl.recordstore.RecordStore;
+import com.hazelcast.query.impl.QueryableEntry;
+
+import java.util.Iterator;
+
+/**
+ * Iterator over entries returned from an index lookup.
+ * <p>
+ * Global indexes contain entries from all local partitions, so entries of partitions which are not the part of the scan are
+ * skipped. Entries are re-read from the record store to filter out expired records and to observe the latest value.
+ */
+@SuppressWarnings("rawtypes")
+public class MapIndexScanExecIterator implements KeyValueIterator {
+
+    private final MapContainer map;
+    private final PartitionIdSet partitions;
+    private final IPartitionService partitionService;
+    private final Iterator<QueryableEntry> entryIterator;
+    private final long now = Clock.currentTimeMillis();
+
+    private Data currentKey;
+    private Object currentValue;
+    private Data nextKey;
+    private Object nextValue;
+
+    public MapIndexScanExecIterator(MapContainer map, PartitionIdSet partitions, Iterator<QueryableEntry> entryIterator) {
+        this.map = map;
+        this.partitions = partitions;
+        this.partitionService = map.getMapServiceContext().getNodeEngine().getPartitionService();
+        this.entryIterator = entryIterator;
+
+        advance0();
+    }
+
+    @Override
+    public boolean tryAdvance() {
+        if (!done()) {
+            currentKey = nextKey;
+            currentValue = nextValue;
+
+            advance0();
+
+            return true;
+        } else {
+            return false;
+        }
+    }
+
+    @Override
+    public boolean done() {
+        return nextKey == null;
+    }
+
+    @SuppressWarnings("unchecked")
+    private void advance0() {
+        while (entryIterator.hasNext()) {
+            QueryableEntry entry = entryIterator.next();
+
+            Data key = entry.getKeyData();
+
+            int partitionId = partitionService.getPartitionId(key);
+
+            if (!partitions.contains(partitionId)) {
+                continue;
+            }
+
+            RecordStore recordStore = map.getMapServiceContext().getExistingRecordStore(partitionId, map.getName());
+
+            if (recordStore == null) {
+                continue;
+            }
+
+            Record record = recordStore.getRecord(key);
+
+            if (record == null || recordStore.isExpired(record, now, false)) {
+                continue;
+            }
+
+            nextKey = key;
+            nextValue = record.getValue();
+
+            return;
+        }
+
+        nextKey = null;
+        nextValue = null;
+    }
+
+    @Override
+    public Object getKey() {
+        return currentKey;
+    }
+
+    @Override
+    public Object getValue() {
+        return currentValue;
+    }
+}
@@ -20,6 +20,7 @@ import com.hazelcast.internal.serialization.InternalSerializationService;
 import com.hazelcast.internal.util.collection.PartitionIdSet;
 import com.hazelcast.map.impl.MapContainer;
 import com.hazelcast.query.impl.getters.Extractors;
+import com.hazelcast.sql.impl.compile.CompiledFilterProject;
 import com.hazelcast.sql.impl.expression.Expression;
 import com.hazelcast.sql.impl.extract.QueryPath;
 import com.hazelcast.sql.impl.extract.QueryTargetDescriptor;
@@ -35,6 +36,7 @@ public class MapScanExec extends AbstractMapScanExec {
     protected final MapContainer map;
     protected final PartitionIdSet partitions;
 
+    @SuppressWarnings("checkstyle:ParameterNumber")
     public MapScanExec(
         int id,
         MapContainer map,
@@ -45,9 +47,11 @@ public class MapScanExec extends AbstractMapScanExec {
         List<QueryDataType> fieldTypes,
         List<Integer> projects,
         Expression<Boolean> filter,
-        InternalSerializationService serializationService
+        InternalSerializationService serializationService,
+        CompiledFilterProject compiledFilterProject
     ) {
-        super(id, map.getName(), keyDescriptor, valueDescriptor, fieldPaths, fieldTypes, projects, filter, serializationService);
+        super(id, map.getName(), keyDescriptor, valueDescriptor, fieldPaths, fieldTypes, projects, filter, serializationService,
+            compiledFilterProject);
 
         this.map = map;
         this.partitions = partitions;
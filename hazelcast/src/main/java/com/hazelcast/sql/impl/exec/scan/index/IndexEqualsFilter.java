@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.sql.impl.exec.scan.index;
+
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.query.impl.InternalIndex;
+import com.hazelcast.query.impl.QueryableEntry;
+import com.hazelcast.sql.impl.SqlDataSerializerHook;
+import com.hazelcast.sql.impl.expression.ExpressionEvalContext;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.Set;
+
+/**
+ * Filter that returns entries with the given value of all index components.
+ */
+@SuppressWarnings("rawtypes")
+public class IndexEqualsFilter implements IndexFilter {
+
+    private IndexFilterValue value;
+
+    public IndexEqualsFilter() {
+        // No-op.
+    }
+
+    public IndexEqualsFilter(IndexFilterValue value) {
+        this.value = value;
+    }
+
+    public IndexFilterValue getValue() {
+        return value;
+    }
+
+    @Override
+    public Set<QueryableEntry> getEntries(InternalIndex index, ExpressionEvalContext evalContext) {
+        assert index.getComponents().length == value.getComponents().size();
+
+        Comparable value0 = value.getValue(evalContext);
+
+        if (value0 == null) {
+            return Collections.emptySet();
+        }
+
+        return index.getRecords(value0);
+    }
+
+    @Override
+    public int getFactoryId() {
+        return SqlDataSerializerHook.F_ID;
+    }
+
+    @Override
+    public int getClassId() {
+        return SqlDataSerializerHook.INDEX_FILTER_EQUALS;
+    }
+
+    @Override
+    public void writeData(ObjectDataOutput out) throws IOException {
+        out.writeObject(value);
+    }
+
+    @Override
+    public void readData(ObjectDataInput in) throws IOException {
+        value = in.readObject();
+    }
+
+    @Override
+    public int hashCode() {
+        return value.hashCode();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+
+        IndexEqualsFilter that = (IndexEqualsFilter) o;
+
+        return value.equals(that.value);
+    }
+
+    @Override
+    public String toString() {
+        return "=" + value;
+    }
+}
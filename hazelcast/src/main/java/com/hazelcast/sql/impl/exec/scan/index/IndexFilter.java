@@ -0,0 +1,41 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.sql.impl.exec.scan.index;
+
+import com.hazelcast.nio.serialization.IdentifiedDataSerializable;
+import com.hazelcast.query.impl.InternalIndex;
+import com.hazelcast.query.impl.QueryableEntry;
+import com.hazelcast.sql.impl.expression.ExpressionEvalContext;
+
+import java.util.Set;
+
+/**
+ * Filter that is used to get entries from the index.
+ * <p>
+ * Filters reference only constant values and query parameters, so they are evaluated once per index scan.
+ */
+public interface IndexFilter extends IdentifiedDataSerializable {
+    /**
+     * Get entries from the index matching the filter.
+     *
+     * @param index Index.
+     * @param evalContext Context to evaluate filter values.
+     * @return Matching entries.
+     */
+    @SuppressWarnings("rawtypes")
+    Set<QueryableEntry> getEntries(InternalIndex index, ExpressionEvalContext evalContext);
+}
@@ -0,0 +1,143 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.sql.impl.exec.scan.index;
+
+import com.hazelcast.internal.serialization.impl.SerializationUtil;
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.IdentifiedDataSerializable;
+import com.hazelcast.query.impl.CompositeValue;
+import com.hazelcast.sql.impl.SqlDataSerializerHook;
+import com.hazelcast.sql.impl.expression.Expression;
+import com.hazelcast.sql.impl.expression.ExpressionEvalContext;
+import com.hazelcast.sql.impl.row.EmptyRow;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Value of an index filter. Consists of one or more components, one for every matched index attribute.
+ */
+@SuppressWarnings("rawtypes")
+public class IndexFilterValue implements IdentifiedDataSerializable {
+
+    private List<Expression> components;
+
+    public IndexFilterValue() {
+        // No-op.
+    }
+
+    public IndexFilterValue(List<Expression> components) {
+        this.components = components;
+    }
+
+    public List<Expression> getComponents() {
+        return components;
+    }
+
+    /**
+     * Evaluate the value. If a component of a value evaluates to {@code null}, the filter cannot match any entry, because
+     * SQL comparison with {@code NULL} is never {@code TRUE}. {@code null} is returned in this case.
+     *
+     * @param evalContext Context.
+     * @return Single comparable for a single-component value, {@link CompositeValue} otherwise, {@code null} if the value
+     *         cannot match anything.
+     */
+    public Comparable getValue(ExpressionEvalContext evalContext) {
+        if (components.size() == 1) {
+            return getComponentValue(0, evalContext);
+        }
+
+        Comparable[] values = getComponentValues(components.size(), evalContext);
+
+        return values != null ? new CompositeValue(values) : null;
+    }
+
+    /**
+     * Evaluate components of the value.
+     *
+     * @param width Width of the resulting array. Components are placed at its beginning.
+     * @param evalContext Context.
+     * @return Array with component values or {@code null} if any of the components evaluated to {@code null}.
+     */
+    public Comparable[] getComponentValues(int width, ExpressionEvalContext evalContext) {
+        assert width >= components.size();
+
+        Comparable[] res = new Comparable[width];
+
+        for (int i = 0; i < components.size(); i++) {
+            Comparable value = getComponentValue(i, evalContext);
+
+            if (value == null) {
+                return null;
+            }
+
+            res[i] = value;
+        }
+
+        return res;
+    }
+
+    private Comparable getComponentValue(int index, ExpressionEvalContext evalContext) {
+        return (Comparable) components.get(index).eval(EmptyRow.INSTANCE, evalContext);
+    }
+
+    @Override
+    public int getFactoryId() {
+        return SqlDataSerializerHook.F_ID;
+    }
+
+    @Override
+    public int getClassId() {
+        return SqlDataSerializerHook.INDEX_FILTER_VALUE;
+    }
+
+    @Override
+    public void writeData(ObjectDataOutput out) throws IOException {
+        SerializationUtil.writeList(components, out);
+    }
+
+    @Override
+    public void readData(ObjectDataInput in) throws IOException {
+        components = SerializationUtil.readList(in);
+    }
+
+    @Override
+    public int hashCode() {
+        return components.hashCode();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+
+        IndexFilterValue that = (IndexFilterValue) o;
+
+        return components.equals(that.components);
+    }
+
+    @Override
+    public String toString() {
+        return components.toString();
+    }
+}
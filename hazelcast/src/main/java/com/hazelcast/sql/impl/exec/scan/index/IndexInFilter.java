@@ -0,0 +1,117 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.sql.impl.exec.scan.index;
+
+import com.hazelcast.internal.serialization.impl.SerializationUtil;
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.query.impl.InternalIndex;
+import com.hazelcast.query.impl.QueryableEntry;
+import com.hazelcast.sql.impl.SqlDataSerializerHook;
+import com.hazelcast.sql.impl.expression.ExpressionEvalContext;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Filter that returns entries with any of the given values of a single-component index (SQL {@code IN} list).
+ */
+@SuppressWarnings("rawtypes")
+public class IndexInFilter implements IndexFilter {
+
+    private List<IndexFilterValue> values;
+
+    public IndexInFilter() {
+        // No-op.
+    }
+
+    public IndexInFilter(List<IndexFilterValue> values) {
+        this.values = values;
+    }
+
+    public List<IndexFilterValue> getValues() {
+        return values;
+    }
+
+    @Override
+    public Set<QueryableEntry> getEntries(InternalIndex index, ExpressionEvalContext evalContext) {
+        List<Comparable> values0 = new ArrayList<>(values.size());
+
+        for (IndexFilterValue value : values) {
+            Comparable value0 = value.getValue(evalContext);
+
+            // NULL never matches.
+            if (value0 != null) {
+                values0.add(value0);
+            }
+        }
+
+        if (values0.isEmpty()) {
+            return Collections.emptySet();
+        }
+
+        return index.getRecords(values0.toArray(new Comparable[0]));
+    }
+
+    @Override
+    public int getFactoryId() {
+        return SqlDataSerializerHook.F_ID;
+    }
+
+    @Override
+    public int getClassId() {
+        return SqlDataSerializerHook.INDEX_FILTER_IN;
+    }
+
+    @Override
+    public void writeData(ObjectDataOutput out) throws IOException {
+        SerializationUtil.writeList(values, out);
+    }
+
+    @Override
+    public void readData(ObjectDataInput in) throws IOException {
+        values = SerializationUtil.readList(in);
+    }
+
+    @Override
+    public int hashCode() {
+        return values.hashCode();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+
+        IndexInFilter that = (IndexInFilter) o;
+
+        return values.equals(that.values);
+    }
+
+    @Override
+    public String toString() {
+        return "IN" + values;
+    }
+}
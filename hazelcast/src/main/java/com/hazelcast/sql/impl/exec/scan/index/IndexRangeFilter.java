@@ -0,0 +1,290 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.sql.impl.exec.scan.index;
+
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.query.impl.Comparison;
+import com.hazelcast.query.impl.CompositeValue;
+import com.hazelcast.query.impl.InternalIndex;
+import com.hazelcast.query.impl.QueryableEntry;
+import com.hazelcast.sql.impl.SqlDataSerializerHook;
+import com.hazelcast.sql.impl.expression.Expression;
+import com.hazelcast.sql.impl.expression.ExpressionEvalContext;
+import com.hazelcast.sql.impl.row.EmptyRow;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.Objects;
+import java.util.Set;
+
+import static com.hazelcast.query.impl.AbstractIndex.NULL;
+import static com.hazelcast.query.impl.CompositeValue.NEGATIVE_INFINITY;
+import static com.hazelcast.query.impl.CompositeValue.POSITIVE_INFINITY;
+
+/**
+ * Filter that returns entries from a sorted index which fall into the given range.
+ * <p>
+ * For a composite index the filter consists of an optional equality prefix on the leading components, followed by an optional
+ * range on the next component. Remaining components are unconstrained. At least one of the prefix or the range must be
+ * defined. See {@link CompositeValue} for details on how composite ranges are constructed.
+ */
+@SuppressWarnings("rawtypes")
+public class IndexRangeFilter implements IndexFilter {
+
+    private IndexFilterValue prefix;
+    private Expression from;
+    private boolean fromInclusive;
+    private Expression to;
+    private boolean toInclusive;
+
+    public IndexRangeFilter() {
+        // No-op.
+    }
+
+    public IndexRangeFilter(IndexFilterValue prefix, Expression from, boolean fromInclusive, Expression to, boolean toInclusive) {
+        assert prefix != null || from != null || to != null;
+
+        this.prefix = prefix;
+        this.from = from;
+        this.fromInclusive = from != null && fromInclusive;
+        this.to = to;
+        this.toInclusive = to != null && toInclusive;
+    }
+
+    public IndexFilterValue getPrefix() {
+        return prefix;
+    }
+
+    public Expression getFrom() {
+        return from;
+    }
+
+    public boolean isFromInclusive() {
+        return fromInclusive;
+    }
+
+    public Expression getTo() {
+        return to;
+    }
+
+    public boolean isToInclusive() {
+        return toInclusive;
+    }
+
+    @Override
+    public Set<QueryableEntry> getEntries(InternalIndex index, ExpressionEvalContext evalContext) {
+        assert index.isOrdered();
+
+        Comparable fromValue = null;
+
+        if (from != null) {
+            fromValue = (Comparable) from.eval(EmptyRow.INSTANCE, evalContext);
+
+            if (fromValue == null) {
+                return Collections.emptySet();
+            }
+        }
+
+        Comparable toValue = null;
+
+        if (to != null) {
+            toValue = (Comparable) to.eval(EmptyRow.INSTANCE, evalContext);
+
+            if (toValue == null) {
+                return Collections.emptySet();
+            }
+        }
+
+        int componentsCount = index.getComponents().length;
+
+        if (componentsCount == 1) {
+            assert prefix == null;
+
+            return getEntriesSingle(index, fromValue, toValue);
+        } else {
+            return getEntriesComposite(index, componentsCount, fromValue, toValue, evalContext);
+        }
+    }
+
+    private Set<QueryableEntry> getEntriesSingle(InternalIndex index, Comparable fromValue, Comparable toValue) {
+        if (fromValue != null && toValue != null) {
+            return index.getRecords(fromValue, fromInclusive, toValue, toInclusive);
+        } else if (fromValue != null) {
+            return index.getRecords(fromInclusive ? Comparison.GREATER_OR_EQUAL : Comparison.GREATER, fromValue);
+        } else {
+            assert toValue != null;
+
+            return index.getRecords(toInclusive ? Comparison.LESS_OR_EQUAL : Comparison.LESS, toValue);
+        }
+    }
+
+    private Set<QueryableEntry> getEntriesComposite(
+        InternalIndex index,
+        int componentsCount,
+        Comparable fromValue,
+        Comparable toValue,
+        ExpressionEvalContext evalContext
+    ) {
+        int prefixLength = prefix != null ? prefix.getComponents().size() : 0;
+
+        assert prefixLength < componentsCount;
+
+        Comparable[] fromComponents;
+        Comparable[] toComponents;
+
+        if (prefixLength == 0) {
+            fromComponents = new Comparable[componentsCount];
+            toComponents = new Comparable[componentsCount];
+        } else {
+            fromComponents = prefix.getComponentValues(componentsCount, evalContext);
+
+            if (fromComponents == null) {
+                return Collections.emptySet();
+            }
+
+            toComponents = fromComponents.clone();
+        }
+
+        if (from == null && to == null) {
+            return getEntriesPrefix(index, prefixLength, fromComponents, toComponents);
+        } else {
+            return getEntriesRange(index, prefixLength, fromComponents, fromValue, toComponents, toValue);
+        }
+    }
+
+    private static Set<QueryableEntry> getEntriesPrefix(
+        InternalIndex index,
+        int prefixLength,
+        Comparable[] fromComponents,
+        Comparable[] toComponents
+    ) {
+        for (int i = prefixLength; i < fromComponents.length; i++) {
+            fromComponents[i] = NEGATIVE_INFINITY;
+            toComponents[i] = POSITIVE_INFINITY;
+        }
+
+        return index.getRecords(new CompositeValue(fromComponents), false, new CompositeValue(toComponents), false);
+    }
+
+    private Set<QueryableEntry> getEntriesRange(
+        InternalIndex index,
+        int prefixLength,
+        Comparable[] fromComponents,
+        Comparable fromValue,
+        Comparable[] toComponents,
+        Comparable toValue
+    ) {
+        int componentsCount = fromComponents.length;
+
+        // NULL is used as a lower bound to exclude nulls on the range component.
+        fromComponents[prefixLength] = fromValue != null ? fromValue : NULL;
+        toComponents[prefixLength] = toValue != null ? toValue : POSITIVE_INFINITY;
+
+        Comparable fromTail = fromValue == null || fromInclusive ? NEGATIVE_INFINITY : POSITIVE_INFINITY;
+        Comparable toTail = toValue == null || toInclusive ? POSITIVE_INFINITY : NEGATIVE_INFINITY;
+
+        for (int i = prefixLength + 1; i < componentsCount; i++) {
+            fromComponents[i] = fromTail;
+            toComponents[i] = toTail;
+        }
+
+        boolean fullyMatched = componentsCount == prefixLength + 1;
+
+        return index.getRecords(
+            new CompositeValue(fromComponents),
+            fullyMatched && fromInclusive,
+            new CompositeValue(toComponents),
+            fullyMatched && toInclusive
+        );
+    }
+
+    @Override
+    public int getFactoryId() {
+        return SqlDataSerializerHook.F_ID;
+    }
+
+    @Override
+    public int getClassId() {
+        return SqlDataSerializerHook.INDEX_FILTER_RANGE;
+    }
+
+    @Override
+    public void writeData(ObjectDataOutput out) throws IOException {
+        out.writeObject(prefix);
+        out.writeObject(from);
+        out.writeBoolean(fromInclusive);
+        out.writeObject(to);
+        out.writeBoolean(toInclusive);
+    }
+
+    @Override
+    public void readData(ObjectDataInput in) throws IOException {
+        prefix = in.readObject();
+        from = in.readObject();
+        fromInclusive = in.readBoolean();
+        to = in.readObject();
+        toInclusive = in.readBoolean();
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(prefix, from, fromInclusive, to, toInclusive);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+
+        IndexRangeFilter that = (IndexRangeFilter) o;
+
+        return Objects.equals(prefix, that.prefix)
+            && Objects.equals(from, that.from)
+            && fromInclusive == that.fromInclusive
+            && Objects.equals(to, that.to)
+            && toInclusive == that.toInclusive;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder res = new StringBuilder();
+
+        if (prefix != null) {
+            res.append("prefix=").append(prefix);
+        }
+
+        if (from != null || to != null) {
+            if (prefix != null) {
+                res.append(", ");
+            }
+
+            res.append(fromInclusive ? "[" : "(")
+                .append(from != null ? from : "-inf")
+                .append(", ")
+                .append(to != null ? to : "+inf")
+                .append(toInclusive ? "]" : ")");
+        }
+
+        return res.toString();
+    }
+}
@@ -0,0 +1,186 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.sql.impl.exec.sort;
+
+import com.hazelcast.sql.impl.exec.AbstractUpstreamAwareExec;
+import com.hazelcast.sql.impl.exec.Exec;
+import com.hazelcast.sql.impl.exec.IterationResult;
+import com.hazelcast.sql.impl.exec.fetch.Fetch;
+import com.hazelcast.sql.impl.expression.Expression;
+import com.hazelcast.sql.impl.row.ListRowBatch;
+import com.hazelcast.sql.impl.row.Row;
+import com.hazelcast.sql.impl.row.RowBatch;
+import com.hazelcast.sql.impl.worker.QueryFragmentContext;
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Executor which sorts the input.
+ * <p>
+ * When the number of required rows is known (i.e. there is a {@code LIMIT} clause), only the top N rows are retained
+ * in a bounded heap, so that the memory consumption and the number of rows sent to downstream stages do not depend on the
+ * size of the input. The {@code OFFSET} is not applied here, as the executor may be a local stage of a distributed sort:
+ * the top {@code LIMIT + OFFSET} rows are produced instead.
+ */
+@SuppressWarnings("rawtypes")
+public class SortExec extends AbstractUpstreamAwareExec {
+
+    static final int BATCH_SIZE = 1024;
+
+    private final int[] columns;
+    private final boolean[] ascs;
+    private final Expression fetch;
+    private final Expression offset;
+    private final SortKeyComparator comparator;
+
+    /** Maximum number of rows to be produced. */
+    private long limit;
+
+    /** Rows collected when the limit is absent. */
+    private List<Row> rows;
+
+    /** Top rows collected when the limit is present. The head of the queue is the "worst" row. */
+    private PriorityQueue<Row> heap;
+
+    /** Sorted rows ready to be returned. */
+    private List<Row> sortedRows;
+    private int sortedRowsPosition;
+
+    private RowBatch currentBatch;
+
+    @SuppressFBWarnings("EI_EXPOSE_REP2")
+    public SortExec(int id, Exec upstream, int[] columns, boolean[] ascs, Expression fetch, Expression offset) {
+        super(id, upstream);
+
+        this.columns = columns;
+        this.ascs = ascs;
+        this.fetch = fetch;
+        this.offset = offset;
+
+        comparator = new SortKeyComparator(columns, ascs);
+    }
+
+    @Override
+    protected void setup1(QueryFragmentContext ctx) {
+        limit = Fetch.getLimit(fetch, offset, ctx);
+
+        if (limit == Fetch.NO_LIMIT) {
+            rows = new ArrayList<>();
+        } else if (limit > 0) {
+            heap = new PriorityQueue<>((int) Math.min(limit, BATCH_SIZE), Collections.reverseOrder(comparator));
+        }
+    }
+
+    @Override
+    protected IterationResult advance0() {
+        if (sortedRows == null) {
+            while (true) {
+                if (!state.advance()) {
+                    return IterationResult.WAIT;
+                }
+
+                for (Row row : state) {
+                    consumeRow(row);
+                }
+
+                if (state.isDone() || isInputSufficient()) {
+                    break;
+                }
+            }
+
+            sortedRows = prepareSortedRows();
+        }
+
+        int from = sortedRowsPosition;
+        int to = Math.min(from + BATCH_SIZE, sortedRows.size());
+
+        currentBatch = new ListRowBatch(sortedRows.subList(from, to));
+        sortedRowsPosition = to;
+
+        return to == sortedRows.size() ? IterationResult.FETCHED_DONE : IterationResult.FETCHED;
+    }
+
+    @Override
+    protected RowBatch currentBatch0() {
+        return currentBatch;
+    }
+
+    @SuppressFBWarnings("EI_EXPOSE_REP")
+    public int[] getColumns() {
+        return columns;
+    }
+
+    @SuppressFBWarnings("EI_EXPOSE_REP")
+    public boolean[] getAscs() {
+        return ascs;
+    }
+
+    public Expression getFetch() {
+        return fetch;
+    }
+
+    public Expression getOffset() {
+        return offset;
+    }
+
+    private void consumeRow(Row row) {
+        if (rows != null) {
+            rows.add(row);
+        } else if (heap != null) {
+            if (heap.size() < limit) {
+                heap.add(row);
+            } else if (comparator.compare(row, heap.peek()) < 0) {
+                heap.poll();
+                heap.add(row);
+            }
+        }
+    }
+
+    /**
+     * @return {@code true} if the remaining input cannot change the result, which happens when the limit is reached and
+     *     there is no collation, so that any {@code N} rows are good enough.
+     */
+    private boolean isInputSufficient() {
+        if (limit == 0) {
+            return true;
+        }
+
+        return columns.length == 0 && heap != null && heap.size() == limit;
+    }
+
+    private List<Row> prepareSortedRows() {
+        List<Row> res;
+
+        if (rows != null) {
+            res = rows;
+            rows = null;
+        } else if (heap != null) {
+            res = new ArrayList<>(heap);
+            heap = null;
+        } else {
+            return Collections.emptyList();
+        }
+
+        res.sort(comparator);
+
+        return res;
+    }
+}
@@ -20,7 +20,9 @@ import com.hazelcast.nio.ObjectDataInput;
 import com.hazelcast.nio.ObjectDataOutput;
 import com.hazelcast.nio.serialization.IdentifiedDataSerializable;
 import com.hazelcast.sql.impl.SqlDataSerializerHook;
+import com.hazelcast.sql.impl.row.ColumnarRowBatch;
 import com.hazelcast.sql.impl.row.Row;
+import com.hazelcast.sql.impl.row.vector.ColumnVector;
 import com.hazelcast.sql.impl.type.QueryDataType;
 import com.hazelcast.sql.impl.type.QueryDataTypeUtils;
 
@@ -61,6 +63,15 @@ public final class ColumnExpression<T> implements Expression<T>, IdentifiedDataS
         return (T) row.get(index);
     }
 
+    @Override
+    public ColumnVector evalVector(ColumnarRowBatch batch, ExpressionEvalContext context) {
+        return batch.getColumn(index);
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
     @Override
     public QueryDataType getType() {
         return type;
@@ -0,0 +1,55 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.sql.impl.expression;
+
+import com.hazelcast.sql.impl.row.ColumnarRow;
+import com.hazelcast.sql.impl.row.ColumnarRowBatch;
+import com.hazelcast.sql.impl.row.vector.ColumnVector;
+import com.hazelcast.sql.impl.row.vector.ColumnVectors;
+
+/**
+ * Utility methods for evaluation of expressions on columnar batches.
+ */
+public final class ColumnarEvalUtils {
+    private ColumnarEvalUtils() {
+        // No-op.
+    }
+
+    /**
+     * Evaluate the expression on every selected row of the batch separately.
+     *
+     * @param expression Expression.
+     * @param batch Batch.
+     * @param context Context.
+     * @return Result vector.
+     */
+    public static ColumnVector evalRowByRow(Expression<?> expression, ColumnarRowBatch batch, ExpressionEvalContext context) {
+        ColumnVector res = ColumnVectors.create(expression.getType(), batch.getSize());
+
+        ColumnarRow row = new ColumnarRow(batch);
+
+        for (int i = 0; i < batch.getRowCount(); i++) {
+            int position = batch.getPosition(i);
+
+            row.setPosition(position);
+
+            res.setObject(position, expression.eval(row, context));
+        }
+
+        return res;
+    }
+}
@@ -17,7 +17,9 @@
 package com.hazelcast.sql.impl.expression;
 
 import com.hazelcast.nio.serialization.DataSerializable;
+import com.hazelcast.sql.impl.row.ColumnarRowBatch;
 import com.hazelcast.sql.impl.row.Row;
+import com.hazelcast.sql.impl.row.vector.ColumnVector;
 import com.hazelcast.sql.impl.type.QueryDataType;
 
 /**
@@ -35,6 +37,21 @@ public interface Expression<T> extends DataSerializable {
      */
     T eval(Row row, ExpressionEvalContext context);
 
+    /**
+     * Evaluates this expression on all selected rows of the batch.
+     * <p>
+     * The default implementation evaluates rows one by one. Expressions that could be evaluated on whole vectors
+     * should override it.
+     *
+     * @param batch   the batch to evaluate this expression on.
+     * @param context the expression evaluation context.
+     * @return the vector with the results, addressed by positions of the batch rows. Values at the positions of rows
+     * which are not selected are undefined. The returned vector must not be modified.
+     */
+    default ColumnVector evalVector(ColumnarRowBatch batch, ExpressionEvalContext context) {
+        return ColumnarEvalUtils.evalRowByRow(this, batch, context);
+    }
+
     /**
      * @return the return query data type of this expression.
      */
@@ -18,6 +18,7 @@ package com.hazelcast.sql.impl.expression;
 
 import com.hazelcast.nio.ObjectDataInput;
 import com.hazelcast.nio.ObjectDataOutput;
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 
 import java.io.IOException;
 import java.util.Arrays;
@@ -37,6 +38,11 @@ public abstract class VariExpression<T> implements Expression<T> {
         this.operands = operands;
     }
 
+    @SuppressFBWarnings("EI_EXPOSE_REP")
+    public Expression<?>[] getOperands() {
+        return operands;
+    }
+
     @Override
     public void writeData(ObjectDataOutput out) throws IOException {
         out.writeInt(operands.length);
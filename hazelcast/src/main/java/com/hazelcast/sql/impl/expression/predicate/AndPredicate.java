@@ -21,7 +21,9 @@ import com.hazelcast.sql.impl.SqlDataSerializerHook;
 import com.hazelcast.sql.impl.expression.Expression;
 import com.hazelcast.sql.impl.expression.ExpressionEvalContext;
 import com.hazelcast.sql.impl.expression.VariExpression;
+import com.hazelcast.sql.impl.row.ColumnarRowBatch;
 import com.hazelcast.sql.impl.row.Row;
+import com.hazelcast.sql.impl.row.vector.ColumnVector;
 import com.hazelcast.sql.impl.type.QueryDataType;
 
 /**
@@ -56,6 +58,11 @@ public final class AndPredicate extends VariExpression<Boolean> implements Ident
         return TernaryLogic.and(row, context, operands);
     }
 
+    @Override
+    public ColumnVector evalVector(ColumnarRowBatch batch, ExpressionEvalContext context) {
+        return TernaryLogic.and(batch, context, operands);
+    }
+
     @Override
     public QueryDataType getType() {
         return QueryDataType.BOOLEAN;
@@ -23,7 +23,13 @@ import com.hazelcast.sql.impl.SqlDataSerializerHook;
 import com.hazelcast.sql.impl.expression.BiExpression;
 import com.hazelcast.sql.impl.expression.Expression;
 import com.hazelcast.sql.impl.expression.ExpressionEvalContext;
+import com.hazelcast.sql.impl.row.ColumnarRowBatch;
 import com.hazelcast.sql.impl.row.Row;
+import com.hazelcast.sql.impl.row.vector.BooleanColumnVector;
+import com.hazelcast.sql.impl.row.vector.ColumnVector;
+import com.hazelcast.sql.impl.row.vector.DoubleColumnVector;
+import com.hazelcast.sql.impl.row.vector.IntColumnVector;
+import com.hazelcast.sql.impl.row.vector.LongColumnVector;
 import com.hazelcast.sql.impl.type.QueryDataType;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 
@@ -82,6 +88,88 @@ public final class ComparisonPredicate extends BiExpression<Boolean> implements
 
         int order = leftComparable.compareTo(rightComparable);
 
+        return matches(order);
+    }
+
+    @Override
+    public ColumnVector evalVector(ColumnarRowBatch batch, ExpressionEvalContext context) {
+        ColumnVector left = operand1.evalVector(batch, context);
+        ColumnVector right = operand2.evalVector(batch, context);
+
+        BooleanColumnVector res = new BooleanColumnVector(batch.getSize());
+
+        if (left instanceof IntColumnVector && right instanceof IntColumnVector) {
+            evalIntVector(batch, (IntColumnVector) left, (IntColumnVector) right, res);
+        } else if (left instanceof LongColumnVector && right instanceof LongColumnVector) {
+            evalLongVector(batch, (LongColumnVector) left, (LongColumnVector) right, res);
+        } else if (left instanceof DoubleColumnVector && right instanceof DoubleColumnVector) {
+            evalDoubleVector(batch, (DoubleColumnVector) left, (DoubleColumnVector) right, res);
+        } else {
+            evalObjectVector(batch, left, right, res);
+        }
+
+        return res;
+    }
+
+    private void evalIntVector(ColumnarRowBatch batch, IntColumnVector left, IntColumnVector right, BooleanColumnVector res) {
+        for (int i = 0; i < batch.getRowCount(); i++) {
+            int position = batch.getPosition(i);
+
+            if (left.isNull(position) || right.isNull(position)) {
+                res.setNull(position);
+            } else {
+                res.setBoolean(position, matches(Integer.compare(left.getInt(position), right.getInt(position))));
+            }
+        }
+    }
+
+    private void evalLongVector(ColumnarRowBatch batch, LongColumnVector left, LongColumnVector right, BooleanColumnVector res) {
+        for (int i = 0; i < batch.getRowCount(); i++) {
+            int position = batch.getPosition(i);
+
+            if (left.isNull(position) || right.isNull(position)) {
+                res.setNull(position);
+            } else {
+                res.setBoolean(position, matches(Long.compare(left.getLong(position), right.getLong(position))));
+            }
+        }
+    }
+
+    private void evalDoubleVector(
+        ColumnarRowBatch batch,
+        DoubleColumnVector left,
+        DoubleColumnVector right,
+        BooleanColumnVector res
+    ) {
+        for (int i = 0; i < batch.getRowCount(); i++) {
+            int position = batch.getPosition(i);
+
+            if (left.isNull(position) || right.isNull(position)) {
+                res.setNull(position);
+            } else {
+                // Double.compare is consistent with Double.compareTo used by the row-based evaluation.
+                res.setBoolean(position, matches(Double.compare(left.getDouble(position), right.getDouble(position))));
+            }
+        }
+    }
+
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    private void evalObjectVector(ColumnarRowBatch batch, ColumnVector left, ColumnVector right, BooleanColumnVector res) {
+        for (int i = 0; i < batch.getRowCount(); i++) {
+            int position = batch.getPosition(i);
+
+            Comparable leftValue = (Comparable) left.getObject(position);
+            Comparable rightValue = (Comparable) right.getObject(position);
+
+            if (leftValue == null || rightValue == null) {
+                res.setNull(position);
+            } else {
+                res.setBoolean(position, matches(leftValue.compareTo(rightValue)));
+            }
+        }
+    }
+
+    private boolean matches(int order) {
         switch (mode) {
             case EQUALS:
                 return order == 0;
@@ -106,6 +194,10 @@ public final class ComparisonPredicate extends BiExpression<Boolean> implements
         }
     }
 
+    public ComparisonMode getMode() {
+        return mode;
+    }
+
     @Override
     public QueryDataType getType() {
         return QueryDataType.BOOLEAN;
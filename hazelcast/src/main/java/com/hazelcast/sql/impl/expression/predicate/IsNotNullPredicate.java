@@ -21,7 +21,9 @@ import com.hazelcast.sql.impl.SqlDataSerializerHook;
 import com.hazelcast.sql.impl.expression.Expression;
 import com.hazelcast.sql.impl.expression.ExpressionEvalContext;
 import com.hazelcast.sql.impl.expression.UniExpression;
+import com.hazelcast.sql.impl.row.ColumnarRowBatch;
 import com.hazelcast.sql.impl.row.Row;
+import com.hazelcast.sql.impl.row.vector.ColumnVector;
 import com.hazelcast.sql.impl.type.QueryDataType;
 
 /**
@@ -56,6 +58,11 @@ public final class IsNotNullPredicate extends UniExpression<Boolean> implements
         return TernaryLogic.isNotNull(operand.eval(row, context));
     }
 
+    @Override
+    public ColumnVector evalVector(ColumnarRowBatch batch, ExpressionEvalContext context) {
+        return TernaryLogic.isNull(batch, operand.evalVector(batch, context), false);
+    }
+
     @Override
     public QueryDataType getType() {
         return QueryDataType.BOOLEAN;
@@ -18,7 +18,10 @@ package com.hazelcast.sql.impl.expression.predicate;
 
 import com.hazelcast.sql.impl.expression.Expression;
 import com.hazelcast.sql.impl.expression.ExpressionEvalContext;
+import com.hazelcast.sql.impl.row.ColumnarRowBatch;
 import com.hazelcast.sql.impl.row.Row;
+import com.hazelcast.sql.impl.row.vector.BooleanColumnVector;
+import com.hazelcast.sql.impl.row.vector.ColumnVector;
 
 /**
  * Implements ternary boolean logic according to SQL standard.
@@ -177,4 +180,132 @@ public final class TernaryLogic {
         return value == null || value;
     }
 
+    /**
+     * Performs AND for the given operands on all selected rows of the given
+     * batch.
+     * <p>
+     * Operands are evaluated one after another, and every operand is evaluated
+     * only on the rows for which the result is not known yet. This preserves
+     * the short-circuiting behaviour of the row-based evaluation, e.g. an
+     * operand is not evaluated on the rows filtered out by previous operands.
+     *
+     * @param batch    the batch to evaluate the operands on.
+     * @param context  the context to evaluate the operands in.
+     * @param operands the boolean operands to evaluate.
+     * @return the vector with the results.
+     */
+    public static ColumnVector and(ColumnarRowBatch batch, ExpressionEvalContext context, Expression<?>... operands) {
+        return andOr(batch, context, operands, false);
+    }
+
+    /**
+     * Performs OR for the given operands on all selected rows of the given
+     * batch. Operands are evaluated in the same way as in {@link
+     * #and(ColumnarRowBatch, ExpressionEvalContext, Expression[])}.
+     *
+     * @param batch    the batch to evaluate the operands on.
+     * @param context  the context to evaluate the operands in.
+     * @param operands the boolean operands to evaluate.
+     * @return the vector with the results.
+     */
+    public static ColumnVector or(ColumnarRowBatch batch, ExpressionEvalContext context, Expression<?>... operands) {
+        return andOr(batch, context, operands, true);
+    }
+
+    /**
+     * Negates the given boolean values on all selected rows of the given batch.
+     *
+     * @param batch   the batch.
+     * @param operand the values to negate.
+     * @return the vector with the results.
+     */
+    public static ColumnVector not(ColumnarRowBatch batch, ColumnVector operand) {
+        BooleanColumnVector res = new BooleanColumnVector(batch.getSize());
+
+        for (int i = 0; i < batch.getRowCount(); i++) {
+            int position = batch.getPosition(i);
+
+            Boolean value = (Boolean) operand.getObject(position);
+
+            if (value == null) {
+                res.setNull(position);
+            } else {
+                res.setBoolean(position, !value);
+            }
+        }
+
+        return res;
+    }
+
+    /**
+     * Checks whether the given values are {@code null} on all selected rows of
+     * the given batch.
+     *
+     * @param batch   the batch.
+     * @param operand the values to check.
+     * @param expectNull {@code true} to check for {@code null}, {@code false}
+     *                   to check for not {@code null}.
+     * @return the vector with the results.
+     */
+    public static ColumnVector isNull(ColumnarRowBatch batch, ColumnVector operand, boolean expectNull) {
+        BooleanColumnVector res = new BooleanColumnVector(batch.getSize());
+
+        for (int i = 0; i < batch.getRowCount(); i++) {
+            int position = batch.getPosition(i);
+
+            res.setBoolean(position, operand.isNull(position) == expectNull);
+        }
+
+        return res;
+    }
+
+    private static ColumnVector andOr(
+        ColumnarRowBatch batch,
+        ExpressionEvalContext context,
+        Expression<?>[] operands,
+        boolean or
+    ) {
+        // The value which defines the result regardless of other operands: FALSE for AND, TRUE for OR.
+        boolean decisive = or;
+
+        BooleanColumnVector res = new BooleanColumnVector(batch.getSize());
+
+        for (int i = 0; i < batch.getRowCount(); i++) {
+            res.setBoolean(batch.getPosition(i), !decisive);
+        }
+
+        ColumnarRowBatch remaining = batch;
+
+        for (Expression<?> operand : operands) {
+            if (remaining.getRowCount() == 0) {
+                break;
+            }
+
+            ColumnVector operandRes = operand.evalVector(remaining, context);
+
+            int[] selection = new int[remaining.getRowCount()];
+            int selectedCount = 0;
+
+            for (int i = 0; i < remaining.getRowCount(); i++) {
+                int position = remaining.getPosition(i);
+
+                Boolean value = (Boolean) operandRes.getObject(position);
+
+                if (value == null) {
+                    res.setNull(position);
+                } else if (value == decisive) {
+                    res.setBoolean(position, decisive);
+
+                    continue;
+                }
+
+                selection[selectedCount++] = position;
+            }
+
+            remaining = batch.withSelection(selection, selectedCount);
+        }
+
+        return res;
+    }
+
 }
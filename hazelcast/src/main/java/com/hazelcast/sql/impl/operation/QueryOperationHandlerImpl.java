@@ -23,6 +23,7 @@ import com.hazelcast.sql.impl.QueryException;
 import com.hazelcast.sql.SqlErrorCode;
 import com.hazelcast.sql.impl.NodeServiceProvider;
 import com.hazelcast.sql.impl.QueryId;
+import com.hazelcast.sql.impl.compile.CompiledFilterProjectCache;
 import com.hazelcast.sql.impl.exec.CreateExecPlanNodeVisitor;
 import com.hazelcast.sql.impl.exec.CreateExecPlanNodeVisitorHook;
 import com.hazelcast.sql.impl.exec.Exec;
@@ -56,6 +57,7 @@ public class QueryOperationHandlerImpl implements QueryOperationHandler, QuerySt
     private final int outboxBatchSize;
     private final FlowControlFactory flowControlFactory;
     private volatile CreateExecPlanNodeVisitorHook execHook;
+    private volatile CompiledFilterProjectCache compiledCache;
 
     public QueryOperationHandlerImpl(
         String instanceName,
@@ -198,7 +200,8 @@ public class QueryOperationHandlerImpl implements QueryOperationHandler, QuerySt
                 flowControlFactory,
                 operation.getPartitionMap().get(localMemberId),
                 outboxBatchSize,
-                execHook
+                execHook,
+                compiledCache
             );
 
             fragmentDescriptor.getNode().visit(visitor);
@@ -377,4 +380,12 @@ public class QueryOperationHandlerImpl implements QueryOperationHandler, QuerySt
     public void setExecHook(CreateExecPlanNodeVisitorHook execHook) {
         this.execHook = execHook;
     }
+
+    public CompiledFilterProjectCache getCompiledCache() {
+        return compiledCache;
+    }
+
+    public void setCompiledCache(CompiledFilterProjectCache compiledCache) {
+        this.compiledCache = compiledCache;
+    }
 }
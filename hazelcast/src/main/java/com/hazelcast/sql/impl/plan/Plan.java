@@ -67,6 +67,9 @@ public class Plan implements CacheablePlan {
     /** IDs of objects used in the plan. */
     private final Set<PlanObjectKey> objectIds;
 
+    /** Partition pruning, if applicable. */
+    private final PlanPartitionPruning partitionPruning;
+
     @SuppressWarnings("checkstyle:ParameterNumber")
     public Plan(
         Map<UUID, PartitionIdSet> partMap,
@@ -78,7 +81,8 @@ public class Plan implements CacheablePlan {
         SqlRowMetadata rowMetadata,
         QueryParameterMetadata parameterMetadata,
         PlanCacheKey planKey,
-        Set<PlanObjectKey> objectIds
+        Set<PlanObjectKey> objectIds,
+        PlanPartitionPruning partitionPruning
     ) {
         this.partMap = partMap;
         this.fragments = fragments;
@@ -90,6 +94,7 @@ public class Plan implements CacheablePlan {
         this.parameterMetadata = parameterMetadata;
         this.planKey = planKey;
         this.objectIds = objectIds;
+        this.partitionPruning = partitionPruning;
     }
 
     @Override
@@ -157,4 +162,11 @@ public class Plan implements CacheablePlan {
         return parameterMetadata;
     }
 
+    /**
+     * @return Partition pruning or {@code null} if the query must be executed on all data members.
+     */
+    public PlanPartitionPruning getPartitionPruning() {
+        return partitionPruning;
+    }
+
 }
@@ -0,0 +1,120 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.sql.impl.plan;
+
+import com.hazelcast.internal.util.collection.PartitionIdSet;
+import com.hazelcast.sql.impl.NodeServiceProvider;
+import com.hazelcast.sql.impl.expression.Expression;
+import com.hazelcast.sql.impl.expression.ExpressionEvalContext;
+import com.hazelcast.sql.impl.row.EmptyRow;
+import com.hazelcast.sql.impl.type.QueryDataType;
+import com.hazelcast.sql.impl.type.converter.Converter;
+import com.hazelcast.sql.impl.type.converter.Converters;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PrimitiveIterator;
+import java.util.UUID;
+
+/**
+ * Restricts the partitions that participate in the query when the filter of the scanned map allows only a fixed set of
+ * key values, e.g. {@code __key = ?} or {@code __key IN (1, 2)}.
+ * <p>
+ * The key values may depend on query parameters, so the partitions are calculated for every execution of the plan. Only
+ * the owners of these partitions and the query initiator participate in the execution, and the scan is restricted to
+ * these partitions.
+ */
+public class PlanPartitionPruning {
+
+    private final QueryDataType keyType;
+    private final List<Expression<?>> keyExpressions;
+
+    public PlanPartitionPruning(QueryDataType keyType, List<Expression<?>> keyExpressions) {
+        this.keyType = keyType;
+        this.keyExpressions = keyExpressions;
+    }
+
+    public QueryDataType getKeyType() {
+        return keyType;
+    }
+
+    public List<Expression<?>> getKeyExpressions() {
+        return keyExpressions;
+    }
+
+    /**
+     * Restrict the partition map to the partitions of the key values.
+     *
+     * @param partMap Partition map of the plan.
+     * @param localMemberId ID of the query initiator, which always participates in the query.
+     * @param context Context to evaluate key expressions.
+     * @param nodeServiceProvider Node service provider.
+     * @return Restricted partition map or {@code null} if the key values could not be converted to the key type.
+     */
+    public Map<UUID, PartitionIdSet> prune(
+        Map<UUID, PartitionIdSet> partMap,
+        UUID localMemberId,
+        ExpressionEvalContext context,
+        NodeServiceProvider nodeServiceProvider
+    ) {
+        PartitionIdSet partitions = new PartitionIdSet(partMap.get(localMemberId).getPartitionCount());
+
+        for (Expression<?> keyExpression : keyExpressions) {
+            Object value = keyExpression.eval(EmptyRow.INSTANCE, context);
+
+            if (value == null) {
+                // NULL is never equal to the key.
+                continue;
+            }
+
+            Object key;
+
+            try {
+                Converter valueConverter = Converters.getConverter(value.getClass());
+
+                key = keyType.getConverter().convertToSelf(valueConverter, value);
+            } catch (RuntimeException e) {
+                // Let the scan handle the value.
+                return null;
+            }
+
+            partitions.add(nodeServiceProvider.getPartitionId(key));
+        }
+
+        Map<UUID, PartitionIdSet> res = new HashMap<>();
+
+        for (Map.Entry<UUID, PartitionIdSet> entry : partMap.entrySet()) {
+            UUID memberId = entry.getKey();
+            PartitionIdSet memberPartitions = new PartitionIdSet(partitions.getPartitionCount());
+
+            for (PrimitiveIterator.OfInt iterator = partitions.intIterator(); iterator.hasNext(); ) {
+                int partitionId = iterator.nextInt();
+
+                if (entry.getValue().contains(partitionId)) {
+                    memberPartitions.add(partitionId);
+                }
+            }
+
+            if (!memberPartitions.isEmpty() || memberId.equals(localMemberId)) {
+                res.put(memberId, memberPartitions);
+            }
+        }
+
+        return res;
+    }
+}
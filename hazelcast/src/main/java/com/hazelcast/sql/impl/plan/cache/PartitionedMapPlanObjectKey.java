@@ -18,6 +18,7 @@ package com.hazelcast.sql.impl.plan.cache;
 
 import com.hazelcast.sql.impl.extract.QueryTargetDescriptor;
 import com.hazelcast.sql.impl.schema.TableField;
+import com.hazelcast.sql.impl.schema.map.MapTableIndex;
 
 import java.util.List;
 import java.util.Set;
@@ -30,6 +31,9 @@ public class PartitionedMapPlanObjectKey implements PlanObjectKey {
     private final QueryTargetDescriptor keyDescriptor;
     private final QueryTargetDescriptor valueDescriptor;
     private final Set<String> conflictingSchemas;
+    private final List<MapTableIndex> indexes;
+    private final int distributionFieldOrdinal;
+    private final long statisticsVersion;
 
     public PartitionedMapPlanObjectKey(
         String schemaName,
@@ -37,7 +41,10 @@ public class PartitionedMapPlanObjectKey implements PlanObjectKey {
         List<TableField> fields,
         Set<String> conflictingSchemas,
         QueryTargetDescriptor keyDescriptor,
-        QueryTargetDescriptor valueDescriptor
+        QueryTargetDescriptor valueDescriptor,
+        List<MapTableIndex> indexes,
+        int distributionFieldOrdinal,
+        long statisticsVersion
     ) {
         this.schemaName = schemaName;
         this.name = name;
@@ -45,6 +52,9 @@ public class PartitionedMapPlanObjectKey implements PlanObjectKey {
         this.keyDescriptor = keyDescriptor;
         this.valueDescriptor = valueDescriptor;
         this.conflictingSchemas = conflictingSchemas;
+        this.indexes = indexes;
+        this.distributionFieldOrdinal = distributionFieldOrdinal;
+        this.statisticsVersion = statisticsVersion;
     }
 
     @Override
@@ -64,7 +74,10 @@ public class PartitionedMapPlanObjectKey implements PlanObjectKey {
             && fields.equals(that.fields)
             && keyDescriptor.equals(that.keyDescriptor)
             && valueDescriptor.equals(that.valueDescriptor)
-            && conflictingSchemas.equals(that.conflictingSchemas);
+            && conflictingSchemas.equals(that.conflictingSchemas)
+            && indexes.equals(that.indexes)
+            && distributionFieldOrdinal == that.distributionFieldOrdinal
+            && statisticsVersion == that.statisticsVersion;
     }
 
     @Override
@@ -75,6 +88,9 @@ public class PartitionedMapPlanObjectKey implements PlanObjectKey {
         result = 31 * result + keyDescriptor.hashCode();
         result = 31 * result + valueDescriptor.hashCode();
         result = 31 * result + conflictingSchemas.hashCode();
+        result = 31 * result + indexes.hashCode();
+        result = 31 * result + distributionFieldOrdinal;
+        result = 31 * result + (int) (statisticsVersion ^ (statisticsVersion >>> 32));
         return result;
     }
 }
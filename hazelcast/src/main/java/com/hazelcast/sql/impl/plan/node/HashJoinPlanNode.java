@@ -0,0 +1,145 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.sql.impl.plan.node;
+
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.IdentifiedDataSerializable;
+import com.hazelcast.sql.impl.SqlDataSerializerHook;
+import com.hazelcast.sql.impl.expression.Expression;
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Equi-join node. The right input is used to build the hash table, the left input is used to probe it.
+ */
+public class HashJoinPlanNode extends BiInputPlanNode implements IdentifiedDataSerializable {
+    /** Key columns of the left input. */
+    private int[] leftKeys;
+
+    /** Key columns of the right input. */
+    private int[] rightKeys;
+
+    /** Non-equi part of the join condition, evaluated on the joined row. Could be null. */
+    private Expression<Boolean> condition;
+
+    /** Whether this is a left outer join. */
+    private boolean outer;
+
+    public HashJoinPlanNode() {
+        // No-op.
+    }
+
+    @SuppressFBWarnings("EI_EXPOSE_REP2")
+    public HashJoinPlanNode(
+        int id,
+        PlanNode left,
+        PlanNode right,
+        int[] leftKeys,
+        int[] rightKeys,
+        Expression<Boolean> condition,
+        boolean outer
+    ) {
+        super(id, left, right);
+
+        this.leftKeys = leftKeys;
+        this.rightKeys = rightKeys;
+        this.condition = condition;
+        this.outer = outer;
+    }
+
+    @SuppressFBWarnings("EI_EXPOSE_REP")
+    public int[] getLeftKeys() {
+        return leftKeys;
+    }
+
+    @SuppressFBWarnings("EI_EXPOSE_REP")
+    public int[] getRightKeys() {
+        return rightKeys;
+    }
+
+    public Expression<Boolean> getCondition() {
+        return condition;
+    }
+
+    public boolean isOuter() {
+        return outer;
+    }
+
+    @Override
+    public void visit0(PlanNodeVisitor visitor) {
+        visitor.onHashJoinNode(this);
+    }
+
+    @Override
+    public int getFactoryId() {
+        return SqlDataSerializerHook.F_ID;
+    }
+
+    @Override
+    public int getClassId() {
+        return SqlDataSerializerHook.NODE_HASH_JOIN;
+    }
+
+    @Override
+    public void writeData1(ObjectDataOutput out) throws IOException {
+        out.writeIntArray(leftKeys);
+        out.writeIntArray(rightKeys);
+        out.writeObject(condition);
+        out.writeBoolean(outer);
+    }
+
+    @Override
+    public void readData1(ObjectDataInput in) throws IOException {
+        leftKeys = in.readIntArray();
+        rightKeys = in.readIntArray();
+        condition = in.readObject();
+        outer = in.readBoolean();
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id, Arrays.hashCode(leftKeys), Arrays.hashCode(rightKeys), condition, outer, left, right);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+
+        HashJoinPlanNode that = (HashJoinPlanNode) o;
+
+        return id == that.id && Arrays.equals(leftKeys, that.leftKeys) && Arrays.equals(rightKeys, that.rightKeys)
+            && Objects.equals(condition, that.condition) && outer == that.outer && left.equals(that.left)
+            && right.equals(that.right);
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + "{id=" + id + ", leftKeys=" + Arrays.toString(leftKeys)
+            + ", rightKeys=" + Arrays.toString(rightKeys) + ", condition=" + condition + ", outer=" + outer
+            + ", left=" + left + ", right=" + right + '}';
+    }
+}
@@ -17,7 +17,9 @@
 package com.hazelcast.sql.impl.plan.node;
 
 import com.hazelcast.sql.impl.plan.node.io.ReceivePlanNode;
+import com.hazelcast.sql.impl.plan.node.io.ReceiveSortMergePlanNode;
 import com.hazelcast.sql.impl.plan.node.io.RootSendPlanNode;
+import com.hazelcast.sql.impl.plan.node.io.UnicastSendPlanNode;
 
 /**
  * Plan node visitor. Typically used to convert the tree of plan nodes to another tree
@@ -33,10 +35,17 @@ import com.hazelcast.sql.impl.plan.node.io.RootSendPlanNode;
 public interface PlanNodeVisitor {
     void onRootNode(RootPlanNode node);
     void onReceiveNode(ReceivePlanNode node);
+    void onReceiveSortMergeNode(ReceiveSortMergePlanNode node);
     void onRootSendNode(RootSendPlanNode node);
+    void onUnicastSendNode(UnicastSendPlanNode node);
     void onProjectNode(ProjectPlanNode node);
     void onFilterNode(FilterPlanNode node);
     void onMapScanNode(MapScanPlanNode node);
+    void onMapIndexScanNode(MapIndexScanPlanNode node);
+    void onAggregateNode(AggregatePlanNode node);
+    void onSortNode(SortPlanNode node);
+    void onFetchNode(FetchPlanNode node);
+    void onHashJoinNode(HashJoinPlanNode node);
 
     /**
      * Callback for a node without special handlers. For testing only.
@@ -0,0 +1,136 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.sql.impl.plan.node;
+
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.IdentifiedDataSerializable;
+import com.hazelcast.sql.impl.SqlDataSerializerHook;
+import com.hazelcast.sql.impl.expression.Expression;
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Sort node. When the fetch is defined, only top {@code fetch + offset} rows are produced. The offset is not skipped.
+ */
+@SuppressWarnings("rawtypes")
+public class SortPlanNode extends UniInputPlanNode implements IdentifiedDataSerializable {
+    /** Indexes of the sort columns. */
+    private int[] columns;
+
+    /** Sort directions. */
+    private boolean[] ascs;
+
+    /** Fetch, could be null. */
+    private Expression fetch;
+
+    /** Offset, could be null. */
+    private Expression offset;
+
+    public SortPlanNode() {
+        // No-op.
+    }
+
+    @SuppressFBWarnings("EI_EXPOSE_REP2")
+    public SortPlanNode(int id, PlanNode upstream, int[] columns, boolean[] ascs, Expression fetch, Expression offset) {
+        super(id, upstream);
+
+        this.columns = columns;
+        this.ascs = ascs;
+        this.fetch = fetch;
+        this.offset = offset;
+    }
+
+    @SuppressFBWarnings("EI_EXPOSE_REP")
+    public int[] getColumns() {
+        return columns;
+    }
+
+    @SuppressFBWarnings("EI_EXPOSE_REP")
+    public boolean[] getAscs() {
+        return ascs;
+    }
+
+    public Expression getFetch() {
+        return fetch;
+    }
+
+    public Expression getOffset() {
+        return offset;
+    }
+
+    @Override
+    public void visit0(PlanNodeVisitor visitor) {
+        visitor.onSortNode(this);
+    }
+
+    @Override
+    public int getFactoryId() {
+        return SqlDataSerializerHook.F_ID;
+    }
+
+    @Override
+    public int getClassId() {
+        return SqlDataSerializerHook.NODE_SORT;
+    }
+
+    @Override
+    public void writeData1(ObjectDataOutput out) throws IOException {
+        out.writeIntArray(columns);
+        out.writeBooleanArray(ascs);
+        out.writeObject(fetch);
+        out.writeObject(offset);
+    }
+
+    @Override
+    public void readData1(ObjectDataInput in) throws IOException {
+        columns = in.readIntArray();
+        ascs = in.readBooleanArray();
+        fetch = in.readObject();
+        offset = in.readObject();
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id, Arrays.hashCode(columns), Arrays.hashCode(ascs), fetch, offset, upstream);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+
+        SortPlanNode that = (SortPlanNode) o;
+
+        return id == that.id && Arrays.equals(columns, that.columns) && Arrays.equals(ascs, that.ascs)
+            && Objects.equals(fetch, that.fetch) && Objects.equals(offset, that.offset) && upstream.equals(that.upstream);
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + "{id=" + id + ", columns=" + Arrays.toString(columns)
+            + ", ascs=" + Arrays.toString(ascs) + ", fetch=" + fetch + ", offset=" + offset + ", upstream=" + upstream + '}';
+    }
+}
@@ -0,0 +1,46 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.sql.impl.row;
+
+/**
+ * Mutable view of a single row of the {@link ColumnarRowBatch}. Used to evaluate expressions which do not support columnar
+ * processing without materialization of rows. The view must not escape the evaluation.
+ */
+public final class ColumnarRow implements Row {
+
+    private final ColumnarRowBatch batch;
+    private int position;
+
+    public ColumnarRow(ColumnarRowBatch batch) {
+        this.batch = batch;
+    }
+
+    public void setPosition(int position) {
+        this.position = position;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public <T> T get(int index) {
+        return (T) batch.getColumn(index).getObject(position);
+    }
+
+    @Override
+    public int getColumnCount() {
+        return batch.getColumnCount();
+    }
+}
@@ -0,0 +1,155 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.sql.impl.row;
+
+import com.hazelcast.sql.impl.row.vector.BooleanColumnVector;
+import com.hazelcast.sql.impl.row.vector.ColumnVector;
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+
+/**
+ * Batch where values are organized in columns. Values of primitive types are stored in primitive arrays, so that operators
+ * which support columnar processing could evaluate the whole batch without boxing and without per-row allocations.
+ * <p>
+ * The batch may have a selection vector with positions of the rows which belong to the batch. This allows for filtering
+ * of rows without copying of the column values. Column vectors are always addressed by the position, and
+ * {@link #getPosition(int)} translates the index of the row in the batch into the position.
+ * <p>
+ * Operators which do not support columnar processing get rows one by one with {@link #getRow(int)}, which materializes
+ * the row on the heap.
+ */
+public class ColumnarRowBatch implements RowBatch {
+
+    private final ColumnVector[] columns;
+    private final int size;
+    private final int[] selection;
+    private final int selectedCount;
+
+    public ColumnarRowBatch(ColumnVector[] columns, int size) {
+        this(columns, size, null, size);
+    }
+
+    @SuppressFBWarnings("EI_EXPOSE_REP2")
+    public ColumnarRowBatch(ColumnVector[] columns, int size, int[] selection, int selectedCount) {
+        this.columns = columns;
+        this.size = size;
+        this.selection = selection;
+        this.selectedCount = selectedCount;
+    }
+
+    @Override
+    public Row getRow(int index) {
+        if (columns.length == 0) {
+            return EmptyRow.INSTANCE;
+        }
+
+        int position = getPosition(index);
+
+        Object[] values = new Object[columns.length];
+
+        for (int i = 0; i < columns.length; i++) {
+            values[i] = columns[i].getObject(position);
+        }
+
+        return new HeapRow(values);
+    }
+
+    @Override
+    public int getRowCount() {
+        return selectedCount;
+    }
+
+    /**
+     * @param index Index of the row in the batch.
+     * @return Position of the row in column vectors.
+     */
+    public int getPosition(int index) {
+        return selection != null ? selection[index] : index;
+    }
+
+    /**
+     * @return Number of positions in column vectors, including positions which are not selected.
+     */
+    public int getSize() {
+        return size;
+    }
+
+    public int getColumnCount() {
+        return columns.length;
+    }
+
+    public ColumnVector getColumn(int index) {
+        return columns[index];
+    }
+
+    /**
+     * Create a new batch with the same rows, and the given columns.
+     *
+     * @param columns Columns.
+     * @return New batch.
+     */
+    public ColumnarRowBatch withColumns(ColumnVector[] columns) {
+        return new ColumnarRowBatch(columns, size, selection, selectedCount);
+    }
+
+    /**
+     * Create a new batch with the same columns, containing only the given positions.
+     *
+     * @param selection Positions.
+     * @param selectedCount Number of positions.
+     * @return New batch.
+     */
+    public ColumnarRowBatch withSelection(int[] selection, int selectedCount) {
+        return new ColumnarRowBatch(columns, size, selection, selectedCount);
+    }
+
+    /**
+     * Create a new batch with the rows for which the given predicate is {@code TRUE}.
+     *
+     * @param predicate Result of the predicate evaluation on this batch.
+     * @return New batch.
+     */
+    public ColumnarRowBatch select(ColumnVector predicate) {
+        int[] newSelection = new int[selectedCount];
+        int newSelectedCount = 0;
+
+        if (predicate instanceof BooleanColumnVector) {
+            BooleanColumnVector predicate0 = (BooleanColumnVector) predicate;
+
+            for (int i = 0; i < selectedCount; i++) {
+                int position = getPosition(i);
+
+                if (predicate0.getBoolean(position) && !predicate0.isNull(position)) {
+                    newSelection[newSelectedCount++] = position;
+                }
+            }
+        } else {
+            for (int i = 0; i < selectedCount; i++) {
+                int position = getPosition(i);
+
+                if (Boolean.TRUE.equals(predicate.getObject(position))) {
+                    newSelection[newSelectedCount++] = position;
+                }
+            }
+        }
+
+        if (newSelectedCount == selectedCount) {
+            return this;
+        }
+
+        return withSelection(newSelection, newSelectedCount);
+    }
+}
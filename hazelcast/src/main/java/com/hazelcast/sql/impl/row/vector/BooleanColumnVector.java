@@ -0,0 +1,55 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.sql.impl.row.vector;
+
+/**
+ * Column vector with {@code boolean} values.
+ */
+public class BooleanColumnVector extends ColumnVector {
+
+    private final boolean[] values;
+
+    public BooleanColumnVector(int size) {
+        super(size);
+
+        values = new boolean[size];
+    }
+
+    public boolean getBoolean(int position) {
+        return values[position];
+    }
+
+    public void setBoolean(int position, boolean value) {
+        values[position] = value;
+
+        clearNull(position);
+    }
+
+    @Override
+    public Object getObject(int position) {
+        return isNull(position) ? null : values[position];
+    }
+
+    @Override
+    public void setObject(int position, Object value) {
+        if (value == null) {
+            setNull(position);
+        } else {
+            setBoolean(position, (Boolean) value);
+        }
+    }
+}
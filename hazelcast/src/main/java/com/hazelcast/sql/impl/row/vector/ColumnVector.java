@@ -0,0 +1,70 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.sql.impl.row.vector;
+
+/**
+ * Values of a single column of the {@link com.hazelcast.sql.impl.row.ColumnarRowBatch}.
+ * <p>
+ * Values are addressed by the position in the batch. The vector is filled by the producer once, and is never modified after
+ * it is passed to other operators, so the same vector may be shared between several batches.
+ */
+public abstract class ColumnVector {
+    /** Number of positions in the vector. */
+    protected final int size;
+
+    /** Null flags, allocated lazily on the first null value. */
+    protected boolean[] nulls;
+
+    protected ColumnVector(int size) {
+        this.size = size;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isNull(int position) {
+        return nulls != null && nulls[position];
+    }
+
+    public void setNull(int position) {
+        if (nulls == null) {
+            nulls = new boolean[size];
+        }
+
+        nulls[position] = true;
+    }
+
+    /**
+     * @return Boxed value at the given position, or {@code null} if the value is null.
+     */
+    public abstract Object getObject(int position);
+
+    /**
+     * Set the value at the given position.
+     *
+     * @param position Position.
+     * @param value Value or {@code null}.
+     */
+    public abstract void setObject(int position, Object value);
+
+    protected final void clearNull(int position) {
+        if (nulls != null) {
+            nulls[position] = false;
+        }
+    }
+}
@@ -0,0 +1,54 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.sql.impl.row.vector;
+
+import com.hazelcast.sql.impl.type.QueryDataType;
+
+/**
+ * Utility methods for column vectors.
+ */
+public final class ColumnVectors {
+    private ColumnVectors() {
+        // No-op.
+    }
+
+    /**
+     * Create an empty vector which is able to hold values of the given type.
+     *
+     * @param type Type.
+     * @param size Number of positions.
+     * @return Vector.
+     */
+    public static ColumnVector create(QueryDataType type, int size) {
+        switch (type.getTypeFamily()) {
+            case BOOLEAN:
+                return new BooleanColumnVector(size);
+
+            case INT:
+                return new IntColumnVector(size);
+
+            case BIGINT:
+                return new LongColumnVector(size);
+
+            case DOUBLE:
+                return new DoubleColumnVector(size);
+
+            default:
+                return new ObjectColumnVector(size);
+        }
+    }
+}
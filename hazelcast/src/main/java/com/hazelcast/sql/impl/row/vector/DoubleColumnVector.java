@@ -0,0 +1,55 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.sql.impl.row.vector;
+
+/**
+ * Column vector with {@code double} values.
+ */
+public class DoubleColumnVector extends ColumnVector {
+
+    private final double[] values;
+
+    public DoubleColumnVector(int size) {
+        super(size);
+
+        values = new double[size];
+    }
+
+    public double getDouble(int position) {
+        return values[position];
+    }
+
+    public void setDouble(int position, double value) {
+        values[position] = value;
+
+        clearNull(position);
+    }
+
+    @Override
+    public Object getObject(int position) {
+        return isNull(position) ? null : values[position];
+    }
+
+    @Override
+    public void setObject(int position, Object value) {
+        if (value == null) {
+            setNull(position);
+        } else {
+            setDouble(position, ((Number) value).doubleValue());
+        }
+    }
+}
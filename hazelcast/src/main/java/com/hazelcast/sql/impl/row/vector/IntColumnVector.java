@@ -0,0 +1,55 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.sql.impl.row.vector;
+
+/**
+ * Column vector with {@code int} values.
+ */
+public class IntColumnVector extends ColumnVector {
+
+    private final int[] values;
+
+    public IntColumnVector(int size) {
+        super(size);
+
+        values = new int[size];
+    }
+
+    public int getInt(int position) {
+        return values[position];
+    }
+
+    public void setInt(int position, int value) {
+        values[position] = value;
+
+        clearNull(position);
+    }
+
+    @Override
+    public Object getObject(int position) {
+        return isNull(position) ? null : values[position];
+    }
+
+    @Override
+    public void setObject(int position, Object value) {
+        if (value == null) {
+            setNull(position);
+        } else {
+            setInt(position, ((Number) value).intValue());
+        }
+    }
+}
@@ -0,0 +1,51 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.sql.impl.row.vector;
+
+/**
+ * Column vector with values of types which do not have a primitive representation.
+ */
+public class ObjectColumnVector extends ColumnVector {
+
+    private final Object[] values;
+
+    public ObjectColumnVector(int size) {
+        super(size);
+
+        values = new Object[size];
+    }
+
+    @Override
+    public boolean isNull(int position) {
+        return values[position] == null;
+    }
+
+    @Override
+    public void setNull(int position) {
+        values[position] = null;
+    }
+
+    @Override
+    public Object getObject(int position) {
+        return values[position];
+    }
+
+    @Override
+    public void setObject(int position, Object value) {
+        values[position] = value;
+    }
+}
@@ -0,0 +1,123 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.sql.impl.schema;
+
+import java.util.Arrays;
+
+/**
+ * Equi-depth histogram of numeric column values. Every bucket holds the same fraction of non-null values. Buckets are
+ * defined by {@code B + 1} ascending bounds, where {@code B} is the number of buckets: the bound {@code i} is the value
+ * below which the {@code i / B} fraction of values is located.
+ */
+public class ColumnHistogram {
+
+    private final double[] bounds;
+
+    public ColumnHistogram(double[] bounds) {
+        assert bounds.length >= 2;
+
+        this.bounds = bounds;
+    }
+
+    /**
+     * Creates a histogram from the sorted non-empty array of values.
+     *
+     * @param values Values in ascending order.
+     * @param count Number of values in the array to be considered.
+     * @param bucketCount Number of buckets.
+     * @return Histogram.
+     */
+    public static ColumnHistogram create(double[] values, int count, int bucketCount) {
+        assert count > 0;
+
+        double[] bounds = new double[bucketCount + 1];
+
+        for (int i = 0; i <= bucketCount; i++) {
+            bounds[i] = values[(int) ((long) (count - 1) * i / bucketCount)];
+        }
+
+        return new ColumnHistogram(bounds);
+    }
+
+    public int getBucketCount() {
+        return bounds.length - 1;
+    }
+
+    public double getMin() {
+        return bounds[0];
+    }
+
+    public double getMax() {
+        return bounds[bounds.length - 1];
+    }
+
+    /**
+     * Gets the estimated fraction of non-null values that are less than (or equal to) the given value.
+     *
+     * @param value Value.
+     * @param inclusive Whether values equal to the given value should be included.
+     * @return Fraction in the range {@code [0..1]}.
+     */
+    public double getFraction(double value, boolean inclusive) {
+        int bucketCount = getBucketCount();
+
+        // Number of bounds that are strictly less than the value, and less than or equal to the value.
+        int lessCount = boundCount(value, false);
+        int lessOrEqualCount = boundCount(value, true);
+
+        if (lessCount == lessOrEqualCount) {
+            // The value is between two bounds, interpolate inside the bucket.
+            if (lessCount == 0) {
+                return 0.0d;
+            } else if (lessCount > bucketCount) {
+                return 1.0d;
+            }
+
+            int bucket = lessCount - 1;
+
+            double lower = bounds[bucket];
+            double upper = bounds[bucket + 1];
+
+            return (bucket + (value - lower) / (upper - lower)) / bucketCount;
+        }
+
+        // The value is equal to one or more bounds.
+        return inclusive ? (double) (lessOrEqualCount - 1) / bucketCount : (double) lessCount / bucketCount;
+    }
+
+    private int boundCount(double value, boolean inclusive) {
+        int low = 0;
+        int high = bounds.length;
+
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+
+            if (bounds[mid] < value || (inclusive && bounds[mid] == value)) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+
+        return low;
+    }
+
+    @Override
+    public String toString() {
+        return "ColumnHistogram{bounds=" + Arrays.toString(bounds) + '}';
+    }
+}
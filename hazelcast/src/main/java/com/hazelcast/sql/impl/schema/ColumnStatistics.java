@@ -0,0 +1,91 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.sql.impl.schema;
+
+/**
+ * Statistics of a single table column: the estimated number of distinct values, the fraction of {@code NULL} values, and
+ * an optional histogram of value distribution.
+ */
+public class ColumnStatistics {
+
+    private final double distinctCount;
+    private final double nullFraction;
+    private final ColumnHistogram histogram;
+
+    public ColumnStatistics(double distinctCount, double nullFraction, ColumnHistogram histogram) {
+        this.distinctCount = Math.max(distinctCount, 1.0d);
+        this.nullFraction = nullFraction;
+        this.histogram = histogram;
+    }
+
+    /**
+     * @return Estimated number of distinct non-null values. Never less than {@code 1}.
+     */
+    public double getDistinctCount() {
+        return distinctCount;
+    }
+
+    /**
+     * @return Fraction of rows with {@code NULL} value in the range {@code [0..1]}.
+     */
+    public double getNullFraction() {
+        return nullFraction;
+    }
+
+    /**
+     * @return Histogram or {@code null} if the column is not numeric.
+     */
+    public ColumnHistogram getHistogram() {
+        return histogram;
+    }
+
+    /**
+     * @return Fraction of rows where the column is equal to some value, assuming uniform distribution of distinct values.
+     */
+    public double getEqualsSelectivity() {
+        return (1.0d - nullFraction) / distinctCount;
+    }
+
+    /**
+     * Gets the fraction of rows where the column is within the given range.
+     *
+     * @param lower Lower bound, {@code null} if unbounded.
+     * @param lowerInclusive Whether the lower bound is inclusive.
+     * @param upper Upper bound, {@code null} if unbounded.
+     * @param upperInclusive Whether the upper bound is inclusive.
+     * @return Selectivity or {@code null} if the column doesn't have a histogram.
+     */
+    public Double getRangeSelectivity(Double lower, boolean lowerInclusive, Double upper, boolean upperInclusive) {
+        if (histogram == null) {
+            return null;
+        }
+
+        double from = lower != null ? histogram.getFraction(lower, !lowerInclusive) : 0.0d;
+        double to = upper != null ? histogram.getFraction(upper, upperInclusive) : 1.0d;
+
+        double res = (to - from) * (1.0d - nullFraction);
+
+        // Even if the range is outside of the observed values, there still might be some values that were not sampled.
+        return Math.max(res, getEqualsSelectivity());
+    }
+
+    @Override
+    public String toString() {
+        return "ColumnStatistics{distinctCount=" + distinctCount + ", nullFraction=" + nullFraction
+            + ", histogram=" + histogram + '}';
+    }
+}
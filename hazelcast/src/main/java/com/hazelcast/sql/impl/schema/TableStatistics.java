@@ -28,4 +28,24 @@ public interface TableStatistics {
      * @return Estimated number of rows in the table. Never negative.
      */
     long getRowCount();
+
+    /**
+     * Gets the statistics of the given column that is used during planning for selectivity estimation.
+     *
+     * @param index Index of the column.
+     * @return Statistics of the column or {@code null} if the table doesn't collect column statistics.
+     */
+    default ColumnStatistics getColumnStatistics(int index) {
+        return null;
+    }
+
+    /**
+     * Gets the version of the statistics. The version changes when the statistics drift significantly from the values that
+     * were observed previously, so that plans optimized with the old values could be re-optimized.
+     *
+     * @return Version of the statistics.
+     */
+    default long getVersion() {
+        return 0L;
+    }
 }
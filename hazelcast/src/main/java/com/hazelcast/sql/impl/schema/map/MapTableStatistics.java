@@ -0,0 +1,79 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.sql.impl.schema.map;
+
+import com.hazelcast.sql.impl.schema.ColumnStatistics;
+import com.hazelcast.sql.impl.schema.TableField;
+import com.hazelcast.sql.impl.schema.TableStatistics;
+
+import java.util.List;
+
+/**
+ * Statistics of a map-backed table collected by {@link MapTableStatisticsCollector}.
+ */
+public class MapTableStatistics implements TableStatistics {
+
+    private final long rowCount;
+    private final long collectedRowCount;
+    private final List<TableField> fields;
+    private final ColumnStatistics[] columns;
+    private final long version;
+
+    MapTableStatistics(
+        long rowCount,
+        long collectedRowCount,
+        List<TableField> fields,
+        ColumnStatistics[] columns,
+        long version
+    ) {
+        this.rowCount = rowCount;
+        this.collectedRowCount = collectedRowCount;
+        this.fields = fields;
+        this.columns = columns;
+        this.version = version;
+    }
+
+    @Override
+    public long getRowCount() {
+        return rowCount;
+    }
+
+    @Override
+    public ColumnStatistics getColumnStatistics(int index) {
+        return columns[index];
+    }
+
+    @Override
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * @return Row count at the moment when the column statistics were collected.
+     */
+    long getCollectedRowCount() {
+        return collectedRowCount;
+    }
+
+    List<TableField> getFields() {
+        return fields;
+    }
+
+    MapTableStatistics withRowCount(long rowCount) {
+        return new MapTableStatistics(rowCount, collectedRowCount, fields, columns, version);
+    }
+}
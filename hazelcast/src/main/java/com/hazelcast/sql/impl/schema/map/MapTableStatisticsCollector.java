@@ -0,0 +1,344 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.sql.impl.schema.map;
+
+import com.hazelcast.cardinality.impl.hyperloglog.HyperLogLog;
+import com.hazelcast.cardinality.impl.hyperloglog.impl.HyperLogLogImpl;
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.internal.util.Clock;
+import com.hazelcast.internal.util.collection.PartitionIdSet;
+import com.hazelcast.map.impl.MapContainer;
+import com.hazelcast.map.impl.MapServiceContext;
+import com.hazelcast.map.impl.PartitionContainer;
+import com.hazelcast.map.impl.record.Record;
+import com.hazelcast.map.impl.recordstore.RecordStore;
+import com.hazelcast.sql.impl.exec.scan.MapScanRow;
+import com.hazelcast.sql.impl.extract.QueryPath;
+import com.hazelcast.sql.impl.extract.QueryTargetDescriptor;
+import com.hazelcast.sql.impl.schema.ColumnHistogram;
+import com.hazelcast.sql.impl.schema.ColumnStatistics;
+import com.hazelcast.sql.impl.schema.TableField;
+import com.hazelcast.sql.impl.type.QueryDataType;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.hazelcast.internal.util.HashUtil.MurmurHash3_fmix;
+
+/**
+ * Collects and caches statistics of partitioned maps on the local member.
+ * <p>
+ * Column statistics are collected from a bounded sample of entries of the locally owned partitions: the number of distinct
+ * values is estimated with a {@link HyperLogLog} sketch, and numeric columns get an equi-depth histogram. Collection is
+ * performed lazily during table resolution, and is repeated only when the row count of the map drifts from the row count
+ * observed during the previous collection. Every collection produces statistics with a new version, which is a part of the
+ * plan object key, so that cached plans optimized with the stale statistics are invalidated.
+ */
+public class MapTableStatisticsCollector {
+
+    /** Maximum number of entries sampled on the local member. */
+    static final int SAMPLE_SIZE = 4096;
+
+    /** Relative change of the row count which causes re-collection of the statistics. */
+    static final double DRIFT_RATIO = 0.2d;
+
+    /** Minimal absolute change of the row count which causes re-collection, so that small maps are not re-sampled often. */
+    static final long DRIFT_MIN_ROWS = 1000L;
+
+    /** Number of buckets in the histogram. */
+    private static final int HISTOGRAM_BUCKETS = 32;
+
+    /** Precision of the HyperLogLog sketch, the sketch takes 2^p bytes at most. */
+    private static final int HLL_PRECISION = 12;
+
+    private final ConcurrentHashMap<String, MapTableStatistics> statistics = new ConcurrentHashMap<>();
+    private final AtomicLong versionGenerator = new AtomicLong();
+
+    /**
+     * Get statistics of the map, collecting them if needed.
+     *
+     * @param context Map service context.
+     * @param mapContainer Map container.
+     * @param fields Fields of the table.
+     * @param keyDescriptor Key descriptor.
+     * @param valueDescriptor Value descriptor.
+     * @param rowCount Estimated row count of the map.
+     * @param serializationService Serialization service.
+     * @return Statistics.
+     */
+    @SuppressWarnings("checkstyle:ParameterNumber")
+    public MapTableStatistics get(
+        MapServiceContext context,
+        MapContainer mapContainer,
+        List<TableField> fields,
+        QueryTargetDescriptor keyDescriptor,
+        QueryTargetDescriptor valueDescriptor,
+        long rowCount,
+        InternalSerializationService serializationService
+    ) {
+        String mapName = mapContainer.getName();
+
+        MapTableStatistics current = statistics.get(mapName);
+
+        if (current != null && current.getFields().equals(fields) && !isDrifted(current.getCollectedRowCount(), rowCount)) {
+            return current.getRowCount() == rowCount ? current : current.withRowCount(rowCount);
+        }
+
+        ColumnStatistics[] columns = collect(context, mapContainer, fields, keyDescriptor, valueDescriptor, rowCount,
+            serializationService);
+
+        MapTableStatistics res = new MapTableStatistics(rowCount, rowCount, fields, columns, versionGenerator.incrementAndGet());
+
+        statistics.put(mapName, res);
+
+        return res;
+    }
+
+    /**
+     * Remove statistics of maps that are no longer present.
+     *
+     * @param mapNames Names of the existing maps.
+     */
+    public void retain(Set<String> mapNames) {
+        statistics.keySet().retainAll(mapNames);
+    }
+
+    static boolean isDrifted(long collectedRowCount, long rowCount) {
+        long delta = Math.abs(rowCount - collectedRowCount);
+
+        return delta > DRIFT_MIN_ROWS && delta > collectedRowCount * DRIFT_RATIO;
+    }
+
+    @SuppressWarnings({"rawtypes", "checkstyle:ParameterNumber"})
+    private static ColumnStatistics[] collect(
+        MapServiceContext context,
+        MapContainer mapContainer,
+        List<TableField> fields,
+        QueryTargetDescriptor keyDescriptor,
+        QueryTargetDescriptor valueDescriptor,
+        long rowCount,
+        InternalSerializationService serializationService
+    ) {
+        List<QueryPath> fieldPaths = new ArrayList<>(fields.size());
+        List<QueryDataType> fieldTypes = new ArrayList<>(fields.size());
+
+        for (TableField field : fields) {
+            fieldPaths.add(((MapTableField) field).getPath());
+            fieldTypes.add(field.getType());
+        }
+
+        MapScanRow row = MapScanRow.create(
+            keyDescriptor,
+            valueDescriptor,
+            fieldPaths,
+            fieldTypes,
+            mapContainer.getExtractors(),
+            serializationService
+        );
+
+        ColumnSample[] samples = new ColumnSample[fields.size()];
+
+        for (int i = 0; i < samples.length; i++) {
+            samples[i] = new ColumnSample(isNumeric(fieldTypes.get(i)));
+        }
+
+        PartitionIdSet ownedPartitions = context.getOwnedPartitions();
+        int perPartitionLimit = Math.max(SAMPLE_SIZE / Math.max(ownedPartitions.size(), 1), 1);
+        long now = Clock.currentTimeMillis();
+        int sampledCount = 0;
+
+        for (PartitionContainer partitionContainer : context.getPartitionContainers()) {
+            if (sampledCount == SAMPLE_SIZE) {
+                break;
+            }
+
+            if (!ownedPartitions.contains(partitionContainer.getPartitionId())) {
+                continue;
+            }
+
+            RecordStore recordStore = partitionContainer.getExistingRecordStore(mapContainer.getName());
+
+            if (recordStore == null) {
+                continue;
+            }
+
+            int limit = Math.min(perPartitionLimit, SAMPLE_SIZE - sampledCount);
+
+            sampledCount += samplePartition(recordStore, row, samples, limit, now);
+        }
+
+        ColumnStatistics[] res = new ColumnStatistics[samples.length];
+
+        for (int i = 0; i < samples.length; i++) {
+            res[i] = samples[i].toStatistics(sampledCount, rowCount);
+        }
+
+        return res;
+    }
+
+    @SuppressWarnings("rawtypes")
+    private static int samplePartition(RecordStore recordStore, MapScanRow row, ColumnSample[] samples, int limit, long now) {
+        Iterator<Map.Entry<Data, Record>> iterator = recordStore.iterator();
+        int visitedCount = 0;
+        int sampledCount = 0;
+
+        // Entries that could not be sampled are counted as well to bound the amount of work.
+        while (iterator.hasNext() && visitedCount < limit) {
+            Map.Entry<Data, Record> entry = iterator.next();
+
+            if (recordStore.isExpired(entry.getValue(), now, false)) {
+                continue;
+            }
+
+            visitedCount++;
+
+            row.setKeyValue(entry.getKey(), entry.getValue().getValue());
+
+            if (sampleRow(row, samples)) {
+                sampledCount++;
+            }
+        }
+
+        return sampledCount;
+    }
+
+    private static boolean sampleRow(MapScanRow row, ColumnSample[] samples) {
+        Object[] values = new Object[samples.length];
+
+        try {
+            for (int i = 0; i < samples.length; i++) {
+                values[i] = row.get(i);
+            }
+        } catch (Exception e) {
+            // The entry doesn't conform to the schema of the sampled entry, it will fail the query anyway.
+            return false;
+        }
+
+        for (int i = 0; i < samples.length; i++) {
+            samples[i].add(values[i]);
+        }
+
+        return true;
+    }
+
+    private static boolean isNumeric(QueryDataType type) {
+        switch (type.getTypeFamily()) {
+            case TINYINT:
+            case SMALLINT:
+            case INT:
+            case BIGINT:
+            case DECIMAL:
+            case REAL:
+            case DOUBLE:
+                return true;
+
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * Values of a single column observed during sampling.
+     */
+    private static final class ColumnSample {
+
+        private final HyperLogLog distinct = new HyperLogLogImpl(HLL_PRECISION);
+        private final double[] numericValues;
+        private int numericCount;
+        private int nullCount;
+
+        private ColumnSample(boolean numeric) {
+            numericValues = numeric ? new double[SAMPLE_SIZE] : null;
+        }
+
+        private void add(Object value) {
+            if (value == null) {
+                nullCount++;
+
+                return;
+            }
+
+            if (numericValues != null) {
+                double numericValue = ((Number) value).doubleValue();
+
+                numericValues[numericCount++] = numericValue;
+
+                distinct.add(MurmurHash3_fmix(numericHash(value, numericValue)));
+            } else {
+                distinct.add(MurmurHash3_fmix((long) value.hashCode()));
+            }
+        }
+
+        /**
+         * Hashes a numeric value for the distinct count. Values with a fraction are hashed by their exact value, since
+         * truncating them to a long would make, say, all DECIMAL values between 1 and 2 look the same.
+         */
+        private static long numericHash(Object value, double numericValue) {
+            if (value instanceof Double || value instanceof Float) {
+                return Double.doubleToLongBits(numericValue);
+            } else if (value instanceof BigDecimal) {
+                return ((BigDecimal) value).stripTrailingZeros().hashCode();
+            } else {
+                return ((Number) value).longValue();
+            }
+        }
+
+        /**
+         * Converts the sample to the statistics of the whole table.
+         * <p>
+         * The number of distinct values in the table is extrapolated from the sample depending on the fraction of distinct
+         * values in it: when all sampled values are distinct, the column is assumed to be unique; when there are only a few
+         * distinct values in the sample, it is assumed that all of them have been observed.
+         */
+        private ColumnStatistics toStatistics(int sampledCount, long rowCount) {
+            if (sampledCount == 0) {
+                return new ColumnStatistics(rowCount, 0.0d, null);
+            }
+
+            int nonNullCount = sampledCount - nullCount;
+            double nullFraction = (double) nullCount / sampledCount;
+
+            if (nonNullCount == 0) {
+                return new ColumnStatistics(1, nullFraction, null);
+            }
+
+            double sampleDistinct = Math.min(distinct.estimate(), nonNullCount);
+            double distinctRatio = sampleDistinct / nonNullCount;
+            double nonNullRowCount = Math.max(rowCount * (1.0d - nullFraction), nonNullCount);
+
+            double distinctCount = sampleDistinct + (nonNullRowCount - nonNullCount) * distinctRatio * distinctRatio;
+
+            ColumnHistogram histogram = null;
+
+            if (numericValues != null) {
+                Arrays.sort(numericValues, 0, numericCount);
+
+                histogram = ColumnHistogram.create(numericValues, numericCount, HISTOGRAM_BUCKETS);
+            }
+
+            return new ColumnStatistics(distinctCount, nullFraction, histogram);
+        }
+    }
+}
@@ -18,10 +18,19 @@ package com.hazelcast.sql.impl.schema.map;
 
 import com.hazelcast.cluster.memberselector.MemberSelectors;
 import com.hazelcast.internal.util.collection.PartitionIdSet;
+import com.hazelcast.map.impl.MapContainer;
 import com.hazelcast.map.impl.MapServiceContext;
 import com.hazelcast.map.impl.PartitionContainer;
 import com.hazelcast.map.impl.recordstore.RecordStore;
+import com.hazelcast.query.impl.Indexes;
+import com.hazelcast.query.impl.InternalIndex;
 import com.hazelcast.spi.impl.NodeEngine;
+import com.hazelcast.sql.impl.extract.QueryPath;
+import com.hazelcast.sql.impl.schema.TableField;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 
 /**
  * Utility methods for schema resolution.
@@ -54,4 +63,95 @@ public final class MapTableUtils {
 
         return entryCount * memberCount;
     }
+
+    /**
+     * Get indexes of the map that could be used by the SQL engine. Only global on-heap indexes are considered. An index is
+     * returned only if it is fully built on the local member and every its component could be mapped to a table field.
+     *
+     * @param mapContainer Map container.
+     * @param fields Table fields.
+     * @return Indexes.
+     */
+    public static List<MapTableIndex> getPartitionedMapIndexes(MapContainer mapContainer, List<TableField> fields) {
+        Indexes indexes = mapContainer.getIndexes();
+
+        if (indexes == null) {
+            return Collections.emptyList();
+        }
+
+        InternalIndex[] indexes0 = indexes.getIndexes();
+
+        List<MapTableIndex> res = new ArrayList<>(indexes0.length);
+
+        int ownedPartitionCount = mapContainer.getMapServiceContext().getOwnedPartitions().size();
+
+        for (InternalIndex index : indexes0) {
+            if (!index.allPartitionsIndexed(ownedPartitionCount)) {
+                // Still being built, e.g. after a migration or index creation.
+                continue;
+            }
+
+            List<Integer> fieldOrdinals = getIndexFieldOrdinals(index.getComponents(), fields);
+
+            if (fieldOrdinals == null) {
+                continue;
+            }
+
+            res.add(new MapTableIndex(index.getName(), index.getConfig().getType(), fieldOrdinals));
+        }
+
+        return res;
+    }
+
+    /**
+     * Get the ordinal of the field which defines the partition of the entry. This is the key field, unless the map uses a
+     * custom partitioning strategy.
+     *
+     * @param mapContainer Map container.
+     * @param fields Table fields.
+     * @return Ordinal of the field or {@link PartitionedMapTable#DISTRIBUTION_FIELD_ORDINAL_NONE}.
+     */
+    public static int getPartitionedMapDistributionField(MapContainer mapContainer, List<TableField> fields) {
+        if (mapContainer.getPartitioningStrategy() != null) {
+            return PartitionedMapTable.DISTRIBUTION_FIELD_ORDINAL_NONE;
+        }
+
+        for (int i = 0; i < fields.size(); i++) {
+            MapTableField field = (MapTableField) fields.get(i);
+
+            if (field.getPath().equals(QueryPath.KEY_PATH)) {
+                return i;
+            }
+        }
+
+        return PartitionedMapTable.DISTRIBUTION_FIELD_ORDINAL_NONE;
+    }
+
+    private static List<Integer> getIndexFieldOrdinals(String[] components, List<TableField> fields) {
+        List<Integer> res = new ArrayList<>(components.length);
+
+        for (String component : components) {
+            QueryPath componentPath = QueryPath.create(component);
+
+            int fieldOrdinal = -1;
+
+            for (int i = 0; i < fields.size(); i++) {
+                MapTableField field = (MapTableField) fields.get(i);
+
+                if (field.getPath().equals(componentPath)) {
+                    fieldOrdinal = i;
+
+                    break;
+                }
+            }
+
+            if (fieldOrdinal == -1) {
+                return null;
+            }
+
+            res.add(fieldOrdinal);
+        }
+
+        return res;
+    }
 }
@@ -23,23 +23,55 @@ import com.hazelcast.sql.impl.plan.cache.PlanObjectKey;
 import com.hazelcast.sql.impl.schema.TableField;
 import com.hazelcast.sql.impl.schema.TableStatistics;
 
+import java.util.Collections;
 import java.util.List;
 
 import static com.hazelcast.sql.impl.QueryUtils.SCHEMA_NAME_PARTITIONED;
 
 public class PartitionedMapTable extends AbstractMapTable {
+
+    public static final int DISTRIBUTION_FIELD_ORDINAL_NONE = -1;
+
+    private final List<MapTableIndex> indexes;
+    private final int distributionFieldOrdinal;
+
     public PartitionedMapTable(
         String name,
         List<TableField> fields,
         TableStatistics statistics,
         QueryTargetDescriptor keyDescriptor,
-        QueryTargetDescriptor valueDescriptor
+        QueryTargetDescriptor valueDescriptor,
+        List<MapTableIndex> indexes,
+        int distributionFieldOrdinal
     ) {
         super(SCHEMA_NAME_PARTITIONED, name, fields, statistics, keyDescriptor, valueDescriptor);
+
+        this.indexes = indexes;
+        this.distributionFieldOrdinal = distributionFieldOrdinal;
     }
 
     public PartitionedMapTable(String name, QueryException exception) {
         super(SCHEMA_NAME_PARTITIONED, name, exception);
+
+        this.indexes = Collections.emptyList();
+        this.distributionFieldOrdinal = DISTRIBUTION_FIELD_ORDINAL_NONE;
+    }
+
+    public List<MapTableIndex> getIndexes() {
+        checkException();
+
+        return indexes;
+    }
+
+    /**
+     * @return Ordinal of the field which defines the partition of the entry, or {@link #DISTRIBUTION_FIELD_ORDINAL_NONE}
+     *     if the partition cannot be derived from a single field. Entries of two maps with equal values of this field are
+     *     guaranteed to be located in the same partition.
+     */
+    public int getDistributionFieldOrdinal() {
+        checkException();
+
+        return distributionFieldOrdinal;
     }
 
     @Override
@@ -54,7 +86,10 @@ public class PartitionedMapTable extends AbstractMapTable {
             getFields(),
             getConflictingSchemas(),
             getKeyDescriptor(),
-            getValueDescriptor()
+            getValueDescriptor(),
+            indexes,
+            distributionFieldOrdinal,
+            getStatistics().getVersion()
         );
     }
 }
@@ -29,7 +29,6 @@ import com.hazelcast.map.impl.recordstore.RecordStore;
 import com.hazelcast.spi.impl.NodeEngine;
 import com.hazelcast.sql.impl.QueryException;
 import com.hazelcast.sql.impl.QueryUtils;
-import com.hazelcast.sql.impl.schema.ConstantTableStatistics;
 import com.hazelcast.sql.impl.schema.Table;
 import com.hazelcast.sql.impl.schema.TableField;
 import com.hazelcast.sql.impl.schema.map.sample.MapSampleMetadata;
@@ -52,6 +51,8 @@ public class PartitionedMapTableResolver extends AbstractMapTableResolver {
     private static final List<List<String>> SEARCH_PATHS =
         Collections.singletonList(Arrays.asList(QueryUtils.CATALOG, SCHEMA_NAME_PARTITIONED));
 
+    private final MapTableStatisticsCollector statisticsCollector = new MapTableStatisticsCollector();
+
     public PartitionedMapTableResolver(NodeEngine nodeEngine) {
         super(nodeEngine, SEARCH_PATHS);
     }
@@ -66,7 +67,7 @@ public class PartitionedMapTableResolver extends AbstractMapTableResolver {
 
         // Get started maps.
         for (String mapName : context.getMapContainers().keySet()) {
-            PartitionedMapTable table = createTable(nodeEngine, context, mapName);
+            PartitionedMapTable table = createTable(nodeEngine, context, mapName, statisticsCollector);
 
             if (table == null) {
                 continue;
@@ -76,6 +77,9 @@ public class PartitionedMapTableResolver extends AbstractMapTableResolver {
             knownNames.add(mapName);
         }
 
+        // Drop statistics of destroyed maps.
+        statisticsCollector.retain(context.getMapContainers().keySet());
+
         // Get maps that are not started locally yet.
         for (Map.Entry<String, MapConfig> configEntry : nodeEngine.getConfig().getMapConfigs().entrySet()) {
             String configMapName = configEntry.getKey();
@@ -97,7 +101,8 @@ public class PartitionedMapTableResolver extends AbstractMapTableResolver {
     public static PartitionedMapTable createTable(
         NodeEngine nodeEngine,
         MapServiceContext context,
-        String name
+        String name,
+        MapTableStatisticsCollector statisticsCollector
     ) {
         try {
             MapContainer mapContainer = context.getMapContainer(name);
@@ -148,13 +153,29 @@ public class PartitionedMapTableResolver extends AbstractMapTableResolver {
 
                 long estimatedRowCount = MapTableUtils.estimatePartitionedMapRowCount(nodeEngine, context, name);
 
+                MapTableStatistics statistics = statisticsCollector.get(
+                    context,
+                    mapContainer,
+                    fields,
+                    keyMetadata.getDescriptor(),
+                    valueMetadata.getDescriptor(),
+                    estimatedRowCount,
+                    ss
+                );
+
+                List<MapTableIndex> indexes = MapTableUtils.getPartitionedMapIndexes(mapContainer, fields);
+
+                int distributionFieldOrdinal = MapTableUtils.getPartitionedMapDistributionField(mapContainer, fields);
+
                 // Done.
                 return new PartitionedMapTable(
                     name,
                     fields,
-                    new ConstantTableStatistics(estimatedRowCount),
+                    statistics,
                     keyMetadata.getDescriptor(),
-                    valueMetadata.getDescriptor()
+                    valueMetadata.getDescriptor(),
+                    indexes,
+                    distributionFieldOrdinal
                 );
             }
 
@@ -19,6 +19,8 @@ package com.hazelcast.sql.impl.state;
 import com.hazelcast.sql.impl.worker.QueryFragmentExecutable;
 import com.hazelcast.sql.impl.operation.QueryAbstractExchangeOperation;
 
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -102,6 +104,15 @@ public class QueryDistributedState {
         return fragment;
     }
 
+    /**
+     * @return Fragments of the query, or an empty collection if the query is not started yet.
+     */
+    public Collection<QueryFragmentExecutable> getFragments() {
+        InitializedState initializedState0 = initializedState;
+
+        return initializedState0 != null ? initializedState0.fragments : Collections.emptyList();
+    }
+
     /**
      * Callback executed when the fragment is finished.
      *
@@ -114,6 +125,7 @@ public class QueryDistributedState {
     }
 
     private static final class InitializedState {
+        private final List<QueryFragmentExecutable> fragments;
         private final Map<Integer, QueryFragmentExecutable> inboundEdgeToFragment = new HashMap<>();
         private final Map<Integer, QueryFragmentExecutable> outboundEdgeToFragment = new HashMap<>();
 
@@ -121,6 +133,8 @@ public class QueryDistributedState {
         private final AtomicInteger remainingFragmentCount;
 
         private InitializedState(List<QueryFragmentExecutable> fragmentExecutables) {
+            this.fragments = fragmentExecutables;
+
             for (QueryFragmentExecutable fragmentExecutable : fragmentExecutables) {
                 for (Integer inboxEdgeId : fragmentExecutable.getInboxEdgeIds()) {
                     QueryFragmentExecutable oldFragmentExecutable = inboundEdgeToFragment.put(inboxEdgeId, fragmentExecutable);
@@ -22,6 +22,9 @@ import com.hazelcast.sql.impl.QueryResultProducer;
 import com.hazelcast.sql.impl.plan.cache.CachedPlanInvalidationCallback;
 import com.hazelcast.sql.impl.plan.Plan;
 
+import java.util.Collection;
+import java.util.UUID;
+
 /**
  * Immutable state that is defined only on the initiator node.
  */
@@ -29,6 +32,7 @@ public class QueryInitiatorState {
 
     private final QueryId queryId;
     private final Plan plan;
+    private final Collection<UUID> participants;
     private final CachedPlanInvalidationCallback planInvalidationCallback;
     private final SqlRowMetadata rowMetadata;
     private final QueryResultProducer resultProducer;
@@ -37,6 +41,7 @@ public class QueryInitiatorState {
     public QueryInitiatorState(
         QueryId queryId,
         Plan plan,
+        Collection<UUID> participants,
         CachedPlanInvalidationCallback planInvalidationCallback,
         SqlRowMetadata rowMetadata,
         QueryResultProducer resultProducer,
@@ -44,6 +49,7 @@ public class QueryInitiatorState {
     ) {
         this.queryId = queryId;
         this.plan = plan;
+        this.participants = participants;
         this.planInvalidationCallback = planInvalidationCallback;
         this.rowMetadata = rowMetadata;
         this.resultProducer = resultProducer;
@@ -58,6 +64,13 @@ public class QueryInitiatorState {
         return plan;
     }
 
+    /**
+     * @return Members the query is executed on. May be a subset of the plan members if the partitions are pruned.
+     */
+    public Collection<UUID> getParticipants() {
+        return participants;
+    }
+
     public CachedPlanInvalidationCallback getPlanInvalidationCallback() {
         return planInvalidationCallback;
     }
@@ -63,6 +63,7 @@ public final class QueryState implements QueryStateCallback {
     /** Time when the a check was performed for the last time. */
     private volatile long checkTime;
 
+    @SuppressWarnings("checkstyle:ParameterNumber")
     private QueryState(
         QueryId queryId,
         UUID localMemberId,
@@ -70,6 +71,7 @@ public final class QueryState implements QueryStateCallback {
         boolean initiator,
         long initiatorTimeout,
         Plan initiatorPlan,
+        Collection<UUID> initiatorParticipants,
         CachedPlanInvalidationCallback initiatorPlanInvalidationCallback,
         SqlRowMetadata initiatorRowMetadata,
         QueryResultProducer initiatorRowSource,
@@ -84,6 +86,7 @@ public final class QueryState implements QueryStateCallback {
             initiatorState = new QueryInitiatorState(
                 queryId,
                 initiatorPlan,
+                initiatorParticipants,
                 initiatorPlanInvalidationCallback,
                 initiatorRowMetadata,
                 initiatorRowSource,
@@ -106,6 +109,7 @@ public final class QueryState implements QueryStateCallback {
         QueryStateCompletionCallback completionCallback,
         long initiatorTimeout,
         Plan initiatorPlan,
+        Collection<UUID> initiatorParticipants,
         CachedPlanInvalidationCallback initiatorPlanInvalidationCallback,
         SqlRowMetadata initiatorRowMetadata,
         QueryResultProducer initiatorResultProducer,
@@ -118,6 +122,7 @@ public final class QueryState implements QueryStateCallback {
             true,
             initiatorTimeout,
             initiatorPlan,
+            initiatorParticipants,
             initiatorPlanInvalidationCallback,
             initiatorRowMetadata,
             initiatorResultProducer,
@@ -147,6 +152,7 @@ public final class QueryState implements QueryStateCallback {
             null,
             null,
             null,
+            null,
             clockProvider
         );
     }
@@ -361,6 +367,6 @@ public final class QueryState implements QueryStateCallback {
     }
 
     private Collection<UUID> getParticipants() {
-        return initiatorState.getPlan().getMemberIds();
+        return initiatorState.getParticipants();
     }
 }
@@ -47,6 +47,7 @@ public class QueryStateRegistry {
         UUID localMemberId,
         long initiatorTimeout,
         Plan initiatorPlan,
+        Collection<UUID> initiatorParticipants,
         CachedPlanInvalidationCallback initiatorPlanInvalidationCallback,
         SqlRowMetadata initiatorRowMetadata,
         QueryResultProducer initiatorResultProducer,
@@ -60,6 +61,7 @@ public class QueryStateRegistry {
             completionCallback,
             initiatorTimeout,
             initiatorPlan,
+            initiatorParticipants,
             initiatorPlanInvalidationCallback,
             initiatorRowMetadata,
             initiatorResultProducer,
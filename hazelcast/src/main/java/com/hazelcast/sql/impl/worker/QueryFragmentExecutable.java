@@ -79,6 +79,10 @@ public class QueryFragmentExecutable implements QueryFragmentScheduleCallback {
         this.fragmentPool = fragmentPool;
     }
 
+    public Map<Integer, InboundHandler> getInboxes() {
+        return inboxes;
+    }
+
     public Collection<Integer> getInboxEdgeIds() {
         return inboxes.keySet();
     }
@@ -0,0 +1,111 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.client;
+
+import com.hazelcast.client.config.ClientConfig;
+import com.hazelcast.client.properties.ClientProperty;
+import com.hazelcast.client.test.ClientTestSupport;
+import com.hazelcast.config.Config;
+import com.hazelcast.core.Hazelcast;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.internal.nio.compression.CompressionDecoder;
+import com.hazelcast.internal.nio.compression.CompressionEncoder;
+import com.hazelcast.internal.server.ServerConnection;
+import com.hazelcast.internal.server.tcp.TcpServerConnection;
+import com.hazelcast.map.IMap;
+import com.hazelcast.spi.properties.ClusterProperty;
+import com.hazelcast.test.HazelcastSerialClassRunner;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.After;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.Collection;
+import java.util.Map;
+
+import static com.hazelcast.test.Accessors.getNode;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastSerialClassRunner.class)
+@Category(QuickTest.class)
+public class ClientNetworkCompressionTest extends ClientTestSupport {
+
+    private static final int ENTRY_COUNT = 100;
+    private static final int VALUE_LENGTH = 10000;
+
+    @After
+    public void cleanUp() {
+        HazelcastClient.shutdownAll();
+        Hazelcast.shutdownAll();
+    }
+
+    @Test
+    public void whenCompressionEnabledOnClient() {
+        HazelcastInstance instance = Hazelcast.newHazelcastInstance(smallInstanceConfig());
+
+        assertMapRoundTrip(newCompressedClient());
+        assertAllConnectionsCompressed(instance);
+    }
+
+    @Test
+    public void whenCompressionEnabledOnClientAndMember() {
+        Config config = smallInstanceConfig();
+        config.setProperty(ClusterProperty.NETWORK_COMPRESSION_ENABLED.getName(), "true");
+        HazelcastInstance instance = Hazelcast.newHazelcastInstance(config);
+
+        assertMapRoundTrip(newCompressedClient());
+        assertAllConnectionsCompressed(instance);
+    }
+
+    private static HazelcastInstance newCompressedClient() {
+        ClientConfig clientConfig = new ClientConfig();
+        clientConfig.setProperty(ClientProperty.NETWORK_COMPRESSION_ENABLED.getName(), "true");
+        return HazelcastClient.newHazelcastClient(clientConfig);
+    }
+
+    private static void assertMapRoundTrip(HazelcastInstance client) {
+        IMap<Integer, byte[]> map = client.getMap("map");
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            map.put(i, value(i));
+        }
+
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            assertArrayEquals(value(i), map.get(i));
+        }
+    }
+
+    private static void assertAllConnectionsCompressed(HazelcastInstance instance) {
+        Collection<ServerConnection> connections = getNode(instance).getServer().getConnections();
+        assertFalse(connections.isEmpty());
+        for (ServerConnection connection : connections) {
+            Map<Object, Object> attributes = ((TcpServerConnection) connection).getChannel().attributeMap();
+            assertTrue(attributes.containsKey(CompressionEncoder.class));
+            assertTrue(attributes.containsKey(CompressionDecoder.class));
+        }
+    }
+
+    private static byte[] value(int seed) {
+        byte[] value = new byte[VALUE_LENGTH];
+        for (int i = 0; i < value.length; i++) {
+            value[i] = (byte) ((seed + i) % 16);
+        }
+        return value;
+    }
+}
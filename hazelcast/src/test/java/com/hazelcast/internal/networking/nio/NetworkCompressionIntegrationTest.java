@@ -0,0 +1,155 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.networking.nio;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.instance.EndpointQualifier;
+import com.hazelcast.internal.nio.compression.CompressionDecoder;
+import com.hazelcast.internal.nio.compression.CompressionEncoder;
+import com.hazelcast.internal.server.NetworkStats;
+import com.hazelcast.internal.server.ServerConnection;
+import com.hazelcast.internal.server.tcp.TcpServerConnection;
+import com.hazelcast.map.IMap;
+import com.hazelcast.test.HazelcastSerialClassRunner;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.Collection;
+import java.util.Map;
+
+import static com.hazelcast.spi.properties.ClusterProperty.NETWORK_COMPRESSION_ENABLED;
+import static com.hazelcast.test.Accessors.getNode;
+import static com.hazelcast.test.HazelcastTestSupport.assertClusterSizeEventually;
+import static com.hazelcast.test.HazelcastTestSupport.assertTrueEventually;
+import static com.hazelcast.test.HazelcastTestSupport.smallInstanceConfig;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastSerialClassRunner.class)
+@Category(QuickTest.class)
+public class NetworkCompressionIntegrationTest extends AbstractAdvancedNetworkIntegrationTest {
+
+    private static final int ENTRY_COUNT = 100;
+    private static final int VALUE_LENGTH = 10000;
+
+    @Test
+    public void testAdvancedNetworking_whenCompressionEnabled() {
+        Config config = createCompleteMultiSocketConfig();
+        configureTcpIpConfig(config);
+        config.setProperty(NETWORK_COMPRESSION_ENABLED.getName(), "true");
+        HazelcastInstance instance1 = newHazelcastInstance(config);
+        HazelcastInstance instance2 = newHazelcastInstance(prepareSecondMemberConfig(true));
+        assertClusterSizeEventually(2, instance1, instance2);
+
+        assertMapRoundTrip(instance1, instance2);
+
+        assertTrueEventually(() -> {
+            NetworkStats stats1 = getMemberNetworkStats(instance1);
+            NetworkStats stats2 = getMemberNetworkStats(instance2);
+            assertTrue(stats1.getBytesSentUncompressed() > stats1.getBytesSent());
+            assertTrue(stats1.getBytesReceivedUncompressed() > stats1.getBytesReceived());
+            assertTrue(stats2.getBytesSentUncompressed() > stats2.getBytesSent());
+            assertTrue(stats2.getBytesReceivedUncompressed() > stats2.getBytesReceived());
+        });
+    }
+
+    @Test
+    public void testAdvancedNetworking_whenCompressionEnabledOnOneMember() {
+        Config config = createCompleteMultiSocketConfig();
+        configureTcpIpConfig(config);
+        HazelcastInstance instance1 = newHazelcastInstance(config);
+        HazelcastInstance instance2 = newHazelcastInstance(prepareSecondMemberConfig(true));
+        assertClusterSizeEventually(2, instance1, instance2);
+
+        assertMapRoundTrip(instance1, instance2);
+    }
+
+    @Test
+    public void testUnifiedNetworking_whenCompressionEnabled() {
+        HazelcastInstance instance1 = newHazelcastInstance(getUnisocketConfig(MEMBER_PORT, true));
+        HazelcastInstance instance2 = newHazelcastInstance(getUnisocketConfig(MEMBER_PORT + 1, true));
+        assertClusterSizeEventually(2, instance1, instance2);
+
+        assertMapRoundTrip(instance1, instance2);
+        assertAllConnectionsCompressed(instance1);
+        assertAllConnectionsCompressed(instance2);
+    }
+
+    @Test
+    public void testUnifiedNetworking_whenCompressionEnabledOnOneMember() {
+        HazelcastInstance instance1 = newHazelcastInstance(getUnisocketConfig(MEMBER_PORT, false));
+        HazelcastInstance instance2 = newHazelcastInstance(getUnisocketConfig(MEMBER_PORT + 1, true));
+        assertClusterSizeEventually(2, instance1, instance2);
+
+        assertMapRoundTrip(instance1, instance2);
+    }
+
+    private Config prepareSecondMemberConfig(boolean compressionEnabled) {
+        Config config = prepareJoinConfigForSecondMember(MEMBER_PORT);
+        config.setProperty(NETWORK_COMPRESSION_ENABLED.getName(), String.valueOf(compressionEnabled));
+        return config;
+    }
+
+    private Config getUnisocketConfig(int memberPort, boolean compressionEnabled) {
+        Config config = smallInstanceConfig();
+        config.getNetworkConfig().setPort(memberPort);
+        config.getNetworkConfig().getJoin().getMulticastConfig().setEnabled(false);
+        config.getNetworkConfig().getJoin().getTcpIpConfig().setEnabled(true)
+              .addMember("127.0.0.1:" + MEMBER_PORT)
+              .addMember("127.0.0.1:" + (MEMBER_PORT + 1));
+        config.setProperty(NETWORK_COMPRESSION_ENABLED.getName(), String.valueOf(compressionEnabled));
+        return config;
+    }
+
+    private static void assertMapRoundTrip(HazelcastInstance instance1, HazelcastInstance instance2) {
+        IMap<Integer, byte[]> map1 = instance1.getMap("map");
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            map1.put(i, value(i));
+        }
+
+        IMap<Integer, byte[]> map2 = instance2.getMap("map");
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            assertArrayEquals(value(i), map2.get(i));
+        }
+    }
+
+    private static void assertAllConnectionsCompressed(HazelcastInstance instance) {
+        Collection<ServerConnection> connections = getNode(instance).getServer().getConnections();
+        assertFalse(connections.isEmpty());
+        for (ServerConnection connection : connections) {
+            Map<Object, Object> attributes = ((TcpServerConnection) connection).getChannel().attributeMap();
+            assertTrue(attributes.containsKey(CompressionEncoder.class));
+            assertTrue(attributes.containsKey(CompressionDecoder.class));
+        }
+    }
+
+    private static byte[] value(int seed) {
+        byte[] value = new byte[VALUE_LENGTH];
+        for (int i = 0; i < value.length; i++) {
+            value[i] = (byte) ((seed + i) % 16);
+        }
+        return value;
+    }
+
+    private static NetworkStats getMemberNetworkStats(HazelcastInstance instance) {
+        return getNode(instance).getServer().getNetworkStats().get(EndpointQualifier.MEMBER);
+    }
+}
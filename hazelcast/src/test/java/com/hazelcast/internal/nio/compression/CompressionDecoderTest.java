@@ -0,0 +1,182 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.nio.compression;
+
+import com.hazelcast.internal.networking.Channel;
+import com.hazelcast.internal.networking.ChannelCloseListener;
+import com.hazelcast.internal.networking.HandlerStatus;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Random;
+
+import static com.hazelcast.internal.networking.HandlerStatus.CLEAN;
+import static com.hazelcast.internal.networking.HandlerStatus.DIRTY;
+import static com.hazelcast.internal.nio.compression.CompressionEncoderTest.compressibleBytes;
+import static com.hazelcast.internal.nio.compression.CompressionEncoderTest.mockChannel;
+import static com.hazelcast.internal.nio.compression.CompressionFrames.HEADER_LENGTH;
+import static com.hazelcast.internal.nio.compression.CompressionFrames.MAX_FRAME_DATA_LENGTH;
+import static com.hazelcast.internal.nio.compression.CompressionFrames.MAX_FRAME_LENGTH;
+import static com.hazelcast.internal.util.EmptyStatement.ignore;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+import static org.mockito.Mockito.verify;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class CompressionDecoderTest extends HazelcastTestSupport {
+
+    private final CompressionDecoder decoder = new CompressionDecoder();
+
+    @Test
+    public void whenCompressedFrame() throws Exception {
+        byte[] data = compressibleBytes(10000);
+        byte[] frames = encode(data);
+
+        assertArrayEquals(data, decode(frames, 100000));
+        assertEquals(data.length, decoder.uncompressedBytes());
+        assertEquals(frames.length, decoder.compressedBytes());
+    }
+
+    @Test
+    public void whenRawFrame() throws Exception {
+        byte[] data = new byte[10000];
+        new Random().nextBytes(data);
+
+        assertArrayEquals(data, decode(encode(data), 100000));
+    }
+
+    @Test
+    public void whenMultipleFrames() throws Exception {
+        byte[] data = compressibleBytes(3 * MAX_FRAME_DATA_LENGTH + 10);
+
+        assertArrayEquals(data, decode(encode(data), 4 * MAX_FRAME_DATA_LENGTH));
+    }
+
+    @Test
+    public void whenFrameNotFullyReceived() throws Exception {
+        byte[] data = compressibleBytes(10000);
+        byte[] frames = encode(data);
+        ByteBuffer src = ByteBuffer.allocate(MAX_FRAME_LENGTH);
+        ByteBuffer dst = ByteBuffer.allocate(100000);
+        decoder.src(src);
+        decoder.dst(dst);
+
+        src.put(frames, 0, frames.length - 1);
+        assertEquals(CLEAN, decoder.onRead());
+        assertEquals(0, dst.position());
+
+        src.put(frames, frames.length - 1, 1);
+        assertEquals(CLEAN, decoder.onRead());
+        assertEquals(data.length, dst.position());
+    }
+
+    @Test
+    public void whenNotEnoughSpace() throws Exception {
+        byte[] data = compressibleBytes(10000);
+        ByteBuffer src = ByteBuffer.allocate(MAX_FRAME_LENGTH);
+        ByteBuffer dst = ByteBuffer.allocate(1000);
+        decoder.src(src);
+        decoder.dst(dst);
+        src.put(encode(data));
+
+        HandlerStatus result = decoder.onRead();
+        assertEquals(DIRTY, result);
+
+        // drain the dst until the complete frame has been read
+        ByteBuffer decoded = ByteBuffer.allocate(data.length);
+        for (; ; ) {
+            dst.flip();
+            decoded.put(dst);
+            dst.clear();
+            if (result == CLEAN) {
+                break;
+            }
+            result = decoder.onRead();
+        }
+
+        assertArrayEquals(data, decoded.array());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void whenUnknownFrameType() throws Exception {
+        byte[] frames = encode(compressibleBytes(10000));
+        frames[0] = 100;
+
+        decode(frames, 100000);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void whenFrameTooLarge() throws Exception {
+        ByteBuffer frame = ByteBuffer.allocate(HEADER_LENGTH);
+        frame.put((byte) 0).putInt(MAX_FRAME_DATA_LENGTH + 1).putInt(MAX_FRAME_DATA_LENGTH + 1);
+
+        decode(frame.array(), 100000);
+    }
+
+    @Test
+    public void whenChannelClosed_thenInflaterEnded() throws Exception {
+        Channel channel = mockChannel(false);
+        decoder.setChannel(channel).handlerAdded();
+        ArgumentCaptor<ChannelCloseListener> closeListener = ArgumentCaptor.forClass(ChannelCloseListener.class);
+        verify(channel).addCloseListener(closeListener.capture());
+
+        closeListener.getValue().onClose(channel);
+
+        decoder.src().put(encode(compressibleBytes(10000)));
+        decoder.dst(ByteBuffer.allocate(100000));
+        try {
+            decoder.onRead();
+            fail("the inflater should have been ended");
+        } catch (NullPointerException expected) {
+            ignore(expected);
+        }
+    }
+
+    private byte[] decode(byte[] frames, int dstSize) throws Exception {
+        ByteBuffer src = ByteBuffer.allocate(frames.length);
+        ByteBuffer dst = ByteBuffer.allocate(dstSize);
+        src.put(frames);
+        decoder.src(src);
+        decoder.dst(dst);
+
+        assertEquals(CLEAN, decoder.onRead());
+        return Arrays.copyOf(dst.array(), dst.position());
+    }
+
+    private static byte[] encode(byte[] data) {
+        CompressionEncoder encoder = new CompressionEncoder(0);
+        ByteBuffer dst = ByteBuffer.allocate(data.length + 4 * MAX_FRAME_LENGTH);
+        dst.flip();
+        encoder.src(ByteBuffer.wrap(data));
+        encoder.dst(dst);
+
+        assertEquals(CLEAN, encoder.onWrite());
+        byte[] frames = new byte[dst.remaining()];
+        dst.get(frames);
+        return frames;
+    }
+}
@@ -0,0 +1,199 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.nio.compression;
+
+import com.hazelcast.internal.networking.Channel;
+import com.hazelcast.internal.networking.ChannelCloseListener;
+import com.hazelcast.internal.networking.ChannelOptions;
+import com.hazelcast.internal.networking.HandlerStatus;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+
+import java.nio.ByteBuffer;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static com.hazelcast.internal.networking.ChannelOption.DIRECT_BUF;
+import static com.hazelcast.internal.networking.ChannelOption.SO_RCVBUF;
+import static com.hazelcast.internal.networking.ChannelOption.SO_SNDBUF;
+import static com.hazelcast.internal.networking.HandlerStatus.CLEAN;
+import static com.hazelcast.internal.networking.HandlerStatus.DIRTY;
+import static com.hazelcast.internal.nio.compression.CompressionFrames.HEADER_LENGTH;
+import static com.hazelcast.internal.nio.compression.CompressionFrames.MAX_FRAME_DATA_LENGTH;
+import static com.hazelcast.internal.nio.compression.CompressionFrames.MAX_FRAME_LENGTH;
+import static com.hazelcast.internal.nio.compression.CompressionFrames.OFFSET_DATA_LENGTH;
+import static com.hazelcast.internal.nio.compression.CompressionFrames.OFFSET_LENGTH;
+import static com.hazelcast.internal.nio.compression.CompressionFrames.OFFSET_TYPE;
+import static com.hazelcast.internal.nio.compression.CompressionFrames.TYPE_DEFLATED;
+import static com.hazelcast.internal.nio.compression.CompressionFrames.TYPE_RAW;
+import static com.hazelcast.internal.util.EmptyStatement.ignore;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class CompressionEncoderTest extends HazelcastTestSupport {
+
+    private static final int THRESHOLD = 1024;
+
+    private final CompressionEncoder encoder = new CompressionEncoder(THRESHOLD);
+
+    @Test
+    public void whenCompressible_thenDeflated() {
+        ByteBuffer dst = encode(compressibleBytes(10000), 100000);
+
+        assertEquals(TYPE_DEFLATED, dst.get(OFFSET_TYPE));
+        assertEquals(dst.remaining() - HEADER_LENGTH, dst.getInt(OFFSET_LENGTH));
+        assertEquals(10000, dst.getInt(OFFSET_DATA_LENGTH));
+        assertTrue(dst.remaining() < 10000);
+        assertEquals(10000, encoder.uncompressedBytes());
+        assertEquals(dst.remaining(), encoder.compressedBytes());
+    }
+
+    @Test
+    public void whenBelowThreshold_thenRaw() {
+        byte[] data = compressibleBytes(THRESHOLD - 1);
+
+        ByteBuffer dst = encode(data, 100000);
+
+        assertEquals(TYPE_RAW, dst.get(OFFSET_TYPE));
+        assertEquals(data.length, dst.getInt(OFFSET_LENGTH));
+        assertEquals(data.length, dst.getInt(OFFSET_DATA_LENGTH));
+        assertEquals(HEADER_LENGTH + data.length, dst.remaining());
+    }
+
+    @Test
+    public void whenIncompressible_thenRaw() {
+        byte[] data = new byte[10000];
+        new Random().nextBytes(data);
+
+        ByteBuffer dst = encode(data, 100000);
+
+        assertEquals(TYPE_RAW, dst.get(OFFSET_TYPE));
+        assertEquals(HEADER_LENGTH + data.length, dst.remaining());
+    }
+
+    @Test
+    public void whenMoreThanMaxFrameData_thenMultipleFrames() {
+        ByteBuffer dst = encode(compressibleBytes(MAX_FRAME_DATA_LENGTH + 1), 100000);
+
+        assertEquals(MAX_FRAME_DATA_LENGTH, dst.getInt(OFFSET_DATA_LENGTH));
+        int secondFrame = HEADER_LENGTH + dst.getInt(OFFSET_LENGTH);
+        assertEquals(TYPE_RAW, dst.get(secondFrame + OFFSET_TYPE));
+        assertEquals(1, dst.getInt(secondFrame + OFFSET_DATA_LENGTH));
+        assertEquals(secondFrame + HEADER_LENGTH + 1, dst.remaining());
+    }
+
+    @Test
+    public void whenNotEnoughSpace() {
+        byte[] data = new byte[10000];
+        new Random().nextBytes(data);
+        ByteBuffer dst = ByteBuffer.allocate(1000);
+        dst.flip();
+        encoder.src(ByteBuffer.wrap(data));
+        encoder.dst(dst);
+
+        HandlerStatus result = encoder.onWrite();
+
+        assertEquals(DIRTY, result);
+        assertEquals(1000, dst.remaining());
+
+        // drain the dst until the complete frame has been written
+        int written = 0;
+        do {
+            written += dst.remaining();
+            dst.position(dst.limit());
+            result = encoder.onWrite();
+        } while (result == DIRTY);
+        written += dst.remaining();
+
+        assertEquals(CLEAN, result);
+        assertEquals(HEADER_LENGTH + data.length, written);
+        assertFalse(encoder.src().hasRemaining());
+    }
+
+    @Test
+    public void whenChannelClosed_thenDeflaterEnded() {
+        Channel channel = mockChannel(false);
+        encoder.setChannel(channel).handlerAdded();
+        ArgumentCaptor<ChannelCloseListener> closeListener = ArgumentCaptor.forClass(ChannelCloseListener.class);
+        verify(channel).addCloseListener(closeListener.capture());
+
+        closeListener.getValue().onClose(channel);
+
+        assertDeflaterEnded();
+    }
+
+    @Test
+    public void whenChannelAlreadyClosed_thenDeflaterEnded() {
+        encoder.setChannel(mockChannel(true)).handlerAdded();
+
+        assertDeflaterEnded();
+    }
+
+    private void assertDeflaterEnded() {
+        encoder.src(ByteBuffer.wrap(compressibleBytes(10000)));
+        try {
+            encoder.onWrite();
+            fail("the deflater should have been ended");
+        } catch (NullPointerException expected) {
+            ignore(expected);
+        }
+    }
+
+    static Channel mockChannel(boolean closed) {
+        ChannelOptions options = mock(ChannelOptions.class);
+        when(options.getOption(SO_SNDBUF)).thenReturn(MAX_FRAME_LENGTH);
+        when(options.getOption(SO_RCVBUF)).thenReturn(MAX_FRAME_LENGTH);
+        when(options.getOption(DIRECT_BUF)).thenReturn(false);
+
+        Channel channel = mock(Channel.class);
+        when(channel.options()).thenReturn(options);
+        when(channel.attributeMap()).thenReturn(new ConcurrentHashMap());
+        when(channel.isClosed()).thenReturn(closed);
+        return channel;
+    }
+
+    private ByteBuffer encode(byte[] data, int dstSize) {
+        ByteBuffer dst = ByteBuffer.allocate(dstSize);
+        dst.flip();
+        encoder.src(ByteBuffer.wrap(data));
+        encoder.dst(dst);
+
+        assertEquals(CLEAN, encoder.onWrite());
+        return dst;
+    }
+
+    static byte[] compressibleBytes(int length) {
+        byte[] bytes = new byte[length];
+        for (int i = 0; i < length; i++) {
+            bytes[i] = (byte) (i % 10);
+        }
+        return bytes;
+    }
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.util.collection;
+
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class TopKSelectorTest {
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNonPositiveK() {
+        new TopKSelector<Integer>(Comparator.naturalOrder(), 0);
+    }
+
+    @Test
+    public void testEmpty() {
+        TopKSelector<Integer> selector = new TopKSelector<>(Comparator.naturalOrder(), 3);
+        assertEquals(0, selector.size());
+        assertFalse(selector.isFull());
+        assertNull(selector.peekLargest());
+        assertTrue(selector.toSortedList().isEmpty());
+    }
+
+    @Test
+    public void testSelection() {
+        TopKSelector<Integer> selector = new TopKSelector<>(Comparator.naturalOrder(), 3);
+        assertTrue(selector.add(5));
+        assertTrue(selector.add(3));
+        assertTrue(selector.add(7));
+        assertTrue(selector.isFull());
+        assertEquals(7, (int) selector.peekLargest());
+
+        assertFalse(selector.add(7));
+        assertFalse(selector.add(8));
+        assertTrue(selector.add(1));
+        assertEquals(asList(1, 3, 5), selector.toSortedList());
+        assertEquals(3, selector.size());
+    }
+
+    @Test
+    public void testAgainstSorting() {
+        Random random = new Random();
+        List<Integer> values = new ArrayList<>();
+        for (int i = 0; i < 10000; ++i) {
+            values.add(random.nextInt(1000));
+        }
+
+        Comparator<Integer> comparator = Comparator.reverseOrder();
+        for (int k : new int[]{1, 10, 100, 10000, 20000}) {
+            TopKSelector<Integer> selector = new TopKSelector<>(comparator, k);
+            for (Integer value : values) {
+                selector.add(value);
+            }
+
+            List<Integer> sorted = new ArrayList<>(values);
+            Collections.sort(sorted, comparator);
+            assertEquals(sorted.subList(0, Math.min(k, sorted.size())), selector.toSortedList());
+        }
+    }
+
+}
@@ -23,6 +23,7 @@ import com.hazelcast.core.HazelcastInstance;
 import com.hazelcast.internal.serialization.InternalSerializationService;
 import com.hazelcast.internal.serialization.SerializationService;
 import com.hazelcast.internal.serialization.impl.DefaultSerializationServiceBuilder;
+import com.hazelcast.query.LocalIndexStats;
 import com.hazelcast.query.PagingPredicate;
 import com.hazelcast.query.Predicate;
 import com.hazelcast.query.Predicates;
@@ -254,6 +255,59 @@ public class PagingPredicateTest extends HazelcastTestSupport {
         assertIterableEquals(values, 7, 8, 8);
     }
 
+    @Test
+    public void testNaturalKeyOrderPagingUsingSortedIndex() {
+        map.addIndex(IndexType.SORTED, "__key");
+
+        // entries which has value greater than 20, the predicate is not indexed
+        Predicate<Integer, Integer> greaterThan = Predicates.greaterThan("this", 20);
+        PagingPredicate<Integer, Integer> predicate = Predicates.pagingPredicate(greaterThan, pageSize);
+
+        List<Integer> keys = new ArrayList<>();
+        Set<Integer> keySet = map.keySet(predicate);
+        while (keySet.size() > 0) {
+            assertTrue(keySet.size() <= pageSize);
+            keys.addAll(keySet);
+            predicate.nextPage();
+            keySet = map.keySet(predicate);
+        }
+
+        List<Integer> expected = new ArrayList<>();
+        for (int i = 21; i < size; ++i) {
+            expected.add(i);
+        }
+        assertEquals(expected, keys);
+        assertTrue(sortedIndexHitCount() > 0);
+    }
+
+    @Test
+    public void testNaturalValueOrderPagingUsingSortedIndex() {
+        map.addIndex(IndexType.SORTED, "this");
+        // keys[50-99] values[0-49]
+        for (int i = size; i < 2 * size; i++) {
+            map.put(i, i - size);
+        }
+
+        PagingPredicate<Integer, Integer> predicate = Predicates.pagingPredicate(pageSize);
+        predicate.setPage(3);
+        assertIterableEquals(map.values(predicate), 7, 8, 8, 9, 9);
+
+        predicate.nextPage();
+        assertIterableEquals(map.values(predicate), 10, 10, 11, 11, 12);
+        assertTrue(sortedIndexHitCount() > 0);
+    }
+
+    private long sortedIndexHitCount() {
+        long hitCount = 0;
+        for (HazelcastInstance instance : hazelcastFactory.getAllHazelcastInstances()) {
+            Map<String, LocalIndexStats> indexStats = instance.getMap(map.getName()).getLocalMapStats().getIndexStats();
+            for (LocalIndexStats stats : indexStats.values()) {
+                hitCount += stats.getHitCount();
+            }
+        }
+        return hitCount;
+    }
+
     @Test
     public void testGoToPreviousPageBeforeTheStart() {
         final PagingPredicate<Integer, Integer> predicate = Predicates.pagingPredicate(pageSize);
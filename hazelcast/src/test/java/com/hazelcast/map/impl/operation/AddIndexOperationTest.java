@@ -0,0 +1,172 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.operation;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.config.IndexConfig;
+import com.hazelcast.config.IndexType;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.map.IMap;
+import com.hazelcast.map.impl.MapService;
+import com.hazelcast.map.impl.proxy.MapProxyImpl;
+import com.hazelcast.query.Predicate;
+import com.hazelcast.query.Predicates;
+import com.hazelcast.query.impl.InternalIndex;
+import com.hazelcast.spi.properties.ClusterProperty;
+import com.hazelcast.test.HazelcastParallelParametersRunnerFactory;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.junit.runners.Parameterized.Parameter;
+import org.junit.runners.Parameterized.Parameters;
+import org.junit.runners.Parameterized.UseParametersRunnerFactory;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static java.util.Collections.singleton;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(Parameterized.class)
+@UseParametersRunnerFactory(HazelcastParallelParametersRunnerFactory.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class AddIndexOperationTest extends HazelcastTestSupport {
+
+    private static final int COUNT = 5000;
+
+    @Parameter
+    public IndexType indexType;
+
+    @Parameters(name = "indexType: {0}")
+    public static Collection<Object[]> parameters() {
+        return Arrays.asList(new Object[][]{
+                {IndexType.HASH},
+                {IndexType.SORTED},
+                {IndexType.BITMAP},
+        });
+    }
+
+    @Test
+    public void testOnlineBuild() {
+        IMap<Integer, Integer> map = newMap("10");
+        populate(map);
+
+        map.addIndex(new IndexConfig(indexType, "this").setName("this"));
+
+        assertIndexUsedAndConsistent(map);
+    }
+
+    @Test
+    public void testOnlineBuildWithConcurrentMutations() throws Exception {
+        IMap<Integer, Integer> map = newMap("10");
+        populate(map);
+
+        AtomicBoolean stop = new AtomicBoolean();
+        Future<?> mutator = spawn(() -> {
+            Random random = new Random();
+            while (!stop.get()) {
+                int key = random.nextInt(2 * COUNT);
+                if (random.nextBoolean()) {
+                    map.put(key, random.nextInt(COUNT));
+                } else {
+                    map.remove(key);
+                }
+            }
+        });
+
+        map.addIndex(new IndexConfig(indexType, "this").setName("this"));
+        stop.set(true);
+        mutator.get();
+
+        assertIndexUsedAndConsistent(map);
+    }
+
+    @Test
+    public void testConcurrentOnlineBuilds() throws Exception {
+        IMap<Integer, Integer> map = newMap("10");
+        populate(map);
+
+        IndexConfig config = new IndexConfig(indexType, "this").setName("this");
+        Future<?> concurrentBuild = spawn(() -> map.addIndex(config));
+        map.addIndex(config);
+        concurrentBuild.get();
+
+        assertEquals(singleton(42), map.keySet(Predicates.equal("this", 42)));
+        assertEquals(COUNT, getIndex(map, "this").getStatistics().getEntryCount());
+    }
+
+    @Test
+    public void testBuildAtOnce() {
+        IMap<Integer, Integer> map = newMap(Integer.toString(COUNT));
+        populate(map);
+
+        map.addIndex(new IndexConfig(indexType, "this").setName("this"));
+
+        assertIndexUsedAndConsistent(map);
+    }
+
+    private IMap<Integer, Integer> newMap(String chunkSize) {
+        Config config = getConfig()
+                .setProperty(ClusterProperty.PARTITION_COUNT.getName(), "3")
+                .setProperty(ClusterProperty.INDEX_BUILD_CHUNK_SIZE.getName(), chunkSize);
+        HazelcastInstance instance = createHazelcastInstance(config);
+        return instance.getMap(randomMapName());
+    }
+
+    private static InternalIndex getIndex(IMap<Integer, Integer> map, String name) {
+        MapService mapService = ((MapProxyImpl<Integer, Integer>) map).getService();
+        return mapService.getMapServiceContext().getMapContainer(map.getName()).getIndexes().getIndex(name);
+    }
+
+    private static void populate(IMap<Integer, Integer> map) {
+        for (int i = 0; i < COUNT; ++i) {
+            map.put(i, i);
+        }
+    }
+
+    private static void assertIndexUsedAndConsistent(IMap<Integer, Integer> map) {
+        // the equality predicates are served by all the index types
+        Integer[] values = new Integer[COUNT / 3];
+        for (int i = 0; i < values.length; ++i) {
+            values[i] = i;
+        }
+        Predicate<Integer, Integer> predicate = Predicates.in("this", values);
+
+        Set<Integer> expected = new HashSet<>();
+        for (Map.Entry<Integer, Integer> entry : map.entrySet()) {
+            if (entry.getValue() < COUNT / 3) {
+                expected.add(entry.getKey());
+            }
+        }
+
+        assertEquals(expected, map.keySet(predicate));
+        assertTrue(map.getLocalMapStats().getIndexStats().get("this").getQueryCount() > 0);
+        assertEquals(map.size(), getIndex(map, "this").getStatistics().getEntryCount());
+    }
+
+}
@@ -0,0 +1,62 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.operation;
+
+import com.hazelcast.spi.impl.operationexecutor.OperationExecutor;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class ForcedEvictionTest {
+
+    private static final int THREAD_COUNT = 2;
+
+    @Test
+    public void testIsRunBySameThread_whenPartitionsAssignedByMod() {
+        OperationExecutor executor = mock(OperationExecutor.class);
+        when(executor.getPartitionThreadId(anyInt())).thenAnswer(invocation -> (int) invocation.getArgument(0) % THREAD_COUNT);
+
+        assertTrue(ForcedEviction.isRunBySameThread(executor, 0, 2));
+        assertFalse(ForcedEviction.isRunBySameThread(executor, 0, 1));
+    }
+
+    @Test
+    public void testIsRunBySameThread_whenPartitionHandedOff() {
+        // the balancer has handed off the partition 2 from the thread 0 to the thread 1
+        OperationExecutor executor = mock(OperationExecutor.class);
+        when(executor.getPartitionThreadId(anyInt())).thenAnswer(invocation -> {
+            int partitionId = invocation.getArgument(0);
+            return partitionId == 2 ? 1 : partitionId % THREAD_COUNT;
+        });
+
+        assertFalse(ForcedEviction.isRunBySameThread(executor, 0, 2));
+        assertTrue(ForcedEviction.isRunBySameThread(executor, 1, 2));
+        assertTrue(ForcedEviction.isRunBySameThread(executor, 0, 4));
+    }
+
+}
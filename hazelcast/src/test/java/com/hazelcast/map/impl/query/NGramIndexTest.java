@@ -0,0 +1,144 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.query;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.config.IndexConfig;
+import com.hazelcast.config.IndexType;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.map.IMap;
+import com.hazelcast.query.Predicate;
+import com.hazelcast.query.Predicates;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.io.Serializable;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class NGramIndexTest extends HazelcastTestSupport {
+
+    private static final int COUNT = 2000;
+
+    private static final String[] FIRST_NAMES = {"John", "Jane", "Joanna", "Mark", "Marko", "Ève", "Straße", "O'Brien", "ab"};
+    private static final String[] LAST_NAMES = {"Smith", "Smithson", "Johnson", "Doe", "Ångström", "100%_sure", "Back\\slash"};
+
+    private static final String[] EXPRESSIONS = {
+            "%ohn%", "%son", "John%", "%smith%", "%SMITH%", "J_hn%", "%a%", "%", "", "ab", "%ark% %oe",
+            "%100\\%\\_s%", "%k\\sl%", "%ångs%", "%STRASSE%", "%ève%", "nothing%here", "%xyz%"};
+
+    private IMap<Integer, Person> indexed;
+    private IMap<Integer, Person> plain;
+
+    @Before
+    public void before() {
+        Config config = getConfig();
+        config.getMapConfig("indexed").addIndexConfig(new IndexConfig(IndexType.NGRAM, "name").setName("name"))
+                .addIndexConfig(new IndexConfig(IndexType.NGRAM, "nicknames[any]").setName("nicknames"));
+        HazelcastInstance instance = createHazelcastInstance(config);
+        indexed = instance.getMap("indexed");
+        plain = instance.getMap("plain");
+
+        Random random = new Random(404);
+        for (int i = 0; i < COUNT; ++i) {
+            put(i, newPerson(random));
+        }
+    }
+
+    @Test
+    public void testLike() {
+        verifyQueries();
+    }
+
+    @Test
+    public void testLikeAfterUpdatesAndRemovals() {
+        Random random = new Random(505);
+        for (int i = 0; i < COUNT; i += 3) {
+            put(i, newPerson(random));
+        }
+        for (int i = 1; i < COUNT; i += 5) {
+            indexed.remove(i);
+            plain.remove(i);
+        }
+        put(COUNT, new Person(null, null));
+        verifyQueries();
+    }
+
+    private void verifyQueries() {
+        for (String expression : EXPRESSIONS) {
+            verify(Predicates.like("name", expression), "name");
+            verify(Predicates.ilike("name", expression), "name");
+            verify(Predicates.like("nicknames[any]", expression), "nicknames");
+            verify(Predicates.ilike("nicknames[any]", expression), "nicknames");
+        }
+        verify(Predicates.and(Predicates.like("name", "%ohn%"), Predicates.ilike("nicknames[any]", "%mark%")), "name");
+    }
+
+    private void verify(Predicate<Integer, Person> predicate, String indexName) {
+        long queryCount = queryCount(indexName);
+        assertEquals(predicate.toString(), plain.keySet(predicate), indexed.keySet(predicate));
+        assertEquals(predicate.toString(), queryCount + 1, queryCount(indexName));
+    }
+
+    private long queryCount(String indexName) {
+        return indexed.getLocalMapStats().getIndexStats().get(indexName).getQueryCount();
+    }
+
+    private void put(int key, Person person) {
+        indexed.put(key, person);
+        plain.put(key, person);
+    }
+
+    private static Person newPerson(Random random) {
+        String name = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)] + " " + LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+        String[] nicknames = new String[random.nextInt(3)];
+        for (int i = 0; i < nicknames.length; ++i) {
+            nicknames[i] = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)] + random.nextInt(10);
+        }
+        return new Person(name, nicknames);
+    }
+
+    public static class Person implements Serializable {
+
+        private final String name;
+        private final String[] nicknames;
+
+        public Person(String name, String[] nicknames) {
+            this.name = name;
+            this.nicknames = nicknames;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public String[] getNicknames() {
+            return nicknames;
+        }
+
+    }
+
+}
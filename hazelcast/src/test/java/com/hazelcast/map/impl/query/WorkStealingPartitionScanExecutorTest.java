@@ -0,0 +1,158 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.query;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.internal.iteration.IterationPointer;
+import com.hazelcast.internal.util.IterationType;
+import com.hazelcast.internal.util.executor.NamedThreadPoolExecutor;
+import com.hazelcast.internal.util.executor.PoolExecutorThreadFactory;
+import com.hazelcast.map.IMap;
+import com.hazelcast.map.QueryResultSizeExceededException;
+import com.hazelcast.partition.PartitionAwareKey;
+import com.hazelcast.query.PagingPredicate;
+import com.hazelcast.query.Predicate;
+import com.hazelcast.query.Predicates;
+import com.hazelcast.query.QueryException;
+import com.hazelcast.spi.properties.ClusterProperty;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.rules.ExpectedException;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static java.lang.Thread.currentThread;
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyInt;
+import static org.mockito.Matchers.anyList;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class WorkStealingPartitionScanExecutorTest extends HazelcastTestSupport {
+
+    private static final IterationPointer[] EXHAUSTED = {new IterationPointer(-1, -1)};
+
+    @Rule
+    public ExpectedException expected = ExpectedException.none();
+
+    private NamedThreadPoolExecutor pool;
+
+    @After
+    public void tearDown() {
+        if (pool != null) {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testSkewedPartitions() {
+        IMap<Object, Integer> map = createSkewedMap();
+
+        Collection<Integer> values = map.values(Predicates.greaterEqual("this", 100));
+        assertEquals(1000, values.size());
+
+        PagingPredicate<Object, Integer> pagingPredicate = Predicates.pagingPredicate(
+                Predicates.greaterEqual("this", 100), (e1, e2) -> e1.getValue() - e2.getValue(), 10);
+        pagingPredicate.setPage(3);
+        List<Integer> page = new ArrayList<>(map.values(pagingPredicate));
+        List<Integer> expected = new ArrayList<>();
+        for (int i = 130; i < 140; ++i) {
+            expected.add(i);
+        }
+        assertEquals(expected, page);
+    }
+
+    @Test
+    public void testResultSizeLimitCancelsScan() {
+        PartitionScanRunner runner = mock(PartitionScanRunner.class);
+        Predicate predicate = Predicates.equal("attribute", 1);
+        when(runner.fetchChunk(anyString(), anyInt(), any(IterationPointer[].class), anyInt(), anyList()))
+                .thenReturn(EXHAUSTED);
+        when(runner.run(anyString(), eq(predicate), anyInt(), anyList(), any(Result.class))).thenReturn(6);
+        QueryResult queryResult = new QueryResult(IterationType.ENTRY, null, null, 10, false);
+
+        try {
+            executor(runner, 1).execute("Map", predicate, asList(1, 2, 3, 4, 5), queryResult);
+        } catch (QueryResultSizeExceededException e) {
+            // the scan stops at the chunk which exceeded the limit
+            verify(runner, times(2)).run(anyString(), eq(predicate), anyInt(), anyList(), any(Result.class));
+            return;
+        }
+        throw new AssertionError("the result size limit was not enforced");
+    }
+
+    @Test
+    public void testFailure() {
+        PartitionScanRunner runner = mock(PartitionScanRunner.class);
+        Predicate predicate = Predicates.equal("attribute", 1);
+        doThrow(new QueryException()).when(runner)
+                .fetchChunk(anyString(), anyInt(), any(IterationPointer[].class), anyInt(), anyList());
+        QueryResult queryResult = new QueryResult(IterationType.ENTRY, null, null, Long.MAX_VALUE, false);
+
+        expected.expect(QueryException.class);
+        executor(runner, 4).execute("Map", predicate, asList(1, 2, 3), queryResult);
+    }
+
+    private IMap<Object, Integer> createSkewedMap() {
+        Config config = getConfig();
+        config.setProperty(ClusterProperty.QUERY_PREDICATE_PARALLEL_EVALUATION.getName(), "true");
+        config.setProperty(ClusterProperty.QUERY_PREDICATE_PARALLEL_EVALUATION_MAX_THREADS.getName(), "4");
+        config.setProperty(ClusterProperty.QUERY_PREDICATE_PARALLEL_EVALUATION_CHUNK_SIZE.getName(), "16");
+        HazelcastInstance instance = createHazelcastInstance(config);
+
+        IMap<Object, Integer> map = instance.getMap(randomMapName());
+        // most of the entries are stored in a single partition
+        for (int i = 0; i < 1000; ++i) {
+            map.put(new PartitionAwareKey<>(i, "hot"), i);
+        }
+        for (int i = 1000; i < 1100; ++i) {
+            map.put(i, i);
+        }
+        return map;
+    }
+
+    private WorkStealingPartitionScanExecutor executor(PartitionScanRunner runner, int maxThreads) {
+        PoolExecutorThreadFactory threadFactory = new PoolExecutorThreadFactory(UUID.randomUUID().toString(),
+                currentThread().getContextClassLoader());
+        pool = new NamedThreadPoolExecutor(UUID.randomUUID().toString(), 1, 1, 100, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(100), threadFactory);
+        return new WorkStealingPartitionScanExecutor(runner, pool, 271, maxThreads, 16, 60000);
+    }
+
+}
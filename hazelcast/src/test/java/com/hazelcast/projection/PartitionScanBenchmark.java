@@ -0,0 +1,114 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.projection;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.core.Hazelcast;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.map.IMap;
+import com.hazelcast.partition.PartitionAwareKey;
+import com.hazelcast.query.Predicates;
+import com.hazelcast.spi.properties.ClusterProperty;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.Serializable;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the full partition scan of a map having most of its entries
+ * stored in a few partitions.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Thread)
+@Fork(value = 1, warmups = 1)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+public class PartitionScanBenchmark {
+
+    @Param({"false", "true"})
+    boolean parallel;
+
+    @Param({"1000", "100000"})
+    int chunkSize;
+
+    IMap<Object, Person> map;
+
+    @Setup
+    public void prepare() {
+        Config config = new Config();
+        config.setProperty(ClusterProperty.QUERY_PREDICATE_PARALLEL_EVALUATION.getName(), Boolean.toString(parallel));
+        config.setProperty(ClusterProperty.QUERY_PREDICATE_PARALLEL_EVALUATION_CHUNK_SIZE.getName(),
+                Integer.toString(chunkSize));
+
+        HazelcastInstance hz = Hazelcast.newHazelcastInstance(config);
+        map = hz.getMap("persons");
+        for (int k = 0; k < 200000; k++) {
+            // 3/4 of the entries go to the 3 hot partitions
+            Object key = k % 4 == 0 ? k : new PartitionAwareKey<>(k, k % 4);
+            map.put(key, new Person(k % 100, "person-" + k));
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        Hazelcast.shutdownAll();
+    }
+
+    @Benchmark
+    public int testScan() {
+        return map.keySet(Predicates.sql("age = 10 and name like '%77%'")).size();
+    }
+
+    public static class Person implements Serializable {
+        private int age;
+        private String name;
+
+        public Person(int age, String name) {
+            this.age = age;
+            this.name = name;
+        }
+
+        public int getAge() {
+            return age;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        @Override
+        public String toString() {
+            return "Person{"
+                    + "age=" + age
+                    + ", name=" + name
+                    + '}';
+        }
+    }
+
+}
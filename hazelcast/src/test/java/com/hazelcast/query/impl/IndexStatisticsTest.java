@@ -0,0 +1,196 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.query.impl;
+
+import com.hazelcast.config.IndexType;
+import com.hazelcast.internal.monitor.impl.PerIndexStats;
+import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.internal.serialization.impl.DefaultSerializationServiceBuilder;
+import com.hazelcast.query.QueryConstants;
+import com.hazelcast.query.impl.getters.Extractors;
+import com.hazelcast.query.impl.getters.MultiResult;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import static com.hazelcast.instance.impl.TestUtil.toData;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class IndexStatisticsTest {
+
+    private static final double DELTA = 0.01;
+
+    private final IndexStatistics statistics = new IndexStatistics();
+
+    private final InternalSerializationService ss = new DefaultSerializationServiceBuilder().build();
+
+    @Test
+    public void testEmpty() {
+        assertEquals(0, statistics.getEntryCount());
+        assertEquals(0.0, statistics.estimateSelectivity(1), 0.0);
+        assertEquals(0, statistics.estimateDistinctValues());
+    }
+
+    @Test
+    public void testSkewedDistribution() {
+        // 95% of the entries share the same value, the rest are unique
+        for (int i = 0; i < 10000; ++i) {
+            statistics.onInsert(i % 20 == 0 ? "INACTIVE-" + i : "ACTIVE");
+        }
+
+        assertEquals(10000, statistics.getEntryCount());
+        assertEquals(0.95, statistics.estimateSelectivity("ACTIVE"), DELTA);
+        assertEquals(0.0001, statistics.estimateSelectivity("INACTIVE-20"), DELTA);
+        assertEquals(0.0, statistics.estimateSelectivity("UNKNOWN"), DELTA);
+    }
+
+    @Test
+    public void testUniformDistribution() {
+        for (int i = 0; i < 10000; ++i) {
+            statistics.onInsert(i % 100);
+        }
+
+        assertEquals(0.01, statistics.estimateSelectivity(42), DELTA);
+        long distinct = statistics.estimateDistinctValues();
+        assertTrue(Long.toString(distinct), distinct >= 90 && distinct <= 110);
+    }
+
+    @Test
+    public void testNumbersAreCanonicalized() {
+        for (int i = 0; i < 2000; ++i) {
+            statistics.onInsert(i % 2 == 0 ? (Object) 1 : (Object) 2L);
+        }
+
+        assertEquals(0.5, statistics.estimateSelectivity(1L), DELTA);
+        assertEquals(0.5, statistics.estimateSelectivity(2.0), DELTA);
+    }
+
+    @Test
+    public void testNullsAreCounted() {
+        for (int i = 0; i < 1000; ++i) {
+            statistics.onInsert(i < 900 ? null : i);
+        }
+
+        assertEquals(0.9, statistics.estimateSelectivity(null), DELTA);
+        assertEquals(0.9, statistics.estimateSelectivity(AbstractIndex.NULL), DELTA);
+    }
+
+    @Test
+    public void testUpdatesAndRemovals() {
+        for (int i = 0; i < 1000; ++i) {
+            statistics.onInsert("A");
+        }
+        for (int i = 0; i < 500; ++i) {
+            statistics.onUpdate("A", "B");
+        }
+        for (int i = 0; i < 250; ++i) {
+            statistics.onRemove("B");
+        }
+
+        assertEquals(750, statistics.getEntryCount());
+        assertEquals(2.0 / 3.0, statistics.estimateSelectivity("A"), DELTA);
+        assertEquals(1.0 / 3.0, statistics.estimateSelectivity("B"), DELTA);
+
+        statistics.clear();
+        assertEquals(0, statistics.getEntryCount());
+        assertEquals(0, statistics.estimateDistinctValues());
+    }
+
+    @Test
+    public void testMultiValues() {
+        for (int i = 0; i < 1000; ++i) {
+            MultiResult<Object> result = new MultiResult<>();
+            result.add("common");
+            result.add("value-" + i);
+            statistics.onInsert(result);
+        }
+
+        assertEquals(1000, statistics.getEntryCount());
+        assertEquals(1.0, statistics.estimateSelectivity("common"), DELTA);
+        assertEquals(0.001, statistics.estimateSelectivity("value-1"), DELTA);
+    }
+
+    @Test
+    public void testIndexReinsertionIsNotCounted() {
+        for (IndexType type : new IndexType[]{IndexType.SORTED, IndexType.HASH}) {
+            InternalIndex index = createIndex(type);
+            for (int i = 0; i < 100; ++i) {
+                index.putEntry(entry(i, i % 10), null, Index.OperationSource.USER);
+            }
+            // re-insertion of the already indexed entries, like an index build does
+            for (int i = 0; i < 100; ++i) {
+                index.putEntry(entry(i, i % 10), null, Index.OperationSource.SYSTEM);
+            }
+
+            IndexStatistics indexStatistics = index.getStatistics();
+            assertEquals(type.toString(), 100, indexStatistics.getEntryCount());
+            assertEquals(type.toString(), 0.1, indexStatistics.estimateSelectivity(5), DELTA);
+        }
+    }
+
+    @Test
+    public void testIndexRemovalsOfNotIndexedEntries() {
+        for (IndexType type : new IndexType[]{IndexType.SORTED, IndexType.HASH, IndexType.BITMAP}) {
+            InternalIndex index = createIndex(type);
+            for (int i = 0; i < 100; ++i) {
+                index.putEntry(entry(i, 1), null, Index.OperationSource.USER);
+            }
+            for (int i = 100; i < 200; ++i) {
+                index.removeEntry(toData(i), 1, Index.OperationSource.USER);
+            }
+
+            IndexStatistics indexStatistics = index.getStatistics();
+            assertEquals(type.toString(), 100, indexStatistics.getEntryCount());
+            assertEquals(type.toString(), 1.0, indexStatistics.estimateSelectivity(1), DELTA);
+        }
+    }
+
+    @Test
+    public void testIndexUpdatesOfNotIndexedEntries() {
+        for (IndexType type : new IndexType[]{IndexType.SORTED, IndexType.HASH}) {
+            InternalIndex index = createIndex(type);
+            for (int i = 0; i < 100; ++i) {
+                index.putEntry(entry(i, 1), null, Index.OperationSource.USER);
+            }
+            // the updates of the entries never indexed are insertions
+            for (int i = 100; i < 200; ++i) {
+                index.putEntry(entry(i, 2), 1, Index.OperationSource.USER);
+            }
+
+            IndexStatistics indexStatistics = index.getStatistics();
+            assertEquals(type.toString(), 200, indexStatistics.getEntryCount());
+            assertEquals(type.toString(), 0.5, indexStatistics.estimateSelectivity(1), DELTA);
+            assertEquals(type.toString(), 0.5, indexStatistics.estimateSelectivity(2), DELTA);
+        }
+    }
+
+    private InternalIndex createIndex(IndexType type) {
+        return new IndexImpl(IndexUtils.createTestIndexConfig(type, QueryConstants.THIS_ATTRIBUTE_NAME.value()), ss,
+                Extractors.newBuilder(ss).build(), IndexCopyBehavior.COPY_ON_READ, PerIndexStats.EMPTY);
+    }
+
+    private QueryEntry entry(int key, int value) {
+        return new QueryEntry(ss, toData(key), value, Extractors.newBuilder(ss).build());
+    }
+
+}
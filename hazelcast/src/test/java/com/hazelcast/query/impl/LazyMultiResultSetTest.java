@@ -0,0 +1,207 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.query.impl;
+
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class LazyMultiResultSetTest {
+
+    private final List<Map<Data, QueryableEntry>> buckets = new ArrayList<>();
+    private final AtomicInteger copies = new AtomicInteger();
+
+    @Test
+    public void testEmpty() {
+        LazyMultiResultSet result = result(false);
+
+        assertThat(result.isEmpty(), is(true));
+        assertThat(result.size(), is(0));
+        assertThat(result.iterator().hasNext(), is(false));
+        assertThat(result.contains(entry(data())), is(false));
+    }
+
+    @Test(expected = NoSuchElementException.class)
+    public void testIterator_empty_next() {
+        result(false).iterator().next();
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testIterator_remove() {
+        result(false).iterator().remove();
+    }
+
+    @Test
+    public void testIterator_walksAllBuckets() {
+        QueryableEntry first = addBucket(entry(data()));
+        QueryableEntry second = addBucket(entry(data()));
+        addBucket();
+        QueryableEntry third = addBucket(entry(data()));
+        LazyMultiResultSet result = result(false);
+
+        Iterator<QueryableEntry> it = result.iterator();
+        assertThat(it.next(), is(first));
+        assertThat(it.next(), is(second));
+        assertThat(it.next(), is(third));
+        assertThat(it.hasNext(), is(false));
+        assertThat(result.size(), is(3));
+        assertThat(result.isEmpty(), is(false));
+    }
+
+    @Test
+    public void testIterator_copiesBucketsLazily() {
+        for (int i = 0; i < 10; ++i) {
+            addBucket(entry(data()));
+        }
+        LazyMultiResultSet result = result(false);
+        assertThat(copies.get(), is(0));
+
+        Iterator<QueryableEntry> it = result.iterator();
+        it.next();
+        it.next();
+
+        assertThat(copies.get(), is(2));
+    }
+
+    @Test
+    public void testIterator_detectsDuplicates() {
+        QueryableEntry entry = entry(data());
+        addBucket(entry);
+        addBucket(entry, entry(data()));
+        LazyMultiResultSet result = result(true);
+
+        assertThat(result.size(), is(2));
+    }
+
+    @Test
+    public void testContains() {
+        QueryableEntry first = addBucket(entry(data()));
+        QueryableEntry second = addBucket(entry(data()));
+        LazyMultiResultSet result = result(false);
+
+        assertThat(result.contains(first), is(true));
+        assertThat(result.contains(second), is(true));
+        assertThat(result.contains(entry(data())), is(false));
+    }
+
+    @Test
+    public void testContains_manyBuckets() {
+        List<QueryableEntry> entries = new ArrayList<>();
+        for (int i = 0; i < 10; ++i) {
+            entries.add(addBucket(entry(data())));
+        }
+        LazyMultiResultSet result = result(false);
+
+        for (QueryableEntry entry : entries) {
+            assertThat(result.contains(entry), is(true));
+        }
+        assertThat(result.contains(entry(data())), is(false));
+    }
+
+    @Test
+    public void testSize_computedOnce() {
+        addBucket(entry(data()));
+        addBucket(entry(data()));
+        LazyMultiResultSet result = result(true);
+        assertThat(result.size(), is(2));
+        int copiesAfterSize = copies.get();
+
+        addBucket(entry(data()));
+
+        assertThat(result.size(), is(2));
+        assertThat(result.isEmpty(), is(false));
+        assertThat(copies.get(), is(copiesAfterSize));
+    }
+
+    @Test
+    public void testContains_manyBuckets_indexIsSnapshot() {
+        for (int i = 0; i < 10; ++i) {
+            addBucket(entry(data()));
+        }
+        LazyMultiResultSet result = result(false);
+        assertThat(result.contains(entry(data())), is(false));
+
+        QueryableEntry added = addBucket(entry(data()));
+
+        assertThat(result.contains(added), is(false));
+    }
+
+    @Test
+    public void testLiveView() {
+        ConcurrentSkipListMap<Comparable, Map<Data, QueryableEntry>> recordMap = new ConcurrentSkipListMap<>();
+        LazyMultiResultSet result = new LazyMultiResultSet(recordMap.tailMap(5, true).values(), map -> map, false);
+        assertThat(result.isEmpty(), is(true));
+
+        recordMap.put(1, bucket(entry(data())));
+        QueryableEntry entry = entry(data());
+        recordMap.put(7, bucket(entry));
+
+        assertThat(result.size(), is(1));
+        assertThat(result.iterator().next(), is(entry));
+    }
+
+    private LazyMultiResultSet result(boolean detectDuplicates) {
+        return new LazyMultiResultSet(buckets, map -> {
+            copies.incrementAndGet();
+            return new HashMap<>(map);
+        }, detectDuplicates);
+    }
+
+    private QueryableEntry addBucket(QueryableEntry... entries) {
+        buckets.add(bucket(entries));
+        return entries.length == 0 ? null : entries[0];
+    }
+
+    private static Map<Data, QueryableEntry> bucket(QueryableEntry... entries) {
+        Map<Data, QueryableEntry> bucket = new HashMap<>();
+        for (QueryableEntry entry : entries) {
+            bucket.put(entry.getKeyData(), entry);
+        }
+        return bucket;
+    }
+
+    private static QueryableEntry entry(Data data) {
+        QueryEntry entry = mock(QueryEntry.class);
+        when(entry.getKeyData()).thenReturn(data);
+        return entry;
+    }
+
+    private static Data data() {
+        return mock(Data.class);
+    }
+
+}
@@ -0,0 +1,157 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.query.impl;
+
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class LongBPlusTreeTest {
+
+    private final LongBPlusTree<String> tree = new LongBPlusTree<>();
+    private final TreeMap<Long, String> expected = new TreeMap<>();
+
+    @Test
+    public void testEmpty() {
+        assertEquals(0, tree.size());
+        assertNull(tree.get(0));
+        assertNull(tree.remove(0));
+        assertEquals(0, tree.scan(Long.MIN_VALUE, Long.MAX_VALUE, new long[1], new Object[1]));
+    }
+
+    @Test
+    public void testPutReplaces() {
+        assertNull(tree.put(1, "a"));
+        assertEquals("a", tree.put(1, "b"));
+        assertEquals("b", tree.get(1));
+        assertEquals(1, tree.size());
+    }
+
+    @Test
+    public void testExtremeKeys() {
+        tree.put(Long.MIN_VALUE, "min");
+        tree.put(Long.MAX_VALUE, "max");
+        tree.put(0, "zero");
+
+        long[] keys = new long[3];
+        Object[] values = new Object[3];
+        assertEquals(3, tree.scan(Long.MIN_VALUE, Long.MAX_VALUE, keys, values));
+        assertEquals(Long.MIN_VALUE, keys[0]);
+        assertEquals(0, keys[1]);
+        assertEquals(Long.MAX_VALUE, keys[2]);
+        assertEquals("max", values[2]);
+    }
+
+    @Test
+    public void testSequentialInsertsAndRemovals() {
+        int count = LongBPlusTree.NODE_CAPACITY * LongBPlusTree.NODE_CAPACITY * 2;
+        for (long i = 0; i < count; ++i) {
+            put(i);
+        }
+        verify();
+
+        for (long i = 0; i < count; i += 2) {
+            remove(i);
+        }
+        verify();
+
+        for (long i = count - 1; i >= 0; --i) {
+            remove(i);
+        }
+        verify();
+        assertEquals(0, tree.size());
+    }
+
+    @Test
+    public void testRandomOperations() {
+        Random random = new Random(42);
+        for (int round = 0; round < 20; ++round) {
+            for (int i = 0; i < 5000; ++i) {
+                long key = random.nextInt(20000) - 10000;
+                if (random.nextInt(3) == 0) {
+                    remove(key);
+                } else {
+                    put(key);
+                }
+            }
+            verify();
+        }
+    }
+
+    @Test
+    public void testScanInBatches() {
+        for (long i = 0; i < 1000; i += 3) {
+            put(i);
+        }
+
+        List<Long> scanned = new ArrayList<>();
+        long[] keys = new long[7];
+        Object[] values = new Object[7];
+        long from = 100;
+        while (true) {
+            int count = tree.scan(from, 900, keys, values);
+            for (int i = 0; i < count; ++i) {
+                scanned.add(keys[i]);
+            }
+            if (count < keys.length) {
+                break;
+            }
+            from = keys[count - 1] + 1;
+        }
+
+        assertEquals(new ArrayList<>(expected.subMap(100L, true, 900L, true).keySet()), scanned);
+    }
+
+    private void put(long key) {
+        String value = Long.toString(key);
+        assertEquals(expected.put(key, value), tree.put(key, value));
+    }
+
+    private void remove(long key) {
+        assertEquals(expected.remove(key), tree.remove(key));
+    }
+
+    private void verify() {
+        assertEquals(expected.size(), tree.size());
+
+        List<Long> keys = new ArrayList<>();
+        tree.forEach((key, value) -> {
+            assertEquals(Long.toString(key), value);
+            keys.add(key);
+        });
+        assertEquals(new ArrayList<>(expected.keySet()), keys);
+
+        for (Map.Entry<Long, String> entry : expected.entrySet()) {
+            assertEquals(entry.getValue(), tree.get(entry.getKey()));
+        }
+    }
+
+}
@@ -0,0 +1,123 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.query.impl;
+
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.internal.serialization.impl.DefaultSerializationServiceBuilder;
+import com.hazelcast.query.impl.getters.Extractors;
+import com.hazelcast.test.HazelcastParallelParametersRunnerFactory;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.junit.runners.Parameterized.Parameter;
+import org.junit.runners.Parameterized.Parameters;
+import org.junit.runners.Parameterized.UseParametersRunnerFactory;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static com.hazelcast.internal.monitor.impl.IndexOperationStats.EMPTY;
+import static com.hazelcast.test.HazelcastTestSupport.spawn;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(Parameterized.class)
+@UseParametersRunnerFactory(HazelcastParallelParametersRunnerFactory.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class OrderedIndexStoreTest {
+
+    private static final int STATIC_ENTRY_COUNT = 1000;
+    private static final int MOVING_ENTRY_COUNT = 1000;
+
+    @Parameter
+    public IndexCopyBehavior copyBehavior;
+
+    private final InternalSerializationService ss = new DefaultSerializationServiceBuilder().build();
+    private final Extractors extractors = Extractors.newBuilder(ss).build();
+
+    @Parameters(name = "copyBehavior: {0}")
+    public static Collection<Object[]> parameters() {
+        return Arrays.asList(new Object[][]{
+                {IndexCopyBehavior.COPY_ON_READ},
+                {IndexCopyBehavior.COPY_ON_WRITE},
+                {IndexCopyBehavior.NEVER},
+        });
+    }
+
+    @Test
+    public void testIterationDuringUpdates() throws Exception {
+        OrderedIndexStore store = new OrderedIndexStore(copyBehavior);
+        // the static entries are spread over many batches, while the moving
+        // ones jump between the first and the last buckets of the range
+        for (int i = 0; i < STATIC_ENTRY_COUNT; ++i) {
+            store.insert(i, entry(i, i), EMPTY);
+        }
+        for (int i = 0; i < MOVING_ENTRY_COUNT; ++i) {
+            int key = STATIC_ENTRY_COUNT + i;
+            store.insert(-1, entry(key, -1), EMPTY);
+        }
+
+        AtomicBoolean stop = new AtomicBoolean();
+        Future<?> updater = spawn(() -> {
+            Random random = new Random();
+            int[] values = new int[MOVING_ENTRY_COUNT];
+            Arrays.fill(values, -1);
+            while (!stop.get()) {
+                int i = random.nextInt(MOVING_ENTRY_COUNT);
+                int newValue = values[i] == -1 ? STATIC_ENTRY_COUNT : -1;
+                int key = STATIC_ENTRY_COUNT + i;
+                store.update(values[i], newValue, entry(key, newValue), EMPTY);
+                values[i] = newValue;
+            }
+        });
+
+        try {
+            for (int i = 0; i < 100; ++i) {
+                verifyResult(store.getRecords(Comparison.GREATER_OR_EQUAL, -1));
+                verifyResult(store.getRecords(-1, true, STATIC_ENTRY_COUNT, true));
+                verifyResult(store.getSortedRecords(null));
+            }
+        } finally {
+            stop.set(true);
+        }
+        updater.get();
+    }
+
+    private void verifyResult(Set<QueryableEntry> result) {
+        Set<Data> keys = new HashSet<>();
+        for (QueryableEntry entry : result) {
+            assertTrue("duplicate entry: " + ss.toObject(entry.getKeyData()), keys.add(entry.getKeyData()));
+        }
+        // the entries which are not updated are always returned
+        for (int i = 0; i < STATIC_ENTRY_COUNT; ++i) {
+            assertTrue("missing entry: " + i, keys.contains(ss.toData(i)));
+        }
+    }
+
+    private QueryableEntry entry(int key, Comparable value) {
+        return new QueryEntry(ss, ss.toData(key), value, extractors);
+    }
+
+}
@@ -0,0 +1,251 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.query.impl;
+
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.internal.serialization.impl.DefaultSerializationServiceBuilder;
+import com.hazelcast.query.impl.getters.Extractors;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import static com.hazelcast.internal.monitor.impl.IndexOperationStats.EMPTY;
+import static com.hazelcast.query.impl.AbstractIndex.NULL;
+import static org.junit.Assert.assertEquals;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class PrimitiveOrderedIndexStoreTest {
+
+    private final InternalSerializationService ss = new DefaultSerializationServiceBuilder().build();
+    private final Extractors extractors = Extractors.newBuilder(ss).build();
+    private final Random random = new Random(42);
+
+    private PrimitiveOrderedIndexStore store = new PrimitiveOrderedIndexStore(IndexCopyBehavior.COPY_ON_READ);
+    private OrderedIndexStore expected = new OrderedIndexStore(IndexCopyBehavior.COPY_ON_READ);
+    private final Map<Integer, Comparable> values = new HashMap<>();
+
+    @Test
+    public void testIntegralValues() {
+        populate(i -> (long) random.nextInt(100) - 50);
+        remove(100);
+        update(100, i -> random.nextInt(100) - 50);
+
+        verifyQueries(asList(-51L, -50L, 0L, 17, 49L, 50L, (byte) 3, 10.0, 10.5, -0.0, Double.NaN, 1e300));
+    }
+
+    @Test
+    public void testIntegralExtremeValues() {
+        populate(i -> i % 2 == 0 ? Long.MIN_VALUE : Long.MAX_VALUE);
+
+        verifyQueries(asList(Long.MIN_VALUE, Long.MAX_VALUE, 0L, 9.3e18, -9.3e18));
+    }
+
+    @Test
+    public void testFloatingPointValues() {
+        Double[] specials = {0.0, -0.0, Double.NaN, Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY, 1e300, -1e300};
+        populate(i -> i % 10 == 0 ? specials[random.nextInt(specials.length)] : random.nextInt(100) / 4.0 - 12);
+        remove(50);
+
+        verifyQueries(asList(0.0, -0.0, Double.NaN, Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY, 0L, 5L, 5.25,
+                2.5f, -12.0, Long.MAX_VALUE, 100));
+    }
+
+    @Test
+    public void testDateValues() {
+        populate(i -> new Date(random.nextInt(100) * 1000L));
+        remove(50);
+
+        verifyQueries(asList(new Date(0), new Date(50000), new Date(50001), new Date(99000)));
+        // subclasses of Date are not encoded, they are compared with every stored value
+        verifyComparisons(new java.sql.Timestamp(50000));
+    }
+
+    @Test
+    public void testNullValues() {
+        populate(i -> i % 5 == 0 ? NULL : (long) random.nextInt(20));
+        remove(50);
+
+        verifyQueries(asList(0L, 10L, 19L));
+        verifyInQuery(new HashSet<>(Arrays.asList(NULL, 1L, 5L)));
+    }
+
+    @Test
+    public void testMigrationOnMixedValues() {
+        populate(i -> (long) random.nextInt(100));
+        for (int i = 0; i < 50; ++i) {
+            put(1000 + i, random.nextInt(100) + 0.5);
+        }
+        remove(100);
+        update(100, i -> random.nextBoolean() ? (Comparable) (long) random.nextInt(100) : random.nextInt(100) + 0.25);
+
+        verifyQueries(asList(0L, 10L, 10.5, 99.5, 50));
+    }
+
+    @Test
+    public void testClear() {
+        populate(i -> (long) i);
+        store.clear();
+        expected.clear();
+        values.clear();
+        verifyQueries(asList(0L, 10L));
+
+        // the cleared store must accept values of another kind without migrating
+        populate(i -> i / 2.0);
+        verifyQueries(asList(0L, 10.5));
+    }
+
+    @Test
+    public void testLargePostings() {
+        populate(i -> (long) (i % 3));
+        remove(150);
+
+        verifyQueries(asList(0L, 1L, 2L));
+    }
+
+    @Test
+    public void testNeverCopyBehavior() {
+        store = new PrimitiveOrderedIndexStore(IndexCopyBehavior.NEVER);
+        expected = new OrderedIndexStore(IndexCopyBehavior.NEVER);
+        populate(i -> i < 30 ? (long) (i % 3) : (long) i);
+        remove(50);
+
+        verifyQueries(asList(0L, 1L, 2L, 2.5, 100L, 100.5));
+
+        Set<QueryableEntry> records = store.getRecords(0L);
+        int size = records.size();
+        put(1000, 0L);
+        // the records are shared with the result instead of being copied
+        assertEquals(size + 1, records.size());
+    }
+
+    private void populate(ValueGenerator generator) {
+        for (int i = 0; i < 300; ++i) {
+            put(i, generator.generate(i));
+        }
+    }
+
+    private void remove(int count) {
+        List<Integer> keys = new ArrayList<>(values.keySet());
+        for (int i = 0; i < count && !keys.isEmpty(); ++i) {
+            Integer key = keys.remove(random.nextInt(keys.size()));
+            Comparable value = values.remove(key);
+            store.remove(value, ss.toData(key), null, EMPTY);
+            expected.remove(value, ss.toData(key), null, EMPTY);
+        }
+    }
+
+    private void update(int count, ValueGenerator generator) {
+        List<Integer> keys = new ArrayList<>(values.keySet());
+        for (int i = 0; i < count; ++i) {
+            Integer key = keys.get(random.nextInt(keys.size()));
+            Comparable oldValue = values.get(key);
+            Comparable newValue = generator.generate(i);
+            QueryableEntry entry = entry(key, newValue);
+            store.update(oldValue, newValue, entry, EMPTY);
+            expected.update(oldValue, newValue, entry, EMPTY);
+            values.put(key, newValue);
+        }
+    }
+
+    private void put(int key, Comparable value) {
+        QueryableEntry entry = entry(key, value);
+        store.insert(value, entry, EMPTY);
+        expected.insert(value, entry, EMPTY);
+        values.put(key, value);
+    }
+
+    private QueryableEntry entry(int key, Comparable value) {
+        return new QueryEntry(ss, ss.toData(key), value, extractors);
+    }
+
+    private void verifyQueries(List<Comparable> arguments) {
+        for (Comparable argument : arguments) {
+            verifyComparisons(argument);
+            for (Comparable to : arguments) {
+                if (Comparables.compare(argument, to) <= 0) {
+                    verifyRange(argument, to);
+                }
+            }
+        }
+        verifyInQuery(new HashSet<>(arguments));
+    }
+
+    private void verifyComparisons(Comparable argument) {
+        assertEquals(argument.toString(), keys(expected.getRecords(argument)), keys(store.getRecords(argument)));
+        for (Comparison comparison : Comparison.values()) {
+            assertEquals(comparison + " " + argument, keys(expected.getRecords(comparison, argument)),
+                    keys(store.getRecords(comparison, argument)));
+        }
+        assertEquals("sorted " + argument, keys(expected.getSortedRecords(argument)), keys(store.getSortedRecords(argument)));
+    }
+
+    private void verifyRange(Comparable from, Comparable to) {
+        for (int i = 0; i < 4; ++i) {
+            boolean fromInclusive = (i & 1) != 0;
+            boolean toInclusive = (i & 2) != 0;
+            assertEquals(from + " " + fromInclusive + " " + to + " " + toInclusive,
+                    keys(expected.getRecords(from, fromInclusive, to, toInclusive)),
+                    keys(store.getRecords(from, fromInclusive, to, toInclusive)));
+        }
+    }
+
+    private void verifyInQuery(Set<Comparable> arguments) {
+        Set<Comparable> canonicalized = new HashSet<>();
+        for (Comparable argument : arguments) {
+            canonicalized.add(store.canonicalizeQueryArgumentScalar(argument));
+        }
+        assertEquals(keys(expected.getRecords(canonicalized)), keys(store.getRecords(canonicalized)));
+    }
+
+    private static Set<Data> keys(Set<QueryableEntry> entries) {
+        Set<Data> keys = new HashSet<>();
+        int count = 0;
+        for (QueryableEntry entry : entries) {
+            keys.add(entry.getKeyData());
+            ++count;
+        }
+        assertEquals("duplicate entries", keys.size(), count);
+        assertEquals(keys.size(), entries.size());
+        return keys;
+    }
+
+    private static List<Comparable> asList(Comparable... values) {
+        return Arrays.asList(values);
+    }
+
+    private interface ValueGenerator {
+
+        Comparable generate(int index);
+
+    }
+
+}
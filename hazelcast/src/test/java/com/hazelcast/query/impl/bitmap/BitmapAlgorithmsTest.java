@@ -39,7 +39,7 @@ public class BitmapAlgorithmsTest {
     private final List<SparseBitSet> actual = new ArrayList<>();
     private final List<TreeSet<Long>> expected = new ArrayList<>();
 
-    private final SparseArray<Long> actualUniverse = new SparseArray<>();
+    private SparseBitSet actualUniverse = new SparseBitSet();
     private final TreeSet<Long> expectedUniverse = new TreeSet<>();
 
     @Test
@@ -219,14 +219,14 @@ public class BitmapAlgorithmsTest {
             }
         }
 
-        verify(BitmapAlgorithms.and(actualIterators()), expectedResult);
-        verifyAdvanceAtLeastTo(BitmapAlgorithms.and(actualIterators()), expectedResult, 1);
-        verifyAdvanceAtLeastTo(BitmapAlgorithms.and(actualIterators()), expectedResult, 2);
-        verifyAdvanceAtLeastTo(BitmapAlgorithms.and(actualIterators()), expectedResult, 5);
-        verifyAdvanceAtLeastTo(BitmapAlgorithms.and(actualIterators()), expectedResult, Short.MAX_VALUE);
-        verifyAdvanceAtLeastTo(BitmapAlgorithms.and(actualIterators()), expectedResult, Integer.MAX_VALUE);
-        verifyAdvanceAtLeastTo(BitmapAlgorithms.and(actualIterators()), expectedResult, Long.MAX_VALUE / 2);
-        verifyAdvanceAtLeastTo(BitmapAlgorithms.and(actualIterators()), expectedResult, Long.MAX_VALUE);
+        verify(actualAnd(), expectedResult);
+        verifyAdvanceAtLeastTo(actualAnd(), expectedResult, 1);
+        verifyAdvanceAtLeastTo(actualAnd(), expectedResult, 2);
+        verifyAdvanceAtLeastTo(actualAnd(), expectedResult, 5);
+        verifyAdvanceAtLeastTo(actualAnd(), expectedResult, Short.MAX_VALUE);
+        verifyAdvanceAtLeastTo(actualAnd(), expectedResult, Integer.MAX_VALUE);
+        verifyAdvanceAtLeastTo(actualAnd(), expectedResult, Long.MAX_VALUE / 2);
+        verifyAdvanceAtLeastTo(actualAnd(), expectedResult, Long.MAX_VALUE);
     }
 
     private void verifyOr() {
@@ -242,14 +242,14 @@ public class BitmapAlgorithmsTest {
             }
         }
 
-        verify(BitmapAlgorithms.or(actualIterators()), expectedResult);
-        verifyAdvanceAtLeastTo(BitmapAlgorithms.or(actualIterators()), expectedResult, 1);
-        verifyAdvanceAtLeastTo(BitmapAlgorithms.or(actualIterators()), expectedResult, 2);
-        verifyAdvanceAtLeastTo(BitmapAlgorithms.or(actualIterators()), expectedResult, 5);
-        verifyAdvanceAtLeastTo(BitmapAlgorithms.or(actualIterators()), expectedResult, Short.MAX_VALUE);
-        verifyAdvanceAtLeastTo(BitmapAlgorithms.or(actualIterators()), expectedResult, Integer.MAX_VALUE);
-        verifyAdvanceAtLeastTo(BitmapAlgorithms.or(actualIterators()), expectedResult, Long.MAX_VALUE / 2);
-        verifyAdvanceAtLeastTo(BitmapAlgorithms.or(actualIterators()), expectedResult, Long.MAX_VALUE);
+        verify(actualOr(), expectedResult);
+        verifyAdvanceAtLeastTo(actualOr(), expectedResult, 1);
+        verifyAdvanceAtLeastTo(actualOr(), expectedResult, 2);
+        verifyAdvanceAtLeastTo(actualOr(), expectedResult, 5);
+        verifyAdvanceAtLeastTo(actualOr(), expectedResult, Short.MAX_VALUE);
+        verifyAdvanceAtLeastTo(actualOr(), expectedResult, Integer.MAX_VALUE);
+        verifyAdvanceAtLeastTo(actualOr(), expectedResult, Long.MAX_VALUE / 2);
+        verifyAdvanceAtLeastTo(actualOr(), expectedResult, Long.MAX_VALUE);
     }
 
     private void verifyNotAndThenClear() {
@@ -259,34 +259,45 @@ public class BitmapAlgorithmsTest {
         SparseBitSet actual = this.actual.get(0);
         TreeSet<Long> expected = this.expected.get(0);
 
-        AscendingLongIterator actualIterator = actual.iterator();
-        for (long i = actualIterator.advance(); i != AscendingLongIterator.END; i = actualIterator.advance()) {
-            actualUniverse.set(i, i);
+        for (long member : expected) {
+            actualUniverse.add(member);
         }
         expectedUniverse.addAll(expected);
 
         TreeSet<Long> expectedResult = new TreeSet<>(expectedUniverse);
         expectedResult.removeAll(expected);
 
-        verify(BitmapAlgorithms.not(actual.iterator(), actualUniverse), expectedResult);
-        verifyAdvanceAtLeastTo(BitmapAlgorithms.not(actual.iterator(), actualUniverse), expectedResult, 1);
-        verifyAdvanceAtLeastTo(BitmapAlgorithms.not(actual.iterator(), actualUniverse), expectedResult, 2);
-        verifyAdvanceAtLeastTo(BitmapAlgorithms.not(actual.iterator(), actualUniverse), expectedResult, 5);
-        verifyAdvanceAtLeastTo(BitmapAlgorithms.not(actual.iterator(), actualUniverse), expectedResult, Short.MAX_VALUE);
-        verifyAdvanceAtLeastTo(BitmapAlgorithms.not(actual.iterator(), actualUniverse), expectedResult, Integer.MAX_VALUE);
-        verifyAdvanceAtLeastTo(BitmapAlgorithms.not(actual.iterator(), actualUniverse), expectedResult, Long.MAX_VALUE / 2);
-        verifyAdvanceAtLeastTo(BitmapAlgorithms.not(actual.iterator(), actualUniverse), expectedResult, Long.MAX_VALUE);
+        verify(actualNot(actual), expectedResult);
+        verifyAdvanceAtLeastTo(actualNot(actual), expectedResult, 1);
+        verifyAdvanceAtLeastTo(actualNot(actual), expectedResult, 2);
+        verifyAdvanceAtLeastTo(actualNot(actual), expectedResult, 5);
+        verifyAdvanceAtLeastTo(actualNot(actual), expectedResult, Short.MAX_VALUE);
+        verifyAdvanceAtLeastTo(actualNot(actual), expectedResult, Integer.MAX_VALUE);
+        verifyAdvanceAtLeastTo(actualNot(actual), expectedResult, Long.MAX_VALUE / 2);
+        verifyAdvanceAtLeastTo(actualNot(actual), expectedResult, Long.MAX_VALUE);
 
         this.actual.clear();
         this.expected.clear();
-        actualUniverse.clear();
+        actualUniverse = new SparseBitSet();
         expectedUniverse.clear();
     }
 
-    private AscendingLongIterator[] actualIterators() {
-        AscendingLongIterator[] actualIterators = new AscendingLongIterator[actual.size()];
+    private AscendingLongIterator actualAnd() {
+        return BitmapAlgorithms.members(BitmapAlgorithms.and(actualChunkIterators()));
+    }
+
+    private AscendingLongIterator actualOr() {
+        return BitmapAlgorithms.members(BitmapAlgorithms.or(actualChunkIterators()));
+    }
+
+    private AscendingLongIterator actualNot(SparseBitSet actual) {
+        return BitmapAlgorithms.members(BitmapAlgorithms.not(actual.chunkIterator(), actualUniverse.chunkIterator()));
+    }
+
+    private AscendingChunkIterator[] actualChunkIterators() {
+        AscendingChunkIterator[] actualIterators = new AscendingChunkIterator[actual.size()];
         for (int i = 0; i < actual.size(); ++i) {
-            actualIterators[i] = actual.get(i).iterator();
+            actualIterators[i] = actual.get(i).chunkIterator();
         }
         return actualIterators;
     }
@@ -345,7 +356,7 @@ public class BitmapAlgorithmsTest {
     private void generateUniverse(long offset, long count, long step) {
         for (long i = 0; i < count; ++i) {
             long index = offset + i * step;
-            actualUniverse.set(index, index);
+            actualUniverse.add(index);
             expectedUniverse.add(index);
         }
 
@@ -368,7 +379,7 @@ public class BitmapAlgorithmsTest {
         if (range != 0) {
             for (int i = 0; i < count; ++i) {
                 long member = (random.nextLong() & Long.MAX_VALUE) % range;
-                actualUniverse.set(member, member);
+                actualUniverse.add(member);
                 expectedUniverse.add(member);
             }
         }
@@ -37,6 +37,8 @@ import org.openjdk.jmh.runner.options.OptionsBuilder;
 import org.openjdk.jmh.runner.options.TimeValue;
 
 import java.io.Serializable;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Random;
 
 import static com.hazelcast.config.BitmapIndexOptions.UniqueKeyTransformation.RAW;
@@ -52,10 +54,17 @@ public class BitmapIndexQueriesBenchmark {
     private static final int HABITS = 5000;
     private static final int DOMAIN = 25000;
 
+    // low-cardinality attributes indexed across many entries
+    private static final int ACCOUNTS = 2000000;
+    private static final int STATUSES = 4;
+    private static final int REGIONS = 16;
+    private static final int BATCH = 10000;
+
     private final Random random = new Random(303);
     private HazelcastInstance instance;
     private IMap<Integer, Person> personsBitmap;
     private IMap<Integer, Person> personsHash;
+    private IMap<Integer, Account> accountsBitmap;
 
     @Setup
     public void setup() {
@@ -71,10 +80,20 @@ public class BitmapIndexQueriesBenchmark {
         personsHashConfig.setInMemoryFormat(InMemoryFormat.OBJECT);
         personsHashConfig.addIndexConfig(new IndexConfig(IndexType.HASH, "habits[any]"));
 
+        MapConfig accountsBitmapConfig = config.getMapConfig("accountsBitmap");
+        accountsBitmapConfig.setInMemoryFormat(InMemoryFormat.OBJECT);
+        IndexConfig statusIndexConfig = new IndexConfig(IndexType.BITMAP, "status");
+        statusIndexConfig.getBitmapIndexOptions().setUniqueKeyTransformation(RAW);
+        accountsBitmapConfig.addIndexConfig(statusIndexConfig);
+        IndexConfig regionIndexConfig = new IndexConfig(IndexType.BITMAP, "region");
+        regionIndexConfig.getBitmapIndexOptions().setUniqueKeyTransformation(RAW);
+        accountsBitmapConfig.addIndexConfig(regionIndexConfig);
+
         instance = Hazelcast.newHazelcastInstance(config);
 
         personsBitmap = instance.getMap("personsBitmap");
         personsHash = instance.getMap("personsHash");
+        accountsBitmap = instance.getMap("accountsBitmap");
 
         for (int i = 0; i < SIZE; ++i) {
             int[] habits = new int[HABITS];
@@ -85,6 +104,18 @@ public class BitmapIndexQueriesBenchmark {
             personsBitmap.put(i, person);
             personsHash.put(i, person);
         }
+
+        // Statuses are assigned in long streaks of consecutive keys, like the
+        // accounts created in bulk, while regions are scattered randomly.
+        Map<Integer, Account> batch = new HashMap<>();
+        for (int i = 0; i < ACCOUNTS; ++i) {
+            batch.put(i, new Account(i / (ACCOUNTS / STATUSES / 8) % STATUSES, random.nextInt(REGIONS)));
+            if (batch.size() == BATCH) {
+                accountsBitmap.putAll(batch);
+                batch.clear();
+            }
+        }
+        accountsBitmap.putAll(batch);
     }
 
     @TearDown
@@ -132,6 +163,21 @@ public class BitmapIndexQueriesBenchmark {
         personsHash.entrySet(not(equal("habits[any]", random.nextInt(DOMAIN))));
     }
 
+    @Benchmark
+    public void bitmapQueriesLowCardinalityAnd() {
+        accountsBitmap.keySet(and(equal("status", random.nextInt(STATUSES)), equal("region", random.nextInt(REGIONS))));
+    }
+
+    @Benchmark
+    public void bitmapQueriesLowCardinalityOr() {
+        accountsBitmap.keySet(or(equal("region", random.nextInt(REGIONS)), equal("region", random.nextInt(REGIONS))));
+    }
+
+    @Benchmark
+    public void bitmapQueriesLowCardinalityNot() {
+        accountsBitmap.keySet(and(not(equal("status", random.nextInt(STATUSES))), equal("region", random.nextInt(REGIONS))));
+    }
+
     public static void main(String[] args) throws RunnerException {
         // @formatter:off
         Options opt = new OptionsBuilder()
@@ -164,4 +210,26 @@ public class BitmapIndexQueriesBenchmark {
 
     }
 
+    public static class Account implements Serializable {
+
+        private final int status;
+        private final int region;
+
+        public Account(int status, int region) {
+            this.status = status;
+            this.region = region;
+        }
+
+        @SuppressWarnings("unused")
+        public int getStatus() {
+            return status;
+        }
+
+        @SuppressWarnings("unused")
+        public int getRegion() {
+            return region;
+        }
+
+    }
+
 }
@@ -29,6 +29,8 @@ import java.util.TreeSet;
 
 import static com.hazelcast.query.impl.bitmap.SparseBitSet.ARRAY_STORAGE_16_MAX_SIZE;
 import static com.hazelcast.query.impl.bitmap.SparseBitSet.ARRAY_STORAGE_32_MAX_SIZE;
+import static com.hazelcast.query.impl.bitmap.SparseBitSet.RUN_STORAGE_16_CONVERSION_SIZE;
+import static com.hazelcast.query.impl.bitmap.SparseBitSet.RUN_STORAGE_16_MAX_SIZE;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNull;
 
@@ -264,6 +266,100 @@ public class SparseBitSetTest {
         }
     }
 
+    @Test
+    public void testAddWithRunStorage16Upgrade() {
+        // long consecutive ranges upgrade the array storage to the run storage
+        for (long i = 100; i < 100 + 3 * ARRAY_STORAGE_16_MAX_SIZE; ++i) {
+            set(i);
+        }
+        verify();
+
+        // fill the gaps between the runs
+        for (long i = 70000; i < 70000 + 2 * ARRAY_STORAGE_16_MAX_SIZE; i += 2) {
+            set(i);
+        }
+        verify();
+        for (long i = 70001; i < 70001 + 2 * ARRAY_STORAGE_16_MAX_SIZE; i += 2) {
+            set(i);
+            if (i % 97 == 0) {
+                verify();
+            }
+        }
+        verify();
+    }
+
+    @Test
+    public void testAddWithBitSetStorage16ToRunStorage16Switching() {
+        // force the bit set storage
+        for (long i = 0; i < 2 * ARRAY_STORAGE_16_MAX_SIZE; i += 2) {
+            set(i);
+        }
+        verify();
+
+        // merge the members into a few runs
+        for (long i = 1; i < 2 * ARRAY_STORAGE_16_MAX_SIZE; i += 2) {
+            set(i);
+        }
+        verify();
+
+        for (long i = 2 * ARRAY_STORAGE_16_MAX_SIZE; i < 6 * ARRAY_STORAGE_16_MAX_SIZE; ++i) {
+            set(i);
+        }
+        verify();
+    }
+
+    @Test
+    public void testRemoveWithRunSplitting() {
+        for (long i = 1000; i < 1000 + 4 * ARRAY_STORAGE_16_MAX_SIZE; ++i) {
+            set(i);
+        }
+        verify();
+
+        // split the run many times, enough to force a conversion
+        for (long i = 1001; i < 1000 + 4 * ARRAY_STORAGE_16_MAX_SIZE && i < 1000 + 4 * RUN_STORAGE_16_MAX_SIZE; i += 3) {
+            clear(i);
+            if (i % 101 == 0) {
+                verify();
+            }
+        }
+        verify();
+
+        // remove everything from the ends
+        for (long i = 1000; i < 1000 + 4 * ARRAY_STORAGE_16_MAX_SIZE; ++i) {
+            clear(i);
+            if (i % 211 == 0) {
+                verify();
+            }
+        }
+        verify();
+    }
+
+    @Test
+    public void testRunStorage16Conversion() {
+        // many short runs of 3 members: too many runs for the run storage
+        for (long i = 0; i < 4 * RUN_STORAGE_16_CONVERSION_SIZE * 4; i += 4) {
+            set(i);
+            set(i + 1);
+            set(i + 2);
+        }
+        verify();
+
+        // merge them into a single run
+        for (long i = 3; i < 4 * RUN_STORAGE_16_CONVERSION_SIZE * 4; i += 4) {
+            set(i);
+        }
+        verify();
+
+        // and split them again
+        for (long i = 1; i < 4 * RUN_STORAGE_16_CONVERSION_SIZE * 4; i += 2) {
+            clear(i);
+            if (i % 301 == 0) {
+                verify();
+            }
+        }
+        verify();
+    }
+
     @Test
     public void testIteratorAdvanceAtLeastTo() {
         // try empty set
@@ -398,6 +494,7 @@ public class SparseBitSetTest {
     private void verify() {
         AscendingLongIterator iterator = actual.iterator();
         verify(iterator, expected);
+        verify(BitmapAlgorithms.members(actual.chunkIterator()), expected);
     }
 
     private void verify(AscendingLongIterator actual, SortedSet<Long> expected) {
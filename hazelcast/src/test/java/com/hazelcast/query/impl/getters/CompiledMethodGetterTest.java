@@ -0,0 +1,149 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.query.impl.getters;
+
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.function.Function;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class CompiledMethodGetterTest {
+
+    @Test
+    public void testCompile() throws Exception {
+        Function<Object, Object> accessor = CompiledMethodGetter.compile(Person.class.getMethod("getName"));
+        assertNotNull(accessor);
+        assertEquals("John", accessor.apply(new Person("John", 42)));
+    }
+
+    @Test
+    public void testCompile_primitive() throws Exception {
+        Function<Object, Object> accessor = CompiledMethodGetter.compile(Person.class.getMethod("getAge"));
+        assertNotNull(accessor);
+        assertEquals(42, accessor.apply(new Person("John", 42)));
+    }
+
+    @Test
+    public void testCompile_inheritedMethod() throws Exception {
+        Function<Object, Object> accessor = CompiledMethodGetter.compile(Employee.class.getMethod("getName"));
+        assertNotNull(accessor);
+        assertEquals("Jane", accessor.apply(new Employee("Jane", 33)));
+    }
+
+    @Test
+    public void testCompile_nonPublicClass() throws Exception {
+        assertNull(CompiledMethodGetter.compile(Hidden.class.getMethod("getValue")));
+    }
+
+    @Test
+    public void testCompile_staticMethod() throws Exception {
+        assertNull(CompiledMethodGetter.compile(Person.class.getMethod("getDefaultName")));
+    }
+
+    @Test
+    public void testNewMethodGetter() throws Exception {
+        Person person = new Person("John", 42);
+        Getter getter = GetterFactory.newMethodGetter(person, null, Person.class.getMethod("getAge"), null);
+        assertTrue(getter instanceof CompiledMethodGetter);
+        assertEquals(42, getter.getValue(person));
+
+        Hidden hidden = new Hidden();
+        Method method = Hidden.class.getMethod("getValue");
+        method.setAccessible(true);
+        getter = GetterFactory.newMethodGetter(hidden, null, method, null);
+        assertTrue(getter instanceof MethodGetter);
+        assertEquals("hidden", getter.getValue(hidden));
+    }
+
+    @Test
+    public void testExtract_exceptionInGetter() throws Exception {
+        Person person = new Person(null, 42);
+        Getter getter = GetterFactory.newMethodGetter(person, null, Person.class.getMethod("getNameLength"), null);
+        try {
+            getter.getValue(person);
+            fail();
+        } catch (InvocationTargetException e) {
+            assertTrue(e.getCause() instanceof NullPointerException);
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testExtract_wrongType() throws Exception {
+        Person person = new Person("John", 42);
+        Getter getter = GetterFactory.newMethodGetter(person, null, Person.class.getMethod("getName"), null);
+        getter.getValue("not a person");
+    }
+
+    public static class Person {
+
+        private final String name;
+        private final int age;
+
+        public Person(String name, int age) {
+            this.name = name;
+            this.age = age;
+        }
+
+        public static String getDefaultName() {
+            return "default";
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public int getAge() {
+            return age;
+        }
+
+        public int getNameLength() {
+            return name.length();
+        }
+
+    }
+
+    public static class Employee extends Person {
+
+        public Employee(String name, int age) {
+            super(name, age);
+        }
+
+    }
+
+    static class Hidden {
+
+        public String getValue() {
+            return "hidden";
+        }
+
+    }
+
+}
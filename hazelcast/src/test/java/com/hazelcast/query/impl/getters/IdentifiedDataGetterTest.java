@@ -0,0 +1,296 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.query.impl.getters;
+
+import com.hazelcast.config.AttributeConfig;
+import com.hazelcast.config.Config;
+import com.hazelcast.config.InMemoryFormat;
+import com.hazelcast.config.SerializationConfig;
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.internal.serialization.impl.DefaultSerializationServiceBuilder;
+import com.hazelcast.map.IMap;
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.DataSerializableFactory;
+import com.hazelcast.nio.serialization.FieldOffsetSchema;
+import com.hazelcast.nio.serialization.FieldType;
+import com.hazelcast.nio.serialization.IdentifiedDataSerializable;
+import com.hazelcast.query.Predicates;
+import com.hazelcast.query.extractor.ValueCollector;
+import com.hazelcast.query.extractor.ValueExtractor;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.util.Collections.singletonList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class IdentifiedDataGetterTest extends HazelcastTestSupport {
+
+    private static final int FACTORY_ID = 1;
+    private static final int RECORD_CLASS_ID = 1;
+    private static final int NO_SCHEMA_CLASS_ID = 2;
+
+    private static final FieldOffsetSchema SCHEMA = FieldOffsetSchema.builder()
+            .addField("byteValue", FieldType.BYTE)
+            .addField("booleanValue", FieldType.BOOLEAN)
+            .addField("charValue", FieldType.CHAR)
+            .addField("shortValue", FieldType.SHORT)
+            .addField("intValue", FieldType.INT)
+            .addField("longValue", FieldType.LONG)
+            .addField("floatValue", FieldType.FLOAT)
+            .addField("doubleValue", FieldType.DOUBLE)
+            .build();
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testSchema_duplicateField() {
+        FieldOffsetSchema.builder().addField("a", FieldType.INT).addField("a", FieldType.LONG);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testSchema_variableSizeField() {
+        FieldOffsetSchema.builder().addField("a", FieldType.UTF);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testSchema_arrayField() {
+        FieldOffsetSchema.builder().addField("a", FieldType.INT_ARRAY);
+    }
+
+    @Test
+    public void testSchema_offsets() {
+        assertEquals(0, SCHEMA.getOffset("byteValue"));
+        assertEquals(1, SCHEMA.getOffset("booleanValue"));
+        assertEquals(2, SCHEMA.getOffset("charValue"));
+        assertEquals(4, SCHEMA.getOffset("shortValue"));
+        assertEquals(6, SCHEMA.getOffset("intValue"));
+        assertEquals(10, SCHEMA.getOffset("longValue"));
+        assertEquals(18, SCHEMA.getOffset("floatValue"));
+        assertEquals(22, SCHEMA.getOffset("doubleValue"));
+        assertEquals(-1, SCHEMA.getOffset("stringValue"));
+        assertEquals(FieldType.LONG, SCHEMA.getType("longValue"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testGetValue_withoutPath() throws Exception {
+        new IdentifiedDataGetter(new DefaultSerializationServiceBuilder().build()).getValue(new Object());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testGetReturnType() {
+        new IdentifiedDataGetter(new DefaultSerializationServiceBuilder().build()).getReturnType();
+    }
+
+    @Test
+    public void testExtract_allTypes() {
+        for (ByteOrder byteOrder : new ByteOrder[]{ByteOrder.BIG_ENDIAN, ByteOrder.LITTLE_ENDIAN}) {
+            InternalSerializationService ss = new DefaultSerializationServiceBuilder()
+                    .setByteOrder(byteOrder)
+                    .addDataSerializableFactory(FACTORY_ID, new RecordFactory())
+                    .build();
+            Extractors extractors = Extractors.newBuilder(ss).build();
+            Data data = ss.toData(new Record(42));
+
+            assertNotNull(extractors.getDataSchema(data, "longValue"));
+            assertEquals((byte) 42, extractors.extract(data, "byteValue", null));
+            assertEquals(true, extractors.extract(data, "booleanValue", null));
+            assertEquals((char) 42, extractors.extract(data, "charValue", null));
+            assertEquals((short) 42, extractors.extract(data, "shortValue", null));
+            assertEquals(42, extractors.extract(data, "intValue", null));
+            assertEquals(42L, extractors.extract(data, "longValue", null));
+            assertEquals(42.5f, extractors.extract(data, "floatValue", null));
+            assertEquals(42.5d, extractors.extract(data, "doubleValue", null));
+        }
+    }
+
+    @Test
+    public void testExtract_attributeNotInSchema_deserializes() {
+        InternalSerializationService ss = new DefaultSerializationServiceBuilder()
+                .addDataSerializableFactory(FACTORY_ID, new RecordFactory())
+                .build();
+        Extractors extractors = Extractors.newBuilder(ss).build();
+        Data data = ss.toData(new Record(42));
+
+        assertNull(extractors.getDataSchema(data, "stringValue"));
+        assertEquals("42", extractors.extract(data, "stringValue", null));
+    }
+
+    @Test
+    public void testExtract_typeWithoutSchema_deserializes() {
+        InternalSerializationService ss = new DefaultSerializationServiceBuilder()
+                .addDataSerializableFactory(FACTORY_ID, new RecordFactory())
+                .build();
+        Extractors extractors = Extractors.newBuilder(ss).build();
+        Record record = new Record(42);
+        record.classId = NO_SCHEMA_CLASS_ID;
+        Data data = ss.toData(record);
+
+        assertNull(extractors.getDataSchema(data, "longValue"));
+        assertEquals(42L, extractors.extract(data, "longValue", null));
+    }
+
+    @Test
+    public void testExtract_customExtractorTakesPrecedence() {
+        InternalSerializationService ss = new DefaultSerializationServiceBuilder()
+                .addDataSerializableFactory(FACTORY_ID, new RecordFactory())
+                .build();
+        AttributeConfig config = new AttributeConfig("longValue", NegatedLongExtractor.class.getName());
+        Extractors extractors = Extractors.newBuilder(ss).setAttributeConfigs(singletonList(config)).build();
+        Data data = ss.toData(new Record(42));
+
+        assertNull(extractors.getDataSchema(data, "longValue"));
+        assertEquals(-42L, extractors.extract(data, "longValue", null));
+    }
+
+    @Test
+    public void testQuery_binaryMap_noDeserialization() {
+        Config config = getConfig();
+        config.getMapConfig("map").setInMemoryFormat(InMemoryFormat.BINARY);
+        SerializationConfig serializationConfig = config.getSerializationConfig();
+        serializationConfig.addDataSerializableFactory(FACTORY_ID, new RecordFactory());
+        IMap<Integer, Record> map = createHazelcastInstance(config).getMap("map");
+        for (int i = 0; i < 100; ++i) {
+            map.put(i, new Record(i));
+        }
+
+        Record.READS.set(0);
+        Set<Integer> keys = map.keySet(Predicates.and(Predicates.greaterEqual("longValue", 90L),
+                Predicates.equal("booleanValue", true)));
+        assertEquals(10, keys.size());
+        for (int i = 90; i < 100; ++i) {
+            assertTrue(keys.contains(i));
+        }
+        assertEquals(0, Record.READS.get());
+
+        keys = map.keySet(Predicates.equal("stringValue", "7"));
+        assertEquals(1, keys.size());
+        assertTrue(keys.contains(7));
+        assertTrue(Record.READS.get() > 0);
+    }
+
+    private static class RecordFactory implements DataSerializableFactory {
+
+        @Override
+        public IdentifiedDataSerializable create(int typeId) {
+            Record record = new Record();
+            record.classId = typeId;
+            return record;
+        }
+
+        @Override
+        public FieldOffsetSchema getFieldOffsetSchema(int typeId) {
+            return typeId == RECORD_CLASS_ID ? SCHEMA : null;
+        }
+
+    }
+
+    @SuppressWarnings("unused")
+    private static class Record implements IdentifiedDataSerializable {
+
+        static final AtomicInteger READS = new AtomicInteger();
+
+        int classId = RECORD_CLASS_ID;
+
+        byte byteValue;
+        boolean booleanValue;
+        char charValue;
+        short shortValue;
+        int intValue;
+        long longValue;
+        float floatValue;
+        double doubleValue;
+        String stringValue;
+
+        Record() {
+        }
+
+        Record(int value) {
+            this.byteValue = (byte) value;
+            this.booleanValue = true;
+            this.charValue = (char) value;
+            this.shortValue = (short) value;
+            this.intValue = value;
+            this.longValue = value;
+            this.floatValue = value + 0.5f;
+            this.doubleValue = value + 0.5d;
+            this.stringValue = Integer.toString(value);
+        }
+
+        @Override
+        public int getFactoryId() {
+            return FACTORY_ID;
+        }
+
+        @Override
+        public int getClassId() {
+            return classId;
+        }
+
+        @Override
+        public void writeData(ObjectDataOutput out) throws IOException {
+            out.writeByte(byteValue);
+            out.writeBoolean(booleanValue);
+            out.writeChar(charValue);
+            out.writeShort(shortValue);
+            out.writeInt(intValue);
+            out.writeLong(longValue);
+            out.writeFloat(floatValue);
+            out.writeDouble(doubleValue);
+            out.writeUTF(stringValue);
+        }
+
+        @Override
+        public void readData(ObjectDataInput in) throws IOException {
+            READS.incrementAndGet();
+            byteValue = in.readByte();
+            booleanValue = in.readBoolean();
+            charValue = in.readChar();
+            shortValue = in.readShort();
+            intValue = in.readInt();
+            longValue = in.readLong();
+            floatValue = in.readFloat();
+            doubleValue = in.readDouble();
+            stringValue = in.readUTF();
+        }
+
+    }
+
+    public static class NegatedLongExtractor implements ValueExtractor<Record, Object> {
+
+        @Override
+        public void extract(Record target, Object argument, ValueCollector collector) {
+            collector.addObject(-target.longValue);
+        }
+
+    }
+
+}
@@ -0,0 +1,171 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.query.impl.predicates;
+
+import com.hazelcast.internal.monitor.impl.PerIndexStats;
+import com.hazelcast.query.Predicate;
+import com.hazelcast.query.impl.IndexStatistics;
+import com.hazelcast.query.impl.Indexes;
+import com.hazelcast.query.impl.InternalIndex;
+import com.hazelcast.query.impl.QueryContext.IndexMatchHint;
+import com.hazelcast.query.impl.TypeConverters;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import static com.hazelcast.query.Predicates.and;
+import static com.hazelcast.query.Predicates.equal;
+import static com.hazelcast.query.Predicates.greaterThan;
+import static com.hazelcast.query.Predicates.in;
+import static com.hazelcast.query.impl.Indexes.SKIP_PARTITIONS_COUNT_CHECK;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class SelectivityVisitorTest {
+
+    private SelectivityVisitor visitor;
+    private Indexes indexes;
+
+    @Before
+    public void before() {
+        indexes = mock(Indexes.class);
+        visitor = new SelectivityVisitor();
+    }
+
+    @Test
+    public void testNonSelectiveEqualityFallsBackToScan() {
+        InternalIndex index = index("status", 10000, 0.95);
+
+        Predicate predicate = equal("status", "ACTIVE");
+        Predicate optimized = accept(predicate);
+        assertSkipped(predicate, optimized);
+        verify(index.getPerIndexStats()).onIndexSkipped();
+    }
+
+    @Test
+    public void testSelectiveEqualityUsesIndex() {
+        InternalIndex index = index("id", 10000, 0.0001);
+
+        Predicate predicate = equal("id", 1);
+        assertSame(predicate, accept(predicate));
+        verify(index.getPerIndexStats(), never()).onIndexSkipped();
+    }
+
+    @Test
+    public void testSmallIndexesAreNotJudged() {
+        InternalIndex index = index("status", SelectivityVisitor.MIN_ENTRY_COUNT - 1, 1.0);
+
+        Predicate predicate = equal("status", "ACTIVE");
+        assertSame(predicate, accept(predicate));
+        verify(index.getPerIndexStats(), never()).onIndexSkipped();
+    }
+
+    @Test
+    public void testUnindexedPredicatesAreNotTouched() {
+        Predicate predicate = equal("unknown", 1);
+        assertSame(predicate, accept(predicate));
+    }
+
+    @Test
+    public void testInSelectivityIsSummedUp() {
+        index("status", 10000, 0.3);
+
+        Predicate twoValues = in("status", "A", "B");
+        assertSame(twoValues, accept(twoValues));
+
+        Predicate threeValues = in("status", "A", "B", "C");
+        assertSkipped(threeValues, accept(threeValues));
+    }
+
+    @Test
+    public void testAndIntersectsOnlySelectivePredicates() {
+        index("id", 10000, 0.001);
+        InternalIndex country = index("country", 10000, 0.003);
+        InternalIndex type = index("type", 10000, 0.2);
+
+        Predicate id = equal("id", 1);
+        Predicate countryEqual = equal("country", "NL");
+        Predicate typeEqual = equal("type", "T");
+        Predicate custom = new VisitorTestSupport.CustomPredicate();
+
+        Predicate optimized = accept(and(typeEqual, countryEqual, custom, id));
+        assertTrue(optimized instanceof AndPredicate);
+        Predicate[] predicates = ((AndPredicate) optimized).predicates;
+        assertSkipped(typeEqual, predicates[0]);
+        assertArrayEquals(new Predicate[]{countryEqual, custom, id}, new Predicate[]{predicates[1], predicates[2], predicates[3]});
+
+        verify(type.getPerIndexStats(), times(1)).onIndexSkipped();
+        verify(country.getPerIndexStats(), never()).onIndexSkipped();
+    }
+
+    @Test
+    public void testAndKeepsRangesNextToUnselectiveDriver() {
+        index("type", 10000, 0.5);
+        index("age", 10000, 0.0);
+
+        Predicate and = and(equal("type", "T"), greaterThan("age", 10));
+        assertSame(and, accept(and));
+    }
+
+    @Test
+    public void testAndSkipsRangesNextToSelectiveDriver() {
+        index("id", 10000, 0.0001);
+        index("age", 10000, 0.0);
+
+        Predicate age = greaterThan("age", 10);
+        Predicate optimized = accept(and(equal("id", 1), age));
+        assertSkipped(age, ((AndPredicate) optimized).predicates[1]);
+    }
+
+    private Predicate accept(Predicate predicate) {
+        return ((VisitablePredicate) predicate).accept(visitor, indexes);
+    }
+
+    private InternalIndex index(String attribute, long entryCount, double selectivity) {
+        IndexStatistics statistics = mock(IndexStatistics.class);
+        when(statistics.getEntryCount()).thenReturn(entryCount);
+        when(statistics.estimateSelectivity(any())).thenReturn(selectivity);
+
+        InternalIndex index = mock(InternalIndex.class);
+        when(index.getConverter()).thenReturn(TypeConverters.IDENTITY_CONVERTER);
+        when(index.getStatistics()).thenReturn(statistics);
+        PerIndexStats perIndexStats = mock(PerIndexStats.class);
+        when(index.getPerIndexStats()).thenReturn(perIndexStats);
+
+        when(indexes.matchIndex(attribute, IndexMatchHint.NONE, SKIP_PARTITIONS_COUNT_CHECK)).thenReturn(index);
+        return index;
+    }
+
+    private static void assertSkipped(Predicate expected, Predicate actual) {
+        assertTrue(actual instanceof SkipIndexPredicate);
+        assertSame(expected, ((SkipIndexPredicate) actual).getTarget());
+    }
+
+}
@@ -219,7 +219,7 @@ public abstract class OperationExecutorImpl_AbstractTest extends HazelcastTestSu
 
         @Override
         public long executedOperationsCount() {
-            return 0;
+            return operations.size() + tasks.size();
         }
 
         @Override
@@ -0,0 +1,266 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.spi.impl.operationexecutor.impl;
+
+import com.hazelcast.internal.util.Clock;
+import com.hazelcast.spi.impl.PartitionSpecificRunnable;
+import com.hazelcast.spi.impl.operationservice.PartitionTaskFactory;
+import com.hazelcast.test.HazelcastSerialClassRunner;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.BitSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+import static com.hazelcast.spi.properties.ClusterProperty.PARTITION_COUNT;
+import static com.hazelcast.spi.properties.ClusterProperty.PARTITION_OPERATION_BALANCER_INTERVAL_SECONDS;
+import static com.hazelcast.spi.properties.ClusterProperty.PARTITION_OPERATION_THREAD_COUNT;
+import static java.util.Collections.newSetFromMap;
+import static java.util.concurrent.TimeUnit.DAYS;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastSerialClassRunner.class)
+@Category(QuickTest.class)
+public class OperationExecutorImpl_BalancerTest extends OperationExecutorImpl_AbstractTest {
+
+    @Test
+    public void whenBalancerDisabled_thenPartitionsAssignedByMod() {
+        initExecutor();
+
+        assertNull(executor.getPartitionOperationBalancer());
+        int threadCount = executor.getPartitionThreadCount();
+        for (int partitionId = 0; partitionId < props.getInteger(PARTITION_COUNT); partitionId++) {
+            assertEquals(partitionId % threadCount, executor.toPartitionThreadIndex(partitionId));
+        }
+    }
+
+    @Test
+    public void whenSinglePartitionThread_thenBalancerDisabled() {
+        config.setProperty(PARTITION_OPERATION_BALANCER_INTERVAL_SECONDS.getName(), "1");
+        config.setProperty(PARTITION_OPERATION_THREAD_COUNT.getName(), "1");
+        initExecutor();
+
+        assertNull(executor.getPartitionOperationBalancer());
+    }
+
+    @Test
+    public void whenPartitionHandedOff_thenTaskOrderKept() throws Exception {
+        initBalancedExecutor(4);
+        PartitionThreadAssignment assignment = executor.getPartitionThreadAssignment();
+        int partitionId = 1;
+        int taskCount = 100000;
+        SequenceChecker checker = new SequenceChecker();
+
+        Future producer = spawn(() -> {
+            for (int sequence = 0; sequence < taskCount; sequence++) {
+                executor.execute(new SequencedTask(partitionId, sequence, checker));
+            }
+        });
+
+        int handoffCount = 0;
+        while (!producer.isDone() || handoffCount == 0) {
+            int dstThreadId = (assignment.runningThreadId(partitionId) + 1) % executor.getPartitionThreadCount();
+            CountDownLatch completed = new CountDownLatch(1);
+            assignment.handoff(partitionId, dstThreadId, completed::countDown);
+            assertOpenEventually(completed);
+            assertEquals(dstThreadId, executor.toPartitionThreadIndex(partitionId));
+            handoffCount++;
+        }
+        producer.get();
+
+        assertTrueEventually(() -> assertEquals(taskCount, checker.lastSequence.get() + 1));
+        assertFalse("tasks of the partition have been run out of order or concurrently", checker.failed.get());
+        assertTrue(checker.threads.size() > 1);
+    }
+
+    @Test
+    public void whenPartitionHandedOff_thenBatchRunsEachPartitionOnceOnItsThread() {
+        initBalancedExecutor(2);
+        PartitionThreadAssignment assignment = executor.getPartitionThreadAssignment();
+        CountDownLatch completed = new CountDownLatch(1);
+        assignment.handoff(0, 1, completed::countDown);
+        assertOpenEventually(completed);
+
+        int partitionCount = props.getInteger(PARTITION_COUNT);
+        AtomicIntegerArray runCounts = new AtomicIntegerArray(partitionCount);
+        AtomicBoolean wrongThread = new AtomicBoolean();
+        BitSet partitions = new BitSet(partitionCount);
+        partitions.set(0, partitionCount);
+        executor.executeOnPartitions((PartitionTaskFactory<Runnable>) partitionId -> () -> {
+            PartitionOperationThread thread = (PartitionOperationThread) Thread.currentThread();
+            if (thread.getThreadId() != executor.toPartitionThreadIndex(partitionId)) {
+                wrongThread.set(true);
+            }
+            runCounts.incrementAndGet(partitionId);
+        }, partitions);
+
+        assertTrueEventually(() -> {
+            for (int partitionId = 0; partitionId < partitionCount; partitionId++) {
+                assertEquals(1, runCounts.get(partitionId));
+            }
+        });
+        assertFalse(wrongThread.get());
+    }
+
+    @Test
+    public void whenThreadOverloaded_thenPartitionHandedOffToLeastBusyThread() {
+        initBalancedExecutor(2);
+        PartitionOperationBalancer balancer = executor.getPartitionOperationBalancer();
+        assertNotNull(balancer);
+
+        // partitions 0 and 2 are both assigned to the partition thread 0
+        executePartitionOperations(0, 1000);
+        executePartitionOperations(2, 100);
+        balancer.rebalance();
+
+        assertTrueEventually(() -> assertEquals(1, balancer.getHandoffCompletedCount()));
+        assertFalse(balancer.isHandoffInProgress());
+        assertEquals(0, executor.toPartitionThreadIndex(0));
+        assertEquals(1, executor.toPartitionThreadIndex(2));
+    }
+
+    @Test
+    public void whenSingleHotPartition_thenNotHandedOff() {
+        initBalancedExecutor(2);
+        PartitionOperationBalancer balancer = executor.getPartitionOperationBalancer();
+
+        executePartitionOperations(0, 1000);
+        balancer.rebalance();
+
+        assertFalse(balancer.isHandoffInProgress());
+        assertEquals(0, balancer.getHandoffCompletedCount());
+        assertEquals(0, executor.toPartitionThreadIndex(0));
+    }
+
+    @Test
+    public void whenHandoffNotCompletedInTime_thenBalancingResumed() {
+        initBalancedExecutor(2);
+        PartitionOperationBalancer balancer = executor.getPartitionOperationBalancer();
+
+        // partitions 0 and 2 are both assigned to the partition thread 0
+        executePartitionOperations(0, 1000);
+        executePartitionOperations(2, 100);
+        // the handoff task of the partition 2 is queued behind the blocked partition 4
+        CountDownLatch unblock = new CountDownLatch(1);
+        executor.execute(new BlockingTask(4, unblock));
+        balancer.rebalance();
+        assertTrue(balancer.isHandoffInProgress());
+
+        long afterTimeout = Clock.currentTimeMillis() + DAYS.toMillis(1);
+        balancer.rebalance(afterTimeout);
+        assertFalse(balancer.isHandoffInProgress());
+
+        // partitions 1 and 3 are both assigned to the partition thread 1
+        executePartitionOperations(1, 1000);
+        executePartitionOperations(3, 100);
+        balancer.rebalance(afterTimeout);
+        assertTrue(balancer.isHandoffInProgress());
+
+        unblock.countDown();
+        assertTrueEventually(() -> assertEquals(2, balancer.getHandoffCompletedCount()));
+        assertFalse(balancer.isHandoffInProgress());
+        assertEquals(1, executor.toPartitionThreadIndex(2));
+        assertEquals(0, executor.toPartitionThreadIndex(3));
+    }
+
+    private void initBalancedExecutor(int threadCount) {
+        // long enough interval for the test to trigger the rebalancing
+        config.setProperty(PARTITION_OPERATION_BALANCER_INTERVAL_SECONDS.getName(), "3600");
+        config.setProperty(PARTITION_OPERATION_THREAD_COUNT.getName(), String.valueOf(threadCount));
+        initExecutor();
+    }
+
+    private void executePartitionOperations(int partitionId, int count) {
+        for (int i = 0; i < count; i++) {
+            executor.execute(new DummyPartitionOperation(partitionId));
+        }
+        assertTrueEventually(() -> assertEquals(count,
+                executor.getPartitionOperationRunners()[partitionId].executedOperationsCount()));
+    }
+
+    private static class SequenceChecker {
+
+        final AtomicInteger lastSequence = new AtomicInteger(-1);
+        final AtomicBoolean running = new AtomicBoolean();
+        final AtomicBoolean failed = new AtomicBoolean();
+        final Set<Thread> threads = newSetFromMap(new ConcurrentHashMap<>());
+    }
+
+    private static class BlockingTask implements PartitionSpecificRunnable {
+
+        private final int partitionId;
+        private final CountDownLatch unblock;
+
+        BlockingTask(int partitionId, CountDownLatch unblock) {
+            this.partitionId = partitionId;
+            this.unblock = unblock;
+        }
+
+        @Override
+        public int getPartitionId() {
+            return partitionId;
+        }
+
+        @Override
+        public void run() {
+            assertOpenEventually(unblock);
+        }
+    }
+
+    private static class SequencedTask implements PartitionSpecificRunnable {
+
+        private final int partitionId;
+        private final int sequence;
+        private final SequenceChecker checker;
+
+        SequencedTask(int partitionId, int sequence, SequenceChecker checker) {
+            this.partitionId = partitionId;
+            this.sequence = sequence;
+            this.checker = checker;
+        }
+
+        @Override
+        public int getPartitionId() {
+            return partitionId;
+        }
+
+        @Override
+        public void run() {
+            if (!checker.running.compareAndSet(false, true)) {
+                checker.failed.set(true);
+            }
+            if (checker.lastSequence.get() + 1 != sequence) {
+                checker.failed.set(true);
+            }
+            checker.threads.add(Thread.currentThread());
+            checker.lastSequence.set(sequence);
+            checker.running.set(false);
+        }
+    }
+}
@@ -0,0 +1,139 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.spi.impl.operationexecutor.impl;
+
+import com.hazelcast.spi.impl.PartitionSpecificRunnable;
+import com.hazelcast.spi.impl.operationservice.UrgentSystemOperation;
+import com.hazelcast.test.HazelcastSerialParametersRunnerFactory;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.junit.runners.Parameterized.Parameter;
+import org.junit.runners.Parameterized.Parameters;
+import org.junit.runners.Parameterized.UseParametersRunnerFactory;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.hazelcast.spi.properties.ClusterProperty.PARTITION_COUNT;
+import static com.hazelcast.spi.properties.ClusterProperty.PARTITION_OPERATION_THREAD_IDLE_STRATEGY;
+import static java.util.Collections.newSetFromMap;
+import static org.junit.Assert.assertEquals;
+
+@RunWith(Parameterized.class)
+@UseParametersRunnerFactory(HazelcastSerialParametersRunnerFactory.class)
+@Category(QuickTest.class)
+public class OperationExecutorImpl_IdleStrategyTest extends OperationExecutorImpl_AbstractTest {
+
+    @Parameter
+    public String idleStrategy;
+
+    @Parameters(name = "idleStrategy:{0}")
+    public static Collection<Object[]> parameters() {
+        return Arrays.asList(new Object[][]{
+                {"block"},
+                {"backoff"},
+                {"backoff,10,20,1000,100000"},
+                {"busyspin"},
+        });
+    }
+
+    @Test
+    public void whenNormalAndUrgentTasks_thenAllExecutedOnPartitionThreads() {
+        config.setProperty(PARTITION_OPERATION_THREAD_IDLE_STRATEGY.getName(), idleStrategy);
+        initExecutor();
+
+        int partitionCount = props.getInteger(PARTITION_COUNT);
+        int rounds = 10;
+        CountDownLatch completed = new CountDownLatch(2 * rounds * partitionCount);
+        AtomicInteger notOnPartitionThread = new AtomicInteger();
+        for (int round = 0; round < rounds; round++) {
+            for (int partitionId = 0; partitionId < partitionCount; partitionId++) {
+                executor.execute(new CountingTask(partitionId, completed, notOnPartitionThread));
+                executor.execute(new UrgentCountingTask(partitionId, completed, notOnPartitionThread));
+            }
+        }
+
+        assertOpenEventually(completed);
+        assertEquals(0, notOnPartitionThread.get());
+    }
+
+    @Test
+    public void whenIdle_thenShutdownTerminatesPartitionThreads() {
+        config.setProperty(PARTITION_OPERATION_THREAD_IDLE_STRATEGY.getName(), idleStrategy);
+        initExecutor();
+
+        int threadCount = executor.getPartitionThreadCount();
+        Set<Thread> threads = newSetFromMap(new ConcurrentHashMap<>());
+        CountDownLatch completed = new CountDownLatch(threadCount);
+        for (int partitionId = 0; partitionId < threadCount; partitionId++) {
+            executor.execute(new PartitionSpecificCallable<Object>(partitionId) {
+                @Override
+                public Object call() {
+                    threads.add(Thread.currentThread());
+                    completed.countDown();
+                    return null;
+                }
+            });
+        }
+        assertOpenEventually(completed);
+        assertEquals(threadCount, threads.size());
+
+        executor.shutdown();
+
+        assertJoinable(threads.toArray(new Thread[0]));
+    }
+
+    private static class CountingTask implements PartitionSpecificRunnable {
+
+        private final int partitionId;
+        private final CountDownLatch completed;
+        private final AtomicInteger notOnPartitionThread;
+
+        CountingTask(int partitionId, CountDownLatch completed, AtomicInteger notOnPartitionThread) {
+            this.partitionId = partitionId;
+            this.completed = completed;
+            this.notOnPartitionThread = notOnPartitionThread;
+        }
+
+        @Override
+        public int getPartitionId() {
+            return partitionId;
+        }
+
+        @Override
+        public void run() {
+            if (!(Thread.currentThread() instanceof PartitionOperationThread)) {
+                notOnPartitionThread.incrementAndGet();
+            }
+            completed.countDown();
+        }
+    }
+
+    private static class UrgentCountingTask extends CountingTask implements UrgentSystemOperation {
+
+        UrgentCountingTask(int partitionId, CountDownLatch completed, AtomicInteger notOnPartitionThread) {
+            super(partitionId, completed, notOnPartitionThread);
+        }
+    }
+}
@@ -0,0 +1,173 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.spi.impl.operationexecutor.impl;
+
+import com.hazelcast.internal.util.concurrent.BackoffIdleStrategy;
+import com.hazelcast.internal.util.concurrent.BusySpinIdleStrategy;
+import com.hazelcast.internal.util.concurrent.MPSCQueue;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static java.util.concurrent.TimeUnit.MICROSECONDS;
+
+/**
+ * Compares the throughput and the wakeup latency of a partition operation
+ * thread served by the {@link LinkedBlockingQueue} based queue and by the
+ * {@link MPSCQueue} based queue with the {@code block}, {@code backoff} and
+ * {@code busyspin} idle strategies.
+ * <p>
+ * The producers model the IO and user threads offering partition operations,
+ * the single consumer models the {@link PartitionOperationThread}.
+ */
+@State(Scope.Benchmark)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+@Threads(2)
+@SuppressWarnings("unused")
+public class OperationQueueBenchmark {
+
+    private static final int BATCH_SIZE = 1000;
+    private static final Object STOP = new Object();
+
+    @Param({"linkedblocking", "block", "backoff", "busyspin"})
+    public String queueType;
+
+    private OperationQueue queue;
+    private Thread consumer;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        consumer = new Thread(this::consume, "partition-operation-benchmark");
+        queue = newQueue(consumer);
+        consumer.start();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws InterruptedException {
+        queue.add(STOP, false);
+        consumer.join();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    @OperationsPerInvocation(BATCH_SIZE)
+    public void throughput(Producer producer) {
+        producer.done = false;
+        for (int i = 1; i < BATCH_SIZE; i++) {
+            queue.add(producer.noop, false);
+        }
+        queue.add(producer.completion, false);
+        producer.awaitCompletion();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SampleTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public void latency(Producer producer) {
+        producer.done = false;
+        queue.add(producer.completion, false);
+        producer.awaitCompletion();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SampleTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public void latency_urgent(Producer producer) {
+        producer.done = false;
+        queue.add(producer.completion, true);
+        producer.awaitCompletion();
+    }
+
+    private OperationQueue newQueue(Thread consumerThread) {
+        if ("linkedblocking".equals(queueType)) {
+            return new OperationQueueImpl(new LinkedBlockingQueue<>(), new ConcurrentLinkedQueue<>());
+        }
+
+        MPSCQueue<Object> normalQueue;
+        if ("block".equals(queueType)) {
+            normalQueue = new MPSCQueue<>(consumerThread, null);
+        } else if ("backoff".equals(queueType)) {
+            normalQueue = new MPSCQueue<>(consumerThread, new BackoffIdleStrategy(20, 50, 1, MICROSECONDS.toNanos(100)));
+        } else if ("busyspin".equals(queueType)) {
+            normalQueue = new MPSCQueue<>(consumerThread, new BusySpinIdleStrategy());
+        } else {
+            throw new IllegalArgumentException("Unrecognized queue type: " + queueType);
+        }
+        return new OperationQueueImpl(normalQueue, new ConcurrentLinkedQueue<>());
+    }
+
+    private void consume() {
+        try {
+            for (; ; ) {
+                Object task = queue.take(false);
+                if (task == STOP) {
+                    return;
+                }
+                ((Runnable) task).run();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Producer {
+
+        final Runnable noop = () -> {
+        };
+        final Runnable completion = () -> done = true;
+
+        volatile boolean done;
+
+        void awaitCompletion() {
+            while (!done) {
+                // spin, the consumer thread wakeup is what is measured
+            }
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options opt = new OptionsBuilder()
+                .include(OperationQueueBenchmark.class.getSimpleName())
+                .build();
+
+        new Runner(opt).run();
+    }
+}
@@ -19,6 +19,8 @@ package com.hazelcast.spi.impl.operationservice.impl;
 import com.hazelcast.config.Config;
 import com.hazelcast.core.HazelcastInstance;
 import com.hazelcast.core.OperationTimeoutException;
+import com.hazelcast.internal.nio.Packet;
+import com.hazelcast.internal.server.ServerConnection;
 import com.hazelcast.spi.impl.operationservice.Operation;
 import com.hazelcast.test.AssertTask;
 import com.hazelcast.test.ExpectedRuntimeException;
@@ -37,10 +39,12 @@ import java.util.concurrent.TimeUnit;
 import static com.hazelcast.spi.properties.ClusterProperty.BACKPRESSURE_ENABLED;
 import static com.hazelcast.spi.properties.ClusterProperty.OPERATION_CALL_TIMEOUT_MILLIS;
 import static com.hazelcast.test.Accessors.getOperationService;
+import static java.util.Arrays.asList;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertSame;
 import static org.junit.Assert.fail;
+import static org.mockito.Mockito.mock;
 
 @RunWith(HazelcastParallelClassRunner.class)
 @Category({QuickTest.class, ParallelJVMTest.class})
@@ -222,6 +226,31 @@ public class InboundResponseHandler_NotifyTest extends HazelcastTestSupport {
         assertInvocationDeregisteredEventually(callId);
     }
 
+    // ==================== multiResponse =====================
+
+    @Test
+    public void multiResponse() {
+        Invocation invocation1 = newInvocation();
+        invocationRegistry.register(invocation1);
+        Invocation invocation2 = newInvocation();
+        invocationRegistry.register(invocation2);
+
+        long callId1 = invocation1.op.getCallId();
+        long callId2 = invocation2.op.getCallId();
+        OutboundResponseHandler outboundResponseHandler = operationService.getOutboundResponseHandler();
+        Packet packet = outboundResponseHandler.toMultiResponsePacket(asList(
+                outboundResponseHandler.toNormalResponsePacket(callId1, 0, false, "foo").toByteArray(),
+                outboundResponseHandler.toNormalResponsePacket(callId2, 0, false, "bar").toByteArray()));
+        packet.setConn(mock(ServerConnection.class));
+
+        inboundResponseHandler.accept(packet);
+
+        assertEquals("foo", invocation1.future.join());
+        assertEquals("bar", invocation2.future.join());
+        assertInvocationDeregisteredEventually(callId1);
+        assertInvocationDeregisteredEventually(callId2);
+    }
+
     private void assertInvocationDeregisteredEventually(final long callId) {
         assertTrueEventually(new AssertTask() {
             @Override
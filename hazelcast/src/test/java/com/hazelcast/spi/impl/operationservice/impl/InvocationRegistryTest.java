@@ -32,8 +32,13 @@ import org.junit.experimental.categories.Category;
 import org.junit.runner.RunWith;
 import org.mockito.Mockito;
 
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ExecutionException;
 
+import static java.util.Arrays.asList;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNull;
@@ -97,6 +102,32 @@ public class InvocationRegistryTest extends HazelcastTestSupport {
         }
     }
 
+    @Test
+    public void register_whenSlotTaken_thenInvocationFound() {
+        Invocation longRunning = newInvocation();
+        invocationRegistry.register(longRunning);
+        // the capacity is 2, so the slot of the long running invocation is reused 2 call IDs later
+        Invocation completed = newInvocation();
+        invocationRegistry.register(completed);
+        invocationRegistry.deregister(completed);
+
+        Invocation invocation = newInvocation();
+        invocationRegistry.register(invocation);
+
+        assertSame(longRunning, invocationRegistry.get(longRunning.op.getCallId()));
+        assertSame(invocation, invocationRegistry.get(invocation.op.getCallId()));
+        assertNull(invocationRegistry.get(completed.op.getCallId()));
+        assertEquals(2, invocationRegistry.size());
+
+        invocationRegistry.deregister(longRunning);
+        assertNull(invocationRegistry.get(longRunning.op.getCallId()));
+        assertSame(invocation, invocationRegistry.get(invocation.op.getCallId()));
+
+        invocationRegistry.deregister(invocation);
+        assertNull(invocationRegistry.get(invocation.op.getCallId()));
+        assertEquals(0, invocationRegistry.size());
+    }
+
     // ====================== deregister ===============================
 
     @Test
@@ -151,6 +182,33 @@ public class InvocationRegistryTest extends HazelcastTestSupport {
     }
 
 
+    // ===================== iterator ============================
+
+    @Test
+    public void iterator_whenSlotTaken() {
+        Invocation longRunning = newInvocation();
+        invocationRegistry.register(longRunning);
+        Invocation completed = newInvocation();
+        invocationRegistry.register(completed);
+        invocationRegistry.deregister(completed);
+        Invocation invocation = newInvocation();
+        invocationRegistry.register(invocation);
+
+        Set<Invocation> invocations = new HashSet<>();
+        for (Invocation registered : invocationRegistry) {
+            invocations.add(registered);
+        }
+
+        assertEquals(new HashSet<>(asList(longRunning, invocation)), invocations);
+        Map<Long, Invocation> entries = new HashMap<>();
+        for (Map.Entry<Long, Invocation> entry : invocationRegistry.entrySet()) {
+            entries.put(entry.getKey(), entry.getValue());
+        }
+        assertEquals(2, entries.size());
+        assertSame(longRunning, entries.get(longRunning.op.getCallId()));
+        assertSame(invocation, entries.get(invocation.op.getCallId()));
+    }
+
     // ===================== reset ============================
 
     @Test
@@ -17,6 +17,8 @@
 package com.hazelcast.spi.impl.operationservice.impl;
 
 import com.hazelcast.cluster.Address;
+import com.hazelcast.instance.impl.NodeExtension;
+import com.hazelcast.internal.cluster.Versions;
 import com.hazelcast.internal.server.ServerConnectionManager;
 import com.hazelcast.internal.nio.Packet;
 import com.hazelcast.internal.server.ServerConnection;
@@ -28,10 +30,15 @@ import com.hazelcast.logging.Logger;
 import com.hazelcast.nio.serialization.Portable;
 import com.hazelcast.nio.serialization.PortableReader;
 import com.hazelcast.nio.serialization.PortableWriter;
+import com.hazelcast.spi.impl.operationexecutor.OperationRunner;
+import com.hazelcast.spi.impl.operationexecutor.impl.OperationQueue;
+import com.hazelcast.spi.impl.operationexecutor.impl.OperationQueueImpl;
+import com.hazelcast.spi.impl.operationexecutor.impl.PartitionOperationThread;
 import com.hazelcast.spi.impl.operationservice.Operation;
 import com.hazelcast.spi.impl.operationservice.impl.responses.BackupAckResponse;
 import com.hazelcast.spi.impl.operationservice.impl.responses.CallTimeoutResponse;
 import com.hazelcast.spi.impl.operationservice.impl.responses.ErrorResponse;
+import com.hazelcast.spi.impl.operationservice.impl.responses.MultiResponse;
 import com.hazelcast.spi.impl.operationservice.impl.responses.NormalResponse;
 import com.hazelcast.test.HazelcastParallelParametersRunnerFactory;
 import com.hazelcast.test.annotation.ParallelJVMTest;
@@ -48,13 +55,19 @@ import org.mockito.ArgumentCaptor;
 
 import java.io.IOException;
 import java.nio.ByteOrder;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
 
 import static com.hazelcast.spi.impl.operationservice.OperationAccessor.setCallId;
 import static com.hazelcast.spi.impl.operationservice.OperationAccessor.setCallerAddress;
 import static com.hazelcast.spi.impl.operationservice.OperationAccessor.setConnection;
+import static com.hazelcast.test.HazelcastTestSupport.assertTrueEventually;
 import static java.nio.ByteOrder.BIG_ENDIAN;
 import static java.nio.ByteOrder.LITTLE_ENDIAN;
+import static java.util.Arrays.asList;
 import static org.junit.Assert.assertEquals;
+import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
@@ -70,6 +83,7 @@ public class OutboundResponseHandlerTest {
     private OutboundResponseHandler handler;
     private InternalSerializationService serializationService;
     private ILogger logger = Logger.getLogger(OutboundResponseHandlerTest.class);
+    private Address thisAddress;
     private Address thatAddress;
     private ServerConnectionManager connectionManager;
     private ServerConnection connection;
@@ -84,7 +98,7 @@ public class OutboundResponseHandlerTest {
 
     @Before
     public void setup() throws Exception {
-        Address thisAddress = new Address("127.0.0.1", 5701);
+        thisAddress = new Address("127.0.0.1", 5701);
         thatAddress = new Address("127.0.0.1", 5702);
         serializationService = new DefaultSerializationServiceBuilder().setByteOrder(byteOrder).build();
         connectionManager = mock(ServerConnectionManager.class);
@@ -239,6 +253,131 @@ public class OutboundResponseHandlerTest {
         assertEquals(expected, new HeapData(packet.toByteArray()));
     }
 
+    @Test
+    public void toMultiResponsePacket() {
+        byte[] response1 = handler.toNormalResponsePacket(1, 0, false, "foo").toByteArray();
+        byte[] response2 = handler.toNormalResponsePacket(2, 1, false, null).toByteArray();
+
+        Packet packet = handler.toMultiResponsePacket(asList(response1, response2));
+
+        MultiResponse multiResponse = serializationService.toObject(packet);
+        assertEquals(2, multiResponse.getResponses().length);
+        assertEquals(new HeapData(response1), new HeapData(multiResponse.getResponses()[0]));
+        assertEquals(new HeapData(response2), new HeapData(multiResponse.getResponses()[1]));
+    }
+
+    @Test
+    public void sendResponse_whenCoalescingAndNotOnPartitionThread_thenSentImmediately() {
+        handler = newCoalescingHandler(16);
+        List<Packet> packets = captureTransmittedPackets();
+
+        handler.sendResponse(createDummyOperation(10), "foo");
+
+        assertEquals(1, packets.size());
+        NormalResponse expected = new NormalResponse("foo", 10, 0, false);
+        assertEquals(serializationService.toData(expected), packets.get(0));
+    }
+
+    @Test
+    public void sendResponse_whenCoalescingOnPartitionThread_thenSentWhenIdle() throws Exception {
+        handler = newCoalescingHandler(16);
+        List<Packet> packets = captureTransmittedPackets();
+
+        runOnPartitionThread(() -> {
+            for (int i = 1; i <= 3; i++) {
+                handler.sendResponse(createDummyOperation(i), "value" + i);
+            }
+        }, packets, 1);
+
+        MultiResponse multiResponse = serializationService.toObject(packets.get(0));
+        assertEquals(3, multiResponse.getResponses().length);
+        for (int i = 1; i <= 3; i++) {
+            NormalResponse expected = new NormalResponse("value" + i, i, 0, false);
+            assertEquals(serializationService.toData(expected), new HeapData(multiResponse.getResponses()[i - 1]));
+        }
+    }
+
+    @Test
+    public void sendResponse_whenCoalescingOnPartitionThread_thenSentWhenMaxCountReached() throws Exception {
+        handler = newCoalescingHandler(2);
+        List<Packet> packets = captureTransmittedPackets();
+
+        runOnPartitionThread(() -> {
+            for (int i = 1; i <= 5; i++) {
+                handler.sendResponse(createDummyOperation(i), "value" + i);
+            }
+        }, packets, 3);
+
+        MultiResponse multiResponse1 = serializationService.toObject(packets.get(0));
+        assertEquals(2, multiResponse1.getResponses().length);
+        MultiResponse multiResponse2 = serializationService.toObject(packets.get(1));
+        assertEquals(2, multiResponse2.getResponses().length);
+        // a single remaining response is sent in its own packet
+        NormalResponse expected = new NormalResponse("value5", 5, 0, false);
+        assertEquals(serializationService.toData(expected), packets.get(2));
+    }
+
+    @Test
+    public void sendResponse_whenCoalescingOnPartitionThreadAndUrgent_thenSentImmediately() throws Exception {
+        handler = newCoalescingHandler(16);
+        List<Packet> packets = captureTransmittedPackets();
+
+        runOnPartitionThread(() -> {
+            handler.sendResponse(createDummyOperation(1), "foo");
+            handler.sendResponse(createDummyOperation(2), new NormalResponse("bar", 2, 0, true));
+        }, packets, 2);
+
+        // the urgent response overtakes the coalesced one
+        assertEquals(serializationService.toData(new NormalResponse("bar", 2, 0, true)), packets.get(0));
+        assertEquals(serializationService.toData(new NormalResponse("foo", 1, 0, false)), packets.get(1));
+    }
+
+    @Test
+    public void sendResponse_whenCoalescingAndClusterVersionBeforeMultiResponse_thenSentImmediately() throws Exception {
+        handler = new OutboundResponseHandler(thisAddress, serializationService, logger, 16, () -> Versions.V4_0);
+        List<Packet> packets = captureTransmittedPackets();
+
+        runOnPartitionThread(() -> {
+            for (int i = 1; i <= 3; i++) {
+                handler.sendResponse(createDummyOperation(i), "value" + i);
+            }
+        }, packets, 3);
+
+        for (int i = 1; i <= 3; i++) {
+            NormalResponse expected = new NormalResponse("value" + i, i, 0, false);
+            assertEquals(serializationService.toData(expected), packets.get(i - 1));
+        }
+    }
+
+    private OutboundResponseHandler newCoalescingHandler(int maxCoalescedResponses) {
+        return new OutboundResponseHandler(thisAddress, serializationService, logger, maxCoalescedResponses,
+                () -> Versions.CURRENT_CLUSTER_VERSION);
+    }
+
+    private List<Packet> captureTransmittedPackets() {
+        List<Packet> packets = new CopyOnWriteArrayList<>();
+        when(connectionManager.transmit(any(Packet.class), eq(thatAddress))).thenAnswer(invocation -> {
+            packets.add((Packet) invocation.getArguments()[0]);
+            return true;
+        });
+        return packets;
+    }
+
+    private void runOnPartitionThread(Runnable task, List<Packet> packets, int expectedPacketCount) throws Exception {
+        OperationQueue queue = new OperationQueueImpl();
+        PartitionOperationThread thread = new PartitionOperationThread("partition-thread", 0, queue, logger,
+                mock(NodeExtension.class), new OperationRunner[0], getClass().getClassLoader());
+        thread.start();
+        try {
+            queue.add(task, false);
+            assertTrueEventually(() -> assertEquals(expectedPacketCount, packets.size()));
+        } finally {
+            thread.shutdown();
+            thread.awaitTermination(1, TimeUnit.MINUTES);
+        }
+        assertEquals(expectedPacketCount, packets.size());
+    }
+
     static class PortableAddress implements Portable {
 
         private String street;
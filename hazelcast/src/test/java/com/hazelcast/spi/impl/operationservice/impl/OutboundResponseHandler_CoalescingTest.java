@@ -0,0 +1,82 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.spi.impl.operationservice.impl;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.map.IMap;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static com.hazelcast.spi.properties.ClusterProperty.RESPONSE_COALESCING_MAX_COUNT;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class OutboundResponseHandler_CoalescingTest extends HazelcastTestSupport {
+
+    private static final int OPERATION_COUNT = 1000;
+
+    private HazelcastInstance local;
+    private HazelcastInstance remote;
+
+    @Before
+    public void setup() {
+        Config config = new Config();
+        config.setProperty(RESPONSE_COALESCING_MAX_COUNT.getName(), "8");
+        HazelcastInstance[] instances = createHazelcastInstanceFactory(2).newInstances(config);
+        local = instances[0];
+        remote = instances[1];
+        warmUpPartitions(instances);
+    }
+
+    @Test
+    public void whenManyOperationsOnRemotePartitions_thenAllResponsesReceived() {
+        IMap<String, Integer> map = local.getMap("map");
+        List<String> keys = new ArrayList<>();
+        for (int i = 0; i < OPERATION_COUNT; i++) {
+            keys.add(generateKeyOwnedBy(remote));
+        }
+
+        List<CompletableFuture<Integer>> putFutures = new ArrayList<>();
+        for (int i = 0; i < OPERATION_COUNT; i++) {
+            putFutures.add(map.putAsync(keys.get(i), i).toCompletableFuture());
+        }
+        for (CompletableFuture<Integer> future : putFutures) {
+            assertNull(future.join());
+        }
+
+        List<CompletableFuture<Integer>> getFutures = new ArrayList<>();
+        for (int i = 0; i < OPERATION_COUNT; i++) {
+            getFutures.add(map.getAsync(keys.get(i)).toCompletableFuture());
+        }
+        for (int i = 0; i < OPERATION_COUNT; i++) {
+            assertEquals(i, (int) getFutures.get(i).join());
+        }
+    }
+}
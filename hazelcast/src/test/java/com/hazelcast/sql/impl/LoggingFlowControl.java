@@ -17,6 +17,7 @@
 package com.hazelcast.sql.impl;
 
 import com.hazelcast.sql.impl.exec.io.flowcontrol.FlowControl;
+import com.hazelcast.sql.impl.exec.io.flowcontrol.FlowControlMetrics;
 import com.hazelcast.sql.impl.operation.QueryOperationHandler;
 
 import java.util.UUID;
@@ -36,6 +37,8 @@ public final class LoggingFlowControl implements FlowControl {
     private BatchAddDescriptor addDescriptor;
     private BatchRemoveDescriptor removeDescriptor;
 
+    private final FlowControlMetrics metrics = new FlowControlMetrics();
+
     public LoggingFlowControl(QueryId queryId, int edgeId, UUID localMemberId, QueryOperationHandler operationHandler) {
         this.queryId = queryId;
         this.edgeId = edgeId;
@@ -68,6 +71,11 @@ public final class LoggingFlowControl implements FlowControl {
         fragmentCallbackInvoked = true;
     }
 
+    @Override
+    public FlowControlMetrics getMetrics() {
+        return metrics;
+    }
+
     public boolean isSetupInvoked() {
         return setupInvoked;
     }
@@ -154,7 +154,8 @@ public class SqlTestSupport extends HazelcastTestSupport {
             null,
             QueryParameterMetadata.EMPTY,
             null,
-            Collections.emptySet()
+            Collections.emptySet(),
+            null
         );
     }
 
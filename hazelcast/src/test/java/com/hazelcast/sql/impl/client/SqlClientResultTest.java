@@ -35,7 +35,7 @@ public class SqlClientResultTest {
     public void test_rowsResult() {
         SqlRowMetadata metadata = new SqlRowMetadata(singletonList(new SqlColumnMetadata("n", SqlColumnType.INTEGER)));
 
-        SqlClientResult r = new SqlClientResult(false, null, null, null, metadata, emptyList(), true, 10, 0);
+        SqlClientResult r = new SqlClientResult(false, null, null, null, metadata, emptyList(), true, 10, 0, 0, 0L);
 
         assertFalse(r.isUpdateCount());
         assertEquals(metadata, r.getRowMetadata());
@@ -44,7 +44,7 @@ public class SqlClientResultTest {
 
     @Test
     public void test_updateCountResult() {
-        SqlClientResult r = new SqlClientResult(true, null, null, null, null, null, true, 0, 10);
+        SqlClientResult r = new SqlClientResult(true, null, null, null, null, null, true, 0, 10, 0, 0L);
         assertTrue(r.isUpdateCount());
         assertEquals(10, r.updateCount());
         assertThrows(IllegalStateException.class, "This result contains only update count", () -> r.iterator());
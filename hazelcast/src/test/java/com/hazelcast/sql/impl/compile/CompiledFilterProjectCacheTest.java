@@ -0,0 +1,126 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.sql.impl.compile;
+
+import com.hazelcast.logging.Logger;
+import com.hazelcast.sql.impl.SqlTestSupport;
+import com.hazelcast.sql.impl.expression.ColumnExpression;
+import com.hazelcast.sql.impl.expression.Expression;
+import com.hazelcast.sql.impl.expression.predicate.IsNullPredicate;
+import com.hazelcast.sql.impl.type.QueryDataType;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+@SuppressWarnings("rawtypes")
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class CompiledFilterProjectCacheTest extends SqlTestSupport {
+    @Test
+    public void testCompiledOnce() {
+        TestCompiler compiler = new TestCompiler(false);
+        CompiledFilterProjectCache cache = createCache(compiler, 10);
+
+        CompiledFilterProject compiled = cache.get(filter(0), projects(1));
+
+        assertNotNull(compiled);
+        assertSame(compiled, cache.get(filter(0), projects(1)));
+        assertEquals(1, compiler.invocations.get());
+
+        // Different projections.
+        assertNotNull(cache.get(filter(0), projects(2)));
+        assertEquals(2, compiler.invocations.get());
+
+        // No filter.
+        assertNotNull(cache.get(null, projects(1)));
+        assertEquals(3, compiler.invocations.get());
+
+        assertEquals(3, cache.size());
+
+        cache.clear();
+
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void testFailureCached() {
+        TestCompiler compiler = new TestCompiler(true);
+        CompiledFilterProjectCache cache = createCache(compiler, 10);
+
+        assertNull(cache.get(filter(0), projects(1)));
+        assertNull(cache.get(filter(0), projects(1)));
+
+        assertEquals(1, compiler.invocations.get());
+    }
+
+    @Test
+    public void testShrink() {
+        TestCompiler compiler = new TestCompiler(false);
+        CompiledFilterProjectCache cache = createCache(compiler, 2);
+
+        cache.get(filter(0), projects(0));
+        cache.get(filter(1), projects(0));
+        cache.get(filter(2), projects(0));
+
+        assertEquals(2, cache.size());
+    }
+
+    private static CompiledFilterProjectCache createCache(FilterProjectCompiler compiler, int maxSize) {
+        return new CompiledFilterProjectCache(compiler, maxSize, Logger.getLogger(CompiledFilterProjectCacheTest.class));
+    }
+
+    private static Expression<Boolean> filter(int index) {
+        return IsNullPredicate.create(ColumnExpression.create(index, QueryDataType.INT));
+    }
+
+    private static List<Expression> projects(int index) {
+        return Collections.singletonList(ColumnExpression.create(index, QueryDataType.INT));
+    }
+
+    private static final class TestCompiler implements FilterProjectCompiler {
+
+        private final boolean fail;
+        private final AtomicInteger invocations = new AtomicInteger();
+
+        private TestCompiler(boolean fail) {
+            this.fail = fail;
+        }
+
+        @Override
+        public CompiledFilterProject compile(Expression<Boolean> filter, List<Expression> projects) {
+            invocations.incrementAndGet();
+
+            if (fail) {
+                throw new UnsupportedOperationException("Failed");
+            }
+
+            return (row, context, columns, position) -> true;
+        }
+    }
+}
@@ -18,10 +18,18 @@ package com.hazelcast.sql.impl.exec;
 
 import com.hazelcast.sql.impl.SqlTestSupport;
 import com.hazelcast.sql.impl.UpstreamExec;
+import com.hazelcast.sql.impl.expression.ColumnExpression;
+import com.hazelcast.sql.impl.expression.ConstantExpression;
 import com.hazelcast.sql.impl.expression.Expression;
 import com.hazelcast.sql.impl.expression.FunctionalPredicateExpression;
+import com.hazelcast.sql.impl.expression.predicate.ComparisonMode;
+import com.hazelcast.sql.impl.expression.predicate.ComparisonPredicate;
+import com.hazelcast.sql.impl.row.ColumnarRowBatch;
 import com.hazelcast.sql.impl.row.EmptyRowBatch;
 import com.hazelcast.sql.impl.row.RowBatch;
+import com.hazelcast.sql.impl.row.vector.ColumnVector;
+import com.hazelcast.sql.impl.row.vector.IntColumnVector;
+import com.hazelcast.sql.impl.type.QueryDataType;
 import com.hazelcast.test.HazelcastParallelClassRunner;
 import com.hazelcast.test.annotation.ParallelJVMTest;
 import com.hazelcast.test.annotation.QuickTest;
@@ -31,6 +39,7 @@ import org.junit.runner.RunWith;
 
 import static com.hazelcast.sql.impl.exec.AbstractFilterExec.BATCH_SIZE;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 
 @RunWith(HazelcastParallelClassRunner.class)
 @Category({QuickTest.class, ParallelJVMTest.class})
@@ -82,6 +91,48 @@ public class FilterExecTest extends SqlTestSupport {
         checkBatch(exec.currentBatch(), 4 * BATCH_SIZE, BATCH_SIZE / 2);
     }
 
+    @Test
+    public void testFilterColumnar() {
+        UpstreamExec upstream = new UpstreamExec(1);
+        Expression<Boolean> filter = ComparisonPredicate.create(
+            ColumnExpression.create(0, QueryDataType.INT),
+            ConstantExpression.create(BATCH_SIZE, QueryDataType.INT),
+            ComparisonMode.GREATER_THAN_OR_EQUAL
+        );
+
+        FilterExec exec = new FilterExec(2, upstream, filter);
+        exec.setup(emptyFragmentContext());
+
+        // Batch without matching rows is skipped.
+        upstream.addResult(IterationResult.FETCHED, createColumnarBatch(0, BATCH_SIZE));
+        assertEquals(IterationResult.WAIT, exec.advance());
+
+        // Batch is filtered as a whole without copying.
+        upstream.addResult(IterationResult.FETCHED_DONE, createColumnarBatch(BATCH_SIZE / 2, BATCH_SIZE));
+        assertEquals(IterationResult.FETCHED_DONE, exec.advance());
+
+        RowBatch batch = exec.currentBatch();
+
+        assertTrue(batch instanceof ColumnarRowBatch);
+        assertEquals(BATCH_SIZE / 2, batch.getRowCount());
+
+        for (int i = 0; i < batch.getRowCount(); i++) {
+            int value = batch.getRow(i).get(0);
+
+            assertEquals(BATCH_SIZE + i, value);
+        }
+    }
+
+    private static ColumnarRowBatch createColumnarBatch(int startValue, int size) {
+        IntColumnVector column = new IntColumnVector(size);
+
+        for (int i = 0; i < size; i++) {
+            column.setInt(i, startValue + i);
+        }
+
+        return new ColumnarRowBatch(new ColumnVector[] { column }, size);
+    }
+
     private static void checkBatch(RowBatch batch, int startValue, int size) {
         assertEquals(size, batch.getRowCount());
 
@@ -0,0 +1,249 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.sql.impl.exec.agg;
+
+import com.hazelcast.sql.SqlErrorCode;
+import com.hazelcast.sql.impl.QueryException;
+import com.hazelcast.sql.impl.SqlTestSupport;
+import com.hazelcast.sql.impl.UpstreamExec;
+import com.hazelcast.sql.impl.exec.IterationResult;
+import com.hazelcast.sql.impl.row.EmptyRowBatch;
+import com.hazelcast.sql.impl.row.HeapRow;
+import com.hazelcast.sql.impl.row.ListRowBatch;
+import com.hazelcast.sql.impl.row.Row;
+import com.hazelcast.sql.impl.row.RowBatch;
+import com.hazelcast.sql.impl.type.QueryDataType;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.fail;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class AggregateExecTest extends SqlTestSupport {
+
+    private static final List<AggregateCallDescriptor> CALLS = Arrays.asList(
+        new AggregateCallDescriptor(AggregateFunctionType.COUNT, -1, null, QueryDataType.BIGINT),
+        new AggregateCallDescriptor(AggregateFunctionType.SUM, 1, QueryDataType.INT, QueryDataType.BIGINT),
+        new AggregateCallDescriptor(AggregateFunctionType.AVG, 1, QueryDataType.INT, QueryDataType.DECIMAL),
+        new AggregateCallDescriptor(AggregateFunctionType.MIN, 1, QueryDataType.INT, QueryDataType.INT),
+        new AggregateCallDescriptor(AggregateFunctionType.MAX, 1, QueryDataType.INT, QueryDataType.INT)
+    );
+
+    /**
+     * Calls of the final phase which refer to the intermediate state produced by {@link #CALLS}, as the planner creates them.
+     */
+    private static final List<AggregateCallDescriptor> FINAL_CALLS = Arrays.asList(
+        new AggregateCallDescriptor(AggregateFunctionType.COUNT, 1, null, QueryDataType.BIGINT),
+        new AggregateCallDescriptor(AggregateFunctionType.SUM, 2, QueryDataType.BIGINT, QueryDataType.BIGINT),
+        new AggregateCallDescriptor(AggregateFunctionType.AVG, 3, QueryDataType.BIGINT, QueryDataType.DECIMAL),
+        new AggregateCallDescriptor(AggregateFunctionType.MIN, 5, QueryDataType.INT, QueryDataType.INT),
+        new AggregateCallDescriptor(AggregateFunctionType.MAX, 6, QueryDataType.INT, QueryDataType.INT)
+    );
+
+    private static final List<AggregateCallDescriptor> FINAL_CALLS_GLOBAL = Arrays.asList(
+        new AggregateCallDescriptor(AggregateFunctionType.COUNT, 0, null, QueryDataType.BIGINT),
+        new AggregateCallDescriptor(AggregateFunctionType.SUM, 1, QueryDataType.BIGINT, QueryDataType.BIGINT),
+        new AggregateCallDescriptor(AggregateFunctionType.AVG, 2, QueryDataType.BIGINT, QueryDataType.DECIMAL),
+        new AggregateCallDescriptor(AggregateFunctionType.MIN, 4, QueryDataType.INT, QueryDataType.INT),
+        new AggregateCallDescriptor(AggregateFunctionType.MAX, 5, QueryDataType.INT, QueryDataType.INT)
+    );
+
+    @Test
+    public void testComplete() {
+        UpstreamExec upstream = new UpstreamExec(1);
+        AggregateExec exec = new AggregateExec(2, upstream, new int[] { 0 }, CALLS, AggregatePhase.COMPLETE);
+        exec.setup(emptyFragmentContext());
+
+        assertEquals(IterationResult.WAIT, exec.advance());
+
+        // Results are not produced until the whole input is consumed.
+        upstream.addResult(IterationResult.FETCHED, batch(0, 5));
+        assertEquals(IterationResult.WAIT, exec.advance());
+
+        upstream.addResult(IterationResult.FETCHED_DONE, batch(5, 10));
+        assertEquals(IterationResult.FETCHED_DONE, exec.advance());
+
+        checkFinalResults(exec.currentBatch());
+    }
+
+    @Test
+    public void testTwoPhase() {
+        UpstreamExec upstream1 = new UpstreamExec(1);
+        AggregateExec partial1 = new AggregateExec(2, upstream1, new int[] { 0 }, CALLS, AggregatePhase.PARTIAL);
+        partial1.setup(emptyFragmentContext());
+
+        UpstreamExec upstream2 = new UpstreamExec(3);
+        AggregateExec partial2 = new AggregateExec(4, upstream2, new int[] { 0 }, CALLS, AggregatePhase.PARTIAL);
+        partial2.setup(emptyFragmentContext());
+
+        upstream1.addResult(IterationResult.FETCHED_DONE, batch(0, 5));
+        upstream2.addResult(IterationResult.FETCHED_DONE, batch(5, 10));
+
+        assertEquals(IterationResult.FETCHED_DONE, partial1.advance());
+        RowBatch partialBatch1 = partial1.currentBatch();
+
+        assertEquals(IterationResult.FETCHED_DONE, partial2.advance());
+        RowBatch partialBatch2 = partial2.currentBatch();
+
+        // Key, count, sum, avg sum, avg count, min, max.
+        assertEquals(7, partialBatch1.getRow(0).getColumnCount());
+
+        UpstreamExec finalUpstream = new UpstreamExec(5);
+        AggregateExec finalExec = new AggregateExec(6, finalUpstream, new int[] { 0 }, FINAL_CALLS, AggregatePhase.FINAL);
+        finalExec.setup(emptyFragmentContext());
+
+        finalUpstream.addResult(IterationResult.FETCHED, partialBatch1);
+        finalUpstream.addResult(IterationResult.FETCHED_DONE, partialBatch2);
+
+        assertEquals(IterationResult.FETCHED_DONE, finalExec.advance());
+
+        checkFinalResults(finalExec.currentBatch());
+    }
+
+    @Test
+    public void testGlobalEmpty() {
+        UpstreamExec upstream = new UpstreamExec(1);
+        AggregateExec partial = new AggregateExec(2, upstream, new int[0], CALLS, AggregatePhase.PARTIAL);
+        partial.setup(emptyFragmentContext());
+
+        upstream.addResult(IterationResult.FETCHED_DONE, EmptyRowBatch.INSTANCE);
+        assertEquals(IterationResult.FETCHED_DONE, partial.advance());
+        assertEquals(0, partial.currentBatch().getRowCount());
+
+        UpstreamExec finalUpstream = new UpstreamExec(3);
+        AggregateExec finalExec = new AggregateExec(4, finalUpstream, new int[0], FINAL_CALLS_GLOBAL, AggregatePhase.FINAL);
+        finalExec.setup(emptyFragmentContext());
+
+        finalUpstream.addResult(IterationResult.FETCHED_DONE, partial.currentBatch());
+        assertEquals(IterationResult.FETCHED_DONE, finalExec.advance());
+
+        RowBatch batch = finalExec.currentBatch();
+        assertEquals(1, batch.getRowCount());
+
+        Row row = batch.getRow(0);
+        assertEquals(0L, (long) row.get(0));
+        assertNull(row.get(1));
+        assertNull(row.get(2));
+        assertNull(row.get(3));
+        assertNull(row.get(4));
+    }
+
+    @Test
+    public void testMultipleBatches() {
+        UpstreamExec upstream = new UpstreamExec(1);
+        AggregateExec exec = new AggregateExec(2, upstream, new int[] { 0 }, CALLS.subList(0, 1), AggregatePhase.COMPLETE);
+        exec.setup(emptyFragmentContext());
+
+        int groupCount = AggregateExec.BATCH_SIZE + AggregateExec.BATCH_SIZE / 2;
+
+        List<Row> rows = new ArrayList<>(groupCount);
+
+        for (int i = 0; i < groupCount; i++) {
+            rows.add(HeapRow.of(i, i));
+        }
+
+        upstream.addResult(IterationResult.FETCHED_DONE, new ListRowBatch(rows));
+
+        assertEquals(IterationResult.FETCHED, exec.advance());
+        assertEquals(AggregateExec.BATCH_SIZE, exec.currentBatch().getRowCount());
+
+        assertEquals(IterationResult.FETCHED_DONE, exec.advance());
+        assertEquals(groupCount - AggregateExec.BATCH_SIZE, exec.currentBatch().getRowCount());
+    }
+
+    @Test
+    public void testSumOverflow() {
+        List<AggregateCallDescriptor> calls = Collections.singletonList(
+            new AggregateCallDescriptor(AggregateFunctionType.SUM, 0, QueryDataType.BIGINT, QueryDataType.BIGINT)
+        );
+
+        UpstreamExec upstream = new UpstreamExec(1);
+        AggregateExec exec = new AggregateExec(2, upstream, new int[0], calls, AggregatePhase.COMPLETE);
+        exec.setup(emptyFragmentContext());
+
+        upstream.addResult(
+            IterationResult.FETCHED_DONE,
+            new ListRowBatch(Arrays.asList(HeapRow.of(Long.MAX_VALUE), HeapRow.of(1L)))
+        );
+
+        try {
+            exec.advance();
+
+            fail("Must fail");
+        } catch (QueryException e) {
+            assertEquals(SqlErrorCode.DATA_EXCEPTION, e.getCode());
+        }
+    }
+
+    /**
+     * Create a batch of rows [value % 3, value] for values in the given range.
+     */
+    private static RowBatch batch(int from, int to) {
+        List<Row> rows = new ArrayList<>();
+
+        for (int i = from; i < to; i++) {
+            rows.add(HeapRow.of(i % 3, i));
+        }
+
+        return new ListRowBatch(rows);
+    }
+
+    private static void checkFinalResults(RowBatch batch) {
+        assertEquals(3, batch.getRowCount());
+
+        Map<Integer, Row> rows = new HashMap<>();
+
+        for (int i = 0; i < batch.getRowCount(); i++) {
+            Row row = batch.getRow(i);
+
+            rows.put(row.get(0), row);
+        }
+
+        // Values: 0, 3, 6, 9
+        checkFinalRow(rows.get(0), 4L, 18L, new BigDecimal("4.5"), 0, 9);
+
+        // Values: 1, 4, 7
+        checkFinalRow(rows.get(1), 3L, 12L, new BigDecimal("4"), 1, 7);
+
+        // Values: 2, 5, 8
+        checkFinalRow(rows.get(2), 3L, 15L, new BigDecimal("5"), 2, 8);
+    }
+
+    private static void checkFinalRow(Row row, long count, long sum, BigDecimal avg, int min, int max) {
+        assertEquals(6, row.getColumnCount());
+        assertEquals(count, (long) row.get(1));
+        assertEquals(sum, (long) row.get(2));
+        assertEquals(0, avg.compareTo(row.get(3)));
+        assertEquals(min, (int) row.get(4));
+        assertEquals(max, (int) row.get(5));
+    }
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.sql.impl.exec.fetch;
+
+import com.hazelcast.sql.SqlErrorCode;
+import com.hazelcast.sql.impl.QueryException;
+import com.hazelcast.sql.impl.SqlTestSupport;
+import com.hazelcast.sql.impl.UpstreamExec;
+import com.hazelcast.sql.impl.exec.IterationResult;
+import com.hazelcast.sql.impl.expression.ConstantExpression;
+import com.hazelcast.sql.impl.expression.Expression;
+import com.hazelcast.sql.impl.type.QueryDataType;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class FetchExecTest extends SqlTestSupport {
+    @Test
+    public void testFetchAndOffset() {
+        UpstreamExec upstream = new UpstreamExec(1);
+        FetchExec exec = new FetchExec(2, upstream, constant(15), constant(5));
+        exec.setup(emptyFragmentContext());
+
+        assertEquals(IterationResult.WAIT, exec.advance());
+
+        // Offset is skipped within a single batch.
+        upstream.addResult(IterationResult.FETCHED, createMonotonicBatch(0, 10));
+        assertEquals(IterationResult.FETCHED, exec.advance());
+        checkMonotonicBatch(exec.currentBatch(), 5, 5);
+
+        // Fetch is exhausted in the middle of the batch, the rest of the input is ignored.
+        upstream.addResult(IterationResult.FETCHED, createMonotonicBatch(10, 20));
+        assertEquals(IterationResult.FETCHED_DONE, exec.advance());
+        checkMonotonicBatch(exec.currentBatch(), 10, 10);
+    }
+
+    @Test
+    public void testOffsetOnly() {
+        UpstreamExec upstream = new UpstreamExec(1);
+        FetchExec exec = new FetchExec(2, upstream, null, constant(15));
+        exec.setup(emptyFragmentContext());
+
+        // Offset spans several batches.
+        upstream.addResult(IterationResult.FETCHED, createMonotonicBatch(0, 10));
+        assertEquals(IterationResult.WAIT, exec.advance());
+
+        upstream.addResult(IterationResult.FETCHED, createMonotonicBatch(10, 10));
+        assertEquals(IterationResult.FETCHED, exec.advance());
+        checkMonotonicBatch(exec.currentBatch(), 15, 5);
+
+        upstream.addResult(IterationResult.FETCHED_DONE, createMonotonicBatch(20, 10));
+        assertEquals(IterationResult.FETCHED_DONE, exec.advance());
+        checkMonotonicBatch(exec.currentBatch(), 20, 10);
+    }
+
+    @Test
+    public void testZeroFetch() {
+        UpstreamExec upstream = new UpstreamExec(1);
+        FetchExec exec = new FetchExec(2, upstream, constant(0), null);
+        exec.setup(emptyFragmentContext());
+
+        assertEquals(IterationResult.FETCHED_DONE, exec.advance());
+        assertEquals(0, exec.currentBatch().getRowCount());
+    }
+
+    @Test
+    public void testInvalidValues() {
+        checkInvalid(constant(-1), null, "LIMIT value cannot be negative: -1");
+        checkInvalid(null, constant(-1), "OFFSET value cannot be negative: -1");
+        checkInvalid(ConstantExpression.create(null, QueryDataType.INT), null, "LIMIT value cannot be null");
+    }
+
+    private static void checkInvalid(Expression<?> fetch, Expression<?> offset, String expectedMessage) {
+        FetchExec exec = new FetchExec(2, new UpstreamExec(1), fetch, offset);
+
+        try {
+            exec.setup(emptyFragmentContext());
+
+            fail("Must fail");
+        } catch (QueryException e) {
+            assertEquals(SqlErrorCode.DATA_EXCEPTION, e.getCode());
+            assertTrue(e.getMessage(), e.getMessage().contains(expectedMessage));
+        }
+    }
+
+    private static Expression<?> constant(int value) {
+        return ConstantExpression.create(value, QueryDataType.INT);
+    }
+}
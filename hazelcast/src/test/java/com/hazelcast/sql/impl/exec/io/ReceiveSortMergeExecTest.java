@@ -0,0 +1,155 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.sql.impl.exec.io;
+
+import com.hazelcast.sql.impl.LoggingFlowControl;
+import com.hazelcast.sql.impl.LoggingQueryOperationHandler;
+import com.hazelcast.sql.impl.QueryId;
+import com.hazelcast.sql.impl.SqlTestSupport;
+import com.hazelcast.sql.impl.exec.IterationResult;
+import com.hazelcast.sql.impl.row.HeapRow;
+import com.hazelcast.sql.impl.row.ListRowBatch;
+import com.hazelcast.sql.impl.row.Row;
+import com.hazelcast.sql.impl.row.RowBatch;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class ReceiveSortMergeExecTest extends SqlTestSupport {
+    @Test
+    public void testMerge() {
+        UUID localMemberId = UUID.randomUUID();
+        UUID senderId1 = UUID.randomUUID();
+        UUID senderId2 = UUID.randomUUID();
+
+        QueryId queryId = QueryId.create(UUID.randomUUID());
+        int edgeId = 1;
+        LoggingQueryOperationHandler operationHandler = new LoggingQueryOperationHandler();
+        LoggingFlowControl flowControl = new LoggingFlowControl(queryId, edgeId, localMemberId, operationHandler);
+
+        StripedInbox inbox = new StripedInbox(
+            operationHandler,
+            queryId,
+            edgeId,
+            100,
+            localMemberId,
+            Arrays.asList(senderId1, senderId2),
+            flowControl
+        );
+
+        assertEquals(2, inbox.getStripeCount());
+
+        ReceiveSortMergeExec exec = new ReceiveSortMergeExec(1, inbox, new int[] { 0 }, new boolean[] { false });
+
+        exec.setup(emptyFragmentContext());
+
+        assertTrue(flowControl.isSetupInvoked());
+
+        // Nothing is received yet.
+        assertEquals(IterationResult.WAIT, exec.advance());
+        assertEquals(0, exec.currentBatch().getRowCount());
+
+        // The first stream is not enough to produce results, since the second stream may contain greater values.
+        inbox.onBatch(new InboundBatch(batch(9, 7, 5), false, senderId1), 100L);
+
+        assertEquals(IterationResult.WAIT, exec.advance());
+
+        // Rows are returned until one of the non-finished streams is exhausted.
+        inbox.onBatch(new InboundBatch(batch(8, 6), false, senderId2), 100L);
+
+        assertEquals(IterationResult.FETCHED, exec.advance());
+        checkBatch(exec.currentBatch(), 9, 8, 7, 6);
+
+        // Finish the second stream, then the first one.
+        inbox.onBatch(new InboundBatch(batch(4), true, senderId2), 100L);
+
+        assertEquals(IterationResult.FETCHED, exec.advance());
+        checkBatch(exec.currentBatch(), 5);
+
+        inbox.onBatch(new InboundBatch(batch(3, 1), true, senderId1), 100L);
+
+        assertEquals(IterationResult.FETCHED_DONE, exec.advance());
+        checkBatch(exec.currentBatch(), 4, 3, 1);
+
+        assertTrue(inbox.closed());
+    }
+
+    @Test
+    public void testEmptyStreams() {
+        UUID localMemberId = UUID.randomUUID();
+        UUID senderId1 = UUID.randomUUID();
+        UUID senderId2 = UUID.randomUUID();
+
+        QueryId queryId = QueryId.create(UUID.randomUUID());
+        LoggingQueryOperationHandler operationHandler = new LoggingQueryOperationHandler();
+        LoggingFlowControl flowControl = new LoggingFlowControl(queryId, 1, localMemberId, operationHandler);
+
+        StripedInbox inbox = new StripedInbox(
+            operationHandler,
+            queryId,
+            1,
+            100,
+            localMemberId,
+            Arrays.asList(senderId1, senderId2),
+            flowControl
+        );
+
+        ReceiveSortMergeExec exec = new ReceiveSortMergeExec(1, inbox, new int[] { 0 }, new boolean[] { true });
+        exec.setup(emptyFragmentContext());
+
+        inbox.onBatch(new InboundBatch(batch(), false, senderId1), 100L);
+        inbox.onBatch(new InboundBatch(batch(), true, senderId2), 100L);
+
+        assertEquals(IterationResult.WAIT, exec.advance());
+
+        inbox.onBatch(new InboundBatch(batch(1, 2), true, senderId1), 100L);
+
+        assertEquals(IterationResult.FETCHED_DONE, exec.advance());
+        checkBatch(exec.currentBatch(), 1, 2);
+    }
+
+    private static RowBatch batch(int... values) {
+        List<Row> rows = new ArrayList<>(values.length);
+
+        for (int value : values) {
+            rows.add(HeapRow.of(value));
+        }
+
+        return new ListRowBatch(rows);
+    }
+
+    private static void checkBatch(RowBatch batch, int... expectedValues) {
+        assertEquals(expectedValues.length, batch.getRowCount());
+
+        for (int i = 0; i < expectedValues.length; i++) {
+            assertEquals(expectedValues[i], (int) batch.getRow(i).get(0));
+        }
+    }
+}
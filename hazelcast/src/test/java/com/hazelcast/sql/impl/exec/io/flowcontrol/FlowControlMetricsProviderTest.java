@@ -0,0 +1,159 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.sql.impl.exec.io.flowcontrol;
+
+import com.hazelcast.internal.metrics.MetricDescriptor;
+import com.hazelcast.internal.metrics.MetricsRegistry;
+import com.hazelcast.internal.metrics.impl.CapturingCollector;
+import com.hazelcast.internal.metrics.impl.MetricsRegistryImpl;
+import com.hazelcast.logging.Logger;
+import com.hazelcast.sql.impl.LoggingQueryOperationHandler;
+import com.hazelcast.sql.impl.QueryId;
+import com.hazelcast.sql.impl.TestClockProvider;
+import com.hazelcast.sql.impl.exec.io.InboundHandler;
+import com.hazelcast.sql.impl.exec.io.Inbox;
+import com.hazelcast.sql.impl.exec.io.flowcontrol.simple.SimpleFlowControl;
+import com.hazelcast.sql.impl.state.QueryState;
+import com.hazelcast.sql.impl.state.QueryStateCompletionCallback;
+import com.hazelcast.sql.impl.state.QueryStateRegistry;
+import com.hazelcast.sql.impl.worker.QueryFragmentExecutable;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.SQL_PREFIX_FLOW_CONTROL;
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.SQL_TAG_EDGE_ID;
+import static com.hazelcast.internal.metrics.ProbeLevel.INFO;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class FlowControlMetricsProviderTest {
+
+    private static final int EDGE_ID = 1;
+    private static final long MAX_MEMORY = 1000L;
+    private static final double THRESHOLD_PERCENTAGE = 0.25d;
+
+    private final UUID localMemberId = UUID.randomUUID();
+    private final UUID remoteMemberId = UUID.randomUUID();
+
+    private final QueryStateCompletionCallback completionCallback = mock(QueryStateCompletionCallback.class);
+
+    private QueryStateRegistry stateRegistry;
+    private MetricsRegistry metricsRegistry;
+
+    @Before
+    public void before() {
+        stateRegistry = new QueryStateRegistry(TestClockProvider.createDefault());
+
+        metricsRegistry = new MetricsRegistryImpl(Logger.getLogger(MetricsRegistryImpl.class), INFO);
+        metricsRegistry.registerDynamicMetricsProvider(new FlowControlMetricsProvider(stateRegistry));
+    }
+
+    @Test
+    public void testEdgeMetrics() {
+        QueryState state = stateRegistry.onDistributedQueryStarted(localMemberId, QueryId.create(remoteMemberId), completionCallback);
+
+        SimpleFlowControl flowControl = new SimpleFlowControl(MAX_MEMORY, THRESHOLD_PERCENTAGE);
+        startFragment(state, flowControl);
+
+        flowControl.onBatchAdded(remoteMemberId, 300L, false, 100L);
+        flowControl.onBatchAdded(remoteMemberId, 200L, false, 900L);
+        flowControl.onBatchRemoved(remoteMemberId, 300L, false);
+
+        Map<String, Number> metrics = collect(state.getQueryId());
+
+        assertEquals(200L, metrics.get("queuedBytes"));
+        assertEquals(500L, metrics.get("maxQueuedBytes"));
+        assertEquals(1L, metrics.get("stalls"));
+        assertEquals(0L, metrics.get("creditGrants"));
+        assertEquals(0L, metrics.get("grantedBytes"));
+    }
+
+    @Test
+    public void testNoMetricsBeforeQueryStarted() {
+        QueryState state = stateRegistry.onDistributedQueryStarted(localMemberId, QueryId.create(remoteMemberId), completionCallback);
+
+        assertTrue(collect(state.getQueryId()).isEmpty());
+    }
+
+    @Test
+    public void testNoMetricsAfterQueryCompleted() {
+        QueryState state = stateRegistry.onDistributedQueryStarted(localMemberId, QueryId.create(remoteMemberId), completionCallback);
+
+        startFragment(state, new SimpleFlowControl(MAX_MEMORY, THRESHOLD_PERCENTAGE));
+        stateRegistry.onQueryCompleted(state.getQueryId());
+
+        assertTrue(collect(state.getQueryId()).isEmpty());
+    }
+
+    private void startFragment(QueryState state, FlowControl flowControl) {
+        Inbox inbox = new Inbox(
+            new LoggingQueryOperationHandler(),
+            state.getQueryId(),
+            EDGE_ID,
+            100,
+            localMemberId,
+            1,
+            flowControl
+        );
+
+        Map<Integer, InboundHandler> inboxes = new HashMap<>();
+        inboxes.put(EDGE_ID, inbox);
+
+        QueryFragmentExecutable fragment = new QueryFragmentExecutable(
+            state,
+            Collections.emptyList(),
+            null,
+            inboxes,
+            Collections.emptyMap(),
+            null
+        );
+
+        state.getDistributedState().onStart(Collections.singletonList(fragment));
+    }
+
+    private Map<String, Number> collect(QueryId queryId) {
+        CapturingCollector collector = new CapturingCollector();
+        metricsRegistry.collect(collector);
+
+        Map<String, Number> res = new HashMap<>();
+
+        for (Map.Entry<MetricDescriptor, CapturingCollector.Capture> capture : collector.captures().entrySet()) {
+            MetricDescriptor descriptor = capture.getKey();
+
+            if (SQL_PREFIX_FLOW_CONTROL.equals(descriptor.prefix())
+                && queryId.toString().equals(descriptor.discriminatorValue())
+                && Integer.toString(EDGE_ID).equals(descriptor.tagValue(SQL_TAG_EDGE_ID))) {
+                res.put(descriptor.metric(), capture.getValue().singleCapturedValue());
+            }
+        }
+
+        return res;
+    }
+}
@@ -0,0 +1,220 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.sql.impl.exec.io.flowcontrol.adaptive;
+
+import com.hazelcast.sql.SqlErrorCode;
+import com.hazelcast.sql.impl.FaultyQueryOperationHandler;
+import com.hazelcast.sql.impl.LoggingQueryOperationHandler;
+import com.hazelcast.sql.impl.QueryException;
+import com.hazelcast.sql.impl.QueryId;
+import com.hazelcast.sql.impl.exec.io.flowcontrol.FlowControlMetrics;
+import com.hazelcast.sql.impl.operation.QueryFlowControlExchangeOperation;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.UUID;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class AdaptiveFlowControlTest {
+
+    private static final long INITIAL_WINDOW = 1_000L;
+    private static final long MILLIS = 1_000_000L;
+
+    private final QueryId queryId = QueryId.create(UUID.randomUUID());
+    private final int edgeId = 1;
+    private final UUID memberId = UUID.randomUUID();
+
+    private long now;
+    private LoggingQueryOperationHandler operationHandler;
+    private AdaptiveFlowControl flowControl;
+
+    @Before
+    public void before() {
+        operationHandler = new LoggingQueryOperationHandler();
+
+        flowControl = new AdaptiveFlowControl(INITIAL_WINDOW, AdaptiveFlowControl.THRESHOLD_PERCENTAGE, () -> now);
+        flowControl.setup(queryId, edgeId, UUID.randomUUID(), operationHandler);
+    }
+
+    @Test
+    public void testFactory() {
+        AdaptiveFlowControl flowControl = (AdaptiveFlowControl) AdaptiveFlowControlFactory.INSTANCE.create(INITIAL_WINDOW);
+
+        assertEquals(INITIAL_WINDOW, flowControl.getInitialWindow());
+        assertEquals(INITIAL_WINDOW / AdaptiveFlowControl.MIN_WINDOW_DIVISOR, flowControl.getMinWindow());
+        assertEquals(INITIAL_WINDOW * AdaptiveFlowControl.MAX_WINDOW_MULTIPLIER, flowControl.getMaxWindow());
+        assertEquals(AdaptiveFlowControl.THRESHOLD_PERCENTAGE, flowControl.getThresholdPercentage(), 0.0d);
+    }
+
+    @Test
+    public void testNoGrantAboveThreshold() {
+        flowControl.onBatchAdded(memberId, 100L, false, 900L);
+        flowControl.onBatchRemoved(memberId, 100L, false);
+        flowControl.onFragmentExecutionCompleted();
+
+        assertNull(operationHandler.tryPollSubmitInfo());
+    }
+
+    @Test
+    public void testWindowGrowsWhenConsumerWaitsForSender() {
+        // The sender exhausted the credit, and the consumer drained the queue: the window is doubled.
+        flowControl.onBatchAdded(memberId, 900L, false, 100L);
+        now += MILLIS;
+        flowControl.onBatchRemoved(memberId, 900L, false);
+        flowControl.onFragmentExecutionCompleted();
+        checkOperation(2 * INITIAL_WINDOW);
+
+        // The grant is acknowledged by the sender. The round trip is taken into account.
+        now += MILLIS;
+        flowControl.onBatchAdded(memberId, 1_900L, false, 100L);
+
+        AdaptiveFlowControlStream stream = flowControl.getStream(memberId);
+        assertEquals(MILLIS, stream.getRtt());
+
+        now += MILLIS;
+        flowControl.onBatchRemoved(memberId, 1_900L, false);
+        flowControl.onFragmentExecutionCompleted();
+        checkOperation(4 * INITIAL_WINDOW);
+
+        // The window never exceeds the maximum.
+        now += MILLIS;
+        flowControl.onBatchAdded(memberId, 3_900L, false, 100L);
+        now += MILLIS;
+        flowControl.onBatchRemoved(memberId, 3_900L, false);
+        flowControl.onFragmentExecutionCompleted();
+        checkOperation(flowControl.getMaxWindow());
+    }
+
+    @Test
+    public void testWindowShrinksForSlowConsumer() {
+        flowControl.onBatchAdded(memberId, 800L, false, 200L);
+        now += MILLIS;
+        flowControl.onBatchRemoved(memberId, 100L, false);
+        flowControl.onFragmentExecutionCompleted();
+        checkOperation(300L);
+
+        // The sender used the grant after two milliseconds, while the consumer is slow.
+        now += 2 * MILLIS;
+        flowControl.onBatchAdded(memberId, 100L, false, 200L);
+        now += MILLIS;
+        flowControl.onBatchRemoved(memberId, 100L, false);
+        flowControl.onFragmentExecutionCompleted();
+
+        AdaptiveFlowControlStream stream = flowControl.getStream(memberId);
+
+        assertEquals(2 * MILLIS, stream.getRtt());
+        assertTrue(stream.getWindow() < INITIAL_WINDOW);
+        assertTrue(stream.getWindow() >= flowControl.getMinWindow());
+
+        // The window is below the queued data, so no credit is granted.
+        assertNull(operationHandler.tryPollSubmitInfo());
+
+        // The sender still has some credit, so no grant is sent after the queued data is consumed.
+        now += 10 * MILLIS;
+        flowControl.onBatchRemoved(memberId, stream.getQueued(), false);
+        flowControl.onFragmentExecutionCompleted();
+        assertNull(operationHandler.tryPollSubmitInfo());
+
+        // The sender exhausted the remaining credit. The grant is sent, but the window is still below the initial one.
+        now += MILLIS;
+        flowControl.onBatchAdded(memberId, 200L, false, 0L);
+        now += 10 * MILLIS;
+        flowControl.onBatchRemoved(memberId, 200L, false);
+        flowControl.onFragmentExecutionCompleted();
+
+        assertTrue(stream.getWindow() < INITIAL_WINDOW);
+        checkOperation(stream.getWindow());
+    }
+
+    @Test
+    public void testLastBatch() {
+        flowControl.onBatchAdded(memberId, 100L, false, 900L);
+        flowControl.onBatchAdded(memberId, 800L, true, 100L);
+        flowControl.onBatchRemoved(memberId, 100L, false);
+        flowControl.onBatchRemoved(memberId, 800L, true);
+        flowControl.onFragmentExecutionCompleted();
+
+        assertNull(operationHandler.tryPollSubmitInfo());
+        assertNull(flowControl.getStream(memberId));
+    }
+
+    @Test
+    public void testMetrics() {
+        UUID memberId2 = UUID.randomUUID();
+
+        flowControl.onBatchAdded(memberId, 900L, false, 100L);
+        flowControl.onBatchAdded(memberId2, 100L, false, 900L);
+
+        FlowControlMetrics metrics = flowControl.getMetrics();
+        assertEquals(1_000L, metrics.getQueuedBytes());
+        assertEquals(1_000L, metrics.getMaxQueuedBytes());
+        assertEquals(1L, metrics.getStalls());
+
+        flowControl.onBatchRemoved(memberId, 900L, false);
+        flowControl.onBatchRemoved(memberId2, 100L, false);
+        flowControl.onFragmentExecutionCompleted();
+
+        assertNotNull(operationHandler.tryPollSubmitInfo());
+        assertNull(operationHandler.tryPollSubmitInfo());
+
+        assertEquals(0L, metrics.getQueuedBytes());
+        assertEquals(1_000L, metrics.getMaxQueuedBytes());
+        assertEquals(1L, metrics.getCreditGrants());
+        assertEquals(2 * INITIAL_WINDOW, metrics.getGrantedBytes());
+    }
+
+    @Test
+    public void testCannotSend() {
+        flowControl.setup(queryId, edgeId, UUID.randomUUID(), FaultyQueryOperationHandler.INSTANCE);
+
+        flowControl.onBatchAdded(memberId, 800L, false, 200L);
+        flowControl.onBatchRemoved(memberId, 800L, false);
+
+        try {
+            flowControl.onFragmentExecutionCompleted();
+
+            fail("Must fail");
+        } catch (QueryException e) {
+            assertEquals(SqlErrorCode.CONNECTION_PROBLEM, e.getCode());
+        }
+    }
+
+    private void checkOperation(long memory) {
+        LoggingQueryOperationHandler.SubmitInfo submit = operationHandler.tryPollSubmitInfo();
+        assertNotNull(submit);
+        assertEquals(memberId, submit.getMemberId());
+
+        QueryFlowControlExchangeOperation operation = submit.getOperation();
+        assertEquals(queryId, operation.getQueryId());
+        assertEquals(edgeId, operation.getEdgeId());
+        assertEquals(memory, operation.getRemainingMemory());
+
+        assertNull(operationHandler.tryPollSubmitInfo());
+    }
+}
@@ -0,0 +1,208 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.sql.impl.exec.join;
+
+import com.hazelcast.sql.impl.SqlTestSupport;
+import com.hazelcast.sql.impl.UpstreamExec;
+import com.hazelcast.sql.impl.exec.IterationResult;
+import com.hazelcast.sql.impl.expression.ColumnExpression;
+import com.hazelcast.sql.impl.expression.ConstantExpression;
+import com.hazelcast.sql.impl.expression.Expression;
+import com.hazelcast.sql.impl.expression.predicate.ComparisonMode;
+import com.hazelcast.sql.impl.expression.predicate.ComparisonPredicate;
+import com.hazelcast.sql.impl.row.ListRowBatch;
+import com.hazelcast.sql.impl.row.Row;
+import com.hazelcast.sql.impl.row.RowBatch;
+import com.hazelcast.sql.impl.type.QueryDataType;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class HashJoinExecTest extends SqlTestSupport {
+    @Test
+    public void testInnerJoin() {
+        UpstreamExec left = new UpstreamExec(1);
+        UpstreamExec right = new UpstreamExec(2);
+
+        HashJoinExec exec = new HashJoinExec(3, left, right, new int[] { 0 }, new int[] { 0 }, null, false, 2);
+        exec.setup(emptyFragmentContext());
+
+        // The build side is not ready.
+        left.addResult(IterationResult.FETCHED_DONE, batch(row(1, "l1"), row(2, "l2"), row(null, "l3"), row(4, "l4")));
+        assertEquals(IterationResult.WAIT, exec.advance());
+
+        right.addResult(IterationResult.FETCHED, batch(row(1, "r1"), row(2, "r2")));
+        assertEquals(IterationResult.WAIT, exec.advance());
+
+        // Duplicate keys and null keys on the build side.
+        right.addResult(IterationResult.FETCHED_DONE, batch(row(2, "r3"), row(null, "r4"), row(3, "r5")));
+        assertEquals(IterationResult.FETCHED_DONE, exec.advance());
+
+        checkRows(
+            exec.currentBatch(),
+            row(1, "l1", 1, "r1"),
+            row(2, "l2", 2, "r2"),
+            row(2, "l2", 2, "r3")
+        );
+    }
+
+    @Test
+    public void testInnerJoinEmptyBuildSide() {
+        UpstreamExec left = new UpstreamExec(1);
+        UpstreamExec right = new UpstreamExec(2);
+
+        HashJoinExec exec = new HashJoinExec(3, left, right, new int[] { 0 }, new int[] { 0 }, null, false, 1);
+        exec.setup(emptyFragmentContext());
+
+        // The left input is never consumed.
+        right.addResult(IterationResult.FETCHED_DONE, batch(row((Object) null)));
+        assertEquals(IterationResult.FETCHED_DONE, exec.advance());
+        assertEquals(0, exec.currentBatch().getRowCount());
+    }
+
+    @Test
+    public void testOuterJoin() {
+        UpstreamExec left = new UpstreamExec(1);
+        UpstreamExec right = new UpstreamExec(2);
+
+        // Right rows with the value not greater than 10 are filtered out by the non-equi condition.
+        Expression<Boolean> condition = ComparisonPredicate.create(
+            ColumnExpression.create(3, QueryDataType.INT),
+            ConstantExpression.create(10, QueryDataType.INT),
+            ComparisonMode.GREATER_THAN
+        );
+
+        HashJoinExec exec = new HashJoinExec(3, left, right, new int[] { 0 }, new int[] { 0 }, condition, true, 2);
+        exec.setup(emptyFragmentContext());
+
+        right.addResult(IterationResult.FETCHED_DONE, batch(row(1, 20), row(2, 5), row(2, 30), row(3, 5)));
+        assertEquals(IterationResult.WAIT, exec.advance());
+
+        left.addResult(IterationResult.FETCHED, batch(row(1, "l1"), row(null, "l2")));
+        assertEquals(IterationResult.FETCHED, exec.advance());
+        checkRows(exec.currentBatch(), row(1, "l1", 1, 20), row(null, "l2", null, null));
+
+        left.addResult(IterationResult.FETCHED_DONE, batch(row(2, "l3"), row(3, "l4"), row(4, "l5")));
+        assertEquals(IterationResult.FETCHED_DONE, exec.advance());
+        checkRows(
+            exec.currentBatch(),
+            row(2, "l3", 2, 30),
+            row(3, "l4", null, null),
+            row(4, "l5", null, null)
+        );
+    }
+
+    @Test
+    public void testCompositeKey() {
+        UpstreamExec left = new UpstreamExec(1);
+        UpstreamExec right = new UpstreamExec(2);
+
+        HashJoinExec exec = new HashJoinExec(3, left, right, new int[] { 0, 1 }, new int[] { 1, 0 }, null, false, 2);
+        exec.setup(emptyFragmentContext());
+
+        right.addResult(IterationResult.FETCHED_DONE, batch(row(1, 2), row(2, 1), row(null, 1)));
+        left.addResult(IterationResult.FETCHED_DONE, batch(row(1, 2), row(1, 1), row(1, null)));
+        assertEquals(IterationResult.FETCHED_DONE, exec.advance());
+
+        checkRows(exec.currentBatch(), row(1, 2, 2, 1));
+    }
+
+    @Test
+    public void testCrossJoin() {
+        UpstreamExec left = new UpstreamExec(1);
+        UpstreamExec right = new UpstreamExec(2);
+
+        HashJoinExec exec = new HashJoinExec(3, left, right, new int[0], new int[0], null, false, 1);
+        exec.setup(emptyFragmentContext());
+
+        right.addResult(IterationResult.FETCHED_DONE, batch(row(10), row(20)));
+        left.addResult(IterationResult.FETCHED_DONE, batch(row(1), row(2)));
+        assertEquals(IterationResult.FETCHED_DONE, exec.advance());
+
+        checkRows(exec.currentBatch(), row(1, 10), row(1, 20), row(2, 10), row(2, 20));
+    }
+
+    @Test
+    public void testBatching() {
+        UpstreamExec left = new UpstreamExec(1);
+        UpstreamExec right = new UpstreamExec(2);
+
+        HashJoinExec exec = new HashJoinExec(3, left, right, new int[] { 0 }, new int[] { 0 }, null, false, 1);
+        exec.setup(emptyFragmentContext());
+
+        int size = HashJoinExec.BATCH_SIZE + 10;
+
+        right.addResult(IterationResult.FETCHED_DONE, createMonotonicBatch(0, size));
+        left.addResult(IterationResult.FETCHED_DONE, createMonotonicBatch(0, size));
+
+        assertEquals(IterationResult.FETCHED, exec.advance());
+        assertEquals(HashJoinExec.BATCH_SIZE, exec.currentBatch().getRowCount());
+
+        assertEquals(IterationResult.FETCHED_DONE, exec.advance());
+        assertEquals(10, exec.currentBatch().getRowCount());
+
+        RowBatch batch = exec.currentBatch();
+
+        for (int i = 0; i < batch.getRowCount(); i++) {
+            int value = HashJoinExec.BATCH_SIZE + i;
+
+            assertEquals(value, (int) batch.getRow(i).get(0));
+            assertEquals(value, (int) batch.getRow(i).get(1));
+        }
+    }
+
+    private static ListRowBatch batch(Row... rows) {
+        return new ListRowBatch(Arrays.asList(rows));
+    }
+
+    private static void checkRows(RowBatch batch, Row... expectedRows) {
+        assertEquals(expectedRows.length, batch.getRowCount());
+
+        Set<List<Object>> expected = new HashSet<>();
+        Set<List<Object>> actual = new HashSet<>();
+
+        for (int i = 0; i < expectedRows.length; i++) {
+            expected.add(values(expectedRows[i]));
+            actual.add(values(batch.getRow(i)));
+        }
+
+        assertEquals(expected, actual);
+    }
+
+    private static List<Object> values(Row row) {
+        List<Object> res = new ArrayList<>(row.getColumnCount());
+
+        for (int i = 0; i < row.getColumnCount(); i++) {
+            res.add(row.get(i));
+        }
+
+        return res;
+    }
+}
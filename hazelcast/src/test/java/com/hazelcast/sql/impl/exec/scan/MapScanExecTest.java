@@ -170,7 +170,8 @@ public class MapScanExecTest extends SqlTestSupport {
             fieldTypes,
             Collections.emptyList(),
             new TestFilter(2),
-            serializationService
+            serializationService,
+            null
         );
 
         exec.setup(emptyFragmentContext());
@@ -264,7 +265,8 @@ public class MapScanExecTest extends SqlTestSupport {
             fieldTypes,
             projects,
             filter,
-            serializationService
+            serializationService,
+            null
         );
 
         assertEquals(id, exec.getId());
@@ -347,7 +349,8 @@ public class MapScanExecTest extends SqlTestSupport {
             Collections.singletonList(QueryDataType.BIGINT),
             Collections.singletonList(0),
             null,
-            (InternalSerializationService) mapProxy.getNodeEngine().getSerializationService()
+            (InternalSerializationService) mapProxy.getNodeEngine().getSerializationService(),
+            null
         );
 
         exec.setup(emptyFragmentContext());
@@ -379,7 +382,8 @@ public class MapScanExecTest extends SqlTestSupport {
             Collections.singletonList(QueryDataType.TIMESTAMP),
             Collections.singletonList(0),
             null,
-            (InternalSerializationService) mapProxy.getNodeEngine().getSerializationService()
+            (InternalSerializationService) mapProxy.getNodeEngine().getSerializationService(),
+            null
         );
 
         exec.setup(emptyFragmentContext());
@@ -419,7 +423,8 @@ public class MapScanExecTest extends SqlTestSupport {
             Collections.singletonList(QueryDataType.TIMESTAMP),
             Collections.singletonList(0),
             null,
-            (InternalSerializationService) localMapProxy.getNodeEngine().getSerializationService()
+            (InternalSerializationService) localMapProxy.getNodeEngine().getSerializationService(),
+            null
         );
 
         QueryException exception = assertThrows(QueryException.class, () -> exec.setup(emptyFragmentContext()));
@@ -484,7 +489,8 @@ public class MapScanExecTest extends SqlTestSupport {
             Collections.singletonList(QueryDataType.BIGINT),
             Collections.singletonList(0),
             null,
-            (InternalSerializationService) mapProxy.getNodeEngine().getSerializationService()
+            (InternalSerializationService) mapProxy.getNodeEngine().getSerializationService(),
+            null
         );
 
         exec.setup(emptyFragmentContext());
@@ -555,7 +561,8 @@ public class MapScanExecTest extends SqlTestSupport {
             Collections.singletonList(QueryDataType.BIGINT),
             Collections.singletonList(0),
             null,
-            (InternalSerializationService) mapProxy.getNodeEngine().getSerializationService()
+            (InternalSerializationService) mapProxy.getNodeEngine().getSerializationService(),
+            null
         );
 
         exec.setup(emptyFragmentContext());
@@ -593,7 +600,8 @@ public class MapScanExecTest extends SqlTestSupport {
             Collections.singletonList(QueryDataType.BIGINT),
             Collections.singletonList(0),
             null,
-            (InternalSerializationService) mapProxy.getNodeEngine().getSerializationService()
+            (InternalSerializationService) mapProxy.getNodeEngine().getSerializationService(),
+            null
         );
 
         exec.setup(emptyFragmentContext());
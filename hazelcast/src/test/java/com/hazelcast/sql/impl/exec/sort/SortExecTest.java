@@ -0,0 +1,149 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.sql.impl.exec.sort;
+
+import com.hazelcast.sql.impl.SqlTestSupport;
+import com.hazelcast.sql.impl.UpstreamExec;
+import com.hazelcast.sql.impl.exec.IterationResult;
+import com.hazelcast.sql.impl.expression.ConstantExpression;
+import com.hazelcast.sql.impl.row.HeapRow;
+import com.hazelcast.sql.impl.row.ListRowBatch;
+import com.hazelcast.sql.impl.row.Row;
+import com.hazelcast.sql.impl.row.RowBatch;
+import com.hazelcast.sql.impl.type.QueryDataType;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class SortExecTest extends SqlTestSupport {
+    @Test
+    public void testSort() {
+        UpstreamExec upstream = new UpstreamExec(1);
+        SortExec exec = new SortExec(2, upstream, new int[] { 0, 1 }, new boolean[] { true, false }, null, null);
+        exec.setup(emptyFragmentContext());
+
+        assertEquals(IterationResult.WAIT, exec.advance());
+
+        upstream.addResult(IterationResult.FETCHED, batch(row(2, 1), row(null, 1), row(1, 1)));
+        assertEquals(IterationResult.WAIT, exec.advance());
+
+        upstream.addResult(IterationResult.FETCHED_DONE, batch(row(1, 2), row(2, null)));
+        assertEquals(IterationResult.FETCHED_DONE, exec.advance());
+
+        checkBatch(exec.currentBatch(), row(1, 2), row(1, 1), row(2, null), row(2, 1), row(null, 1));
+    }
+
+    @Test
+    public void testTopN() {
+        UpstreamExec upstream = new UpstreamExec(1);
+        SortExec exec = new SortExec(
+            2,
+            upstream,
+            new int[] { 0 },
+            new boolean[] { false },
+            ConstantExpression.create(2, QueryDataType.INT),
+            ConstantExpression.create(1, QueryDataType.INT)
+        );
+        exec.setup(emptyFragmentContext());
+
+        // Top "fetch + offset" rows are returned.
+        upstream.addResult(IterationResult.FETCHED, batch(row(3, 0), row(7, 0), row(1, 0)));
+        upstream.addResult(IterationResult.FETCHED_DONE, batch(row(5, 0), row(9, 0), row(2, 0)));
+
+        assertEquals(IterationResult.FETCHED_DONE, exec.advance());
+        checkBatch(exec.currentBatch(), row(9, 0), row(7, 0), row(5, 0));
+    }
+
+    @Test
+    public void testLimitWithoutCollation() {
+        UpstreamExec upstream = new UpstreamExec(1);
+        SortExec exec = new SortExec(
+            2,
+            upstream,
+            new int[0],
+            new boolean[0],
+            ConstantExpression.create(2, QueryDataType.INT),
+            null
+        );
+        exec.setup(emptyFragmentContext());
+
+        // The upstream is not consumed after the limit is reached.
+        upstream.addResult(IterationResult.FETCHED, batch(row(1, 0), row(2, 0), row(3, 0)));
+
+        assertEquals(IterationResult.FETCHED_DONE, exec.advance());
+        assertEquals(2, exec.currentBatch().getRowCount());
+    }
+
+    @Test
+    public void testMultipleBatches() {
+        UpstreamExec upstream = new UpstreamExec(1);
+        SortExec exec = new SortExec(2, upstream, new int[] { 0 }, new boolean[] { true }, null, null);
+        exec.setup(emptyFragmentContext());
+
+        int size = SortExec.BATCH_SIZE + SortExec.BATCH_SIZE / 2;
+
+        List<Row> rows = new ArrayList<>(size);
+
+        for (int i = size - 1; i >= 0; i--) {
+            rows.add(row(i, 0));
+        }
+
+        upstream.addResult(IterationResult.FETCHED_DONE, new ListRowBatch(rows));
+
+        assertEquals(IterationResult.FETCHED, exec.advance());
+        checkMonotonicBatch(exec.currentBatch(), 0, SortExec.BATCH_SIZE);
+
+        assertEquals(IterationResult.FETCHED_DONE, exec.advance());
+        checkMonotonicBatch(exec.currentBatch(), SortExec.BATCH_SIZE, size - SortExec.BATCH_SIZE);
+    }
+
+    private static Row row(Integer value1, Integer value2) {
+        return HeapRow.of(value1, value2);
+    }
+
+    private static RowBatch batch(Row... rows) {
+        List<Row> rows0 = new ArrayList<>(rows.length);
+
+        for (Row row : rows) {
+            rows0.add(row);
+        }
+
+        return new ListRowBatch(rows0);
+    }
+
+    private static void checkBatch(RowBatch batch, Row... expectedRows) {
+        assertEquals(expectedRows.length, batch.getRowCount());
+
+        for (int i = 0; i < expectedRows.length; i++) {
+            Row expectedRow = expectedRows[i];
+            Row row = batch.getRow(i);
+
+            assertEquals((Object) expectedRow.get(0), row.get(0));
+            assertEquals((Object) expectedRow.get(1), row.get(1));
+        }
+    }
+}
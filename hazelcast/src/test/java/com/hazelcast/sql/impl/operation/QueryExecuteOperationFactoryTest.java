@@ -77,14 +77,15 @@ public class QueryExecuteOperationFactoryTest {
             null,
             QueryParameterMetadata.EMPTY,
             null,
-            Collections.emptySet()
+            Collections.emptySet(),
+            null
         );
 
         QueryId queryId = QueryId.create(UUID.randomUUID());
         List<Object> args = Collections.singletonList(1);
         Map<Integer, Long> edgeInitialMemoryMap = Collections.singletonMap(1, 1000L);
 
-        QueryExecuteOperationFactory factory = new QueryExecuteOperationFactory(plan, args, edgeInitialMemoryMap);
+        QueryExecuteOperationFactory factory = new QueryExecuteOperationFactory(plan, partitionMap, args, edgeInitialMemoryMap);
 
         QueryExecuteOperation operation1 = factory.create(queryId, member1);
         QueryExecuteOperation operation2 = factory.create(queryId, member2);
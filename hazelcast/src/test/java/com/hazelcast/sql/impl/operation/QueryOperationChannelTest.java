@@ -115,6 +115,11 @@ public class QueryOperationChannelTest extends SqlTestSupport {
             return null;
         }
 
+        @Override
+        public int getPartitionId(Object key) {
+            return 0;
+        }
+
         @Override
         public ILogger getLogger(Class<?> clazz) {
             return null;
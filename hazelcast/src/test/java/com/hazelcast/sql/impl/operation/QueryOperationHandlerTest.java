@@ -33,6 +33,7 @@ import com.hazelcast.sql.impl.exec.CreateExecPlanNodeVisitor;
 import com.hazelcast.sql.impl.exec.CreateExecPlanNodeVisitorCallback;
 import com.hazelcast.sql.impl.exec.Exec;
 import com.hazelcast.sql.impl.exec.IterationResult;
+import com.hazelcast.sql.impl.exec.io.flowcontrol.simple.SimpleFlowControlFactory;
 import com.hazelcast.sql.impl.exec.root.BlockingRootResultConsumer;
 import com.hazelcast.sql.impl.plan.Plan;
 import com.hazelcast.sql.impl.plan.node.PlanNode;
@@ -506,13 +507,15 @@ public class QueryOperationHandlerTest extends SqlTestSupport {
             null,
             QueryParameterMetadata.EMPTY,
             null,
-            Collections.emptySet()
+            Collections.emptySet(),
+            null
         );
 
         QueryId queryId = initiatorService.getStateRegistry().onInitiatorQueryStarted(
             initiatorId,
             timeout,
             plan,
+            plan.getMemberIds(),
             null,
             null,
             new BlockingRootResultConsumer(),
@@ -600,6 +603,7 @@ public class QueryOperationHandlerTest extends SqlTestSupport {
             Runtime.getRuntime().availableProcessors(),
             Runtime.getRuntime().availableProcessors(),
             1000,
+            SimpleFlowControlFactory.INSTANCE,
             stateCheckFrequency,
             null
         );
@@ -0,0 +1,150 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.sql.impl.plan.node;
+
+import com.hazelcast.sql.impl.SqlDataSerializerHook;
+import com.hazelcast.sql.impl.SqlTestSupport;
+import com.hazelcast.sql.impl.exec.agg.AggregateCallDescriptor;
+import com.hazelcast.sql.impl.exec.agg.AggregateFunctionType;
+import com.hazelcast.sql.impl.exec.agg.AggregatePhase;
+import com.hazelcast.sql.impl.type.QueryDataType;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class AggregatePlanNodeTest extends SqlTestSupport {
+    @Test
+    public void testState() {
+        MockPlanNode upstream = MockPlanNode.create(1, QueryDataType.VARCHAR, QueryDataType.INT);
+        int[] groupKey = new int[] { 0 };
+        List<AggregateCallDescriptor> calls = Arrays.asList(
+            new AggregateCallDescriptor(AggregateFunctionType.COUNT, -1, null, QueryDataType.BIGINT),
+            new AggregateCallDescriptor(AggregateFunctionType.AVG, 1, QueryDataType.INT, QueryDataType.DECIMAL)
+        );
+
+        AggregatePlanNode node = new AggregatePlanNode(2, upstream, groupKey, calls, AggregatePhase.COMPLETE);
+
+        assertEquals(2, node.getId());
+        assertSame(upstream, node.getUpstream());
+        assertArrayEquals(groupKey, node.getGroupKey());
+        assertEquals(calls, node.getCalls());
+        assertEquals(AggregatePhase.COMPLETE, node.getPhase());
+        assertEquals(
+            new PlanNodeSchema(Arrays.asList(QueryDataType.VARCHAR, QueryDataType.BIGINT, QueryDataType.DECIMAL)),
+            node.getSchema()
+        );
+
+        // Partial aggregation exposes intermediate state instead of final results.
+        AggregatePlanNode partialNode = new AggregatePlanNode(2, upstream, groupKey, calls, AggregatePhase.PARTIAL);
+
+        assertEquals(
+            new PlanNodeSchema(Arrays.asList(
+                QueryDataType.VARCHAR,
+                QueryDataType.BIGINT,
+                QueryDataType.BIGINT,
+                QueryDataType.BIGINT
+            )),
+            partialNode.getSchema()
+        );
+    }
+
+    @Test
+    public void testEquality() {
+        int id1 = 1;
+        int id2 = 2;
+
+        MockPlanNode upstream1 = MockPlanNode.create(3, QueryDataType.INT, QueryDataType.INT);
+        MockPlanNode upstream2 = MockPlanNode.create(4, QueryDataType.INT, QueryDataType.INT);
+
+        int[] groupKey1 = new int[] { 0 };
+        int[] groupKey2 = new int[] { 1 };
+
+        List<AggregateCallDescriptor> calls1 = Collections.singletonList(
+            new AggregateCallDescriptor(AggregateFunctionType.SUM, 1, QueryDataType.INT, QueryDataType.BIGINT)
+        );
+        List<AggregateCallDescriptor> calls2 = Collections.singletonList(
+            new AggregateCallDescriptor(AggregateFunctionType.MAX, 1, QueryDataType.INT, QueryDataType.INT)
+        );
+
+        AggregatePhase phase1 = AggregatePhase.PARTIAL;
+        AggregatePhase phase2 = AggregatePhase.FINAL;
+
+        checkEquals(
+            new AggregatePlanNode(id1, upstream1, groupKey1, calls1, phase1),
+            new AggregatePlanNode(id1, upstream1, groupKey1, calls1, phase1),
+            true
+        );
+        checkEquals(
+            new AggregatePlanNode(id1, upstream1, groupKey1, calls1, phase1),
+            new AggregatePlanNode(id2, upstream1, groupKey1, calls1, phase1),
+            false
+        );
+        checkEquals(
+            new AggregatePlanNode(id1, upstream1, groupKey1, calls1, phase1),
+            new AggregatePlanNode(id1, upstream2, groupKey1, calls1, phase1),
+            false
+        );
+        checkEquals(
+            new AggregatePlanNode(id1, upstream1, groupKey1, calls1, phase1),
+            new AggregatePlanNode(id1, upstream1, groupKey2, calls1, phase1),
+            false
+        );
+        checkEquals(
+            new AggregatePlanNode(id1, upstream1, groupKey1, calls1, phase1),
+            new AggregatePlanNode(id1, upstream1, groupKey1, calls2, phase1),
+            false
+        );
+        checkEquals(
+            new AggregatePlanNode(id1, upstream1, groupKey1, calls1, phase1),
+            new AggregatePlanNode(id1, upstream1, groupKey1, calls1, phase2),
+            false
+        );
+    }
+
+    @Test
+    public void testSerialization() {
+        List<AggregateCallDescriptor> calls = Arrays.asList(
+            new AggregateCallDescriptor(AggregateFunctionType.COUNT, -1, null, QueryDataType.BIGINT),
+            new AggregateCallDescriptor(AggregateFunctionType.SUM, 1, QueryDataType.DOUBLE, QueryDataType.DOUBLE)
+        );
+
+        AggregatePlanNode original = new AggregatePlanNode(
+            1,
+            MockPlanNode.create(2, QueryDataType.INT, QueryDataType.DOUBLE),
+            new int[] { 0 },
+            calls,
+            AggregatePhase.FINAL
+        );
+
+        AggregatePlanNode restored = serializeAndCheck(original, SqlDataSerializerHook.NODE_AGGREGATE);
+
+        checkEquals(original, restored, true);
+    }
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.sql.impl.plan.node;
+
+import com.hazelcast.sql.impl.SqlDataSerializerHook;
+import com.hazelcast.sql.impl.SqlTestSupport;
+import com.hazelcast.sql.impl.expression.ConstantExpression;
+import com.hazelcast.sql.impl.expression.Expression;
+import com.hazelcast.sql.impl.type.QueryDataType;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import static org.junit.Assert.assertEquals;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class FetchPlanNodeTest extends SqlTestSupport {
+    @Test
+    public void testState() {
+        MockPlanNode upstream = MockPlanNode.create(1, QueryDataType.INT);
+        Expression<?> fetch = ConstantExpression.create(10, QueryDataType.INT);
+        Expression<?> offset = ConstantExpression.create(5, QueryDataType.INT);
+
+        FetchPlanNode node = new FetchPlanNode(2, upstream, fetch, offset);
+
+        assertEquals(2, node.getId());
+        assertEquals(upstream, node.getUpstream());
+        assertEquals(upstream.getSchema(), node.getSchema());
+        assertEquals(fetch, node.getFetch());
+        assertEquals(offset, node.getOffset());
+    }
+
+    @Test
+    public void testEquality() {
+        int id1 = 1;
+        int id2 = 2;
+
+        MockPlanNode upstream1 = MockPlanNode.create(3, QueryDataType.INT);
+        MockPlanNode upstream2 = MockPlanNode.create(3, QueryDataType.BIGINT);
+
+        Expression<?> fetch1 = ConstantExpression.create(1, QueryDataType.INT);
+        Expression<?> fetch2 = ConstantExpression.create(2, QueryDataType.INT);
+
+        Expression<?> offset1 = ConstantExpression.create(3, QueryDataType.INT);
+        Expression<?> offset2 = ConstantExpression.create(4, QueryDataType.INT);
+
+        checkEquals(new FetchPlanNode(id1, upstream1, fetch1, offset1), new FetchPlanNode(id1, upstream1, fetch1, offset1), true);
+        checkEquals(new FetchPlanNode(id1, upstream1, fetch1, offset1), new FetchPlanNode(id2, upstream1, fetch1, offset1), false);
+        checkEquals(new FetchPlanNode(id1, upstream1, fetch1, offset1), new FetchPlanNode(id1, upstream2, fetch1, offset1), false);
+        checkEquals(new FetchPlanNode(id1, upstream1, fetch1, offset1), new FetchPlanNode(id1, upstream1, fetch2, offset1), false);
+        checkEquals(new FetchPlanNode(id1, upstream1, fetch1, offset1), new FetchPlanNode(id1, upstream1, fetch1, offset2), false);
+    }
+
+    @Test
+    public void testSerialization() {
+        MockPlanNode upstream = MockPlanNode.create(1, QueryDataType.INT);
+
+        FetchPlanNode original = new FetchPlanNode(2, upstream, ConstantExpression.create(10, QueryDataType.INT), null);
+        FetchPlanNode restored = serializeAndCheck(original, SqlDataSerializerHook.NODE_FETCH);
+
+        checkEquals(original, restored, true);
+    }
+}
@@ -0,0 +1,160 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.sql.impl.plan.node;
+
+import com.hazelcast.sql.impl.SqlDataSerializerHook;
+import com.hazelcast.sql.impl.SqlTestSupport;
+import com.hazelcast.sql.impl.expression.ColumnExpression;
+import com.hazelcast.sql.impl.expression.ConstantExpression;
+import com.hazelcast.sql.impl.expression.Expression;
+import com.hazelcast.sql.impl.expression.predicate.ComparisonMode;
+import com.hazelcast.sql.impl.expression.predicate.ComparisonPredicate;
+import com.hazelcast.sql.impl.type.QueryDataType;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.Arrays;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class HashJoinPlanNodeTest extends SqlTestSupport {
+    @Test
+    public void testState() {
+        MockPlanNode left = MockPlanNode.create(1, QueryDataType.INT, QueryDataType.VARCHAR);
+        MockPlanNode right = MockPlanNode.create(2, QueryDataType.BIGINT);
+        int[] leftKeys = new int[] { 0 };
+        int[] rightKeys = new int[] { 0 };
+        Expression<Boolean> condition = condition(1);
+
+        HashJoinPlanNode node = new HashJoinPlanNode(3, left, right, leftKeys, rightKeys, condition, true);
+
+        assertEquals(3, node.getId());
+        assertEquals(left, node.getLeft());
+        assertEquals(right, node.getRight());
+        assertArrayEquals(leftKeys, node.getLeftKeys());
+        assertArrayEquals(rightKeys, node.getRightKeys());
+        assertEquals(condition, node.getCondition());
+        assertTrue(node.isOuter());
+
+        assertEquals(
+            Arrays.asList(QueryDataType.INT, QueryDataType.VARCHAR, QueryDataType.BIGINT),
+            node.getSchema().getTypes()
+        );
+    }
+
+    @Test
+    public void testEquality() {
+        int id1 = 1;
+        int id2 = 2;
+
+        MockPlanNode left1 = MockPlanNode.create(3, QueryDataType.INT);
+        MockPlanNode left2 = MockPlanNode.create(3, QueryDataType.BIGINT);
+
+        MockPlanNode right1 = MockPlanNode.create(4, QueryDataType.INT);
+        MockPlanNode right2 = MockPlanNode.create(4, QueryDataType.BIGINT);
+
+        int[] keys1 = new int[] { 0 };
+        int[] keys2 = new int[0];
+
+        Expression<Boolean> condition1 = condition(1);
+        Expression<Boolean> condition2 = condition(2);
+
+        checkEquals(
+            new HashJoinPlanNode(id1, left1, right1, keys1, keys1, condition1, false),
+            new HashJoinPlanNode(id1, left1, right1, keys1, keys1, condition1, false),
+            true
+        );
+
+        checkEquals(
+            new HashJoinPlanNode(id1, left1, right1, keys1, keys1, condition1, false),
+            new HashJoinPlanNode(id2, left1, right1, keys1, keys1, condition1, false),
+            false
+        );
+
+        checkEquals(
+            new HashJoinPlanNode(id1, left1, right1, keys1, keys1, condition1, false),
+            new HashJoinPlanNode(id1, left2, right1, keys1, keys1, condition1, false),
+            false
+        );
+
+        checkEquals(
+            new HashJoinPlanNode(id1, left1, right1, keys1, keys1, condition1, false),
+            new HashJoinPlanNode(id1, left1, right2, keys1, keys1, condition1, false),
+            false
+        );
+
+        checkEquals(
+            new HashJoinPlanNode(id1, left1, right1, keys1, keys1, condition1, false),
+            new HashJoinPlanNode(id1, left1, right1, keys2, keys1, condition1, false),
+            false
+        );
+
+        checkEquals(
+            new HashJoinPlanNode(id1, left1, right1, keys1, keys1, condition1, false),
+            new HashJoinPlanNode(id1, left1, right1, keys1, keys2, condition1, false),
+            false
+        );
+
+        checkEquals(
+            new HashJoinPlanNode(id1, left1, right1, keys1, keys1, condition1, false),
+            new HashJoinPlanNode(id1, left1, right1, keys1, keys1, condition2, false),
+            false
+        );
+
+        checkEquals(
+            new HashJoinPlanNode(id1, left1, right1, keys1, keys1, condition1, false),
+            new HashJoinPlanNode(id1, left1, right1, keys1, keys1, condition1, true),
+            false
+        );
+    }
+
+    @Test
+    public void testSerialization() {
+        MockPlanNode left = MockPlanNode.create(1, QueryDataType.INT);
+        MockPlanNode right = MockPlanNode.create(2, QueryDataType.INT);
+
+        HashJoinPlanNode original = new HashJoinPlanNode(
+            3,
+            left,
+            right,
+            new int[] { 0 },
+            new int[] { 0 },
+            condition(1),
+            true
+        );
+
+        HashJoinPlanNode restored = serializeAndCheck(original, SqlDataSerializerHook.NODE_HASH_JOIN);
+
+        checkEquals(original, restored, true);
+    }
+
+    private static Expression<Boolean> condition(int value) {
+        return ComparisonPredicate.create(
+            ColumnExpression.create(0, QueryDataType.INT),
+            ConstantExpression.create(value, QueryDataType.INT),
+            ComparisonMode.GREATER_THAN
+        );
+    }
+}
@@ -0,0 +1,190 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.sql.impl.row;
+
+import com.hazelcast.sql.impl.SqlTestSupport;
+import com.hazelcast.sql.impl.expression.ColumnExpression;
+import com.hazelcast.sql.impl.expression.ConstantExpression;
+import com.hazelcast.sql.impl.expression.Expression;
+import com.hazelcast.sql.impl.expression.SimpleExpressionEvalContext;
+import com.hazelcast.sql.impl.expression.predicate.AndPredicate;
+import com.hazelcast.sql.impl.expression.predicate.ComparisonMode;
+import com.hazelcast.sql.impl.expression.predicate.ComparisonPredicate;
+import com.hazelcast.sql.impl.expression.predicate.IsNullPredicate;
+import com.hazelcast.sql.impl.expression.predicate.NotPredicate;
+import com.hazelcast.sql.impl.expression.predicate.OrPredicate;
+import com.hazelcast.sql.impl.row.vector.BooleanColumnVector;
+import com.hazelcast.sql.impl.row.vector.ColumnVector;
+import com.hazelcast.sql.impl.row.vector.ColumnVectors;
+import com.hazelcast.sql.impl.row.vector.IntColumnVector;
+import com.hazelcast.sql.impl.row.vector.LongColumnVector;
+import com.hazelcast.sql.impl.row.vector.ObjectColumnVector;
+import com.hazelcast.sql.impl.type.QueryDataType;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class ColumnarRowBatchTest extends SqlTestSupport {
+
+    private static final int SIZE = 10;
+
+    @Test
+    public void testVectors() {
+        assertSame(BooleanColumnVector.class, ColumnVectors.create(QueryDataType.BOOLEAN, 1).getClass());
+        assertSame(IntColumnVector.class, ColumnVectors.create(QueryDataType.INT, 1).getClass());
+        assertSame(LongColumnVector.class, ColumnVectors.create(QueryDataType.BIGINT, 1).getClass());
+        assertSame(ObjectColumnVector.class, ColumnVectors.create(QueryDataType.VARCHAR, 1).getClass());
+
+        LongColumnVector vector = new LongColumnVector(2);
+
+        vector.setObject(0, 1L);
+        vector.setObject(1, null);
+
+        assertEquals(1L, vector.getLong(0));
+        assertEquals(1L, vector.getObject(0));
+        assertFalse(vector.isNull(0));
+        assertTrue(vector.isNull(1));
+        assertNull(vector.getObject(1));
+
+        vector.setLong(1, 2L);
+
+        assertFalse(vector.isNull(1));
+        assertEquals(2L, vector.getObject(1));
+    }
+
+    @Test
+    public void testRows() {
+        ColumnarRowBatch batch = createBatch();
+
+        assertEquals(SIZE, batch.getRowCount());
+        assertEquals(SIZE, batch.getSize());
+        assertEquals(2, batch.getColumnCount());
+
+        for (int i = 0; i < SIZE; i++) {
+            Row row = batch.getRow(i);
+
+            assertEquals(i, (int) row.get(0));
+            assertEquals(i % 3 == 0 ? null : "value-" + i, row.get(1));
+        }
+
+        ColumnarRowBatch emptyColumnsBatch = new ColumnarRowBatch(new ColumnVector[0], SIZE);
+
+        assertEquals(SIZE, emptyColumnsBatch.getRowCount());
+        assertSame(EmptyRow.INSTANCE, emptyColumnsBatch.getRow(0));
+    }
+
+    @Test
+    public void testSelect() {
+        ColumnarRowBatch batch = createBatch();
+
+        // c0 > 4 AND c1 IS NOT NULL: TRUE for 5, 7, 8.
+        Expression<Boolean> predicate = AndPredicate.create(
+            ComparisonPredicate.create(
+                ColumnExpression.create(0, QueryDataType.INT),
+                ConstantExpression.create(4, QueryDataType.INT),
+                ComparisonMode.GREATER_THAN
+            ),
+            NotPredicate.create(IsNullPredicate.create(ColumnExpression.create(1, QueryDataType.VARCHAR)))
+        );
+
+        ColumnarRowBatch selected = batch.select(predicate.evalVector(batch, SimpleExpressionEvalContext.create()));
+
+        checkSelection(selected, 5, 7, 8);
+
+        // Selection of the already filtered batch: c0 < 8 OR c1 IS NULL.
+        Expression<Boolean> predicate2 = OrPredicate.create(
+            ComparisonPredicate.create(
+                ColumnExpression.create(0, QueryDataType.INT),
+                ConstantExpression.create(8, QueryDataType.INT),
+                ComparisonMode.LESS_THAN
+            ),
+            IsNullPredicate.create(ColumnExpression.create(1, QueryDataType.VARCHAR))
+        );
+
+        checkSelection(selected.select(predicate2.evalVector(selected, SimpleExpressionEvalContext.create())), 5, 7);
+
+        // Unchanged batch is returned when all rows pass.
+        Expression<Boolean> predicate3 = ComparisonPredicate.create(
+            ColumnExpression.create(0, QueryDataType.INT),
+            ConstantExpression.create(0, QueryDataType.INT),
+            ComparisonMode.GREATER_THAN_OR_EQUAL
+        );
+
+        assertSame(batch, batch.select(predicate3.evalVector(batch, SimpleExpressionEvalContext.create())));
+    }
+
+    @Test
+    public void testSelectNullComparison() {
+        IntColumnVector column = new IntColumnVector(3);
+
+        column.setInt(0, 1);
+        column.setNull(1);
+        column.setInt(2, 3);
+
+        ColumnarRowBatch batch = new ColumnarRowBatch(new ColumnVector[] { column }, 3);
+
+        Expression<Boolean> predicate = ComparisonPredicate.create(
+            ColumnExpression.create(0, QueryDataType.INT),
+            ConstantExpression.create(0, QueryDataType.INT),
+            ComparisonMode.GREATER_THAN
+        );
+
+        ColumnVector res = predicate.evalVector(batch, SimpleExpressionEvalContext.create());
+
+        assertEquals(true, res.getObject(0));
+        assertNull(res.getObject(1));
+        assertEquals(true, res.getObject(2));
+
+        ColumnarRowBatch selected = batch.select(res);
+
+        assertEquals(2, selected.getRowCount());
+        assertEquals(1, (int) selected.getRow(0).get(0));
+        assertEquals(3, (int) selected.getRow(1).get(0));
+    }
+
+    private static ColumnarRowBatch createBatch() {
+        IntColumnVector column0 = new IntColumnVector(SIZE);
+        ColumnVector column1 = ColumnVectors.create(QueryDataType.VARCHAR, SIZE);
+
+        for (int i = 0; i < SIZE; i++) {
+            column0.setInt(i, i);
+            column1.setObject(i, i % 3 == 0 ? null : "value-" + i);
+        }
+
+        return new ColumnarRowBatch(new ColumnVector[] { column0, column1 }, SIZE);
+    }
+
+    private static void checkSelection(ColumnarRowBatch batch, int... expectedValues) {
+        assertEquals(expectedValues.length, batch.getRowCount());
+
+        for (int i = 0; i < expectedValues.length; i++) {
+            assertEquals(expectedValues[i], batch.getPosition(i));
+            assertEquals(expectedValues[i], (int) batch.getRow(i).get(0));
+        }
+    }
+}
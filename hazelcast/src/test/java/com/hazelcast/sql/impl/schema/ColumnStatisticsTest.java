@@ -0,0 +1,102 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.sql.impl.schema;
+
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class ColumnStatisticsTest {
+
+    private static final double DELTA = 0.0001d;
+
+    @Test
+    public void testHistogram() {
+        double[] values = new double[101];
+
+        for (int i = 0; i < values.length; i++) {
+            values[i] = i;
+        }
+
+        ColumnHistogram histogram = ColumnHistogram.create(values, values.length, 4);
+
+        assertEquals(4, histogram.getBucketCount());
+        assertEquals(0.0d, histogram.getMin(), DELTA);
+        assertEquals(100.0d, histogram.getMax(), DELTA);
+
+        // Outside of the range.
+        assertEquals(0.0d, histogram.getFraction(-1, true), DELTA);
+        assertEquals(1.0d, histogram.getFraction(101, true), DELTA);
+
+        // Between bounds.
+        assertEquals(0.1d, histogram.getFraction(10, true), DELTA);
+        assertEquals(0.6d, histogram.getFraction(60, false), DELTA);
+
+        // On bounds.
+        assertEquals(0.0d, histogram.getFraction(0, false), DELTA);
+        assertEquals(0.5d, histogram.getFraction(50, true), DELTA);
+        assertEquals(1.0d, histogram.getFraction(100, true), DELTA);
+    }
+
+    @Test
+    public void testHistogramSkewed() {
+        // Half of values are equal to 1.
+        double[] values = new double[] { 0, 1, 1, 1, 1, 2, 3, 4, 5 };
+
+        ColumnHistogram histogram = ColumnHistogram.create(values, values.length, 8);
+
+        double lessThanOne = histogram.getFraction(1, false);
+        double lessOrEqualToOne = histogram.getFraction(1, true);
+
+        assertEquals(0.125d, lessThanOne, DELTA);
+        assertEquals(0.5d, lessOrEqualToOne, DELTA);
+    }
+
+    @Test
+    public void testSelectivity() {
+        double[] values = new double[] { 0, 25, 50, 75, 100 };
+
+        ColumnStatistics statistics = new ColumnStatistics(50, 0.2d, ColumnHistogram.create(values, values.length, 4));
+
+        assertEquals(50, statistics.getDistinctCount(), DELTA);
+        assertEquals(0.8d / 50, statistics.getEqualsSelectivity(), DELTA);
+
+        assertEquals(0.4d, statistics.getRangeSelectivity(null, false, 50d, true), DELTA);
+        assertEquals(0.2d, statistics.getRangeSelectivity(25d, true, 50d, true), DELTA);
+        assertEquals(0.8d, statistics.getRangeSelectivity(null, false, null, false), DELTA);
+
+        // Empty range is estimated as a single value.
+        assertEquals(statistics.getEqualsSelectivity(), statistics.getRangeSelectivity(200d, true, null, false), DELTA);
+    }
+
+    @Test
+    public void testSelectivityWithoutHistogram() {
+        ColumnStatistics statistics = new ColumnStatistics(0, 0.0d, null);
+
+        assertEquals(1, statistics.getDistinctCount(), DELTA);
+        assertEquals(1.0d, statistics.getEqualsSelectivity(), DELTA);
+        assertNull(statistics.getRangeSelectivity(null, false, 1d, true));
+    }
+}
@@ -0,0 +1,164 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.sql.impl.schema.map;
+
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.map.IMap;
+import com.hazelcast.sql.impl.schema.ColumnHistogram;
+import com.hazelcast.sql.impl.schema.ColumnStatistics;
+import com.hazelcast.sql.impl.schema.Table;
+import com.hazelcast.sql.impl.schema.TableStatistics;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class MapTableStatisticsCollectorTest extends MapSchemaTestSupport {
+
+    private static final String MAP_NAME = "map";
+    private static final int ENTRY_COUNT = 2000;
+    private static final int CATEGORY_COUNT = 10;
+
+    private HazelcastInstance instance;
+    private PartitionedMapTableResolver resolver;
+
+    @Before
+    public void before() {
+        instance = createHazelcastInstance();
+        resolver = new PartitionedMapTableResolver(nodeEngine(instance));
+    }
+
+    @Test
+    public void testColumnStatistics() {
+        putEntries(0, ENTRY_COUNT);
+
+        Table table = getTable();
+        TableStatistics statistics = table.getStatistics();
+
+        assertEquals(ENTRY_COUNT, statistics.getRowCount());
+
+        // Unique key.
+        ColumnStatistics keyStatistics = statistics.getColumnStatistics(getFieldIndex(table, "__key"));
+        assertEquals(ENTRY_COUNT, keyStatistics.getDistinctCount(), ENTRY_COUNT * 0.1d);
+        assertEquals(0.0d, keyStatistics.getNullFraction(), 0.0d);
+
+        ColumnHistogram keyHistogram = keyStatistics.getHistogram();
+        assertNotNull(keyHistogram);
+        assertEquals(0.5d, keyHistogram.getFraction(ENTRY_COUNT / 2, true), 0.1d);
+
+        // Low cardinality column.
+        ColumnStatistics categoryStatistics = statistics.getColumnStatistics(getFieldIndex(table, "category"));
+        assertEquals(CATEGORY_COUNT, categoryStatistics.getDistinctCount(), 1.0d);
+
+        // Non-numeric column with nulls.
+        ColumnStatistics nameStatistics = statistics.getColumnStatistics(getFieldIndex(table, "name"));
+        assertEquals(0.5d, nameStatistics.getNullFraction(), 0.1d);
+        assertNull(nameStatistics.getHistogram());
+
+        // DECIMAL column with all values between 1 and 2.
+        ColumnStatistics priceStatistics = statistics.getColumnStatistics(getFieldIndex(table, "price"));
+        assertEquals(ENTRY_COUNT, priceStatistics.getDistinctCount(), ENTRY_COUNT * 0.1d);
+    }
+
+    @Test
+    public void testVersionChangesOnDrift() {
+        putEntries(0, ENTRY_COUNT);
+
+        TableStatistics statistics = getTable().getStatistics();
+
+        // Small change doesn't cause re-collection.
+        putEntries(ENTRY_COUNT, ENTRY_COUNT + 10);
+
+        TableStatistics statistics2 = getTable().getStatistics();
+        assertEquals(ENTRY_COUNT + 10, statistics2.getRowCount());
+        assertEquals(statistics.getVersion(), statistics2.getVersion());
+
+        // Big change causes re-collection.
+        putEntries(ENTRY_COUNT + 10, ENTRY_COUNT * 2);
+
+        TableStatistics statistics3 = getTable().getStatistics();
+        assertEquals(ENTRY_COUNT * 2, statistics3.getRowCount());
+        assertNotEquals(statistics.getVersion(), statistics3.getVersion());
+    }
+
+    @Test
+    public void testDrift() {
+        assertFalse(MapTableStatisticsCollector.isDrifted(0, MapTableStatisticsCollector.DRIFT_MIN_ROWS));
+        assertTrue(MapTableStatisticsCollector.isDrifted(0, MapTableStatisticsCollector.DRIFT_MIN_ROWS + 1));
+
+        assertFalse(MapTableStatisticsCollector.isDrifted(100_000, 110_000));
+        assertTrue(MapTableStatisticsCollector.isDrifted(100_000, 130_000));
+        assertTrue(MapTableStatisticsCollector.isDrifted(100_000, 70_000));
+    }
+
+    private void putEntries(int from, int to) {
+        IMap<Integer, Value> map = instance.getMap(MAP_NAME);
+
+        for (int i = from; i < to; i++) {
+            map.put(i, new Value(i % CATEGORY_COUNT, i % 2 == 0 ? "name" + i : null, BigDecimal.ONE.add(BigDecimal.valueOf(i, 5))));
+        }
+    }
+
+    private Table getTable() {
+        for (Table table : resolver.getTables()) {
+            if (table.getName().equals(MAP_NAME)) {
+                return table;
+            }
+        }
+
+        throw new AssertionError("Table not found: " + MAP_NAME);
+    }
+
+    private static int getFieldIndex(Table table, String name) {
+        for (int i = 0; i < table.getFieldCount(); i++) {
+            if (table.getField(i).getName().equals(name)) {
+                return i;
+            }
+        }
+
+        throw new AssertionError("Field not found: " + name);
+    }
+
+    @SuppressWarnings("unused")
+    public static class Value implements Serializable {
+
+        public int category;
+        public String name;
+        public BigDecimal price;
+
+        private Value(int category, String name, BigDecimal price) {
+            this.category = category;
+            this.name = name;
+            this.price = price;
+        }
+    }
+}
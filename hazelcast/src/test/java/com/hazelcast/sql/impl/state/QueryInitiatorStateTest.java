@@ -29,6 +29,7 @@ import org.junit.experimental.categories.Category;
 import org.junit.runner.RunWith;
 
 import java.util.Collections;
+import java.util.Set;
 import java.util.UUID;
 
 import static org.junit.Assert.assertEquals;
@@ -40,14 +41,16 @@ public class QueryInitiatorStateTest {
     @Test
     public void testInitiatorState() {
         QueryId queryId = QueryId.create(UUID.randomUUID());
-        Plan plan = new Plan(null, null, null, null, null, null, null, QueryParameterMetadata.EMPTY, null, Collections.emptySet());
+        Plan plan = new Plan(null, null, null, null, null, null, null, QueryParameterMetadata.EMPTY, null, Collections.emptySet(), null);
         QueryResultProducer resultProducer = new BlockingRootResultConsumer();
+        Set<UUID> participants = Collections.singleton(UUID.randomUUID());
         long timeout = 1000L;
 
-        QueryInitiatorState state = new QueryInitiatorState(queryId, plan, null, null, resultProducer, timeout);
+        QueryInitiatorState state = new QueryInitiatorState(queryId, plan, participants, null, null, resultProducer, timeout);
 
         assertEquals(queryId, state.getQueryId());
         assertSame(plan, state.getPlan());
+        assertSame(participants, state.getParticipants());
         assertSame(resultProducer, state.getResultProducer());
         assertEquals(timeout, state.getTimeout());
     }
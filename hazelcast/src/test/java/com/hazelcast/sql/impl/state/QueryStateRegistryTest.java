@@ -16,7 +16,9 @@
 
 package com.hazelcast.sql.impl.state;
 
+import com.hazelcast.internal.util.collection.PartitionIdSet;
 import com.hazelcast.sql.impl.QueryId;
+import com.hazelcast.sql.impl.QueryParameterMetadata;
 import com.hazelcast.sql.impl.QueryResultProducer;
 import com.hazelcast.sql.impl.SqlTestSupport;
 import com.hazelcast.sql.impl.TestClockProvider;
@@ -29,7 +31,11 @@ import org.junit.Test;
 import org.junit.experimental.categories.Category;
 import org.junit.runner.RunWith;
 
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.UUID;
 
 import static org.junit.Assert.assertEquals;
@@ -56,6 +62,7 @@ public class QueryStateRegistryTest extends SqlTestSupport {
             localMemberId,
             timeout,
             initiatorPlan,
+            initiatorPlan.getMemberIds(),
             null,
             null,
             resultProducer,
@@ -137,6 +144,51 @@ public class QueryStateRegistryTest extends SqlTestSupport {
         assertTrue(registry.getStates().isEmpty());
     }
 
+    @Test
+    public void testPrunedInitiatorStateMemberLeave() {
+        QueryStateRegistry registry = new QueryStateRegistry(TestClockProvider.createDefault());
+
+        UUID localMemberId = UUID.randomUUID();
+        UUID participantMemberId = UUID.randomUUID();
+        UUID prunedMemberId = UUID.randomUUID();
+
+        Map<UUID, PartitionIdSet> partMap = new HashMap<>();
+        partMap.put(localMemberId, new PartitionIdSet(3, Collections.singletonList(0)));
+        partMap.put(participantMemberId, new PartitionIdSet(3, Collections.singletonList(1)));
+        partMap.put(prunedMemberId, new PartitionIdSet(3, Collections.singletonList(2)));
+
+        Plan plan = new Plan(
+            partMap,
+            Collections.emptyList(),
+            Collections.emptyList(),
+            Collections.emptyMap(),
+            Collections.emptyMap(),
+            Collections.emptyMap(),
+            null,
+            QueryParameterMetadata.EMPTY,
+            null,
+            Collections.emptySet(),
+            null
+        );
+
+        QueryState state = registry.onInitiatorQueryStarted(
+            localMemberId,
+            0L,
+            plan,
+            Arrays.asList(localMemberId, participantMemberId),
+            null,
+            null,
+            new BlockingRootResultConsumer(),
+            new TestQueryStateCompletionCallback()
+        );
+
+        // The member which doesn't take part in the pruned query leaves.
+        assertFalse(state.tryCancelOnMemberLeave(Arrays.asList(localMemberId, participantMemberId)));
+
+        // The participant leaves.
+        assertTrue(state.tryCancelOnMemberLeave(Arrays.asList(localMemberId, prunedMemberId)));
+    }
+
     private static class TestQueryStateCompletionCallback implements QueryStateCompletionCallback {
         @Override
         public void onCompleted(QueryId queryId) {
@@ -26,6 +26,7 @@ import com.hazelcast.nio.ObjectDataInput;
 import com.hazelcast.nio.ObjectDataOutput;
 import com.hazelcast.internal.serialization.Data;
 import com.hazelcast.internal.serialization.DataType;
+import com.hazelcast.nio.serialization.FieldOffsetSchema;
 import com.hazelcast.nio.serialization.PortableReader;
 import com.hazelcast.test.TestEnvironment;
 
@@ -194,6 +195,11 @@ public class SamplingSerializationService implements InternalSerializationServic
         return delegate.getVersion();
     }
 
+    @Override
+    public FieldOffsetSchema getFieldOffsetSchema(int factoryId, int classId) {
+        return delegate.getFieldOffsetSchema(factoryId, classId);
+    }
+
     @Override
     public void dispose() {
         delegate.dispose();
@@ -332,6 +332,16 @@ class MockServer implements Server {
             public long getBytesSent() {
                 return 0;
             }
+
+            @Override
+            public long getBytesReceivedUncompressed() {
+                return 0;
+            }
+
+            @Override
+            public long getBytesSentUncompressed() {
+                return 0;
+            }
         }
     }
 